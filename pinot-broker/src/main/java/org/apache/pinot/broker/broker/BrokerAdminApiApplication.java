@@ -20,26 +20,35 @@ package org.apache.pinot.broker.broker;
 
 import com.google.common.base.Preconditions;
 import io.swagger.jaxrs.config.BeanConfig;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.concurrent.ExecutorService;
 import org.apache.pinot.broker.requesthandler.BrokerRequestHandler;
 import org.apache.pinot.broker.routing.RoutingTable;
 import org.apache.pinot.broker.routing.TimeBoundaryService;
 import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.utils.VirtualThreadUtils;
 import org.glassfish.grizzly.http.server.CLStaticHttpHandler;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 public class BrokerAdminApiApplication extends ResourceConfig {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BrokerAdminApiApplication.class);
   private static final String RESOURCE_PACKAGE = "org.apache.pinot.broker.api.resources";
 
   private URI _baseUri;
   private HttpServer _httpServer;
+  // Worker thread pool on virtual threads, null if using the default worker thread pool
+  private ExecutorService _virtualThreadWorkerPool;
 
   public BrokerAdminApiApplication(BrokerServerBuilder brokerServerBuilder) {
     packages(RESOURCE_PACKAGE);
@@ -58,9 +67,39 @@ public class BrokerAdminApiApplication extends ResourceConfig {
   }
 
   public void start(int httpPort) {
+    start(httpPort, false);
+  }
+
+  /**
+   * Starts the HTTP server on the given port.
+   *
+   * @param httpPort HTTP port
+   * @param useVirtualThreads Whether to handle the requests on virtual threads, falls back to the default worker thread
+   *                          pool if virtual threads are not supported by the runtime
+   */
+  public void start(int httpPort, boolean useVirtualThreads) {
     Preconditions.checkArgument(httpPort > 0);
     _baseUri = URI.create("http://0.0.0.0:" + httpPort + "/");
-    _httpServer = GrizzlyHttpServerFactory.createHttpServer(_baseUri, this);
+    if (useVirtualThreads) {
+      _virtualThreadWorkerPool = VirtualThreadUtils.newVirtualThreadPerTaskExecutor("broker-http-");
+      if (_virtualThreadWorkerPool == null) {
+        LOGGER.warn("Virtual threads are not supported by the runtime, using the default HTTP worker thread pool");
+      }
+    }
+    if (_virtualThreadWorkerPool == null) {
+      _httpServer = GrizzlyHttpServerFactory.createHttpServer(_baseUri, this);
+    } else {
+      LOGGER.info("Handling HTTP requests on virtual threads");
+      _httpServer = GrizzlyHttpServerFactory.createHttpServer(_baseUri, this, false);
+      for (NetworkListener listener : _httpServer.getListeners()) {
+        listener.getTransport().setWorkerThreadPool(_virtualThreadWorkerPool);
+      }
+      try {
+        _httpServer.start();
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to start HTTP server on port: " + httpPort, e);
+      }
+    }
     setupSwagger();
   }
 
@@ -89,5 +128,8 @@ public class BrokerAdminApiApplication extends ResourceConfig {
     if (_httpServer != null) {
       _httpServer.shutdownNow();
     }
+    if (_virtualThreadWorkerPool != null) {
+      _virtualThreadWorkerPool.shutdownNow();
+    }
   }
 }
@@ -99,7 +99,8 @@ public class BrokerServerBuilder {
 
     _brokerRequestHandler.start();
     int brokerQueryPort = _config.getInt(Helix.KEY_OF_BROKER_QUERY_PORT, Helix.DEFAULT_BROKER_QUERY_PORT);
-    _brokerAdminApplication.start(brokerQueryPort);
+    _brokerAdminApplication.start(brokerQueryPort,
+        _config.getBoolean(Broker.CONFIG_OF_BROKER_HTTP_VIRTUAL_THREADS, Broker.DEFAULT_BROKER_HTTP_VIRTUAL_THREADS));
 
     _state.set(State.RUNNING);
     LOGGER.info("Pinot Broker is started and listening on port {} for API requests", brokerQueryPort);
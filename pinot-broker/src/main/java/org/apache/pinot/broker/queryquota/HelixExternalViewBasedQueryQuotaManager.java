@@ -21,10 +21,13 @@ package org.apache.pinot.broker.queryquota;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
-import com.google.common.util.concurrent.RateLimiter;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.apache.commons.configuration.Configuration;
 import org.apache.helix.HelixConstants;
 import org.apache.helix.HelixManager;
 import org.apache.helix.ZNRecord;
@@ -34,6 +37,7 @@ import org.apache.pinot.broker.broker.helix.ClusterChangeHandler;
 import org.apache.pinot.common.config.QuotaConfig;
 import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.config.TableNameBuilder;
+import org.apache.pinot.common.config.TenantConfig;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
 import org.apache.pinot.common.metrics.BrokerGauge;
 import org.apache.pinot.common.metrics.BrokerMetrics;
@@ -46,12 +50,24 @@ import static org.apache.pinot.common.utils.CommonConstants.Helix.BROKER_RESOURC
 import static org.apache.pinot.common.utils.CommonConstants.Helix.TableType;
 
 
+/**
+ * Query quota manager which distributes the table and broker tenant query quotas evenly among the online brokers based
+ * on the broker resource external view.
+ * <p>The table query quota comes from the {@link QuotaConfig} inside the table config, and the broker tenant query
+ * quota comes from the broker config with key: {@code pinot.broker.tenant.qpsQuota.<brokerTenant>}. A query needs to
+ * acquire a token from both the table and the tenant rate limiter (if exist).
+ */
 public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHandler, QueryQuotaManager {
   private static final Logger LOGGER = LoggerFactory.getLogger(HelixExternalViewBasedQueryQuotaManager.class);
   private static final int TIME_RANGE_IN_SECOND = 1;
 
   private final AtomicInteger _lastKnownBrokerResourceVersion = new AtomicInteger(-1);
   private final Map<String, QueryQuotaConfig> _rateLimiterMap = new ConcurrentHashMap<>();
+  // Overall query quota for each broker tenant
+  private final Map<String, Double> _tenantQpsQuotaMap = new ConcurrentHashMap<>();
+  private final Map<String, QueryQuotaConfig> _tenantRateLimiterMap = new ConcurrentHashMap<>();
+  // Map from table name with type to the broker tenant with query quota
+  private final Map<String, String> _tableTenantMap = new ConcurrentHashMap<>();
 
   private HelixManager _helixManager;
   private BrokerMetrics _brokerMetrics;
@@ -62,6 +78,34 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
     _helixManager = helixManager;
   }
 
+  /**
+   * Initialize the overall query quotas for the broker tenants from the broker config.
+   * <p>Should be called before initializing the table query quotas.
+   * @param brokerConf broker config.
+   */
+  public void initTenantQueryQuotas(Configuration brokerConf) {
+    Configuration tenantQuotaConf = brokerConf.subset(CommonConstants.Broker.CONFIG_OF_BROKER_TENANT_QPS_QUOTA_PREFIX);
+    Iterator<String> keys = tenantQuotaConf.getKeys();
+    while (keys.hasNext()) {
+      String brokerTenant = keys.next();
+      double overallRate;
+      try {
+        overallRate = tenantQuotaConf.getDouble(brokerTenant);
+      } catch (Exception e) {
+        LOGGER.error("Failed to init qps quota: error when parsing qps quota: {} for broker tenant: {}",
+            tenantQuotaConf.getString(brokerTenant), brokerTenant);
+        continue;
+      }
+      if (overallRate <= 0) {
+        LOGGER.error("Failed to init qps quota: qps quota: {} for broker tenant: {} is not positive", overallRate,
+            brokerTenant);
+        continue;
+      }
+      _tenantQpsQuotaMap.put(brokerTenant, overallRate);
+      LOGGER.info("Overall qps quota for broker tenant: {} is {}", brokerTenant, overallRate);
+    }
+  }
+
   @Override
   public void processClusterChange(HelixConstants.ChangeType changeType) {
     Preconditions
@@ -102,6 +146,7 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
 
     // Create rate limiter
     createRateLimiter(tableNameWithType, brokerResource, tableConfig.getQuotaConfig());
+    createTenantRateLimiter(tableNameWithType, brokerResource, tableConfig.getTenantConfig());
   }
 
   /**
@@ -111,6 +156,7 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
   public void dropTableQueryQuota(String tableNameWithType) {
     LOGGER.info("Dropping rate limiter for table {}", tableNameWithType);
     removeRateLimiter(tableNameWithType);
+    removeTenantRateLimiter(tableNameWithType);
   }
 
   /** Remove or update rate limiter if another table with the same raw table name but different type is still using the quota config.
@@ -120,6 +166,18 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
     _rateLimiterMap.remove(tableNameWithType);
   }
 
+  /**
+   * Remove the table from its broker tenant, and remove the tenant rate limiter if no other table is using it.
+   * @param tableNameWithType table name with type
+   */
+  private void removeTenantRateLimiter(String tableNameWithType) {
+    String brokerTenant = _tableTenantMap.remove(tableNameWithType);
+    if (brokerTenant != null && !_tableTenantMap.containsValue(brokerTenant)) {
+      LOGGER.info("Dropping rate limiter for broker tenant {}", brokerTenant);
+      _tenantRateLimiterMap.remove(brokerTenant);
+    }
+  }
+
   /**
    * Get QuotaConfig from property store.
    * @param rawTableName table name without table type.
@@ -154,20 +212,8 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
       return;
     }
 
-    Map<String, String> stateMap = brokerResource.getStateMap(tableNameWithType);
-    int otherOnlineBrokerCount = 0;
-
     // If stateMap is null, that means this broker is the first broker for this table.
-    if (stateMap != null) {
-      for (Map.Entry<String, String> state : stateMap.entrySet()) {
-        if (!_helixManager.getInstanceName().equals(state.getKey()) && state.getValue()
-            .equals(CommonConstants.Helix.StateModel.SegmentOnlineOfflineStateModel.ONLINE)) {
-          otherOnlineBrokerCount++;
-        }
-      }
-    }
-
-    int onlineCount = otherOnlineBrokerCount + 1;
+    int onlineCount = getOnlineBrokerCount(brokerResource.getStateMap(tableNameWithType));
     LOGGER.info("The number of online brokers for table {} is {}", tableNameWithType, onlineCount);
 
     // Get the dynamic rate
@@ -182,13 +228,66 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
 
     double perBrokerRate = overallRate / onlineCount;
     QueryQuotaConfig queryQuotaConfig =
-        new QueryQuotaConfig(RateLimiter.create(perBrokerRate), new HitCounter(TIME_RANGE_IN_SECOND));
+        new QueryQuotaConfig(QueryRateLimiter.create(perBrokerRate), new HitCounter(TIME_RANGE_IN_SECOND));
     _rateLimiterMap.put(tableNameWithType, queryQuotaConfig);
     LOGGER.info(
         "Rate limiter for table: {} has been initialized. Overall rate: {}. Per-broker rate: {}. Number of online broker instances: {}",
         tableNameWithType, overallRate, perBrokerRate, onlineCount);
   }
 
+  /**
+   * Create or update the rate limiter for the broker tenant of a table if the tenant has query quota configured.
+   * @param tableNameWithType table name with table type.
+   * @param brokerResource broker resource which stores all the broker states of each table.
+   * @param tenantConfig tenant config of the table.
+   */
+  private void createTenantRateLimiter(String tableNameWithType, @Nullable ExternalView brokerResource,
+      @Nullable TenantConfig tenantConfig) {
+    if (tenantConfig == null || tenantConfig.getBroker() == null) {
+      return;
+    }
+    String brokerTenant = tenantConfig.getBroker();
+    Double overallRate = _tenantQpsQuotaMap.get(brokerTenant);
+    if (overallRate == null) {
+      return;
+    }
+    _tableTenantMap.put(tableNameWithType, brokerTenant);
+
+    int onlineCount =
+        brokerResource != null ? getOnlineBrokerCount(brokerResource.getStateMap(tableNameWithType)) : 1;
+    double perBrokerRate = overallRate / onlineCount;
+    _tenantRateLimiterMap.compute(brokerTenant, (key, queryQuotaConfig) -> {
+      if (queryQuotaConfig == null) {
+        return new QueryQuotaConfig(QueryRateLimiter.create(perBrokerRate), new HitCounter(TIME_RANGE_IN_SECOND));
+      }
+      // Other tables in the same tenant might be served by more brokers
+      QueryRateLimiter rateLimiter = queryQuotaConfig.getRateLimiter();
+      if (perBrokerRate < rateLimiter.getRate()) {
+        rateLimiter.setRate(perBrokerRate);
+      }
+      return queryQuotaConfig;
+    });
+    LOGGER.info("Rate limiter for broker tenant: {} has been initialized for table: {}. Overall rate: {}. "
+            + "Per-broker rate: {}. Number of online broker instances: {}", brokerTenant, tableNameWithType,
+        overallRate, _tenantRateLimiterMap.get(brokerTenant).getRateLimiter().getRate(), onlineCount);
+  }
+
+  /**
+   * Returns the number of online brokers (including this broker) based on the state map of the broker resource.
+   */
+  private int getOnlineBrokerCount(@Nullable Map<String, String> stateMap) {
+    int otherOnlineBrokerCount = 0;
+    if (stateMap != null) {
+      for (Map.Entry<String, String> state : stateMap.entrySet()) {
+        if (!_helixManager.getInstanceName().equals(state.getKey()) && state.getValue()
+            .equals(CommonConstants.Helix.StateModel.SegmentOnlineOfflineStateModel.ONLINE)) {
+          otherOnlineBrokerCount++;
+        }
+      }
+    }
+    return otherOnlineBrokerCount + 1;
+  }
+
   /**
    * {@inheritDoc}
    * <p>Acquires a token from rate limiter based on the table name.
@@ -221,8 +320,40 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
         offlineTableQueryQuotaConfig == null || tryAcquireToken(offlineTableName, offlineTableQueryQuotaConfig);
     boolean realtimeQuotaOk =
         realtimeTableQueryQuotaConfig == null || tryAcquireToken(realtimeTableName, realtimeTableQueryQuotaConfig);
+    if (!offlineQuotaOk || !realtimeQuotaOk) {
+      return false;
+    }
 
-    return offlineQuotaOk && realtimeQuotaOk;
+    // Check the broker tenant quota only after the table quota is acquired
+    if (_tableTenantMap.isEmpty()) {
+      return true;
+    }
+    String offlineTenant = offlineTableName != null ? _tableTenantMap.get(offlineTableName) : null;
+    String realtimeTenant = realtimeTableName != null ? _tableTenantMap.get(realtimeTableName) : null;
+    boolean offlineTenantQuotaOk = offlineTenant == null || tryAcquireTenantToken(offlineTenant);
+    boolean realtimeTenantQuotaOk =
+        realtimeTenant == null || realtimeTenant.equals(offlineTenant) || tryAcquireTenantToken(realtimeTenant);
+    return offlineTenantQuotaOk && realtimeTenantQuotaOk;
+  }
+
+  /**
+   * Try to acquire token from the rate limiter of the broker tenant.
+   * @param brokerTenant broker tenant.
+   * @return true if there's no qps quota for that tenant, or a token is acquired successfully.
+   */
+  private boolean tryAcquireTenantToken(String brokerTenant) {
+    QueryQuotaConfig queryQuotaConfig = _tenantRateLimiterMap.get(brokerTenant);
+    if (queryQuotaConfig == null) {
+      return true;
+    }
+    queryQuotaConfig.getHitCounter().hit();
+    QueryRateLimiter rateLimiter = queryQuotaConfig.getRateLimiter();
+    if (!rateLimiter.tryAcquire()) {
+      LOGGER.info("Quota is exceeded for broker tenant: {}. Per-broker rate: {}. Current qps: {}", brokerTenant,
+          rateLimiter.getRate(), queryQuotaConfig.getHitCounter().getHitCount());
+      return false;
+    }
+    return true;
   }
 
   /**
@@ -235,7 +366,7 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
     // Use hit counter to count the number of hits.
     queryQuotaConfig.getHitCounter().hit();
 
-    RateLimiter rateLimiter = queryQuotaConfig.getRateLimiter();
+    QueryRateLimiter rateLimiter = queryQuotaConfig.getRateLimiter();
     double perBrokerRate = rateLimiter.getRate();
 
     // Emit the qps capacity utilization rate.
@@ -268,6 +399,21 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
   @VisibleForTesting
   public void cleanUpRateLimiterMap() {
     _rateLimiterMap.clear();
+    _tenantQpsQuotaMap.clear();
+    _tenantRateLimiterMap.clear();
+    _tableTenantMap.clear();
+  }
+
+  @VisibleForTesting
+  public int getTenantRateLimiterMapSize() {
+    return _tenantRateLimiterMap.size();
+  }
+
+  @VisibleForTesting
+  @Nullable
+  public QueryRateLimiter getTenantRateLimiter(String brokerTenant) {
+    QueryQuotaConfig queryQuotaConfig = _tenantRateLimiterMap.get(brokerTenant);
+    return queryQuotaConfig != null ? queryQuotaConfig.getRateLimiter() : null;
   }
 
   /**
@@ -314,14 +460,7 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
         removeRateLimiter(tableNameWithType);
         continue;
       }
-      int otherOnlineBrokerCount = 0;
-      for (Map.Entry<String, String> state : stateMap.entrySet()) {
-        if (!_helixManager.getInstanceName().equals(state.getKey()) && state.getValue()
-            .equals(CommonConstants.Helix.StateModel.SegmentOnlineOfflineStateModel.ONLINE)) {
-          otherOnlineBrokerCount++;
-        }
-      }
-      int onlineBrokerCount = otherOnlineBrokerCount + 1;
+      int onlineBrokerCount = getOnlineBrokerCount(stateMap);
 
       double overallRate = Double.parseDouble(quotaConfig.getMaxQueriesPerSecond());
       double latestRate = overallRate / onlineBrokerCount;
@@ -334,6 +473,33 @@ public class HelixExternalViewBasedQueryQuotaManager implements ClusterChangeHan
         numRebuilt++;
       }
     }
+
+    // Redistribute the broker tenant query quotas based on the max number of online brokers among the tables
+    Map<String, Integer> tenantOnlineBrokerCountMap = new HashMap<>();
+    for (Map.Entry<String, String> entry : _tableTenantMap.entrySet()) {
+      Map<String, String> stateMap = currentBrokerResource.getStateMap(entry.getKey());
+      if (stateMap != null) {
+        tenantOnlineBrokerCountMap.merge(entry.getValue(), getOnlineBrokerCount(stateMap), Math::max);
+      }
+    }
+    for (Map.Entry<String, Integer> entry : tenantOnlineBrokerCountMap.entrySet()) {
+      String brokerTenant = entry.getKey();
+      Double overallRate = _tenantQpsQuotaMap.get(brokerTenant);
+      QueryQuotaConfig queryQuotaConfig = _tenantRateLimiterMap.get(brokerTenant);
+      if (overallRate == null || queryQuotaConfig == null) {
+        continue;
+      }
+      int onlineBrokerCount = entry.getValue();
+      double latestRate = overallRate / onlineBrokerCount;
+      double previousRate = queryQuotaConfig.getRateLimiter().getRate();
+      if (Math.abs(latestRate - previousRate) > 0.001) {
+        queryQuotaConfig.getRateLimiter().setRate(latestRate);
+        LOGGER.info(
+            "Rate limiter for broker tenant: {} has been updated. Overall rate: {}. Previous per-broker rate: {}. New per-broker rate: {}. Number of online broker instances: {}",
+            brokerTenant, overallRate, previousRate, latestRate, onlineBrokerCount);
+        numRebuilt++;
+      }
+    }
     _lastKnownBrokerResourceVersion.set(currentVersionNumber);
     long endTime = System.currentTimeMillis();
     LOGGER
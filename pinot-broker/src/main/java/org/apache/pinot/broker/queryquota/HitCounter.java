@@ -19,7 +19,6 @@
 package org.apache.pinot.broker.queryquota;
 
 import com.google.common.annotations.VisibleForTesting;
-import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLongArray;
 
 
@@ -28,17 +27,21 @@ import java.util.concurrent.atomic.AtomicLongArray;
  * In order to save the space and time, we store the number of hits over the last 100 time buckets. When the method hit
  * gets called, we put the timestamp to the specified bucket. When the method getHitCount gets called, we sum all the number
  * of hits within the last 100 time buckets.
+ * <p>Each bucket packs its start time (in number of time units) and its hit count into a single long, so that both of
+ * them can be updated atomically with a compare-and-set without taking any lock when the bucket rolls over.
  */
 public class HitCounter {
   private static int BUCKET_COUNT = 100;
+  // Lower bits of the bucket store the hit count, higher bits store the bucket start time
+  private static final int HIT_COUNT_BITS = 24;
+  private static final long HIT_COUNT_MASK = (1L << HIT_COUNT_BITS) - 1;
+
   private final int _timeBucketWidthMs;
-  private final AtomicLongArray _bucketStartTime;
-  private final AtomicIntegerArray _bucketHitCount;
+  private final AtomicLongArray _buckets;
 
   public HitCounter(int timeRangeInSeconds) {
     _timeBucketWidthMs = timeRangeInSeconds * 1000 / BUCKET_COUNT;
-    _bucketStartTime = new AtomicLongArray(BUCKET_COUNT);
-    _bucketHitCount = new AtomicIntegerArray(BUCKET_COUNT);
+    _buckets = new AtomicLongArray(BUCKET_COUNT);
   }
 
   /**
@@ -52,16 +55,25 @@ public class HitCounter {
   void hit(long timestamp) {
     long numTimeUnits = timestamp / _timeBucketWidthMs;
     int index = (int) (numTimeUnits % BUCKET_COUNT);
-    if (_bucketStartTime.get(index) == numTimeUnits) {
-      _bucketHitCount.incrementAndGet(index);
-    } else {
-      synchronized (_bucketStartTime) {
-        if (_bucketStartTime.get(index) != numTimeUnits) {
-          _bucketHitCount.set(index, 1);
-          _bucketStartTime.set(index, numTimeUnits);
-        } else {
-          _bucketHitCount.incrementAndGet(index);
+    while (true) {
+      long bucket = _buckets.get(index);
+      long bucketStartTime = bucket >>> HIT_COUNT_BITS;
+      long newBucket;
+      if (bucketStartTime == numTimeUnits) {
+        if ((bucket & HIT_COUNT_MASK) == HIT_COUNT_MASK) {
+          // Hit count saturated
+          return;
         }
+        newBucket = bucket + 1;
+      } else if (bucketStartTime < numTimeUnits) {
+        // Roll over the bucket
+        newBucket = (numTimeUnits << HIT_COUNT_BITS) | 1;
+      } else {
+        // The bucket has already been rolled over by a more recent hit
+        return;
+      }
+      if (_buckets.compareAndSet(index, bucket, newBucket)) {
+        return;
       }
     }
   }
@@ -78,8 +90,9 @@ public class HitCounter {
     long numTimeUnits = timestamp / _timeBucketWidthMs;
     int count = 0;
     for (int i = 0; i < BUCKET_COUNT; i++) {
-      if (numTimeUnits - _bucketStartTime.get(i) < BUCKET_COUNT) {
-        count += _bucketHitCount.get(i);
+      long bucket = _buckets.get(i);
+      if (numTimeUnits - (bucket >>> HIT_COUNT_BITS) < BUCKET_COUNT) {
+        count += (int) (bucket & HIT_COUNT_MASK);
       }
     }
     return count;
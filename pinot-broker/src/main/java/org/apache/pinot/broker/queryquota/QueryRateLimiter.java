@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.queryquota;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+
+/**
+ * Lock-free and allocation-free rate limiter for the query quota.
+ * <p>Each stripe is a GCRA (generic cell rate algorithm) limiter which only tracks the theoretical arrival time (TAT)
+ * of the next permit, and is updated with a single compare-and-set. The rate is evenly split among the stripes, and a
+ * thread first tries the stripe picked by its thread id, then the other stripes before rejecting the request, so that
+ * concurrent callers mostly work on different cache lines without losing any capacity.
+ * <p>Same as the bursty rate limiter from Guava, it starts with no stored permits, and stores at most 1 second worth of
+ * unused permits.
+ */
+@ThreadSafe
+public class QueryRateLimiter {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  // Each stripe takes a full cache line (8 longs) to prevent false sharing
+  private static final int STRIDE = 8;
+  private static final int MAX_NUM_STRIPES = 16;
+  // Only stripe the limiter when each stripe can get at least this number of permits per second
+  private static final double MIN_PERMITS_PER_SECOND_PER_STRIPE = 100.0;
+
+  private final int _numStripes;
+  private final AtomicLongArray _theoreticalArrivalTimesNs;
+
+  private volatile double _permitsPerSecond;
+  private volatile long _stripeIntervalNs;
+  private volatile long _stripeToleranceNs;
+
+  public QueryRateLimiter(double permitsPerSecond, int numStripes) {
+    Preconditions.checkArgument(numStripes > 0, "Number of stripes must be positive");
+    _numStripes = numStripes;
+    _theoreticalArrivalTimesNs = new AtomicLongArray(numStripes * STRIDE);
+    setRate(permitsPerSecond);
+
+    // Start with no stored permits
+    long nowNs = System.nanoTime();
+    for (int i = 0; i < numStripes; i++) {
+      _theoreticalArrivalTimesNs.set(i * STRIDE, nowNs + _stripeToleranceNs);
+    }
+  }
+
+  /**
+   * Creates a rate limiter with the number of stripes based on the rate.
+   */
+  public static QueryRateLimiter create(double permitsPerSecond) {
+    int numStripes = (int) Math.min(MAX_NUM_STRIPES, Math.max(1, permitsPerSecond / MIN_PERMITS_PER_SECOND_PER_STRIPE));
+    return new QueryRateLimiter(permitsPerSecond, numStripes);
+  }
+
+  public double getRate() {
+    return _permitsPerSecond;
+  }
+
+  /**
+   * Updates the rate of the limiter. The stored permits are not affected.
+   */
+  public void setRate(double permitsPerSecond) {
+    Preconditions.checkArgument(permitsPerSecond > 0.0 && !Double.isNaN(permitsPerSecond),
+        "Rate must be positive, got: %s", permitsPerSecond);
+    long stripeIntervalNs = Math.max(1L, (long) (NANOS_PER_SECOND * _numStripes / permitsPerSecond));
+    _stripeIntervalNs = stripeIntervalNs;
+    _stripeToleranceNs = Math.max(0L, NANOS_PER_SECOND - stripeIntervalNs);
+    _permitsPerSecond = permitsPerSecond;
+  }
+
+  public int getNumStripes() {
+    return _numStripes;
+  }
+
+  /**
+   * Acquires a permit if it is immediately available.
+   *
+   * @return Whether the permit is acquired
+   */
+  public boolean tryAcquire() {
+    long nowNs = System.nanoTime();
+    long stripeIntervalNs = _stripeIntervalNs;
+    long stripeToleranceNs = _stripeToleranceNs;
+    int startStripe = (int) (Thread.currentThread().getId() % _numStripes);
+    for (int i = 0; i < _numStripes; i++) {
+      int stripe = startStripe + i;
+      if (stripe >= _numStripes) {
+        stripe -= _numStripes;
+      }
+      if (tryAcquire(stripe * STRIDE, nowNs, stripeIntervalNs, stripeToleranceNs)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean tryAcquire(int index, long nowNs, long stripeIntervalNs, long stripeToleranceNs) {
+    while (true) {
+      long theoreticalArrivalTimeNs = _theoreticalArrivalTimesNs.get(index);
+      if (theoreticalArrivalTimeNs - nowNs > stripeToleranceNs) {
+        return false;
+      }
+      long startTimeNs = theoreticalArrivalTimeNs - nowNs > 0 ? theoreticalArrivalTimeNs : nowNs;
+      if (_theoreticalArrivalTimesNs.compareAndSet(index, theoreticalArrivalTimeNs, startTimeNs + stripeIntervalNs)) {
+        return true;
+      }
+    }
+  }
+}
@@ -83,6 +83,10 @@ public abstract class BaseBrokerRequestHandler implements BrokerRequestHandler {
   protected final int _queryResponseLimit;
   protected final int _queryLogLength;
 
+  // Null if the query plan cache is disabled
+  private final QueryPlanCache _queryPlanCache;
+  // Null if the query admission control is disabled
+  private final QueryAdmissionController _queryAdmissionController;
   private final RateLimiter _queryLogRateLimiter;
   private final RateLimiter _numDroppedLogRateLimiter;
   private final AtomicInteger _numDroppedLog;
@@ -101,15 +105,20 @@ public abstract class BaseBrokerRequestHandler implements BrokerRequestHandler {
     _brokerTimeoutMs = config.getLong(CONFIG_OF_BROKER_TIMEOUT_MS, DEFAULT_BROKER_TIMEOUT_MS);
     _queryResponseLimit = config.getInt(CONFIG_OF_BROKER_QUERY_RESPONSE_LIMIT, DEFAULT_BROKER_QUERY_RESPONSE_LIMIT);
     _queryLogLength = config.getInt(CONFIG_OF_BROKER_QUERY_LOG_LENGTH, DEFAULT_BROKER_QUERY_LOG_LENGTH);
+    int queryPlanCacheSize =
+        config.getInt(CONFIG_OF_BROKER_QUERY_PLAN_CACHE_SIZE, DEFAULT_BROKER_QUERY_PLAN_CACHE_SIZE);
+    _queryPlanCache = queryPlanCacheSize > 0 ? new QueryPlanCache(queryPlanCacheSize, brokerMetrics) : null;
+    _queryAdmissionController = QueryAdmissionController.create(config, brokerMetrics);
     _queryLogRateLimiter = RateLimiter.create(
         config.getDouble(CONFIG_OF_BROKER_QUERY_LOG_MAX_RATE_PER_SECOND, DEFAULT_BROKER_QUERY_LOG_MAX_RATE_PER_SECOND));
 
     _numDroppedLog = new AtomicInteger(0);
     _numDroppedLogRateLimiter = RateLimiter.create(1.0);
 
-    LOGGER
-        .info("Broker Id: {}, timeout: {}ms, query response limit: {}, query log length: {}, query log max rate: {}qps",
-            _brokerId, _brokerTimeoutMs, _queryResponseLimit, _queryLogLength, _queryLogRateLimiter.getRate());
+    LOGGER.info(
+        "Broker Id: {}, timeout: {}ms, query response limit: {}, query log length: {}, query log max rate: {}qps, "
+            + "query plan cache size: {}", _brokerId, _brokerTimeoutMs, _queryResponseLimit, _queryLogLength,
+        _queryLogRateLimiter.getRate(), queryPlanCacheSize);
   }
 
   private String getDefaultBrokerId() {
@@ -140,7 +149,11 @@ public abstract class BaseBrokerRequestHandler implements BrokerRequestHandler {
     long compilationStartTimeNs = System.nanoTime();
     BrokerRequest brokerRequest;
     try {
-      brokerRequest = PinotQueryParserFactory.get(pinotQueryRequest.getQueryFormat()).compileToBrokerRequest(query);
+      if (_queryPlanCache != null) {
+        brokerRequest = _queryPlanCache.compileToBrokerRequest(pinotQueryRequest);
+      } else {
+        brokerRequest = PinotQueryParserFactory.get(pinotQueryRequest.getQueryFormat()).compileToBrokerRequest(query);
+      }
     } catch (Exception e) {
       LOGGER.info("Caught exception while compiling request {}: {}, {}", requestId, query, e.getMessage());
       _brokerMetrics.addMeteredGlobalValue(BrokerMeter.REQUEST_COMPILATION_EXCEPTIONS, 1);
@@ -282,15 +295,41 @@ public abstract class BaseBrokerRequestHandler implements BrokerRequestHandler {
     long routingEndTimeNs = System.nanoTime();
     _brokerMetrics.addPhaseTiming(rawTableName, BrokerQueryPhase.QUERY_ROUTING, routingEndTimeNs - routingStartTimeNs);
 
+    // Admit the query
+    long queryCost = 0;
+    long executionStartTimeNs = routingEndTimeNs;
+    if (_queryAdmissionController != null) {
+      queryCost = QueryAdmissionController.estimateCost(brokerRequest, offlineRoutingTable, realtimeRoutingTable);
+      long remainingTimeMs =
+          _brokerTimeoutMs - TimeUnit.NANOSECONDS.toMillis(routingEndTimeNs - compilationStartTimeNs);
+      if (!_queryAdmissionController.acquire(rawTableName, queryCost, remainingTimeMs)) {
+        String errorMessage = String
+            .format("Request %d is rejected because broker is out of capacity, table:%s, query cost:%d, query:%s",
+                requestId, tableName, queryCost, query);
+        LOGGER.info(errorMessage);
+        requestStatistics.setErrorCode(QueryException.BROKER_OUT_OF_CAPACITY_ERROR_CODE);
+        return new BrokerResponseNative(
+            QueryException.getException(QueryException.BROKER_OUT_OF_CAPACITY_ERROR, errorMessage));
+      }
+      executionStartTimeNs = System.nanoTime();
+    }
+
     // Execute the query
-    long remainingTimeMs = _brokerTimeoutMs - TimeUnit.NANOSECONDS.toMillis(routingEndTimeNs - compilationStartTimeNs);
+    long remainingTimeMs =
+        _brokerTimeoutMs - TimeUnit.NANOSECONDS.toMillis(executionStartTimeNs - compilationStartTimeNs);
     ServerStats serverStats = new ServerStats();
-    BrokerResponse brokerResponse =
-        processBrokerRequest(requestId, brokerRequest, offlineBrokerRequest, offlineRoutingTable, realtimeBrokerRequest,
-            realtimeRoutingTable, remainingTimeMs, serverStats, requestStatistics);
+    BrokerResponse brokerResponse;
+    try {
+      brokerResponse = processBrokerRequest(requestId, brokerRequest, offlineBrokerRequest, offlineRoutingTable,
+          realtimeBrokerRequest, realtimeRoutingTable, remainingTimeMs, serverStats, requestStatistics);
+    } finally {
+      if (_queryAdmissionController != null) {
+        _queryAdmissionController.release(queryCost);
+      }
+    }
     long executionEndTimeNs = System.nanoTime();
     _brokerMetrics
-        .addPhaseTiming(rawTableName, BrokerQueryPhase.QUERY_EXECUTION, executionEndTimeNs - routingEndTimeNs);
+        .addPhaseTiming(rawTableName, BrokerQueryPhase.QUERY_EXECUTION, executionEndTimeNs - executionStartTimeNs);
 
     // Track number of queries with number of groups limit reached
     if (brokerResponse.isNumGroupsLimitReached()) {
@@ -0,0 +1,286 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.requesthandler;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.commons.configuration.Configuration;
+import org.apache.pinot.common.metrics.BrokerGauge;
+import org.apache.pinot.common.metrics.BrokerMeter;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.metrics.BrokerTimer;
+import org.apache.pinot.common.request.BrokerRequest;
+
+import static org.apache.pinot.common.utils.CommonConstants.Broker.*;
+
+
+/**
+ * The {@code QueryAdmissionController} class limits the amount of outstanding server work for the queries dispatched
+ * by the broker, so that a load spike does not slow down all the in-flight queries together.
+ * <p>The cost of a query is estimated as the number of segments it queries, weighted by the query type (group-by,
+ * ordered selection and distinct queries cost more than aggregation-only and unordered selection queries). The broker
+ * serves the tables of a single broker tenant, so the budget on the broker is the budget for the tenant.
+ * <ul>
+ *   <li>A query is admitted immediately if no query is waiting and its cost fits in the remaining budget.</li>
+ *   <li>Otherwise it waits in the admission queue, where cheap queries are admitted before the expensive ones (queries
+ *   with cost no less than the expensive query threshold), and queries of the same class are admitted in order.</li>
+ *   <li>A query is rejected if the admission queue is full, or it cannot be admitted within the max queue wait time
+ *   (or the query timeout if shorter).</li>
+ * </ul>
+ * <p>A query that costs more than the whole budget is admitted once there is no outstanding query, so that it will
+ * not wait forever.
+ */
+@ThreadSafe
+public class QueryAdmissionController {
+  private static final int COST_WEIGHT_LIGHT = 1;
+  private static final int COST_WEIGHT_HEAVY = 2;
+
+  private final long _maxOutstandingCost;
+  private final long _expensiveQueryCost;
+  private final int _maxQueueSize;
+  private final long _maxQueueWaitMs;
+  private final BrokerMetrics _brokerMetrics;
+
+  private final ReentrantLock _lock = new ReentrantLock();
+  private final PriorityQueue<Waiter> _waiters = new PriorityQueue<>();
+  private long _outstandingCost;
+  private long _numWaitersCreated;
+
+  public QueryAdmissionController(long maxOutstandingCost, long expensiveQueryCost, int maxQueueSize,
+      long maxQueueWaitMs, BrokerMetrics brokerMetrics) {
+    Preconditions.checkArgument(maxOutstandingCost > 0, "Max outstanding query cost must be positive");
+    Preconditions.checkArgument(maxQueueSize >= 0, "Max admission queue size must be non-negative");
+    _maxOutstandingCost = maxOutstandingCost;
+    _expensiveQueryCost = expensiveQueryCost;
+    _maxQueueSize = maxQueueSize;
+    _maxQueueWaitMs = maxQueueWaitMs;
+    _brokerMetrics = brokerMetrics;
+  }
+
+  /**
+   * Creates the admission controller from the broker config, or returns {@code null} if admission control is not
+   * enabled.
+   */
+  @Nullable
+  public static QueryAdmissionController create(Configuration config, BrokerMetrics brokerMetrics) {
+    long maxOutstandingCost =
+        config.getLong(CONFIG_OF_BROKER_ADMISSION_MAX_OUTSTANDING_COST, DEFAULT_BROKER_ADMISSION_MAX_OUTSTANDING_COST);
+    if (maxOutstandingCost <= 0) {
+      return null;
+    }
+    return new QueryAdmissionController(maxOutstandingCost,
+        config.getLong(CONFIG_OF_BROKER_ADMISSION_EXPENSIVE_QUERY_COST, DEFAULT_BROKER_ADMISSION_EXPENSIVE_QUERY_COST),
+        config.getInt(CONFIG_OF_BROKER_ADMISSION_MAX_QUEUE_SIZE, DEFAULT_BROKER_ADMISSION_MAX_QUEUE_SIZE),
+        config.getLong(CONFIG_OF_BROKER_ADMISSION_MAX_QUEUE_WAIT_MS, DEFAULT_BROKER_ADMISSION_MAX_QUEUE_WAIT_MS),
+        brokerMetrics);
+  }
+
+  /**
+   * Estimates the cost of the query as the number of segments queried weighted by the query type.
+   */
+  public static long estimateCost(BrokerRequest brokerRequest,
+      @Nullable Map<String, List<String>> offlineRoutingTable,
+      @Nullable Map<String, List<String>> realtimeRoutingTable) {
+    long numSegments = getNumSegments(offlineRoutingTable) + getNumSegments(realtimeRoutingTable);
+    return numSegments * getCostWeight(brokerRequest);
+  }
+
+  private static long getNumSegments(@Nullable Map<String, List<String>> routingTable) {
+    if (routingTable == null) {
+      return 0;
+    }
+    long numSegments = 0;
+    for (List<String> segments : routingTable.values()) {
+      numSegments += segments.size();
+    }
+    return numSegments;
+  }
+
+  private static int getCostWeight(BrokerRequest brokerRequest) {
+    if (brokerRequest.isSetGroupBy()) {
+      return COST_WEIGHT_HEAVY;
+    }
+    if (brokerRequest.isSetSelections()) {
+      return brokerRequest.getSelections().isSetSelectionSortSequence() ? COST_WEIGHT_HEAVY : COST_WEIGHT_LIGHT;
+    }
+    if (brokerRequest.isSetAggregationsInfo() && brokerRequest.getAggregationsInfo().size() == 1
+        && "DISTINCT".equalsIgnoreCase(brokerRequest.getAggregationsInfo().get(0).getAggregationType())) {
+      return COST_WEIGHT_HEAVY;
+    }
+    return COST_WEIGHT_LIGHT;
+  }
+
+  /**
+   * Tries to admit a query with the given cost, waits in the admission queue if necessary.
+   * <p>If the query is admitted, {@link #release(long)} must be called with the same cost after the query finishes.
+   *
+   * @param rawTableName Raw table name for the metrics
+   * @param cost Estimated cost of the query
+   * @param timeoutMs Remaining time for the query
+   * @return {@code true} if the query is admitted, {@code false} if the query is rejected
+   */
+  public boolean acquire(String rawTableName, long cost, long timeoutMs)
+      throws InterruptedException {
+    long startTimeNs = System.nanoTime();
+    Waiter waiter;
+    _lock.lock();
+    try {
+      if (_waiters.isEmpty() && fits(cost)) {
+        _outstandingCost += cost;
+        updateGauges();
+        return true;
+      }
+      if (_waiters.size() >= _maxQueueSize) {
+        _brokerMetrics.addMeteredTableValue(rawTableName, BrokerMeter.QUERY_ADMISSION_REJECTED, 1L);
+        return false;
+      }
+      waiter = new Waiter(cost, cost >= _expensiveQueryCost, _numWaitersCreated++, _lock.newCondition());
+      _waiters.add(waiter);
+      updateGauges();
+
+      long remainingWaitNs = TimeUnit.MILLISECONDS.toNanos(Math.min(timeoutMs, _maxQueueWaitMs));
+      try {
+        while (!waiter._admitted && remainingWaitNs > 0) {
+          remainingWaitNs = waiter._condition.awaitNanos(remainingWaitNs);
+        }
+      } catch (InterruptedException e) {
+        if (waiter._admitted) {
+          _outstandingCost -= cost;
+        } else {
+          _waiters.remove(waiter);
+        }
+        admitWaiters();
+        updateGauges();
+        throw e;
+      }
+      if (!waiter._admitted) {
+        // Timed out, the next waiter might be admitted now
+        _waiters.remove(waiter);
+        admitWaiters();
+        updateGauges();
+      }
+    } finally {
+      _lock.unlock();
+    }
+
+    _brokerMetrics.addTimedTableValue(rawTableName, BrokerTimer.QUERY_ADMISSION_WAIT_TIME_MS,
+        System.nanoTime() - startTimeNs, TimeUnit.NANOSECONDS);
+    if (!waiter._admitted) {
+      _brokerMetrics.addMeteredTableValue(rawTableName, BrokerMeter.QUERY_ADMISSION_REJECTED, 1L);
+    }
+    return waiter._admitted;
+  }
+
+  /**
+   * Releases the cost of an admitted query, and admits the waiting queries that fit in the budget.
+   */
+  public void release(long cost) {
+    _lock.lock();
+    try {
+      _outstandingCost -= cost;
+      admitWaiters();
+      updateGauges();
+    } finally {
+      _lock.unlock();
+    }
+  }
+
+  @VisibleForTesting
+  long getOutstandingCost() {
+    _lock.lock();
+    try {
+      return _outstandingCost;
+    } finally {
+      _lock.unlock();
+    }
+  }
+
+  @VisibleForTesting
+  int getQueueSize() {
+    _lock.lock();
+    try {
+      return _waiters.size();
+    } finally {
+      _lock.unlock();
+    }
+  }
+
+  /**
+   * Returns whether a query with the given cost can be admitted. Query with cost larger than the budget can be admitted
+   * only when there is no outstanding query.
+   * <p>Should be called while holding the lock.
+   */
+  private boolean fits(long cost) {
+    return _outstandingCost + cost <= _maxOutstandingCost || _outstandingCost == 0;
+  }
+
+  /**
+   * Admits the waiters from the head of the queue while they fit in the budget.
+   * <p>Should be called while holding the lock.
+   */
+  private void admitWaiters() {
+    Waiter waiter;
+    while ((waiter = _waiters.peek()) != null && fits(waiter._cost)) {
+      _waiters.poll();
+      _outstandingCost += waiter._cost;
+      waiter._admitted = true;
+      waiter._condition.signal();
+    }
+  }
+
+  private void updateGauges() {
+    _brokerMetrics.setValueOfGlobalGauge(BrokerGauge.QUERY_ADMISSION_QUEUE_SIZE, _waiters.size());
+    _brokerMetrics.setValueOfGlobalGauge(BrokerGauge.QUERY_ADMISSION_OUTSTANDING_COST, _outstandingCost);
+  }
+
+  /**
+   * Query waiting in the admission queue. Cheap queries are ordered before the expensive ones, then by arrival order.
+   * <p>All the fields are guarded by the lock of the admission controller.
+   */
+  private static class Waiter implements Comparable<Waiter> {
+    final long _cost;
+    final boolean _expensive;
+    final long _sequenceId;
+    final Condition _condition;
+    boolean _admitted;
+
+    Waiter(long cost, boolean expensive, long sequenceId, Condition condition) {
+      _cost = cost;
+      _expensive = expensive;
+      _sequenceId = sequenceId;
+      _condition = condition;
+    }
+
+    @Override
+    public int compareTo(Waiter o) {
+      if (_expensive != o._expensive) {
+        return _expensive ? 1 : -1;
+      }
+      return Long.compare(_sequenceId, o._sequenceId);
+    }
+  }
+}
@@ -0,0 +1,495 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.requesthandler;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.common.metrics.BrokerMeter;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.request.Expression;
+import org.apache.pinot.common.request.FilterQuery;
+import org.apache.pinot.common.request.FilterQueryMap;
+import org.apache.pinot.common.request.Function;
+import org.apache.pinot.common.request.Literal;
+import org.apache.pinot.common.request.PinotQuery;
+import org.apache.pinot.parsers.AbstractCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code QueryPlanCache} class caches the compiled {@link BrokerRequest} for each query shape so that repeated
+ * queries that only differ on the literal values in the WHERE clause (e.g. dashboard queries with different time
+ * ranges) can skip the query parsing.
+ * <p>The query shape is the query text with the WHERE clause literals replaced by placeholders. When a shape is seen
+ * for the first time, the query is compiled normally, and a template is compiled from the query with each literal
+ * replaced by a unique marker. The template is cached only if binding the literals of the query into it gives the same
+ * {@link BrokerRequest} as the normal compilation, otherwise the shape is marked as not cacheable. For the following
+ * queries with the same shape, the literals are bound into a copy of the template without parsing the query.
+ * <p>Only the literals that are compiled verbatim into the filter are extracted: single-quoted strings with printable
+ * ASCII characters (no quote or backslash), integers and plain decimals. Literals inside IN lists are kept in the query
+ * shape because the compiler de-duplicates and sorts them.
+ */
+@ThreadSafe
+public class QueryPlanCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryPlanCache.class);
+
+  // Placeholders for the literals in the query shape
+  private static final String STRING_PLACEHOLDER = "'?'";
+  private static final String LONG_PLACEHOLDER = "?";
+  private static final String DOUBLE_PLACEHOLDER = "?.?";
+
+  // Markers for the literals in the template, all markers of the same type have the same length so that no marker is
+  // the prefix of another one
+  private static final int MAX_NUM_PARAMETERS = 1000;
+  private static final String STRING_MARKER_PREFIX = "__pinotParam";
+  private static final long LONG_MARKER_BASE = 7391846205000000L;
+  private static final long DOUBLE_MARKER_BASE = 7391846205000L;
+  // Common sub-string of the numeric markers (also in their scientific notation)
+  private static final String NUMERIC_MARKER_SIGNATURE = "391846205";
+
+  // Clause keywords that end the WHERE clause
+  private static final String[] CLAUSE_KEYWORDS =
+      new String[]{"GROUP", "ORDER", "HAVING", "LIMIT", "TOP", "OFFSET", "FETCH", "OPTION"};
+
+  // Sentinel for the query shapes that cannot be cached
+  private static final QueryTemplate NOT_CACHEABLE = new QueryTemplate(new BrokerRequest(), new ArrayList<>());
+
+  private final Cache<String, QueryTemplate> _templateCache;
+  private final BrokerMetrics _brokerMetrics;
+
+  public QueryPlanCache(int maxSize, BrokerMetrics brokerMetrics) {
+    Preconditions.checkArgument(maxSize > 0, "Query plan cache size must be positive");
+    _templateCache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    _brokerMetrics = brokerMetrics;
+  }
+
+  /**
+   * Compiles the given query into a {@link BrokerRequest}, re-using the cached template for the query shape if exists.
+   * <p>The returned broker request is always a new instance which can be modified by the caller.
+   */
+  public BrokerRequest compileToBrokerRequest(PinotQueryRequest pinotQueryRequest) {
+    String queryFormat = pinotQueryRequest.getQueryFormat();
+    String query = pinotQueryRequest.getQuery();
+    AbstractCompiler compiler = PinotQueryParserFactory.get(queryFormat);
+    ParameterizedQuery parameterizedQuery = ParameterizedQuery.parse(query);
+    if (parameterizedQuery == null) {
+      return compiler.compileToBrokerRequest(query);
+    }
+
+    String key = queryFormat + ':' + parameterizedQuery._queryShape;
+    QueryTemplate queryTemplate = _templateCache.getIfPresent(key);
+    if (queryTemplate != null) {
+      if (queryTemplate != NOT_CACHEABLE) {
+        _brokerMetrics.addMeteredGlobalValue(BrokerMeter.QUERY_PLAN_CACHE_HITS, 1L);
+        return queryTemplate.bind(parameterizedQuery._parameters);
+      } else {
+        _brokerMetrics.addMeteredGlobalValue(BrokerMeter.QUERY_PLAN_CACHE_MISSES, 1L);
+        return compiler.compileToBrokerRequest(query);
+      }
+    }
+
+    // Invalid query will throw exception here and won't be cached
+    _brokerMetrics.addMeteredGlobalValue(BrokerMeter.QUERY_PLAN_CACHE_MISSES, 1L);
+    BrokerRequest brokerRequest = compiler.compileToBrokerRequest(query);
+    _templateCache.put(key, createQueryTemplate(compiler, parameterizedQuery, brokerRequest));
+    return brokerRequest;
+  }
+
+  @VisibleForTesting
+  long size() {
+    return _templateCache.size();
+  }
+
+  @VisibleForTesting
+  boolean isCacheable(PinotQueryRequest pinotQueryRequest) {
+    ParameterizedQuery parameterizedQuery = ParameterizedQuery.parse(pinotQueryRequest.getQuery());
+    if (parameterizedQuery == null) {
+      return false;
+    }
+    QueryTemplate queryTemplate =
+        _templateCache.getIfPresent(pinotQueryRequest.getQueryFormat() + ':' + parameterizedQuery._queryShape);
+    return queryTemplate != null && queryTemplate != NOT_CACHEABLE;
+  }
+
+  /**
+   * Helper method to compile the template for the query shape, and verify it against the compiled broker request.
+   */
+  private static QueryTemplate createQueryTemplate(AbstractCompiler compiler, ParameterizedQuery parameterizedQuery,
+      BrokerRequest brokerRequest) {
+    try {
+      QueryTemplate queryTemplate = new QueryTemplate(compiler.compileToBrokerRequest(parameterizedQuery._markedQuery),
+          parameterizedQuery._parameters);
+      if (queryTemplate.bind(parameterizedQuery._parameters).equals(brokerRequest)) {
+        return queryTemplate;
+      }
+      LOGGER.debug("Query template does not match the compiled query, skip caching query shape: {}",
+          parameterizedQuery._queryShape);
+    } catch (Exception e) {
+      LOGGER.debug("Caught exception while compiling query template, skip caching query shape: {}",
+          parameterizedQuery._queryShape, e);
+    }
+    return NOT_CACHEABLE;
+  }
+
+  /**
+   * Type of the extracted literals.
+   */
+  private enum ParameterType {
+    STRING, LONG, DOUBLE
+  }
+
+  /**
+   * Literal extracted from the query.
+   */
+  private static class Parameter {
+    final ParameterType _type;
+    // Value as compiled into the filter
+    final String _value;
+
+    Parameter(ParameterType type, String value) {
+      _type = type;
+      _value = value;
+    }
+  }
+
+  /**
+   * Query split into the query shape and the literals in the WHERE clause.
+   */
+  private static class ParameterizedQuery {
+    // Query with literals replaced by placeholders, and white spaces collapsed
+    final String _queryShape;
+    // Query with literals replaced by markers
+    final String _markedQuery;
+    final List<Parameter> _parameters;
+
+    private ParameterizedQuery(String queryShape, String markedQuery, List<Parameter> parameters) {
+      _queryShape = queryShape;
+      _markedQuery = markedQuery;
+      _parameters = parameters;
+    }
+
+    /**
+     * Parses the query, or returns {@code null} if the query cannot be parameterized (e.g. un-terminated quote).
+     */
+    @Nullable
+    static ParameterizedQuery parse(String query) {
+      if (query.contains(STRING_MARKER_PREFIX) || query.contains(NUMERIC_MARKER_SIGNATURE)) {
+        return null;
+      }
+
+      int length = query.length();
+      StringBuilder queryShape = new StringBuilder(length);
+      StringBuilder markedQuery = new StringBuilder(length + 64);
+      List<Parameter> parameters = new ArrayList<>();
+      boolean inWhereClause = false;
+      boolean afterIn = false;
+      int depth = 0;
+      // Depth of the parenthesis for the current IN list, -1 if not in IN list
+      int inListDepth = -1;
+
+      int i = 0;
+      while (i < length) {
+        char c = query.charAt(i);
+
+        // Quoted literal or identifier
+        if (c == '\'' || c == '"' || c == '`') {
+          int end = findClosingQuote(query, i);
+          if (end < 0) {
+            return null;
+          }
+          String token = query.substring(i, end + 1);
+          String content = query.substring(i + 1, end);
+          if (c == '\'' && inWhereClause && inListDepth < 0 && isSimpleString(content)) {
+            queryShape.append(STRING_PLACEHOLDER);
+            markedQuery.append('\'').append(getStringMarker(parameters.size())).append('\'');
+            parameters.add(new Parameter(ParameterType.STRING, content));
+          } else {
+            queryShape.append(token);
+            markedQuery.append(token);
+          }
+          afterIn = false;
+          i = end + 1;
+          continue;
+        }
+
+        // Word (identifier, keyword or numeric literal)
+        if (isWordChar(c)) {
+          int end = i + 1;
+          while (end < length && (isWordChar(query.charAt(end)) || query.charAt(end) == '.')) {
+            end++;
+          }
+          String token = query.substring(i, end);
+          ParameterType numericType = Character.isDigit(c) ? getNumericType(token) : null;
+          if (numericType != null && inWhereClause && inListDepth < 0) {
+            if (numericType == ParameterType.LONG) {
+              queryShape.append(LONG_PLACEHOLDER);
+              markedQuery.append(getLongMarker(parameters.size()));
+              parameters.add(new Parameter(ParameterType.LONG, Long.toString(Long.parseLong(token))));
+            } else {
+              queryShape.append(DOUBLE_PLACEHOLDER);
+              markedQuery.append(getDoubleMarker(parameters.size()));
+              parameters.add(new Parameter(ParameterType.DOUBLE, Double.toString(Double.parseDouble(token))));
+            }
+            afterIn = false;
+          } else {
+            if (depth == 0) {
+              if (token.equalsIgnoreCase("WHERE")) {
+                inWhereClause = true;
+              } else if (isClauseKeyword(token)) {
+                inWhereClause = false;
+              }
+            }
+            afterIn = token.equalsIgnoreCase("IN");
+            queryShape.append(token);
+            markedQuery.append(token);
+          }
+          i = end;
+          continue;
+        }
+
+        // White spaces
+        if (Character.isWhitespace(c)) {
+          int end = i + 1;
+          while (end < length && Character.isWhitespace(query.charAt(end))) {
+            end++;
+          }
+          queryShape.append(' ');
+          markedQuery.append(query, i, end);
+          i = end;
+          continue;
+        }
+
+        // Other characters
+        if (c == '(') {
+          depth++;
+          if (afterIn && inListDepth < 0) {
+            inListDepth = depth;
+          }
+        } else if (c == ')') {
+          if (depth == inListDepth) {
+            inListDepth = -1;
+          }
+          depth--;
+        }
+        afterIn = false;
+        queryShape.append(c);
+        markedQuery.append(c);
+        i++;
+      }
+
+      if (parameters.size() > MAX_NUM_PARAMETERS) {
+        return null;
+      }
+      return new ParameterizedQuery(queryShape.toString().trim(), markedQuery.toString(), parameters);
+    }
+
+    /**
+     * Returns the index of the closing quote (quote can be escaped by doubling it), or -1 if not found.
+     */
+    private static int findClosingQuote(String query, int start) {
+      char quote = query.charAt(start);
+      int length = query.length();
+      int i = start + 1;
+      while (i < length) {
+        if (query.charAt(i) == quote) {
+          if (i + 1 < length && query.charAt(i + 1) == quote) {
+            i += 2;
+            continue;
+          }
+          return i;
+        }
+        i++;
+      }
+      return -1;
+    }
+
+    private static boolean isWordChar(char c) {
+      return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isSimpleString(String content) {
+      int length = content.length();
+      for (int i = 0; i < length; i++) {
+        char c = content.charAt(i);
+        if (c < 0x20 || c > 0x7E || c == '\'' || c == '"' || c == '\\') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Returns the type of the numeric literal, or {@code null} if the token is not a plain integer or decimal.
+     */
+    @Nullable
+    private static ParameterType getNumericType(String token) {
+      int length = token.length();
+      int dotIndex = -1;
+      for (int i = 0; i < length; i++) {
+        char c = token.charAt(i);
+        if (c == '.') {
+          if (dotIndex >= 0) {
+            return null;
+          }
+          dotIndex = i;
+        } else if (c < '0' || c > '9') {
+          return null;
+        }
+      }
+      if (dotIndex < 0) {
+        return length <= 18 ? ParameterType.LONG : null;
+      }
+      return dotIndex > 0 && dotIndex < length - 1 && length <= 16 ? ParameterType.DOUBLE : null;
+    }
+
+    private static boolean isClauseKeyword(String token) {
+      for (String clauseKeyword : CLAUSE_KEYWORDS) {
+        if (token.equalsIgnoreCase(clauseKeyword)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static String getStringMarker(int index) {
+    return STRING_MARKER_PREFIX + String.format("%04d", index) + "__";
+  }
+
+  private static String getLongMarker(int index) {
+    return Long.toString(LONG_MARKER_BASE + index);
+  }
+
+  private static String getDoubleMarker(int index) {
+    return (DOUBLE_MARKER_BASE + index) + ".5";
+  }
+
+  /**
+   * Compiled broker request with the literals replaced by markers.
+   */
+  private static class QueryTemplate {
+    final BrokerRequest _brokerRequest;
+    // Markers as compiled into the filter
+    final String[] _compiledMarkers;
+
+    QueryTemplate(BrokerRequest brokerRequest, List<Parameter> parameters) {
+      _brokerRequest = brokerRequest;
+      int numParameters = parameters.size();
+      _compiledMarkers = new String[numParameters];
+      for (int i = 0; i < numParameters; i++) {
+        switch (parameters.get(i)._type) {
+          case STRING:
+            _compiledMarkers[i] = getStringMarker(i);
+            break;
+          case LONG:
+            _compiledMarkers[i] = getLongMarker(i);
+            break;
+          case DOUBLE:
+            _compiledMarkers[i] = Double.toString(Double.parseDouble(getDoubleMarker(i)));
+            break;
+          default:
+            throw new IllegalStateException();
+        }
+      }
+    }
+
+    /**
+     * Returns a copy of the template with the given literals bound into the filter.
+     */
+    BrokerRequest bind(List<Parameter> parameters) {
+      BrokerRequest brokerRequest = _brokerRequest.deepCopy();
+      if (_compiledMarkers.length == 0) {
+        return brokerRequest;
+      }
+      FilterQuery filterQuery = brokerRequest.getFilterQuery();
+      if (filterQuery != null) {
+        bindFilterQuery(filterQuery, parameters);
+      }
+      FilterQueryMap filterSubQueryMap = brokerRequest.getFilterSubQueryMap();
+      if (filterSubQueryMap != null && filterSubQueryMap.getFilterQueryMap() != null) {
+        for (Map.Entry<Integer, FilterQuery> entry : filterSubQueryMap.getFilterQueryMap().entrySet()) {
+          bindFilterQuery(entry.getValue(), parameters);
+        }
+      }
+      PinotQuery pinotQuery = brokerRequest.getPinotQuery();
+      if (pinotQuery != null && pinotQuery.getFilterExpression() != null) {
+        bindExpression(pinotQuery.getFilterExpression(), parameters);
+      }
+      return brokerRequest;
+    }
+
+    private void bindFilterQuery(FilterQuery filterQuery, List<Parameter> parameters) {
+      if (filterQuery.getColumn() != null) {
+        filterQuery.setColumn(bindString(filterQuery.getColumn(), parameters));
+      }
+      List<String> values = filterQuery.getValue();
+      if (values != null) {
+        int numValues = values.size();
+        for (int i = 0; i < numValues; i++) {
+          values.set(i, bindString(values.get(i), parameters));
+        }
+      }
+    }
+
+    private void bindExpression(Expression expression, List<Parameter> parameters) {
+      Literal literal = expression.getLiteral();
+      if (literal != null) {
+        if (literal.isSetStringValue()) {
+          literal.setStringValue(bindString(literal.getStringValue(), parameters));
+        } else if (literal.isSetLongValue()) {
+          long index = literal.getLongValue() - LONG_MARKER_BASE;
+          if (index >= 0 && index < _compiledMarkers.length) {
+            literal.setLongValue(Long.parseLong(parameters.get((int) index)._value));
+          }
+        } else if (literal.isSetDoubleValue()) {
+          double index = literal.getDoubleValue() - DOUBLE_MARKER_BASE - 0.5;
+          if (index >= 0 && index < _compiledMarkers.length && index == Math.rint(index)) {
+            literal.setDoubleValue(Double.parseDouble(parameters.get((int) index)._value));
+          }
+        }
+      }
+      Function function = expression.getFunctionCall();
+      if (function != null && function.getOperands() != null) {
+        for (Expression operand : function.getOperands()) {
+          bindExpression(operand, parameters);
+        }
+      }
+    }
+
+    private String bindString(String value, List<Parameter> parameters) {
+      if (!value.contains(STRING_MARKER_PREFIX) && !value.contains(NUMERIC_MARKER_SIGNATURE)) {
+        return value;
+      }
+      int numParameters = _compiledMarkers.length;
+      for (int i = 0; i < numParameters; i++) {
+        value = value.replace(_compiledMarkers[i], parameters.get(i)._value);
+      }
+      return value;
+    }
+  }
+}
@@ -18,9 +18,12 @@
  */
 package org.apache.pinot.broker.requesthandler;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.apache.commons.configuration.Configuration;
@@ -37,9 +40,12 @@ import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.common.response.BrokerResponse;
 import org.apache.pinot.common.response.ServerInstance;
 import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.common.utils.CommonConstants;
 import org.apache.pinot.common.utils.CommonConstants.Helix.TableType;
 import org.apache.pinot.common.utils.DataTable;
+import org.apache.pinot.core.query.reduce.IncrementalAggregationReducer;
 import org.apache.pinot.core.transport.AsyncQueryResponse;
+import org.apache.pinot.core.transport.DataTableListener;
 import org.apache.pinot.core.transport.QueryRouter;
 import org.apache.pinot.core.transport.Server;
 import org.apache.pinot.core.transport.ServerResponse;
@@ -47,17 +53,34 @@ import org.apache.pinot.core.transport.ServerResponse;
 
 /**
  * The <code>SingleConnectionBrokerRequestHandler</code> class is a thread-safe broker request handler using a single
- * connection per server to route the queries.
+ * connection (or a small configurable pool of connections) per server to route the queries.
+ * <p>When incremental reduce is enabled, aggregation-only queries are reduced as the server responses arrive, where the
+ * responses are merged on a dedicated reduce executor instead of the Netty event loop.
  */
 @ThreadSafe
 public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandler {
   private final QueryRouter _queryRouter;
+  private final boolean _enableIncrementalReduce;
+  // Executor to merge the server responses for the incremental reduce, null if the incremental reduce is disabled
+  private final ExecutorService _incrementalReduceExecutor;
 
   public SingleConnectionBrokerRequestHandler(Configuration config, RoutingTable routingTable,
       TimeBoundaryService timeBoundaryService, AccessControlFactory accessControlFactory,
       QueryQuotaManager queryQuotaManager, BrokerMetrics brokerMetrics) {
     super(config, routingTable, timeBoundaryService, accessControlFactory, queryQuotaManager, brokerMetrics);
-    _queryRouter = new QueryRouter(_brokerId, brokerMetrics);
+    _queryRouter = new QueryRouter(_brokerId, brokerMetrics,
+        config.getInt(CommonConstants.Broker.CONFIG_OF_BROKER_NUM_CHANNELS_PER_SERVER,
+            CommonConstants.Broker.DEFAULT_BROKER_NUM_CHANNELS_PER_SERVER));
+    _enableIncrementalReduce = config.getBoolean(CommonConstants.Broker.CONFIG_OF_BROKER_ENABLE_INCREMENTAL_REDUCE,
+        CommonConstants.Broker.DEFAULT_BROKER_ENABLE_INCREMENTAL_REDUCE);
+    if (_enableIncrementalReduce) {
+      _incrementalReduceExecutor = Executors.newFixedThreadPool(
+          config.getInt(CommonConstants.Broker.CONFIG_OF_BROKER_INCREMENTAL_REDUCE_THREADS,
+              CommonConstants.Broker.DEFAULT_BROKER_INCREMENTAL_REDUCE_THREADS),
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("incremental-reduce-%d").build());
+    } else {
+      _incrementalReduceExecutor = null;
+    }
   }
 
   @Override
@@ -67,6 +90,9 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
   @Override
   public synchronized void shutDown() {
     _queryRouter.shutDown();
+    if (_incrementalReduceExecutor != null) {
+      _incrementalReduceExecutor.shutdownNow();
+    }
   }
 
   @Override
@@ -78,10 +104,18 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
     assert offlineBrokerRequest != null || realtimeBrokerRequest != null;
 
     String rawTableName = TableNameBuilder.extractRawTableName(originalBrokerRequest.getQuerySource().getTableName());
+    IncrementalAggregationReducer incrementalReducer = null;
+    DataTableListener dataTableListener = null;
+    if (_enableIncrementalReduce && IncrementalAggregationReducer.isSupported(originalBrokerRequest)) {
+      IncrementalAggregationReducer reducer =
+          new IncrementalAggregationReducer(originalBrokerRequest, _brokerReduceService, _incrementalReduceExecutor);
+      incrementalReducer = reducer;
+      dataTableListener = (server, dataTable) -> reducer.reduce(getServerInstance(server), dataTable);
+    }
     long scatterGatherStartTimeNs = System.nanoTime();
     AsyncQueryResponse asyncQueryResponse = _queryRouter
         .submitQuery(requestId, rawTableName, offlineBrokerRequest, offlineRoutingTable, realtimeBrokerRequest,
-            realtimeRoutingTable, timeoutMs);
+            realtimeRoutingTable, timeoutMs, dataTableListener);
     Map<Server, ServerResponse> response = asyncQueryResponse.getResponse();
     _brokerMetrics
         .addPhaseTiming(rawTableName, BrokerQueryPhase.SCATTER_GATHER, System.nanoTime() - scatterGatherStartTimeNs);
@@ -96,20 +130,23 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
       ServerResponse serverResponse = entry.getValue();
       DataTable dataTable = serverResponse.getDataTable();
       if (dataTable != null) {
-        Server server = entry.getKey();
-        if (server.getTableType() == TableType.OFFLINE) {
-          dataTableMap.put(new ServerInstance(server.getHostName(), server.getPort(), 0), dataTable);
-        } else {
-          dataTableMap.put(new ServerInstance(server.getHostName(), server.getPort(), 1), dataTable);
-        }
+        dataTableMap.put(getServerInstance(entry.getKey()), dataTable);
         totalResponseSize += serverResponse.getResponseSize();
       }
     }
-    int numServersResponded = dataTableMap.size();
 
     long reduceStartTimeNs = System.nanoTime();
-    BrokerResponseNative brokerResponse =
-        _brokerReduceService.reduceOnDataTable(originalBrokerRequest, dataTableMap, _brokerMetrics);
+    BrokerResponseNative brokerResponse = null;
+    int numServersResponded = 0;
+    if (incrementalReducer != null) {
+      // Data tables are already merged as they arrived, only need to extract the final results
+      brokerResponse = incrementalReducer.getBrokerResponse(_brokerMetrics);
+      numServersResponded = incrementalReducer.getNumServersResponded();
+    }
+    if (brokerResponse == null) {
+      numServersResponded = dataTableMap.size();
+      brokerResponse = _brokerReduceService.reduceOnDataTable(originalBrokerRequest, dataTableMap, _brokerMetrics);
+    }
     final long reduceTimeNanos = System.nanoTime() - reduceStartTimeNs;
     requestStatistics.setReduceTimeNanos(reduceTimeNanos);
     _brokerMetrics.addPhaseTiming(rawTableName, BrokerQueryPhase.REDUCE, reduceTimeNanos);
@@ -127,4 +164,12 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
 
     return brokerResponse;
   }
+
+  private static ServerInstance getServerInstance(Server server) {
+    if (server.getTableType() == TableType.OFFLINE) {
+      return new ServerInstance(server.getHostName(), server.getPort(), 0);
+    } else {
+      return new ServerInstance(server.getHostName(), server.getPort(), 1);
+    }
+  }
 }
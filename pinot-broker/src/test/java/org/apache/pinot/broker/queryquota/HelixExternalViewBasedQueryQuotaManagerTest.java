@@ -18,6 +18,8 @@
  */
 package org.apache.pinot.broker.queryquota;
 
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 import org.apache.commons.lang.StringUtils;
 import org.apache.helix.HelixManager;
 import org.apache.helix.InstanceType;
@@ -32,6 +34,7 @@ import org.apache.pinot.common.config.QuotaConfig;
 import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.config.TableNameBuilder;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
+import org.apache.pinot.common.utils.CommonConstants;
 import org.apache.pinot.common.utils.StringUtil;
 import org.apache.pinot.common.utils.ZkStarter;
 import org.testng.Assert;
@@ -346,6 +349,34 @@ public class HelixExternalViewBasedQueryQuotaManagerTest {
     Assert.assertEquals(_queryQuotaManager.getRateLimiterMapSize(), 1);
   }
 
+  @Test
+  public void testBrokerTenantQuota()
+      throws Exception {
+    Configuration brokerConf = new BaseConfiguration();
+    brokerConf.addProperty(CommonConstants.Broker.CONFIG_OF_BROKER_TENANT_QPS_QUOTA_PREFIX + ".testBroker", 200.0);
+    _queryQuotaManager.initTenantQueryQuotas(brokerConf);
+
+    // Table without table level quota should still be limited by the tenant quota
+    ExternalView brokerResource = generateBrokerResource(OFFLINE_TABLE_NAME);
+    brokerResource.setState(OFFLINE_TABLE_NAME, "broker_instance_2", "ONLINE");
+    TableConfig tableConfig =
+        new TableConfig.Builder(TableType.OFFLINE).setTableName(RAW_TABLE_NAME).setBrokerTenant("testBroker")
+            .setServerTenant("testServer").build();
+    _queryQuotaManager.initTableQueryQuota(tableConfig, brokerResource);
+    Assert.assertEquals(_queryQuotaManager.getRateLimiterMapSize(), 0);
+    Assert.assertEquals(_queryQuotaManager.getTenantRateLimiterMapSize(), 1);
+
+    // Tenant quota should be split among the 2 online brokers
+    QueryRateLimiter tenantRateLimiter = _queryQuotaManager.getTenantRateLimiter("testBroker");
+    Assert.assertNotNull(tenantRateLimiter);
+    Assert.assertEquals(tenantRateLimiter.getRate(), 100.0, 0.001);
+    runQueries(70, 10);
+
+    _queryQuotaManager.dropTableQueryQuota(OFFLINE_TABLE_NAME);
+    Assert.assertEquals(_queryQuotaManager.getTenantRateLimiterMapSize(), 0);
+    Assert.assertTrue(_queryQuotaManager.acquire(RAW_TABLE_NAME));
+  }
+
   private TableConfig generateDefaultTableConfig(String tableName) {
     TableType tableType = TableNameBuilder.getTableTypeFromTableName(tableName);
     TableConfig.Builder builder = new TableConfig.Builder(tableType);
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.queryquota;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class QueryRateLimiterTest {
+
+  @Test
+  public void testCreate() {
+    Assert.assertEquals(QueryRateLimiter.create(1.0).getNumStripes(), 1);
+    Assert.assertEquals(QueryRateLimiter.create(100.0).getNumStripes(), 1);
+    Assert.assertEquals(QueryRateLimiter.create(1000.0).getNumStripes(), 10);
+    Assert.assertEquals(QueryRateLimiter.create(1_000_000.0).getNumStripes(), 16);
+  }
+
+  @Test
+  public void testNoStoredPermitsOnStart() {
+    QueryRateLimiter rateLimiter = new QueryRateLimiter(1.0, 1);
+    Assert.assertTrue(rateLimiter.tryAcquire());
+    Assert.assertFalse(rateLimiter.tryAcquire());
+
+    // One permit for each stripe
+    rateLimiter = new QueryRateLimiter(4.0, 4);
+    for (int i = 0; i < 4; i++) {
+      Assert.assertTrue(rateLimiter.tryAcquire());
+    }
+    Assert.assertFalse(rateLimiter.tryAcquire());
+  }
+
+  @Test
+  public void testSetRate() {
+    QueryRateLimiter rateLimiter = new QueryRateLimiter(1.0, 2);
+    Assert.assertEquals(rateLimiter.getRate(), 1.0);
+    rateLimiter.setRate(50.0);
+    Assert.assertEquals(rateLimiter.getRate(), 50.0);
+    try {
+      rateLimiter.setRate(0.0);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testConcurrentAcquire()
+      throws Exception {
+    int numThreads = 16;
+    double rate = 1000.0;
+    long durationMs = 500L;
+    QueryRateLimiter rateLimiter = QueryRateLimiter.create(rate);
+    AtomicInteger numAcquired = new AtomicInteger();
+    ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+    List<Future> futures = new ArrayList<>(numThreads);
+    long startTimeMs = System.currentTimeMillis();
+    for (int i = 0; i < numThreads; i++) {
+      futures.add(executorService.submit(() -> {
+        while (System.currentTimeMillis() - startTimeMs < durationMs) {
+          if (rateLimiter.tryAcquire()) {
+            numAcquired.incrementAndGet();
+          }
+        }
+      }));
+    }
+    for (Future future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+    Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    long elapsedMs = System.currentTimeMillis() - startTimeMs;
+
+    // Should not exceed the rate (plus one permit per stripe), and should not throttle too much under contention
+    int maxNumAcquired = (int) (rate * elapsedMs / 1000) + rateLimiter.getNumStripes();
+    Assert.assertTrue(numAcquired.get() <= maxNumAcquired, numAcquired.get() + " > " + maxNumAcquired);
+    Assert.assertTrue(numAcquired.get() >= rate * durationMs / 1000 / 2);
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.requesthandler;
+
+import com.yammer.metrics.core.MetricsRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link QueryAdmissionController}
+ */
+public class QueryAdmissionControllerTest {
+  private static final String RAW_TABLE_NAME = "myTable";
+
+  private final ExecutorService _executorService = Executors.newCachedThreadPool();
+
+  @Test
+  public void testAdmitAndRelease()
+      throws Exception {
+    QueryAdmissionController controller = createController(10, 100, 10, 1000);
+    Assert.assertTrue(controller.acquire(RAW_TABLE_NAME, 6, 1000));
+    Assert.assertTrue(controller.acquire(RAW_TABLE_NAME, 4, 1000));
+    Assert.assertEquals(controller.getOutstandingCost(), 10);
+
+    // Out of budget, should be queued and admitted after the release
+    Future<Boolean> future = _executorService.submit(() -> controller.acquire(RAW_TABLE_NAME, 5, 5000));
+    waitForQueueSize(controller, 1);
+    controller.release(6);
+    Assert.assertTrue(future.get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(controller.getQueueSize(), 0);
+    Assert.assertEquals(controller.getOutstandingCost(), 9);
+
+    controller.release(4);
+    controller.release(5);
+    Assert.assertEquals(controller.getOutstandingCost(), 0);
+
+    // Query costs more than the budget should be admitted when there is no outstanding query
+    Assert.assertTrue(controller.acquire(RAW_TABLE_NAME, 20, 1000));
+    controller.release(20);
+  }
+
+  @Test
+  public void testReject()
+      throws Exception {
+    QueryAdmissionController controller = createController(10, 100, 1, 100);
+    Assert.assertTrue(controller.acquire(RAW_TABLE_NAME, 10, 1000));
+
+    // Should time out in the queue
+    long startTimeMs = System.currentTimeMillis();
+    Assert.assertFalse(controller.acquire(RAW_TABLE_NAME, 1, 1000));
+    Assert.assertTrue(System.currentTimeMillis() - startTimeMs >= 100);
+    Assert.assertEquals(controller.getQueueSize(), 0);
+
+    // Should be rejected immediately when the queue is full
+    Future<Boolean> future = _executorService.submit(() -> controller.acquire(RAW_TABLE_NAME, 1, 5000));
+    waitForQueueSize(controller, 1);
+    Assert.assertFalse(controller.acquire(RAW_TABLE_NAME, 1, 5000));
+    Assert.assertFalse(future.get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(controller.getOutstandingCost(), 10);
+    controller.release(10);
+  }
+
+  @Test
+  public void testCheapQueriesFirst()
+      throws Exception {
+    QueryAdmissionController controller = createController(10, 5, 10, 5000);
+    Assert.assertTrue(controller.acquire(RAW_TABLE_NAME, 10, 1000));
+
+    Future<Boolean> expensiveQuery = _executorService.submit(() -> controller.acquire(RAW_TABLE_NAME, 8, 5000));
+    waitForQueueSize(controller, 1);
+    Future<Boolean> cheapQuery = _executorService.submit(() -> controller.acquire(RAW_TABLE_NAME, 4, 5000));
+    waitForQueueSize(controller, 2);
+
+    // Cheap query should be admitted first even though it arrives later
+    controller.release(10);
+    Assert.assertTrue(cheapQuery.get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(controller.getOutstandingCost(), 4);
+    Assert.assertEquals(controller.getQueueSize(), 1);
+    controller.release(4);
+    Assert.assertTrue(expensiveQuery.get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(controller.getOutstandingCost(), 8);
+    controller.release(8);
+  }
+
+  private static QueryAdmissionController createController(long maxOutstandingCost, long expensiveQueryCost,
+      int maxQueueSize, long maxQueueWaitMs) {
+    return new QueryAdmissionController(maxOutstandingCost, expensiveQueryCost, maxQueueSize, maxQueueWaitMs,
+        new BrokerMetrics(new MetricsRegistry()));
+  }
+
+  private static void waitForQueueSize(QueryAdmissionController controller, int expectedQueueSize)
+      throws InterruptedException {
+    long endTimeMs = System.currentTimeMillis() + 5000L;
+    while (controller.getQueueSize() != expectedQueueSize && System.currentTimeMillis() < endTimeMs) {
+      Thread.sleep(10L);
+    }
+    Assert.assertEquals(controller.getQueueSize(), expectedQueueSize);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _executorService.shutdown();
+  }
+}
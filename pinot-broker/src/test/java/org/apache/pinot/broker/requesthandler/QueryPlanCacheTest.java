@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.requesthandler;
+
+import com.yammer.metrics.core.MetricsRegistry;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.apache.pinot.common.utils.CommonConstants.Broker.Request.PQL;
+import static org.apache.pinot.common.utils.CommonConstants.Broker.Request.SQL;
+
+
+/**
+ * Unit test for {@link QueryPlanCache}
+ */
+public class QueryPlanCacheTest {
+  private static final String[] PQL_QUERIES = new String[]{
+      "SELECT COUNT(*) FROM myTable WHERE foo = 'bar' AND daysSinceEpoch BETWEEN 17000 AND 17010",
+      "SELECT COUNT(*) FROM myTable WHERE foo = 'baz' AND daysSinceEpoch BETWEEN 17005 AND 17020",
+      "select  count(*) from myTable where foo = 'x y' and daysSinceEpoch between 1 and 2",
+      "SELECT SUM(met) FROM myTable WHERE daysSinceEpoch > 17000 AND price <= 3.5 GROUP BY foo TOP 10",
+      "SELECT SUM(met) FROM myTable WHERE daysSinceEpoch > 17001 AND price <= 4.25 GROUP BY foo TOP 10",
+      "SELECT SUM(met) FROM myTable WHERE daysSinceEpoch > 17001 AND price <= 4.25 GROUP BY foo TOP 20",
+      "SELECT * FROM myTable WHERE foo IN ('a', 'b', 'a') AND bar NOT IN (3, 1, 2) LIMIT 5",
+      "SELECT * FROM myTable WHERE foo IN ('c', 'b') AND bar NOT IN (1, 1) LIMIT 5",
+      "SELECT * FROM myTable WHERE REGEXP_LIKE(foo, 'ab.*') OR (bar = 1 AND baz <> 'it''s') LIMIT 5",
+      "SELECT * FROM myTable WHERE REGEXP_LIKE(foo, 'cd.*') OR (bar = 2 AND baz <> 'x') LIMIT 5",
+      "SELECT COUNT(*) FROM myTable WHERE foo = \"bar\" AND baz = -5",
+      "SELECT COUNT(*) FROM myTable WHERE foo = \"bar\" AND baz = -6",
+      "SELECT COUNT(*) FROM myTable"
+  };
+  private static final String[] SQL_QUERIES = new String[]{
+      "SELECT COUNT(*) FROM myTable WHERE foo = 'bar' AND daysSinceEpoch BETWEEN 17000 AND 17010",
+      "SELECT COUNT(*) FROM myTable WHERE foo = 'baz' AND daysSinceEpoch BETWEEN 17005 AND 17020",
+      "SELECT foo, SUM(met) FROM myTable WHERE daysSinceEpoch > 17000 AND price <= 3.5 GROUP BY foo LIMIT 10",
+      "SELECT foo, SUM(met) FROM myTable WHERE daysSinceEpoch > 17001 AND price <= 4.25 GROUP BY foo LIMIT 10"
+  };
+
+  @Test
+  public void testPql() {
+    testQueries(PQL, PQL_QUERIES);
+  }
+
+  @Test
+  public void testSql() {
+    testQueries(SQL, SQL_QUERIES);
+  }
+
+  private void testQueries(String queryFormat, String[] queries) {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(100, new BrokerMetrics(new MetricsRegistry()));
+    // Run twice so that the second round hits the cache
+    for (int i = 0; i < 2; i++) {
+      for (String query : queries) {
+        PinotQueryRequest pinotQueryRequest = new PinotQueryRequest(queryFormat, query);
+        BrokerRequest expected = PinotQueryParserFactory.get(queryFormat).compileToBrokerRequest(query);
+        BrokerRequest actual = queryPlanCache.compileToBrokerRequest(pinotQueryRequest);
+        Assert.assertEquals(actual, expected, query);
+
+        // Returned broker request should not share state with the cached template
+        actual.getQuerySource().setTableName("otherTable");
+        Assert.assertEquals(queryPlanCache.compileToBrokerRequest(pinotQueryRequest), expected, query);
+      }
+    }
+  }
+
+  @Test
+  public void testQueryShape() {
+    QueryPlanCache queryPlanCache = new QueryPlanCache(100, new BrokerMetrics(new MetricsRegistry()));
+    PinotQueryRequest query1 =
+        new PinotQueryRequest(PQL, "SELECT COUNT(*) FROM myTable WHERE foo = 'bar' AND baz > 10 LIMIT 10");
+    PinotQueryRequest query2 =
+        new PinotQueryRequest(PQL, "SELECT   COUNT(*) FROM myTable WHERE foo = 'foo'  AND baz > 20 LIMIT 10");
+    PinotQueryRequest query3 =
+        new PinotQueryRequest(PQL, "SELECT COUNT(*) FROM myTable WHERE foo = 'bar' AND baz > 10 LIMIT 20");
+    queryPlanCache.compileToBrokerRequest(query1);
+    Assert.assertEquals(queryPlanCache.size(), 1);
+    Assert.assertTrue(queryPlanCache.isCacheable(query1));
+    // Same shape with different literals and white spaces
+    Assert.assertTrue(queryPlanCache.isCacheable(query2));
+    queryPlanCache.compileToBrokerRequest(query2);
+    Assert.assertEquals(queryPlanCache.size(), 1);
+    // Different LIMIT
+    Assert.assertFalse(queryPlanCache.isCacheable(query3));
+    queryPlanCache.compileToBrokerRequest(query3);
+    Assert.assertEquals(queryPlanCache.size(), 2);
+
+    // Invalid query should not be cached
+    try {
+      queryPlanCache.compileToBrokerRequest(new PinotQueryRequest(PQL, "SELECT COUNT(*) FROM WHERE foo = 'bar'"));
+      Assert.fail();
+    } catch (Exception e) {
+      // Expected
+    }
+    Assert.assertEquals(queryPlanCache.size(), 2);
+  }
+}
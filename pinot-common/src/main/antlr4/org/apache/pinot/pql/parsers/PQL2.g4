@@ -77,6 +77,10 @@ predicate:
   | betweenClause                         # BetweenPredicate
   | isClause                              # IsPredicate
   | regexpLikeClause                      # RegexpLikePredicate
+  | textMatchClause                       # TextMatchPredicate
+  | jsonMatchClause                       # JsonMatchPredicate
+  | stWithinClause                        # StWithinPredicate
+  | stDistanceClause                      # StDistancePredicate
   ;
 
 inClause:
@@ -95,6 +99,19 @@ betweenClause:
 regexpLikeClause:
   REGEXP_LIKE '(' expression ',' literal ')';
 
+textMatchClause:
+  TEXT_MATCH '(' expression ',' literal ')';
+
+jsonMatchClause:
+  JSON_MATCH '(' expression ',' literal ')';
+
+stWithinClause:
+  ST_WITHIN '(' expression ',' literal ')';
+
+stDistanceClause:
+  ST_DISTANCE '(' expression ',' literal ',' literal ')' distanceOperator literal;
+distanceOperator: '<' | '<=';
+
 booleanOperator: OR | AND;
 
 groupByClause: GROUP BY groupByList;
@@ -131,6 +148,10 @@ LIMIT: L I M I T;
 NOT : N O T;
 OR: O R;
 REGEXP_LIKE: R E G E X P '_' L I K E;
+TEXT_MATCH: T E X T '_' M A T C H;
+JSON_MATCH: J S O N '_' M A T C H;
+ST_WITHIN: S T '_' W I T H I N;
+ST_DISTANCE: S T '_' D I S T A N C E;
 ORDER: O R D E R;
 SELECT: S E L E C T;
 TOP: T O P;
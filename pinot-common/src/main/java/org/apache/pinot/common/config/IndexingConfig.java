@@ -49,6 +49,13 @@ public class IndexingConfig {
   @ConfigKey("bloomFilterColumns")
   private List<String> _bloomFilterColumns = new ArrayList<>();
 
+  /**
+   * The type of the bloom filters created for the bloom filter columns, GUAVA_ON_HEAP (default) or BLOCKED_OFF_HEAP.
+   * Existing bloom filters keep their type and stay readable.
+   */
+  @ConfigKey("bloomFilterType")
+  private String _bloomFilterType;
+
   @ConfigKey("loadMode")
   private String _loadMode;
 
@@ -95,6 +102,42 @@ public class IndexingConfig {
   @ConfigKey("varLengthDictionaryColumns")
   private List<String> _varLengthDictionaryColumns;
 
+  /**
+   * The list of string columns for which the dictionary lookup (e.g. for EQ and IN predicates) is accelerated with a
+   * sorted off-heap prefix key array. This has no impact for on-heap dictionaries and columns of other data types.
+   */
+  @ConfigKey("lookupAcceleratedDictionaryColumns")
+  private List<String> _lookupAcceleratedDictionaryColumns;
+
+  /**
+   * The list of single-value string columns for which a tokenized text index is created to serve TEXT_MATCH
+   * predicates.
+   */
+  @ConfigKey("textIndexColumns")
+  private List<String> _textIndexColumns;
+
+  /**
+   * The list of single-value JSON (string) columns for which a path-value inverted index is created to serve
+   * JSON_MATCH predicates. Single-value JSON columns store the documents in the compressed raw forward index unless
+   * an inverted index is configured on them.
+   */
+  @ConfigKey("jsonIndexColumns")
+  private List<String> _jsonIndexColumns;
+
+  /**
+   * Whether to record the documents with null value for each column in a null value vector, so that IS NULL and
+   * IS NOT NULL predicates can be served and the aggregations can skip the null values.
+   */
+  @ConfigKey("nullHandlingEnabled")
+  private boolean _nullHandlingEnabled;
+
+  /**
+   * The list of single-value geo point (string) columns for which a grid-cell inverted index is created during segment
+   * generation to serve ST_WITHIN and ST_DISTANCE predicates.
+   */
+  @ConfigKey("geoIndexColumns")
+  private List<String> _geoIndexColumns;
+
   public List<String> getInvertedIndexColumns() {
     return _invertedIndexColumns;
   }
@@ -135,6 +178,14 @@ public class IndexingConfig {
     this._bloomFilterColumns = _bloomFilterColumns;
   }
 
+  public String getBloomFilterType() {
+    return _bloomFilterType;
+  }
+
+  public void setBloomFilterType(String bloomFilterType) {
+    _bloomFilterType = bloomFilterType;
+  }
+
   public String getLoadMode() {
     return _loadMode;
   }
@@ -239,6 +290,46 @@ public class IndexingConfig {
     _varLengthDictionaryColumns = varLengthDictionaryColumns;
   }
 
+  public List<String> getLookupAcceleratedDictionaryColumns() {
+    return _lookupAcceleratedDictionaryColumns;
+  }
+
+  public void setLookupAcceleratedDictionaryColumns(List<String> lookupAcceleratedDictionaryColumns) {
+    _lookupAcceleratedDictionaryColumns = lookupAcceleratedDictionaryColumns;
+  }
+
+  public List<String> getTextIndexColumns() {
+    return _textIndexColumns;
+  }
+
+  public void setTextIndexColumns(List<String> textIndexColumns) {
+    _textIndexColumns = textIndexColumns;
+  }
+
+  public List<String> getJsonIndexColumns() {
+    return _jsonIndexColumns;
+  }
+
+  public void setJsonIndexColumns(List<String> jsonIndexColumns) {
+    _jsonIndexColumns = jsonIndexColumns;
+  }
+
+  public boolean isNullHandlingEnabled() {
+    return _nullHandlingEnabled;
+  }
+
+  public void setNullHandlingEnabled(boolean nullHandlingEnabled) {
+    _nullHandlingEnabled = nullHandlingEnabled;
+  }
+
+  public List<String> getGeoIndexColumns() {
+    return _geoIndexColumns;
+  }
+
+  public void setGeoIndexColumns(List<String> geoIndexColumns) {
+    _geoIndexColumns = geoIndexColumns;
+  }
+
   @Override
   public String toString() {
     final StringBuilder result = new StringBuilder();
@@ -296,7 +387,13 @@ public class IndexingConfig {
         .isEqual(_starTreeIndexSpec, that._starTreeIndexSpec) && EqualityUtils
         .isEqual(_segmentPartitionConfig, that._segmentPartitionConfig) && EqualityUtils
         .isEqual(_bloomFilterColumns, that._bloomFilterColumns) && EqualityUtils
-        .isEqual(_varLengthDictionaryColumns, that._varLengthDictionaryColumns);
+        .isEqual(_bloomFilterType, that._bloomFilterType) && EqualityUtils
+        .isEqual(_varLengthDictionaryColumns, that._varLengthDictionaryColumns) && EqualityUtils
+        .isEqual(_lookupAcceleratedDictionaryColumns, that._lookupAcceleratedDictionaryColumns) && EqualityUtils
+        .isEqual(_textIndexColumns, that._textIndexColumns) && EqualityUtils
+        .isEqual(_jsonIndexColumns, that._jsonIndexColumns) && EqualityUtils
+        .isEqual(_nullHandlingEnabled, that._nullHandlingEnabled) && EqualityUtils
+        .isEqual(_geoIndexColumns, that._geoIndexColumns);
   }
 
   @Override
@@ -315,7 +412,13 @@ public class IndexingConfig {
     result = EqualityUtils.hashCodeOf(result, _starTreeIndexSpec);
     result = EqualityUtils.hashCodeOf(result, _segmentPartitionConfig);
     result = EqualityUtils.hashCodeOf(result, _bloomFilterColumns);
+    result = EqualityUtils.hashCodeOf(result, _bloomFilterType);
     result = EqualityUtils.hashCodeOf(result, _varLengthDictionaryColumns);
+    result = EqualityUtils.hashCodeOf(result, _lookupAcceleratedDictionaryColumns);
+    result = EqualityUtils.hashCodeOf(result, _textIndexColumns);
+    result = EqualityUtils.hashCodeOf(result, _jsonIndexColumns);
+    result = EqualityUtils.hashCodeOf(result, _nullHandlingEnabled);
+    result = EqualityUtils.hashCodeOf(result, _geoIndexColumns);
     return result;
   }
 }
@@ -68,6 +68,10 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
   @ConfigKey("dataType")
   protected DataType _dataType;
 
+  // Data type declared in the schema, which can be a logical type stored as another data type (e.g. JSON stored as
+  // STRING)
+  private DataType _declaredDataType;
+
   @ConfigKey("singleValue")
   protected boolean _isSingleValueField = true;
 
@@ -102,6 +106,7 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
       @Nullable Object defaultNullValue) {
     _name = name;
     _dataType = dataType.getStoredType();
+    _declaredDataType = dataType;
     _isSingleValueField = isSingleValueField;
     _maxLength = maxLength;
     setDefaultNullValue(defaultNullValue);
@@ -125,9 +130,19 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
   // Required by JSON de-serializer. DO NOT REMOVE.
   public void setDataType(DataType dataType) {
     _dataType = dataType.getStoredType();
+    _declaredDataType = dataType;
     _defaultNullValue = getDefaultNullValue(getFieldType(), _dataType, _stringDefaultNullValue);
   }
 
+  /**
+   * Returns the data type declared in the schema, which can be a logical type (e.g. JSON) stored as the data type
+   * returned by {@link #getDataType()}.
+   */
+  @JsonIgnore
+  public DataType getDeclaredDataType() {
+    return _declaredDataType != null ? _declaredDataType : _dataType;
+  }
+
   public boolean isSingleValueField() {
     return _isSingleValueField;
   }
@@ -264,7 +279,7 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
   public ObjectNode toJsonObject() {
     ObjectNode jsonObject = JsonUtils.newObjectNode();
     jsonObject.put("name", _name);
-    jsonObject.put("dataType", _dataType.name());
+    jsonObject.put("dataType", getDeclaredDataType().name());
     if (!_isSingleValueField) {
       jsonObject.put("singleValueField", false);
     }
@@ -333,7 +348,8 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
     return EqualityUtils.isEqual(_name, that._name) && EqualityUtils.isEqual(_dataType, that._dataType) && EqualityUtils
         .isEqual(_isSingleValueField, that._isSingleValueField) && EqualityUtils
         .isEqual(getStringValue(_defaultNullValue), getStringValue(that._defaultNullValue)) && EqualityUtils
-        .isEqual(_maxLength, that._maxLength);
+        .isEqual(_maxLength, that._maxLength) && EqualityUtils
+        .isEqual(getDeclaredDataType(), that.getDeclaredDataType());
   }
 
   @Override
@@ -343,6 +359,7 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
     result = EqualityUtils.hashCodeOf(result, _isSingleValueField);
     result = EqualityUtils.hashCodeOf(result, getStringValue(_defaultNullValue));
     result = EqualityUtils.hashCodeOf(result, _maxLength);
+    result = EqualityUtils.hashCodeOf(result, getDeclaredDataType());
     return result;
   }
 
@@ -373,13 +390,14 @@ public abstract class FieldSpec implements Comparable<FieldSpec>, ConfigNodeLife
    * The <code>DataType</code> enum is used to demonstrate the data type of a field.
    */
   public enum DataType {
-    INT, LONG, FLOAT, DOUBLE, BOOLEAN/* Stored as STRING */, STRING, BYTES;
+    INT, LONG, FLOAT, DOUBLE, BOOLEAN/* Stored as STRING */, STRING, BYTES, JSON/* Stored as STRING */,
+    GEO_POINT/* Stored as STRING in 'latitude,longitude' format */;
 
     /**
      * Returns the data type stored in Pinot.
      */
     public DataType getStoredType() {
-      return this == BOOLEAN ? STRING : this;
+      return this == BOOLEAN || this == JSON || this == GEO_POINT ? STRING : this;
     }
 
     /**
@@ -26,7 +26,11 @@ import org.apache.pinot.common.Utils;
  *
  */
 public enum BrokerGauge implements AbstractMetrics.Gauge {
-  QUERY_QUOTA_CAPACITY_UTILIZATION_RATE("tables", false), NETTY_CONNECTION_CONNECT_TIME_MS("nettyConnection", true);
+  QUERY_QUOTA_CAPACITY_UTILIZATION_RATE("tables", false), NETTY_CONNECTION_CONNECT_TIME_MS("nettyConnection", true),
+
+  // Query admission control gauges
+  QUERY_ADMISSION_QUEUE_SIZE("queries", true),
+  QUERY_ADMISSION_OUTSTANDING_COST("segments", true);
 
   private final String brokerGaugeName;
   private final String unit;
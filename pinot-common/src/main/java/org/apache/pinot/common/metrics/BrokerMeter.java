@@ -89,6 +89,12 @@ public enum BrokerMeter implements AbstractMetrics.Meter {
   TOTAL_SERVER_RESPONSE_SIZE("queries", false),
 
   QUERY_QUOTA_EXCEEDED("exceptions", false),
+  // Queries rejected by the admission control because the broker is out of capacity
+  QUERY_ADMISSION_REJECTED("exceptions", false),
+
+  // Query plan cache metrics
+  QUERY_PLAN_CACHE_HITS("queries", true),
+  QUERY_PLAN_CACHE_MISSES("queries", true),
 
   // tracks a case a segment is not hosted by any server
   // this is different from NO_SERVER_FOUND_EXCEPTIONS which tracks unavailability across all segments
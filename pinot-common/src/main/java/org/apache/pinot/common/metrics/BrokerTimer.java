@@ -29,7 +29,9 @@ public enum BrokerTimer implements AbstractMetrics.Timer {
   ROUTING_TABLE_UPDATE_TIME(true),
   CLUSTER_CHANGE_QUEUE_TIME(true),
   // metric tracking the freshness lag for consuming segments
-  FRESHNESS_LAG_MS(false);
+  FRESHNESS_LAG_MS(false),
+  // time spent by the queries waiting in the admission queue
+  QUERY_ADMISSION_WAIT_TIME_MS(false);
 
   private final String timerName;
   private final boolean global;
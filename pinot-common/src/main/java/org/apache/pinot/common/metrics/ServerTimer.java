@@ -30,7 +30,16 @@ public enum ServerTimer implements AbstractMetrics.Timer {
   @Deprecated
   CURRENT_MSG_EVENT_TIMESTAMP_LAG("currentMsgEventTimestampLag", false),
   // metric tracking the freshness lag for consuming segments
-  FRESHNESS_LAG_MS("freshnessLagMs", false);
+  FRESHNESS_LAG_MS("freshnessLagMs", false),
+
+  // Segment download phases
+  SEGMENT_DOWNLOAD_WAIT_TIME_MS("milliseconds", false),
+  SEGMENT_DOWNLOAD_TIME_MS("milliseconds", false),
+  SEGMENT_DECRYPT_TIME_MS("milliseconds", false),
+  SEGMENT_UNTAR_TIME_MS("milliseconds", false),
+  // Download and untar are pipelined when the tarred segment is untarred while downloading
+  SEGMENT_DOWNLOAD_AND_UNTAR_TIME_MS("milliseconds", false),
+  SEGMENT_LOAD_TIME_MS("milliseconds", false);
 
   private final String timerName;
   private final boolean global;
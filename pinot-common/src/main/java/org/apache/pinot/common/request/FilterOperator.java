@@ -39,7 +39,13 @@ public enum FilterOperator implements org.apache.thrift.TEnum {
   RANGE(4),
   REGEXP_LIKE(5),
   NOT_IN(6),
-  IN(7);
+  IN(7),
+  TEXT_MATCH(8),
+  JSON_MATCH(9),
+  IS_NULL(10),
+  IS_NOT_NULL(11),
+  ST_WITHIN(12),
+  ST_DISTANCE(13);
 
   private final int value;
 
@@ -77,6 +83,18 @@ public enum FilterOperator implements org.apache.thrift.TEnum {
         return NOT_IN;
       case 7:
         return IN;
+      case 8:
+        return TEXT_MATCH;
+      case 9:
+        return JSON_MATCH;
+      case 10:
+        return IS_NULL;
+      case 11:
+        return IS_NOT_NULL;
+      case 12:
+        return ST_WITHIN;
+      case 13:
+        return ST_DISTANCE;
       default:
         return null;
     }
@@ -103,6 +103,14 @@ public interface SegmentMetadata {
 
   String getBloomFilterFileName(String column);
 
+  String getTextIndexFileName(String column);
+
+  String getJsonIndexFileName(String column);
+
+  String getNullValueVectorFileName(String column);
+
+  String getGeoIndexFileName(String column);
+
   String getCreatorName();
 
   char getPaddingCharacter();
@@ -18,17 +18,29 @@
  */
 package org.apache.pinot.common.segment.fetcher;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.configuration.Configuration;
+import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.exception.HttpErrorStatusException;
 import org.apache.pinot.common.utils.FileUploadDownloadClient;
+import org.apache.pinot.common.utils.TarGzCompressionUtils;
 import org.apache.pinot.common.utils.retry.RetryPolicies;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RANGE_DOWNLOAD_CHUNK_SIZE_BYTES;
+import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RANGE_DOWNLOAD_CHUNK_SIZE_BYTES_DEFAULT;
+import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RANGE_DOWNLOAD_PARALLELISM;
+import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RANGE_DOWNLOAD_PARALLELISM_DEFAULT;
+import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RANGE_DOWNLOAD_THRESHOLD_BYTES;
+import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RANGE_DOWNLOAD_THRESHOLD_BYTES_DEFAULT;
 import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RETRY;
 import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RETRY_DEFAULT;
 import static org.apache.pinot.common.utils.CommonConstants.SegmentOperations.RETRY_WAITIME_MS;
@@ -41,12 +53,27 @@ public class HttpSegmentFetcher implements SegmentFetcher {
   protected FileUploadDownloadClient _httpClient;
   protected int _retryCount;
   protected int _retryWaitMs;
+  protected int _rangeDownloadParallelism;
+  protected int _rangeDownloadChunkSizeBytes;
+  protected long _rangeDownloadThresholdBytes;
+  // Shared by all the segments for the parallel byte range download, null if the parallel byte range download is
+  // disabled
+  protected ExecutorService _rangeDownloadExecutorService;
 
   @Override
   public void init(Configuration configs) {
     initHttpClient(configs);
     _retryCount = configs.getInt(RETRY, RETRY_DEFAULT);
     _retryWaitMs = configs.getInt(RETRY_WAITIME_MS, RETRY_WAITIME_MS_DEFAULT);
+    _rangeDownloadParallelism = configs.getInt(RANGE_DOWNLOAD_PARALLELISM, RANGE_DOWNLOAD_PARALLELISM_DEFAULT);
+    _rangeDownloadChunkSizeBytes =
+        configs.getInt(RANGE_DOWNLOAD_CHUNK_SIZE_BYTES, RANGE_DOWNLOAD_CHUNK_SIZE_BYTES_DEFAULT);
+    _rangeDownloadThresholdBytes =
+        configs.getLong(RANGE_DOWNLOAD_THRESHOLD_BYTES, RANGE_DOWNLOAD_THRESHOLD_BYTES_DEFAULT);
+    if (_rangeDownloadParallelism > 0) {
+      _rangeDownloadExecutorService = Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder().setNameFormat("segment-range-download-%d").setDaemon(true).build());
+    }
   }
 
   protected void initHttpClient(Configuration configs) {
@@ -80,6 +107,62 @@ public class HttpSegmentFetcher implements SegmentFetcher {
     });
   }
 
+  @Override
+  public boolean supportsStreamingUntar() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>Large segments are downloaded as byte range chunks in parallel if enabled and supported by the download server.
+   * The untar restarts from scratch on retry.
+   */
+  @Override
+  public void fetchAndUntarSegmentToLocal(final String uri, final File outputDir)
+      throws Exception {
+    RetryPolicies.exponentialBackoffRetryPolicy(_retryCount, _retryWaitMs, 5).attempt(() -> {
+      FileUtils.deleteQuietly(outputDir);
+      try {
+        long fileLength = -1L;
+        if (_rangeDownloadExecutorService != null) {
+          fileLength = _httpClient.getRangeDownloadFileLength(new URI(uri),
+              FileUploadDownloadClient.DEFAULT_SOCKET_TIMEOUT_MS);
+        }
+        if (fileLength >= _rangeDownloadThresholdBytes) {
+          URI downloadUri = new URI(uri);
+          try (InputStream inputStream = new RangeDownloadInputStream(
+              (offset, length) -> _httpClient.downloadFileRange(downloadUri,
+                  FileUploadDownloadClient.DEFAULT_SOCKET_TIMEOUT_MS, offset, length), _rangeDownloadExecutorService,
+              fileLength, _rangeDownloadChunkSizeBytes, _rangeDownloadParallelism)) {
+            TarGzCompressionUtils.unTar(inputStream, outputDir);
+          }
+          _logger.info("Downloaded and untarred file from: {} to: {} with {} parallel byte range requests; Length of "
+              + "downloaded file: {}", uri, outputDir, _rangeDownloadParallelism, fileLength);
+        } else {
+          int statusCode = _httpClient
+              .downloadAndUntarFile(new URI(uri), FileUploadDownloadClient.DEFAULT_SOCKET_TIMEOUT_MS, outputDir);
+          _logger.info("Downloaded and untarred file from: {} to: {}; Response status code: {}", uri, outputDir,
+              statusCode);
+        }
+        return true;
+      } catch (HttpErrorStatusException e) {
+        int statusCode = e.getStatusCode();
+        if (statusCode >= 500) {
+          // Temporary exception
+          _logger.warn("Caught temporary exception while downloading file from: {}, will retry", uri, e);
+          return false;
+        } else {
+          // Permanent exception
+          _logger.error("Caught permanent exception while downloading file from: {}, won't retry", uri, e);
+          throw e;
+        }
+      } catch (Exception e) {
+        _logger.warn("Caught temporary exception while downloading file from: {}, will retry", uri, e);
+        return false;
+      }
+    });
+  }
+
   @Override
   public Set<String> getProtectedConfigKeys() {
     return Collections.emptySet();
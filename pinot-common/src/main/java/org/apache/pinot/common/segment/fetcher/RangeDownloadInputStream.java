@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.common.segment.fetcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.concurrent.NotThreadSafe;
+
+
+/**
+ * The {@code RangeDownloadInputStream} class reads a remote file as consecutive byte range chunks that are downloaded
+ * in parallel.
+ * <p>At most {@code parallelism} chunks are downloaded ahead of the chunk being read, so the memory usage is bounded
+ * by {@code (parallelism + 1) * chunkSize} bytes.
+ */
+@NotThreadSafe
+public class RangeDownloadInputStream extends InputStream {
+
+  /**
+   * Downloads a byte range of the remote file.
+   */
+  public interface RangeDownloader {
+    byte[] download(long offset, int length)
+        throws Exception;
+  }
+
+  private final RangeDownloader _rangeDownloader;
+  private final ExecutorService _executorService;
+  private final long _fileLength;
+  private final int _chunkSize;
+  private final int _parallelism;
+  private final Queue<Future<byte[]>> _pendingChunks;
+
+  // Offset of the next chunk to submit
+  private long _nextChunkOffset = 0;
+  private byte[] _currentChunk = new byte[0];
+  private int _currentChunkPosition = 0;
+  private boolean _closed = false;
+
+  public RangeDownloadInputStream(RangeDownloader rangeDownloader, ExecutorService executorService, long fileLength,
+      int chunkSize, int parallelism) {
+    _rangeDownloader = rangeDownloader;
+    _executorService = executorService;
+    _fileLength = fileLength;
+    _chunkSize = chunkSize;
+    _parallelism = parallelism;
+    _pendingChunks = new ArrayDeque<>(parallelism);
+    submitChunks();
+  }
+
+  @Override
+  public int read()
+      throws IOException {
+    if (!ensureCurrentChunk()) {
+      return -1;
+    }
+    return _currentChunk[_currentChunkPosition++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len)
+      throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!ensureCurrentChunk()) {
+      return -1;
+    }
+    int numBytesToRead = Math.min(len, _currentChunk.length - _currentChunkPosition);
+    System.arraycopy(_currentChunk, _currentChunkPosition, b, off, numBytesToRead);
+    _currentChunkPosition += numBytesToRead;
+    return numBytesToRead;
+  }
+
+  @Override
+  public int available() {
+    return _currentChunk.length - _currentChunkPosition;
+  }
+
+  @Override
+  public void close() {
+    if (!_closed) {
+      _closed = true;
+      Future<byte[]> pendingChunk;
+      while ((pendingChunk = _pendingChunks.poll()) != null) {
+        pendingChunk.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Makes sure there are bytes left in the current chunk, returns {@code false} if reaching the end of the file.
+   */
+  private boolean ensureCurrentChunk()
+      throws IOException {
+    if (_closed) {
+      throw new IOException("Stream is closed");
+    }
+    while (_currentChunkPosition == _currentChunk.length) {
+      Future<byte[]> nextChunk = _pendingChunks.poll();
+      if (nextChunk == null) {
+        return false;
+      }
+      try {
+        _currentChunk = nextChunk.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while downloading byte range", e);
+      } catch (ExecutionException e) {
+        throw new IOException("Caught exception while downloading byte range", e.getCause());
+      }
+      _currentChunkPosition = 0;
+      submitChunks();
+    }
+    return true;
+  }
+
+  /**
+   * Submits chunks to download until reaching the parallelism or the end of the file.
+   */
+  private void submitChunks() {
+    while (_pendingChunks.size() < _parallelism && _nextChunkOffset < _fileLength) {
+      long offset = _nextChunkOffset;
+      int length = (int) Math.min(_chunkSize, _fileLength - offset);
+      _pendingChunks.add(_executorService.submit(() -> _rangeDownloader.download(offset, length)));
+      _nextChunkOffset += length;
+    }
+  }
+}
@@ -21,6 +21,8 @@ package org.apache.pinot.common.segment.fetcher;
 import java.io.File;
 import java.util.Set;
 import org.apache.commons.configuration.Configuration;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.utils.TarGzCompressionUtils;
 
 
 public interface SegmentFetcher {
@@ -40,6 +42,35 @@ public interface SegmentFetcher {
   void fetchSegmentToLocal(String uri, File tempFile)
       throws Exception;
 
+  /**
+   * Returns whether the fetcher can untar the tarred segment while fetching it, without storing the tarred segment on
+   * the local filesystem, see {@link #fetchAndUntarSegmentToLocal(String, File)}.
+   */
+  default boolean supportsStreamingUntar() {
+    return false;
+  }
+
+  /**
+   * Fetches the tarred segment from a uri location and untars it into the local directory. By default, fetches the
+   * tarred segment into a temporary file next to the output directory and then untars it. Fetchers that support
+   * streaming untar override this method to untar while fetching.
+   * @param uri current segment location
+   * @param outputDir directory the segment will be untarred into
+   * @throws Exception
+   */
+  default void fetchAndUntarSegmentToLocal(String uri, File outputDir)
+      throws Exception {
+    File absoluteOutputDir = outputDir.getAbsoluteFile();
+    File tempTarFile = new File(absoluteOutputDir.getParentFile(),
+        absoluteOutputDir.getName() + "_" + System.nanoTime() + TarGzCompressionUtils.TAR_GZ_FILE_EXTENSION);
+    try {
+      fetchSegmentToLocal(uri, tempTarFile);
+      TarGzCompressionUtils.unTar(tempTarFile, outputDir);
+    } finally {
+      FileUtils.deleteQuietly(tempTarFile);
+    }
+  }
+
   /**
    * Returns a list of config keys whose value should not be logged.
    *
@@ -152,6 +152,37 @@ public class CommonConstants {
     public static final String CONFIG_OF_BROKER_TIMEOUT_MS = "pinot.broker.timeoutMs";
     public static final long DEFAULT_BROKER_TIMEOUT_MS = 10_000L;
     public static final String CONFIG_OF_BROKER_ID = "pinot.broker.id";
+    // Whether to reduce the aggregation-only queries incrementally as the server responses arrive
+    public static final String CONFIG_OF_BROKER_ENABLE_INCREMENTAL_REDUCE = "pinot.broker.enableIncrementalReduce";
+    public static final boolean DEFAULT_BROKER_ENABLE_INCREMENTAL_REDUCE = false;
+    // Number of threads to merge the server responses for the incremental reduce
+    public static final String CONFIG_OF_BROKER_INCREMENTAL_REDUCE_THREADS = "pinot.broker.incrementalReduceThreads";
+    public static final int DEFAULT_BROKER_INCREMENTAL_REDUCE_THREADS = Runtime.getRuntime().availableProcessors();
+    // Overall query quota for each broker tenant, e.g. "pinot.broker.tenant.qpsQuota.DefaultTenant=1000"
+    public static final String CONFIG_OF_BROKER_TENANT_QPS_QUOTA_PREFIX = "pinot.broker.tenant.qpsQuota";
+    // Number of connections between the broker and each server for the single connection request handler
+    public static final String CONFIG_OF_BROKER_NUM_CHANNELS_PER_SERVER = "pinot.broker.numChannelsPerServer";
+    public static final int DEFAULT_BROKER_NUM_CHANNELS_PER_SERVER = 1;
+    // Maximum number of query shapes in the query plan cache, 0 to disable the cache
+    public static final String CONFIG_OF_BROKER_QUERY_PLAN_CACHE_SIZE = "pinot.broker.queryPlanCacheSize";
+    public static final int DEFAULT_BROKER_QUERY_PLAN_CACHE_SIZE = 0;
+    // Query admission control, the cost of a query is the number of segments queried weighted by the query type
+    // Max total cost of the outstanding queries, 0 to disable the admission control
+    public static final String CONFIG_OF_BROKER_ADMISSION_MAX_OUTSTANDING_COST =
+        "pinot.broker.admission.maxOutstandingCost";
+    public static final long DEFAULT_BROKER_ADMISSION_MAX_OUTSTANDING_COST = 0L;
+    // Queries with cost no less than this threshold are queued behind the cheaper queries
+    public static final String CONFIG_OF_BROKER_ADMISSION_EXPENSIVE_QUERY_COST =
+        "pinot.broker.admission.expensiveQueryCost";
+    public static final long DEFAULT_BROKER_ADMISSION_EXPENSIVE_QUERY_COST = 1000L;
+    public static final String CONFIG_OF_BROKER_ADMISSION_MAX_QUEUE_SIZE = "pinot.broker.admission.maxQueueSize";
+    public static final int DEFAULT_BROKER_ADMISSION_MAX_QUEUE_SIZE = 100;
+    public static final String CONFIG_OF_BROKER_ADMISSION_MAX_QUEUE_WAIT_MS = "pinot.broker.admission.maxQueueWaitMs";
+    public static final long DEFAULT_BROKER_ADMISSION_MAX_QUEUE_WAIT_MS = 1000L;
+    // Whether to handle the HTTP requests (including queries) on virtual threads (requires Java 21 or later), so that
+    // the requests waiting for the server responses do not hold platform threads
+    public static final String CONFIG_OF_BROKER_HTTP_VIRTUAL_THREADS = "pinot.broker.http.virtualThreads";
+    public static final boolean DEFAULT_BROKER_HTTP_VIRTUAL_THREADS = false;
     public static final BrokerResponseFactory.ResponseType DEFAULT_BROKER_RESPONSE_TYPE =
         BrokerResponseFactory.ResponseType.BROKER_RESPONSE_TYPE_NATIVE;
     // The sleep interval time of the thread used by the Brokers to refresh TimeboundaryInfo upon segment refreshing
@@ -226,6 +257,19 @@ public class CommonConstants {
     public static final String DEFAULT_REQUEST_HANDLER_FACTORY_CLASS =
         "org.apache.pinot.server.request.SimpleRequestHandlerFactory";
     public static final String PREFIX_OF_CONFIG_OF_SEGMENT_FETCHER_FACTORY = "pinot.server.segment.fetcher";
+    // Max number of segments downloaded in parallel, 0 for unbounded
+    public static final String CONFIG_OF_MAX_PARALLEL_SEGMENT_DOWNLOADS =
+        "pinot.server.instance.max.parallel.segment.downloads";
+    public static final int DEFAULT_MAX_PARALLEL_SEGMENT_DOWNLOADS = 0;
+    // Whether to untar the segments while downloading them (if supported by the segment fetcher)
+    public static final String CONFIG_OF_ENABLE_STREAMING_SEGMENT_UNTAR =
+        "pinot.server.instance.streaming.segment.untar";
+    public static final boolean DEFAULT_ENABLE_STREAMING_SEGMENT_UNTAR = false;
+    // Number of threads to load the OFFLINE segments on local disk (in the order of query heat recorded in the segment
+    // catalog) before receiving the state transitions on startup, 0 to disable preloading
+    public static final String CONFIG_OF_SEGMENT_PRELOAD_PARALLELISM =
+        "pinot.server.instance.segment.preload.parallelism";
+    public static final int DEFAULT_SEGMENT_PRELOAD_PARALLELISM = 0;
 
     // Configs for server starter startup/shutdown checks
     // Startup: timeout for the startup checks
@@ -404,5 +448,16 @@ public class CommonConstants {
     public static final int RETRY_DEFAULT = 3;
     public static final String RETRY_WAITIME_MS = "retry.wait.ms";
     public static final int RETRY_WAITIME_MS_DEFAULT = 100;
+
+    // Parallel byte range download for large segments (only for the HTTP/HTTPS fetchers, and when the download server
+    // supports byte range requests)
+    // Number of chunks downloaded in parallel for each segment, 0 to disable the parallel byte range download
+    public static final String RANGE_DOWNLOAD_PARALLELISM = "range.download.parallelism";
+    public static final int RANGE_DOWNLOAD_PARALLELISM_DEFAULT = 0;
+    public static final String RANGE_DOWNLOAD_CHUNK_SIZE_BYTES = "range.download.chunk.size.bytes";
+    public static final int RANGE_DOWNLOAD_CHUNK_SIZE_BYTES_DEFAULT = 16 * 1024 * 1024;
+    // Segments smaller than this threshold are downloaded with a single request
+    public static final String RANGE_DOWNLOAD_THRESHOLD_BYTES = "range.download.threshold.bytes";
+    public static final long RANGE_DOWNLOAD_THRESHOLD_BYTES_DEFAULT = 128 * 1024 * 1024L;
   }
 }
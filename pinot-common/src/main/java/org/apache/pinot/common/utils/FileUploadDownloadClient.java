@@ -33,11 +33,14 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
+import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.HttpVersion;
 import org.apache.http.NameValuePair;
 import org.apache.http.StatusLine;
@@ -663,6 +666,110 @@ public class FileUploadDownloadClient implements Closeable {
     }
   }
 
+  /**
+   * Download a tar.gz file and untar it into the given directory while downloading, without storing the tar.gz file on
+   * local disk. Uncompressed tar files are also supported, in which case the untarred files are written directly from
+   * the response without decompression.
+   *
+   * @param uri URI
+   * @param socketTimeoutMs Socket timeout in milliseconds
+   * @param outputDir Directory to untar the file into
+   * @return Response status code
+   * @throws IOException
+   * @throws HttpErrorStatusException
+   * @throws ArchiveException
+   */
+  public int downloadAndUntarFile(URI uri, int socketTimeoutMs, File outputDir)
+      throws IOException, HttpErrorStatusException, ArchiveException {
+    HttpUriRequest request = getDownloadFileRequest(uri, socketTimeoutMs);
+    try (CloseableHttpResponse response = _httpClient.execute(request)) {
+      StatusLine statusLine = response.getStatusLine();
+      int statusCode = statusLine.getStatusCode();
+      if (statusCode >= 300) {
+        throw new HttpErrorStatusException(getErrorMessage(request, response), statusCode);
+      }
+
+      HttpEntity entity = response.getEntity();
+      try (CountingInputStream inputStream = new CountingInputStream(entity.getContent())) {
+        TarGzCompressionUtils.unTar(inputStream, outputDir);
+
+        // Verify content length if known (consume the trailing bytes not read by the untar)
+        long contentLength = entity.getContentLength();
+        if (contentLength >= 0L) {
+          IOUtils.skip(inputStream, Long.MAX_VALUE);
+          long numBytesRead = inputStream.getByteCount();
+          Preconditions.checkState(numBytesRead == contentLength, String
+              .format("While downloading file with uri: %s, bytes read: %d does not match content length: %d", uri,
+                  numBytesRead, contentLength));
+        }
+      }
+
+      return statusCode;
+    }
+  }
+
+  /**
+   * Get the length of a file if the server supports byte range requests for it.
+   *
+   * @param uri URI
+   * @param socketTimeoutMs Socket timeout in milliseconds
+   * @return Length of the file, or -1 if the server does not support byte range requests or the length is unknown
+   * @throws IOException
+   * @throws HttpErrorStatusException
+   */
+  public long getRangeDownloadFileLength(URI uri, int socketTimeoutMs)
+      throws IOException, HttpErrorStatusException {
+    RequestBuilder requestBuilder = RequestBuilder.head(uri).setVersion(HttpVersion.HTTP_1_1);
+    setTimeout(requestBuilder, socketTimeoutMs);
+    HttpUriRequest request = requestBuilder.build();
+    try (CloseableHttpResponse response = _httpClient.execute(request)) {
+      int statusCode = response.getStatusLine().getStatusCode();
+      if (statusCode >= 300) {
+        throw new HttpErrorStatusException(getErrorMessage(request, response), statusCode);
+      }
+      Header acceptRangesHeader = response.getFirstHeader(HttpHeaders.ACCEPT_RANGES);
+      Header contentLengthHeader = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+      if (acceptRangesHeader == null || !"bytes".equalsIgnoreCase(acceptRangesHeader.getValue().trim())
+          || contentLengthHeader == null) {
+        return -1L;
+      }
+      return Long.parseLong(contentLengthHeader.getValue().trim());
+    }
+  }
+
+  /**
+   * Download a byte range of a file.
+   *
+   * @param uri URI
+   * @param socketTimeoutMs Socket timeout in milliseconds
+   * @param offset Offset of the first byte to download
+   * @param length Number of bytes to download
+   * @return Downloaded bytes
+   * @throws IOException
+   * @throws HttpErrorStatusException
+   */
+  public byte[] downloadFileRange(URI uri, int socketTimeoutMs, long offset, int length)
+      throws IOException, HttpErrorStatusException {
+    RequestBuilder requestBuilder = RequestBuilder.get(uri).setVersion(HttpVersion.HTTP_1_1)
+        .addHeader(HttpHeaders.RANGE, "bytes=" + offset + "-" + (offset + length - 1));
+    setTimeout(requestBuilder, socketTimeoutMs);
+    HttpUriRequest request = requestBuilder.build();
+    try (CloseableHttpResponse response = _httpClient.execute(request)) {
+      int statusCode = response.getStatusLine().getStatusCode();
+      if (statusCode >= 300) {
+        throw new HttpErrorStatusException(getErrorMessage(request, response), statusCode);
+      }
+      Preconditions.checkState(statusCode == HttpStatus.SC_PARTIAL_CONTENT,
+          "While downloading byte range of file with uri: %s, got status code: %s instead of partial content", uri,
+          statusCode);
+      byte[] bytes = new byte[length];
+      try (InputStream inputStream = response.getEntity().getContent()) {
+        IOUtils.readFully(inputStream, bytes);
+      }
+      return bytes;
+    }
+  }
+
   /**
    * Download a file.
    *
@@ -40,6 +40,7 @@ import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.apache.pinot.common.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,8 @@ import org.slf4j.LoggerFactory;
 public class TarGzCompressionUtils {
   private static final Logger LOGGER = LoggerFactory.getLogger(TarGzCompressionUtils.class);
   public static final String TAR_GZ_FILE_EXTENSION = ".tar.gz";
+  public static final String TAR_FILE_EXTENSION = ".tar";
+  private static final int GZIP_SIGNATURE_LENGTH = 2;
 
   /**
    * Creates a tar.gz file at the specified path with the contents of the
@@ -76,17 +79,42 @@ public class TarGzCompressionUtils {
     if (!tarGzPath.endsWith(TAR_GZ_FILE_EXTENSION)) {
       tarGzPath = tarGzPath + TAR_GZ_FILE_EXTENSION;
     }
-    try (FileOutputStream fOut = new FileOutputStream(new File(tarGzPath));
+    createTarOfDirectory(directoryPath, tarGzPath, entryPrefix, true);
+    return tarGzPath;
+  }
+
+  /**
+   * Creates an uncompressed tar file at the specified path with the contents of the specified directory.
+   * <p>The segment index files are already compressed or bit-packed, so gzip saves little space for segments while
+   * single-threaded gzip compression and decompression are the slowest stages of segment push and download. The
+   * uncompressed tar file can be untarred with {@link #unTar(File, File)} the same way as the tar.gz file.
+   *
+   * @param directoryPath The path to the directory to create an archive of
+   * @param tarPath The path to the archive to create
+   * @return tarPath
+   * @throws IOException If anything goes wrong
+   */
+  public static String createTarOfDirectory(String directoryPath, String tarPath)
+      throws IOException {
+    if (!tarPath.endsWith(TAR_FILE_EXTENSION)) {
+      tarPath = tarPath + TAR_FILE_EXTENSION;
+    }
+    createTarOfDirectory(directoryPath, tarPath, "", false);
+    return tarPath;
+  }
+
+  private static void createTarOfDirectory(String directoryPath, String tarPath, String entryPrefix, boolean gzip)
+      throws IOException {
+    try (FileOutputStream fOut = new FileOutputStream(new File(tarPath));
         BufferedOutputStream bOut = new BufferedOutputStream(fOut);
-        GzipCompressorOutputStream gzOut = new GzipCompressorOutputStream(bOut);
-        TarArchiveOutputStream tOut = new TarArchiveOutputStream(gzOut)) {
+        OutputStream out = gzip ? new GzipCompressorOutputStream(bOut) : bOut;
+        TarArchiveOutputStream tOut = new TarArchiveOutputStream(out)) {
       tOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
       addFileToTarGz(tOut, directoryPath, entryPrefix);
     } catch (IOException e) {
-      LOGGER.error("Failed to create tar.gz file for {} at path: {}", directoryPath, tarGzPath, e);
+      LOGGER.error("Failed to create tar file for {} at path: {}", directoryPath, tarPath, e);
       Utils.rethrowException(e);
     }
-    return tarGzPath;
   }
 
   public static String createTarGzOfDirectory(String directoryPath)
@@ -154,15 +182,32 @@ public class TarGzCompressionUtils {
    */
   public static List<File> unTar(final File inputFile, final File outputDir)
       throws IOException, ArchiveException {
+    LOGGER.debug("Untaring {} to dir {}.", inputFile.getAbsolutePath(), outputDir.getCanonicalPath());
+    try (InputStream inputStream = new BufferedInputStream(new FileInputStream(inputFile))) {
+      return unTar(inputStream, outputDir);
+    }
+  }
 
+  /**
+   * Untar the tar.gz content from the input stream into the output directory. This allows untarring the content while
+   * it is being downloaded, without storing the tar.gz file on local disk first.
+   * <p>Uncompressed tar content is also supported, in which case the files are written directly from the input stream
+   * without decompression.
+   * <p>The input stream is not closed by this method.
+   *
+   * @param inputStream the input stream of the .tar.gz or .tar content
+   * @param outputDir the output directory file
+   * @return The {@link List} of {@link File}s with the untared content.
+   * @throws IOException
+   * @throws ArchiveException
+   */
+  public static List<File> unTar(final InputStream inputStream, final File outputDir)
+      throws IOException, ArchiveException {
     String outputDirectoryPath = outputDir.getCanonicalPath();
-    LOGGER.debug("Untaring {} to dir {}.", inputFile.getAbsolutePath(), outputDirectoryPath);
-    TarArchiveInputStream debInputStream = null;
-    InputStream is = null;
     final List<File> untaredFiles = new LinkedList<File>();
-    try {
-      is = new GzipCompressorInputStream(new BufferedInputStream(new FileInputStream(inputFile)));
-      debInputStream = (TarArchiveInputStream) new ArchiveStreamFactory().createArchiveInputStream("tar", is);
+    try (InputStream is = getTarInputStream(new CloseShieldInputStream(inputStream));
+        TarArchiveInputStream debInputStream = (TarArchiveInputStream) new ArchiveStreamFactory()
+            .createArchiveInputStream("tar", is)) {
       TarArchiveEntry entry = null;
       while ((entry = (TarArchiveEntry) debInputStream.getNextEntry()) != null) {
         final File outputFile = new File(outputDir, entry.getName());
@@ -198,9 +243,6 @@ public class TarGzCompressionUtils {
         }
         untaredFiles.add(outputFile);
       }
-    } finally {
-      IOUtils.closeQuietly(debInputStream);
-      IOUtils.closeQuietly(is);
     }
     return untaredFiles;
   }
@@ -210,7 +252,7 @@ public class TarGzCompressionUtils {
     TarArchiveInputStream debInputStream = null;
     InputStream is = null;
     try {
-      is = new GzipCompressorInputStream(tarGzInputStream);
+      is = getTarInputStream(tarGzInputStream);
       debInputStream = (TarArchiveInputStream) new ArchiveStreamFactory().createArchiveInputStream("tar", is);
       TarArchiveEntry entry = null;
       while ((entry = (TarArchiveEntry) debInputStream.getNextEntry()) != null) {
@@ -226,4 +268,23 @@ public class TarGzCompressionUtils {
     }
     return null;
   }
+
+  /**
+   * Returns the input stream of the tar content, which decompresses the input stream if it is gzip compressed.
+   */
+  private static InputStream getTarInputStream(InputStream inputStream)
+      throws IOException {
+    if (!inputStream.markSupported()) {
+      inputStream = new BufferedInputStream(inputStream);
+    }
+    byte[] signature = new byte[GZIP_SIGNATURE_LENGTH];
+    inputStream.mark(GZIP_SIGNATURE_LENGTH);
+    int signatureLength = IOUtils.read(inputStream, signature);
+    inputStream.reset();
+    if (GzipCompressorInputStream.matches(signature, signatureLength)) {
+      return new GzipCompressorInputStream(inputStream);
+    } else {
+      return inputStream;
+    }
+  }
 }
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.common.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Utilities to create virtual threads when running on Java 21 or later.
+ *
+ * The code is compiled for Java 8, so the virtual thread APIs are resolved reflectively, and the methods return
+ * {@code null} on older runtimes so that the callers can fall back to platform threads.
+ *
+ * Virtual threads are cheap to block, so they fit the tasks that mostly wait for other tasks or IO. Blocking inside
+ * {@code synchronized} blocks pins the carrier thread on some Java versions, so CPU intensive work and code that
+ * blocks while holding monitors should stay on platform threads.
+ */
+public class VirtualThreadUtils {
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadUtils.class);
+
+  // Thread.ofVirtual()
+  private static final Method OF_VIRTUAL_METHOD;
+  // Thread.Builder.name(String prefix, long start)
+  private static final Method BUILDER_NAME_METHOD;
+  // Thread.Builder.factory()
+  private static final Method BUILDER_FACTORY_METHOD;
+  // Executors.newThreadPerTaskExecutor(ThreadFactory)
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR_METHOD;
+
+  static {
+    Method ofVirtualMethod = null;
+    Method builderNameMethod = null;
+    Method builderFactoryMethod = null;
+    Method newThreadPerTaskExecutorMethod = null;
+    try {
+      ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builderNameMethod = builderClass.getMethod("name", String.class, long.class);
+      builderFactoryMethod = builderClass.getMethod("factory");
+      newThreadPerTaskExecutorMethod =
+          Class.forName("java.util.concurrent.Executors").getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    } catch (Exception e) {
+      // Virtual threads are not supported by the runtime
+      ofVirtualMethod = null;
+    }
+    OF_VIRTUAL_METHOD = ofVirtualMethod;
+    BUILDER_NAME_METHOD = builderNameMethod;
+    BUILDER_FACTORY_METHOD = builderFactoryMethod;
+    NEW_THREAD_PER_TASK_EXECUTOR_METHOD = newThreadPerTaskExecutorMethod;
+  }
+
+  private VirtualThreadUtils() {
+  }
+
+  /**
+   * Returns whether virtual threads are supported by the runtime.
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL_METHOD != null;
+  }
+
+  /**
+   * Returns a thread factory that creates virtual threads named with the given prefix followed by a counter, or
+   * {@code null} if virtual threads are not supported.
+   */
+  @Nullable
+  public static ThreadFactory newVirtualThreadFactory(String threadNamePrefix) {
+    if (!isSupported()) {
+      return null;
+    }
+    try {
+      Object builder = OF_VIRTUAL_METHOD.invoke(null);
+      builder = BUILDER_NAME_METHOD.invoke(builder, threadNamePrefix, 0L);
+      return (ThreadFactory) BUILDER_FACTORY_METHOD.invoke(builder);
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while creating virtual thread factory", e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns an executor service that runs each task on a new virtual thread named with the given prefix followed by a
+   * counter, or {@code null} if virtual threads are not supported.
+   */
+  @Nullable
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+    ThreadFactory threadFactory = newVirtualThreadFactory(threadNamePrefix);
+    if (threadFactory == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR_METHOD.invoke(null, threadFactory);
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while creating virtual thread per task executor", e);
+      return null;
+    }
+  }
+}
@@ -318,6 +318,12 @@ public class PinotQuery2BrokerRequestConverter {
           case EQUALITY:
           case NOT:
           case REGEXP_LIKE:
+          case TEXT_MATCH:
+          case JSON_MATCH:
+          case IS_NULL:
+          case IS_NOT_NULL:
+          case ST_WITHIN:
+          case ST_DISTANCE:
           case NOT_IN:
           case IN:
             //first operand is the always the column
@@ -398,5 +404,11 @@ public class PinotQuery2BrokerRequestConverter {
     filterOperatorMapping.put(FilterKind.IN, FilterOperator.IN);
     filterOperatorMapping.put(FilterKind.NOT_IN, FilterOperator.NOT_IN);
     filterOperatorMapping.put(FilterKind.REGEXP_LIKE, FilterOperator.REGEXP_LIKE);
+    filterOperatorMapping.put(FilterKind.TEXT_MATCH, FilterOperator.TEXT_MATCH);
+    filterOperatorMapping.put(FilterKind.JSON_MATCH, FilterOperator.JSON_MATCH);
+    filterOperatorMapping.put(FilterKind.IS_NULL, FilterOperator.IS_NULL);
+    filterOperatorMapping.put(FilterKind.IS_NOT_NULL, FilterOperator.IS_NOT_NULL);
+    filterOperatorMapping.put(FilterKind.ST_WITHIN, FilterOperator.ST_WITHIN);
+    filterOperatorMapping.put(FilterKind.ST_DISTANCE, FilterOperator.ST_DISTANCE);
   }
 }
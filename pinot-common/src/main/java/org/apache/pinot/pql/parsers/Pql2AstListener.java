@@ -34,6 +34,7 @@ import org.apache.pinot.pql.parsers.pql2.ast.IdentifierAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.InPredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.IntegerLiteralAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.IsPredicateAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.JsonMatchPredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.LimitAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.OptionAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.OptionsAstNode;
@@ -45,10 +46,13 @@ import org.apache.pinot.pql.parsers.pql2.ast.PredicateListAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.PredicateParenthesisGroupAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.RegexpLikePredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.SelectAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.StDistancePredicateAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.StWithinPredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.StarColumnListAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.StarExpressionAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.StringLiteralAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.TableNameAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.TextMatchPredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.TopAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.WhereAstNode;
 
@@ -137,7 +141,11 @@ public class Pql2AstListener extends PQL2BaseListener {
 
   @Override
   public void enterIsPredicate(@NotNull PQL2Parser.IsPredicateContext ctx) {
-    pushNode(new IsPredicateAstNode());
+    boolean isNotNullClause = false;
+    if ("not".equalsIgnoreCase(ctx.getChild(0).getChild(2).getText())) {
+      isNotNullClause = true;
+    }
+    pushNode(new IsPredicateAstNode(isNotNullClause));
   }
 
   @Override
@@ -290,6 +298,46 @@ public class Pql2AstListener extends PQL2BaseListener {
     popNode();
   }
 
+  @Override
+  public void enterTextMatchPredicate(@NotNull PQL2Parser.TextMatchPredicateContext ctx) {
+    pushNode(new TextMatchPredicateAstNode());
+  }
+
+  @Override
+  public void exitTextMatchPredicate(@NotNull PQL2Parser.TextMatchPredicateContext ctx) {
+    popNode();
+  }
+
+  @Override
+  public void enterJsonMatchPredicate(@NotNull PQL2Parser.JsonMatchPredicateContext ctx) {
+    pushNode(new JsonMatchPredicateAstNode());
+  }
+
+  @Override
+  public void exitJsonMatchPredicate(@NotNull PQL2Parser.JsonMatchPredicateContext ctx) {
+    popNode();
+  }
+
+  @Override
+  public void enterStWithinPredicate(@NotNull PQL2Parser.StWithinPredicateContext ctx) {
+    pushNode(new StWithinPredicateAstNode());
+  }
+
+  @Override
+  public void exitStWithinPredicate(@NotNull PQL2Parser.StWithinPredicateContext ctx) {
+    popNode();
+  }
+
+  @Override
+  public void enterStDistancePredicate(@NotNull PQL2Parser.StDistancePredicateContext ctx) {
+    pushNode(new StDistancePredicateAstNode(ctx.getChild(0).getChild(8).getText()));
+  }
+
+  @Override
+  public void exitStDistancePredicate(@NotNull PQL2Parser.StDistancePredicateContext ctx) {
+    popNode();
+  }
+
   @Override
   public void enterHaving(@NotNull PQL2Parser.HavingContext ctx) {
     pushNode(new HavingAstNode());
@@ -50,8 +50,12 @@ import org.apache.pinot.pql.parsers.pql2.ast.ComparisonPredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.FunctionCallAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.HavingAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.InPredicateAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.JsonMatchPredicateAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.OutputColumnAstNode;
 import org.apache.pinot.pql.parsers.pql2.ast.RegexpLikePredicateAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.StDistancePredicateAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.StWithinPredicateAstNode;
+import org.apache.pinot.pql.parsers.pql2.ast.TextMatchPredicateAstNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -257,6 +261,13 @@ public class Pql2Compiler implements AbstractCompiler {
         functionCalls.add(((InPredicateAstNode) visitingNode).getFunction());
       } else if (visitingNode instanceof RegexpLikePredicateAstNode) {
         throw new Pql2CompilationException("Having predicate does not support regular expression");
+      } else if (visitingNode instanceof TextMatchPredicateAstNode) {
+        throw new Pql2CompilationException("Having predicate does not support text match");
+      } else if (visitingNode instanceof JsonMatchPredicateAstNode) {
+        throw new Pql2CompilationException("Having predicate does not support json match");
+      } else if (visitingNode instanceof StWithinPredicateAstNode
+          || visitingNode instanceof StDistancePredicateAstNode) {
+        throw new Pql2CompilationException("Having predicate does not support geospatial predicates");
       } else {
         if (visitingNode.hasChildren()) {
           for (AstNode children : visitingNode.getChildren()) {
@@ -30,5 +30,11 @@ public enum FilterKind {
   BETWEEN,
   IN,
   NOT_IN,
-  REGEXP_LIKE
+  REGEXP_LIKE,
+  TEXT_MATCH,
+  JSON_MATCH,
+  IS_NULL,
+  IS_NOT_NULL,
+  ST_WITHIN,
+  ST_DISTANCE
 }
@@ -18,14 +18,69 @@
  */
 package org.apache.pinot.pql.parsers.pql2.ast;
 
+import java.util.Collections;
+import org.apache.pinot.common.request.Expression;
+import org.apache.pinot.common.request.FilterOperator;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.common.utils.request.HavingQueryTree;
+import org.apache.pinot.common.utils.request.RequestUtils;
 import org.apache.pinot.pql.parsers.Pql2CompilationException;
 
 
 /**
  * AST node for IS predicates (foo IS NULL, foo IS NOT NULL).
  */
-public class IsPredicateAstNode extends BaseAstNode {
-  public IsPredicateAstNode() {
-    throw new Pql2CompilationException("IS predicate is not supported");
+public class IsPredicateAstNode extends PredicateAstNode {
+  private final boolean _isNotNullClause;
+
+  public IsPredicateAstNode(boolean isNotNullClause) {
+    _isNotNullClause = isNotNullClause;
+  }
+
+  @Override
+  public void addChild(AstNode childNode) {
+    if (childNode instanceof IdentifierAstNode) {
+      if (_identifier == null) {
+        IdentifierAstNode node = (IdentifierAstNode) childNode;
+        _identifier = node.getName();
+      } else {
+        throw new Pql2CompilationException("IS predicate has more than one identifier.");
+      }
+    } else if (childNode instanceof FunctionCallAstNode) {
+      throw new Pql2CompilationException("IS predicate can not be applied to a function.");
+    } else {
+      super.addChild(childNode);
+    }
+  }
+
+  @Override
+  public FilterQueryTree buildFilterQueryTree() {
+    if (_identifier == null) {
+      throw new Pql2CompilationException("IS predicate has no identifier");
+    }
+    FilterOperator filterOperator = _isNotNullClause ? FilterOperator.IS_NOT_NULL : FilterOperator.IS_NULL;
+    return new FilterQueryTree(_identifier, Collections.emptyList(), filterOperator, null);
+  }
+
+  @Override
+  public Expression buildFilterExpression() {
+    if (_identifier == null) {
+      throw new Pql2CompilationException("IS predicate has no identifier");
+    }
+    FilterKind filterKind = _isNotNullClause ? FilterKind.IS_NOT_NULL : FilterKind.IS_NULL;
+    Expression expression = RequestUtils.getFunctionExpression(filterKind.name());
+    expression.getFunctionCall().addToOperands(RequestUtils.createIdentifierExpression(_identifier));
+    return expression;
+  }
+
+  @Override
+  public HavingQueryTree buildHavingQueryTree() {
+    throw new Pql2CompilationException("IS predicate is not supported in HAVING clause.");
+  }
+
+  @Override
+  public String toString() {
+    return "IsPredicateAstNode{" + "_identifier='" + _identifier + '\'' + ", _isNotNullClause=" + _isNotNullClause
+        + '}';
   }
 }
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.pql.parsers.pql2.ast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.pinot.common.request.Expression;
+import org.apache.pinot.common.request.FilterOperator;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.common.utils.request.HavingQueryTree;
+import org.apache.pinot.common.utils.request.RequestUtils;
+import org.apache.pinot.pql.parsers.Pql2CompilationException;
+
+
+/**
+ * AST node for the ST_DISTANCE(column, latitude, longitude) &lt; distance predicate on geo point columns, which matches
+ * the points within the given distance in meters of the given center point. Only '&lt;' and '&lt;=' are supported.
+ * <p>The values of the filter are the latitude, the longitude, the comparison operator and the distance.
+ */
+public class StDistancePredicateAstNode extends PredicateAstNode {
+  private final String _operator;
+
+  public StDistancePredicateAstNode(String operator) {
+    _operator = operator;
+  }
+
+  @Override
+  public void addChild(AstNode childNode) {
+    if (childNode instanceof IdentifierAstNode) {
+      if (_identifier == null) {
+        IdentifierAstNode node = (IdentifierAstNode) childNode;
+        _identifier = node.getName();
+      } else {
+        throw new Pql2CompilationException("ST_DISTANCE predicate has more than one identifier.");
+      }
+    } else if (childNode instanceof FunctionCallAstNode) {
+      throw new Pql2CompilationException("ST_DISTANCE operator can not be called for a function.");
+    } else {
+      super.addChild(childNode);
+    }
+  }
+
+  @Override
+  public FilterQueryTree buildFilterQueryTree() {
+    List<LiteralAstNode> literals = getLiterals();
+    List<String> values = new ArrayList<>(Arrays
+        .asList(literals.get(0).getValueAsString(), literals.get(1).getValueAsString(), _operator,
+            literals.get(2).getValueAsString()));
+    return new FilterQueryTree(_identifier, values, FilterOperator.ST_DISTANCE, null);
+  }
+
+  @Override
+  public Expression buildFilterExpression() {
+    List<LiteralAstNode> literals = getLiterals();
+    Expression expression = RequestUtils.getFunctionExpression(FilterKind.ST_DISTANCE.name());
+    expression.getFunctionCall().addToOperands(RequestUtils.createIdentifierExpression(_identifier));
+    expression.getFunctionCall().addToOperands(RequestUtils.createLiteralExpression(literals.get(0)));
+    expression.getFunctionCall().addToOperands(RequestUtils.createLiteralExpression(literals.get(1)));
+    expression.getFunctionCall().addToOperands(RequestUtils.getLiteralExpression(_operator));
+    expression.getFunctionCall().addToOperands(RequestUtils.createLiteralExpression(literals.get(2)));
+    return expression;
+  }
+
+  @Override
+  public HavingQueryTree buildHavingQueryTree() {
+    throw new Pql2CompilationException("ST_DISTANCE predicate is not supported in HAVING clause.");
+  }
+
+  /**
+   * Returns the numeric literals for the latitude, the longitude and the distance.
+   */
+  private List<LiteralAstNode> getLiterals() {
+    if (_identifier == null) {
+      throw new Pql2CompilationException("ST_DISTANCE predicate has no identifier");
+    }
+    if (!hasChildren() || getChildren().size() != 3) {
+      throw new Pql2CompilationException("ST_DISTANCE predicate requires latitude, longitude and distance");
+    }
+    List<LiteralAstNode> literals = new ArrayList<>(3);
+    for (AstNode child : getChildren()) {
+      if (!(child instanceof IntegerLiteralAstNode) && !(child instanceof FloatingPointLiteralAstNode)) {
+        throw new Pql2CompilationException("ST_DISTANCE predicate only supports numeric latitude, longitude and "
+            + "distance");
+      }
+      literals.add((LiteralAstNode) child);
+    }
+    return literals;
+  }
+
+  @Override
+  public String toString() {
+    return "StDistancePredicateAstNode{" + "_operator='" + _operator + '\'' + '}';
+  }
+}
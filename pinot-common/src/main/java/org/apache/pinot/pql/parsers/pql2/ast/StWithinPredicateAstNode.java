@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.pql.parsers.pql2.ast;
+
+import java.util.Collections;
+import org.apache.pinot.common.request.Expression;
+import org.apache.pinot.common.request.FilterOperator;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.common.utils.request.HavingQueryTree;
+import org.apache.pinot.common.utils.request.RequestUtils;
+import org.apache.pinot.pql.parsers.Pql2CompilationException;
+
+
+/**
+ * AST node for the ST_WITHIN(column, 'polygon') predicate on geo point columns, where the polygon is a list of
+ * 'latitude,longitude' vertices separated by ';' (e.g. {@code '37.7,-122.5;37.8,-122.5;37.8,-122.4'}).
+ */
+public class StWithinPredicateAstNode extends PredicateAstNode {
+
+  @Override
+  public void addChild(AstNode childNode) {
+    if (childNode instanceof IdentifierAstNode) {
+      if (_identifier == null) {
+        IdentifierAstNode node = (IdentifierAstNode) childNode;
+        _identifier = node.getName();
+      } else {
+        throw new Pql2CompilationException("ST_WITHIN predicate has more than one identifier.");
+      }
+    } else if (childNode instanceof FunctionCallAstNode) {
+      throw new Pql2CompilationException("ST_WITHIN operator can not be called for a function.");
+    } else {
+      super.addChild(childNode);
+    }
+  }
+
+  @Override
+  public FilterQueryTree buildFilterQueryTree() {
+    return new FilterQueryTree(_identifier, Collections.singletonList(getPolygon()), FilterOperator.ST_WITHIN, null);
+  }
+
+  @Override
+  public Expression buildFilterExpression() {
+    String polygon = getPolygon();
+    Expression expression = RequestUtils.getFunctionExpression(FilterKind.ST_WITHIN.name());
+    expression.getFunctionCall().addToOperands(RequestUtils.createIdentifierExpression(_identifier));
+    expression.getFunctionCall().addToOperands(RequestUtils.getLiteralExpression(polygon));
+    return expression;
+  }
+
+  @Override
+  public HavingQueryTree buildHavingQueryTree() {
+    throw new Pql2CompilationException("ST_WITHIN predicate is not supported in HAVING clause.");
+  }
+
+  private String getPolygon() {
+    if (_identifier == null) {
+      throw new Pql2CompilationException("ST_WITHIN predicate has no identifier");
+    }
+    if (!hasChildren() || getChildren().size() != 1 || !(getChildren().get(0) instanceof StringLiteralAstNode)) {
+      throw new Pql2CompilationException("ST_WITHIN predicate requires exactly one string literal polygon");
+    }
+    return ((StringLiteralAstNode) getChildren().get(0)).getValueAsString();
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.pql.parsers.pql2.ast;
+
+import java.util.Collections;
+import org.apache.pinot.common.request.Expression;
+import org.apache.pinot.common.request.FilterOperator;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.common.utils.request.HavingQueryTree;
+import org.apache.pinot.common.utils.request.RequestUtils;
+import org.apache.pinot.pql.parsers.Pql2CompilationException;
+
+
+/**
+ * AST node for the TEXT_MATCH(column, 'query') predicate, where the query is a whitespace separated list of terms,
+ * prefixes (e.g. {@code 'pino*'}) and quoted phrases that all need to match.
+ */
+public class TextMatchPredicateAstNode extends PredicateAstNode {
+  private String _identifier;
+
+  @Override
+  public void addChild(AstNode childNode) {
+    if (childNode instanceof IdentifierAstNode) {
+      if (_identifier == null) {
+        IdentifierAstNode node = (IdentifierAstNode) childNode;
+        _identifier = node.getName();
+      } else {
+        throw new Pql2CompilationException("TEXT_MATCH predicate has more than one identifier.");
+      }
+    } else if (childNode instanceof FunctionCallAstNode) {
+      throw new Pql2CompilationException("TEXT_MATCH operator can not be called for a function.");
+    } else {
+      super.addChild(childNode);
+    }
+  }
+
+  @Override
+  public FilterQueryTree buildFilterQueryTree() {
+    return new FilterQueryTree(_identifier, Collections.singletonList(getQuery()), FilterOperator.TEXT_MATCH, null);
+  }
+
+  @Override
+  public Expression buildFilterExpression() {
+    String query = getQuery();
+    Expression expression = RequestUtils.getFunctionExpression(FilterKind.TEXT_MATCH.name());
+    expression.getFunctionCall().addToOperands(RequestUtils.createIdentifierExpression(_identifier));
+    expression.getFunctionCall().addToOperands(RequestUtils.getLiteralExpression(query));
+    return expression;
+  }
+
+  @Override
+  public HavingQueryTree buildHavingQueryTree() {
+    throw new Pql2CompilationException("TEXT_MATCH predicate is not supported in HAVING clause.");
+  }
+
+  private String getQuery() {
+    if (_identifier == null) {
+      throw new Pql2CompilationException("TEXT_MATCH predicate has no identifier");
+    }
+    if (!hasChildren() || getChildren().size() != 1 || !(getChildren().get(0) instanceof StringLiteralAstNode)) {
+      throw new Pql2CompilationException("TEXT_MATCH predicate requires exactly one string literal query");
+    }
+    return ((StringLiteralAstNode) getChildren().get(0)).getValueAsString();
+  }
+}
@@ -301,6 +301,8 @@ public class CalciteSqlParser {
       case IN:
       case NOT_IN:
       case LIKE:
+      case IS_NULL:
+      case IS_NOT_NULL:
         SqlBasicCall funcSqlNode = (SqlBasicCall) node;
         String funcName = funcSqlNode.getOperator().getKind().name();
         if (funcSqlNode.getOperator().getKind() == SqlKind.OTHER_FUNCTION) {
@@ -345,6 +345,17 @@ public class FieldSpecTest {
     second = JsonUtils.stringToObject(first.toJsonObject().toString(), DimensionFieldSpec.class);
     Assert.assertEquals(first, second, ERROR_MESSAGE);
 
+    // Single-value JSON type dimension field, where the declared data type should be kept.
+    dimensionFields = new String[]{"\"name\":\"dimension\"", "\"dataType\":\"JSON\""};
+    first = JsonUtils.stringToObject(getRandomOrderJsonString(dimensionFields), DimensionFieldSpec.class);
+    second = JsonUtils.stringToObject(first.toJsonObject().toString(), DimensionFieldSpec.class);
+    Assert.assertEquals(first, second, ERROR_MESSAGE);
+    Assert.assertEquals(second.getDataType(), STRING, ERROR_MESSAGE);
+    Assert.assertEquals(second.getDeclaredDataType(), JSON, ERROR_MESSAGE);
+    // JSON and STRING type fields should not be equal even though they are stored the same way
+    FieldSpec stringFieldSpec = new DimensionFieldSpec("dimension", STRING, true);
+    Assert.assertNotEquals(second, stringFieldSpec, ERROR_MESSAGE);
+
     // Multi-value dimension field with default null value.
     dimensionFields =
         new String[]{"\"name\":\"dimension\"", "\"dataType\":\"STRING\"", "\"singleValueField\":false", "\"defaultNullValue\":\"default\""};
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.common.segment.fetcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+
+public class RangeDownloadInputStreamTest {
+  private static final int FILE_LENGTH = 10_000;
+  private static final byte[] FILE_BYTES = new byte[FILE_LENGTH];
+
+  static {
+    new Random().nextBytes(FILE_BYTES);
+  }
+
+  private final ExecutorService _executorService = Executors.newFixedThreadPool(4);
+
+  @Test
+  public void testRead()
+      throws IOException {
+    RangeDownloadInputStream.RangeDownloader rangeDownloader =
+        (offset, length) -> Arrays.copyOfRange(FILE_BYTES, (int) offset, (int) offset + length);
+    for (int chunkSize : new int[]{1, 7, 1000, FILE_LENGTH, 2 * FILE_LENGTH}) {
+      for (int parallelism : new int[]{1, 3}) {
+        // Bulk read
+        try (InputStream inputStream = new RangeDownloadInputStream(rangeDownloader, _executorService, FILE_LENGTH,
+            chunkSize, parallelism)) {
+          ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+          byte[] buffer = new byte[333];
+          int numBytesRead;
+          while ((numBytesRead = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, numBytesRead);
+          }
+          Assert.assertEquals(outputStream.toByteArray(), FILE_BYTES);
+        }
+
+        // Single byte read
+        try (InputStream inputStream = new RangeDownloadInputStream(rangeDownloader, _executorService, FILE_LENGTH,
+            chunkSize, parallelism)) {
+          for (int i = 0; i < FILE_LENGTH; i++) {
+            Assert.assertEquals(inputStream.read(), FILE_BYTES[i] & 0xFF);
+          }
+          Assert.assertEquals(inputStream.read(), -1);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDownloadFailure() {
+    RangeDownloadInputStream.RangeDownloader rangeDownloader = (offset, length) -> {
+      if (offset > 0) {
+        throw new IOException("Failed to download");
+      }
+      return Arrays.copyOfRange(FILE_BYTES, 0, length);
+    };
+    try (InputStream inputStream = new RangeDownloadInputStream(rangeDownloader, _executorService, FILE_LENGTH, 1000,
+        2)) {
+      byte[] buffer = new byte[FILE_LENGTH];
+      while (inputStream.read(buffer) != -1) {
+        // Keep reading until the failed chunk
+      }
+      Assert.fail("Expecting IOException");
+    } catch (IOException e) {
+      Assert.assertEquals(e.getCause().getMessage(), "Failed to download");
+    }
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _executorService.shutdown();
+  }
+}
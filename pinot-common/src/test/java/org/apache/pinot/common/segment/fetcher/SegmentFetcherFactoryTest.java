@@ -26,6 +26,8 @@ import java.util.Collections;
 import java.util.Set;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.utils.TarGzCompressionUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -91,6 +93,39 @@ public class SegmentFetcherFactoryTest {
     }
   }
 
+  @Test
+  public void testDefaultFetchAndUntarSegmentToLocal()
+      throws Exception {
+    File tempDir = new File(FileUtils.getTempDirectory(), "SegmentFetcherFactoryTest");
+    FileUtils.deleteQuietly(tempDir);
+    try {
+      File segmentDir = new File(tempDir, "segment");
+      FileUtils.writeStringToFile(new File(segmentDir, "metadata.properties"), "segment.name = segment");
+      String tarFilePath = TarGzCompressionUtils
+          .createTarGzOfDirectory(segmentDir.getPath(), new File(tempDir, "segment").getPath());
+
+      // Fetcher without streaming untar support should fetch the tarred segment to local and then untar it
+      File outputDir = new File(tempDir, "output");
+      new TestSegmentFetcher() {
+        @Override
+        public void fetchSegmentToLocal(String uri, File tempFile)
+            throws Exception {
+          FileUtils.copyFile(new File(uri), tempFile);
+        }
+      }.fetchAndUntarSegmentToLocal(tarFilePath, outputDir);
+
+      File[] outputFiles = outputDir.listFiles();
+      Assert.assertNotNull(outputFiles);
+      Assert.assertEquals(outputFiles.length, 1);
+      Assert.assertEquals(FileUtils.readFileToString(new File(outputFiles[0], "metadata.properties")),
+          "segment.name = segment");
+      // The temporary tarred segment should be cleaned up
+      Assert.assertEquals(tempDir.list().length, 3);
+    } finally {
+      FileUtils.deleteQuietly(tempDir);
+    }
+  }
+
   public static class TestSegmentFetcher implements SegmentFetcher {
     public int initCalled = 0;
 
@@ -104,7 +139,8 @@ public class SegmentFetcherFactoryTest {
     }
 
     @Override
-    public void fetchSegmentToLocal(String uri, File tempFile) {
+    public void fetchSegmentToLocal(String uri, File tempFile)
+        throws Exception {
     }
 
     @Override
@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import org.apache.commons.compress.archivers.ArchiveException;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
@@ -114,6 +115,47 @@ public class TarGzCompressionUtilsTest {
     }
   }
 
+  @Test
+  public void testUntarFromStream()
+      throws IOException, ArchiveException {
+    new File(segmentDir, "metadata.properties").createNewFile();
+    File tarGzPath = new File(tarDir, SEGMENT_NAME + ".tar.gz");
+    TarGzCompressionUtils.createTarGzOfDirectory(segmentDir.getPath(), tarGzPath.getPath());
+    try (InputStream inputStream = new FileInputStream(tarGzPath)) {
+      TarGzCompressionUtils.unTar(inputStream, untarDir);
+      // The input stream should not be closed
+      Assert.assertEquals(inputStream.read(), -1);
+    }
+    File[] segments = untarDir.listFiles();
+    Assert.assertNotNull(segments);
+    Assert.assertEquals(segments.length, 1);
+    File[] segmentFiles = segments[0].listFiles();
+    Assert.assertNotNull(segmentFiles);
+    Assert.assertEquals(segmentFiles.length, 1);
+    Assert.assertEquals(segmentFiles[0].getName(), "metadata.properties");
+  }
+
+  @Test
+  public void testUncompressedTar()
+      throws IOException, ArchiveException {
+    new File(segmentDir, "metadata.properties").createNewFile();
+    File tarPath = new File(tarDir, SEGMENT_NAME + TarGzCompressionUtils.TAR_FILE_EXTENSION);
+    TarGzCompressionUtils.createTarOfDirectory(segmentDir.getPath(), tarPath.getPath());
+    TarGzCompressionUtils.unTar(tarPath, untarDir);
+    File[] segments = untarDir.listFiles();
+    Assert.assertNotNull(segments);
+    Assert.assertEquals(segments.length, 1);
+    File[] segmentFiles = segments[0].listFiles();
+    Assert.assertNotNull(segmentFiles);
+    Assert.assertEquals(segmentFiles.length, 1);
+    Assert.assertEquals(segmentFiles[0].getName(), "metadata.properties");
+
+    try (InputStream inputStream = TarGzCompressionUtils
+        .unTarOneFile(new FileInputStream(tarPath), "metadata.properties")) {
+      Assert.assertNotNull(inputStream);
+    }
+  }
+
   @Test
   public void testEmptyDirectory()
       throws IOException, ArchiveException {
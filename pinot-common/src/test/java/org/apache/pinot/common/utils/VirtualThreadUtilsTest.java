@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.common.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class VirtualThreadUtilsTest {
+
+  @Test
+  public void testVirtualThreads()
+      throws Exception {
+    ThreadFactory threadFactory = VirtualThreadUtils.newVirtualThreadFactory("test-");
+    ExecutorService executorService = VirtualThreadUtils.newVirtualThreadPerTaskExecutor("test-");
+    if (!VirtualThreadUtils.isSupported()) {
+      Assert.assertNull(threadFactory);
+      Assert.assertNull(executorService);
+      return;
+    }
+
+    Assert.assertNotNull(threadFactory);
+    Thread thread = threadFactory.newThread(() -> {
+    });
+    Assert.assertEquals(thread.getName(), "test-0");
+    Assert.assertTrue(thread.isDaemon());
+
+    Assert.assertNotNull(executorService);
+    try {
+      Assert.assertEquals(executorService.submit(() -> Thread.currentThread().getName()).get(), "test-0");
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+}
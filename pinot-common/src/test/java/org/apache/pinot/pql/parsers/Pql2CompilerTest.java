@@ -131,6 +131,57 @@ public class Pql2CompilerTest {
     Assert.assertEquals(func.getOperands().get(0).getIdentifier().getName(), "e");
     Assert.assertEquals(func.getOperands().get(1).getLiteral().getLongValue(), 70);
     Assert.assertEquals(func.getOperands().get(2).getLiteral().getLongValue(), 80);
+
+    brokerRequest = COMPILER.compileToBrokerRequest("select * from vegetables where f IS NULL");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getColumn(), "f");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getOperator(), FilterOperator.IS_NULL);
+    Assert.assertTrue(brokerRequest.getFilterQuery().getValue().isEmpty());
+    // Test PinotQuery
+    func = brokerRequest.getPinotQuery().getFilterExpression().getFunctionCall();
+    Assert.assertEquals(func.getOperator(), FilterKind.IS_NULL.name());
+    Assert.assertEquals(func.getOperands().get(0).getIdentifier().getName(), "f");
+
+    brokerRequest = COMPILER.compileToBrokerRequest("select * from vegetables where g is not null");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getColumn(), "g");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getOperator(), FilterOperator.IS_NOT_NULL);
+    Assert.assertTrue(brokerRequest.getFilterQuery().getValue().isEmpty());
+    // Test PinotQuery
+    func = brokerRequest.getPinotQuery().getFilterExpression().getFunctionCall();
+    Assert.assertEquals(func.getOperator(), FilterKind.IS_NOT_NULL.name());
+    Assert.assertEquals(func.getOperands().get(0).getIdentifier().getName(), "g");
+  }
+
+  @Test
+  public void testGeospatialPredicates() {
+    BrokerRequest brokerRequest = COMPILER.compileToBrokerRequest(
+        "select * from places where ST_WITHIN(location, '37.7,-122.5;37.8,-122.5;37.8,-122.4')");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getColumn(), "location");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getOperator(), FilterOperator.ST_WITHIN);
+    Assert.assertEquals(brokerRequest.getFilterQuery().getValue(),
+        Collections.singletonList("37.7,-122.5;37.8,-122.5;37.8,-122.4"));
+    // Test PinotQuery
+    Function func = brokerRequest.getPinotQuery().getFilterExpression().getFunctionCall();
+    Assert.assertEquals(func.getOperator(), FilterKind.ST_WITHIN.name());
+    Assert.assertEquals(func.getOperands().get(0).getIdentifier().getName(), "location");
+    Assert.assertEquals(func.getOperands().get(1).getLiteral().getStringValue(), "37.7,-122.5;37.8,-122.5;37.8,-122.4");
+
+    brokerRequest = COMPILER
+        .compileToBrokerRequest("select * from places where ST_DISTANCE(location, 37.7749, -122.4194) <= 5000");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getColumn(), "location");
+    Assert.assertEquals(brokerRequest.getFilterQuery().getOperator(), FilterOperator.ST_DISTANCE);
+    Assert.assertEquals(brokerRequest.getFilterQuery().getValue(), Arrays.asList("37.7749", "-122.4194", "<=", "5000"));
+    // Test PinotQuery
+    func = brokerRequest.getPinotQuery().getFilterExpression().getFunctionCall();
+    Assert.assertEquals(func.getOperator(), FilterKind.ST_DISTANCE.name());
+    Assert.assertEquals(func.getOperands().get(0).getIdentifier().getName(), "location");
+    Assert.assertEquals(func.getOperands().get(1).getLiteral().getDoubleValue(), 37.7749);
+    Assert.assertEquals(func.getOperands().get(2).getLiteral().getDoubleValue(), -122.4194);
+    Assert.assertEquals(func.getOperands().get(3).getLiteral().getStringValue(), "<=");
+    Assert.assertEquals(func.getOperands().get(4).getLiteral().getLongValue(), 5000);
+
+    assertCompilationFails("select * from places where ST_DISTANCE(location, 37.7749, -122.4194) > 5000");
+    assertCompilationFails("select * from places where ST_DISTANCE(location, 'a', -122.4194) < 5000");
+    assertCompilationFails("select * from places where ST_WITHIN(location, 5000)");
   }
 
   @Test
@@ -31,7 +31,13 @@ enum FilterOperator {
   RANGE,
   REGEXP_LIKE,
   NOT_IN,
-  IN
+  IN,
+  TEXT_MATCH,
+  JSON_MATCH,
+  IS_NULL,
+  IS_NOT_NULL,
+  ST_WITHIN,
+  ST_DISTANCE
 }
 
 /**
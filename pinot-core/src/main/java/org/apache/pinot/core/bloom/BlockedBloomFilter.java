@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.bloom;
+
+import com.google.common.base.Preconditions;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+
+/**
+ * Split block bloom filter, where all the bits for a value are set within a single block of 256 bits (8 32-bit words,
+ * half of a cache line), so that each check touches one cache line only.
+ * <p>A value is hashed once into a 64-bit hash without allocation: the upper 32 bits pick the block, and the lower 32
+ * bits multiplied by 8 salts pick one bit in each of the 8 words of the block.
+ * <p>This class is used to build the bloom filter on heap. The serialized bloom filter is read directly from the
+ * segment data buffer with {@link OffHeapBlockedBloomFilter}.
+ * <p>Serialized format: number of blocks (big-endian int), followed by the words of all blocks (little-endian ints).
+ */
+public class BlockedBloomFilter implements BloomFilter {
+  // Increment the version when the bloom filter implementation becomes backward incompatible
+  static final int VERSION = 1;
+
+  static final int BITS_PER_BLOCK = 256;
+  static final int WORDS_PER_BLOCK = 8;
+  static final int BYTES_PER_BLOCK = 32;
+  static final int[] SALTS =
+      {0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d, 0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31};
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private int _numBlocks;
+  private int[] _words;
+
+  public BlockedBloomFilter() {
+  }
+
+  public BlockedBloomFilter(int cardinality, double maxFalsePosProbability, long maxNumBits) {
+    Preconditions.checkArgument(maxNumBits >= BITS_PER_BLOCK, "Max number of bits: %s is smaller than a block",
+        maxNumBits);
+    long numBits = Math.min(computeNumBits(cardinality, maxFalsePosProbability), maxNumBits);
+    _numBlocks = (int) Math.max(1, numBits / BITS_PER_BLOCK);
+    _words = new int[_numBlocks * WORDS_PER_BLOCK];
+  }
+
+  /**
+   * Returns the number of bits needed to reach the given false positive probability with 8 bits set per value, see
+   * "Cache-, Hash- and Space-Efficient Bloom Filters" (Putze et al.).
+   */
+  static long computeNumBits(int cardinality, double maxFalsePosProbability) {
+    return (long) Math
+        .ceil(-WORDS_PER_BLOCK * Math.max(cardinality, 1) / Math.log(1 - Math.pow(maxFalsePosProbability, 1.0 / 8)));
+  }
+
+  /**
+   * Computes the 64-bit hash of the value (FNV-1a over the chars followed by the murmur3 finalizer) without
+   * allocating.
+   */
+  static long hash(String value) {
+    long hash = FNV_OFFSET_BASIS;
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      hash ^= value.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  static int getBlockIndex(long hash, int numBlocks) {
+    return (int) (((hash >>> 32) * numBlocks) >>> 32);
+  }
+
+  static int getBitMask(int key, int wordIndex) {
+    return 1 << ((key * SALTS[wordIndex]) >>> 27);
+  }
+
+  public int getNumBlocks() {
+    return _numBlocks;
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public BloomFilterType getBloomFilterType() {
+    return BloomFilterType.BLOCKED_OFF_HEAP;
+  }
+
+  @Override
+  public void add(Object input) {
+    long hash = hash(input.toString());
+    int key = (int) hash;
+    int offset = getBlockIndex(hash, _numBlocks) * WORDS_PER_BLOCK;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      _words[offset + i] |= getBitMask(key, i);
+    }
+  }
+
+  @Override
+  public boolean mightContain(Object input) {
+    long hash = hash(input.toString());
+    int key = (int) hash;
+    int offset = getBlockIndex(hash, _numBlocks) * WORDS_PER_BLOCK;
+    int missingBits = 0;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      missingBits |= ~_words[offset + i] & getBitMask(key, i);
+    }
+    return missingBits == 0;
+  }
+
+  @Override
+  public void writeTo(OutputStream out)
+      throws IOException {
+    DataOutputStream dataOutputStream = new DataOutputStream(out);
+    dataOutputStream.writeInt(_numBlocks);
+    for (int word : _words) {
+      dataOutputStream.writeInt(Integer.reverseBytes(word));
+    }
+    dataOutputStream.flush();
+  }
+
+  @Override
+  public void readFrom(InputStream in)
+      throws IOException {
+    DataInputStream dataInputStream = new DataInputStream(in);
+    _numBlocks = dataInputStream.readInt();
+    _words = new int[_numBlocks * WORDS_PER_BLOCK];
+    for (int i = 0; i < _words.length; i++) {
+      _words[i] = Integer.reverseBytes(dataInputStream.readInt());
+    }
+  }
+}
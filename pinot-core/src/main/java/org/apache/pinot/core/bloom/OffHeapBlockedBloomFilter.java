@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.bloom;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * Read-only view of a serialized {@link BlockedBloomFilter} on top of the (memory mapped) segment data buffer, so that
+ * the bloom filter does not need to be deserialized onto the heap.
+ * <p>The words are stored in little-endian order, so the checks read them without byte swapping on x86 and ARM.
+ */
+public class OffHeapBlockedBloomFilter implements BloomFilter {
+  private static final int HEADER_SIZE = Integer.BYTES;
+
+  private final int _numBlocks;
+  private final PinotDataBuffer _dataBuffer;
+
+  /**
+   * @param dataBuffer Data buffer containing the bloom filter serialized with {@link BlockedBloomFilter#writeTo}
+   */
+  public OffHeapBlockedBloomFilter(PinotDataBuffer dataBuffer) {
+    _numBlocks = dataBuffer.view(0, HEADER_SIZE, ByteOrder.BIG_ENDIAN).getInt(0);
+    long dataEnd = HEADER_SIZE + (long) _numBlocks * BlockedBloomFilter.BYTES_PER_BLOCK;
+    if (dataEnd > dataBuffer.size()) {
+      throw new IllegalStateException(
+          "Bloom filter buffer size: " + dataBuffer.size() + " is smaller than expected: " + dataEnd);
+    }
+    _dataBuffer = dataBuffer.view(HEADER_SIZE, dataEnd, ByteOrder.LITTLE_ENDIAN);
+  }
+
+  @Override
+  public int getVersion() {
+    return BlockedBloomFilter.VERSION;
+  }
+
+  @Override
+  public BloomFilterType getBloomFilterType() {
+    return BloomFilterType.BLOCKED_OFF_HEAP;
+  }
+
+  @Override
+  public void add(Object input) {
+    throw new UnsupportedOperationException("Off-heap bloom filter is read-only");
+  }
+
+  @Override
+  public boolean mightContain(Object input) {
+    long hash = BlockedBloomFilter.hash(input.toString());
+    int key = (int) hash;
+    long offset = (long) BlockedBloomFilter.getBlockIndex(hash, _numBlocks) * BlockedBloomFilter.BYTES_PER_BLOCK;
+    int missingBits = 0;
+    for (int i = 0; i < BlockedBloomFilter.WORDS_PER_BLOCK; i++) {
+      missingBits |= ~_dataBuffer.getInt(offset + i * Integer.BYTES) & BlockedBloomFilter.getBitMask(key, i);
+    }
+    return missingBits == 0;
+  }
+
+  @Override
+  public void writeTo(OutputStream out)
+      throws IOException {
+    throw new UnsupportedOperationException("Off-heap bloom filter cannot be serialized");
+  }
+
+  @Override
+  public void readFrom(InputStream in)
+      throws IOException {
+    throw new UnsupportedOperationException("Off-heap bloom filter is read from the data buffer");
+  }
+}
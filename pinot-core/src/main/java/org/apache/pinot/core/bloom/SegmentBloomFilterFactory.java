@@ -31,10 +31,29 @@ public class SegmentBloomFilterFactory {
    * @return a bloom filter
    */
   public static BloomFilter createSegmentBloomFilter(int cardinality, double maxFalsePosProbability) {
-    // TODO: when we add more types of bloom filter, we will need to add a new config and wire in here
     return new GuavaOnHeapBloomFilter(cardinality, maxFalsePosProbability);
   }
 
+  /**
+   * Factory used when creating a new bloom filter of the given type
+   *
+   * @param type a bloom filter type
+   * @param cardinality cardinality of column
+   * @param maxFalsePosProbability maximum false positive probability
+   * @param maxNumBits maximum number of bits of the bloom filter
+   * @return a bloom filter
+   */
+  public static BloomFilter createSegmentBloomFilter(BloomFilterType type, int cardinality,
+      double maxFalsePosProbability, long maxNumBits) {
+    switch (type) {
+      case GUAVA_ON_HEAP:
+        return new GuavaOnHeapBloomFilter(cardinality, maxFalsePosProbability);
+      case BLOCKED_OFF_HEAP:
+        return new BlockedBloomFilter(cardinality, maxFalsePosProbability, maxNumBits);
+    }
+    throw new RuntimeException("Invalid bloom filter type: " + type.toString());
+  }
+
   /**
    * Factory used when deserializing a bloom filter
    *
@@ -45,6 +64,8 @@ public class SegmentBloomFilterFactory {
     switch (type) {
       case GUAVA_ON_HEAP:
         return new GuavaOnHeapBloomFilter();
+      case BLOCKED_OFF_HEAP:
+        return new BlockedBloomFilter();
     }
     throw new RuntimeException("Invalid bloom filter type: " + type.toString());
   }
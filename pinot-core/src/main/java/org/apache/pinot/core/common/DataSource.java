@@ -22,6 +22,10 @@ import org.apache.pinot.core.operator.BaseOperator;
 import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
 
 
 public abstract class DataSource extends BaseOperator {
@@ -33,4 +37,12 @@ public abstract class DataSource extends BaseOperator {
   public abstract Dictionary getDictionary();
 
   public abstract BloomFilterReader getBloomFilter();
+
+  public abstract TextIndexReader getTextIndex();
+
+  public abstract JsonIndexReader getJsonIndex();
+
+  public abstract GeoIndexReader getGeoIndex();
+
+  public abstract NullValueVectorReader getNullValueVector();
 }
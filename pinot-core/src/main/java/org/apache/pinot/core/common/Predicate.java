@@ -24,16 +24,20 @@ import org.apache.pinot.common.request.FilterOperator;
 import org.apache.pinot.common.utils.request.FilterQueryTree;
 import org.apache.pinot.core.common.predicate.EqPredicate;
 import org.apache.pinot.core.common.predicate.InPredicate;
+import org.apache.pinot.core.common.predicate.JsonMatchPredicate;
 import org.apache.pinot.core.common.predicate.NEqPredicate;
 import org.apache.pinot.core.common.predicate.NotInPredicate;
 import org.apache.pinot.core.common.predicate.RangePredicate;
 import org.apache.pinot.core.common.predicate.RegexpLikePredicate;
+import org.apache.pinot.core.common.predicate.StDistancePredicate;
+import org.apache.pinot.core.common.predicate.StWithinPredicate;
+import org.apache.pinot.core.common.predicate.TextMatchPredicate;
 
 
 public abstract class Predicate {
 
   public enum Type {
-    EQ, NEQ, REGEXP_LIKE, RANGE, IN, NOT_IN;
+    EQ, NEQ, REGEXP_LIKE, RANGE, IN, NOT_IN, TEXT_MATCH, JSON_MATCH, ST_WITHIN, ST_DISTANCE;
 
     public boolean isExclusive() {
       return this == NEQ || this == NOT_IN;
@@ -94,6 +98,18 @@ public abstract class Predicate {
       case IN:
         predicate = new InPredicate(column, value);
         break;
+      case TEXT_MATCH:
+        predicate = new TextMatchPredicate(column, value);
+        break;
+      case JSON_MATCH:
+        predicate = new JsonMatchPredicate(column, value);
+        break;
+      case ST_WITHIN:
+        predicate = new StWithinPredicate(column, value);
+        break;
+      case ST_DISTANCE:
+        predicate = new StDistancePredicate(column, value);
+        break;
       default:
         throw new UnsupportedOperationException("Unsupported filterType:" + filterType);
     }
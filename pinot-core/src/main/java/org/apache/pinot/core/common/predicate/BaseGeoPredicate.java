@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.common.predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.geospatial.GeoCellCovering;
+import org.apache.pinot.core.geospatial.GeoShape;
+
+
+/**
+ * Base class for the geospatial predicates, which match the geo points contained by a {@link GeoShape}.
+ */
+public abstract class BaseGeoPredicate extends Predicate {
+  private static final int MAX_NUM_CACHED_GEO_SHAPES = 1000;
+  // The predicate is created for each segment, so the parsed shapes and their cell coverings are cached by the
+  // predicate values to be shared by all the segments of the query
+  private static final Cache<String, CachedGeoShape> GEO_SHAPE_CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_NUM_CACHED_GEO_SHAPES).build();
+
+  private final CachedGeoShape _cachedGeoShape;
+
+  protected BaseGeoPredicate(String lhs, Type predicateType, List<String> rhs,
+      Function<List<String>, GeoShape> geoShapeParser) {
+    super(lhs, predicateType, rhs);
+    String key = predicateType + rhs.toString();
+    CachedGeoShape cachedGeoShape = GEO_SHAPE_CACHE.getIfPresent(key);
+    if (cachedGeoShape == null) {
+      // Parse outside of the cache so that invalid values throw the IllegalArgumentException
+      cachedGeoShape = new CachedGeoShape(geoShapeParser.apply(rhs));
+      GEO_SHAPE_CACHE.put(key, cachedGeoShape);
+    }
+    _cachedGeoShape = cachedGeoShape;
+  }
+
+  public GeoShape getGeoShape() {
+    return _cachedGeoShape._geoShape;
+  }
+
+  /**
+   * Returns the covering of the shape with the cells of the geo index at the given level.
+   */
+  public GeoCellCovering getGeoCellCovering(int indexLevel) {
+    return _cachedGeoShape._geoCellCoverings
+        .computeIfAbsent(indexLevel, level -> GeoCellCovering.cover(_cachedGeoShape._geoShape, level));
+  }
+
+  /**
+   * Immutable shape with the lazily computed cell coverings for each index level, which can be shared by multiple
+   * threads.
+   */
+  private static class CachedGeoShape {
+    final GeoShape _geoShape;
+    final Map<Integer, GeoCellCovering> _geoCellCoverings = new ConcurrentHashMap<>();
+
+    CachedGeoShape(GeoShape geoShape) {
+      _geoShape = geoShape;
+    }
+  }
+}
@@ -19,13 +19,30 @@
 package org.apache.pinot.core.common.predicate;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.util.regex.RegexpDfa;
+import org.apache.pinot.core.util.regex.RegexpPrefixExtractor;
 
 
 public class RegexpLikePredicate extends Predicate {
+  // REGEXP_LIKE is case-insensitive
+  public static final int PATTERN_FLAGS = Pattern.UNICODE_CASE | Pattern.CASE_INSENSITIVE;
+
+  private static final int MAX_NUM_CACHED_REGEXPS = 1000;
+  // The predicate is created for each segment, so the compiled regular expressions are cached by the regex to be shared
+  // by all the segments of the query
+  private static final Cache<String, CompiledRegexp> COMPILED_REGEXP_CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_NUM_CACHED_REGEXPS).build();
+
   String _regex;
+  private CompiledRegexp _compiledRegexp;
 
   public RegexpLikePredicate(String lhs, List<String> rhs) {
     super(lhs, Type.REGEXP_LIKE, rhs);
@@ -43,4 +60,54 @@ public class RegexpLikePredicate extends Predicate {
   public String getRegex() {
     return _regex;
   }
+
+  public Pattern getPattern() {
+    return getCompiledRegexp()._pattern;
+  }
+
+  /**
+   * Returns the DFA for the regex, or {@code null} if the regex is not supported by {@link RegexpDfa}.
+   */
+  @Nullable
+  public RegexpDfa getDfa() {
+    return getCompiledRegexp()._dfa;
+  }
+
+  /**
+   * Returns the sorted literal prefixes of the regex (see {@link RegexpPrefixExtractor}), or {@code null} if the regex
+   * cannot be restricted to literal prefixes.
+   */
+  @Nullable
+  public List<String> getPrefixes() {
+    return getCompiledRegexp()._prefixes;
+  }
+
+  private CompiledRegexp getCompiledRegexp() {
+    if (_compiledRegexp == null) {
+      CompiledRegexp compiledRegexp = COMPILED_REGEXP_CACHE.getIfPresent(_regex);
+      if (compiledRegexp == null) {
+        // Compile outside of the cache so that invalid regex throws the PatternSyntaxException
+        compiledRegexp = new CompiledRegexp(_regex);
+        COMPILED_REGEXP_CACHE.put(_regex, compiledRegexp);
+      }
+      _compiledRegexp = compiledRegexp;
+    }
+    return _compiledRegexp;
+  }
+
+  /**
+   * Immutable compiled forms of the regex, which can be shared by multiple threads.
+   */
+  private static class CompiledRegexp {
+    final Pattern _pattern;
+    final RegexpDfa _dfa;
+    final List<String> _prefixes;
+
+    CompiledRegexp(String regex) {
+      _pattern = Pattern.compile(regex, PATTERN_FLAGS);
+      _dfa = RegexpDfa.compile(regex, PATTERN_FLAGS);
+      List<String> prefixes = RegexpPrefixExtractor.getPrefixes(regex, PATTERN_FLAGS);
+      _prefixes = prefixes != null ? Collections.unmodifiableList(prefixes) : null;
+    }
+  }
 }
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.common.predicate;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import org.apache.pinot.core.geospatial.GeoCircle;
+import org.apache.pinot.core.geospatial.GeoShape;
+
+
+/**
+ * The values of the predicate are the latitude and longitude of the center, the comparison operator ({@code <} or
+ * {@code <=}) and the distance in meters.
+ */
+public class StDistancePredicate extends BaseGeoPredicate {
+  private static final String LESS_THAN = "<";
+  private static final String LESS_THAN_OR_EQUAL = "<=";
+
+  public StDistancePredicate(String lhs, List<String> rhs) {
+    super(lhs, Type.ST_DISTANCE, rhs, StDistancePredicate::parseCircle);
+  }
+
+  private static GeoShape parseCircle(List<String> rhs) {
+    Preconditions.checkArgument(rhs.size() == 4,
+        "ST_DISTANCE predicate should have latitude, longitude, operator and distance");
+    String operator = rhs.get(2);
+    Preconditions.checkArgument(LESS_THAN.equals(operator) || LESS_THAN_OR_EQUAL.equals(operator),
+        "Unsupported operator for ST_DISTANCE predicate: %s", operator);
+    return new GeoCircle(Double.parseDouble(rhs.get(0)), Double.parseDouble(rhs.get(1)),
+        Double.parseDouble(rhs.get(3)), LESS_THAN_OR_EQUAL.equals(operator));
+  }
+}
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.common.predicate;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.text.TextMatchQuery;
+
+
+public class TextMatchPredicate extends Predicate {
+  private final TextMatchQuery _textMatchQuery;
+
+  public TextMatchPredicate(String lhs, List<String> rhs) {
+    super(lhs, Type.TEXT_MATCH, rhs);
+    Preconditions.checkArgument(rhs.size() == 1, "TEXT_MATCH predicate should have exactly one query");
+    _textMatchQuery = TextMatchQuery.parse(rhs.get(0));
+  }
+
+  public String getQuery() {
+    return getRhs().get(0);
+  }
+
+  public TextMatchQuery getTextMatchQuery() {
+    return _textMatchQuery;
+  }
+}
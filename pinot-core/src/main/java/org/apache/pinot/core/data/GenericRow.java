@@ -21,6 +21,7 @@ package org.apache.pinot.core.data;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import org.apache.pinot.common.data.RowEvent;
@@ -33,10 +34,12 @@ import org.apache.pinot.common.utils.JsonUtils;
  */
 public class GenericRow implements RowEvent {
   private Map<String, Object> _fieldMap = new HashMap<>();
+  private final Set<String> _nullValueFields = new HashSet<>();
 
   @Override
   public void init(Map<String, Object> field) {
     _fieldMap = field;
+    _nullValueFields.clear();
   }
 
   public Set<Map.Entry<String, Object>> getEntrySet() {
@@ -57,6 +60,25 @@ public class GenericRow implements RowEvent {
     _fieldMap.put(key, value);
   }
 
+  /**
+   * Marks the value of the given field as null. The field still holds the default null value put by the
+   * {@link org.apache.pinot.core.data.recordtransformer.NullValueTransformer}.
+   */
+  public void addNullValueField(String fieldName) {
+    _nullValueFields.add(fieldName);
+  }
+
+  /**
+   * Returns {@code true} if the value of the given field was null before being replaced with the default null value.
+   */
+  public boolean isNullValue(String fieldName) {
+    return _nullValueFields.contains(fieldName);
+  }
+
+  public Set<String> getNullValueFields() {
+    return _nullValueFields;
+  }
+
   @Override
   public String toString() {
     StringBuilder b = new StringBuilder();
@@ -95,6 +117,7 @@ public class GenericRow implements RowEvent {
     for (Map.Entry<String, Object> mapEntry : getEntrySet()) {
       mapEntry.setValue(null);
     }
+    _nullValueFields.clear();
   }
 
   public static GenericRow fromBytes(byte[] buffer)
@@ -19,6 +19,9 @@
 package org.apache.pinot.core.data.function;
 
 import com.google.common.base.Preconditions;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.List;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.core.data.GenericRow;
@@ -31,6 +34,10 @@ import org.apache.pinot.core.data.GenericRow;
  * <ul>
  *   <li>Parse the function expression into an expression tree</li>
  *   <li>Convert each node in the expression tree into and ExecutableNode</li>
+ *   <li>
+ *     Compose the method handles of the ExecutableNodes into a single method handle that evaluates the whole tree
+ *     <p>Primitive values returned by a function are passed to the function using them without boxing
+ *   </li>
  * </ul>
  * <p>An ExecutableNode can be a
  * <ul>
@@ -43,12 +50,26 @@ import org.apache.pinot.core.data.GenericRow;
  * </ul>
  */
 public class FunctionExpressionEvaluator {
+  private static final MethodHandle GET_VALUE;
+
+  static {
+    try {
+      GET_VALUE = MethodHandles.lookup()
+          .findVirtual(GenericRow.class, "getValue", MethodType.methodType(Object.class, String.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   // Root of the execution tree
   private final ExecutableNode _rootNode;
+  // Method handle of type (GenericRow)Object that evaluates the whole execution tree
+  private final MethodHandle _methodHandle;
 
   public FunctionExpressionEvaluator(String expression)
       throws Exception {
     _rootNode = planExecution(TransformExpressionTree.compileToExpressionTree(expression));
+    _methodHandle = _rootNode.getObjectMethodHandle();
   }
 
   private ExecutableNode planExecution(TransformExpressionTree expressionTree)
@@ -82,75 +103,125 @@ public class FunctionExpressionEvaluator {
   }
 
   public Object evaluate(GenericRow row) {
-    return _rootNode.execute(row);
+    try {
+      return (Object) _methodHandle.invokeExact(row);
+    } catch (Throwable t) {
+      // Should not reach here because the exceptions from the functions are handled inside the method handle
+      throw new IllegalStateException("Caught exception while evaluating function expression", t);
+    }
   }
 
   private interface ExecutableNode {
 
-    Object execute(GenericRow row);
-
     Class<?> getReturnType();
+
+    /**
+     * Returns the method handle of type (GenericRow)R where R is the return type, which might throw exception.
+     */
+    MethodHandle getMethodHandle();
+
+    /**
+     * Returns the method handle of type (GenericRow)Object, which returns {@code null} instead of throwing exception.
+     */
+    MethodHandle getObjectMethodHandle();
   }
 
   private static class FunctionExecutionNode implements ExecutableNode {
     FunctionInvoker _functionInvoker;
-    ExecutableNode[] _argumentProviders;
-    Object[] _argInputs;
+    MethodHandle _methodHandle;
+    MethodHandle _objectMethodHandle;
 
     public FunctionExecutionNode(FunctionInfo functionInfo, ExecutableNode[] argumentProviders)
         throws Exception {
       Preconditions.checkNotNull(functionInfo);
       Preconditions.checkNotNull(argumentProviders);
       _functionInvoker = new FunctionInvoker(functionInfo);
-      _argumentProviders = argumentProviders;
-      _argInputs = new Object[_argumentProviders.length];
-    }
 
-    public Object execute(GenericRow row) {
-      for (int i = 0; i < _argumentProviders.length; i++) {
-        _argInputs[i] = _argumentProviders[i].execute(row);
+      MethodHandle methodHandle = _functionInvoker.getMethodHandle();
+      Class<?>[] parameterTypes = _functionInvoker.getParameterTypes();
+      int numArguments = argumentProviders.length;
+      MethodHandle[] argumentMethodHandles = new MethodHandle[numArguments];
+      for (int i = 0; i < numArguments; i++) {
+        ExecutableNode argumentProvider = argumentProviders[i];
+        Class<?> parameterType = parameterTypes[i];
+        if (parameterType.isPrimitive() && argumentProvider.getReturnType() == parameterType) {
+          // Pass the primitive value without boxing, the exception is handled by this node because this function
+          // cannot be invoked without the argument
+          argumentMethodHandles[i] = argumentProvider.getMethodHandle();
+        } else {
+          // Same conversions as reflection (cast for reference type; unboxing followed by primitive widening for
+          // primitive type)
+          argumentMethodHandles[i] = argumentProvider.getObjectMethodHandle()
+              .asType(MethodType.methodType(parameterType, GenericRow.class));
+        }
       }
-      return _functionInvoker.process(_argInputs);
+      methodHandle = MethodHandles.filterArguments(methodHandle, 0, argumentMethodHandles);
+      // Pass the same row to all the arguments
+      _methodHandle = MethodHandles
+          .permuteArguments(methodHandle, MethodType.methodType(getReturnType(), GenericRow.class),
+              new int[numArguments]);
+      _objectMethodHandle = _functionInvoker
+          .withExceptionHandler(_methodHandle.asType(MethodType.methodType(Object.class, GenericRow.class)));
     }
 
     public Class<?> getReturnType() {
       return _functionInvoker.getReturnType();
     }
+
+    @Override
+    public MethodHandle getMethodHandle() {
+      return _methodHandle;
+    }
+
+    @Override
+    public MethodHandle getObjectMethodHandle() {
+      return _objectMethodHandle;
+    }
   }
 
   private static class ConstantExecutionNode implements ExecutableNode {
-    private String _value;
+    private MethodHandle _methodHandle;
 
     public ConstantExecutionNode(String value) {
-      _value = value;
+      _methodHandle = MethodHandles.dropArguments(MethodHandles.constant(String.class, value), 0, GenericRow.class);
     }
 
     @Override
-    public Object execute(GenericRow row) {
-      return _value;
+    public Class<?> getReturnType() {
+      return String.class;
     }
 
     @Override
-    public Class<?> getReturnType() {
-      return String.class;
+    public MethodHandle getMethodHandle() {
+      return _methodHandle;
+    }
+
+    @Override
+    public MethodHandle getObjectMethodHandle() {
+      return _methodHandle.asType(MethodType.methodType(Object.class, GenericRow.class));
     }
   }
 
   private static class ColumnExecutionNode implements ExecutableNode {
-    private String _column;
+    private MethodHandle _methodHandle;
 
     public ColumnExecutionNode(String column) {
-      _column = column;
+      _methodHandle = MethodHandles.insertArguments(GET_VALUE, 1, column);
     }
 
     @Override
-    public Object execute(GenericRow row) {
-      return row.getValue(_column);
+    public Class<?> getReturnType() {
+      return Object.class;
     }
 
     @Override
-    public Class<?> getReturnType() {
-      return Object.class;
+    public MethodHandle getMethodHandle() {
+      return _methodHandle;
+    }
+
+    @Override
+    public MethodHandle getObjectMethodHandle() {
+      return _methodHandle;
     }
   }
 }
@@ -18,7 +18,9 @@
  */
 package org.apache.pinot.core.data.function;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -29,8 +31,11 @@ import org.slf4j.LoggerFactory;
 
 
 /**
- * A simple code to invoke a method in any class using reflection.
- * Eventually this will support annotations on the method but for now its a simple wrapper on any java method
+ * Invokes a method in any class through a {@link MethodHandle} compiled once for the method, instead of reflection on
+ * every invocation.
+ * <p>The arguments are converted to the parameter types with the same conversions as reflection (unboxing followed by
+ * primitive widening), and the invoker returns {@code null} if the invocation fails.
+ * <p>Eventually this will support annotations on the method but for now its a simple wrapper on any java method
  */
 public class FunctionInvoker {
 
@@ -39,8 +44,22 @@ public class FunctionInvoker {
   //TODO:Convert this functionality into a class that can be used in other places
   private static long EXCEPTION_LIMIT_DURATION = TimeUnit.MINUTES.toMillis(5);
   private static long EXCEPTION_LIMIT_RATE = 10;
+  private static final MethodHandle HANDLE_EXCEPTION;
+
+  static {
+    try {
+      HANDLE_EXCEPTION = MethodHandles.lookup().findVirtual(FunctionInvoker.class, "handleException",
+          MethodType.methodType(Object.class, Throwable.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private Method _method;
-  private Object _instance;
+  // Method handle with the exact parameter and return types of the method (receiver already bound)
+  private MethodHandle _methodHandle;
+  // Method handle of type (Object[])Object for invocations with boxed arguments
+  private MethodHandle _spreadMethodHandle;
   private int exceptionCount;
   private long lastExceptionTime = 0;
   private FunctionInfo _functionInfo;
@@ -49,12 +68,14 @@ public class FunctionInvoker {
       throws Exception {
     _functionInfo = functionInfo;
     _method = functionInfo.getMethod();
-    Class<?> clazz = functionInfo.getClazz();
-    if (Modifier.isStatic(_method.getModifiers())) {
-      _instance = null;
-    } else {
-      _instance = clazz.newInstance();
+    MethodHandle methodHandle = MethodHandles.lookup().unreflect(_method);
+    if (!Modifier.isStatic(_method.getModifiers())) {
+      methodHandle = methodHandle.bindTo(functionInfo.getClazz().newInstance());
     }
+    _methodHandle = methodHandle;
+    int numParameters = _method.getParameterCount();
+    _spreadMethodHandle =
+        methodHandle.asType(MethodType.genericMethodType(numParameters)).asSpreader(Object[].class, numParameters);
   }
 
   public Class<?>[] getParameterTypes() {
@@ -65,27 +86,49 @@ public class FunctionInvoker {
     return _method.getReturnType();
   }
 
+  /**
+   * Returns the method handle with the exact parameter and return types of the method, which can be composed with
+   * other method handles without boxing the primitive values.
+   */
+  public MethodHandle getMethodHandle() {
+    return _methodHandle;
+  }
+
+  /**
+   * Returns a method handle that wraps the given method handle (which should return an object), and returns
+   * {@code null} if the given method handle throws exception, same as {@link #process(Object[])}.
+   */
+  public MethodHandle withExceptionHandler(MethodHandle methodHandle) {
+    MethodHandle exceptionHandler = MethodHandles.dropArguments(HANDLE_EXCEPTION.bindTo(this), 1,
+        methodHandle.type().parameterList());
+    return MethodHandles.catchException(methodHandle, Throwable.class, exceptionHandler);
+  }
+
   public Object process(Object[] args) {
     try {
-      return _method.invoke(_instance, _functionInfo.convertTypes(args));
-    } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-      //most likely the exception is in the udf,  get the exceptio
-      Throwable cause = e.getCause();
-      if (cause == null) {
-        cause = e;
-      }
-      //some udf's might be configured incorrectly and we dont want to pollute the log
-      //keep track of the last time an exception was logged and reset the counter if the last exception is more than the EXCEPTION_LIMIT_DURATION
-      if (Duration.millis(System.currentTimeMillis() - lastExceptionTime).getStandardMinutes()
-          > EXCEPTION_LIMIT_DURATION) {
-        exceptionCount = 0;
-      }
-      if (exceptionCount < EXCEPTION_LIMIT_RATE) {
-        exceptionCount = exceptionCount + 1;
-        LOGGER.error("Exception invoking method:{} with args:{}, exception message: {}", _method.getName(),
-            Arrays.toString(args), cause.getMessage());
-      }
+      return (Object) _spreadMethodHandle.invokeExact(_functionInfo.convertTypes(args));
+    } catch (Throwable t) {
+      logException(t, args);
       return null;
     }
   }
+
+  private Object handleException(Throwable t) {
+    logException(t, null);
+    return null;
+  }
+
+  private void logException(Throwable t, Object[] args) {
+    //some udf's might be configured incorrectly and we dont want to pollute the log
+    //keep track of the last time an exception was logged and reset the counter if the last exception is more than the EXCEPTION_LIMIT_DURATION
+    if (Duration.millis(System.currentTimeMillis() - lastExceptionTime).getStandardMinutes()
+        > EXCEPTION_LIMIT_DURATION) {
+      exceptionCount = 0;
+    }
+    if (exceptionCount < EXCEPTION_LIMIT_RATE) {
+      exceptionCount = exceptionCount + 1;
+      LOGGER.error("Exception invoking method:{} with args:{}, exception message: {}", _method.getName(),
+          Arrays.toString(args), t.getMessage());
+    }
+  }
 }
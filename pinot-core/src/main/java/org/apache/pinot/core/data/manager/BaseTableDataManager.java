@@ -34,6 +34,7 @@ import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.core.data.manager.config.TableDataManagerConfig;
 import org.apache.pinot.core.data.manager.offline.ImmutableSegmentDataManager;
 import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
+import org.apache.pinot.core.query.pruner.SegmentPruningIndex;
 import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,7 @@ public abstract class BaseTableDataManager implements TableDataManager {
   private static final Logger LOGGER = LoggerFactory.getLogger(BaseTableDataManager.class);
 
   protected final ConcurrentHashMap<String, SegmentDataManager> _segmentDataManagerMap = new ConcurrentHashMap<>();
+  protected final SegmentPruningIndex _segmentPruningIndex = new SegmentPruningIndex();
 
   protected TableDataManagerConfig _tableDataManagerConfig;
   protected String _instanceId;
@@ -117,6 +119,7 @@ public abstract class BaseTableDataManager implements TableDataManager {
 
     ImmutableSegmentDataManager newSegmentManager = new ImmutableSegmentDataManager(immutableSegment);
     SegmentDataManager oldSegmentManager = _segmentDataManagerMap.put(segmentName, newSegmentManager);
+    _segmentPruningIndex.addSegment(immutableSegment);
     if (oldSegmentManager == null) {
       _logger.info("Added new immutable segment: {} to table: {}", segmentName, _tableNameWithType);
     } else {
@@ -148,6 +151,7 @@ public abstract class BaseTableDataManager implements TableDataManager {
   public void removeSegment(@Nonnull String segmentName) {
     _logger.info("Removing segment: {} from table: {}", segmentName, _tableNameWithType);
     SegmentDataManager segmentDataManager = _segmentDataManagerMap.remove(segmentName);
+    _segmentPruningIndex.removeSegment(segmentName);
     if (segmentDataManager != null) {
       releaseSegment(segmentDataManager);
       _logger.info("Removed segment: {} from table: {}", segmentName, _tableNameWithType);
@@ -175,6 +179,7 @@ public abstract class BaseTableDataManager implements TableDataManager {
     for (String segmentName : segmentNames) {
       SegmentDataManager segmentDataManager = _segmentDataManagerMap.get(segmentName);
       if (segmentDataManager != null && segmentDataManager.increaseReferenceCount()) {
+        segmentDataManager.increaseNumQueries();
         segmentDataManagers.add(segmentDataManager);
       } else {
         handleMissingSegment(segmentName);
@@ -223,4 +228,9 @@ public abstract class BaseTableDataManager implements TableDataManager {
   public String getTableName() {
     return _tableNameWithType;
   }
+
+  @Override
+  public SegmentPruningIndex getSegmentPruningIndex() {
+    return _segmentPruningIndex;
+  }
 }
@@ -19,6 +19,7 @@
 package org.apache.pinot.core.data.manager;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.pinot.core.indexsegment.IndexSegment;
 
 
@@ -27,6 +28,7 @@ import org.apache.pinot.core.indexsegment.IndexSegment;
  */
 public abstract class SegmentDataManager {
   private int _referenceCount = 1;
+  private final AtomicLong _numQueries = new AtomicLong();
 
   @VisibleForTesting
   synchronized int getReferenceCount() {
@@ -62,6 +64,20 @@ public abstract class SegmentDataManager {
     }
   }
 
+  /**
+   * Increases the number of queries on the segment. Should be called when acquiring the segment for a query.
+   */
+  public void increaseNumQueries() {
+    _numQueries.incrementAndGet();
+  }
+
+  /**
+   * Returns the number of queries on the segment since it is loaded, which indicates how hot the segment is.
+   */
+  public long getNumQueries() {
+    return _numQueries.get();
+  }
+
   public abstract String getSegmentName();
 
   public abstract IndexSegment getSegment();
@@ -21,6 +21,7 @@ package org.apache.pinot.core.data.manager;
 import java.io.File;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.apache.helix.ZNRecord;
 import org.apache.helix.store.zk.ZkHelixPropertyStore;
@@ -28,6 +29,7 @@ import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.core.data.manager.config.TableDataManagerConfig;
 import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
+import org.apache.pinot.core.query.pruner.SegmentPruningIndex;
 import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
 
 
@@ -89,8 +91,9 @@ public interface TableDataManager {
   List<SegmentDataManager> acquireAllSegments();
 
   /**
-   * Acquires the segments with the given segment names.
+   * Acquires the segments with the given segment names for a query.
    * <p>It is the caller's responsibility to return the segments by calling {@link #releaseSegment(SegmentDataManager)}.
+   * <p>The number of queries on the acquired segments are increased to track how hot the segments are.
    *
    * @param segmentNames List of names of the segment to acquire
    * @return List of segment data managers
@@ -119,4 +122,10 @@ public interface TableDataManager {
    */
   @Nonnull
   String getTableName();
+
+  /**
+   * Returns the pruning index over the immutable segments of the table, or <code>null</code> if not available.
+   */
+  @Nullable
+  SegmentPruningIndex getSegmentPruningIndex();
 }
@@ -50,4 +50,8 @@ public interface InstanceDataManagerConfig {
   boolean isDirectRealtimeOffheapAllocation();
 
   int getMaxParallelSegmentBuilds();
+
+  boolean isLazyLoadColumns();
+
+  long getHeapDictionaryMaxIdleTimeMs();
 }
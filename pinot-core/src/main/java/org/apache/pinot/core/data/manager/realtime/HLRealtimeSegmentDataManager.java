@@ -185,12 +185,17 @@ public class HLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
             .setAvgNumMultiValues(indexLoadingConfig.getRealtimeAvgMultiValueCount())
             .setNoDictionaryColumns(indexLoadingConfig.getNoDictionaryColumns())
             .setVarLengthDictionaryColumns(indexLoadingConfig.getVarLengthDictionaryColumns())
-            .setInvertedIndexColumns(invertedIndexColumns).setRealtimeSegmentZKMetadata(realtimeSegmentZKMetadata)
+            .setInvertedIndexColumns(invertedIndexColumns)
+            .setTextIndexColumns(indexLoadingConfig.getTextIndexColumns())
+            .setJsonIndexColumns(indexLoadingConfig.getJsonIndexColumns())
+            .setGeoIndexColumns(indexLoadingConfig.getGeoIndexColumns())
+            .setRealtimeSegmentZKMetadata(realtimeSegmentZKMetadata)
             .setOffHeap(indexLoadingConfig.isRealtimeOffheapAllocation()).setMemoryManager(
             getMemoryManager(realtimeTableDataManager.getConsumerDir(), segmentName,
                 indexLoadingConfig.isRealtimeOffheapAllocation(),
                 indexLoadingConfig.isDirectRealtimeOffheapAllocation(), serverMetrics))
-            .setStatsHistory(realtimeTableDataManager.getStatsHistory()).build();
+            .setStatsHistory(realtimeTableDataManager.getStatsHistory())
+            .setNullHandlingEnabled(indexingConfig != null && indexingConfig.isNullHandlingEnabled()).build();
     realtimeSegment = new MutableSegmentImpl(realtimeSegmentConfig);
 
     notifier = realtimeTableDataManager;
@@ -1145,10 +1145,15 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
             .setAvgNumMultiValues(indexLoadingConfig.getRealtimeAvgMultiValueCount())
             .setNoDictionaryColumns(indexLoadingConfig.getNoDictionaryColumns())
             .setVarLengthDictionaryColumns(indexLoadingConfig.getVarLengthDictionaryColumns())
-            .setInvertedIndexColumns(invertedIndexColumns).setRealtimeSegmentZKMetadata(segmentZKMetadata)
+            .setInvertedIndexColumns(invertedIndexColumns)
+            .setTextIndexColumns(indexLoadingConfig.getTextIndexColumns())
+            .setJsonIndexColumns(indexLoadingConfig.getJsonIndexColumns())
+            .setGeoIndexColumns(indexLoadingConfig.getGeoIndexColumns())
+            .setRealtimeSegmentZKMetadata(segmentZKMetadata)
             .setOffHeap(_isOffHeap).setMemoryManager(_memoryManager)
             .setStatsHistory(realtimeTableDataManager.getStatsHistory())
-            .setAggregateMetrics(indexingConfig.isAggregateMetrics());
+            .setAggregateMetrics(indexingConfig.isAggregateMetrics())
+            .setNullHandlingEnabled(indexingConfig.isNullHandlingEnabled());
 
     // Create message decoder
     _messageDecoder = StreamDecoderProvider.create(_partitionLevelStreamConfig, _schema);
@@ -264,6 +264,7 @@ public class RealtimeTableDataManager extends BaseTableDataManager {
       }
       _logger.info("Initialize RealtimeSegmentDataManager - " + segmentName);
       _segmentDataManagerMap.put(segmentName, manager);
+      _segmentPruningIndex.removeSegment(segmentName);
     }
   }
 
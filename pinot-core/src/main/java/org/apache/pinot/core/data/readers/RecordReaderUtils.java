@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.data.readers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Preconditions;
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
@@ -40,6 +41,7 @@ import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.data.FieldSpec.DataType;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.data.TimeFieldSpec;
+import org.apache.pinot.common.utils.JsonUtils;
 import org.apache.pinot.core.data.GenericRow;
 
 
@@ -118,6 +120,15 @@ public class RecordReaderUtils {
       return convertSingleValue(fieldSpec, ((GenericData.Record) value).get(0));
     }
     DataType dataType = fieldSpec.getDataType();
+    if (fieldSpec.getDeclaredDataType() == FieldSpec.DataType.JSON && (value instanceof Map
+        || value instanceof Collection)) {
+      // Nested values for JSON columns are stored as JSON strings, other STRING columns keep the toString() value
+      try {
+        return JsonUtils.objectToString(value);
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Caught exception while serializing value: " + value + " into JSON", e);
+      }
+    }
     if (dataType == FieldSpec.DataType.BYTES) {
       // Avro ByteBuffer maps to byte[]
       if (value instanceof ByteBuffer) {
@@ -24,6 +24,10 @@ import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.core.data.GenericRow;
 
 
+/**
+ * The {@code NullValueTransformer} class replaces the null values with the default null values of the fields, and
+ * records the fields with null value in the record so that the null value vectors can be built.
+ */
 public class NullValueTransformer implements RecordTransformer {
   private final Collection<FieldSpec> _fieldSpecs;
 
@@ -37,6 +41,7 @@ public class NullValueTransformer implements RecordTransformer {
       String fieldName = fieldSpec.getName();
       // Do not allow default value for time column
       if (record.getValue(fieldName) == null && fieldSpec.getFieldType() != FieldSpec.FieldType.TIME) {
+        record.addNullValueField(fieldName);
         if (fieldSpec.isSingleValueField()) {
           record.putField(fieldName, fieldSpec.getDefaultNullValue());
         } else {
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+
+/**
+ * Covering of a {@link GeoShape} with the cells of the geo index, computed by refining the cells intersecting the
+ * shape level by level from the whole world down to the index level:
+ * <ul>
+ *   <li>Interior cells are fully contained by the shape, so all their points match without verification</li>
+ *   <li>Boundary cells intersect the shape, so their points need to be verified against the shape</li>
+ * </ul>
+ * Both are kept as ranges of cell ids at the index level, stored as consecutive [first, last] pairs. The refinement
+ * stops early (keeping the intersecting cells as boundary cells) once the next level would exceed
+ * {@link #MAX_NUM_CELLS}, which bounds the cost of the covering for large shapes.
+ */
+public class GeoCellCovering {
+  public static final int MAX_NUM_CELLS = 1024;
+
+  private final LongArrayList _interiorCellRanges = new LongArrayList();
+  private final LongArrayList _boundaryCellRanges = new LongArrayList();
+
+  private GeoCellCovering() {
+  }
+
+  public static GeoCellCovering cover(GeoShape shape, int indexLevel) {
+    GeoCellCovering covering = new GeoCellCovering();
+    LongArrayList cellIds = new LongArrayList();
+    // The cell at level 0 covers the whole world
+    cellIds.add(0L);
+    for (int level = 0; ; level++) {
+      double latitudeSpan = 180.0 / (1 << level);
+      double longitudeSpan = 360.0 / (1 << level);
+      LongArrayList intersectingCellIds = new LongArrayList();
+      int numCells = cellIds.size();
+      for (int i = 0; i < numCells; i++) {
+        long cellId = cellIds.getLong(i);
+        double minLatitude = -90 + GeoCells.getLatitudeIndex(cellId) * latitudeSpan;
+        double minLongitude = -180 + GeoCells.getLongitudeIndex(cellId) * longitudeSpan;
+        switch (shape.relate(minLatitude, minLongitude, minLatitude + latitudeSpan, minLongitude + longitudeSpan)) {
+          case CONTAINS:
+            addCellRange(covering._interiorCellRanges, cellId, level, indexLevel);
+            break;
+          case INTERSECTS:
+            intersectingCellIds.add(cellId);
+            break;
+          default:
+            break;
+        }
+      }
+      int numIntersectingCells = intersectingCellIds.size();
+      if (numIntersectingCells == 0) {
+        return covering;
+      }
+      if (level == indexLevel || 4 * numIntersectingCells > MAX_NUM_CELLS) {
+        for (int i = 0; i < numIntersectingCells; i++) {
+          addCellRange(covering._boundaryCellRanges, intersectingCellIds.getLong(i), level, indexLevel);
+        }
+        return covering;
+      }
+      cellIds = new LongArrayList(4 * numIntersectingCells);
+      for (int i = 0; i < numIntersectingCells; i++) {
+        long firstChildId = intersectingCellIds.getLong(i) << 2;
+        for (int j = 0; j < 4; j++) {
+          cellIds.add(firstChildId + j);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the range of cell ids at the index level covered by the given cell, merging it with the last range if they
+   * are adjacent.
+   */
+  private static void addCellRange(LongArrayList cellRanges, long cellId, int level, int indexLevel) {
+    long firstCellId = GeoCells.getFirstDescendant(cellId, level, indexLevel);
+    long lastCellId = GeoCells.getLastDescendant(cellId, level, indexLevel);
+    int size = cellRanges.size();
+    if (size > 0 && cellRanges.getLong(size - 1) == firstCellId - 1) {
+      cellRanges.set(size - 1, lastCellId);
+    } else {
+      cellRanges.add(firstCellId);
+      cellRanges.add(lastCellId);
+    }
+  }
+
+  /**
+   * Returns the ranges of interior cell ids at the index level as consecutive [first, last] pairs.
+   */
+  public long[] getInteriorCellRanges() {
+    return _interiorCellRanges.toLongArray();
+  }
+
+  /**
+   * Returns the ranges of boundary cell ids at the index level as consecutive [first, last] pairs.
+   */
+  public long[] getBoundaryCellRanges() {
+    return _boundaryCellRanges.toLongArray();
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * Hierarchical grid cells over the latitude/longitude plane used by the geo index.
+ * <p>At level {@code l}, the latitude range [-90, 90] and the longitude range [-180, 180] are both split into
+ * {@code 2^l} equal intervals, and the cell id is the Morton (Z-order) code of the interval indices, with the longitude
+ * index on the even bits and the latitude index on the odd bits. The 4 children of cell {@code c} are
+ * {@code (c << 2) + [0, 3]}, so a cell at a coarser level covers a contiguous range of cell ids at any finer level.
+ */
+public class GeoCells {
+  public static final int MAX_LEVEL = 30;
+  // Cells at level 16 are about 300m x 600m at the equator
+  public static final int DEFAULT_INDEX_LEVEL = 16;
+
+  private GeoCells() {
+  }
+
+  /**
+   * Returns the id of the cell at the given level containing the given point.
+   */
+  public static long getCellId(double latitude, double longitude, int level) {
+    Preconditions.checkArgument(level >= 0 && level <= MAX_LEVEL, "Invalid geo cell level: %s", level);
+    int numIntervals = 1 << level;
+    return getCellId(getIntervalIndex(latitude + 90, 180, numIntervals),
+        getIntervalIndex(longitude + 180, 360, numIntervals));
+  }
+
+  public static long getCellId(int latitudeIndex, int longitudeIndex) {
+    return spread(longitudeIndex) | (spread(latitudeIndex) << 1);
+  }
+
+  public static int getLatitudeIndex(long cellId) {
+    return compact(cellId >>> 1);
+  }
+
+  public static int getLongitudeIndex(long cellId) {
+    return compact(cellId);
+  }
+
+  /**
+   * Returns the first cell id at the given finer level covered by the given cell.
+   */
+  public static long getFirstDescendant(long cellId, int level, int finerLevel) {
+    return cellId << (2 * (finerLevel - level));
+  }
+
+  /**
+   * Returns the last cell id at the given finer level covered by the given cell.
+   */
+  public static long getLastDescendant(long cellId, int level, int finerLevel) {
+    return ((cellId + 1) << (2 * (finerLevel - level))) - 1;
+  }
+
+  private static int getIntervalIndex(double offset, double span, int numIntervals) {
+    int index = (int) (offset / span * numIntervals);
+    // The upper bound (latitude 90 or longitude 180) belongs to the last interval
+    return Math.min(Math.max(index, 0), numIntervals - 1);
+  }
+
+  /**
+   * Spreads the lower 32 bits of the value to the even bits of the result.
+   */
+  private static long spread(int value) {
+    long result = value & 0xFFFFFFFFL;
+    result = (result | (result << 16)) & 0x0000FFFF0000FFFFL;
+    result = (result | (result << 8)) & 0x00FF00FF00FF00FFL;
+    result = (result | (result << 4)) & 0x0F0F0F0F0F0F0F0FL;
+    result = (result | (result << 2)) & 0x3333333333333333L;
+    result = (result | (result << 1)) & 0x5555555555555555L;
+    return result;
+  }
+
+  /**
+   * Compacts the even bits of the value into the lower 32 bits of the result.
+   */
+  private static int compact(long value) {
+    long result = value & 0x5555555555555555L;
+    result = (result | (result >>> 1)) & 0x3333333333333333L;
+    result = (result | (result >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+    result = (result | (result >>> 4)) & 0x00FF00FF00FF00FFL;
+    result = (result | (result >>> 8)) & 0x0000FFFF0000FFFFL;
+    result = (result | (result >>> 16)) & 0x00000000FFFFFFFFL;
+    return (int) result;
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+/**
+ * Circle around a center point with the radius in meters on the surface of the earth, used by the
+ * {@code ST_DISTANCE} predicate.
+ */
+public class GeoCircle implements GeoShape {
+  private final double _centerLatitude;
+  private final double _centerLongitude;
+  private final double _radiusMeters;
+  private final boolean _inclusive;
+
+  /**
+   * @param inclusive Whether the points at exactly the radius are contained by the circle
+   */
+  public GeoCircle(double centerLatitude, double centerLongitude, double radiusMeters, boolean inclusive) {
+    if (!GeoPoint.isValid(centerLatitude, centerLongitude)) {
+      throw new IllegalArgumentException("Invalid center of the circle: " + centerLatitude + ',' + centerLongitude);
+    }
+    if (!(radiusMeters >= 0)) {
+      throw new IllegalArgumentException("Invalid radius of the circle: " + radiusMeters);
+    }
+    _centerLatitude = centerLatitude;
+    _centerLongitude = centerLongitude;
+    _radiusMeters = radiusMeters;
+    _inclusive = inclusive;
+  }
+
+  @Override
+  public boolean contains(double latitude, double longitude) {
+    double distance = GeoPoint.distance(_centerLatitude, _centerLongitude, latitude, longitude);
+    return _inclusive ? distance <= _radiusMeters : distance < _radiusMeters;
+  }
+
+  /**
+   * Bounds the distance from the center of the rectangle to any point inside it by walking along the meridian first,
+   * then along the parallel, where the parallel is the longest at the latitude closest to the equator.
+   */
+  @Override
+  public Relation relate(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+    double distance = GeoPoint.distance(_centerLatitude, _centerLongitude, (minLatitude + maxLatitude) / 2,
+        (minLongitude + maxLongitude) / 2);
+    double minAbsLatitude =
+        minLatitude <= 0 && maxLatitude >= 0 ? 0 : Math.min(Math.abs(minLatitude), Math.abs(maxLatitude));
+    double rectangleRadius = GeoPoint.EARTH_RADIUS_METERS * (Math.toRadians(maxLatitude - minLatitude) / 2
+        + Math.cos(Math.toRadians(minAbsLatitude)) * Math.toRadians(maxLongitude - minLongitude) / 2);
+    if (distance - rectangleRadius > _radiusMeters) {
+      return Relation.DISJOINT;
+    }
+    if (distance + rectangleRadius < _radiusMeters) {
+      return Relation.CONTAINS;
+    }
+    return Relation.INTERSECTS;
+  }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+import javax.annotation.Nullable;
+
+
+/**
+ * Geo point of the {@code GEO_POINT} data type, which is stored as STRING in <code>latitude,longitude</code> format
+ * with the coordinates in degrees (e.g. <code>37.7749,-122.4194</code>).
+ */
+public final class GeoPoint {
+  public static final char SEPARATOR = ',';
+  // Mean radius of the earth
+  public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  private final double _latitude;
+  private final double _longitude;
+
+  public GeoPoint(double latitude, double longitude) {
+    if (!isValid(latitude, longitude)) {
+      throw new IllegalArgumentException("Invalid geo point: " + latitude + SEPARATOR + longitude);
+    }
+    _latitude = latitude;
+    _longitude = longitude;
+  }
+
+  /**
+   * Parses the geo point from <code>latitude,longitude</code> format, or returns {@code null} if the value is not a
+   * valid geo point. Invalid values are not indexed and never match any geospatial predicate.
+   */
+  @Nullable
+  public static GeoPoint fromString(String value) {
+    int separatorIndex = value.indexOf(SEPARATOR);
+    if (separatorIndex < 0) {
+      return null;
+    }
+    double latitude;
+    double longitude;
+    try {
+      latitude = Double.parseDouble(value.substring(0, separatorIndex));
+      longitude = Double.parseDouble(value.substring(separatorIndex + 1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    return isValid(latitude, longitude) ? new GeoPoint(latitude, longitude) : null;
+  }
+
+  public static boolean isValid(double latitude, double longitude) {
+    // NOTE: NaN fails all the comparisons
+    return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+  }
+
+  /**
+   * Returns the great-circle distance in meters between the given points with the haversine formula.
+   */
+  public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+    double latitudeRadians1 = Math.toRadians(latitude1);
+    double latitudeRadians2 = Math.toRadians(latitude2);
+    double sinHalfDeltaLatitude = Math.sin((latitudeRadians2 - latitudeRadians1) / 2);
+    double sinHalfDeltaLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+    double a = sinHalfDeltaLatitude * sinHalfDeltaLatitude
+        + Math.cos(latitudeRadians1) * Math.cos(latitudeRadians2) * sinHalfDeltaLongitude * sinHalfDeltaLongitude;
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  public double getLatitude() {
+    return _latitude;
+  }
+
+  public double getLongitude() {
+    return _longitude;
+  }
+
+  @Override
+  public String toString() {
+    return Double.toString(_latitude) + SEPARATOR + _longitude;
+  }
+}
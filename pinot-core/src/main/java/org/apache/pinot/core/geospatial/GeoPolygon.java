@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * Simple polygon on the latitude/longitude plane, used by the {@code ST_WITHIN} predicate. The edges are straight lines
+ * in degrees (not geodesics). Polygons crossing the anti-meridian are rejected (an edge spanning more than 180 degrees
+ * of longitude is taken as crossing the anti-meridian), and should be split into one polygon on each side instead. An
+ * edge from longitude -180 to 180 runs along the whole parallel, which allows polygons covering the poles, e.g.
+ * <code>80,-180;90,-180;90,180;80,180</code>.
+ * <p>The polygon is parsed from the vertices in <code>lat,lng;lat,lng;...</code> format, where the closing vertex is
+ * optional. Points are tested with the even-odd rule, so self-intersecting polygons are allowed.
+ */
+public class GeoPolygon implements GeoShape {
+  public static final char VERTEX_SEPARATOR = ';';
+
+  private final double[] _latitudes;
+  private final double[] _longitudes;
+  private final int _numVertices;
+  private final double _minLatitude;
+  private final double _minLongitude;
+  private final double _maxLatitude;
+  private final double _maxLongitude;
+
+  public GeoPolygon(double[] latitudes, double[] longitudes) {
+    Preconditions.checkArgument(latitudes.length == longitudes.length,
+        "Latitudes and longitudes of the polygon must have the same length");
+    int numVertices = latitudes.length;
+    // Drop the closing vertex
+    if (numVertices > 1 && latitudes[0] == latitudes[numVertices - 1]
+        && longitudes[0] == longitudes[numVertices - 1]) {
+      numVertices--;
+    }
+    Preconditions.checkArgument(numVertices >= 3, "Polygon must have at least 3 vertices");
+    double minLatitude = Double.POSITIVE_INFINITY;
+    double minLongitude = Double.POSITIVE_INFINITY;
+    double maxLatitude = Double.NEGATIVE_INFINITY;
+    double maxLongitude = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < numVertices; i++) {
+      Preconditions.checkArgument(GeoPoint.isValid(latitudes[i], longitudes[i]), "Invalid vertex of the polygon: %s,%s",
+          latitudes[i], longitudes[i]);
+      minLatitude = Math.min(minLatitude, latitudes[i]);
+      minLongitude = Math.min(minLongitude, longitudes[i]);
+      maxLatitude = Math.max(maxLatitude, latitudes[i]);
+      maxLongitude = Math.max(maxLongitude, longitudes[i]);
+    }
+    // The edges are straight lines in degrees, so an edge crossing the anti-meridian would otherwise silently wrap
+    // around the whole globe in the opposite direction
+    for (int i = 0, j = numVertices - 1; i < numVertices; j = i++) {
+      boolean alongWholeParallel = Math.abs(longitudes[i]) == 180 && Math.abs(longitudes[j]) == 180;
+      Preconditions.checkArgument(alongWholeParallel || Math.abs(longitudes[i] - longitudes[j]) <= 180,
+          "Polygon crossing the anti-meridian is not supported, edge: %s,%s to %s,%s", latitudes[j], longitudes[j],
+          latitudes[i], longitudes[i]);
+    }
+    _latitudes = latitudes;
+    _longitudes = longitudes;
+    _numVertices = numVertices;
+    _minLatitude = minLatitude;
+    _minLongitude = minLongitude;
+    _maxLatitude = maxLatitude;
+    _maxLongitude = maxLongitude;
+  }
+
+  public static GeoPolygon fromString(String value) {
+    String[] vertices = value.split(String.valueOf(VERTEX_SEPARATOR));
+    int numVertices = vertices.length;
+    double[] latitudes = new double[numVertices];
+    double[] longitudes = new double[numVertices];
+    for (int i = 0; i < numVertices; i++) {
+      GeoPoint vertex = GeoPoint.fromString(vertices[i].trim());
+      Preconditions.checkArgument(vertex != null, "Invalid vertex of the polygon: %s", vertices[i]);
+      latitudes[i] = vertex.getLatitude();
+      longitudes[i] = vertex.getLongitude();
+    }
+    return new GeoPolygon(latitudes, longitudes);
+  }
+
+  @Override
+  public boolean contains(double latitude, double longitude) {
+    if (latitude < _minLatitude || latitude > _maxLatitude || longitude < _minLongitude
+        || longitude > _maxLongitude) {
+      return false;
+    }
+    boolean inside = false;
+    for (int i = 0, j = _numVertices - 1; i < _numVertices; j = i++) {
+      double latitudeI = _latitudes[i];
+      double latitudeJ = _latitudes[j];
+      if ((latitudeI > latitude) != (latitudeJ > latitude)) {
+        double crossingLongitude =
+            _longitudes[i] + (_longitudes[j] - _longitudes[i]) * (latitude - latitudeI) / (latitudeJ - latitudeI);
+        if (longitude < crossingLongitude) {
+          inside = !inside;
+        }
+      }
+    }
+    return inside;
+  }
+
+  /**
+   * If no edge touches the rectangle, the rectangle lies entirely on one side of the polygon boundary, which can be
+   * decided by testing any single point of the rectangle.
+   */
+  @Override
+  public Relation relate(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+    if (maxLatitude < _minLatitude || minLatitude > _maxLatitude || maxLongitude < _minLongitude
+        || minLongitude > _maxLongitude) {
+      return Relation.DISJOINT;
+    }
+    for (int i = 0, j = _numVertices - 1; i < _numVertices; j = i++) {
+      if (edgeIntersects(_longitudes[j], _latitudes[j], _longitudes[i], _latitudes[i], minLongitude, minLatitude,
+          maxLongitude, maxLatitude)) {
+        return Relation.INTERSECTS;
+      }
+    }
+    return contains((minLatitude + maxLatitude) / 2, (minLongitude + maxLongitude) / 2) ? Relation.CONTAINS
+        : Relation.DISJOINT;
+  }
+
+  /**
+   * Returns whether the edge from (x1, y1) to (x2, y2) touches the closed rectangle, using Liang-Barsky clipping.
+   */
+  private static boolean edgeIntersects(double x1, double y1, double x2, double y2, double minX, double minY,
+      double maxX, double maxY) {
+    double deltaX = x2 - x1;
+    double deltaY = y2 - y1;
+    double[] range = {0, 1};
+    return clip(-deltaX, x1 - minX, range) && clip(deltaX, maxX - x1, range) && clip(-deltaY, y1 - minY, range)
+        && clip(deltaY, maxY - y1, range);
+  }
+
+  private static boolean clip(double p, double q, double[] range) {
+    if (p == 0) {
+      return q >= 0;
+    }
+    double r = q / p;
+    if (p < 0) {
+      if (r > range[1]) {
+        return false;
+      }
+      range[0] = Math.max(range[0], r);
+    } else {
+      if (r < range[0]) {
+        return false;
+      }
+      range[1] = Math.min(range[1], r);
+    }
+    return true;
+  }
+}
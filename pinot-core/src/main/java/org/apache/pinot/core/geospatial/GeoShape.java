@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+/**
+ * Shape of the geospatial predicates, which can be tested against the geo points and related to the cells of the
+ * geo index (see {@link GeoCells}).
+ */
+public interface GeoShape {
+
+  /**
+   * Relation between the shape and a latitude/longitude rectangle.
+   */
+  enum Relation {
+    // No point of the rectangle is contained by the shape
+    DISJOINT,
+    // Some points of the rectangle might be contained by the shape
+    INTERSECTS,
+    // All points of the rectangle are contained by the shape
+    CONTAINS
+  }
+
+  /**
+   * Returns whether the shape contains the given point.
+   */
+  boolean contains(double latitude, double longitude);
+
+  /**
+   * Returns the relation between the shape and the given rectangle. The relation can be conservative, i.e. it is
+   * always safe to return {@link Relation#INTERSECTS}, but {@link Relation#DISJOINT} and {@link Relation#CONTAINS}
+   * must be exact.
+   */
+  Relation relate(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude);
+}
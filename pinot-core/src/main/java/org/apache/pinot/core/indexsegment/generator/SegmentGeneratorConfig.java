@@ -79,6 +79,7 @@ public class SegmentGeneratorConfig {
   private Set<String> _rawIndexCreationColumns = new HashSet<>();
   private Map<String, ChunkCompressorFactory.CompressionType> _rawIndexCompressionType = new HashMap<>();
   private List<String> _invertedIndexCreationColumns = new ArrayList<>();
+  private List<String> _geoIndexCreationColumns = new ArrayList<>();
   private List<String> _columnSortOrder = new ArrayList<>();
   private List<String> _varLengthDictionaryColumns = new ArrayList<>();
   private String _dataDir = null;
@@ -113,6 +114,7 @@ public class SegmentGeneratorConfig {
   // Use on-heap or off-heap memory to generate index (currently only affect inverted index and star-tree v2)
   private boolean _onHeap = false;
   private boolean _checkTimeColumnValidityDuringGeneration = true;
+  private boolean _nullHandlingEnabled = false;
 
   public SegmentGeneratorConfig() {
   }
@@ -129,6 +131,7 @@ public class SegmentGeneratorConfig {
     _rawIndexCreationColumns.addAll(config._rawIndexCreationColumns);
     _rawIndexCompressionType.putAll(config._rawIndexCompressionType);
     _invertedIndexCreationColumns.addAll(config._invertedIndexCreationColumns);
+    _geoIndexCreationColumns.addAll(config._geoIndexCreationColumns);
     _columnSortOrder.addAll(config._columnSortOrder);
     _varLengthDictionaryColumns.addAll(config._varLengthDictionaryColumns);
     _dataDir = config._dataDir;
@@ -162,6 +165,7 @@ public class SegmentGeneratorConfig {
     _onHeap = config._onHeap;
     _recordReaderPath = config._recordReaderPath;
     _checkTimeColumnValidityDuringGeneration = config._checkTimeColumnValidityDuringGeneration;
+    _nullHandlingEnabled = config._nullHandlingEnabled;
   }
 
   /**
@@ -195,6 +199,7 @@ public class SegmentGeneratorConfig {
       setVarLengthDictionaryColumns(indexingConfig.getVarLengthDictionaryColumns());
     }
     _segmentPartitionConfig = indexingConfig.getSegmentPartitionConfig();
+    _nullHandlingEnabled = indexingConfig.isNullHandlingEnabled();
 
     // Star-tree V1 config
     StarTreeIndexSpec starTreeIndexSpec = indexingConfig.getStarTreeIndexSpec();
@@ -215,6 +220,9 @@ public class SegmentGeneratorConfig {
     if (indexingConfig.isCreateInvertedIndexDuringSegmentGeneration()) {
       _invertedIndexCreationColumns = indexingConfig.getInvertedIndexColumns();
     }
+    if (indexingConfig.getGeoIndexColumns() != null) {
+      setGeoIndexCreationColumns(indexingConfig.getGeoIndexColumns());
+    }
 
     SegmentsValidationAndRetentionConfig validationConfig = tableConfig.getValidationConfig();
     _hllConfig = validationConfig.getHllConfig();
@@ -278,6 +286,15 @@ public class SegmentGeneratorConfig {
     _invertedIndexCreationColumns.addAll(indexCreationColumns);
   }
 
+  public List<String> getGeoIndexCreationColumns() {
+    return _geoIndexCreationColumns;
+  }
+
+  public void setGeoIndexCreationColumns(List<String> geoIndexCreationColumns) {
+    Preconditions.checkNotNull(geoIndexCreationColumns);
+    _geoIndexCreationColumns.addAll(geoIndexCreationColumns);
+  }
+
   public void setColumnSortOrder(List<String> sortOrder) {
     Preconditions.checkNotNull(sortOrder);
     _columnSortOrder.addAll(sortOrder);
@@ -595,6 +612,14 @@ public class SegmentGeneratorConfig {
     _onHeap = onHeap;
   }
 
+  public boolean isNullHandlingEnabled() {
+    return _nullHandlingEnabled;
+  }
+
+  public void setNullHandlingEnabled(boolean nullHandlingEnabled) {
+    _nullHandlingEnabled = nullHandlingEnabled;
+  }
+
   public boolean isCheckTimeColumnValidityDuringGeneration() {
     return _checkTimeColumnValidityDuringGeneration;
   }
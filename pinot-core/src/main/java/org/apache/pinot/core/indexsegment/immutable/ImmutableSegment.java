@@ -56,4 +56,13 @@ public interface ImmutableSegment extends IndexSegment {
    * @return Size of the segment in bytes
    */
   long getSegmentSizeBytes();
+
+  /**
+   * Evicts the indexes of the lazy loaded columns with on-heap dictionary that have not been accessed within the given
+   * time. The evicted indexes will be loaded again on the next access.
+   *
+   * @param maxIdleTimeMs Max idle time in milliseconds
+   * @return Number of columns evicted
+   */
+  int evictIdleColumns(long maxIdleTimeMs);
 }
@@ -30,6 +30,7 @@ import org.apache.pinot.core.indexsegment.IndexSegmentUtils;
 import org.apache.pinot.core.io.reader.DataFileReader;
 import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
 import org.apache.pinot.core.segment.index.column.ColumnIndexContainer;
+import org.apache.pinot.core.segment.index.column.LazyColumnIndexContainer;
 import org.apache.pinot.core.segment.index.data.source.ColumnDataSource;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
@@ -77,6 +78,18 @@ public class ImmutableSegmentImpl implements ImmutableSegment {
     return _segmentDirectory.getDiskSizeBytes();
   }
 
+  @Override
+  public int evictIdleColumns(long maxIdleTimeMs) {
+    int numColumnsEvicted = 0;
+    for (ColumnIndexContainer columnIndexContainer : _indexContainerMap.values()) {
+      if (columnIndexContainer instanceof LazyColumnIndexContainer
+          && ((LazyColumnIndexContainer) columnIndexContainer).evictIfIdle(maxIdleTimeMs)) {
+        numColumnsEvicted++;
+      }
+    }
+    return numColumnsEvicted;
+  }
+
   @Override
   public String getSegmentName() {
     return _segmentMetadata.getName();
@@ -107,6 +120,13 @@ public class ImmutableSegmentImpl implements ImmutableSegment {
     LOGGER.info("Trying to destroy segment : {}", this.getSegmentName());
     for (String column : _indexContainerMap.keySet()) {
       ColumnIndexContainer columnIndexContainer = _indexContainerMap.get(column);
+      if (columnIndexContainer instanceof LazyColumnIndexContainer) {
+        // Do not load the indexes just to close them
+        columnIndexContainer = ((LazyColumnIndexContainer) columnIndexContainer).getLoadedIndexContainer();
+        if (columnIndexContainer == null) {
+          continue;
+        }
+      }
 
       try {
         Dictionary dictionary = columnIndexContainer.getDictionary();
@@ -32,6 +32,7 @@ import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
 import org.apache.pinot.core.segment.index.ColumnMetadata;
 import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
 import org.apache.pinot.core.segment.index.column.ColumnIndexContainer;
+import org.apache.pinot.core.segment.index.column.LazyColumnIndexContainer;
 import org.apache.pinot.core.segment.index.column.PhysicalColumnIndexContainer;
 import org.apache.pinot.core.segment.index.converter.SegmentFormatConverter;
 import org.apache.pinot.core.segment.index.converter.SegmentFormatConverterFactory;
@@ -103,10 +104,14 @@ public class ImmutableSegmentLoader {
       }
     }
 
-    // Pre-process the segment
+    // Pre-process the segment if it has not been pre-processed with the same config and schema
     // NOTE: this step may modify the segment metadata
-    try (SegmentPreProcessor preProcessor = new SegmentPreProcessor(indexDir, indexLoadingConfig, schema)) {
-      preProcessor.process();
+    if (SegmentPreProcessor.needPreProcess(indexDir, indexLoadingConfig, schema)) {
+      try (SegmentPreProcessor preProcessor = new SegmentPreProcessor(indexDir, indexLoadingConfig, schema)) {
+        preProcessor.process();
+      }
+    } else {
+      LOGGER.info("Skip pre-processing segment: {} which has been pre-processed with the same config", segmentName);
     }
 
     // Load the metadata again since converter and pre-processor may have changed it
@@ -117,9 +122,15 @@ public class ImmutableSegmentLoader {
     SegmentDirectory segmentDirectory = SegmentDirectory.createFromLocalFS(indexDir, segmentMetadata, readMode);
     SegmentDirectory.Reader segmentReader = segmentDirectory.createReader();
     Map<String, ColumnIndexContainer> indexContainerMap = new HashMap<>();
+    boolean lazyLoadColumns = indexLoadingConfig.isLazyLoadColumns();
     for (Map.Entry<String, ColumnMetadata> entry : segmentMetadata.getColumnMetadataMap().entrySet()) {
-      indexContainerMap
-          .put(entry.getKey(), new PhysicalColumnIndexContainer(segmentReader, entry.getValue(), indexLoadingConfig));
+      if (lazyLoadColumns) {
+        indexContainerMap
+            .put(entry.getKey(), new LazyColumnIndexContainer(segmentReader, entry.getValue(), indexLoadingConfig));
+      } else {
+        indexContainerMap
+            .put(entry.getKey(), new PhysicalColumnIndexContainer(segmentReader, entry.getValue(), indexLoadingConfig));
+      }
     }
 
     if (schema == null) {
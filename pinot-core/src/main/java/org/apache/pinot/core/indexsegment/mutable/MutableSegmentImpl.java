@@ -50,6 +50,10 @@ import org.apache.pinot.core.realtime.impl.dictionary.BaseMutableDictionary;
 import org.apache.pinot.core.realtime.impl.dictionary.BaseOffHeapMutableDictionary;
 import org.apache.pinot.core.realtime.impl.dictionary.MutableDictionaryFactory;
 import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeInvertedIndexReader;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeGeoIndexReader;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeJsonIndexReader;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeTextIndexReader;
+import org.apache.pinot.core.realtime.impl.nullvalue.RealtimeNullValueVectorReaderWriter;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
 import org.apache.pinot.core.segment.index.data.source.ColumnDataSource;
@@ -86,12 +90,17 @@ public class MutableSegmentImpl implements MutableSegment {
   private final PinotDataBufferMemoryManager _memoryManager;
   private final RealtimeSegmentStatsHistory _statsHistory;
   private final SegmentPartitionConfig _segmentPartitionConfig;
+  private final boolean _nullHandlingEnabled;
 
   private final Map<String, BaseMutableDictionary> _dictionaryMap = new HashMap<>();
   private final Map<String, DataFileReader> _indexReaderWriterMap = new HashMap<>();
   private final Map<String, Integer> _maxNumValuesMap = new HashMap<>();
   private final Map<String, RealtimeInvertedIndexReader> _invertedIndexMap = new HashMap<>();
   private final Map<String, BloomFilterReader> _bloomFilterMap = new HashMap<>();
+  private final Map<String, RealtimeTextIndexReader> _textIndexMap = new HashMap<>();
+  private final Map<String, RealtimeJsonIndexReader> _jsonIndexMap = new HashMap<>();
+  private final Map<String, RealtimeGeoIndexReader> _geoIndexMap = new HashMap<>();
+  private final Map<String, RealtimeNullValueVectorReaderWriter> _nullValueVectorMap = new HashMap<>();
   private final IdMap<FixedIntArray> _recordIdMap;
   private boolean _aggregateMetrics;
 
@@ -142,6 +151,7 @@ public class MutableSegmentImpl implements MutableSegment {
     _memoryManager = config.getMemoryManager();
     _statsHistory = config.getStatsHistory();
     _segmentPartitionConfig = config.getSegmentPartitionConfig();
+    _nullHandlingEnabled = config.isNullHandlingEnabled();
 
     Collection<FieldSpec> allFieldSpecs = _schema.getAllFieldSpecs();
     List<FieldSpec> physicalFieldSpecs = new ArrayList<>(allFieldSpecs.size());
@@ -171,6 +181,9 @@ public class MutableSegmentImpl implements MutableSegment {
     Set<String> noDictionaryColumns = config.getNoDictionaryColumns();
 
     Set<String> invertedIndexColumns = config.getInvertedIndexColumns();
+    Set<String> textIndexColumns = config.getTextIndexColumns();
+    Set<String> jsonIndexColumns = config.getJsonIndexColumns();
+    Set<String> geoIndexColumns = config.getGeoIndexColumns();
     int avgNumMultiValues = config.getAvgNumMultiValues();
 
     // Initialize for each column
@@ -225,6 +238,28 @@ public class MutableSegmentImpl implements MutableSegment {
       if (invertedIndexColumns.contains(column)) {
         _invertedIndexMap.put(column, new RealtimeInvertedIndexReader());
       }
+
+      // Text index is only supported on single-value string columns
+      if (textIndexColumns.contains(column) && fieldSpec.isSingleValueField()
+          && dataType == FieldSpec.DataType.STRING) {
+        _textIndexMap.put(column, new RealtimeTextIndexReader());
+      }
+
+      // JSON index is only supported on single-value string (including JSON) columns
+      if (jsonIndexColumns.contains(column) && fieldSpec.isSingleValueField()
+          && dataType == FieldSpec.DataType.STRING) {
+        _jsonIndexMap.put(column, new RealtimeJsonIndexReader());
+      }
+
+      // Geo index is only supported on single-value string (including GEO_POINT) columns
+      if (geoIndexColumns.contains(column) && fieldSpec.isSingleValueField()
+          && dataType == FieldSpec.DataType.STRING) {
+        _geoIndexMap.put(column, new RealtimeGeoIndexReader());
+      }
+
+      if (_nullHandlingEnabled) {
+        _nullValueVectorMap.put(column, new RealtimeNullValueVectorReaderWriter());
+      }
     }
 
     // Metric aggregation can be enabled only if config is specified, and all dimensions have dictionary,
@@ -236,6 +271,10 @@ public class MutableSegmentImpl implements MutableSegment {
     return _segmentPartitionConfig;
   }
 
+  public boolean isNullHandlingEnabled() {
+    return _nullHandlingEnabled;
+  }
+
   public long getMinTime() {
     return _minTime;
   }
@@ -261,7 +300,7 @@ public class MutableSegmentImpl implements MutableSegment {
     if (docId == numDocs) {
       // Add forward and inverted indices for new document.
       addForwardIndex(row, docId, dictIdMap);
-      addInvertedIndex(docId, dictIdMap);
+      addInvertedIndex(row, docId, dictIdMap);
 
       // Update number of document indexed at last to make the latest record queryable
       canTakeMore = _numDocsIndexed++ < _capacity;
@@ -359,7 +398,7 @@ public class MutableSegmentImpl implements MutableSegment {
     }
   }
 
-  private void addInvertedIndex(int docId, Map<String, Object> dictIdMap) {
+  private void addInvertedIndex(GenericRow row, int docId, Map<String, Object> dictIdMap) {
     // Update inverted index at last
     // NOTE: inverted index have to be updated at last because once it gets updated, the latest record will become
     // queryable
@@ -376,6 +415,22 @@ public class MutableSegmentImpl implements MutableSegment {
           }
         }
       }
+      RealtimeTextIndexReader textIndex = _textIndexMap.get(column);
+      if (textIndex != null) {
+        textIndex.add(docId, (String) row.getValue(column));
+      }
+      RealtimeJsonIndexReader jsonIndex = _jsonIndexMap.get(column);
+      if (jsonIndex != null) {
+        jsonIndex.add(docId, (String) row.getValue(column));
+      }
+      RealtimeGeoIndexReader geoIndex = _geoIndexMap.get(column);
+      if (geoIndex != null) {
+        geoIndex.add(docId, (String) row.getValue(column));
+      }
+      RealtimeNullValueVectorReaderWriter nullValueVector = _nullValueVectorMap.get(column);
+      if (nullValueVector != null && row.isNullValue(column)) {
+        nullValueVector.setNull(docId);
+      }
     }
   }
 
@@ -453,7 +508,10 @@ public class MutableSegmentImpl implements MutableSegment {
     } else {
       return new ColumnDataSource(fieldSpec, _numDocsIndexed, _maxNumValuesMap.get(columnName),
           _indexReaderWriterMap.get(columnName), _invertedIndexMap.get(columnName), _dictionaryMap.get(columnName),
-          _bloomFilterMap.get(columnName));
+          _bloomFilterMap.get(columnName),
+          new ColumnDataSource.OptionalIndexes.Builder().setTextIndex(_textIndexMap.get(columnName))
+              .setJsonIndex(_jsonIndexMap.get(columnName)).setGeoIndex(_geoIndexMap.get(columnName))
+              .setNullValueVector(_nullValueVectorMap.get(columnName)).build());
     }
   }
 
@@ -474,6 +532,10 @@ public class MutableSegmentImpl implements MutableSegment {
       reuse.putField(column, IndexSegmentUtils
           .getValue(docId, fieldSpec, _indexReaderWriterMap.get(column), _dictionaryMap.get(column),
               _maxNumValuesMap.getOrDefault(column, 0)));
+      RealtimeNullValueVectorReaderWriter nullValueVector = _nullValueVectorMap.get(column);
+      if (nullValueVector != null && nullValueVector.isNull(docId)) {
+        reuse.addNullValueField(column);
+      }
     }
     return reuse;
   }
@@ -522,6 +584,15 @@ public class MutableSegmentImpl implements MutableSegment {
     for (RealtimeInvertedIndexReader index : _invertedIndexMap.values()) {
       index.close();
     }
+    for (RealtimeTextIndexReader textIndex : _textIndexMap.values()) {
+      textIndex.close();
+    }
+    for (RealtimeJsonIndexReader jsonIndex : _jsonIndexMap.values()) {
+      jsonIndex.close();
+    }
+    for (RealtimeGeoIndexReader geoIndex : _geoIndexMap.values()) {
+      geoIndex.close();
+    }
 
     for (Map.Entry<String, BaseMutableDictionary> entry : _dictionaryMap.entrySet()) {
       try {
@@ -531,6 +602,10 @@ public class MutableSegmentImpl implements MutableSegment {
       }
     }
     _invertedIndexMap.clear();
+    _textIndexMap.clear();
+    _jsonIndexMap.clear();
+    _geoIndexMap.clear();
+    _nullValueVectorMap.clear();
     _segmentMetadata.close();
     try {
       _memoryManager.close();
@@ -76,6 +76,21 @@ public final class FixedByteValueReaderWriter implements Closeable, ValueReader
     return StringUtil.decodeUtf8(buffer, 0, numBytesPerValue);
   }
 
+  @Override
+  public int getUnpaddedBytes(int index, int numBytesPerValue, byte paddingByte, byte[] buffer) {
+    assert buffer.length >= numBytesPerValue;
+
+    long startOffset = (long) index * numBytesPerValue;
+    for (int i = 0; i < numBytesPerValue; i++) {
+      byte currentByte = _dataBuffer.getByte(startOffset + i);
+      if (currentByte == paddingByte) {
+        return i;
+      }
+      buffer[i] = currentByte;
+    }
+    return numBytesPerValue;
+  }
+
   @Override
   public String getPaddedString(int index, int numBytesPerValue, byte[] buffer) {
     assert buffer.length >= numBytesPerValue;
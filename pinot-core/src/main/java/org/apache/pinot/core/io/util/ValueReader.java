@@ -44,6 +44,13 @@ public interface ValueReader {
    */
   String getPaddedString(int index, int numBytesPerValue, byte[] buffer);
 
+  /**
+   * Reads the UTF-8 bytes of the unpadded string into the passed in reusable buffer, and returns the number of bytes
+   * read.
+   * NOTE: The passed in reusable buffer should have capacity of at least {@code numBytesPerValue}.
+   */
+  int getUnpaddedBytes(int index, int numBytesPerValue, byte paddingByte, byte[] buffer);
+
   /**
    * NOTE: Do not reuse buffer for BYTES because the return value can have variable length.
    */
@@ -217,6 +217,18 @@ public class VarLengthBytesValueReaderWriter implements Closeable, ValueReader {
     return StringUtil.decodeUtf8(buffer, 0, length);
   }
 
+  @Override
+  public int getUnpaddedBytes(int index, int numBytesPerValue, byte paddingByte, byte[] buffer) {
+    assert buffer.length >= numBytesPerValue;
+
+    int offset = _dataBuffer.getInt(_dataSectionStartOffSet + Integer.BYTES * index);
+    int length = _dataBuffer.getInt(_dataSectionStartOffSet + Integer.BYTES * (index + 1)) - offset;
+
+    assert numBytesPerValue >= length;
+    _dataBuffer.copyTo(offset, buffer, 0, length);
+    return length;
+  }
+
   @Override
   public String getPaddedString(int index, int numBytesPerValue, byte[] buffer) {
     throw new UnsupportedOperationException();
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import org.apache.pinot.common.utils.JsonUtils;
+
+
+/**
+ * Flattens the JSON documents into the path-value terms for the JSON index and the JSON_MATCH predicate.
+ * <p>Each scalar value in the document is flattened into a term of its path and its text value, where the path starts
+ * with {@code $}, followed by {@code .key} for the object fields and {@code [*]} for the array elements (the index of
+ * the element is not kept). E.g. <code>{"a": {"b": "x"}, "c": [1, 2]}</code> is flattened into {@code $.a.b -> x},
+ * {@code $.c[*] -> 1} and {@code $.c[*] -> 2}.
+ * <p>JSON nulls, empty objects and empty arrays do not generate any term. The path and the value are joined with
+ * {@code '\0'}, so that all the terms of a path share the same prefix.
+ */
+public class JsonFlattener {
+  private JsonFlattener() {
+  }
+
+  public static final String ROOT_PATH = "$";
+  public static final String ARRAY_ELEMENT_PATH = "[*]";
+
+  private static final char KEY_SEPARATOR = '.';
+  private static final char PATH_VALUE_SEPARATOR = '\0';
+
+  /**
+   * Returns the term for the scalar value at the path.
+   */
+  public static String getTerm(String path, String value) {
+    return path + PATH_VALUE_SEPARATOR + value;
+  }
+
+  /**
+   * Returns the common prefix of all the terms for the path.
+   */
+  public static String getTermPrefix(String path) {
+    return path + PATH_VALUE_SEPARATOR;
+  }
+
+  /**
+   * Returns the distinct terms to be indexed for the JSON document, or an empty set if the document is not valid JSON.
+   */
+  public static Set<String> getTerms(String json) {
+    JsonNode jsonNode;
+    try {
+      jsonNode = JsonUtils.stringToJsonNode(json);
+    } catch (IOException e) {
+      return Collections.emptySet();
+    }
+    if (jsonNode == null) {
+      return Collections.emptySet();
+    }
+    Set<String> terms = new HashSet<>();
+    addTerms(jsonNode, ROOT_PATH, terms);
+    return terms;
+  }
+
+  private static void addTerms(JsonNode jsonNode, String path, Set<String> terms) {
+    if (jsonNode.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> fields = jsonNode.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        addTerms(field.getValue(), path + KEY_SEPARATOR + field.getKey(), terms);
+      }
+    } else if (jsonNode.isArray()) {
+      String elementPath = path + ARRAY_ELEMENT_PATH;
+      for (JsonNode element : jsonNode) {
+        addTerms(element, elementPath, terms);
+      }
+    } else if (!jsonNode.isNull() && !jsonNode.isMissingNode()) {
+      terms.add(getTerm(path, jsonNode.asText()));
+    }
+  }
+}
@@ -0,0 +1,299 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.json;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.pinot.common.utils.JsonUtils;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Parsed filter expression of the JSON_MATCH predicate, which is a combination of conditions on the paths of the JSON
+ * documents (see {@link JsonFlattener} for the path format):
+ * <ul>
+ *   <li>Equality (e.g. <code>$.a.b = 'x'</code>, <code>$.a.b = x</code>, <code>$.c[*] = 1</code>): the document has
+ *   the scalar value at the path, where the literal is a quoted string, a number, {@code true}, {@code false} or a
+ *   bare string without whitespaces, quotes and parentheses, compared as text</li>
+ *   <li>Existence (e.g. <code>$.a.b IS NOT NULL</code>): the document has a non-null scalar value at the path</li>
+ * </ul>
+ * Conditions can be combined with {@code AND} and {@code OR} (case insensitive) and grouped with parentheses. Because
+ * array element indices are not kept, conditions on the same array match the document even if they are satisfied by
+ * different elements.
+ * <p>The JSON index lookup is exact, so the documents from {@link #getDocIds(JsonIndexReader)} do not need to be
+ * verified against the values.
+ */
+public class JsonMatchQuery {
+  private enum NodeType {
+    AND, OR, EQ, NOT_NULL
+  }
+
+  private static final String AND = "AND";
+  private static final String OR = "OR";
+  private static final String IS_NOT_NULL = "IS NOT NULL";
+  private static final Pattern NUMBER_PATTERN = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+  private static final Pattern BARE_STRING_PATTERN = Pattern.compile("[^'\"()\\[\\]{}]+");
+
+  private final NodeType _nodeType;
+  // For AND and OR
+  private final List<JsonMatchQuery> _children;
+  // For EQ and NOT_NULL
+  private final String _path;
+  // For EQ
+  private final String _value;
+
+  private JsonMatchQuery(NodeType nodeType, List<JsonMatchQuery> children, String path, String value) {
+    _nodeType = nodeType;
+    _children = children;
+    _path = path;
+    _value = value;
+  }
+
+  public static JsonMatchQuery parse(String filterExpression) {
+    Parser parser = new Parser(filterExpression);
+    JsonMatchQuery jsonMatchQuery = parser.parseOr();
+    parser.skipWhitespaces();
+    Preconditions.checkArgument(parser._position == filterExpression.length(),
+        "Unexpected character at position %s in JSON match filter expression: %s", parser._position,
+        filterExpression);
+    return jsonMatchQuery;
+  }
+
+  /**
+   * Returns the documents matching the query from the JSON index.
+   */
+  public ImmutableRoaringBitmap getDocIds(JsonIndexReader jsonIndexReader) {
+    switch (_nodeType) {
+      case EQ:
+        return jsonIndexReader.getDocIds(_path, _value);
+      case NOT_NULL:
+        return jsonIndexReader.getDocIdsWithPath(_path);
+      case AND:
+        MutableRoaringBitmap intersection = _children.get(0).getDocIds(jsonIndexReader).toMutableRoaringBitmap();
+        int numChildren = _children.size();
+        for (int i = 1; i < numChildren && !intersection.isEmpty(); i++) {
+          intersection.and(_children.get(i).getDocIds(jsonIndexReader));
+        }
+        return intersection;
+      case OR:
+        MutableRoaringBitmap union = new MutableRoaringBitmap();
+        for (JsonMatchQuery child : _children) {
+          union.or(child.getDocIds(jsonIndexReader));
+        }
+        return union;
+      default:
+        throw new IllegalStateException();
+    }
+  }
+
+  /**
+   * Returns whether the JSON document matches the query.
+   */
+  public boolean matches(String json) {
+    return matches(JsonFlattener.getTerms(json));
+  }
+
+  private boolean matches(Set<String> terms) {
+    switch (_nodeType) {
+      case EQ:
+        return terms.contains(JsonFlattener.getTerm(_path, _value));
+      case NOT_NULL:
+        String termPrefix = JsonFlattener.getTermPrefix(_path);
+        for (String term : terms) {
+          if (term.startsWith(termPrefix)) {
+            return true;
+          }
+        }
+        return false;
+      case AND:
+        for (JsonMatchQuery child : _children) {
+          if (!child.matches(terms)) {
+            return false;
+          }
+        }
+        return true;
+      case OR:
+        for (JsonMatchQuery child : _children) {
+          if (child.matches(terms)) {
+            return true;
+          }
+        }
+        return false;
+      default:
+        throw new IllegalStateException();
+    }
+  }
+
+  /**
+   * Recursive descent parser for the filter expression.
+   */
+  private static class Parser {
+    final String _expression;
+    final int _length;
+    int _position;
+
+    Parser(String expression) {
+      _expression = expression;
+      _length = expression.length();
+    }
+
+    JsonMatchQuery parseOr() {
+      List<JsonMatchQuery> children = new ArrayList<>();
+      children.add(parseAnd());
+      while (consumeKeyword(OR)) {
+        children.add(parseAnd());
+      }
+      return children.size() == 1 ? children.get(0) : new JsonMatchQuery(NodeType.OR, children, null, null);
+    }
+
+    JsonMatchQuery parseAnd() {
+      List<JsonMatchQuery> children = new ArrayList<>();
+      children.add(parseCondition());
+      while (consumeKeyword(AND)) {
+        children.add(parseCondition());
+      }
+      return children.size() == 1 ? children.get(0) : new JsonMatchQuery(NodeType.AND, children, null, null);
+    }
+
+    JsonMatchQuery parseCondition() {
+      skipWhitespaces();
+      if (_position < _length && _expression.charAt(_position) == '(') {
+        _position++;
+        JsonMatchQuery jsonMatchQuery = parseOr();
+        skipWhitespaces();
+        checkArgument(_position < _length && _expression.charAt(_position) == ')', "Missing ')'");
+        _position++;
+        return jsonMatchQuery;
+      }
+      String path = parsePath();
+      skipWhitespaces();
+      if (_position < _length && _expression.charAt(_position) == '=') {
+        _position++;
+        return new JsonMatchQuery(NodeType.EQ, null, path, parseLiteral());
+      }
+      checkArgument(consumeKeyword("IS") && consumeKeyword("NOT") && consumeKeyword("NULL"),
+          "Expecting '=' or '" + IS_NOT_NULL + "'");
+      return new JsonMatchQuery(NodeType.NOT_NULL, null, path, null);
+    }
+
+    /**
+     * Parses a path of the format: {@code $} followed by {@code .key} and {@code [*]}.
+     */
+    String parsePath() {
+      int start = _position;
+      checkArgument(_expression.startsWith(JsonFlattener.ROOT_PATH, _position), "Path must start with '$'");
+      _position += JsonFlattener.ROOT_PATH.length();
+      while (_position < _length) {
+        char c = _expression.charAt(_position);
+        if (c == '.') {
+          int keyStart = ++_position;
+          while (_position < _length && isKeyCharacter(_expression.charAt(_position))) {
+            _position++;
+          }
+          checkArgument(_position > keyStart, "Empty key in path");
+        } else if (c == '[') {
+          checkArgument(_expression.startsWith(JsonFlattener.ARRAY_ELEMENT_PATH, _position),
+              "Only '[*]' is supported for array elements in path");
+          _position += JsonFlattener.ARRAY_ELEMENT_PATH.length();
+        } else {
+          break;
+        }
+      }
+      return _expression.substring(start, _position);
+    }
+
+    /**
+     * Parses a quoted string (quotes escaped by doubling them), number, boolean or bare string literal into its text
+     * value.
+     */
+    String parseLiteral() {
+      skipWhitespaces();
+      checkArgument(_position < _length, "Missing literal");
+      char quote = _expression.charAt(_position);
+      if (quote == '\'' || quote == '"') {
+        StringBuilder stringBuilder = new StringBuilder();
+        _position++;
+        while (true) {
+          checkArgument(_position < _length, "Unterminated string literal");
+          char c = _expression.charAt(_position++);
+          if (c == quote) {
+            if (_position < _length && _expression.charAt(_position) == quote) {
+              _position++;
+            } else {
+              return stringBuilder.toString();
+            }
+          }
+          stringBuilder.append(c);
+        }
+      }
+      int start = _position;
+      while (_position < _length && !Character.isWhitespace(_expression.charAt(_position))
+          && _expression.charAt(_position) != ')') {
+        _position++;
+      }
+      String literal = _expression.substring(start, _position);
+      checkArgument(!literal.isEmpty(), "Missing literal");
+      if (NUMBER_PATTERN.matcher(literal).matches()) {
+        // Normalize the number the same way as the values in the documents
+        try {
+          return JsonUtils.stringToJsonNode(literal).asText();
+        } catch (IOException e) {
+          throw new IllegalArgumentException("Invalid literal: " + literal + " in JSON match filter expression: "
+              + _expression, e);
+        }
+      }
+      checkArgument(!literal.equals("null"), "Invalid literal: null, use '" + IS_NOT_NULL + "' instead");
+      checkArgument(BARE_STRING_PATTERN.matcher(literal).matches(), "Invalid literal: " + literal);
+      // Bare string, including true and false
+      return literal;
+    }
+
+    boolean consumeKeyword(String keyword) {
+      skipWhitespaces();
+      int end = _position + keyword.length();
+      if (_expression.regionMatches(true, _position, keyword, 0, keyword.length()) && (end == _length
+          || !isKeyCharacter(_expression.charAt(end)))) {
+        _position = end;
+        return true;
+      }
+      return false;
+    }
+
+    void skipWhitespaces() {
+      while (_position < _length && Character.isWhitespace(_expression.charAt(_position))) {
+        _position++;
+      }
+    }
+
+    static boolean isKeyCharacter(char c) {
+      return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
+    void checkArgument(boolean expression, String errorMessage) {
+      Preconditions.checkArgument(expression, "%s at position %s in JSON match filter expression: %s", errorMessage,
+          _position, _expression);
+    }
+  }
+}
@@ -22,9 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.apache.pinot.common.exception.QueryException;
@@ -33,7 +31,6 @@ import org.apache.pinot.core.common.Block;
 import org.apache.pinot.core.common.Operator;
 import org.apache.pinot.core.operator.blocks.IntermediateResultsBlock;
 import org.apache.pinot.core.query.reduce.CombineService;
-import org.apache.pinot.core.util.trace.TraceCallable;
 import org.apache.pinot.core.util.trace.TraceRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -121,58 +118,40 @@ public class CombineOperator extends BaseOperator<IntermediateResultsBlock> {
     }
     LOGGER.debug("Submitting operators to be run in parallel and it took:" + (System.currentTimeMillis() - startTime));
 
-    // Submit merger job:
-    Future<IntermediateResultsBlock> mergedBlockFuture =
-        _executorService.submit(new TraceCallable<IntermediateResultsBlock>() {
-          @Override
-          public IntermediateResultsBlock callJob()
-              throws Exception {
-            int mergedBlocksNumber = 0;
-            IntermediateResultsBlock mergedBlock = null;
-            while (mergedBlocksNumber < numGroups) {
-              if (mergedBlock == null) {
-                mergedBlock = (IntermediateResultsBlock) blockingQueue
-                    .poll(queryEndTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-                if (mergedBlock != null) {
-                  mergedBlocksNumber++;
-                }
-                LOGGER.debug("Got response from operator 0 after: {}", (System.currentTimeMillis() - startTime));
-              } else {
-                IntermediateResultsBlock blockToMerge = (IntermediateResultsBlock) blockingQueue
-                    .poll(queryEndTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-                if (blockToMerge != null) {
-                  try {
-                    LOGGER.debug("Got response from operator {} after: {}", mergedBlocksNumber,
-                        (System.currentTimeMillis() - startTime));
-                    CombineService.mergeTwoBlocks(_brokerRequest, mergedBlock, blockToMerge);
-                    LOGGER.debug("Merged response from operator {} after: {}", mergedBlocksNumber,
-                        (System.currentTimeMillis() - startTime));
-                  } catch (Exception e) {
-                    LOGGER.error("Caught exception while merging two blocks (step 2).", e);
-                    mergedBlock
-                        .addToProcessingExceptions(QueryException.getException(QueryException.MERGE_RESPONSE_ERROR, e));
-                  }
-                  mergedBlocksNumber++;
-                }
-              }
-            }
-            return mergedBlock;
-          }
-        });
-
-    // Get merge results.
-    IntermediateResultsBlock mergedBlock;
+    // Merge the results on the calling query runner thread. The merging mostly waits for the results of the operator
+    // groups, so it does not occupy a query worker thread.
+    IntermediateResultsBlock mergedBlock = null;
     try {
-      mergedBlock = mergedBlockFuture.get(queryEndTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+      int mergedBlocksNumber = 0;
+      while (mergedBlocksNumber < numGroups) {
+        IntermediateResultsBlock blockToMerge = (IntermediateResultsBlock) blockingQueue
+            .poll(queryEndTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        if (blockToMerge == null) {
+          throw new TimeoutException(
+              "Timed out while merging results, merged " + mergedBlocksNumber + " out of " + numGroups + " blocks");
+        }
+        LOGGER.debug("Got response from operator {} after: {}", mergedBlocksNumber,
+            (System.currentTimeMillis() - startTime));
+        if (mergedBlock == null) {
+          mergedBlock = blockToMerge;
+        } else {
+          try {
+            CombineService.mergeTwoBlocks(_brokerRequest, mergedBlock, blockToMerge);
+            LOGGER.debug("Merged response from operator {} after: {}", mergedBlocksNumber,
+                (System.currentTimeMillis() - startTime));
+          } catch (Exception e) {
+            LOGGER.error("Caught exception while merging two blocks (step 2).", e);
+            mergedBlock
+                .addToProcessingExceptions(QueryException.getException(QueryException.MERGE_RESPONSE_ERROR, e));
+          }
+        }
+        mergedBlocksNumber++;
+      }
     } catch (InterruptedException e) {
       LOGGER.error("Caught InterruptedException.", e);
       mergedBlock = new IntermediateResultsBlock(QueryException.getException(QueryException.FUTURE_CALL_ERROR, e));
-    } catch (ExecutionException e) {
-      LOGGER.error("Caught ExecutionException.", e);
-      mergedBlock = new IntermediateResultsBlock(QueryException.getException(QueryException.MERGE_RESPONSE_ERROR, e));
     } catch (TimeoutException e) {
       LOGGER.error("Caught TimeoutException", e);
-      mergedBlockFuture.cancel(true);
       mergedBlock =
           new IntermediateResultsBlock(QueryException.getException(QueryException.EXECUTION_TIMEOUT_ERROR, e));
     }
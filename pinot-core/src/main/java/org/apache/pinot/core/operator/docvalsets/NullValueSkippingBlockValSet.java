@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.docvalsets;
+
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.BaseBlockValSet;
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * The <code>NullValueSkippingBlockValSet</code> class wraps a block value set and only returns the values at the given
+ * (increasing) positions of the block, which are the documents without null value for the aggregation column.
+ * <p>The values are copied into arrays owned by this class because the underlying arrays can be shared with the other
+ * aggregation functions on the same column. The arrays are sized {@link DocIdSetPlanNode#MAX_DOC_PER_CALL} and reused
+ * across the calls, so the values returned are only valid until the next call of the same method.
+ * <p>Call {@link #wrap(BlockValSet, int[], int)} to wrap a block value set before reading the values.
+ */
+public class NullValueSkippingBlockValSet extends BaseBlockValSet {
+  private BlockValSet _blockValSet;
+  private int[] _positions;
+  private int _numPositions;
+
+  // Reusable arrays for the compacted values, allocated on first use
+  private int[] _dictionaryIdsSV;
+  private int[] _intValuesSV;
+  private long[] _longValuesSV;
+  private float[] _floatValuesSV;
+  private double[] _doubleValuesSV;
+  private String[] _stringValuesSV;
+  private byte[][] _bytesValuesSV;
+  private int[][] _dictionaryIdsMV;
+  private int[][] _intValuesMV;
+  private long[][] _longValuesMV;
+  private float[][] _floatValuesMV;
+  private double[][] _doubleValuesMV;
+  private String[][] _stringValuesMV;
+  private int[] _numMVEntries;
+
+  /**
+   * Wraps the given block value set to only return the values at the given positions, and returns this object.
+   */
+  public NullValueSkippingBlockValSet wrap(BlockValSet blockValSet, int[] positions, int numPositions) {
+    _blockValSet = blockValSet;
+    _positions = positions;
+    _numPositions = numPositions;
+    return this;
+  }
+
+  /**
+   * Fills the positions (in the block) of the documents without null value into the given array, and returns the
+   * number of positions filled. The document ids need to be in ascending order.
+   * <p>The null bitmap is walked together with the document ids instead of being probed for each document. If there is
+   * no null value within the document id range of the block, returns the number of documents without filling the
+   * positions.
+   */
+  public static int getNonNullPositions(int[] docIds, int numDocs, ImmutableRoaringBitmap nullBitmap,
+      int[] positions) {
+    if (numDocs == 0) {
+      return 0;
+    }
+    PeekableIntIterator nullDocIdIterator = nullBitmap.getIntIterator();
+    nullDocIdIterator.advanceIfNeeded(docIds[0]);
+    if (!nullDocIdIterator.hasNext() || nullDocIdIterator.peekNext() > docIds[numDocs - 1]) {
+      return numDocs;
+    }
+    int nextNullDocId = nullDocIdIterator.peekNext();
+    int numPositions = 0;
+    for (int i = 0; i < numDocs; i++) {
+      int docId = docIds[i];
+      if (docId > nextNullDocId) {
+        nullDocIdIterator.advanceIfNeeded(docId);
+        nextNullDocId = nullDocIdIterator.hasNext() ? nullDocIdIterator.peekNext() : Integer.MAX_VALUE;
+      }
+      if (docId != nextNullDocId) {
+        positions[numPositions++] = i;
+      }
+    }
+    return numPositions;
+  }
+
+  @Override
+  public FieldSpec.DataType getValueType() {
+    return _blockValSet.getValueType();
+  }
+
+  @Override
+  public int[] getDictionaryIdsSV() {
+    if (_dictionaryIdsSV == null) {
+      _dictionaryIdsSV = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    return compact(_blockValSet.getDictionaryIdsSV(), _dictionaryIdsSV);
+  }
+
+  @Override
+  public int[] getIntValuesSV() {
+    if (_intValuesSV == null) {
+      _intValuesSV = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    return compact(_blockValSet.getIntValuesSV(), _intValuesSV);
+  }
+
+  @Override
+  public long[] getLongValuesSV() {
+    if (_longValuesSV == null) {
+      _longValuesSV = new long[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    long[] values = _blockValSet.getLongValuesSV();
+    for (int i = 0; i < _numPositions; i++) {
+      _longValuesSV[i] = values[_positions[i]];
+    }
+    return _longValuesSV;
+  }
+
+  @Override
+  public float[] getFloatValuesSV() {
+    if (_floatValuesSV == null) {
+      _floatValuesSV = new float[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    float[] values = _blockValSet.getFloatValuesSV();
+    for (int i = 0; i < _numPositions; i++) {
+      _floatValuesSV[i] = values[_positions[i]];
+    }
+    return _floatValuesSV;
+  }
+
+  @Override
+  public double[] getDoubleValuesSV() {
+    if (_doubleValuesSV == null) {
+      _doubleValuesSV = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    double[] values = _blockValSet.getDoubleValuesSV();
+    for (int i = 0; i < _numPositions; i++) {
+      _doubleValuesSV[i] = values[_positions[i]];
+    }
+    return _doubleValuesSV;
+  }
+
+  @Override
+  public String[] getStringValuesSV() {
+    if (_stringValuesSV == null) {
+      _stringValuesSV = new String[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    return compact(_blockValSet.getStringValuesSV(), _stringValuesSV);
+  }
+
+  @Override
+  public byte[][] getBytesValuesSV() {
+    if (_bytesValuesSV == null) {
+      _bytesValuesSV = new byte[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getBytesValuesSV(), _bytesValuesSV);
+  }
+
+  @Override
+  public int[][] getDictionaryIdsMV() {
+    if (_dictionaryIdsMV == null) {
+      _dictionaryIdsMV = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getDictionaryIdsMV(), _dictionaryIdsMV);
+  }
+
+  @Override
+  public int[][] getIntValuesMV() {
+    if (_intValuesMV == null) {
+      _intValuesMV = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getIntValuesMV(), _intValuesMV);
+  }
+
+  @Override
+  public long[][] getLongValuesMV() {
+    if (_longValuesMV == null) {
+      _longValuesMV = new long[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getLongValuesMV(), _longValuesMV);
+  }
+
+  @Override
+  public float[][] getFloatValuesMV() {
+    if (_floatValuesMV == null) {
+      _floatValuesMV = new float[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getFloatValuesMV(), _floatValuesMV);
+  }
+
+  @Override
+  public double[][] getDoubleValuesMV() {
+    if (_doubleValuesMV == null) {
+      _doubleValuesMV = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getDoubleValuesMV(), _doubleValuesMV);
+  }
+
+  @Override
+  public String[][] getStringValuesMV() {
+    if (_stringValuesMV == null) {
+      _stringValuesMV = new String[DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+    }
+    return compact(_blockValSet.getStringValuesMV(), _stringValuesMV);
+  }
+
+  @Override
+  public int[] getNumMVEntries() {
+    if (_numMVEntries == null) {
+      _numMVEntries = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    return compact(_blockValSet.getNumMVEntries(), _numMVEntries);
+  }
+
+  private int[] compact(int[] values, int[] compactedValues) {
+    for (int i = 0; i < _numPositions; i++) {
+      compactedValues[i] = values[_positions[i]];
+    }
+    return compactedValues;
+  }
+
+  private <T> T[] compact(T[] values, T[] compactedValues) {
+    for (int i = 0; i < _numPositions; i++) {
+      compactedValues[i] = values[_positions[i]];
+    }
+    return compactedValues;
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.pinot.core.operator.filter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -27,7 +28,18 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.pinot.core.common.DataSource;
 import org.apache.pinot.core.common.DataSourceMetadata;
 import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.geospatial.GeoCellCovering;
+import org.apache.pinot.core.json.JsonMatchQuery;
+import org.apache.pinot.core.operator.filter.predicate.GeoPredicateEvaluatorFactory;
+import org.apache.pinot.core.operator.filter.predicate.JsonMatchPredicateEvaluatorFactory;
 import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.core.operator.filter.predicate.TextMatchPredicateEvaluatorFactory;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
+import org.apache.pinot.core.text.TextMatchQuery;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
 
 public class FilterOperatorUtils {
@@ -53,11 +65,44 @@ public class FilterOperatorUtils {
     // TODO: make it exclusive
     int endDocId = numDocs - 1;
 
-    // Use inverted index if the predicate type is not RANGE or REGEXP_LIKE for efficiency
-    DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
+    // Use text index for TEXT_MATCH predicate if available. When the text index lookup is not exact (phrase with more
+    // than 2 tokens), verify the looked up documents by scanning the values.
     Predicate.Type predicateType = predicateEvaluator.getPredicateType();
+    TextIndexReader textIndex = dataSource.getTextIndex();
+    if (predicateType == Predicate.Type.TEXT_MATCH && textIndex != null) {
+      TextMatchQuery textMatchQuery =
+          ((TextMatchPredicateEvaluatorFactory.TextMatchPredicateEvaluator) predicateEvaluator).getTextMatchQuery();
+      TextMatchFilterOperator textMatchFilterOperator =
+          new TextMatchFilterOperator(textMatchQuery, textIndex, startDocId, endDocId);
+      if (textMatchQuery.needsVerification()) {
+        return new AndFilterOperator(Arrays.asList(textMatchFilterOperator,
+            new ScanBasedFilterOperator(predicateEvaluator, dataSource, startDocId, endDocId)));
+      } else {
+        return textMatchFilterOperator;
+      }
+    }
+
+    // Use JSON index for JSON_MATCH predicate if available. The JSON index lookup is always exact.
+    JsonIndexReader jsonIndex = dataSource.getJsonIndex();
+    if (predicateType == Predicate.Type.JSON_MATCH && jsonIndex != null) {
+      JsonMatchQuery jsonMatchQuery =
+          ((JsonMatchPredicateEvaluatorFactory.JsonMatchPredicateEvaluator) predicateEvaluator).getJsonMatchQuery();
+      return new JsonMatchFilterOperator(jsonMatchQuery, jsonIndex, startDocId, endDocId);
+    }
+
+    // Use geo index for ST_WITHIN and ST_DISTANCE predicates if available
+    boolean isGeoPredicate = predicateType == Predicate.Type.ST_WITHIN || predicateType == Predicate.Type.ST_DISTANCE;
+    GeoIndexReader geoIndex = dataSource.getGeoIndex();
+    if (isGeoPredicate && geoIndex != null) {
+      return getGeoFilterOperator(predicateEvaluator, dataSource, geoIndex, startDocId, endDocId);
+    }
+
+    // Use inverted index if the predicate type is not RANGE, REGEXP_LIKE, TEXT_MATCH, JSON_MATCH or geospatial for
+    // efficiency
+    DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
     if (dataSourceMetadata.hasInvertedIndex() && (predicateType != Predicate.Type.RANGE) && (predicateType
-        != Predicate.Type.REGEXP_LIKE)) {
+        != Predicate.Type.REGEXP_LIKE) && (predicateType != Predicate.Type.TEXT_MATCH)
+        && (predicateType != Predicate.Type.JSON_MATCH) && !isGeoPredicate) {
       if (dataSourceMetadata.isSorted()) {
         return new SortedInvertedIndexBasedFilterOperator(predicateEvaluator, dataSource, startDocId, endDocId);
       } else {
@@ -68,6 +113,53 @@ public class FilterOperatorUtils {
     }
   }
 
+  /**
+   * Returns the filter operator for geospatial predicate with the geo index. The shape of the predicate is covered
+   * with the cells of the geo index (see {@link GeoCellCovering}), where the documents in the interior cells match
+   * without verification, and only the documents in the boundary cells are verified by scanning the values.
+   */
+  private static BaseFilterOperator getGeoFilterOperator(PredicateEvaluator predicateEvaluator, DataSource dataSource,
+      GeoIndexReader geoIndex, int startDocId, int endDocId) {
+    GeoCellCovering geoCellCovering = ((GeoPredicateEvaluatorFactory.GeoPredicateEvaluator) predicateEvaluator)
+        .getGeoCellCovering(geoIndex.getLevel());
+    ImmutableRoaringBitmap interiorDocIds = geoIndex.getDocIds(geoCellCovering.getInteriorCellRanges());
+    ImmutableRoaringBitmap boundaryDocIds = geoIndex.getDocIds(geoCellCovering.getBoundaryCellRanges());
+    List<BaseFilterOperator> childFilterOperators = new ArrayList<>(2);
+    if (!interiorDocIds.isEmpty()) {
+      childFilterOperators.add(
+          new BitmapBasedFilterOperator(new ImmutableRoaringBitmap[]{interiorDocIds}, startDocId, endDocId, false));
+    }
+    if (!boundaryDocIds.isEmpty()) {
+      childFilterOperators.add(new AndFilterOperator(Arrays
+          .asList(new BitmapBasedFilterOperator(new ImmutableRoaringBitmap[]{boundaryDocIds}, startDocId, endDocId,
+              false), new ScanBasedFilterOperator(predicateEvaluator, dataSource, startDocId, endDocId))));
+    }
+    switch (childFilterOperators.size()) {
+      case 0:
+        return EmptyFilterOperator.getInstance();
+      case 1:
+        return childFilterOperators.get(0);
+      default:
+        return new OrFilterOperator(childFilterOperators);
+    }
+  }
+
+  /**
+   * Returns the filter operator for IS NULL (or IS NOT NULL if {@code isNull} is {@code false}) predicate, which is
+   * answered from the null value vector of the column without scanning the values. Columns without null value vector
+   * (null handling disabled or no null value in the segment) do not have any null value.
+   */
+  public static BaseFilterOperator getNullValueFilterOperator(@Nullable DataSource dataSource, boolean isNull,
+      int numDocs) {
+    NullValueVectorReader nullValueVector = dataSource != null ? dataSource.getNullValueVector() : null;
+    ImmutableRoaringBitmap nullBitmap = nullValueVector != null ? nullValueVector.getNullBitmap() : null;
+    if (nullBitmap == null || nullBitmap.isEmpty()) {
+      return isNull ? EmptyFilterOperator.getInstance() : new MatchAllFilterOperator(numDocs);
+    }
+    // NOTE: end document Id is inclusive
+    return new BitmapBasedFilterOperator(new ImmutableRoaringBitmap[]{nullBitmap}, 0, numDocs - 1, !isNull);
+  }
+
   /**
    * Returns the AND filter operator or equivalent filter operator.
    */
@@ -139,7 +231,8 @@ public class FilterOperatorUtils {
         if (filterOperator instanceof SortedInvertedIndexBasedFilterOperator) {
           return 0;
         }
-        if (filterOperator instanceof BitmapBasedFilterOperator) {
+        if (filterOperator instanceof BitmapBasedFilterOperator
+            || filterOperator instanceof TextMatchFilterOperator || filterOperator instanceof JsonMatchFilterOperator) {
           return 1;
         }
         if (filterOperator instanceof AndFilterOperator) {
@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter;
+
+import org.apache.pinot.core.json.JsonMatchQuery;
+import org.apache.pinot.core.operator.blocks.FilterBlock;
+import org.apache.pinot.core.operator.docidsets.BitmapDocIdSet;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Filter operator for the JSON_MATCH predicate which looks up the matching documents from the JSON index.
+ */
+public class JsonMatchFilterOperator extends BaseFilterOperator {
+  private static final String OPERATOR_NAME = "JsonMatchFilterOperator";
+
+  private final JsonMatchQuery _jsonMatchQuery;
+  private final JsonIndexReader _jsonIndexReader;
+  private final int _startDocId;
+  // TODO: change it to exclusive
+  // Inclusive
+  private final int _endDocId;
+
+  JsonMatchFilterOperator(JsonMatchQuery jsonMatchQuery, JsonIndexReader jsonIndexReader, int startDocId,
+      int endDocId) {
+    _jsonMatchQuery = jsonMatchQuery;
+    _jsonIndexReader = jsonIndexReader;
+    _startDocId = startDocId;
+    _endDocId = endDocId;
+  }
+
+  @Override
+  protected FilterBlock getNextBlock() {
+    ImmutableRoaringBitmap docIds = _jsonMatchQuery.getDocIds(_jsonIndexReader);
+    return new FilterBlock(new BitmapDocIdSet(new ImmutableRoaringBitmap[]{docIds}, _startDocId, _endDocId, false));
+  }
+
+  @Override
+  public String getOperatorName() {
+    return OPERATOR_NAME;
+  }
+}
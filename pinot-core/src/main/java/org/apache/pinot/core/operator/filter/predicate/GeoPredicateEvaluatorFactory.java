@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter.predicate;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.common.predicate.BaseGeoPredicate;
+import org.apache.pinot.core.geospatial.GeoCellCovering;
+import org.apache.pinot.core.geospatial.GeoPoint;
+import org.apache.pinot.core.geospatial.GeoShape;
+import org.apache.pinot.core.segment.index.readers.Dictionary;
+
+
+/**
+ * Factory for geospatial (ST_WITHIN and ST_DISTANCE) predicate evaluators.
+ * <p>These evaluators match the values by parsing them as geo points and testing them against the shape of the
+ * predicate, which is used when the column does not have a geo index, and to verify the documents in the boundary
+ * cells of the geo index.
+ */
+public class GeoPredicateEvaluatorFactory {
+  private GeoPredicateEvaluatorFactory() {
+  }
+
+  /**
+   * Create a new instance of dictionary based geospatial predicate evaluator.
+   *
+   * @param geoPredicate Geospatial predicate to evaluate
+   * @param dictionary Dictionary for the column
+   * @return Dictionary based geospatial predicate evaluator
+   */
+  public static BaseDictionaryBasedPredicateEvaluator newDictionaryBasedEvaluator(BaseGeoPredicate geoPredicate,
+      Dictionary dictionary) {
+    return new DictionaryBasedGeoPredicateEvaluator(geoPredicate, dictionary);
+  }
+
+  /**
+   * Create a new instance of raw value based geospatial predicate evaluator.
+   *
+   * @param geoPredicate Geospatial predicate to evaluate
+   * @param dataType Data type for the column
+   * @return Raw value based geospatial predicate evaluator
+   */
+  public static BaseRawValueBasedPredicateEvaluator newRawValueBasedEvaluator(BaseGeoPredicate geoPredicate,
+      FieldSpec.DataType dataType) {
+    Preconditions.checkArgument(dataType == FieldSpec.DataType.STRING, "Unsupported data type: " + dataType);
+    return new RawValueBasedGeoPredicateEvaluator(geoPredicate);
+  }
+
+  /**
+   * Interface for the geospatial predicate evaluators to expose the shape and its cell covering for the geo index.
+   */
+  public interface GeoPredicateEvaluator extends PredicateEvaluator {
+
+    GeoShape getGeoShape();
+
+    /**
+     * Returns the covering of the shape with the cells of the geo index at the given level, which is shared by all the
+     * segments of the query.
+     */
+    GeoCellCovering getGeoCellCovering(int indexLevel);
+  }
+
+  private static boolean matches(GeoShape geoShape, String value) {
+    GeoPoint geoPoint = GeoPoint.fromString(value);
+    return geoPoint != null && geoShape.contains(geoPoint.getLatitude(), geoPoint.getLongitude());
+  }
+
+  private static final class DictionaryBasedGeoPredicateEvaluator extends BaseDictionaryBasedPredicateEvaluator
+      implements GeoPredicateEvaluator {
+    final BaseGeoPredicate _geoPredicate;
+    final Predicate.Type _predicateType;
+    final GeoShape _geoShape;
+    final Dictionary _dictionary;
+    int[] _matchingDictIds;
+
+    public DictionaryBasedGeoPredicateEvaluator(BaseGeoPredicate geoPredicate, Dictionary dictionary) {
+      _geoPredicate = geoPredicate;
+      _predicateType = geoPredicate.getType();
+      _geoShape = geoPredicate.getGeoShape();
+      _dictionary = dictionary;
+    }
+
+    @Override
+    public Predicate.Type getPredicateType() {
+      return _predicateType;
+    }
+
+    @Override
+    public GeoShape getGeoShape() {
+      return _geoShape;
+    }
+
+    @Override
+    public GeoCellCovering getGeoCellCovering(int indexLevel) {
+      return _geoPredicate.getGeoCellCovering(indexLevel);
+    }
+
+    @Override
+    public boolean applySV(int dictId) {
+      return matches(_geoShape, _dictionary.getStringValue(dictId));
+    }
+
+    @Override
+    public int[] getMatchingDictIds() {
+      if (_matchingDictIds == null) {
+        IntList matchingDictIds = new IntArrayList();
+        int dictionarySize = _dictionary.length();
+        for (int dictId = 0; dictId < dictionarySize; dictId++) {
+          if (applySV(dictId)) {
+            matchingDictIds.add(dictId);
+          }
+        }
+        _matchingDictIds = matchingDictIds.toIntArray();
+      }
+      return _matchingDictIds;
+    }
+  }
+
+  private static final class RawValueBasedGeoPredicateEvaluator extends BaseRawValueBasedPredicateEvaluator
+      implements GeoPredicateEvaluator {
+    final BaseGeoPredicate _geoPredicate;
+    final Predicate.Type _predicateType;
+    final GeoShape _geoShape;
+
+    public RawValueBasedGeoPredicateEvaluator(BaseGeoPredicate geoPredicate) {
+      _geoPredicate = geoPredicate;
+      _predicateType = geoPredicate.getType();
+      _geoShape = geoPredicate.getGeoShape();
+    }
+
+    @Override
+    public Predicate.Type getPredicateType() {
+      return _predicateType;
+    }
+
+    @Override
+    public GeoShape getGeoShape() {
+      return _geoShape;
+    }
+
+    @Override
+    public GeoCellCovering getGeoCellCovering(int indexLevel) {
+      return _geoPredicate.getGeoCellCovering(indexLevel);
+    }
+
+    @Override
+    public boolean applySV(String value) {
+      return matches(_geoShape, value);
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter.predicate;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.common.predicate.JsonMatchPredicate;
+import org.apache.pinot.core.json.JsonMatchQuery;
+import org.apache.pinot.core.segment.index.readers.Dictionary;
+
+
+/**
+ * Factory for JSON_MATCH predicate evaluators.
+ * <p>These evaluators match the values by parsing them as JSON documents, which is used when the column does not have
+ * a JSON index.
+ */
+public class JsonMatchPredicateEvaluatorFactory {
+  private JsonMatchPredicateEvaluatorFactory() {
+  }
+
+  /**
+   * Create a new instance of dictionary based JSON_MATCH predicate evaluator.
+   *
+   * @param jsonMatchPredicate JSON_MATCH predicate to evaluate
+   * @param dictionary Dictionary for the column
+   * @return Dictionary based JSON_MATCH predicate evaluator
+   */
+  public static BaseDictionaryBasedPredicateEvaluator newDictionaryBasedEvaluator(
+      JsonMatchPredicate jsonMatchPredicate, Dictionary dictionary) {
+    return new DictionaryBasedJsonMatchPredicateEvaluator(jsonMatchPredicate, dictionary);
+  }
+
+  /**
+   * Create a new instance of raw value based JSON_MATCH predicate evaluator.
+   *
+   * @param jsonMatchPredicate JSON_MATCH predicate to evaluate
+   * @param dataType Data type for the column
+   * @return Raw value based JSON_MATCH predicate evaluator
+   */
+  public static BaseRawValueBasedPredicateEvaluator newRawValueBasedEvaluator(JsonMatchPredicate jsonMatchPredicate,
+      FieldSpec.DataType dataType) {
+    Preconditions.checkArgument(dataType == FieldSpec.DataType.STRING, "Unsupported data type: " + dataType);
+    return new RawValueBasedJsonMatchPredicateEvaluator(jsonMatchPredicate);
+  }
+
+  /**
+   * Interface for the JSON_MATCH predicate evaluators to expose the parsed query for the JSON index.
+   */
+  public interface JsonMatchPredicateEvaluator extends PredicateEvaluator {
+
+    JsonMatchQuery getJsonMatchQuery();
+  }
+
+  private static final class DictionaryBasedJsonMatchPredicateEvaluator extends BaseDictionaryBasedPredicateEvaluator
+      implements JsonMatchPredicateEvaluator {
+    final JsonMatchQuery _jsonMatchQuery;
+    final Dictionary _dictionary;
+    int[] _matchingDictIds;
+
+    public DictionaryBasedJsonMatchPredicateEvaluator(JsonMatchPredicate jsonMatchPredicate, Dictionary dictionary) {
+      _jsonMatchQuery = jsonMatchPredicate.getJsonMatchQuery();
+      _dictionary = dictionary;
+    }
+
+    @Override
+    public Predicate.Type getPredicateType() {
+      return Predicate.Type.JSON_MATCH;
+    }
+
+    @Override
+    public JsonMatchQuery getJsonMatchQuery() {
+      return _jsonMatchQuery;
+    }
+
+    @Override
+    public boolean applySV(int dictId) {
+      return _jsonMatchQuery.matches(_dictionary.getStringValue(dictId));
+    }
+
+    @Override
+    public int[] getMatchingDictIds() {
+      if (_matchingDictIds == null) {
+        IntList matchingDictIds = new IntArrayList();
+        int dictionarySize = _dictionary.length();
+        for (int dictId = 0; dictId < dictionarySize; dictId++) {
+          if (applySV(dictId)) {
+            matchingDictIds.add(dictId);
+          }
+        }
+        _matchingDictIds = matchingDictIds.toIntArray();
+      }
+      return _matchingDictIds;
+    }
+  }
+
+  private static final class RawValueBasedJsonMatchPredicateEvaluator extends BaseRawValueBasedPredicateEvaluator
+      implements JsonMatchPredicateEvaluator {
+    final JsonMatchQuery _jsonMatchQuery;
+
+    public RawValueBasedJsonMatchPredicateEvaluator(JsonMatchPredicate jsonMatchPredicate) {
+      _jsonMatchQuery = jsonMatchPredicate.getJsonMatchQuery();
+    }
+
+    @Override
+    public Predicate.Type getPredicateType() {
+      return Predicate.Type.JSON_MATCH;
+    }
+
+    @Override
+    public JsonMatchQuery getJsonMatchQuery() {
+      return _jsonMatchQuery;
+    }
+
+    @Override
+    public boolean applySV(String value) {
+      return _jsonMatchQuery.matches(value);
+    }
+  }
+}
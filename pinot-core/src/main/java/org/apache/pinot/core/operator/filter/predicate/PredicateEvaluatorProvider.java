@@ -20,12 +20,15 @@ package org.apache.pinot.core.operator.filter.predicate;
 
 import org.apache.pinot.common.data.FieldSpec.DataType;
 import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.common.predicate.BaseGeoPredicate;
 import org.apache.pinot.core.common.predicate.EqPredicate;
 import org.apache.pinot.core.common.predicate.InPredicate;
+import org.apache.pinot.core.common.predicate.JsonMatchPredicate;
 import org.apache.pinot.core.common.predicate.NEqPredicate;
 import org.apache.pinot.core.common.predicate.NotInPredicate;
 import org.apache.pinot.core.common.predicate.RangePredicate;
 import org.apache.pinot.core.common.predicate.RegexpLikePredicate;
+import org.apache.pinot.core.common.predicate.TextMatchPredicate;
 import org.apache.pinot.core.query.exception.BadQueryRequestException;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 
@@ -51,6 +54,15 @@ public class PredicateEvaluatorProvider {
           case REGEXP_LIKE:
             return RegexpLikePredicateEvaluatorFactory
                 .newDictionaryBasedEvaluator((RegexpLikePredicate) predicate, dictionary);
+          case TEXT_MATCH:
+            return TextMatchPredicateEvaluatorFactory
+                .newDictionaryBasedEvaluator((TextMatchPredicate) predicate, dictionary);
+          case JSON_MATCH:
+            return JsonMatchPredicateEvaluatorFactory
+                .newDictionaryBasedEvaluator((JsonMatchPredicate) predicate, dictionary);
+          case ST_WITHIN:
+          case ST_DISTANCE:
+            return GeoPredicateEvaluatorFactory.newDictionaryBasedEvaluator((BaseGeoPredicate) predicate, dictionary);
           default:
             throw new UnsupportedOperationException("Unsupported predicate type: " + predicate.getType());
         }
@@ -69,6 +81,15 @@ public class PredicateEvaluatorProvider {
           case REGEXP_LIKE:
             return RegexpLikePredicateEvaluatorFactory
                 .newRawValueBasedEvaluator((RegexpLikePredicate) predicate, dataType);
+          case TEXT_MATCH:
+            return TextMatchPredicateEvaluatorFactory
+                .newRawValueBasedEvaluator((TextMatchPredicate) predicate, dataType);
+          case JSON_MATCH:
+            return JsonMatchPredicateEvaluatorFactory
+                .newRawValueBasedEvaluator((JsonMatchPredicate) predicate, dataType);
+          case ST_WITHIN:
+          case ST_DISTANCE:
+            return GeoPredicateEvaluatorFactory.newRawValueBasedEvaluator((BaseGeoPredicate) predicate, dataType);
           default:
             throw new UnsupportedOperationException("Unsupported predicate type: " + predicate.getType());
         }
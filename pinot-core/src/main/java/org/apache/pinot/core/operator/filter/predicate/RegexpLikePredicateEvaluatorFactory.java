@@ -21,11 +21,17 @@ package org.apache.pinot.core.operator.filter.predicate;
 import com.google.common.base.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.core.common.Predicate;
 import org.apache.pinot.core.common.predicate.RegexpLikePredicate;
+import org.apache.pinot.core.segment.index.readers.BaseImmutableDictionary;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
+import org.apache.pinot.core.segment.index.readers.OnHeapStringDictionary;
+import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.util.regex.RegexpDfa;
 
 
 /**
@@ -60,16 +66,99 @@ public class RegexpLikePredicateEvaluatorFactory {
     return new RawValueBasedRegexpLikePredicateEvaluator(regexpLikePredicate);
   }
 
-  private static final int PATTERN_FLAG = Pattern.UNICODE_CASE | Pattern.CASE_INSENSITIVE;
-
+  /**
+   * Dictionary based REGEXP_LIKE predicate evaluator.
+   * <ul>
+   *   <li>For regular expressions anchored at the beginning with literal prefixes (e.g. {@code ^abc.*}) on sorted
+   *   string dictionaries with zero padding byte, only the dictionary ranges starting with one of the prefixes are
+   *   evaluated.</li>
+   *   <li>Regular expressions supported by {@link RegexpDfa} are evaluated with the DFA, directly on the UTF-8 bytes of
+   *   the values for off-heap string dictionaries.</li>
+   * </ul>
+   */
   private static final class DictionaryBasedRegexpLikePredicateEvaluator extends BaseDictionaryBasedPredicateEvaluator {
     final Pattern _pattern;
+    final RegexpDfa _dfa;
     final Dictionary _dictionary;
+    final StringDictionary _stringDictionary;
+    final byte[] _valueBuffer;
+    // Sorted and non-overlapping dictionary id ranges [start, end) that can match, or null if any dictionary id can
+    // match
+    final int[] _rangeStarts;
+    final int[] _rangeEnds;
     int[] _matchingDictIds;
 
     public DictionaryBasedRegexpLikePredicateEvaluator(RegexpLikePredicate regexpLikePredicate, Dictionary dictionary) {
-      _pattern = Pattern.compile(regexpLikePredicate.getRegex(), PATTERN_FLAG);
+      _pattern = regexpLikePredicate.getPattern();
+      _dfa = regexpLikePredicate.getDfa();
       _dictionary = dictionary;
+      if (_dfa != null && dictionary instanceof StringDictionary) {
+        _stringDictionary = (StringDictionary) dictionary;
+        _valueBuffer = _stringDictionary.getValueBuffer();
+      } else {
+        _stringDictionary = null;
+        _valueBuffer = null;
+      }
+
+      // With non-zero padding byte the values are sorted by the padded bytes (e.g. with padding byte '%', "abc def" is
+      // sorted before "abc"), so the values starting with a prefix cannot be located with the insertion index
+      List<String> prefixes = null;
+      if ((dictionary instanceof StringDictionary || dictionary instanceof OnHeapStringDictionary)
+          && ((BaseImmutableDictionary) dictionary).getPaddingByte() == 0) {
+        prefixes = regexpLikePredicate.getPrefixes();
+      }
+      if (prefixes != null) {
+        BaseImmutableDictionary immutableDictionary = (BaseImmutableDictionary) dictionary;
+        int numPrefixes = prefixes.size();
+        int[] rangeStarts = new int[numPrefixes];
+        int[] rangeEnds = new int[numPrefixes];
+        int numRanges = 0;
+        // Prefixes are sorted, so the ranges are sorted by the start
+        for (String prefix : prefixes) {
+          int start = getInsertionIndex(immutableDictionary, prefix);
+          String successor = getSuccessor(prefix);
+          int end = successor != null ? getInsertionIndex(immutableDictionary, successor) : dictionary.length();
+          if (start >= end) {
+            continue;
+          }
+          if (numRanges > 0 && start <= rangeEnds[numRanges - 1]) {
+            rangeEnds[numRanges - 1] = Math.max(rangeEnds[numRanges - 1], end);
+          } else {
+            rangeStarts[numRanges] = start;
+            rangeEnds[numRanges] = end;
+            numRanges++;
+          }
+        }
+        _rangeStarts = Arrays.copyOf(rangeStarts, numRanges);
+        _rangeEnds = Arrays.copyOf(rangeEnds, numRanges);
+        _alwaysFalse = numRanges == 0;
+      } else {
+        _rangeStarts = null;
+        _rangeEnds = null;
+      }
+    }
+
+    /**
+     * Returns the insertion index of the value, which is only accurate for dictionaries with zero padding byte.
+     */
+    private static int getInsertionIndex(BaseImmutableDictionary dictionary, String value) {
+      int insertionIndex = dictionary.insertionIndexOf(value);
+      return insertionIndex >= 0 ? insertionIndex : -(insertionIndex + 1);
+    }
+
+    /**
+     * Returns the smallest string larger than all the strings starting with the prefix, or {@code null} if there is no
+     * such string.
+     */
+    private static String getSuccessor(String prefix) {
+      int length = prefix.length();
+      while (length > 0 && prefix.charAt(length - 1) == Character.MAX_VALUE) {
+        length--;
+      }
+      if (length == 0) {
+        return null;
+      }
+      return prefix.substring(0, length - 1) + (char) (prefix.charAt(length - 1) + 1);
     }
 
     @Override
@@ -79,17 +168,50 @@ public class RegexpLikePredicateEvaluatorFactory {
 
     @Override
     public boolean applySV(int dictId) {
-      return _pattern.matcher(_dictionary.getStringValue(dictId)).find();
+      if (_rangeStarts != null) {
+        int index = Arrays.binarySearch(_rangeStarts, dictId);
+        if (index < 0) {
+          index = -(index + 1) - 1;
+          if (index < 0 || dictId >= _rangeEnds[index]) {
+            return false;
+          }
+        }
+      }
+      return matches(dictId);
+    }
+
+    private boolean matches(int dictId) {
+      if (_dfa != null) {
+        if (_stringDictionary != null) {
+          return _dfa.find(_valueBuffer, _stringDictionary.getUtf8Bytes(dictId, _valueBuffer));
+        } else {
+          return _dfa.find(_dictionary.getStringValue(dictId));
+        }
+      } else {
+        return _pattern.matcher(_dictionary.getStringValue(dictId)).find();
+      }
     }
 
     @Override
     public int[] getMatchingDictIds() {
       if (_matchingDictIds == null) {
         IntList matchingDictIds = new IntArrayList();
-        int dictionarySize = _dictionary.length();
-        for (int dictId = 0; dictId < dictionarySize; dictId++) {
-          if (applySV(dictId)) {
-            matchingDictIds.add(dictId);
+        if (_rangeStarts != null) {
+          int numRanges = _rangeStarts.length;
+          for (int i = 0; i < numRanges; i++) {
+            int end = _rangeEnds[i];
+            for (int dictId = _rangeStarts[i]; dictId < end; dictId++) {
+              if (matches(dictId)) {
+                matchingDictIds.add(dictId);
+              }
+            }
+          }
+        } else {
+          int dictionarySize = _dictionary.length();
+          for (int dictId = 0; dictId < dictionarySize; dictId++) {
+            if (matches(dictId)) {
+              matchingDictIds.add(dictId);
+            }
           }
         }
         _matchingDictIds = matchingDictIds.toIntArray();
@@ -100,9 +222,11 @@ public class RegexpLikePredicateEvaluatorFactory {
 
   private static final class RawValueBasedRegexpLikePredicateEvaluator extends BaseRawValueBasedPredicateEvaluator {
     final Pattern _pattern;
+    final RegexpDfa _dfa;
 
     public RawValueBasedRegexpLikePredicateEvaluator(RegexpLikePredicate regexpLikePredicate) {
-      _pattern = Pattern.compile(regexpLikePredicate.getRegex(), PATTERN_FLAG);
+      _pattern = regexpLikePredicate.getPattern();
+      _dfa = regexpLikePredicate.getDfa();
     }
 
     @Override
@@ -112,7 +236,7 @@ public class RegexpLikePredicateEvaluatorFactory {
 
     @Override
     public boolean applySV(String value) {
-      return _pattern.matcher(value).find();
+      return _dfa != null ? _dfa.find(value) : _pattern.matcher(value).find();
     }
   }
 }
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter.predicate;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.common.predicate.TextMatchPredicate;
+import org.apache.pinot.core.segment.index.readers.Dictionary;
+import org.apache.pinot.core.text.TextMatchQuery;
+
+
+/**
+ * Factory for TEXT_MATCH predicate evaluators.
+ * <p>These evaluators match the values by tokenizing them, which is used when the column does not have a text index,
+ * or to verify the documents looked up from the text index.
+ */
+public class TextMatchPredicateEvaluatorFactory {
+  private TextMatchPredicateEvaluatorFactory() {
+  }
+
+  /**
+   * Create a new instance of dictionary based TEXT_MATCH predicate evaluator.
+   *
+   * @param textMatchPredicate TEXT_MATCH predicate to evaluate
+   * @param dictionary Dictionary for the column
+   * @return Dictionary based TEXT_MATCH predicate evaluator
+   */
+  public static BaseDictionaryBasedPredicateEvaluator newDictionaryBasedEvaluator(
+      TextMatchPredicate textMatchPredicate, Dictionary dictionary) {
+    return new DictionaryBasedTextMatchPredicateEvaluator(textMatchPredicate, dictionary);
+  }
+
+  /**
+   * Create a new instance of raw value based TEXT_MATCH predicate evaluator.
+   *
+   * @param textMatchPredicate TEXT_MATCH predicate to evaluate
+   * @param dataType Data type for the column
+   * @return Raw value based TEXT_MATCH predicate evaluator
+   */
+  public static BaseRawValueBasedPredicateEvaluator newRawValueBasedEvaluator(TextMatchPredicate textMatchPredicate,
+      FieldSpec.DataType dataType) {
+    Preconditions.checkArgument(dataType == FieldSpec.DataType.STRING, "Unsupported data type: " + dataType);
+    return new RawValueBasedTextMatchPredicateEvaluator(textMatchPredicate);
+  }
+
+  /**
+   * Interface for the TEXT_MATCH predicate evaluators to expose the parsed query for the text index.
+   */
+  public interface TextMatchPredicateEvaluator extends PredicateEvaluator {
+
+    TextMatchQuery getTextMatchQuery();
+  }
+
+  private static final class DictionaryBasedTextMatchPredicateEvaluator extends BaseDictionaryBasedPredicateEvaluator
+      implements TextMatchPredicateEvaluator {
+    final TextMatchQuery _textMatchQuery;
+    final Dictionary _dictionary;
+    int[] _matchingDictIds;
+
+    public DictionaryBasedTextMatchPredicateEvaluator(TextMatchPredicate textMatchPredicate, Dictionary dictionary) {
+      _textMatchQuery = textMatchPredicate.getTextMatchQuery();
+      _dictionary = dictionary;
+    }
+
+    @Override
+    public Predicate.Type getPredicateType() {
+      return Predicate.Type.TEXT_MATCH;
+    }
+
+    @Override
+    public TextMatchQuery getTextMatchQuery() {
+      return _textMatchQuery;
+    }
+
+    @Override
+    public boolean applySV(int dictId) {
+      return _textMatchQuery.matches(_dictionary.getStringValue(dictId));
+    }
+
+    @Override
+    public int[] getMatchingDictIds() {
+      if (_matchingDictIds == null) {
+        IntList matchingDictIds = new IntArrayList();
+        int dictionarySize = _dictionary.length();
+        for (int dictId = 0; dictId < dictionarySize; dictId++) {
+          if (applySV(dictId)) {
+            matchingDictIds.add(dictId);
+          }
+        }
+        _matchingDictIds = matchingDictIds.toIntArray();
+      }
+      return _matchingDictIds;
+    }
+  }
+
+  private static final class RawValueBasedTextMatchPredicateEvaluator extends BaseRawValueBasedPredicateEvaluator
+      implements TextMatchPredicateEvaluator {
+    final TextMatchQuery _textMatchQuery;
+
+    public RawValueBasedTextMatchPredicateEvaluator(TextMatchPredicate textMatchPredicate) {
+      _textMatchQuery = textMatchPredicate.getTextMatchQuery();
+    }
+
+    @Override
+    public Predicate.Type getPredicateType() {
+      return Predicate.Type.TEXT_MATCH;
+    }
+
+    @Override
+    public TextMatchQuery getTextMatchQuery() {
+      return _textMatchQuery;
+    }
+
+    @Override
+    public boolean applySV(String value) {
+      return _textMatchQuery.matches(value);
+    }
+  }
+}
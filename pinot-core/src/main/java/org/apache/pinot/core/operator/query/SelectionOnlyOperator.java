@@ -21,6 +21,7 @@ package org.apache.pinot.core.operator.query;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.Selection;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.common.utils.DataSchema;
@@ -33,6 +34,7 @@ import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.operator.transform.TransformBlockDataFetcher;
 import org.apache.pinot.core.operator.transform.TransformOperator;
 import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.query.selection.SelectionEarlyTerminationContext;
 import org.apache.pinot.core.query.selection.SelectionOperatorUtils;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 
@@ -49,10 +51,25 @@ public class SelectionOnlyOperator extends BaseOperator<IntermediateResultsBlock
   private final DataSchema _dataSchema;
   private final int _numRowsToKeep;
   private final List<Serializable[]> _rows;
+  private final SelectionEarlyTerminationContext _earlyTerminationContext;
 
   private ExecutionStatistics _executionStatistics;
 
   public SelectionOnlyOperator(IndexSegment indexSegment, Selection selection, TransformOperator transformOperator) {
+    this(indexSegment, selection, transformOperator, null);
+  }
+
+  /**
+   * Constructor for the class.
+   *
+   * @param indexSegment Index segment
+   * @param selection Selection
+   * @param transformOperator Transform operator
+   * @param earlyTerminationContext Context shared with the operators of the other segments, so that the operator
+   *                                stops scanning once all the operators together have collected enough rows
+   */
+  public SelectionOnlyOperator(IndexSegment indexSegment, Selection selection, TransformOperator transformOperator,
+      @Nullable SelectionEarlyTerminationContext earlyTerminationContext) {
     _indexSegment = indexSegment;
     _transformOperator = transformOperator;
     _expressions = SelectionOperatorUtils.extractExpressions(selection.getSelectionColumns(), indexSegment, null);
@@ -78,12 +95,19 @@ public class SelectionOnlyOperator extends BaseOperator<IntermediateResultsBlock
 
     _numRowsToKeep = selection.getSize();
     _rows = new ArrayList<>(Math.min(_numRowsToKeep, SelectionOperatorUtils.MAX_ROW_HOLDER_INITIAL_CAPACITY));
+    _earlyTerminationContext = earlyTerminationContext;
   }
 
   @Override
   protected IntermediateResultsBlock getNextBlock() {
     int numDocsScanned = 0;
 
+    if (_earlyTerminationContext != null && _earlyTerminationContext.hasEnoughRows()) {
+      // Other segments have collected enough rows, skip the segment
+      _executionStatistics = new ExecutionStatistics(0, 0, 0, _indexSegment.getSegmentMetadata().getTotalRawDocs());
+      return new IntermediateResultsBlock(_dataSchema, _rows);
+    }
+
     TransformBlock transformBlock;
     while ((transformBlock = _transformOperator.nextBlock()) != null) {
       int numExpressions = _expressions.size();
@@ -98,7 +122,11 @@ public class SelectionOnlyOperator extends BaseOperator<IntermediateResultsBlock
       for (int i = 0; i < numDocsToAdd; i++) {
         _rows.add(dataFetcher.getRow(i));
       }
-      if (_rows.size() == _numRowsToKeep) {
+      if (_earlyTerminationContext != null) {
+        _earlyTerminationContext.addRowsCollected(numDocsToAdd);
+      }
+      if (_rows.size() == _numRowsToKeep || (_earlyTerminationContext != null
+          && _earlyTerminationContext.hasEnoughRows())) {
         break;
       }
     }
@@ -22,6 +22,7 @@ import java.io.Serializable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.Selection;
 import org.apache.pinot.common.request.SelectionSort;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
@@ -36,6 +37,7 @@ import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.operator.transform.TransformBlockDataFetcher;
 import org.apache.pinot.core.operator.transform.TransformOperator;
 import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.query.selection.SelectionEarlyTerminationContext;
 import org.apache.pinot.core.query.selection.SelectionOperatorUtils;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 
@@ -53,10 +55,27 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
   private final DataSchema _dataSchema;
   private final int _numRowsToKeep;
   private final PriorityQueue<Serializable[]> _rows;
+  private final SelectionEarlyTerminationContext _earlyTerminationContext;
+  // Best value of the first order-by column in the segment, null if the segment cannot be pruned
+  private final Comparable _bestOrderByValue;
 
   private ExecutionStatistics _executionStatistics;
 
   public SelectionOrderByOperator(IndexSegment indexSegment, Selection selection, TransformOperator transformOperator) {
+    this(indexSegment, selection, transformOperator, null);
+  }
+
+  /**
+   * Constructor for the class.
+   *
+   * @param indexSegment Index segment
+   * @param selection Selection
+   * @param transformOperator Transform operator
+   * @param earlyTerminationContext Context shared with the operators of the other segments, so that the operator
+   *                                stops scanning once the segment cannot contribute any row to the final results
+   */
+  public SelectionOrderByOperator(IndexSegment indexSegment, Selection selection, TransformOperator transformOperator,
+      @Nullable SelectionEarlyTerminationContext earlyTerminationContext) {
     _indexSegment = indexSegment;
     _transformOperator = transformOperator;
     _sortSequence = selection.getSelectionSortSequence();
@@ -85,6 +104,9 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
     _numRowsToKeep = selection.getOffset() + selection.getSize();
     _rows = new PriorityQueue<>(Math.min(_numRowsToKeep, SelectionOperatorUtils.MAX_ROW_HOLDER_INITIAL_CAPACITY),
         getComparator());
+    _earlyTerminationContext = earlyTerminationContext;
+    _bestOrderByValue =
+        earlyTerminationContext != null ? earlyTerminationContext.getBestOrderByValue(indexSegment) : null;
   }
 
   private Comparator<Serializable[]> getComparator() {
@@ -139,6 +161,12 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
   protected IntermediateResultsBlock getNextBlock() {
     int numDocsScanned = 0;
 
+    if (canPrune()) {
+      // Rows collected by other segments are better than any row in the segment, skip the segment
+      _executionStatistics = new ExecutionStatistics(0, 0, 0, _indexSegment.getSegmentMetadata().getTotalRawDocs());
+      return new IntermediateResultsBlock(_dataSchema, _rows);
+    }
+
     TransformBlock transformBlock;
     while ((transformBlock = _transformOperator.nextBlock()) != null) {
       int numExpressions = _expressions.size();
@@ -154,6 +182,18 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
       for (int i = 0; i < numDocsFetched; i++) {
         SelectionOperatorUtils.addToPriorityQueue(dataFetcher.getRow(i), _rows, _numRowsToKeep);
       }
+      if (_earlyTerminationContext != null) {
+        if (_rows.size() == _numRowsToKeep) {
+          // The last row kept (head of the priority queue) bounds the final results
+          Serializable lastOrderByValue = _rows.peek()[0];
+          if (_expressionMetadata[0].isSingleValue() && lastOrderByValue instanceof Comparable) {
+            _earlyTerminationContext.updateOrderByThreshold((Comparable) lastOrderByValue);
+          }
+        }
+        if (canPrune()) {
+          break;
+        }
+      }
     }
 
     // Create execution statistics.
@@ -167,6 +207,10 @@ public class SelectionOrderByOperator extends BaseOperator<IntermediateResultsBl
     return new IntermediateResultsBlock(_dataSchema, _rows);
   }
 
+  private boolean canPrune() {
+    return _earlyTerminationContext != null && _earlyTerminationContext.canPrune(_bestOrderByValue);
+  }
+
   @Override
   public String getOperatorName() {
     return OPERATOR_NAME;
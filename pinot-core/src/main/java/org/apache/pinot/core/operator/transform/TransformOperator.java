@@ -28,6 +28,8 @@ import org.apache.pinot.core.operator.ExecutionStatistics;
 import org.apache.pinot.core.operator.ProjectionOperator;
 import org.apache.pinot.core.operator.blocks.ProjectionBlock;
 import org.apache.pinot.core.operator.blocks.TransformBlock;
+import org.apache.pinot.core.operator.transform.function.DictionaryBasedTransformFunction;
+import org.apache.pinot.core.operator.transform.function.TransformExpressionCompiler;
 import org.apache.pinot.core.operator.transform.function.TransformFunction;
 import org.apache.pinot.core.operator.transform.function.TransformFunctionFactory;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
@@ -53,7 +55,18 @@ public class TransformOperator extends BaseOperator<TransformBlock> {
     _projectionOperator = projectionOperator;
     _dataSourceMap = projectionOperator.getDataSourceMap();
     for (TransformExpressionTree expression : expressions) {
-      TransformFunction transformFunction = TransformFunctionFactory.get(expression, _dataSourceMap);
+      // Evaluate the expression with a single fused loop if all the nodes are supported by the compiler
+      TransformFunction transformFunction = TransformExpressionCompiler.compile(expression, _dataSourceMap);
+      if (transformFunction == null) {
+        transformFunction = TransformFunctionFactory.get(expression, _dataSourceMap);
+      }
+      // Evaluate the expression once per dictionary entry if it only applies on a low cardinality dictionary-encoded
+      // column
+      TransformFunction dictionaryBasedTransformFunction =
+          DictionaryBasedTransformFunction.create(expression, transformFunction, _dataSourceMap);
+      if (dictionaryBasedTransformFunction != null) {
+        transformFunction = dictionaryBasedTransformFunction;
+      }
       _transformFunctionMap.put(expression, transformFunction);
     }
   }
@@ -0,0 +1,547 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.common.BaseBlockValSet;
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.common.DataSourceMetadata;
+import org.apache.pinot.core.operator.blocks.ProjectionBlock;
+import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.AbsTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.CeilTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.ExpTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.FloorTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.LnTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.SqrtTransformFunction;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.segment.index.readers.BaseDictionary;
+import org.apache.pinot.core.segment.index.readers.Dictionary;
+
+
+/**
+ * The {@code DictionaryBasedTransformFunction} class evaluates a deterministic transform expression on a single
+ * dictionary-encoded column in the dictionary domain: the expression is evaluated once per dictionary entry of the
+ * segment, and the results for the docs are looked up by the dictionary ids.
+ * <p>The transform results also come with a dictionary over the distinct results, so that the transform can be used
+ * as a dictionary-encoded column (e.g. group-by on a transformed time column groups on the small dictionary ids
+ * instead of the transformed values).
+ * <p>This is only applied to the columns with cardinality no more than the number of docs in a block, so that
+ * evaluating the expression on the dictionary costs no more than evaluating it on a single block.
+ */
+public class DictionaryBasedTransformFunction extends BaseTransformFunction {
+  public static final String FUNCTION_NAME = "dictionaryBased";
+
+  // Deterministic built-in transform functions with single-valued results
+  private static final Set<String> SUPPORTED_FUNCTIONS = new HashSet<>();
+
+  static {
+    for (String functionName : new String[]{AdditionTransformFunction.FUNCTION_NAME,
+        SubtractionTransformFunction.FUNCTION_NAME, MultiplicationTransformFunction.FUNCTION_NAME,
+        DivisionTransformFunction.FUNCTION_NAME, TimeConversionTransformFunction.FUNCTION_NAME,
+        DateTimeConversionTransformFunction.FUNCTION_NAME, AbsTransformFunction.FUNCTION_NAME,
+        CeilTransformFunction.FUNCTION_NAME, ExpTransformFunction.FUNCTION_NAME, FloorTransformFunction.FUNCTION_NAME,
+        LnTransformFunction.FUNCTION_NAME, SqrtTransformFunction.FUNCTION_NAME}) {
+      SUPPORTED_FUNCTIONS.add(functionName.toLowerCase());
+    }
+  }
+
+  private final TransformFunction _transformFunction;
+  private final String _column;
+  private final Dictionary _dictionary;
+  private final TransformResultMetadata _resultMetadata;
+
+  // Lazily computed on the first access
+  // Transform results indexed by the dictionary id of the input column, only the array for the result type is set
+  private int[] _mappedIntValues;
+  private long[] _mappedLongValues;
+  private float[] _mappedFloatValues;
+  private double[] _mappedDoubleValues;
+  private String[] _mappedStringValues;
+  // Dictionary id in the result dictionary indexed by the dictionary id of the input column
+  private int[] _mappedDictIds;
+  private ResultDictionary _resultDictionary;
+
+  private int[] _dictIds;
+  private int[] _intValues;
+  private long[] _longValues;
+  private float[] _floatValues;
+  private double[] _doubleValues;
+  private String[] _stringValues;
+
+  private DictionaryBasedTransformFunction(TransformFunction transformFunction, String column,
+      Dictionary dictionary) {
+    _transformFunction = transformFunction;
+    _column = column;
+    _dictionary = dictionary;
+    _resultMetadata = new TransformResultMetadata(transformFunction.getResultMetadata().getDataType(), true, true);
+  }
+
+  /**
+   * Returns a dictionary based transform function for the given expression and transform function, or {@code null} if
+   * the expression cannot be evaluated in the dictionary domain.
+   *
+   * @param expression Transform expression
+   * @param transformFunction Transform function for the expression
+   * @param dataSourceMap Map from column name to column data source
+   * @return Dictionary based transform function, or {@code null} if not applicable
+   */
+  @Nullable
+  public static TransformFunction create(@Nonnull TransformExpressionTree expression,
+      @Nonnull TransformFunction transformFunction, @Nonnull Map<String, DataSource> dataSourceMap) {
+    if (expression.getExpressionType() != TransformExpressionTree.ExpressionType.FUNCTION || !isSupported(expression)) {
+      return null;
+    }
+    TransformResultMetadata resultMetadata = transformFunction.getResultMetadata();
+    if (!resultMetadata.isSingleValue() || resultMetadata.getDataType() == FieldSpec.DataType.BYTES) {
+      return null;
+    }
+
+    Set<String> columns = new HashSet<>();
+    expression.getColumns(columns);
+    if (columns.size() != 1) {
+      return null;
+    }
+    String column = columns.iterator().next();
+    DataSource dataSource = dataSourceMap.get(column);
+    if (dataSource == null) {
+      return null;
+    }
+    DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
+    if (!dataSourceMetadata.isSingleValue() || !dataSourceMetadata.hasDictionary()
+        || dataSourceMetadata.getDataType() == FieldSpec.DataType.BYTES) {
+      return null;
+    }
+    Dictionary dictionary = dataSource.getDictionary();
+    if (dictionary == null || dictionary.length() > DocIdSetPlanNode.MAX_DOC_PER_CALL) {
+      return null;
+    }
+    return new DictionaryBasedTransformFunction(transformFunction, column, dictionary);
+  }
+
+  private static boolean isSupported(TransformExpressionTree expression) {
+    if (expression.getExpressionType() != TransformExpressionTree.ExpressionType.FUNCTION) {
+      return true;
+    }
+    if (!SUPPORTED_FUNCTIONS.contains(expression.getValue().toLowerCase())) {
+      return false;
+    }
+    for (TransformExpressionTree child : expression.getChildren()) {
+      if (!isSupported(child)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String getName() {
+    return FUNCTION_NAME;
+  }
+
+  @Override
+  public void init(@Nonnull List<TransformFunction> arguments, @Nonnull Map<String, DataSource> dataSourceMap) {
+    // Fully initialized by the create method
+  }
+
+  @Override
+  public TransformResultMetadata getResultMetadata() {
+    return _resultMetadata;
+  }
+
+  @Override
+  public Dictionary getDictionary() {
+    evaluateOnDictionary();
+    return _resultDictionary;
+  }
+
+  @Override
+  public int[] transformToDictIdsSV(@Nonnull ProjectionBlock projectionBlock) {
+    evaluateOnDictionary();
+    if (_dictIds == null) {
+      _dictIds = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    int length = projectionBlock.getNumDocs();
+    int[] inputDictIds = projectionBlock.getBlockValueSet(_column).getDictionaryIdsSV();
+    for (int i = 0; i < length; i++) {
+      _dictIds[i] = _mappedDictIds[inputDictIds[i]];
+    }
+    return _dictIds;
+  }
+
+  @Override
+  public int[] transformToIntValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    evaluateOnDictionary();
+    if (_mappedIntValues == null) {
+      return super.transformToIntValuesSV(projectionBlock);
+    }
+    if (_intValues == null) {
+      _intValues = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    int length = projectionBlock.getNumDocs();
+    int[] inputDictIds = projectionBlock.getBlockValueSet(_column).getDictionaryIdsSV();
+    for (int i = 0; i < length; i++) {
+      _intValues[i] = _mappedIntValues[inputDictIds[i]];
+    }
+    return _intValues;
+  }
+
+  @Override
+  public long[] transformToLongValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    evaluateOnDictionary();
+    if (_mappedLongValues == null) {
+      return super.transformToLongValuesSV(projectionBlock);
+    }
+    if (_longValues == null) {
+      _longValues = new long[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    int length = projectionBlock.getNumDocs();
+    int[] inputDictIds = projectionBlock.getBlockValueSet(_column).getDictionaryIdsSV();
+    for (int i = 0; i < length; i++) {
+      _longValues[i] = _mappedLongValues[inputDictIds[i]];
+    }
+    return _longValues;
+  }
+
+  @Override
+  public float[] transformToFloatValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    evaluateOnDictionary();
+    if (_mappedFloatValues == null) {
+      return super.transformToFloatValuesSV(projectionBlock);
+    }
+    if (_floatValues == null) {
+      _floatValues = new float[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    int length = projectionBlock.getNumDocs();
+    int[] inputDictIds = projectionBlock.getBlockValueSet(_column).getDictionaryIdsSV();
+    for (int i = 0; i < length; i++) {
+      _floatValues[i] = _mappedFloatValues[inputDictIds[i]];
+    }
+    return _floatValues;
+  }
+
+  @Override
+  public double[] transformToDoubleValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    evaluateOnDictionary();
+    if (_mappedDoubleValues == null) {
+      return super.transformToDoubleValuesSV(projectionBlock);
+    }
+    if (_doubleValues == null) {
+      _doubleValues = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    int length = projectionBlock.getNumDocs();
+    int[] inputDictIds = projectionBlock.getBlockValueSet(_column).getDictionaryIdsSV();
+    for (int i = 0; i < length; i++) {
+      _doubleValues[i] = _mappedDoubleValues[inputDictIds[i]];
+    }
+    return _doubleValues;
+  }
+
+  @Override
+  public String[] transformToStringValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    evaluateOnDictionary();
+    if (_mappedStringValues == null) {
+      return super.transformToStringValuesSV(projectionBlock);
+    }
+    if (_stringValues == null) {
+      _stringValues = new String[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    int length = projectionBlock.getNumDocs();
+    int[] inputDictIds = projectionBlock.getBlockValueSet(_column).getDictionaryIdsSV();
+    for (int i = 0; i < length; i++) {
+      _stringValues[i] = _mappedStringValues[inputDictIds[i]];
+    }
+    return _stringValues;
+  }
+
+  /**
+   * Evaluates the transform function on all the dictionary entries of the input column, and builds the result
+   * dictionary. No-op if already evaluated.
+   */
+  private void evaluateOnDictionary() {
+    if (_mappedDictIds != null) {
+      return;
+    }
+
+    FieldSpec.DataType resultDataType = _resultMetadata.getDataType();
+    int cardinality = _dictionary.length();
+    Comparable[] mappedValues = new Comparable[cardinality];
+    switch (resultDataType) {
+      case INT:
+        _mappedIntValues = new int[cardinality];
+        break;
+      case LONG:
+        _mappedLongValues = new long[cardinality];
+        break;
+      case FLOAT:
+        _mappedFloatValues = new float[cardinality];
+        break;
+      case DOUBLE:
+        _mappedDoubleValues = new double[cardinality];
+        break;
+      case STRING:
+        _mappedStringValues = new String[cardinality];
+        break;
+      default:
+        throw new IllegalStateException();
+    }
+
+    // Evaluate the transform function on the dictionary entries in chunks of at most one block
+    DictionaryProjectionBlock dictionaryProjectionBlock = new DictionaryProjectionBlock(_column, _dictionary);
+    for (int startDictId = 0; startDictId < cardinality; startDictId += DocIdSetPlanNode.MAX_DOC_PER_CALL) {
+      int length = Math.min(cardinality - startDictId, DocIdSetPlanNode.MAX_DOC_PER_CALL);
+      dictionaryProjectionBlock.setDictIdRange(startDictId, length);
+      switch (resultDataType) {
+        case INT:
+          int[] intValues = _transformFunction.transformToIntValuesSV(dictionaryProjectionBlock);
+          for (int i = 0; i < length; i++) {
+            _mappedIntValues[startDictId + i] = intValues[i];
+            mappedValues[startDictId + i] = intValues[i];
+          }
+          break;
+        case LONG:
+          long[] longValues = _transformFunction.transformToLongValuesSV(dictionaryProjectionBlock);
+          for (int i = 0; i < length; i++) {
+            _mappedLongValues[startDictId + i] = longValues[i];
+            mappedValues[startDictId + i] = longValues[i];
+          }
+          break;
+        case FLOAT:
+          float[] floatValues = _transformFunction.transformToFloatValuesSV(dictionaryProjectionBlock);
+          for (int i = 0; i < length; i++) {
+            _mappedFloatValues[startDictId + i] = floatValues[i];
+            mappedValues[startDictId + i] = floatValues[i];
+          }
+          break;
+        case DOUBLE:
+          double[] doubleValues = _transformFunction.transformToDoubleValuesSV(dictionaryProjectionBlock);
+          for (int i = 0; i < length; i++) {
+            _mappedDoubleValues[startDictId + i] = doubleValues[i];
+            mappedValues[startDictId + i] = doubleValues[i];
+          }
+          break;
+        case STRING:
+          String[] stringValues = _transformFunction.transformToStringValuesSV(dictionaryProjectionBlock);
+          for (int i = 0; i < length; i++) {
+            _mappedStringValues[startDictId + i] = stringValues[i];
+            mappedValues[startDictId + i] = stringValues[i];
+          }
+          break;
+        default:
+          throw new IllegalStateException();
+      }
+    }
+
+    // Build the dictionary over the sorted distinct results
+    Comparable[] sortedValues = mappedValues.clone();
+    Arrays.sort(sortedValues);
+    int numUniqueValues = 0;
+    for (Comparable value : sortedValues) {
+      if (numUniqueValues == 0 || sortedValues[numUniqueValues - 1].compareTo(value) != 0) {
+        sortedValues[numUniqueValues++] = value;
+      }
+    }
+    Comparable[] uniqueValues = Arrays.copyOf(sortedValues, numUniqueValues);
+    int[] mappedDictIds = new int[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      mappedDictIds[i] = Arrays.binarySearch(uniqueValues, mappedValues[i]);
+    }
+    _resultDictionary = new ResultDictionary(resultDataType, uniqueValues);
+    _mappedDictIds = mappedDictIds;
+  }
+
+  /**
+   * Projection block over a range of dictionary ids of a column, where each dictionary id is treated as a doc.
+   */
+  private static class DictionaryProjectionBlock extends ProjectionBlock {
+    final String _column;
+    final Dictionary _dictionary;
+    final int[] _dictIds = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    int _numDocs;
+
+    DictionaryProjectionBlock(String column, Dictionary dictionary) {
+      super(null, null, null);
+      _column = column;
+      _dictionary = dictionary;
+    }
+
+    void setDictIdRange(int startDictId, int length) {
+      for (int i = 0; i < length; i++) {
+        _dictIds[i] = startDictId + i;
+      }
+      _numDocs = length;
+    }
+
+    @Override
+    public BlockValSet getBlockValueSet(String column) {
+      if (!column.equals(_column)) {
+        throw new IllegalStateException("Column: " + column + " is not the input column: " + _column);
+      }
+      return new DictionaryBlockValSet(this);
+    }
+
+    @Override
+    public int getNumDocs() {
+      return _numDocs;
+    }
+  }
+
+  private static class DictionaryBlockValSet extends BaseBlockValSet {
+    final DictionaryProjectionBlock _projectionBlock;
+
+    DictionaryBlockValSet(DictionaryProjectionBlock projectionBlock) {
+      _projectionBlock = projectionBlock;
+    }
+
+    @Override
+    public int[] getDictionaryIdsSV() {
+      return _projectionBlock._dictIds;
+    }
+
+    @Override
+    public int[] getIntValuesSV() {
+      int[] values = new int[_projectionBlock._numDocs];
+      _projectionBlock._dictionary.readIntValues(_projectionBlock._dictIds, values.length, values);
+      return values;
+    }
+
+    @Override
+    public long[] getLongValuesSV() {
+      long[] values = new long[_projectionBlock._numDocs];
+      _projectionBlock._dictionary.readLongValues(_projectionBlock._dictIds, values.length, values);
+      return values;
+    }
+
+    @Override
+    public float[] getFloatValuesSV() {
+      float[] values = new float[_projectionBlock._numDocs];
+      _projectionBlock._dictionary.readFloatValues(_projectionBlock._dictIds, values.length, values);
+      return values;
+    }
+
+    @Override
+    public double[] getDoubleValuesSV() {
+      double[] values = new double[_projectionBlock._numDocs];
+      _projectionBlock._dictionary.readDoubleValues(_projectionBlock._dictIds, values.length, values);
+      return values;
+    }
+
+    @Override
+    public String[] getStringValuesSV() {
+      String[] values = new String[_projectionBlock._numDocs];
+      _projectionBlock._dictionary.readStringValues(_projectionBlock._dictIds, values.length, values);
+      return values;
+    }
+  }
+
+  /**
+   * In-memory dictionary over the sorted distinct transform results.
+   */
+  private static class ResultDictionary extends BaseDictionary {
+    final FieldSpec.DataType _dataType;
+    final Comparable[] _values;
+
+    ResultDictionary(FieldSpec.DataType dataType, Comparable[] values) {
+      _dataType = dataType;
+      _values = values;
+    }
+
+    @Override
+    public boolean isSorted() {
+      return true;
+    }
+
+    @Override
+    public int length() {
+      return _values.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int indexOf(String stringValue) {
+      Comparable value;
+      switch (_dataType) {
+        case INT:
+          value = Integer.parseInt(stringValue);
+          break;
+        case LONG:
+          value = Long.parseLong(stringValue);
+          break;
+        case FLOAT:
+          value = Float.parseFloat(stringValue);
+          break;
+        case DOUBLE:
+          value = Double.parseDouble(stringValue);
+          break;
+        default:
+          value = stringValue;
+          break;
+      }
+      int index = Arrays.binarySearch(_values, value);
+      return index >= 0 ? index : NULL_VALUE_INDEX;
+    }
+
+    @Override
+    public Object get(int dictId) {
+      return _values[dictId];
+    }
+
+    @Override
+    public int getIntValue(int dictId) {
+      Comparable value = _values[dictId];
+      return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt((String) value);
+    }
+
+    @Override
+    public long getLongValue(int dictId) {
+      Comparable value = _values[dictId];
+      return value instanceof Number ? ((Number) value).longValue() : Long.parseLong((String) value);
+    }
+
+    @Override
+    public float getFloatValue(int dictId) {
+      Comparable value = _values[dictId];
+      return value instanceof Number ? ((Number) value).floatValue() : Float.parseFloat((String) value);
+    }
+
+    @Override
+    public double getDoubleValue(int dictId) {
+      Comparable value = _values[dictId];
+      return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble((String) value);
+    }
+
+    @Override
+    public String getStringValue(int dictId) {
+      return _values[dictId].toString();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
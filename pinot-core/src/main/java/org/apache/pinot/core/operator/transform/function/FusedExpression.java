@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+/**
+ * Interface for the classes generated by {@link TransformExpressionCompiler}, which evaluate a fused transform
+ * expression tree in a single loop over the docs of a block.
+ */
+public interface FusedExpression {
+
+  /**
+   * Evaluates the expression for the first {@code length} docs.
+   *
+   * @param inputs Values of the input columns, where each element is an int[], long[], float[] or double[]
+   * @param literals Values of the literals
+   * @param length Number of docs to evaluate
+   * @param results Buffer for the results
+   */
+  void evaluate(Object[] inputs, double[] literals, int length, double[] results);
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.operator.blocks.ProjectionBlock;
+import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+
+
+/**
+ * Transform function that evaluates a whole transform expression tree with a {@link FusedExpression} generated by
+ * {@link TransformExpressionCompiler}, without materializing the intermediate results of the nested functions.
+ */
+public class FusedTransformFunction extends BaseTransformFunction {
+  public static final String FUNCTION_NAME = "fused";
+
+  private final FusedExpression _fusedExpression;
+  private final String[] _columns;
+  private final FieldSpec.DataType[] _columnDataTypes;
+  private final double[] _literals;
+  private final Object[] _inputs;
+  private double[] _results;
+
+  FusedTransformFunction(FusedExpression fusedExpression, String[] columns, FieldSpec.DataType[] columnDataTypes,
+      double[] literals) {
+    _fusedExpression = fusedExpression;
+    _columns = columns;
+    _columnDataTypes = columnDataTypes;
+    _literals = literals;
+    _inputs = new Object[columns.length];
+  }
+
+  @VisibleForTesting
+  FusedExpression getFusedExpression() {
+    return _fusedExpression;
+  }
+
+  @Override
+  public String getName() {
+    return FUNCTION_NAME;
+  }
+
+  @Override
+  public void init(@Nonnull List<TransformFunction> arguments, @Nonnull Map<String, DataSource> dataSourceMap) {
+    // Fully initialized by the TransformExpressionCompiler
+  }
+
+  @Override
+  public TransformResultMetadata getResultMetadata() {
+    return DOUBLE_SV_NO_DICTIONARY_METADATA;
+  }
+
+  @Override
+  public double[] transformToDoubleValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    if (_results == null) {
+      _results = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+
+    int numColumns = _columns.length;
+    for (int i = 0; i < numColumns; i++) {
+      BlockValSet blockValSet = projectionBlock.getBlockValueSet(_columns[i]);
+      switch (_columnDataTypes[i]) {
+        case INT:
+          _inputs[i] = blockValSet.getIntValuesSV();
+          break;
+        case LONG:
+          _inputs[i] = blockValSet.getLongValuesSV();
+          break;
+        case FLOAT:
+          _inputs[i] = blockValSet.getFloatValuesSV();
+          break;
+        case DOUBLE:
+          _inputs[i] = blockValSet.getDoubleValuesSV();
+          break;
+        default:
+          throw new IllegalStateException();
+      }
+    }
+    _fusedExpression.evaluate(_inputs, _literals, projectionBlock.getNumDocs(), _results);
+    return _results;
+  }
+}
@@ -0,0 +1,308 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.utils.JsonUtils;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.operator.blocks.ProjectionBlock;
+import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+
+
+/**
+ * json_extract(jsonColName, 'path', 'resultType'[, 'defaultValue'])
+ * <p>Extracts the value at the path from the JSON documents and converts it into the result type (one of INT, LONG,
+ * FLOAT, DOUBLE and STRING). The path starts with an optional {@code $}, followed by {@code .key} for the object fields
+ * and {@code [index]} for the array elements, e.g. {@code $.a.b[0]}. Objects and arrays are extracted as JSON strings.
+ * <p>When the document is not valid JSON, or the value is missing, null or cannot be converted into the result type,
+ * the default value is returned, which is the default dimension null value of the result type if not specified.
+ */
+public class JsonExtractTransformFunction extends BaseTransformFunction {
+  public static final String FUNCTION_NAME = "json_extract";
+
+  private TransformFunction _jsonFunction;
+  // Each element is either a String (object field) or an Integer (array index)
+  private List<Object> _path;
+  private TransformResultMetadata _resultMetadata;
+  private Object _defaultValue;
+  private int[] _intValues;
+  private long[] _longValues;
+  private float[] _floatValues;
+  private double[] _doubleValues;
+  private String[] _stringValues;
+
+  @Override
+  public String getName() {
+    return FUNCTION_NAME;
+  }
+
+  @Override
+  public void init(@Nonnull List<TransformFunction> arguments, @Nonnull Map<String, DataSource> dataSourceMap) {
+    int numArguments = arguments.size();
+    if (numArguments != 3 && numArguments != 4) {
+      throw new IllegalArgumentException("3 or 4 arguments are required for JSON_EXTRACT transform function "
+          + "json_extract(jsonColName, 'path', 'resultType'[, 'defaultValue'])");
+    }
+
+    TransformFunction firstArgument = arguments.get(0);
+    if (firstArgument instanceof LiteralTransformFunction || !firstArgument.getResultMetadata().isSingleValue()) {
+      throw new IllegalArgumentException(
+          "The first argument of JSON_EXTRACT transform function must be a single-valued column or a transform "
+              + "function");
+    }
+    _jsonFunction = firstArgument;
+    _path = parsePath(((LiteralTransformFunction) arguments.get(1)).getLiteral());
+
+    FieldSpec.DataType resultType =
+        FieldSpec.DataType.valueOf(((LiteralTransformFunction) arguments.get(2)).getLiteral().toUpperCase());
+    String defaultValue = numArguments == 4 ? ((LiteralTransformFunction) arguments.get(3)).getLiteral() : null;
+    switch (resultType) {
+      case INT:
+        _defaultValue =
+            defaultValue != null ? Integer.valueOf(defaultValue) : FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_INT;
+        break;
+      case LONG:
+        _defaultValue =
+            defaultValue != null ? Long.valueOf(defaultValue) : FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_LONG;
+        break;
+      case FLOAT:
+        _defaultValue =
+            defaultValue != null ? Float.valueOf(defaultValue) : FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_FLOAT;
+        break;
+      case DOUBLE:
+        _defaultValue =
+            defaultValue != null ? Double.valueOf(defaultValue) : FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_DOUBLE;
+        break;
+      case STRING:
+        _defaultValue = defaultValue != null ? defaultValue : FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_STRING;
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported result type for JSON_EXTRACT transform function: " + resultType);
+    }
+    _resultMetadata = new TransformResultMetadata(resultType, true, false);
+  }
+
+  @Override
+  public TransformResultMetadata getResultMetadata() {
+    return _resultMetadata;
+  }
+
+  @Override
+  public int[] transformToIntValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    if (_resultMetadata.getDataType() != FieldSpec.DataType.INT) {
+      return super.transformToIntValuesSV(projectionBlock);
+    }
+    if (_intValues == null) {
+      _intValues = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    String[] jsonValues = _jsonFunction.transformToStringValuesSV(projectionBlock);
+    int length = projectionBlock.getNumDocs();
+    for (int i = 0; i < length; i++) {
+      JsonNode value = extract(jsonValues[i]);
+      if (value != null && value.isNumber()) {
+        _intValues[i] = value.intValue();
+      } else if (value != null && value.isTextual()) {
+        try {
+          _intValues[i] = Integer.parseInt(value.textValue());
+        } catch (NumberFormatException e) {
+          _intValues[i] = (int) _defaultValue;
+        }
+      } else {
+        _intValues[i] = (int) _defaultValue;
+      }
+    }
+    return _intValues;
+  }
+
+  @Override
+  public long[] transformToLongValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    if (_resultMetadata.getDataType() != FieldSpec.DataType.LONG) {
+      return super.transformToLongValuesSV(projectionBlock);
+    }
+    if (_longValues == null) {
+      _longValues = new long[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    String[] jsonValues = _jsonFunction.transformToStringValuesSV(projectionBlock);
+    int length = projectionBlock.getNumDocs();
+    for (int i = 0; i < length; i++) {
+      JsonNode value = extract(jsonValues[i]);
+      if (value != null && value.isNumber()) {
+        _longValues[i] = value.longValue();
+      } else if (value != null && value.isTextual()) {
+        try {
+          _longValues[i] = Long.parseLong(value.textValue());
+        } catch (NumberFormatException e) {
+          _longValues[i] = (long) _defaultValue;
+        }
+      } else {
+        _longValues[i] = (long) _defaultValue;
+      }
+    }
+    return _longValues;
+  }
+
+  @Override
+  public float[] transformToFloatValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    if (_resultMetadata.getDataType() != FieldSpec.DataType.FLOAT) {
+      return super.transformToFloatValuesSV(projectionBlock);
+    }
+    if (_floatValues == null) {
+      _floatValues = new float[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    String[] jsonValues = _jsonFunction.transformToStringValuesSV(projectionBlock);
+    int length = projectionBlock.getNumDocs();
+    for (int i = 0; i < length; i++) {
+      JsonNode value = extract(jsonValues[i]);
+      if (value != null && value.isNumber()) {
+        _floatValues[i] = value.floatValue();
+      } else if (value != null && value.isTextual()) {
+        try {
+          _floatValues[i] = Float.parseFloat(value.textValue());
+        } catch (NumberFormatException e) {
+          _floatValues[i] = (float) _defaultValue;
+        }
+      } else {
+        _floatValues[i] = (float) _defaultValue;
+      }
+    }
+    return _floatValues;
+  }
+
+  @Override
+  public double[] transformToDoubleValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    if (_resultMetadata.getDataType() != FieldSpec.DataType.DOUBLE) {
+      return super.transformToDoubleValuesSV(projectionBlock);
+    }
+    if (_doubleValues == null) {
+      _doubleValues = new double[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    String[] jsonValues = _jsonFunction.transformToStringValuesSV(projectionBlock);
+    int length = projectionBlock.getNumDocs();
+    for (int i = 0; i < length; i++) {
+      JsonNode value = extract(jsonValues[i]);
+      if (value != null && value.isNumber()) {
+        _doubleValues[i] = value.doubleValue();
+      } else if (value != null && value.isTextual()) {
+        try {
+          _doubleValues[i] = Double.parseDouble(value.textValue());
+        } catch (NumberFormatException e) {
+          _doubleValues[i] = (double) _defaultValue;
+        }
+      } else {
+        _doubleValues[i] = (double) _defaultValue;
+      }
+    }
+    return _doubleValues;
+  }
+
+  @Override
+  public String[] transformToStringValuesSV(@Nonnull ProjectionBlock projectionBlock) {
+    if (_resultMetadata.getDataType() != FieldSpec.DataType.STRING) {
+      return super.transformToStringValuesSV(projectionBlock);
+    }
+    if (_stringValues == null) {
+      _stringValues = new String[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    }
+    String[] jsonValues = _jsonFunction.transformToStringValuesSV(projectionBlock);
+    int length = projectionBlock.getNumDocs();
+    for (int i = 0; i < length; i++) {
+      JsonNode value = extract(jsonValues[i]);
+      if (value == null) {
+        _stringValues[i] = (String) _defaultValue;
+      } else {
+        _stringValues[i] = value.isValueNode() ? value.asText() : value.toString();
+      }
+    }
+    return _stringValues;
+  }
+
+  /**
+   * Returns the non-null value at the path, or {@code null} if it does not exist.
+   */
+  @Nullable
+  private JsonNode extract(String json) {
+    JsonNode jsonNode;
+    try {
+      jsonNode = JsonUtils.stringToJsonNode(json);
+    } catch (IOException e) {
+      return null;
+    }
+    for (Object element : _path) {
+      if (jsonNode == null) {
+        return null;
+      }
+      if (element instanceof String) {
+        jsonNode = jsonNode.isObject() ? jsonNode.get((String) element) : null;
+      } else {
+        jsonNode = jsonNode.isArray() ? jsonNode.get((Integer) element) : null;
+      }
+    }
+    return jsonNode == null || jsonNode.isNull() ? null : jsonNode;
+  }
+
+  /**
+   * Parses the path into a list of object field names and array indexes.
+   */
+  static List<Object> parsePath(String path) {
+    List<Object> elements = new ArrayList<>();
+    int length = path.length();
+    int index = 0;
+    if (index < length && path.charAt(index) == '$') {
+      index++;
+    } else if (index < length && path.charAt(index) != '.' && path.charAt(index) != '[') {
+      // Allow omitting the leading '.' when the path does not start with '$'
+      path = '.' + path;
+      length++;
+    }
+    while (index < length) {
+      char c = path.charAt(index);
+      if (c == '.') {
+        int end = index + 1;
+        while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[') {
+          end++;
+        }
+        Preconditions.checkArgument(end > index + 1, "Empty field name in JSON path: %s", path);
+        elements.add(path.substring(index + 1, end));
+        index = end;
+      } else if (c == '[') {
+        int end = path.indexOf(']', index);
+        Preconditions.checkArgument(end > index + 1, "Invalid array index in JSON path: %s", path);
+        try {
+          elements.add(Integer.parseInt(path.substring(index + 1, end)));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid array index in JSON path: " + path, e);
+        }
+        index = end + 1;
+      } else {
+        throw new IllegalArgumentException("Invalid JSON path: " + path);
+      }
+    }
+    return elements;
+  }
+}
@@ -0,0 +1,341 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.common.DataSourceMetadata;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.AbsTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.CeilTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.ExpTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.FloorTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.LnTransformFunction;
+import org.apache.pinot.core.operator.transform.function.SingleParamMathTransformFunction.SqrtTransformFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code TransformExpressionCompiler} class compiles a transform expression tree into a {@link FusedExpression}
+ * class with a single loop over the docs of the block, so that the nested functions do not materialize and traverse
+ * an intermediate array at every level of the tree.
+ * <p>Supported nodes are the arithmetic functions (add, sub, mult, div), the single parameter math functions (abs,
+ * ceil, exp, floor, ln, sqrt), single-valued numeric columns, and literals as the arguments of the arithmetic
+ * functions. The generated code performs the same double operations in the same order as the transform functions, so
+ * the results are identical.
+ * <p>The generated classes are cached by the expression signature, which contains the shape of the tree and the data
+ * types of the columns but not the column names or literal values, so the same class is shared by all the segments
+ * and the queries with the same expression shape.
+ */
+public class TransformExpressionCompiler {
+  private TransformExpressionCompiler() {
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TransformExpressionCompiler.class);
+  private static final int MAX_NUM_CACHED_EXPRESSIONS = 1000;
+  private static final String CLASS_NAME_PREFIX = FusedExpression.class.getName() + "Impl";
+
+  private static final Cache<String, FusedExpression> FUSED_EXPRESSION_CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_NUM_CACHED_EXPRESSIONS).build();
+  private static final AtomicInteger CLASS_ID_GENERATOR = new AtomicInteger();
+  private static final ClassPool CLASS_POOL = new ClassPool(true);
+
+  static {
+    CLASS_POOL.appendClassPath(new LoaderClassPath(FusedExpression.class.getClassLoader()));
+  }
+
+  /**
+   * Compiles the given expression into a fused transform function, or returns {@code null} if the expression is not
+   * a function, or contains nodes not supported by the compiler (in which case the expression should be evaluated
+   * with the transform functions from {@link TransformFunctionFactory}).
+   *
+   * @param expression Transform expression
+   * @param dataSourceMap Map from column name to column data source
+   * @return Fused transform function, or {@code null} if the expression cannot be compiled
+   */
+  @Nullable
+  public static TransformFunction compile(@Nonnull TransformExpressionTree expression,
+      @Nonnull Map<String, DataSource> dataSourceMap) {
+    if (expression.getExpressionType() != TransformExpressionTree.ExpressionType.FUNCTION) {
+      return null;
+    }
+    CodeGenerator codeGenerator = new CodeGenerator(dataSourceMap);
+    String result = codeGenerator.generate(expression);
+    if (result == null) {
+      return null;
+    }
+    String methodSource = codeGenerator.generateMethod(result);
+
+    FusedExpression fusedExpression;
+    try {
+      fusedExpression = FUSED_EXPRESSION_CACHE.get(methodSource, () -> generateClass(methodSource));
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while compiling transform expression: {}, falling back to transform functions",
+          expression, e);
+      return null;
+    }
+
+    int numColumns = codeGenerator._columns.size();
+    double[] literals = new double[codeGenerator._literals.size()];
+    for (int i = 0; i < literals.length; i++) {
+      literals[i] = codeGenerator._literals.get(i);
+    }
+    return new FusedTransformFunction(fusedExpression, codeGenerator._columns.toArray(new String[numColumns]),
+        codeGenerator._columnDataTypes.toArray(new FieldSpec.DataType[numColumns]), literals);
+  }
+
+  /**
+   * Generates and loads the class for the given evaluate method, and returns an instance of the class. The generated
+   * class is stateless, so the instance can be shared.
+   */
+  private static FusedExpression generateClass(String methodSource)
+      throws Exception {
+    String className = CLASS_NAME_PREFIX + CLASS_ID_GENERATOR.getAndIncrement();
+    byte[] bytecode;
+    synchronized (CLASS_POOL) {
+      CtClass ctClass = CLASS_POOL.makeClass(className);
+      try {
+        ctClass.addInterface(CLASS_POOL.get(FusedExpression.class.getName()));
+        ctClass.addConstructor(CtNewConstructor.defaultConstructor(ctClass));
+        ctClass.addMethod(CtNewMethod.make(methodSource, ctClass));
+        bytecode = ctClass.toBytecode();
+      } finally {
+        ctClass.detach();
+      }
+    }
+    // Load each class with its own class loader so that it can be unloaded after being evicted from the cache
+    Class<?> fusedExpressionClass = new FusedExpressionClassLoader().define(className, bytecode);
+    LOGGER.debug("Generated fused expression class: {} for method: {}", className, methodSource);
+    return (FusedExpression) fusedExpressionClass.newInstance();
+  }
+
+  private static class FusedExpressionClassLoader extends ClassLoader {
+    FusedExpressionClassLoader() {
+      super(FusedExpression.class.getClassLoader());
+    }
+
+    Class<?> define(String className, byte[] bytecode) {
+      return defineClass(className, bytecode, 0, bytecode.length);
+    }
+  }
+
+  /**
+   * Generates the Java source of the evaluate method for an expression tree. The inputs are referenced as
+   * {@code c<index>[i]} and the literals as {@code l<index>}.
+   */
+  private static class CodeGenerator {
+    final Map<String, DataSource> _dataSourceMap;
+    final List<String> _columns = new ArrayList<>();
+    final List<FieldSpec.DataType> _columnDataTypes = new ArrayList<>();
+    final Map<String, Integer> _columnIndexMap = new HashMap<>();
+    final List<Double> _literals = new ArrayList<>();
+
+    CodeGenerator(Map<String, DataSource> dataSourceMap) {
+      _dataSourceMap = dataSourceMap;
+    }
+
+    /**
+     * Returns the Java expression that computes the value of the given node for doc {@code i}, or {@code null} if the
+     * node is not supported.
+     */
+    @Nullable
+    String generate(TransformExpressionTree expression) {
+      switch (expression.getExpressionType()) {
+        case FUNCTION:
+          return generateFunction(expression.getValue(), expression.getChildren());
+        case IDENTIFIER:
+          return generateColumn(expression.getValue());
+        default:
+          // Literals are only supported as the arguments of the arithmetic functions
+          return null;
+      }
+    }
+
+    @Nullable
+    private String generateFunction(String functionName, List<TransformExpressionTree> arguments) {
+      switch (functionName) {
+        case AdditionTransformFunction.FUNCTION_NAME:
+        case MultiplicationTransformFunction.FUNCTION_NAME: {
+          if (arguments.size() < 2) {
+            return null;
+          }
+          // Same as the transform functions, start with the combined literal value and apply the other arguments in
+          // order
+          boolean isAddition = functionName.equals(AdditionTransformFunction.FUNCTION_NAME);
+          double literalValue = isAddition ? 0.0 : 1.0;
+          List<String> operands = new ArrayList<>(arguments.size());
+          for (TransformExpressionTree argument : arguments) {
+            if (argument.getExpressionType() == TransformExpressionTree.ExpressionType.LITERAL) {
+              Double value = parseLiteral(argument.getValue());
+              if (value == null) {
+                return null;
+              }
+              literalValue = isAddition ? literalValue + value : literalValue * value;
+            } else {
+              String operand = generate(argument);
+              if (operand == null) {
+                return null;
+              }
+              operands.add(operand);
+            }
+          }
+          String operator = isAddition ? " + " : " * ";
+          String result = addLiteral(literalValue);
+          for (String operand : operands) {
+            result = "(" + result + operator + operand + ")";
+          }
+          return result;
+        }
+        case SubtractionTransformFunction.FUNCTION_NAME:
+        case DivisionTransformFunction.FUNCTION_NAME: {
+          if (arguments.size() != 2) {
+            return null;
+          }
+          String first = generateArithmeticArgument(arguments.get(0));
+          String second = generateArithmeticArgument(arguments.get(1));
+          if (first == null || second == null) {
+            return null;
+          }
+          String operator = functionName.equals(SubtractionTransformFunction.FUNCTION_NAME) ? " - " : " / ";
+          return "(" + first + operator + second + ")";
+        }
+        case AbsTransformFunction.FUNCTION_NAME:
+          return generateMathFunction("Math.abs", arguments);
+        case CeilTransformFunction.FUNCTION_NAME:
+          return generateMathFunction("Math.ceil", arguments);
+        case ExpTransformFunction.FUNCTION_NAME:
+          return generateMathFunction("Math.exp", arguments);
+        case FloorTransformFunction.FUNCTION_NAME:
+          return generateMathFunction("Math.floor", arguments);
+        case LnTransformFunction.FUNCTION_NAME:
+          return generateMathFunction("Math.log", arguments);
+        case SqrtTransformFunction.FUNCTION_NAME:
+          return generateMathFunction("Math.sqrt", arguments);
+        default:
+          return null;
+      }
+    }
+
+    @Nullable
+    private String generateArithmeticArgument(TransformExpressionTree argument) {
+      if (argument.getExpressionType() == TransformExpressionTree.ExpressionType.LITERAL) {
+        Double value = parseLiteral(argument.getValue());
+        return value != null ? addLiteral(value) : null;
+      } else {
+        return generate(argument);
+      }
+    }
+
+    @Nullable
+    private String generateMathFunction(String method, List<TransformExpressionTree> arguments) {
+      if (arguments.size() != 1) {
+        return null;
+      }
+      String argument = generate(arguments.get(0));
+      return argument != null ? method + "(" + argument + ")" : null;
+    }
+
+    @Nullable
+    private String generateColumn(String column) {
+      Integer index = _columnIndexMap.get(column);
+      if (index == null) {
+        DataSource dataSource = _dataSourceMap.get(column);
+        if (dataSource == null) {
+          return null;
+        }
+        DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
+        if (!dataSourceMetadata.isSingleValue()) {
+          return null;
+        }
+        FieldSpec.DataType dataType = dataSourceMetadata.getDataType();
+        switch (dataType) {
+          case INT:
+          case LONG:
+          case FLOAT:
+          case DOUBLE:
+            break;
+          default:
+            return null;
+        }
+        index = _columns.size();
+        _columns.add(column);
+        _columnDataTypes.add(dataType);
+        _columnIndexMap.put(column, index);
+      }
+      if (_columnDataTypes.get(index) == FieldSpec.DataType.DOUBLE) {
+        return "c" + index + "[i]";
+      } else {
+        return "((double) c" + index + "[i])";
+      }
+    }
+
+    private String addLiteral(double value) {
+      int index = _literals.size();
+      _literals.add(value);
+      return "l" + index;
+    }
+
+    @Nullable
+    private static Double parseLiteral(String literal) {
+      try {
+        return Double.parseDouble(literal);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    /**
+     * Returns the Java source of the evaluate method with the given expression for doc {@code i}.
+     */
+    String generateMethod(String result) {
+      StringBuilder stringBuilder = new StringBuilder(
+          "public void evaluate(Object[] inputs, double[] literals, int length, double[] results) {\n");
+      int numColumns = _columns.size();
+      for (int i = 0; i < numColumns; i++) {
+        String arrayType = _columnDataTypes.get(i).name().toLowerCase() + "[]";
+        stringBuilder.append("  ").append(arrayType).append(" c").append(i).append(" = (").append(arrayType)
+            .append(") inputs[").append(i).append("];\n");
+      }
+      int numLiterals = _literals.size();
+      for (int i = 0; i < numLiterals; i++) {
+        stringBuilder.append("  double l").append(i).append(" = literals[").append(i).append("];\n");
+      }
+      stringBuilder.append("  for (int i = 0; i < length; i++) {\n");
+      stringBuilder.append("    results[i] = ").append(result).append(";\n");
+      stringBuilder.append("  }\n");
+      stringBuilder.append("}");
+      return stringBuilder.toString();
+    }
+  }
+}
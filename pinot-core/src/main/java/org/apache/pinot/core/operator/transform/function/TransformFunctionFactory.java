@@ -61,6 +61,7 @@ public class TransformFunctionFactory {
           put(LnTransformFunction.FUNCTION_NAME.toLowerCase(), LnTransformFunction.class);
           put(SqrtTransformFunction.FUNCTION_NAME.toLowerCase(), SqrtTransformFunction.class);
           put(MapValueTransformFunction.FUNCTION_NAME.toLowerCase(), MapValueTransformFunction.class);
+          put(JsonExtractTransformFunction.FUNCTION_NAME.toLowerCase(), JsonExtractTransformFunction.class);
         }
       };
 
@@ -68,7 +68,10 @@ public class AggregationGroupByPlanNode implements PlanNode {
 
     List<StarTreeV2> starTrees = indexSegment.getStarTrees();
     if (starTrees != null) {
-      if (!StarTreeUtils.isStarTreeDisabled(brokerRequest)) {
+      // Star-tree cannot be used when the null values need to be skipped because the pre-aggregated records include
+      // the default null values
+      if (!StarTreeUtils.isStarTreeDisabled(brokerRequest) && !AggregationFunctionUtils
+          .hasNullValues(_functionContexts, indexSegment)) {
         Set<AggregationFunctionColumnPair> aggregationFunctionColumnPairs = new HashSet<>();
         for (AggregationInfo aggregationInfo : _aggregationInfos) {
           aggregationFunctionColumnPairs.add(AggregationFunctionUtils.getFunctionColumnPair(aggregationInfo));
@@ -92,6 +95,7 @@ public class AggregationGroupByPlanNode implements PlanNode {
       }
     }
 
+    AggregationFunctionUtils.setNullValueVectors(_functionContexts, indexSegment);
     _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest);
     _starTreeTransformPlanNode = null;
   }
@@ -59,7 +59,10 @@ public class AggregationPlanNode implements PlanNode {
 
     List<StarTreeV2> starTrees = indexSegment.getStarTrees();
     if (starTrees != null) {
-      if (!StarTreeUtils.isStarTreeDisabled(brokerRequest)) {
+      // Star-tree cannot be used when the null values need to be skipped because the pre-aggregated records include
+      // the default null values
+      if (!StarTreeUtils.isStarTreeDisabled(brokerRequest) && !AggregationFunctionUtils
+          .hasNullValues(_functionContexts, indexSegment)) {
         Set<AggregationFunctionColumnPair> aggregationFunctionColumnPairs = new HashSet<>();
         for (AggregationInfo aggregationInfo : _aggregationInfos) {
           aggregationFunctionColumnPairs.add(AggregationFunctionUtils.getFunctionColumnPair(aggregationInfo));
@@ -78,6 +81,7 @@ public class AggregationPlanNode implements PlanNode {
       }
     }
 
+    AggregationFunctionUtils.setNullValueVectors(_functionContexts, indexSegment);
     _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest);
     _starTreeTransformPlanNode = null;
   }
@@ -109,9 +109,18 @@ public class FilterPlanNode implements PlanNode {
       }
     } else {
       // Leaf filter operator
-      Predicate predicate = Predicate.newPredicate(filterQueryTree);
-
       TransformExpressionTree expression = filterQueryTree.getExpression();
+
+      // IS NULL and IS NOT NULL are answered from the null value vector, the result of a function is never null
+      if (filterType == FilterOperator.IS_NULL || filterType == FilterOperator.IS_NOT_NULL) {
+        DataSource dataSource =
+            expression.getExpressionType() == TransformExpressionTree.ExpressionType.FUNCTION ? null
+                : segment.getDataSource(filterQueryTree.getColumn());
+        boolean isNull = filterType == FilterOperator.IS_NULL;
+        return FilterOperatorUtils.getNullValueFilterOperator(dataSource, isNull, numDocs);
+      }
+
+      Predicate predicate = Predicate.newPredicate(filterQueryTree);
       if (expression.getExpressionType() == TransformExpressionTree.ExpressionType.FUNCTION) {
 
         return new ExpressionFilterOperator(segment, expression, predicate);
@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.plan;
 
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.common.request.Selection;
 import org.apache.pinot.core.common.Operator;
@@ -26,6 +27,7 @@ import org.apache.pinot.core.operator.query.EmptySelectionOperator;
 import org.apache.pinot.core.operator.query.SelectionOnlyOperator;
 import org.apache.pinot.core.operator.query.SelectionOrderByOperator;
 import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.query.selection.SelectionEarlyTerminationContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +40,26 @@ public class SelectionPlanNode implements PlanNode {
 
   private final IndexSegment _indexSegment;
   private final Selection _selection;
+  private final SelectionEarlyTerminationContext _earlyTerminationContext;
   private TransformPlanNode _transformPlanNode;
 
   public SelectionPlanNode(IndexSegment indexSegment, BrokerRequest brokerRequest) {
+    this(indexSegment, brokerRequest, null);
+  }
+
+  /**
+   * Constructor for the class.
+   *
+   * @param indexSegment Index segment
+   * @param brokerRequest Broker request
+   * @param earlyTerminationContext Context shared by the selection operators of all the segments queried, null if the
+   *                                segment is queried alone
+   */
+  public SelectionPlanNode(IndexSegment indexSegment, BrokerRequest brokerRequest,
+      @Nullable SelectionEarlyTerminationContext earlyTerminationContext) {
     _indexSegment = indexSegment;
     _selection = brokerRequest.getSelections();
+    _earlyTerminationContext = earlyTerminationContext;
     _transformPlanNode = new TransformPlanNode(_indexSegment, brokerRequest);
   }
 
@@ -51,9 +68,9 @@ public class SelectionPlanNode implements PlanNode {
     TransformOperator transformOperator = _transformPlanNode.run();
     if (_selection.getSize() > 0) {
       if (_selection.getSelectionSortSequence() == null) {
-        return new SelectionOnlyOperator(_indexSegment, _selection, transformOperator);
+        return new SelectionOnlyOperator(_indexSegment, _selection, transformOperator, _earlyTerminationContext);
       } else {
-        return new SelectionOrderByOperator(_indexSegment, _selection, transformOperator);
+        return new SelectionOrderByOperator(_indexSegment, _selection, transformOperator, _earlyTerminationContext);
       }
     } else {
       return new EmptySelectionOperator(_indexSegment, _selection, transformOperator);
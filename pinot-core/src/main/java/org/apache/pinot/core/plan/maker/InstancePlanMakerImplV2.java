@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.function.AggregationFunctionType;
 import org.apache.pinot.common.request.AggregationInfo;
 import org.apache.pinot.common.request.BrokerRequest;
@@ -41,6 +42,7 @@ import org.apache.pinot.core.plan.PlanNode;
 import org.apache.pinot.core.plan.SelectionPlanNode;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
 import org.apache.pinot.core.query.config.QueryExecutorConfig;
+import org.apache.pinot.core.query.selection.SelectionEarlyTerminationContext;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +97,11 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
 
   @Override
   public PlanNode makeInnerSegmentPlan(IndexSegment indexSegment, BrokerRequest brokerRequest) {
+    return makeInnerSegmentPlan(indexSegment, brokerRequest, null);
+  }
+
+  private PlanNode makeInnerSegmentPlan(IndexSegment indexSegment, BrokerRequest brokerRequest,
+      @Nullable SelectionEarlyTerminationContext selectionEarlyTerminationContext) {
     if (brokerRequest.isSetAggregationsInfo()) {
       if (brokerRequest.isSetGroupBy()) {
         return new AggregationGroupByPlanNode(indexSegment, brokerRequest, _maxInitialResultHolderCapacity,
@@ -110,7 +117,7 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
       }
     }
     if (brokerRequest.isSetSelections()) {
-      return new SelectionPlanNode(indexSegment, brokerRequest);
+      return new SelectionPlanNode(indexSegment, brokerRequest, selectionEarlyTerminationContext);
     }
     throw new UnsupportedOperationException("The query contains no aggregation or selection.");
   }
@@ -125,9 +132,16 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
     }
     BrokerRequestPreProcessor.preProcess(indexSegments, brokerRequest);
 
+    // Selection operators of the segments share the context to terminate early once enough rows are collected
+    SelectionEarlyTerminationContext selectionEarlyTerminationContext =
+        SelectionEarlyTerminationContext.create(brokerRequest);
+    if (selectionEarlyTerminationContext != null) {
+      selectionEarlyTerminationContext.sortSegments(indexSegments);
+    }
+
     List<PlanNode> planNodes = new ArrayList<>();
     for (IndexSegment indexSegment : indexSegments) {
-      planNodes.add(makeInnerSegmentPlan(indexSegment, brokerRequest));
+      planNodes.add(makeInnerSegmentPlan(indexSegment, brokerRequest, selectionEarlyTerminationContext));
     }
     CombinePlanNode combinePlanNode =
         new CombinePlanNode(planNodes, brokerRequest, executorService, timeOutMs, _numGroupsLimit);
@@ -202,7 +216,9 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
     if (functionType
         .isOfType(AggregationFunctionType.MIN, AggregationFunctionType.MAX, AggregationFunctionType.MINMAXRANGE)) {
       String expression = AggregationFunctionUtils.getColumn(aggregationInfo);
-      if (TransformExpressionTree.compileToExpressionTree(expression).isColumn()) {
+      // The dictionary contains the default null value, so it cannot be used when the column has null values
+      if (TransformExpressionTree.compileToExpressionTree(expression).isColumn() && !AggregationFunctionUtils
+          .hasNullValues(indexSegment, expression)) {
         Dictionary dictionary = indexSegment.getDataSource(expression).getDictionary();
         return dictionary != null && dictionary.isSorted();
       }
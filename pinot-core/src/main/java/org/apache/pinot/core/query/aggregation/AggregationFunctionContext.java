@@ -18,7 +18,9 @@
  */
 package org.apache.pinot.core.query.aggregation;
 
+import javax.annotation.Nullable;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
 
 
 /**
@@ -28,6 +30,8 @@ public class AggregationFunctionContext {
   private final AggregationFunction _aggregationFunction;
   private final String _column;
 
+  private NullValueVectorReader _nullValueVector;
+
   public AggregationFunctionContext(AggregationFunction aggregationFunction, String column) {
     _aggregationFunction = aggregationFunction;
     _column = column;
@@ -54,4 +58,17 @@ public class AggregationFunctionContext {
   public String getAggregationColumnName() {
     return _aggregationFunction.getColumnName(_column);
   }
+
+  /**
+   * Returns the null value vector of the aggregation column if the documents with null value should be skipped by
+   * this aggregation function, or {@code null} otherwise.
+   */
+  @Nullable
+  public NullValueVectorReader getNullValueVector() {
+    return _nullValueVector;
+  }
+
+  public void setNullValueVector(@Nullable NullValueVectorReader nullValueVector) {
+    _nullValueVector = nullValueVector;
+  }
 }
@@ -27,6 +27,7 @@ import org.apache.pinot.core.operator.blocks.TransformBlock;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
 import org.apache.pinot.core.query.aggregation.function.DistinctAggregationFunction;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
 import org.apache.pinot.pql.parsers.pql2.ast.FunctionCallAstNode;
 
 
@@ -35,11 +36,17 @@ public class DefaultAggregationExecutor implements AggregationExecutor {
   protected final AggregationFunction[] _functions;
   protected final AggregationResultHolder[] _resultHolders;
   protected final TransformExpressionTree[] _expressions;
+  // Null value vectors of the aggregation columns for the functions skipping null values
+  protected final NullValueVectorReader[] _nullValueVectors;
+
+  // Skips the documents with null value for the functions skipping null values, null if no function skips null values
+  protected final NullValueSkipper _nullValueSkipper;
 
   public DefaultAggregationExecutor(AggregationFunctionContext[] functionContexts) {
     _numFunctions = functionContexts.length;
     _functions = new AggregationFunction[_numFunctions];
     _resultHolders = new AggregationResultHolder[_numFunctions];
+    _nullValueVectors = new NullValueVectorReader[_numFunctions];
     if (AggregationFunctionUtils.isDistinct(functionContexts)) {
       // handle distinct (col1, col2..) function
       // unlike other aggregate functions, distinct can work on multiple columns
@@ -59,6 +66,7 @@ public class DefaultAggregationExecutor implements AggregationExecutor {
         AggregationFunction function = functionContexts[i].getAggregationFunction();
         _functions[i] = function;
         _resultHolders[i] = _functions[i].createAggregationResultHolder();
+        _nullValueVectors[i] = functionContexts[i].getNullValueVector();
         if (function.getType() != AggregationFunctionType.COUNT) {
           // count(*) does not have a column so handle rest of the aggregate
           // functions -- sum, min, max etc
@@ -66,10 +74,14 @@ public class DefaultAggregationExecutor implements AggregationExecutor {
         }
       }
     }
+    _nullValueSkipper = NullValueSkipper.create(_nullValueVectors);
   }
 
   @Override
   public void aggregate(TransformBlock transformBlock) {
+    if (_nullValueSkipper != null) {
+      _nullValueSkipper.processBlock(transformBlock);
+    }
     int length = transformBlock.getNumDocs();
     for (int i = 0; i < _numFunctions; i++) {
       AggregationFunction function = _functions[i];
@@ -91,7 +103,20 @@ public class DefaultAggregationExecutor implements AggregationExecutor {
         distinctFunction.aggregate(length, resultHolder, blockValSets);
       } else {
         // handle rest of the aggregate functions -- sum, min, max etc
-        function.aggregate(length, resultHolder, transformBlock.getBlockValueSet(_expressions[i]));
+        BlockValSet blockValSet = transformBlock.getBlockValueSet(_expressions[i]);
+        int nullBitmapId = _nullValueSkipper != null ? _nullValueSkipper.getNullBitmapId(i) : -1;
+        if (nullBitmapId < 0) {
+          function.aggregate(length, resultHolder, blockValSet);
+        } else {
+          // skip the documents with null value in the aggregation column
+          int numNonNullDocs = _nullValueSkipper.getNumNonNullDocs(nullBitmapId);
+          if (numNonNullDocs == length) {
+            function.aggregate(length, resultHolder, blockValSet);
+          } else if (numNonNullDocs > 0) {
+            function.aggregate(numNonNullDocs, resultHolder,
+                _nullValueSkipper.getNonNullBlockValSet(blockValSet, nullBitmapId));
+          }
+        }
       }
     }
   }
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.operator.blocks.TransformBlock;
+import org.apache.pinot.core.operator.docvalsets.NullValueSkippingBlockValSet;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * The <code>NullValueSkipper</code> class computes the positions of the documents without null value in each block for
+ * the aggregation functions skipping null values.
+ * <p>The positions are computed once per block for each aggregation column with null values, and shared by all the
+ * aggregation functions on the column. The null bitmaps are read from the null value vectors on the first block, so
+ * that the consuming segments do not snapshot their null value vectors for each block.
+ */
+public class NullValueSkipper {
+  private final NullValueVectorReader[] _nullValueVectors;
+  private final NullValueSkippingBlockValSet _nullValueSkippingBlockValSet = new NullValueSkippingBlockValSet();
+
+  // Id of the null bitmap for each function, -1 for the functions not skipping null values or without null value
+  private int[] _nullBitmapIds;
+  private ImmutableRoaringBitmap[] _nullBitmaps;
+  private int[][] _nonNullPositions;
+  private int[] _numNonNullDocs;
+
+  private NullValueSkipper(NullValueVectorReader[] nullValueVectors) {
+    _nullValueVectors = nullValueVectors;
+  }
+
+  /**
+   * Returns a null value skipper for the given null value vectors of the functions (null for the functions not skipping
+   * null values), or {@code null} if no function skips null values.
+   */
+  @Nullable
+  public static NullValueSkipper create(NullValueVectorReader[] nullValueVectors) {
+    for (NullValueVectorReader nullValueVector : nullValueVectors) {
+      if (nullValueVector != null) {
+        return new NullValueSkipper(nullValueVectors);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Computes the positions of the documents without null value in the given block. Should be called once for each
+   * block before reading the positions.
+   */
+  public void processBlock(TransformBlock transformBlock) {
+    if (_nullBitmapIds == null) {
+      initNullBitmaps();
+    }
+    int numNullBitmaps = _nullBitmaps.length;
+    if (numNullBitmaps == 0) {
+      return;
+    }
+    int[] docIds = transformBlock.getDocIdSetBlock().getDocIdSet();
+    int numDocs = transformBlock.getNumDocs();
+    for (int i = 0; i < numNullBitmaps; i++) {
+      _numNonNullDocs[i] = NullValueSkippingBlockValSet
+          .getNonNullPositions(docIds, numDocs, _nullBitmaps[i], _nonNullPositions[i]);
+    }
+  }
+
+  private void initNullBitmaps() {
+    int numFunctions = _nullValueVectors.length;
+    _nullBitmapIds = new int[numFunctions];
+    // Functions on the same column share the null value vector
+    Map<NullValueVectorReader, Integer> nullBitmapIdMap = new IdentityHashMap<>();
+    List<ImmutableRoaringBitmap> nullBitmaps = new ArrayList<>();
+    for (int i = 0; i < numFunctions; i++) {
+      NullValueVectorReader nullValueVector = _nullValueVectors[i];
+      if (nullValueVector == null) {
+        _nullBitmapIds[i] = -1;
+        continue;
+      }
+      Integer nullBitmapId = nullBitmapIdMap.get(nullValueVector);
+      if (nullBitmapId == null) {
+        ImmutableRoaringBitmap nullBitmap = nullValueVector.getNullBitmap();
+        if (nullBitmap.isEmpty()) {
+          nullBitmapId = -1;
+        } else {
+          nullBitmapId = nullBitmaps.size();
+          nullBitmaps.add(nullBitmap);
+        }
+        nullBitmapIdMap.put(nullValueVector, nullBitmapId);
+      }
+      _nullBitmapIds[i] = nullBitmapId;
+    }
+    int numNullBitmaps = nullBitmaps.size();
+    _nullBitmaps = nullBitmaps.toArray(new ImmutableRoaringBitmap[numNullBitmaps]);
+    _nonNullPositions = new int[numNullBitmaps][DocIdSetPlanNode.MAX_DOC_PER_CALL];
+    _numNonNullDocs = new int[numNullBitmaps];
+  }
+
+  /**
+   * Returns the number of null bitmaps, i.e. the number of distinct aggregation columns with null values.
+   * <p>Should be called after calling {@link #processBlock(TransformBlock)}.
+   */
+  public int getNumNullBitmaps() {
+    return _nullBitmaps.length;
+  }
+
+  /**
+   * Returns the id of the null bitmap for the given function, or -1 if the function does not skip null values or its
+   * aggregation column has no null value.
+   * <p>Should be called after calling {@link #processBlock(TransformBlock)}.
+   */
+  public int getNullBitmapId(int functionIndex) {
+    return _nullBitmapIds[functionIndex];
+  }
+
+  /**
+   * Returns the number of documents without null value in the current block for the given null bitmap.
+   */
+  public int getNumNonNullDocs(int nullBitmapId) {
+    return _numNonNullDocs[nullBitmapId];
+  }
+
+  /**
+   * Returns the positions of the documents without null value in the current block for the given null bitmap. The
+   * positions are only filled when some documents in the block have null value.
+   */
+  public int[] getNonNullPositions(int nullBitmapId) {
+    return _nonNullPositions[nullBitmapId];
+  }
+
+  /**
+   * Returns a block value set with only the values of the documents without null value in the current block for the
+   * given null bitmap. The returned block value set is reused across the calls.
+   */
+  public BlockValSet getNonNullBlockValSet(BlockValSet blockValSet, int nullBitmapId) {
+    return _nullValueSkippingBlockValSet
+        .wrap(blockValSet, _nonNullPositions[nullBitmapId], _numNonNullDocs[nullBitmapId]);
+  }
+}
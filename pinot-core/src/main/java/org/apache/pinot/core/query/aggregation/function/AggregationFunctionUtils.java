@@ -26,9 +26,12 @@ import javax.annotation.Nullable;
 import org.apache.pinot.common.function.AggregationFunctionType;
 import org.apache.pinot.common.request.AggregationInfo;
 import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.common.segment.SegmentMetadata;
+import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.plan.AggregationFunctionInitializer;
 import org.apache.pinot.core.query.aggregation.AggregationFunctionContext;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
 import org.apache.pinot.core.startree.v2.AggregationFunctionColumnPair;
 import org.apache.pinot.pql.parsers.pql2.ast.FunctionCallAstNode;
 
@@ -108,6 +111,47 @@ public class AggregationFunctionUtils {
     return aggregationFunctions;
   }
 
+  /**
+   * Returns {@code true} if the null value vector of the given column records any document with null value.
+   */
+  public static boolean hasNullValues(IndexSegment indexSegment, String column) {
+    NullValueVectorReader nullValueVector = indexSegment.getDataSource(column).getNullValueVector();
+    return nullValueVector != null && !nullValueVector.getNullBitmap().isEmpty();
+  }
+
+  /**
+   * Returns {@code true} if any aggregation function skipping null values aggregates on a column with null values in
+   * the segment, in which case the pre-aggregated star-tree records (including the default null values) cannot be used.
+   */
+  public static boolean hasNullValues(AggregationFunctionContext[] functionContexts, IndexSegment indexSegment) {
+    for (AggregationFunctionContext functionContext : functionContexts) {
+      if (isNullValueSkipping(functionContext) && hasNullValues(indexSegment, functionContext.getColumn())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sets the null value vectors of the aggregation columns into the function contexts, so that each aggregation
+   * function skips the documents with null value in its own column regardless of the other aggregation functions.
+   * <p>COUNT(*), DISTINCT and the aggregations on transform expressions do not skip null values.
+   */
+  public static void setNullValueVectors(AggregationFunctionContext[] functionContexts, IndexSegment indexSegment) {
+    for (AggregationFunctionContext functionContext : functionContexts) {
+      if (isNullValueSkipping(functionContext)) {
+        functionContext
+            .setNullValueVector(indexSegment.getDataSource(functionContext.getColumn()).getNullValueVector());
+      }
+    }
+  }
+
+  private static boolean isNullValueSkipping(AggregationFunctionContext functionContext) {
+    AggregationFunctionType functionType = functionContext.getAggregationFunction().getType();
+    return functionType != AggregationFunctionType.COUNT && functionType != AggregationFunctionType.DISTINCT
+        && TransformExpressionTree.compileToExpressionTree(functionContext.getColumn()).isColumn();
+  }
+
   public static boolean[] getAggregationFunctionsSelectStatus(List<AggregationInfo> aggregationInfos) {
     int numAggregationFunctions = aggregationInfos.size();
     boolean[] aggregationFunctionsStatus = new boolean[numAggregationFunctions];
@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.query.aggregation.groupby;
 
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.apache.pinot.common.function.AggregationFunctionType;
@@ -29,7 +30,9 @@ import org.apache.pinot.core.operator.transform.TransformOperator;
 import org.apache.pinot.core.operator.transform.TransformResultMetadata;
 import org.apache.pinot.core.plan.DocIdSetPlanNode;
 import org.apache.pinot.core.query.aggregation.AggregationFunctionContext;
+import org.apache.pinot.core.query.aggregation.NullValueSkipper;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
 
 
 /**
@@ -57,6 +60,16 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
   protected final boolean _hasNoDictionaryGroupByExpression;
   protected final int[] _svGroupKeys;
   protected final int[][] _mvGroupKeys;
+  // Null value vectors of the aggregation columns for the functions skipping null values
+  protected final NullValueVectorReader[] _nullValueVectors;
+
+  // Skips the documents with null value for the functions skipping null values, null if no function skips null values
+  protected final NullValueSkipper _nullValueSkipper;
+
+  // Group keys of the documents without null value for each null bitmap, computed once per block when first needed
+  private int[][] _nonNullSVGroupKeys;
+  private int[][][] _nonNullMVGroupKeys;
+  private boolean[] _nonNullGroupKeysComputed;
 
   /**
    * Constructor for the class.
@@ -73,9 +86,11 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
     _numFunctions = functionContexts.length;
     _functions = new AggregationFunction[_numFunctions];
     _aggregationExpressions = new TransformExpressionTree[_numFunctions];
+    _nullValueVectors = new NullValueVectorReader[_numFunctions];
     for (int i = 0; i < _numFunctions; i++) {
       AggregationFunction function = functionContexts[i].getAggregationFunction();
       _functions[i] = function;
+      _nullValueVectors[i] = functionContexts[i].getNullValueVector();
       if (function.getType() != AggregationFunctionType.COUNT) {
         _aggregationExpressions[i] = TransformExpressionTree.compileToExpressionTree(functionContexts[i].getColumn());
       }
@@ -126,10 +141,16 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
       _svGroupKeys = THREAD_LOCAL_SV_GROUP_KEYS.get();
       _mvGroupKeys = null;
     }
+
+    _nullValueSkipper = NullValueSkipper.create(_nullValueVectors);
   }
 
   @Override
   public void process(@Nonnull TransformBlock transformBlock) {
+    if (_nullValueSkipper != null) {
+      processNullValues(transformBlock);
+    }
+
     // Generate group keys
     // NOTE: groupKeyGenerator will limit the number of groups. Once reaching limit, no new group will be generated
     if (_hasMVGroupByExpression) {
@@ -159,6 +180,28 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
       }
     } else {
       BlockValSet blockValueSet = transformBlock.getBlockValueSet(_aggregationExpressions[functionIndex]);
+      int nullBitmapId = _nullValueSkipper != null ? _nullValueSkipper.getNullBitmapId(functionIndex) : -1;
+      if (nullBitmapId >= 0) {
+        // skip the documents with null value in the aggregation column
+        int numNonNullDocs = _nullValueSkipper.getNumNonNullDocs(nullBitmapId);
+        if (numNonNullDocs == 0) {
+          return;
+        }
+        if (numNonNullDocs < length) {
+          blockValueSet = _nullValueSkipper.getNonNullBlockValSet(blockValueSet, nullBitmapId);
+          if (!_nonNullGroupKeysComputed[nullBitmapId]) {
+            computeNonNullGroupKeys(nullBitmapId, numNonNullDocs);
+          }
+          if (_hasMVGroupByExpression) {
+            function.aggregateGroupByMV(numNonNullDocs, _nonNullMVGroupKeys[nullBitmapId], resultHolder,
+                blockValueSet);
+          } else {
+            function.aggregateGroupBySV(numNonNullDocs, _nonNullSVGroupKeys[nullBitmapId], resultHolder,
+                blockValueSet);
+          }
+          return;
+        }
+      }
       if (_hasMVGroupByExpression) {
         function.aggregateGroupByMV(length, _mvGroupKeys, resultHolder, blockValueSet);
       } else {
@@ -167,6 +210,37 @@ public class DefaultGroupByExecutor implements GroupByExecutor {
     }
   }
 
+  private void processNullValues(TransformBlock transformBlock) {
+    _nullValueSkipper.processBlock(transformBlock);
+    if (_nonNullGroupKeysComputed == null) {
+      int numNullBitmaps = _nullValueSkipper.getNumNullBitmaps();
+      _nonNullGroupKeysComputed = new boolean[numNullBitmaps];
+      if (_hasMVGroupByExpression) {
+        _nonNullMVGroupKeys = new int[numNullBitmaps][DocIdSetPlanNode.MAX_DOC_PER_CALL][];
+      } else {
+        _nonNullSVGroupKeys = new int[numNullBitmaps][DocIdSetPlanNode.MAX_DOC_PER_CALL];
+      }
+    } else {
+      Arrays.fill(_nonNullGroupKeysComputed, false);
+    }
+  }
+
+  private void computeNonNullGroupKeys(int nullBitmapId, int numNonNullDocs) {
+    int[] nonNullPositions = _nullValueSkipper.getNonNullPositions(nullBitmapId);
+    if (_hasMVGroupByExpression) {
+      int[][] nonNullMVGroupKeys = _nonNullMVGroupKeys[nullBitmapId];
+      for (int i = 0; i < numNonNullDocs; i++) {
+        nonNullMVGroupKeys[i] = _mvGroupKeys[nonNullPositions[i]];
+      }
+    } else {
+      int[] nonNullSVGroupKeys = _nonNullSVGroupKeys[nullBitmapId];
+      for (int i = 0; i < numNonNullDocs; i++) {
+        nonNullSVGroupKeys[i] = _svGroupKeys[nonNullPositions[i]];
+      }
+    }
+    _nonNullGroupKeysComputed[nullBitmapId] = true;
+  }
+
   @Override
   public AggregationGroupByResult getResult() {
     return new AggregationGroupByResult(_groupKeyGenerator, _functions, _resultHolders);
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.apache.pinot.common.request.FilterOperator;
+import org.apache.pinot.common.request.Selection;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.common.DataSourceMetadata;
+import org.apache.pinot.core.common.predicate.BaseInPredicate;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.query.request.ServerQueryRequest;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+
+
+/**
+ * The {@code QueryCostEstimator} class estimates the cost of a query on a segment before executing it, so that the
+ * query scheduler can decide the resources and priority of the query up front.
+ * <p>The cost is measured as the number of entries the query is expected to scan, which is the sum of the entries
+ * scanned in filter and the entries scanned post filter. It is estimated from the segment metadata (number of docs,
+ * column cardinality, sorted column and inverted index availability) and the shape of the query:
+ * <ul>
+ *   <li>Predicates on sorted columns or columns with inverted index, and TEXT_MATCH/JSON_MATCH/geospatial predicates
+ *   on columns with text/JSON/geo index do not scan entries, other predicates scan all the docs of the segment (AND
+ *   scans only the docs that match the index based children).</li>
+ *   <li>EQ and IN predicates are assumed to match {@code numValues / cardinality} of the docs; RANGE predicates are
+ *   assumed to match half of the docs; REGEXP_LIKE and expression predicates are assumed to match all the docs.</li>
+ *   <li>Each matching doc scans one entry per projected column (at least one for COUNT), and group-by doubles the post
+ *   filter cost for the group key generation. Selection without ORDER BY stops after the LIMIT.</li>
+ * </ul>
+ */
+public class QueryCostEstimator {
+  private static final double RANGE_PREDICATE_SELECTIVITY = 0.5;
+  private static final int GROUP_BY_COST_FACTOR = 2;
+
+  private QueryCostEstimator() {
+  }
+
+  /**
+   * Estimates the number of entries scanned by the query on the given segment.
+   */
+  public static long estimateCost(ServerQueryRequest queryRequest, IndexSegment indexSegment) {
+    int numDocs = indexSegment.getSegmentMetadata().getTotalRawDocs();
+    if (numDocs == 0) {
+      return 0;
+    }
+
+    // Filter
+    double numDocsMatched = numDocs;
+    double numEntriesScannedInFilter = 0;
+    FilterQueryTree filterQueryTree = queryRequest.getFilterQueryTree();
+    if (filterQueryTree != null) {
+      FilterCost filterCost = estimateFilterCost(filterQueryTree, indexSegment, numDocs);
+      numDocsMatched = filterCost._numDocsMatched;
+      numEntriesScannedInFilter = filterCost._numEntriesScanned;
+    }
+
+    // Post filter
+    Selection selection = queryRequest.getBrokerRequest().getSelections();
+    if (selection != null && !selection.isSetSelectionSortSequence()) {
+      numDocsMatched = Math.min(numDocsMatched, selection.getOffset() + selection.getSize());
+    }
+    int numProjectedColumns =
+        getNumColumns(queryRequest.getAggregationColumns()) + getNumColumns(queryRequest.getGroupByColumns())
+            + getNumColumns(queryRequest.getSelectionColumns());
+    double numEntriesScannedPostFilter = numDocsMatched * Math.max(1, numProjectedColumns);
+    if (queryRequest.getGroupByExpressions() != null) {
+      numEntriesScannedPostFilter *= GROUP_BY_COST_FACTOR;
+    }
+
+    return (long) (numEntriesScannedInFilter + numEntriesScannedPostFilter);
+  }
+
+  private static int getNumColumns(Collection<String> columns) {
+    return columns != null ? columns.size() : 0;
+  }
+
+  private static FilterCost estimateFilterCost(FilterQueryTree filterQueryTree, IndexSegment indexSegment,
+      int numDocs) {
+    List<FilterQueryTree> children = filterQueryTree.getChildren();
+    if (children != null && !children.isEmpty()) {
+      List<FilterCost> childFilterCosts = new ArrayList<>(children.size());
+      for (FilterQueryTree child : children) {
+        childFilterCosts.add(estimateFilterCost(child, indexSegment, numDocs));
+      }
+      switch (filterQueryTree.getOperator()) {
+        case AND:
+          // Index based children are evaluated first, and scan based children only scan the remaining candidates.
+          // Predicates are assumed to be independent of each other.
+          childFilterCosts.sort((o1, o2) -> Double.compare(o1._numEntriesScanned, o2._numEntriesScanned));
+          double numCandidateDocs = numDocs;
+          double numEntriesScanned = 0;
+          for (FilterCost childFilterCost : childFilterCosts) {
+            numEntriesScanned += Math.min(childFilterCost._numEntriesScanned, numCandidateDocs);
+            numCandidateDocs = numCandidateDocs * childFilterCost._numDocsMatched / numDocs;
+          }
+          return new FilterCost(numCandidateDocs, numEntriesScanned);
+        case OR:
+          double numDocsMatched = 0;
+          numEntriesScanned = 0;
+          for (FilterCost childFilterCost : childFilterCosts) {
+            numDocsMatched += childFilterCost._numDocsMatched;
+            numEntriesScanned += childFilterCost._numEntriesScanned;
+          }
+          return new FilterCost(Math.min(numDocsMatched, numDocs), numEntriesScanned);
+        default:
+          throw new IllegalStateException(
+              "Unsupported filter operator with children: " + filterQueryTree.getOperator());
+      }
+    }
+
+    // Leaf predicate
+    TransformExpressionTree expression = filterQueryTree.getExpression();
+    if (expression != null && expression.getExpressionType() == TransformExpressionTree.ExpressionType.FUNCTION) {
+      return new FilterCost(numDocs, numDocs);
+    }
+    String column = filterQueryTree.getColumn();
+    if (!indexSegment.getColumnNames().contains(column)) {
+      return new FilterCost(0, 0);
+    }
+    DataSource dataSource = indexSegment.getDataSource(column);
+    if (filterQueryTree.getOperator() == FilterOperator.IS_NULL
+        || filterQueryTree.getOperator() == FilterOperator.IS_NOT_NULL) {
+      // Answered from the null value vector, where the number of matching documents is exact
+      NullValueVectorReader nullValueVector = dataSource.getNullValueVector();
+      int numNullDocs = nullValueVector != null ? nullValueVector.getNullBitmap().getCardinality() : 0;
+      return new FilterCost(
+          filterQueryTree.getOperator() == FilterOperator.IS_NULL ? numNullDocs : numDocs - numNullDocs, 0);
+    }
+    DataSourceMetadata dataSourceMetadata = dataSource.getDataSourceMetadata();
+    int cardinality = dataSourceMetadata.getCardinality();
+    if (!dataSourceMetadata.hasDictionary() || cardinality <= 0) {
+      cardinality = numDocs;
+    }
+    double numDocsMatched;
+    switch (filterQueryTree.getOperator()) {
+      case EQUALITY:
+        numDocsMatched = (double) numDocs / cardinality;
+        break;
+      case NOT:
+        numDocsMatched = numDocs - (double) numDocs / cardinality;
+        break;
+      case IN:
+        numDocsMatched = Math.min(numDocs, (double) numDocs * getNumInValues(filterQueryTree) / cardinality);
+        break;
+      case NOT_IN:
+        numDocsMatched = Math.max(0, numDocs - (double) numDocs * getNumInValues(filterQueryTree) / cardinality);
+        break;
+      case RANGE:
+        numDocsMatched = numDocs * RANGE_PREDICATE_SELECTIVITY;
+        break;
+      default:
+        numDocsMatched = numDocs;
+        break;
+    }
+    boolean indexBased;
+    if (filterQueryTree.getOperator() == FilterOperator.TEXT_MATCH) {
+      indexBased = dataSource.getTextIndex() != null;
+    } else if (filterQueryTree.getOperator() == FilterOperator.JSON_MATCH) {
+      indexBased = dataSource.getJsonIndex() != null;
+    } else if (filterQueryTree.getOperator() == FilterOperator.ST_WITHIN
+        || filterQueryTree.getOperator() == FilterOperator.ST_DISTANCE) {
+      // Only the documents in the boundary cells of the geo index are scanned, which is ignored in the estimation
+      indexBased = dataSource.getGeoIndex() != null;
+    } else {
+      indexBased = dataSourceMetadata.isSorted() || dataSourceMetadata.hasInvertedIndex();
+    }
+    return new FilterCost(numDocsMatched, indexBased ? 0 : numDocs);
+  }
+
+  private static int getNumInValues(FilterQueryTree filterQueryTree) {
+    List<String> values = filterQueryTree.getValue();
+    return values.size() > 1 ? values.size() : values.get(0).split(BaseInPredicate.DELIMITER).length;
+  }
+
+  private static class FilterCost {
+    final double _numDocsMatched;
+    final double _numEntriesScanned;
+
+    FilterCost(double numDocsMatched, double numEntriesScanned) {
+      _numDocsMatched = numDocsMatched;
+      _numEntriesScanned = numEntriesScanned;
+    }
+  }
+}
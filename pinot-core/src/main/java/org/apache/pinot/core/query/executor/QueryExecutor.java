@@ -55,6 +55,12 @@ public interface QueryExecutor {
    */
   DataTable processQuery(ServerQueryRequest queryRequest, ExecutorService executorService);
 
+  /**
+   * Estimates the cost of the query (number of entries to scan) before processing it.
+   * <p>Segments that are not hosted or can be pruned do not contribute to the cost.
+   */
+  long estimateQueryCost(ServerQueryRequest queryRequest);
+
   /**
    * Sets the timeout for the given table, instead of using the global timeout.
    */
@@ -48,6 +48,7 @@ import org.apache.pinot.core.plan.maker.PlanMaker;
 import org.apache.pinot.core.query.config.QueryExecutorConfig;
 import org.apache.pinot.core.query.exception.BadQueryRequestException;
 import org.apache.pinot.core.query.pruner.SegmentPrunerService;
+import org.apache.pinot.core.query.pruner.SegmentPruningIndex;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.request.context.TimerContext;
 import org.apache.pinot.core.util.trace.TraceContext;
@@ -126,8 +127,21 @@ public class ServerQueryExecutorV1Impl implements QueryExecutor {
 
     TableDataManager tableDataManager = _instanceDataManager.getTableDataManager(tableNameWithType);
     Preconditions.checkState(tableDataManager != null, "Failed to find data manager for table: " + tableNameWithType);
-    List<SegmentDataManager> segmentDataManagers = tableDataManager.acquireSegments(queryRequest.getSegmentsToQuery());
-    int numSegmentsQueried = segmentDataManagers.size();
+    // Prune the segments with the table level pruning index before acquiring them
+    List<String> segmentsToQuery = queryRequest.getSegmentsToQuery();
+    int numSegmentsPrunedByIndex = 0;
+    long numTotalRawDocsPrunedByIndex = 0;
+    SegmentPruningIndex segmentPruningIndex = tableDataManager.getSegmentPruningIndex();
+    if (segmentPruningIndex != null) {
+      SegmentPruningIndex.Result pruningResult = _segmentPrunerService.prune(segmentPruningIndex, queryRequest);
+      if (pruningResult != null) {
+        segmentsToQuery = pruningResult.getSegmentsToQuery();
+        numSegmentsPrunedByIndex = pruningResult.getNumSegmentsPruned();
+        numTotalRawDocsPrunedByIndex = pruningResult.getNumTotalRawDocsPruned();
+      }
+    }
+    List<SegmentDataManager> segmentDataManagers = tableDataManager.acquireSegments(segmentsToQuery);
+    int numSegmentsQueried = segmentDataManagers.size() + numSegmentsPrunedByIndex;
     boolean enableTrace = queryRequest.isEnableTrace();
     if (enableTrace) {
       TraceContext.register(requestId);
@@ -164,7 +178,8 @@ public class ServerQueryExecutorV1Impl implements QueryExecutor {
     DataTable dataTable = null;
     try {
       TimerContext.Timer segmentPruneTimer = timerContext.startNewPhaseTimer(ServerQueryPhase.SEGMENT_PRUNING);
-      long totalRawDocs = pruneSegments(tableDataManager, segmentDataManagers, queryRequest);
+      long totalRawDocs =
+          pruneSegments(tableDataManager, segmentDataManagers, queryRequest) + numTotalRawDocsPrunedByIndex;
       segmentPruneTimer.stopAndRecord();
       int numSegmentsMatchedAfterPruning = segmentDataManagers.size();
       LOGGER.debug("Matched {} segments after pruning", numSegmentsMatchedAfterPruning);
@@ -263,6 +278,39 @@ public class ServerQueryExecutorV1Impl implements QueryExecutor {
     return totalRawDocs;
   }
 
+  @Override
+  public long estimateQueryCost(ServerQueryRequest queryRequest) {
+    TableDataManager tableDataManager = _instanceDataManager.getTableDataManager(queryRequest.getTableNameWithType());
+    if (tableDataManager == null) {
+      return 0;
+    }
+    List<String> segmentsToQuery = queryRequest.getSegmentsToQuery();
+    SegmentPruningIndex segmentPruningIndex = tableDataManager.getSegmentPruningIndex();
+    if (segmentPruningIndex != null) {
+      SegmentPruningIndex.Result pruningResult = _segmentPrunerService.prune(segmentPruningIndex, queryRequest);
+      if (pruningResult != null) {
+        segmentsToQuery = pruningResult.getSegmentsToQuery();
+      }
+    }
+    long cost = 0;
+    for (String segmentName : segmentsToQuery) {
+      // Acquire the segments one by one, which does not count as querying the segment
+      SegmentDataManager segmentDataManager = tableDataManager.acquireSegment(segmentName);
+      if (segmentDataManager == null) {
+        continue;
+      }
+      try {
+        IndexSegment indexSegment = segmentDataManager.getSegment();
+        if (!_segmentPrunerService.prune(indexSegment, queryRequest)) {
+          cost += QueryCostEstimator.estimateCost(queryRequest, indexSegment);
+        }
+      } finally {
+        tableDataManager.releaseSegment(segmentDataManager);
+      }
+    }
+    return cost;
+  }
+
   @Override
   public void setTableTimeoutMs(String tableNameWithType, long timeOutMs) {
     _tableTimeoutMs.put(tableNameWithType, timeOutMs);
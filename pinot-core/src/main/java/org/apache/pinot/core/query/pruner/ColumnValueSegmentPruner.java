@@ -22,11 +22,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.commons.configuration.Configuration;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.request.FilterOperator;
 import org.apache.pinot.common.request.transform.TransformExpressionTree;
 import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.core.common.predicate.BaseInPredicate;
 import org.apache.pinot.core.common.predicate.RangePredicate;
 import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
@@ -101,8 +103,9 @@ public class ColumnValueSegmentPruner extends AbstractSegmentPruner {
       if(filterQueryTree.getExpression()!= null && !filterQueryTree.getExpression().isColumn()){
         return false;
       }
-      // Skip operator other than EQUALITY and RANGE
-      if ((filterOperator != FilterOperator.EQUALITY) && (filterOperator != FilterOperator.RANGE)) {
+      // Skip operator other than EQUALITY, IN and RANGE
+      if ((filterOperator != FilterOperator.EQUALITY) && (filterOperator != FilterOperator.IN) && (filterOperator
+          != FilterOperator.RANGE)) {
         return false;
       }
 
@@ -118,22 +121,19 @@ public class ColumnValueSegmentPruner extends AbstractSegmentPruner {
 
       if (filterOperator == FilterOperator.EQUALITY) {
         // EQUALITY
-        boolean pruneSegment = false;
         FieldSpec.DataType dataType = columnMetadata.getDataType();
         Comparable value = getValue(filterQueryTree.getValue().get(0), dataType);
-
-        // Check if the value is in the min/max range
-        if (minValue != null && maxValue != null) {
-          pruneSegment = (value.compareTo(minValue) < 0) || (value.compareTo(maxValue) > 0);
-        }
-
-        // If the bloom filter is available for the column, check if the value may exist
-        if (!pruneSegment && bloomFilterMap.containsKey(column)) {
-          BloomFilterReader bloomFilterReader = bloomFilterMap.get(column);
-          pruneSegment = !bloomFilterReader.mightContain(value);
+        return pruneValue(value, minValue, maxValue, bloomFilterMap.get(column));
+      } else if (filterOperator == FilterOperator.IN) {
+        // IN: prune the segment only if none of the values may exist
+        FieldSpec.DataType dataType = columnMetadata.getDataType();
+        BloomFilterReader bloomFilterReader = bloomFilterMap.get(column);
+        for (String valueString : getInValues(filterQueryTree.getValue())) {
+          if (!pruneValue(getValue(valueString, dataType), minValue, maxValue, bloomFilterReader)) {
+            return false;
+          }
         }
-
-        return pruneSegment;
+        return true;
       } else {
         // RANGE
 
@@ -200,4 +200,31 @@ public class ColumnValueSegmentPruner extends AbstractSegmentPruner {
       return pruneNonLeaf(filterQueryTree, columnMetadataMap, bloomFilterMap);
     }
   }
+
+  /**
+   * Helper method to determine if a value does not exist in the segment based on the column min/max value and the
+   * bloom filter (if available).
+   */
+  @SuppressWarnings("unchecked")
+  private static boolean pruneValue(Comparable value, Comparable minValue, Comparable maxValue,
+      @Nullable BloomFilterReader bloomFilterReader) {
+    // Check if the value is in the min/max range
+    if (minValue != null && maxValue != null) {
+      if ((value.compareTo(minValue) < 0) || (value.compareTo(maxValue) > 0)) {
+        return true;
+      }
+    }
+
+    // If the bloom filter is available for the column, check if the value may exist
+    return bloomFilterReader != null && !bloomFilterReader.mightContain(value);
+  }
+
+  /**
+   * Returns the values of the IN predicate. Same as {@link BaseInPredicate#getValues()}, a single value is split with
+   * the delimiter for backward compatibility.
+   */
+  private static String[] getInValues(List<String> values) {
+    return (values.size() > 1) ? values.toArray(new String[values.size()])
+        : values.get(0).split(BaseInPredicate.DELIMITER);
+  }
 }
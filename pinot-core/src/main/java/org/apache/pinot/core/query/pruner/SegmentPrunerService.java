@@ -20,6 +20,8 @@ package org.apache.pinot.core.query.pruner;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
 import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.query.config.SegmentPrunerConfig;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
@@ -35,6 +37,9 @@ public class SegmentPrunerService {
   private static final Logger LOGGER = LoggerFactory.getLogger(SegmentPrunerService.class);
 
   private final List<SegmentPruner> _segmentPruners;
+  // Whether the pruners can be applied with the table level segment pruning index
+  private final boolean _pruneWithMinMax;
+  private final boolean _pruneWithPartitions;
 
   public SegmentPrunerService(SegmentPrunerConfig config) {
     int numPruners = config.numberOfSegmentPruner();
@@ -44,6 +49,34 @@ public class SegmentPrunerService {
       _segmentPruners.add(
           SegmentPrunerProvider.getSegmentPruner(config.getSegmentPrunerName(i), config.getSegmentPrunerConfig(i)));
     }
+    boolean pruneWithMinMax = false;
+    boolean pruneWithPartitions = false;
+    for (SegmentPruner segmentPruner : _segmentPruners) {
+      if (segmentPruner instanceof ColumnValueSegmentPruner) {
+        pruneWithMinMax = true;
+      } else if (segmentPruner instanceof PartitionSegmentPruner) {
+        pruneWithPartitions = true;
+      }
+    }
+    _pruneWithMinMax = pruneWithMinMax;
+    _pruneWithPartitions = pruneWithPartitions;
+  }
+
+  /**
+   * Prunes the segments to query with the table level segment pruning index before acquiring the segments, which
+   * applies the column min/max value and partition based pruning to all the indexed segments at once. The remaining
+   * segments should still be pruned with {@link #prune(IndexSegment, ServerQueryRequest)}.
+   *
+   * @return Result of the pruning, or <code>null</code> if the index cannot prune any segment for the query
+   */
+  @Nullable
+  public SegmentPruningIndex.Result prune(SegmentPruningIndex segmentPruningIndex, ServerQueryRequest queryRequest) {
+    FilterQueryTree filterQueryTree = queryRequest.getFilterQueryTree();
+    if (filterQueryTree == null || (!_pruneWithMinMax && !_pruneWithPartitions)) {
+      return null;
+    }
+    return segmentPruningIndex
+        .prune(queryRequest.getSegmentsToQuery(), filterQueryTree, _pruneWithMinMax, _pruneWithPartitions);
   }
 
   /**
@@ -0,0 +1,517 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.pruner;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.request.FilterOperator;
+import org.apache.pinot.common.segment.SegmentMetadata;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.core.common.predicate.RangePredicate;
+import org.apache.pinot.core.data.partition.PartitionFunction;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+
+
+/**
+ * The {@code SegmentPruningIndex} class is a table level index over the column metadata of the segments, which finds
+ * the segments that cannot match a filter without evaluating the filter against each segment.
+ * <ul>
+ *   <li>
+ *     Min/max values: an interval tree for each column over the [min, max] value ranges of the segments, which finds
+ *     the segments overlapping an EQUALITY or RANGE predicate in O(log(n) + k) time.
+ *   </li>
+ *   <li>
+ *     Partitions: a map for each column from partition id to the segments, which finds the segments that may contain
+ *     the value of an EQUALITY predicate.
+ *   </li>
+ * </ul>
+ * <p>The index follows the pruning rules of {@link ColumnValueSegmentPruner} (without bloom filter) and
+ * {@link PartitionSegmentPruner}, so it only prunes the segments that are guaranteed not to match the filter. Segments
+ * not in the index (e.g. consuming segments) are never pruned by the index.
+ * <p>The index is updated when segments are added or removed, and is rebuilt lazily by the first query after the
+ * changes, so that loading a large number of segments does not rebuild the index for each segment.
+ */
+@ThreadSafe
+@SuppressWarnings("unchecked")
+public class SegmentPruningIndex {
+  // Guarded by this
+  private final Map<String, SegmentInfo> _segmentInfoMap = new HashMap<>();
+  // Null if the index needs to be rebuilt
+  private volatile Snapshot _snapshot;
+
+  /**
+   * Adds the segment to the index, or replaces the existing segment with the same name. Segments without column
+   * metadata (e.g. consuming segments) are not indexed.
+   */
+  public void addSegment(IndexSegment indexSegment) {
+    String segmentName = indexSegment.getSegmentName();
+    SegmentMetadata segmentMetadata = indexSegment.getSegmentMetadata();
+    Map<String, ColumnMetadata> columnMetadataMap = null;
+    if (segmentMetadata instanceof SegmentMetadataImpl) {
+      columnMetadataMap = ((SegmentMetadataImpl) segmentMetadata).getColumnMetadataMap();
+    }
+    synchronized (this) {
+      if (columnMetadataMap != null) {
+        _segmentInfoMap.put(segmentName, new SegmentInfo(segmentName, segmentMetadata.getTotalRawDocs(),
+            new HashMap<>(columnMetadataMap)));
+      } else {
+        _segmentInfoMap.remove(segmentName);
+      }
+      _snapshot = null;
+    }
+  }
+
+  /**
+   * Removes the segment from the index.
+   */
+  public synchronized void removeSegment(String segmentName) {
+    if (_segmentInfoMap.remove(segmentName) != null) {
+      _snapshot = null;
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getNumSegments() {
+    return _segmentInfoMap.size();
+  }
+
+  /**
+   * Prunes the given segments with the filter.
+   *
+   * @param segmentNames Names of the segments to prune
+   * @param filterQueryTree Filter query tree
+   * @param pruneWithMinMax Whether to prune segments with the column min/max values
+   * @param pruneWithPartitions Whether to prune segments with the column partitions
+   * @return Result of the pruning
+   */
+  public Result prune(List<String> segmentNames, FilterQueryTree filterQueryTree, boolean pruneWithMinMax,
+      boolean pruneWithPartitions) {
+    Snapshot snapshot = getSnapshot();
+    Set<String> candidateSegments =
+        snapshot.getCandidateSegments(filterQueryTree, pruneWithMinMax, pruneWithPartitions);
+    if (candidateSegments == null) {
+      return new Result(segmentNames, 0, 0);
+    }
+    List<String> segmentsToQuery = new ArrayList<>(Math.min(segmentNames.size(), candidateSegments.size()));
+    int numSegmentsPruned = 0;
+    long numTotalRawDocsPruned = 0;
+    for (String segmentName : segmentNames) {
+      SegmentInfo segmentInfo = snapshot._segmentInfoMap.get(segmentName);
+      if (segmentInfo == null || candidateSegments.contains(segmentName)) {
+        segmentsToQuery.add(segmentName);
+      } else {
+        numSegmentsPruned++;
+        numTotalRawDocsPruned += segmentInfo._totalRawDocs;
+      }
+    }
+    return new Result(segmentsToQuery, numSegmentsPruned, numTotalRawDocsPruned);
+  }
+
+  private Snapshot getSnapshot() {
+    Snapshot snapshot = _snapshot;
+    if (snapshot != null) {
+      return snapshot;
+    }
+    synchronized (this) {
+      if (_snapshot == null) {
+        _snapshot = new Snapshot(new HashMap<>(_segmentInfoMap));
+      }
+      return _snapshot;
+    }
+  }
+
+  /**
+   * Result of the pruning.
+   */
+  public static class Result {
+    private final List<String> _segmentsToQuery;
+    private final int _numSegmentsPruned;
+    private final long _numTotalRawDocsPruned;
+
+    private Result(List<String> segmentsToQuery, int numSegmentsPruned, long numTotalRawDocsPruned) {
+      _segmentsToQuery = segmentsToQuery;
+      _numSegmentsPruned = numSegmentsPruned;
+      _numTotalRawDocsPruned = numTotalRawDocsPruned;
+    }
+
+    /**
+     * Returns the names of the segments that are not pruned.
+     */
+    public List<String> getSegmentsToQuery() {
+      return _segmentsToQuery;
+    }
+
+    public int getNumSegmentsPruned() {
+      return _numSegmentsPruned;
+    }
+
+    /**
+     * Returns the total number of docs in the pruned segments.
+     */
+    public long getNumTotalRawDocsPruned() {
+      return _numTotalRawDocsPruned;
+    }
+  }
+
+  private static class SegmentInfo {
+    final String _segmentName;
+    final long _totalRawDocs;
+    final Map<String, ColumnMetadata> _columnMetadataMap;
+
+    SegmentInfo(String segmentName, long totalRawDocs, Map<String, ColumnMetadata> columnMetadataMap) {
+      _segmentName = segmentName;
+      _totalRawDocs = totalRawDocs;
+      _columnMetadataMap = columnMetadataMap;
+    }
+  }
+
+  /**
+   * Immutable snapshot of the index.
+   */
+  private static class Snapshot {
+    final Map<String, SegmentInfo> _segmentInfoMap;
+    final Map<String, ColumnIndex> _columnIndexMap = new HashMap<>();
+
+    Snapshot(Map<String, SegmentInfo> segmentInfoMap) {
+      _segmentInfoMap = segmentInfoMap;
+      Map<String, List<SegmentInfo>> segmentInfosByColumn = new HashMap<>();
+      for (SegmentInfo segmentInfo : segmentInfoMap.values()) {
+        for (String column : segmentInfo._columnMetadataMap.keySet()) {
+          segmentInfosByColumn.computeIfAbsent(column, k -> new ArrayList<>()).add(segmentInfo);
+        }
+      }
+      for (Map.Entry<String, List<SegmentInfo>> entry : segmentInfosByColumn.entrySet()) {
+        _columnIndexMap.put(entry.getKey(), new ColumnIndex(entry.getKey(), entry.getValue()));
+      }
+    }
+
+    /**
+     * Returns the segments in the index that may match the filter, or {@code null} if all the segments may match the
+     * filter. The returned set should not be modified.
+     */
+    @Nullable
+    Set<String> getCandidateSegments(FilterQueryTree filterQueryTree, boolean pruneWithMinMax,
+        boolean pruneWithPartitions) {
+      List<FilterQueryTree> children = filterQueryTree.getChildren();
+      if (children != null && !children.isEmpty()) {
+        switch (filterQueryTree.getOperator()) {
+          case AND:
+            // Segment is pruned if any child prunes it
+            Set<String> intersection = null;
+            for (FilterQueryTree child : children) {
+              intersection = intersect(intersection, getCandidateSegments(child, pruneWithMinMax, pruneWithPartitions));
+            }
+            return intersection;
+          case OR:
+            // Segment is pruned if all children prune it
+            Set<String> union = new HashSet<>();
+            for (FilterQueryTree child : children) {
+              Set<String> candidateSegments = getCandidateSegments(child, pruneWithMinMax, pruneWithPartitions);
+              if (candidateSegments == null) {
+                return null;
+              }
+              union.addAll(candidateSegments);
+            }
+            return union;
+          default:
+            return null;
+        }
+      }
+
+      // Leaf node
+      if (filterQueryTree.getExpression() != null && !filterQueryTree.getExpression().isColumn()) {
+        return null;
+      }
+      FilterOperator filterOperator = filterQueryTree.getOperator();
+      boolean isEquality = filterOperator == FilterOperator.EQUALITY;
+      boolean isRange = filterOperator == FilterOperator.RANGE;
+      Set<String> candidateSegments = null;
+      if (pruneWithMinMax && (isEquality || isRange)) {
+        ColumnIndex columnIndex = _columnIndexMap.get(filterQueryTree.getColumn());
+        if (columnIndex == null) {
+          // None of the segments has the column
+          return Collections.emptySet();
+        }
+        candidateSegments = columnIndex.getCandidateSegmentsWithMinMax(filterQueryTree, isEquality);
+      }
+      if (pruneWithPartitions && isEquality) {
+        ColumnIndex columnIndex = _columnIndexMap.get(filterQueryTree.getColumn());
+        if (columnIndex == null) {
+          return Collections.emptySet();
+        }
+        candidateSegments =
+            intersect(candidateSegments, columnIndex.getCandidateSegmentsWithPartitions(filterQueryTree));
+      }
+      return candidateSegments;
+    }
+
+    /**
+     * Returns the intersection of the candidate segments, where {@code null} stands for all segments.
+     */
+    @Nullable
+    private static Set<String> intersect(@Nullable Set<String> candidateSegments1,
+        @Nullable Set<String> candidateSegments2) {
+      if (candidateSegments1 == null) {
+        return candidateSegments2;
+      }
+      if (candidateSegments2 == null) {
+        return candidateSegments1;
+      }
+      if (candidateSegments1.size() > candidateSegments2.size()) {
+        Set<String> temp = candidateSegments1;
+        candidateSegments1 = candidateSegments2;
+        candidateSegments2 = temp;
+      }
+      Set<String> intersection = new HashSet<>();
+      for (String segmentName : candidateSegments1) {
+        if (candidateSegments2.contains(segmentName)) {
+          intersection.add(segmentName);
+        }
+      }
+      return intersection;
+    }
+  }
+
+  /**
+   * Index of a column over the segments with the column.
+   */
+  private static class ColumnIndex {
+    final FieldSpec.DataType _dataType;
+    final IntervalTree _intervalTree;
+    // Segments with the column but cannot be pruned with min/max values
+    final Set<String> _segmentsWithoutMinMax = new HashSet<>();
+    final Map<String, PartitionIndex> _partitionIndexMap = new HashMap<>();
+    // Segments with the column but cannot be pruned with partitions
+    final Set<String> _segmentsWithoutPartitions = new HashSet<>();
+
+    ColumnIndex(String column, List<SegmentInfo> segmentInfos) {
+      // Data type of the column should be the same for all segments, index the segments with the most common one
+      Map<FieldSpec.DataType, Integer> dataTypeCounts = new HashMap<>();
+      for (SegmentInfo segmentInfo : segmentInfos) {
+        dataTypeCounts.merge(segmentInfo._columnMetadataMap.get(column).getDataType(), 1, Integer::sum);
+      }
+      _dataType = Collections.max(dataTypeCounts.entrySet(), Map.Entry.comparingByValue()).getKey();
+
+      List<Interval> intervals = new ArrayList<>(segmentInfos.size());
+      for (SegmentInfo segmentInfo : segmentInfos) {
+        String segmentName = segmentInfo._segmentName;
+        ColumnMetadata columnMetadata = segmentInfo._columnMetadataMap.get(column);
+        if (columnMetadata.getDataType() != _dataType) {
+          _segmentsWithoutMinMax.add(segmentName);
+          _segmentsWithoutPartitions.add(segmentName);
+          continue;
+        }
+
+        Comparable minValue = columnMetadata.getMinValue();
+        Comparable maxValue = columnMetadata.getMaxValue();
+        if (_dataType != FieldSpec.DataType.BYTES && minValue != null && maxValue != null) {
+          intervals.add(new Interval(minValue, maxValue, segmentName));
+        } else {
+          _segmentsWithoutMinMax.add(segmentName);
+        }
+
+        PartitionFunction partitionFunction = columnMetadata.getPartitionFunction();
+        if (partitionFunction != null && columnMetadata.getPartitions() != null) {
+          String partitionFunctionKey = partitionFunction.toString() + "_" + partitionFunction.getNumPartitions();
+          PartitionIndex partitionIndex =
+              _partitionIndexMap.computeIfAbsent(partitionFunctionKey, k -> new PartitionIndex(partitionFunction));
+          for (int partition : columnMetadata.getPartitions()) {
+            partitionIndex._segmentsByPartition.computeIfAbsent(partition, k -> new ArrayList<>()).add(segmentName);
+          }
+        } else {
+          _segmentsWithoutPartitions.add(segmentName);
+        }
+      }
+      _intervalTree = new IntervalTree(intervals);
+    }
+
+    Set<String> getCandidateSegmentsWithMinMax(FilterQueryTree filterQueryTree, boolean isEquality) {
+      Comparable lowerBoundaryValue;
+      boolean includeLowerBoundary;
+      Comparable upperBoundaryValue;
+      boolean includeUpperBoundary;
+      if (isEquality) {
+        lowerBoundaryValue = AbstractSegmentPruner.getValue(filterQueryTree.getValue().get(0), _dataType);
+        includeLowerBoundary = true;
+        upperBoundaryValue = lowerBoundaryValue;
+        includeUpperBoundary = true;
+      } else {
+        RangePredicate rangePredicate = new RangePredicate(null, filterQueryTree.getValue());
+        String lowerBoundary = rangePredicate.getLowerBoundary();
+        lowerBoundaryValue = lowerBoundary.equals(RangePredicate.UNBOUNDED) ? null
+            : AbstractSegmentPruner.getValue(lowerBoundary, _dataType);
+        includeLowerBoundary = rangePredicate.includeLowerBoundary();
+        String upperBoundary = rangePredicate.getUpperBoundary();
+        upperBoundaryValue = upperBoundary.equals(RangePredicate.UNBOUNDED) ? null
+            : AbstractSegmentPruner.getValue(upperBoundary, _dataType);
+        includeUpperBoundary = rangePredicate.includeUpperBoundary();
+
+        // Invalid range matches nothing
+        if (lowerBoundaryValue != null && upperBoundaryValue != null) {
+          int result = lowerBoundaryValue.compareTo(upperBoundaryValue);
+          if (result > 0 || (result == 0 && (!includeLowerBoundary || !includeUpperBoundary))) {
+            return Collections.emptySet();
+          }
+        }
+      }
+
+      Set<String> candidateSegments = new HashSet<>(_segmentsWithoutMinMax);
+      _intervalTree.query(lowerBoundaryValue, includeLowerBoundary, upperBoundaryValue, includeUpperBoundary,
+          candidateSegments);
+      return candidateSegments;
+    }
+
+    Set<String> getCandidateSegmentsWithPartitions(FilterQueryTree filterQueryTree) {
+      Comparable value = AbstractSegmentPruner.getValue(filterQueryTree.getValue().get(0), _dataType);
+      Set<String> candidateSegments = new HashSet<>(_segmentsWithoutPartitions);
+      for (PartitionIndex partitionIndex : _partitionIndexMap.values()) {
+        List<String> segments =
+            partitionIndex._segmentsByPartition.get(partitionIndex._partitionFunction.getPartition(value));
+        if (segments != null) {
+          candidateSegments.addAll(segments);
+        }
+      }
+      return candidateSegments;
+    }
+  }
+
+  private static class PartitionIndex {
+    final PartitionFunction _partitionFunction;
+    final Map<Integer, List<String>> _segmentsByPartition = new HashMap<>();
+
+    PartitionIndex(PartitionFunction partitionFunction) {
+      _partitionFunction = partitionFunction;
+    }
+  }
+
+  private static class Interval {
+    final Comparable _minValue;
+    final Comparable _maxValue;
+    final String _segmentName;
+
+    Interval(Comparable minValue, Comparable maxValue, String segmentName) {
+      _minValue = minValue;
+      _maxValue = maxValue;
+      _segmentName = segmentName;
+    }
+  }
+
+  /**
+   * Static interval tree over the [min, max] value ranges of the segments.
+   * <p>The intervals are sorted by the min value, and the tree is implicit on the sorted array: the root of the
+   * sub-array [start, end] is the middle element, and the left and right sub-arrays are the subtrees. Each node keeps
+   * the max of the max values in its subtree, so that the subtrees not overlapping the query range can be skipped.
+   */
+  @VisibleForTesting
+  static class IntervalTree {
+    private final Comparable[] _minValues;
+    private final Comparable[] _maxValues;
+    private final String[] _segmentNames;
+    private final Comparable[] _subtreeMaxValues;
+
+    IntervalTree(List<Interval> intervals) {
+      intervals.sort((o1, o2) -> o1._minValue.compareTo(o2._minValue));
+      int numIntervals = intervals.size();
+      _minValues = new Comparable[numIntervals];
+      _maxValues = new Comparable[numIntervals];
+      _segmentNames = new String[numIntervals];
+      for (int i = 0; i < numIntervals; i++) {
+        Interval interval = intervals.get(i);
+        _minValues[i] = interval._minValue;
+        _maxValues[i] = interval._maxValue;
+        _segmentNames[i] = interval._segmentName;
+      }
+      _subtreeMaxValues = new Comparable[numIntervals];
+      buildSubtreeMaxValues(0, numIntervals - 1);
+    }
+
+    @Nullable
+    private Comparable buildSubtreeMaxValues(int start, int end) {
+      if (start > end) {
+        return null;
+      }
+      int mid = (start + end) >>> 1;
+      Comparable subtreeMaxValue = _maxValues[mid];
+      Comparable leftMaxValue = buildSubtreeMaxValues(start, mid - 1);
+      if (leftMaxValue != null && leftMaxValue.compareTo(subtreeMaxValue) > 0) {
+        subtreeMaxValue = leftMaxValue;
+      }
+      Comparable rightMaxValue = buildSubtreeMaxValues(mid + 1, end);
+      if (rightMaxValue != null && rightMaxValue.compareTo(subtreeMaxValue) > 0) {
+        subtreeMaxValue = rightMaxValue;
+      }
+      _subtreeMaxValues[mid] = subtreeMaxValue;
+      return subtreeMaxValue;
+    }
+
+    /**
+     * Adds the segments whose value range overlaps the query range into the result. Null boundary value stands for
+     * unbounded.
+     */
+    void query(@Nullable Comparable lowerBoundaryValue, boolean includeLowerBoundary,
+        @Nullable Comparable upperBoundaryValue, boolean includeUpperBoundary, Set<String> result) {
+      query(0, _minValues.length - 1, lowerBoundaryValue, includeLowerBoundary, upperBoundaryValue,
+          includeUpperBoundary, result);
+    }
+
+    private void query(int start, int end, @Nullable Comparable lowerBoundaryValue, boolean includeLowerBoundary,
+        @Nullable Comparable upperBoundaryValue, boolean includeUpperBoundary, Set<String> result) {
+      if (start > end) {
+        return;
+      }
+      int mid = (start + end) >>> 1;
+      // All the values in the subtree are below the lower boundary
+      if (lowerBoundaryValue != null && isBelow(_subtreeMaxValues[mid], lowerBoundaryValue, includeLowerBoundary)) {
+        return;
+      }
+      query(start, mid - 1, lowerBoundaryValue, includeLowerBoundary, upperBoundaryValue, includeUpperBoundary,
+          result);
+      // The node and the right subtree have min values no less than the node, so are all above the upper boundary
+      if (upperBoundaryValue != null && isAbove(_minValues[mid], upperBoundaryValue, includeUpperBoundary)) {
+        return;
+      }
+      if (lowerBoundaryValue == null || !isBelow(_maxValues[mid], lowerBoundaryValue, includeLowerBoundary)) {
+        result.add(_segmentNames[mid]);
+      }
+      query(mid + 1, end, lowerBoundaryValue, includeLowerBoundary, upperBoundaryValue, includeUpperBoundary,
+          result);
+    }
+
+    private static boolean isBelow(Comparable maxValue, Comparable lowerBoundaryValue, boolean includeLowerBoundary) {
+      int result = lowerBoundaryValue.compareTo(maxValue);
+      return includeLowerBoundary ? result > 0 : result >= 0;
+    }
+
+    private static boolean isAbove(Comparable minValue, Comparable upperBoundaryValue, boolean includeUpperBoundary) {
+      int result = upperBoundaryValue.compareTo(minValue);
+      return includeUpperBoundary ? result < 0 : result <= 0;
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.reduce;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.common.config.TableNameBuilder;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.response.ServerInstance;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.common.utils.DataTable;
+import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
+import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code IncrementalAggregationReducer} class reduces the data tables for an aggregation-only query as they arrive
+ * from the servers, so that the reduce work overlaps with waiting for the slower servers.
+ * <p>Each received data table is queued and merged into the intermediate results on the reduce executor, one data
+ * table at a time per query, and the reference to it is not kept after the merge. The thread receiving the data table
+ * (e.g. the Netty event loop) only queues it. Once {@link #getBrokerResponse(BrokerMetrics)} is called, the reducer
+ * merges the data tables still in the queue, stops accepting data tables, and only the final result extraction is left
+ * to be done.
+ */
+@ThreadSafe
+public class IncrementalAggregationReducer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalAggregationReducer.class);
+
+  private final BrokerRequest _brokerRequest;
+  private final BrokerReduceService _brokerReduceService;
+  private final AggregationFunction[] _aggregationFunctions;
+  private final Object[] _intermediateResults;
+  private final ExecutionStatsAggregator _executionStatsAggregator;
+  private final Executor _reduceExecutor;
+  private final ConcurrentLinkedQueue<PendingDataTable> _pendingDataTables = new ConcurrentLinkedQueue<>();
+  // Number of data tables queued but not yet handled by the merge task, where the merge task is scheduled when it goes
+  // from 0 to 1 so that at most one merge task runs for the query at a time
+  private final AtomicInteger _numPendingDataTables = new AtomicInteger();
+
+  // Data schema from the first data table with data rows inside
+  private DataSchema _dataSchema;
+  private int _numServersResponded;
+  private boolean _failed;
+  private boolean _done;
+
+  public IncrementalAggregationReducer(BrokerRequest brokerRequest, BrokerReduceService brokerReduceService) {
+    this(brokerRequest, brokerReduceService, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * @param reduceExecutor Executor to merge the received data tables
+   */
+  public IncrementalAggregationReducer(BrokerRequest brokerRequest, BrokerReduceService brokerReduceService,
+      Executor reduceExecutor) {
+    _reduceExecutor = reduceExecutor;
+    _brokerRequest = brokerRequest;
+    _brokerReduceService = brokerReduceService;
+    _aggregationFunctions = AggregationFunctionUtils.getAggregationFunctions(brokerRequest);
+    _intermediateResults = new Object[_aggregationFunctions.length];
+    _executionStatsAggregator = new ExecutionStatsAggregator(brokerRequest.isEnableTrace());
+  }
+
+  /**
+   * Returns whether the given broker request can be reduced incrementally (aggregation-only query).
+   */
+  public static boolean isSupported(BrokerRequest brokerRequest) {
+    return brokerRequest.getSelections() == null && brokerRequest.isSetAggregationsInfo() && !brokerRequest
+        .isSetGroupBy();
+  }
+
+  /**
+   * Queues the data table received from the given server to be merged into the intermediate results on the reduce
+   * executor.
+   * <p>Data tables received after the broker response is extracted are ignored.
+   */
+  public void reduce(ServerInstance serverInstance, DataTable dataTable) {
+    _pendingDataTables.offer(new PendingDataTable(serverInstance, dataTable));
+    if (_numPendingDataTables.getAndIncrement() == 0) {
+      try {
+        _reduceExecutor.execute(this::mergePendingDataTables);
+      } catch (RejectedExecutionException e) {
+        // The pending data tables are merged when extracting the broker response
+        LOGGER.warn("Failed to schedule the merge of the data table from server: {}", serverInstance, e);
+      }
+    }
+  }
+
+  private void mergePendingDataTables() {
+    do {
+      // The data table might already be merged when extracting the broker response
+      PendingDataTable pendingDataTable = _pendingDataTables.poll();
+      if (pendingDataTable != null) {
+        merge(pendingDataTable._serverInstance, pendingDataTable._dataTable);
+      }
+    } while (_numPendingDataTables.decrementAndGet() > 0);
+  }
+
+  private synchronized void merge(ServerInstance serverInstance, DataTable dataTable) {
+    if (_done || _failed) {
+      return;
+    }
+    try {
+      _executionStatsAggregator.aggregate(serverInstance, dataTable);
+      DataSchema dataSchema = dataTable.getDataSchema();
+      if (dataSchema != null && dataTable.getNumberOfRows() > 0) {
+        if (_dataSchema == null) {
+          _dataSchema = dataSchema;
+        }
+        BrokerReduceService.mergeAggregationResults(_aggregationFunctions, _intermediateResults, dataTable, dataSchema);
+      }
+      _numServersResponded++;
+    } catch (Exception e) {
+      LOGGER.error("Caught exception while reducing data table from server: {}, falling back to reduce on all data "
+          + "tables", serverInstance, e);
+      _failed = true;
+    }
+  }
+
+  /**
+   * Returns the number of servers whose data tables are merged.
+   * <p>Should be called after calling {@link #getBrokerResponse(BrokerMetrics)}.
+   */
+  public synchronized int getNumServersResponded() {
+    return _numServersResponded;
+  }
+
+  /**
+   * Stops accepting data tables and returns the broker response, or {@code null} if the incremental reduce failed and
+   * the caller should reduce on all the data tables instead.
+   */
+  @Nullable
+  public synchronized BrokerResponseNative getBrokerResponse(@Nullable BrokerMetrics brokerMetrics) {
+    // Merge the data tables not yet merged by the reduce executor
+    PendingDataTable pendingDataTable;
+    while ((pendingDataTable = _pendingDataTables.poll()) != null) {
+      merge(pendingDataTable._serverInstance, pendingDataTable._dataTable);
+    }
+    _done = true;
+    if (_failed) {
+      return null;
+    }
+    if (_numServersResponded == 0) {
+      return BrokerResponseNative.empty();
+    }
+
+    BrokerResponseNative brokerResponseNative = new BrokerResponseNative();
+    String rawTableName = TableNameBuilder.extractRawTableName(_brokerRequest.getQuerySource().getTableName());
+    _executionStatsAggregator.setStats(rawTableName, brokerResponseNative, brokerMetrics);
+    if (_dataSchema != null) {
+      _brokerReduceService.setAggregationResults(brokerResponseNative, _aggregationFunctions, _intermediateResults,
+          _dataSchema, BrokerReduceService.isPreserveType(_brokerRequest));
+    }
+    return brokerResponseNative;
+  }
+
+  private static class PendingDataTable {
+    final ServerInstance _serverInstance;
+    final DataTable _dataTable;
+
+    PendingDataTable(ServerInstance serverInstance, DataTable dataTable) {
+      _serverInstance = serverInstance;
+      _dataTable = dataTable;
+    }
+  }
+}
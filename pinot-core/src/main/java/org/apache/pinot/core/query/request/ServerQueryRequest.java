@@ -67,6 +67,7 @@ public class ServerQueryRequest {
 
   // Query processing context
   private volatile int _segmentCountAfterPruning = -1;
+  private volatile long _estimatedCost = -1;
 
   public ServerQueryRequest(InstanceRequest instanceRequest, ServerMetrics serverMetrics, long queryArrivalTimeMs) {
     _requestId = instanceRequest.getRequestId();
@@ -208,4 +209,15 @@ public class ServerQueryRequest {
   public Set<TransformExpressionTree> getSelectionExpressions() {
     return _selectionExpressions;
   }
+
+  /**
+   * Returns the estimated cost of the query (number of entries to scan), or -1 if the cost is not estimated.
+   */
+  public long getEstimatedCost() {
+    return _estimatedCost;
+  }
+
+  public void setEstimatedCost(long estimatedCost) {
+    _estimatedCost = estimatedCost;
+  }
 }
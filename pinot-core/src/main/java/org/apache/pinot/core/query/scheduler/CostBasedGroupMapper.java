@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * Maps query request to scheduler group based on table name and estimated query cost.
+ * Expensive queries of a table are queued in a separate group from the cheap ones, so that cheap queries are not
+ * queued behind the expensive ones. The group of expensive queries also burns its tokens faster, which lowers its
+ * priority with respect to the cheap queries.
+ */
+public class CostBasedGroupMapper extends TableBasedGroupMapper {
+  public static final String EXPENSIVE_GROUP_SUFFIX = "_EXPENSIVE";
+
+  private final long expensiveQueryCost;
+
+  public CostBasedGroupMapper(long expensiveQueryCost) {
+    Preconditions.checkArgument(expensiveQueryCost > 0);
+    this.expensiveQueryCost = expensiveQueryCost;
+  }
+
+  /**
+   * Maps query to per-table {@link SchedulerGroup}, and expensive query to the per-table expensive query group
+   * @param query
+   * @return table name (per-table) SchedulerGroup, with suffix for expensive queries
+   */
+  @Override
+  public String getSchedulerGroupName(SchedulerQueryContext query) {
+    String groupName = super.getSchedulerGroupName(query);
+    if (query.getQueryRequest().getEstimatedCost() >= expensiveQueryCost) {
+      return groupName + EXPENSIVE_GROUP_SUFFIX;
+    }
+    return groupName;
+  }
+}
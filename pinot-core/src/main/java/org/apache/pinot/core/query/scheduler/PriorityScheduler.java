@@ -23,7 +23,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.LongAccumulator;
 import javax.annotation.Nonnull;
@@ -42,15 +46,30 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Schedules queries from a {@link SchedulerGroup} with highest number of tokens on priority
+ *
+ * A running query holds its runner permit until it finishes. To keep the latency of short queries low under mixed
+ * workloads, query workers can be time sliced (see
+ * {@link org.apache.pinot.core.query.scheduler.resources.QueryTimeSlicer}) so that long running queries are paused in
+ * favor of the newly scheduled ones.
  */
 public abstract class PriorityScheduler extends QueryScheduler {
   private static Logger LOGGER = LoggerFactory.getLogger(PriorityScheduler.class);
+  // Whether to estimate the query cost before scheduling the query
+  public static final String QUERY_COST_ESTIMATION_KEY = "query_cost_estimation";
+  // Queries with estimated cost larger than this value are rejected, disabled if non-positive
+  public static final String MAX_QUERY_COST_KEY = "max_query_cost";
+  // Number of threads to estimate the query cost
+  public static final String QUERY_COST_ESTIMATOR_THREADS_KEY = "query_cost_estimator_threads";
+  public static final int DEFAULT_QUERY_COST_ESTIMATOR_THREADS = 2;
 
   protected final SchedulerPriorityQueue queryQueue;
 
   @VisibleForTesting
   protected final Semaphore runningQueriesSemaphore;
   private final int numRunners;
+  private final long maxQueryCost;
+  // Runs the query cost estimation before the query is enqueued, null if the estimation is disabled
+  private final ExecutorService costEstimator;
   @VisibleForTesting
   Thread scheduler;
 
@@ -62,6 +81,16 @@ public abstract class PriorityScheduler extends QueryScheduler {
     this.queryQueue = queue;
     this.numRunners = resourceManager.getNumQueryRunnerThreads();
     runningQueriesSemaphore = new Semaphore(numRunners);
+    maxQueryCost = config.getLong(MAX_QUERY_COST_KEY, 0);
+    if (config.getBoolean(QUERY_COST_ESTIMATION_KEY, false)) {
+      int numCostEstimatorThreads =
+          config.getInt(QUERY_COST_ESTIMATOR_THREADS_KEY, DEFAULT_QUERY_COST_ESTIMATOR_THREADS);
+      Preconditions.checkArgument(numCostEstimatorThreads > 0, "Number of query cost estimator threads must be positive");
+      costEstimator = Executors.newFixedThreadPool(numCostEstimatorThreads,
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("query-cost-estimator-%d").build());
+    } else {
+      costEstimator = null;
+    }
   }
 
   @Nonnull
@@ -71,6 +100,56 @@ public abstract class PriorityScheduler extends QueryScheduler {
       return immediateErrorResponse(queryRequest, QueryException.SERVER_SCHEDULER_DOWN_ERROR);
     }
     queryRequest.getTimerContext().startNewPhaseTimer(ServerQueryPhase.SCHEDULER_WAIT);
+    if (costEstimator == null) {
+      return enqueue(queryRequest);
+    }
+    // The estimate walks the segments of the query, so run it off the request thread and enqueue from there
+    final SchedulerQueryContext estimationContext = new SchedulerQueryContext(queryRequest);
+    try {
+      costEstimator.execute(new Runnable() {
+        @Override
+        public void run() {
+          estimationContext.setResultFuture(estimateCostAndEnqueue(queryRequest));
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      return immediateErrorResponse(queryRequest, QueryException.SERVER_SCHEDULER_DOWN_ERROR);
+    }
+    return estimationContext.getResultFuture();
+  }
+
+  private ListenableFuture<byte[]> estimateCostAndEnqueue(ServerQueryRequest queryRequest) {
+    if (!isRunning) {
+      return immediateErrorResponse(queryRequest, QueryException.SERVER_SCHEDULER_DOWN_ERROR);
+    }
+    // The estimated cost decides the scheduler group and the number of threads for the query
+    long estimatedCost;
+    try {
+      estimatedCost = queryExecutor.estimateQueryCost(queryRequest);
+    } catch (Exception e) {
+      // Schedule the query without the estimated cost
+      LOGGER.warn("Caught exception while estimating cost for requestId: {}", queryRequest.getRequestId(), e);
+      estimatedCost = -1;
+    }
+    queryRequest.setEstimatedCost(estimatedCost);
+    if (maxQueryCost > 0 && estimatedCost > maxQueryCost) {
+      String errorMessage =
+          String.format("Estimated query cost: %d exceeds max query cost: %d", estimatedCost, maxQueryCost);
+      LOGGER.warn("{} for requestId: {}, table: {}", errorMessage, queryRequest.getRequestId(),
+          queryRequest.getTableNameWithType());
+      serverMetrics.addMeteredTableValue(queryRequest.getTableNameWithType(), ServerMeter.QUERY_COST_REJECTIONS, 1);
+      return immediateErrorResponse(queryRequest,
+          QueryException.getException(QueryException.SERVER_QUERY_COST_EXCEEDED_ERROR, errorMessage));
+    }
+    ListenableFuture<byte[]> resultFuture = enqueue(queryRequest);
+    // The scheduler might be stopped while estimating, after the scheduler thread failed the pending queries
+    if (!isRunning) {
+      failAllPendingQueries();
+    }
+    return resultFuture;
+  }
+
+  private ListenableFuture<byte[]> enqueue(ServerQueryRequest queryRequest) {
     final SchedulerQueryContext schedQueryContext = new SchedulerQueryContext(queryRequest);
     try {
       queryQueue.put(schedQueryContext);
@@ -146,6 +225,10 @@ public abstract class PriorityScheduler extends QueryScheduler {
   @Override
   public void stop() {
     super.stop();
+    // Let the estimator finish the submitted queries, which are failed as the scheduler is no longer running
+    if (costEstimator != null) {
+      costEstimator.shutdown();
+    }
     // without this, scheduler will never stop if there are no pending queries
     if (scheduler != null) {
       scheduler.interrupt();
@@ -22,6 +22,7 @@ import com.google.common.base.Preconditions;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,9 @@ import org.slf4j.LoggerFactory;
  * This class also supports a resource accounting interface to accurately track resources
  * utilization based on submission time and end time of a task. This does not require
  * any changes to client code which continue to use ExecutorService interface.
+ *
+ * If a {@link QueryTimeSlicer} is provided, tasks are time sliced with the tasks of other queries so that long
+ * running queries can be paused in favor of the newly scheduled ones.
  */
 public class BoundedAccountingExecutor extends QueryExecutorService {
   private static Logger LOGGER = LoggerFactory.getLogger(BoundedAccountingExecutor.class);
@@ -44,8 +48,14 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
   private final int bounds;
   private Semaphore semaphore;
   private final SchedulerGroupAccountant accountant;
+  private final QueryTimeSlicer timeSlicer;
 
   public BoundedAccountingExecutor(@Nonnull Executor s, int bounds, @Nonnull SchedulerGroupAccountant accountant) {
+    this(s, bounds, accountant, null);
+  }
+
+  public BoundedAccountingExecutor(@Nonnull Executor s, int bounds, @Nonnull SchedulerGroupAccountant accountant,
+      @Nullable QueryTimeSlicer timeSlicer) {
     Preconditions.checkNotNull(s);
     Preconditions.checkNotNull(accountant);
     Preconditions.checkArgument(bounds > 0);
@@ -53,6 +63,7 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
     this.bounds = bounds;
     this.semaphore = new Semaphore(bounds);
     this.accountant = accountant;
+    this.timeSlicer = timeSlicer;
   }
 
   @Override
@@ -92,6 +103,20 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
 
     @Override
     public void run() {
+      try {
+        if (timeSlicer != null) {
+          timeSlicer.startTask(accountant);
+        }
+        runAndAccount();
+      } finally {
+        semaphore.release();
+        if (timeSlicer != null) {
+          timeSlicer.endTask();
+        }
+      }
+    }
+
+    private void runAndAccount() {
       try {
         if (accountant != null) {
           accountant.incrementThreads();
@@ -101,7 +126,6 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
         if (accountant != null) {
           accountant.decrementThreads();
         }
-        semaphore.release();
       }
     }
   }
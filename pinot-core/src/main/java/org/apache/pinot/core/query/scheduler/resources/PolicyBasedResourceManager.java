@@ -52,6 +52,13 @@ public class PolicyBasedResourceManager extends ResourceManager {
   public QueryExecutorService getExecutorService(ServerQueryRequest query, SchedulerGroupAccountant accountant) {
     int numSegments = query.getSegmentsToQuery().size();
     int queryThreadLimit = Math.max(1, Math.min(resourcePolicy.getMaxThreadsPerQuery(), numSegments));
+    // Cheap queries do not need as many threads as the segments they query
+    long estimatedCost = query.getEstimatedCost();
+    long queryCostPerThread = resourcePolicy.getQueryCostPerThread();
+    if (estimatedCost >= 0 && queryCostPerThread > 0) {
+      long numThreadsForCost = (estimatedCost + queryCostPerThread - 1) / queryCostPerThread;
+      queryThreadLimit = (int) Math.max(1, Math.min(queryThreadLimit, numThreadsForCost));
+    }
     int spareThreads = resourcePolicy.getTableThreadsHardLimit() - accountant.totalReservedThreads();
     if (spareThreads <= 0) {
       LOGGER.warn("UNEXPECTED: Attempt to schedule query uses more than the configured hard limit on threads");
@@ -71,7 +78,7 @@ public class PolicyBasedResourceManager extends ResourceManager {
     accountant.addReservedThreads(spareThreads);
     // TODO: For 1 thread we should have the query run in the same queryRunner thread
     // by supplying an executor service that similar to Guava' directExecutor()
-    return new BoundedAccountingExecutor(queryWorkers, spareThreads, accountant);
+    return new BoundedAccountingExecutor(queryWorkers, spareThreads, accountant, queryTimeSlicer);
   }
 
   @Override
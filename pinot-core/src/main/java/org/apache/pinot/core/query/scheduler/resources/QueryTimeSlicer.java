@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+
+
+/**
+ * Time slicer for cooperative preemption of the query worker threads.
+ *
+ * The number of worker threads actively executing queries is bounded by a fair pool of active slots, which is smaller
+ * than the worker thread pool. Each worker task holds a slot for a time slice. When the slice expires and there are
+ * other workers waiting for a slot, the task yields at the next block boundary (see
+ * {@link org.apache.pinot.core.operator.BaseOperator#nextBlock()}): it releases the slot and queues up behind the
+ * waiting workers before resuming. Long running queries are therefore paused and resumed in round-robin, while tasks
+ * of newly scheduled short queries get a slot within one time slice.
+ *
+ * Before pausing, the thread is released from the scheduler group accountant so that the tokens consumed in the slice
+ * are charged to the group, and the group is not charged while the task is paused.
+ */
+@ThreadSafe
+public class QueryTimeSlicer {
+  private static final ThreadLocal<TimeSlice> CURRENT_TIME_SLICE = new ThreadLocal<>();
+
+  private final long timeSliceNs;
+  private final Semaphore activeSlots;
+  private final AtomicLong numYields = new AtomicLong();
+
+  public QueryTimeSlicer(long timeSliceMs, int numActiveSlots) {
+    Preconditions.checkArgument(timeSliceMs > 0);
+    Preconditions.checkArgument(numActiveSlots > 0);
+    this.timeSliceNs = TimeUnit.MILLISECONDS.toNanos(timeSliceMs);
+    this.activeSlots = new Semaphore(numActiveSlots, true);
+  }
+
+  /**
+   * Blocks until an active slot is available for the current thread, then starts the first time slice of the task.
+   * {@link #endTask()} must be called after the task finishes.
+   * @param accountant accountant of the scheduler group the task belongs to
+   */
+  public void startTask(@Nullable SchedulerGroupAccountant accountant) {
+    acquireSlot();
+    CURRENT_TIME_SLICE.set(new TimeSlice(accountant));
+  }
+
+  /**
+   * Releases the active slot held by the current thread, if any.
+   */
+  public void endTask() {
+    TimeSlice timeSlice = CURRENT_TIME_SLICE.get();
+    if (timeSlice != null) {
+      CURRENT_TIME_SLICE.remove();
+      activeSlots.release();
+    }
+  }
+
+  /**
+   * Yields the active slot if the time slice of the current thread has expired and other workers are waiting.
+   * No-op if the current thread is not running a time sliced task.
+   */
+  public static void yieldIfSliceExpired() {
+    TimeSlice timeSlice = CURRENT_TIME_SLICE.get();
+    if (timeSlice != null) {
+      timeSlice.yieldIfExpired();
+    }
+  }
+
+  @VisibleForTesting
+  long getNumYields() {
+    return numYields.get();
+  }
+
+  private void acquireSlot() {
+    try {
+      activeSlots.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Thread interrupted while waiting for active query slot", e);
+    }
+  }
+
+  private class TimeSlice {
+    private final SchedulerGroupAccountant accountant;
+    private long sliceEndNs;
+
+    TimeSlice(@Nullable SchedulerGroupAccountant accountant) {
+      this.accountant = accountant;
+      this.sliceEndNs = System.nanoTime() + timeSliceNs;
+    }
+
+    void yieldIfExpired() {
+      long currentTimeNs = System.nanoTime();
+      if (currentTimeNs < sliceEndNs) {
+        return;
+      }
+      if (!activeSlots.hasQueuedThreads()) {
+        // Nobody is waiting, keep running for another slice
+        sliceEndNs = currentTimeNs + timeSliceNs;
+        return;
+      }
+      numYields.incrementAndGet();
+      if (accountant != null) {
+        accountant.decrementThreads();
+      }
+      activeSlots.release();
+      try {
+        acquireSlot();
+      } catch (RuntimeException e) {
+        // The slot is not held anymore, do not release it again when the task ends
+        CURRENT_TIME_SLICE.remove();
+        throw e;
+      } finally {
+        if (accountant != null) {
+          accountant.incrementThreads();
+        }
+      }
+      sliceEndNs = System.nanoTime() + timeSliceNs;
+    }
+  }
+}
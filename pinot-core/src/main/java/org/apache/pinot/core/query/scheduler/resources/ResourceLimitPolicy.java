@@ -37,10 +37,15 @@ public class ResourceLimitPolicy {
   public static final String TABLE_THREADS_HARD_LIMIT = "table_threads_hard_limit_pct";
   public static final int DEFAULT_TABLE_THREADS_SOFT_LIMIT = 30;
   public static final int DEFAULT_TABLE_THREADS_HARD_LIMIT = 45;
+  // Estimated query cost (number of entries to scan) handled by each thread, the number of threads per query is not
+  // limited by the estimated query cost if non-positive
+  public static final String QUERY_COST_PER_THREAD = "query_cost_per_thread";
+  public static final long DEFAULT_QUERY_COST_PER_THREAD = 0;
 
   private final int maxThreadsPerQuery;
   private final int tableThreadsSoftLimit;
   private final int tableThreadsHardLimit;
+  private final long queryCostPerThread;
 
   ResourceLimitPolicy(Configuration config, int numWorkerThreads) {
     int softLimit = checkGetOrDefaultPct(config, TABLE_THREADS_SOFT_LIMIT, DEFAULT_TABLE_THREADS_SOFT_LIMIT);
@@ -55,8 +60,10 @@ public class ResourceLimitPolicy {
     maxThreadsPerQuery =
         Math.min(tableThreadsHardLimit, Math.min(MAX_THREAD_LIMIT, Math.max(1, numWorkerThreads * tpqPct / 100)));
 
-    LOGGER.info("MaxThreadsPerQuery: {}, tableThreadsSoftLimit: {}, tableThreadsHardLimit: {}", maxThreadsPerQuery,
-        tableThreadsSoftLimit, tableThreadsHardLimit);
+    queryCostPerThread = config.getLong(QUERY_COST_PER_THREAD, DEFAULT_QUERY_COST_PER_THREAD);
+
+    LOGGER.info("MaxThreadsPerQuery: {}, tableThreadsSoftLimit: {}, tableThreadsHardLimit: {}, queryCostPerThread: {}",
+        maxThreadsPerQuery, tableThreadsSoftLimit, tableThreadsHardLimit, queryCostPerThread);
   }
 
   private int checkGetOrDefaultPct(Configuration schedulerConfig, String key, int defaultValue) {
@@ -79,4 +86,8 @@ public class ResourceLimitPolicy {
   int getTableThreadsHardLimit() {
     return tableThreadsHardLimit;
   }
+
+  long getQueryCostPerThread() {
+    return queryCostPerThread;
+  }
 }
@@ -26,6 +26,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import org.apache.commons.configuration.Configuration;
+import org.apache.pinot.common.utils.VirtualThreadUtils;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
 import org.slf4j.Logger;
@@ -47,6 +48,17 @@ public abstract class ResourceManager {
 
   public static final String QUERY_RUNNER_CONFIG_KEY = "query_runner_threads";
   public static final String QUERY_WORKER_CONFIG_KEY = "query_worker_threads";
+  // Time slice for cooperative preemption of the query workers, time slicing is disabled if non-positive
+  public static final String QUERY_TIME_SLICE_MS_CONFIG_KEY = "query_time_slice_ms";
+  // Max number of worker threads actively executing queries when time slicing is enabled
+  public static final String QUERY_ACTIVE_WORKER_CONFIG_KEY = "query_active_worker_threads";
+  // Whether to run the query runners on virtual threads (requires Java 21 or later). Query runners mostly wait for the
+  // query workers, so with virtual threads the number of query runners (i.e. the max number of concurrent queries) can
+  // be configured much higher without exhausting the platform threads. Query workers are always platform threads.
+  public static final String QUERY_RUNNER_VIRTUAL_THREADS_CONFIG_KEY = "query_runner_virtual_threads";
+  public static final boolean DEFAULT_QUERY_RUNNER_VIRTUAL_THREADS = false;
+  public static final long DEFAULT_QUERY_TIME_SLICE_MS = 0;
+  public static final int DEFAULT_QUERY_ACTIVE_WORKER_THREADS;
   public static final int DEFAULT_QUERY_RUNNER_THREADS;
   public static final int DEFAULT_QUERY_WORKER_THREADS;
 
@@ -55,6 +67,7 @@ public abstract class ResourceManager {
     // arbitrary...but not completely arbitrary
     DEFAULT_QUERY_RUNNER_THREADS = numCores;
     DEFAULT_QUERY_WORKER_THREADS = 2 * numCores;
+    DEFAULT_QUERY_ACTIVE_WORKER_THREADS = numCores;
   }
 
   // set the main query runner priority higher than NORM but lower than MAX
@@ -69,6 +82,8 @@ public abstract class ResourceManager {
   protected final ListeningExecutorService queryWorkers;
   protected final int numQueryRunnerThreads;
   protected final int numQueryWorkerThreads;
+  // Time slicer for the query workers, null if time slicing is disabled
+  protected final QueryTimeSlicer queryTimeSlicer;
 
   /**
    * @param config configuration for initializing resource manager
@@ -80,9 +95,22 @@ public abstract class ResourceManager {
     LOGGER.info("Initializing with {} query runner threads and {} worker threads", numQueryRunnerThreads,
         numQueryWorkerThreads);
     // pqr -> pinot query runner (to give short names)
-    ThreadFactory queryRunnerFactory =
-        new ThreadFactoryBuilder().setDaemon(false).setPriority(QUERY_RUNNER_THREAD_PRIORITY).setNameFormat("pqr-%d")
-            .build();
+    ThreadFactory queryRunnerFactory = null;
+    if (config.getBoolean(QUERY_RUNNER_VIRTUAL_THREADS_CONFIG_KEY, DEFAULT_QUERY_RUNNER_VIRTUAL_THREADS)) {
+      queryRunnerFactory = VirtualThreadUtils.newVirtualThreadFactory("pqr-");
+      if (queryRunnerFactory != null) {
+        LOGGER.info("Using virtual threads for query runners");
+      } else {
+        LOGGER.warn("Virtual threads are not supported by the runtime, using platform threads for query runners");
+      }
+    }
+    if (queryRunnerFactory == null) {
+      queryRunnerFactory =
+          new ThreadFactoryBuilder().setDaemon(false).setPriority(QUERY_RUNNER_THREAD_PRIORITY).setNameFormat("pqr-%d")
+              .build();
+    }
+    // Virtual query runners are also pooled so that the number of concurrent queries stays bounded for the schedulers
+    // submitting queries directly to the query runners
     queryRunners =
         MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(numQueryRunnerThreads, queryRunnerFactory));
 
@@ -91,6 +119,19 @@ public abstract class ResourceManager {
         new ThreadFactoryBuilder().setDaemon(false).setPriority(Thread.NORM_PRIORITY).setNameFormat("pqw-%d").build();
     queryWorkers =
         MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(numQueryWorkerThreads, queryWorkersFactory));
+
+    long queryTimeSliceMs = config.getLong(QUERY_TIME_SLICE_MS_CONFIG_KEY, DEFAULT_QUERY_TIME_SLICE_MS);
+    if (queryTimeSliceMs > 0) {
+      // Active workers should be fewer than the worker threads, so that tasks of new queries can wait for a slot
+      // while the paused tasks hold their threads
+      int numActiveWorkerThreads = Math.min(config.getInt(QUERY_ACTIVE_WORKER_CONFIG_KEY,
+          DEFAULT_QUERY_ACTIVE_WORKER_THREADS), numQueryWorkerThreads);
+      LOGGER.info("Time slicing query workers with time slice: {}ms, active worker threads: {}", queryTimeSliceMs,
+          numActiveWorkerThreads);
+      queryTimeSlicer = new QueryTimeSlicer(queryTimeSliceMs, numActiveWorkerThreads);
+    } else {
+      queryTimeSlicer = null;
+    }
   }
 
   public void stop() {
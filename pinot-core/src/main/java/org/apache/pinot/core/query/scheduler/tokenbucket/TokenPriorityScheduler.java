@@ -23,10 +23,12 @@ import javax.annotation.Nonnull;
 import org.apache.commons.configuration.Configuration;
 import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.core.query.executor.QueryExecutor;
+import org.apache.pinot.core.query.scheduler.CostBasedGroupMapper;
 import org.apache.pinot.core.query.scheduler.MultiLevelPriorityQueue;
 import org.apache.pinot.core.query.scheduler.PriorityScheduler;
 import org.apache.pinot.core.query.scheduler.SchedulerGroup;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupFactory;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupMapper;
 import org.apache.pinot.core.query.scheduler.TableBasedGroupMapper;
 import org.apache.pinot.core.query.scheduler.resources.PolicyBasedResourceManager;
 import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
@@ -40,6 +42,8 @@ import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
 public class TokenPriorityScheduler extends PriorityScheduler {
   public static final String TOKENS_PER_MS_KEY = "tokens_per_ms";
   public static final String TOKEN_LIFETIME_MS_KEY = "token_lifetime_ms";
+  // Queries with estimated cost no less than this value are scheduled in a separate group, disabled if non-positive
+  public static final String EXPENSIVE_QUERY_COST_KEY = "expensive_query_cost";
   private static final int DEFAULT_TOKEN_LIFETIME_MS = 100;
 
   public static TokenPriorityScheduler create(@Nonnull Configuration config, @Nonnull QueryExecutor queryExecutor,
@@ -58,7 +62,10 @@ public class TokenPriorityScheduler extends PriorityScheduler {
       }
     };
 
-    MultiLevelPriorityQueue queue = new MultiLevelPriorityQueue(config, rm, groupFactory, new TableBasedGroupMapper());
+    long expensiveQueryCost = config.getLong(EXPENSIVE_QUERY_COST_KEY, 0);
+    SchedulerGroupMapper groupMapper =
+        expensiveQueryCost > 0 ? new CostBasedGroupMapper(expensiveQueryCost) : new TableBasedGroupMapper();
+    MultiLevelPriorityQueue queue = new MultiLevelPriorityQueue(config, rm, groupFactory, groupMapper);
     return new TokenPriorityScheduler(config, rm, queryExecutor, queue, metrics, latestQueryTime);
   }
 
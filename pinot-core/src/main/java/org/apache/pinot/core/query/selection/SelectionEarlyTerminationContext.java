@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.selection;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.request.Selection;
+import org.apache.pinot.common.request.SelectionSort;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.common.segment.SegmentMetadata;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+
+
+/**
+ * The {@code SelectionEarlyTerminationContext} class is shared by the selection operators of all the segments queried
+ * by a query, so that the segments can stop processing once the other segments have collected enough rows.
+ * <ul>
+ *   <li>
+ *     Selection only queries: the operators count the collected rows, and stop scanning once the total number of rows
+ *     collected by all the operators reaches the limit.
+ *   </li>
+ *   <li>
+ *     Selection order-by queries: once an operator has collected enough rows, the value of the first order-by
+ *     expression of its last row is a threshold that the final results cannot go beyond. If the first order-by
+ *     expression is a single-value column, a segment is pruned if its min (for ascending order) or max (for
+ *     descending order) value of the column is strictly worse than the threshold.
+ *   </li>
+ * </ul>
+ */
+@ThreadSafe
+@SuppressWarnings("unchecked")
+public class SelectionEarlyTerminationContext {
+  private final int _numRowsToKeep;
+  // Null for selection only queries, or if the first order-by expression is not a column
+  private final String _orderByColumn;
+  private final boolean _ascending;
+
+  private final AtomicLong _numRowsCollected = new AtomicLong();
+  private final AtomicReference<Comparable> _orderByThreshold = new AtomicReference<>();
+
+  private SelectionEarlyTerminationContext(int numRowsToKeep, @Nullable String orderByColumn, boolean ascending) {
+    _numRowsToKeep = numRowsToKeep;
+    _orderByColumn = orderByColumn;
+    _ascending = ascending;
+  }
+
+  /**
+   * Creates the context for the given broker request, or returns {@code null} if it is not a selection query that can
+   * be early terminated.
+   */
+  @Nullable
+  public static SelectionEarlyTerminationContext create(BrokerRequest brokerRequest) {
+    if (brokerRequest.isSetAggregationsInfo() || !brokerRequest.isSetSelections()) {
+      return null;
+    }
+    Selection selection = brokerRequest.getSelections();
+    if (selection.getSize() <= 0) {
+      return null;
+    }
+    List<SelectionSort> sortSequence = selection.getSelectionSortSequence();
+    if (sortSequence == null || sortSequence.isEmpty()) {
+      return new SelectionEarlyTerminationContext(selection.getSize(), null, true);
+    }
+    SelectionSort firstSort = sortSequence.get(0);
+    TransformExpressionTree firstOrderByExpression =
+        TransformExpressionTree.compileToExpressionTree(firstSort.getColumn());
+    String orderByColumn = firstOrderByExpression.isColumn() ? firstOrderByExpression.getValue() : null;
+    return new SelectionEarlyTerminationContext(selection.getOffset() + selection.getSize(), orderByColumn,
+        firstSort.isIsAsc());
+  }
+
+  /**
+   * Selection only queries: returns whether all the operators together have collected enough rows.
+   */
+  public boolean hasEnoughRows() {
+    return _numRowsCollected.get() >= _numRowsToKeep;
+  }
+
+  /**
+   * Selection only queries: adds the number of rows collected by an operator.
+   */
+  public void addRowsCollected(int numRows) {
+    _numRowsCollected.addAndGet(numRows);
+  }
+
+  /**
+   * Selection order-by queries: returns the min (for ascending order) or max (for descending order) value of the first
+   * order-by column in the given segment, or {@code null} if the segment cannot be pruned with the value.
+   */
+  @Nullable
+  public Comparable getBestOrderByValue(IndexSegment indexSegment) {
+    if (_orderByColumn == null) {
+      return null;
+    }
+    SegmentMetadata segmentMetadata = indexSegment.getSegmentMetadata();
+    if (!(segmentMetadata instanceof SegmentMetadataImpl)) {
+      return null;
+    }
+    ColumnMetadata columnMetadata = ((SegmentMetadataImpl) segmentMetadata).getColumnMetadataFor(_orderByColumn);
+    if (columnMetadata == null || !columnMetadata.isSingleValue() || !isComparable(columnMetadata.getDataType())) {
+      return null;
+    }
+    return _ascending ? columnMetadata.getMinValue() : columnMetadata.getMaxValue();
+  }
+
+  private static boolean isComparable(FieldSpec.DataType dataType) {
+    switch (dataType) {
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+      case STRING:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Selection order-by queries: updates the threshold with the value of the first order-by column of the last row
+   * kept by an operator that has collected enough rows.
+   */
+  public void updateOrderByThreshold(Comparable value) {
+    if (_orderByColumn == null) {
+      return;
+    }
+    Comparable currentThreshold;
+    do {
+      currentThreshold = _orderByThreshold.get();
+      if (currentThreshold != null && !isStrictlyBetter(value, currentThreshold)) {
+        return;
+      }
+    } while (!_orderByThreshold.compareAndSet(currentThreshold, value));
+  }
+
+  /**
+   * Selection order-by queries: returns whether the segment with the given best value (returned by
+   * {@link #getBestOrderByValue(IndexSegment)}) cannot contribute any row to the final results.
+   */
+  public boolean canPrune(@Nullable Comparable bestOrderByValue) {
+    if (bestOrderByValue == null) {
+      return false;
+    }
+    Comparable threshold = _orderByThreshold.get();
+    return threshold != null && threshold.getClass() == bestOrderByValue.getClass()
+        && isStrictlyBetter(threshold, bestOrderByValue);
+  }
+
+  private boolean isStrictlyBetter(Comparable value1, Comparable value2) {
+    return compareOrderByValues(value1, value2) < 0;
+  }
+
+  /**
+   * Compares the order-by values so that the better value is smaller.
+   */
+  private int compareOrderByValues(Comparable value1, Comparable value2) {
+    int result = value1.compareTo(value2);
+    return _ascending ? result : -result;
+  }
+
+  /**
+   * Selection order-by queries: sorts the segments so that the segments with better values of the first order-by
+   * column are processed first, which tightens the threshold early and prunes more segments. Segments without the
+   * value are processed last.
+   */
+  public void sortSegments(List<IndexSegment> indexSegments) {
+    if (_orderByColumn == null || indexSegments.size() <= 1) {
+      return;
+    }
+    Map<IndexSegment, Comparable> bestOrderByValues = new IdentityHashMap<>(indexSegments.size());
+    for (IndexSegment indexSegment : indexSegments) {
+      bestOrderByValues.put(indexSegment, getBestOrderByValue(indexSegment));
+    }
+    indexSegments.sort(Comparator.comparing(bestOrderByValues::get, Comparator.nullsLast(this::compareOrderByValues)));
+  }
+}
@@ -135,6 +135,7 @@ public class RealtimeSegmentConverter {
     genConfig.setSegmentName(segmentName);
     SegmentPartitionConfig segmentPartitionConfig = realtimeSegmentImpl.getSegmentPartitionConfig();
     genConfig.setSegmentPartitionConfig(segmentPartitionConfig);
+    genConfig.setNullHandlingEnabled(realtimeSegmentImpl.isNullHandlingEnabled());
     final SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
     RealtimeSegmentSegmentCreationDataSource dataSource =
         new RealtimeSegmentSegmentCreationDataSource(realtimeSegmentImpl, reader, dataSchema);
@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.realtime.impl;
 
+import java.util.Collections;
 import java.util.Set;
 import org.apache.pinot.common.config.SegmentPartitionConfig;
 import org.apache.pinot.common.data.Schema;
@@ -34,19 +35,24 @@ public class RealtimeSegmentConfig {
   private final Set<String> _noDictionaryColumns;
   private final Set<String> _varLengthDictionaryColumns;
   private final Set<String> _invertedIndexColumns;
+  private final Set<String> _textIndexColumns;
+  private final Set<String> _jsonIndexColumns;
+  private final Set<String> _geoIndexColumns;
   private final RealtimeSegmentZKMetadata _realtimeSegmentZKMetadata;
   private final boolean _offHeap;
   private final PinotDataBufferMemoryManager _memoryManager;
   private final RealtimeSegmentStatsHistory _statsHistory;
   private final SegmentPartitionConfig _segmentPartitionConfig;
   private final boolean _aggregateMetrics;
+  private final boolean _nullHandlingEnabled;
 
   private RealtimeSegmentConfig(String segmentName, String streamName, Schema schema, int capacity,
       int avgNumMultiValues, Set<String> noDictionaryColumns, Set<String> varLengthDictionaryColumns,
-      Set<String> invertedIndexColumns, RealtimeSegmentZKMetadata realtimeSegmentZKMetadata,
+      Set<String> invertedIndexColumns, Set<String> textIndexColumns, Set<String> jsonIndexColumns,
+      Set<String> geoIndexColumns, RealtimeSegmentZKMetadata realtimeSegmentZKMetadata,
       boolean offHeap, PinotDataBufferMemoryManager memoryManager,
       RealtimeSegmentStatsHistory statsHistory, SegmentPartitionConfig segmentPartitionConfig,
-      boolean aggregateMetrics) {
+      boolean aggregateMetrics, boolean nullHandlingEnabled) {
     _segmentName = segmentName;
     _streamName = streamName;
     _schema = schema;
@@ -55,12 +61,16 @@ public class RealtimeSegmentConfig {
     _noDictionaryColumns = noDictionaryColumns;
     _varLengthDictionaryColumns = varLengthDictionaryColumns;
     _invertedIndexColumns = invertedIndexColumns;
+    _textIndexColumns = textIndexColumns;
+    _jsonIndexColumns = jsonIndexColumns;
+    _geoIndexColumns = geoIndexColumns;
     _realtimeSegmentZKMetadata = realtimeSegmentZKMetadata;
     _offHeap = offHeap;
     _memoryManager = memoryManager;
     _statsHistory = statsHistory;
     _segmentPartitionConfig = segmentPartitionConfig;
     _aggregateMetrics = aggregateMetrics;
+    _nullHandlingEnabled = nullHandlingEnabled;
   }
 
   public String getSegmentName() {
@@ -95,6 +105,18 @@ public class RealtimeSegmentConfig {
     return _invertedIndexColumns;
   }
 
+  public Set<String> getTextIndexColumns() {
+    return _textIndexColumns;
+  }
+
+  public Set<String> getJsonIndexColumns() {
+    return _jsonIndexColumns;
+  }
+
+  public Set<String> getGeoIndexColumns() {
+    return _geoIndexColumns;
+  }
+
   public RealtimeSegmentZKMetadata getRealtimeSegmentZKMetadata() {
     return _realtimeSegmentZKMetadata;
   }
@@ -119,6 +141,10 @@ public class RealtimeSegmentConfig {
     return _aggregateMetrics;
   }
 
+  public boolean isNullHandlingEnabled() {
+    return _nullHandlingEnabled;
+  }
+
   public static class Builder {
     private String _segmentName;
     private String _streamName;
@@ -128,12 +154,16 @@ public class RealtimeSegmentConfig {
     private Set<String> _noDictionaryColumns;
     private Set<String> _varLengthDictionaryColumns;
     private Set<String> _invertedIndexColumns;
+    private Set<String> _textIndexColumns = Collections.emptySet();
+    private Set<String> _jsonIndexColumns = Collections.emptySet();
+    private Set<String> _geoIndexColumns = Collections.emptySet();
     private RealtimeSegmentZKMetadata _realtimeSegmentZKMetadata;
     private boolean _offHeap;
     private PinotDataBufferMemoryManager _memoryManager;
     private RealtimeSegmentStatsHistory _statsHistory;
     private SegmentPartitionConfig _segmentPartitionConfig;
     private boolean _aggregateMetrics = false;
+    private boolean _nullHandlingEnabled = false;
 
     public Builder() {
     }
@@ -178,6 +208,21 @@ public class RealtimeSegmentConfig {
       return this;
     }
 
+    public Builder setTextIndexColumns(Set<String> textIndexColumns) {
+      _textIndexColumns = textIndexColumns;
+      return this;
+    }
+
+    public Builder setJsonIndexColumns(Set<String> jsonIndexColumns) {
+      _jsonIndexColumns = jsonIndexColumns;
+      return this;
+    }
+
+    public Builder setGeoIndexColumns(Set<String> geoIndexColumns) {
+      _geoIndexColumns = geoIndexColumns;
+      return this;
+    }
+
     public Builder setRealtimeSegmentZKMetadata(RealtimeSegmentZKMetadata realtimeSegmentZKMetadata) {
       _realtimeSegmentZKMetadata = realtimeSegmentZKMetadata;
       return this;
@@ -208,11 +253,17 @@ public class RealtimeSegmentConfig {
       return this;
     }
 
+    public Builder setNullHandlingEnabled(boolean nullHandlingEnabled) {
+      _nullHandlingEnabled = nullHandlingEnabled;
+      return this;
+    }
+
     public RealtimeSegmentConfig build() {
       return new RealtimeSegmentConfig(_segmentName, _streamName, _schema, _capacity, _avgNumMultiValues,
-          _noDictionaryColumns, _varLengthDictionaryColumns, _invertedIndexColumns,
-          _realtimeSegmentZKMetadata, _offHeap, _memoryManager,
-          _statsHistory, _segmentPartitionConfig, _aggregateMetrics);
+          _noDictionaryColumns, _varLengthDictionaryColumns, _invertedIndexColumns, _textIndexColumns,
+          _jsonIndexColumns, _geoIndexColumns, _realtimeSegmentZKMetadata, _offHeap, _memoryManager,
+          _statsHistory, _segmentPartitionConfig, _aggregateMetrics,
+          _nullHandlingEnabled);
     }
   }
 }
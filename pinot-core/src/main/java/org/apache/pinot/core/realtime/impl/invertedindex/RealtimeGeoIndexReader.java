@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.realtime.impl.invertedindex;
+
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.apache.pinot.core.geospatial.GeoCells;
+import org.apache.pinot.core.geospatial.GeoPoint;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Real-time geo index reader which allows adding values on the fly.
+ * <p>The cells are kept in a sorted concurrent map so that range lookups only visit the cells inside the ranges.
+ * <p>This class is thread-safe for single writer multiple readers.
+ */
+public class RealtimeGeoIndexReader implements GeoIndexReader {
+  private final ConcurrentNavigableMap<Long, ThreadSafeMutableRoaringBitmap> _postingLists =
+      new ConcurrentSkipListMap<>();
+  private final int _level;
+
+  public RealtimeGeoIndexReader() {
+    this(GeoCells.DEFAULT_INDEX_LEVEL);
+  }
+
+  public RealtimeGeoIndexReader(int level) {
+    _level = level;
+  }
+
+  /**
+   * Adds the value of the given document. Values that are not valid geo points are not indexed.
+   */
+  public void add(int docId, String value) {
+    GeoPoint geoPoint = GeoPoint.fromString(value);
+    if (geoPoint == null) {
+      return;
+    }
+    long cellId = GeoCells.getCellId(geoPoint.getLatitude(), geoPoint.getLongitude(), _level);
+    ThreadSafeMutableRoaringBitmap postingList = _postingLists.get(cellId);
+    if (postingList == null) {
+      _postingLists.put(cellId, new ThreadSafeMutableRoaringBitmap(docId));
+    } else {
+      postingList.checkAndAdd(docId);
+    }
+  }
+
+  @Override
+  public int getLevel() {
+    return _level;
+  }
+
+  @Override
+  public MutableRoaringBitmap getDocIds(long[] cellRanges) {
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    for (int i = 0; i < cellRanges.length; i += 2) {
+      for (ThreadSafeMutableRoaringBitmap postingList : _postingLists
+          .subMap(cellRanges[i], true, cellRanges[i + 1], true).values()) {
+        postingList.orInto(docIds);
+      }
+    }
+    return docIds;
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Helper wrapper class for {@link MutableRoaringBitmap} to make it thread-safe.
+   */
+  private static class ThreadSafeMutableRoaringBitmap {
+    private MutableRoaringBitmap _mutableRoaringBitmap;
+
+    public ThreadSafeMutableRoaringBitmap(int firstDocId) {
+      _mutableRoaringBitmap = new MutableRoaringBitmap();
+      _mutableRoaringBitmap.add(firstDocId);
+    }
+
+    public void checkAndAdd(int docId) {
+      if (!_mutableRoaringBitmap.contains(docId)) {
+        synchronized (this) {
+          _mutableRoaringBitmap.add(docId);
+        }
+      }
+    }
+
+    public synchronized void orInto(MutableRoaringBitmap docIds) {
+      docIds.or(_mutableRoaringBitmap);
+    }
+  }
+}
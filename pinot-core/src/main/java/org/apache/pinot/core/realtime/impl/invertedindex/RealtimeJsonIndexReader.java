@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.realtime.impl.invertedindex;
+
+import org.apache.pinot.core.json.JsonFlattener;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Real-time JSON index reader which allows adding JSON documents on the fly.
+ * <p>This class is thread-safe for single writer multiple readers.
+ */
+public class RealtimeJsonIndexReader implements JsonIndexReader {
+  private final RealtimeTextIndexReader _termIndexReader = new RealtimeTextIndexReader();
+
+  /**
+   * Adds the JSON document of the given document id.
+   */
+  public void add(int docId, String json) {
+    _termIndexReader.addTerms(docId, JsonFlattener.getTerms(json));
+  }
+
+  @Override
+  public MutableRoaringBitmap getDocIds(String path, String value) {
+    return _termIndexReader.getDocIds(JsonFlattener.getTerm(path, value));
+  }
+
+  @Override
+  public MutableRoaringBitmap getDocIdsWithPath(String path) {
+    return _termIndexReader.getDocIdsForPrefix(JsonFlattener.getTermPrefix(path));
+  }
+
+  @Override
+  public void close() {
+    _termIndexReader.close();
+  }
+}
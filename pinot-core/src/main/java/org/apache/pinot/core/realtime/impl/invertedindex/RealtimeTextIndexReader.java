@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.realtime.impl.invertedindex;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
+import org.apache.pinot.core.text.TextTokenizer;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Real-time text index reader which allows adding values on the fly.
+ * <p>The terms are kept in a sorted concurrent map so that prefix lookups only visit the terms with the prefix.
+ * <p>This class is thread-safe for single writer multiple readers.
+ */
+public class RealtimeTextIndexReader implements TextIndexReader {
+  private final ConcurrentNavigableMap<String, ThreadSafeMutableRoaringBitmap> _postingLists =
+      new ConcurrentSkipListMap<>();
+
+  /**
+   * Adds the value of the given document.
+   */
+  public void add(int docId, String value) {
+    addTerms(docId, TextTokenizer.getTerms(value));
+  }
+
+  /**
+   * Adds the distinct terms of the given document.
+   */
+  public void addTerms(int docId, Collection<String> terms) {
+    for (String term : terms) {
+      ThreadSafeMutableRoaringBitmap postingList = _postingLists.get(term);
+      if (postingList == null) {
+        _postingLists.put(term, new ThreadSafeMutableRoaringBitmap(docId));
+      } else {
+        postingList.checkAndAdd(docId);
+      }
+    }
+  }
+
+  @Override
+  public MutableRoaringBitmap getDocIds(String term) {
+    ThreadSafeMutableRoaringBitmap postingList = _postingLists.get(term);
+    if (postingList == null) {
+      return new MutableRoaringBitmap();
+    }
+    return postingList.getMutableRoaringBitmap();
+  }
+
+  @Override
+  public MutableRoaringBitmap getDocIdsForPrefix(String prefix) {
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    for (Map.Entry<String, ThreadSafeMutableRoaringBitmap> entry : _postingLists.tailMap(prefix).entrySet()) {
+      if (!entry.getKey().startsWith(prefix)) {
+        break;
+      }
+      entry.getValue().orInto(docIds);
+    }
+    return docIds;
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Helper wrapper class for {@link MutableRoaringBitmap} to make it thread-safe.
+   */
+  private static class ThreadSafeMutableRoaringBitmap {
+    private MutableRoaringBitmap _mutableRoaringBitmap;
+
+    public ThreadSafeMutableRoaringBitmap(int firstDocId) {
+      _mutableRoaringBitmap = new MutableRoaringBitmap();
+      _mutableRoaringBitmap.add(firstDocId);
+    }
+
+    public void checkAndAdd(int docId) {
+      if (!_mutableRoaringBitmap.contains(docId)) {
+        synchronized (this) {
+          _mutableRoaringBitmap.add(docId);
+        }
+      }
+    }
+
+    public synchronized MutableRoaringBitmap getMutableRoaringBitmap() {
+      return _mutableRoaringBitmap.clone();
+    }
+
+    public synchronized void orInto(MutableRoaringBitmap docIds) {
+      docIds.or(_mutableRoaringBitmap);
+    }
+  }
+}
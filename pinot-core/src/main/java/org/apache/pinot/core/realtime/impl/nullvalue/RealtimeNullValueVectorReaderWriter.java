@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.realtime.impl.nullvalue;
+
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Null value vector for the consuming segments, which is updated by the consuming thread and read by the query
+ * threads concurrently.
+ */
+public class RealtimeNullValueVectorReaderWriter implements NullValueVectorReader {
+  private final MutableRoaringBitmap _nullBitmap = new MutableRoaringBitmap();
+  // Snapshot of the null bitmap shared by the queries until the next document with null value is indexed
+  private volatile ImmutableRoaringBitmap _nullBitmapSnapshot = new MutableRoaringBitmap();
+
+  /**
+   * Marks the value of the given document as null.
+   */
+  public synchronized void setNull(int docId) {
+    _nullBitmap.add(docId);
+    _nullBitmapSnapshot = null;
+  }
+
+  @Override
+  public synchronized boolean isNull(int docId) {
+    return _nullBitmap.contains(docId);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>Returns a snapshot of the null value vector, which is not affected by the documents indexed afterwards. The
+   * snapshot is only copied when new documents with null value were indexed since the last snapshot, so the queries
+   * do not copy the bitmap for each call.
+   */
+  @Override
+  public ImmutableRoaringBitmap getNullBitmap() {
+    ImmutableRoaringBitmap nullBitmapSnapshot = _nullBitmapSnapshot;
+    if (nullBitmapSnapshot != null) {
+      return nullBitmapSnapshot;
+    }
+    synchronized (this) {
+      if (_nullBitmapSnapshot == null) {
+        _nullBitmapSnapshot = _nullBitmap.clone();
+      }
+      return _nullBitmapSnapshot;
+    }
+  }
+}
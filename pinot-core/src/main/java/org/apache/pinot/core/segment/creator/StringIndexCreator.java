@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator;
+
+import java.io.Closeable;
+
+
+/**
+ * Creator for the indexes built from the values of a single-value string column (e.g. text, JSON and geo index).
+ * <p>To create the index, call {@link #add(int, String)} for each document in ascending order of the document ids,
+ * then call {@link #close()} to seal the index and flush it to disk.
+ */
+public interface StringIndexCreator extends Closeable {
+
+  /**
+   * Adds the value of the given document. Document ids need to be added in ascending order.
+   */
+  void add(int docId, String value);
+}
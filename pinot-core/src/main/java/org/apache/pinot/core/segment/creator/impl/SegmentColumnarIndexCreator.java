@@ -57,8 +57,10 @@ import org.apache.pinot.core.segment.creator.impl.fwd.SingleValueFixedByteRawInd
 import org.apache.pinot.core.segment.creator.impl.fwd.SingleValueSortedForwardIndexCreator;
 import org.apache.pinot.core.segment.creator.impl.fwd.SingleValueUnsortedForwardIndexCreator;
 import org.apache.pinot.core.segment.creator.impl.fwd.SingleValueVarByteRawIndexCreator;
+import org.apache.pinot.core.segment.creator.impl.geo.GeoIndexCreator;
 import org.apache.pinot.core.segment.creator.impl.inv.OffHeapBitmapInvertedIndexCreator;
 import org.apache.pinot.core.segment.creator.impl.inv.OnHeapBitmapInvertedIndexCreator;
+import org.apache.pinot.core.segment.creator.impl.nullvalue.NullValueVectorCreator;
 import org.apache.pinot.startree.hll.HllConfig;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
@@ -82,6 +84,8 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
   private Map<String, SegmentDictionaryCreator> _dictionaryCreatorMap = new HashMap<>();
   private Map<String, ForwardIndexCreator> _forwardIndexCreatorMap = new HashMap<>();
   private Map<String, InvertedIndexCreator> _invertedIndexCreatorMap = new HashMap<>();
+  private Map<String, NullValueVectorCreator> _nullValueVectorCreatorMap = new HashMap<>();
+  private Map<String, GeoIndexCreator> _geoIndexCreatorMap = new HashMap<>();
   private String segmentName;
   private Schema schema;
   private File _indexDir;
@@ -116,6 +120,7 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
           "Cannot create inverted index for column: %s because it is not in schema", columnName);
       invertedIndexColumns.add(columnName);
     }
+    Set<String> geoIndexColumns = new HashSet<>(config.getGeoIndexCreationColumns());
 
     // Initialize creators for dictionary, forward index and inverted index
     for (FieldSpec fieldSpec : fieldSpecs) {
@@ -128,6 +133,21 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
       ColumnIndexCreationInfo indexCreationInfo = indexCreationInfoMap.get(columnName);
       Preconditions.checkNotNull(indexCreationInfo, "Missing index creation info for column: %s", columnName);
 
+      // Initialize null value vector creator
+      if (segmentCreationSpec.isNullHandlingEnabled()) {
+        _nullValueVectorCreatorMap.put(columnName, new NullValueVectorCreator(_indexDir, columnName));
+      }
+
+      // Initialize geo index creator, which is only supported on single-value string (including GEO_POINT) columns
+      if (geoIndexColumns.contains(columnName)) {
+        if (fieldSpec.isSingleValueField() && fieldSpec.getDataType() == FieldSpec.DataType.STRING) {
+          _geoIndexCreatorMap.put(columnName, new GeoIndexCreator(_indexDir, columnName));
+        } else {
+          LOGGER.warn("Geo index is only supported for single-value string columns, skipping column: {}",
+              columnName);
+        }
+      }
+
       if (createDictionaryForColumn(indexCreationInfo, segmentCreationSpec, fieldSpec)) {
         // Create dictionary-encoded index
 
@@ -249,6 +269,10 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
       return false;
     } else if (spec.getDataType().equals(FieldSpec.DataType.BYTES) && !info.isFixedLength()) {
       return false;
+    } else if (spec.getDeclaredDataType() == FieldSpec.DataType.JSON && spec.isSingleValueField()
+        && !config.getInvertedIndexCreationColumns().contains(column)) {
+      // JSON documents are long and mostly unique, so store them in the raw index unless inverted index is required
+      return false;
     }
     return info.isCreateDictionary();
   }
@@ -273,6 +297,10 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
           ((SingleValueRawIndexCreator) _forwardIndexCreatorMap.get(columnName))
               .index(docIdCounter, columnValueToIndex);
         }
+        GeoIndexCreator geoIndexCreator = _geoIndexCreatorMap.get(columnName);
+        if (geoIndexCreator != null) {
+          geoIndexCreator.add(docIdCounter, (String) columnValueToIndex);
+        }
       } else {
         int[] dictIds = dictionaryCreator.indexOfMV(columnValueToIndex);
         ((MultiValueForwardIndexCreator) _forwardIndexCreatorMap.get(columnName)).index(docIdCounter, dictIds);
@@ -281,6 +309,12 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
         }
       }
     }
+    for (String nullValueField : row.getNullValueFields()) {
+      NullValueVectorCreator nullValueVectorCreator = _nullValueVectorCreatorMap.get(nullValueField);
+      if (nullValueVectorCreator != null) {
+        nullValueVectorCreator.setNull(docIdCounter);
+      }
+    }
     docIdCounter++;
   }
 
@@ -295,6 +329,12 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
     for (InvertedIndexCreator invertedIndexCreator : _invertedIndexCreatorMap.values()) {
       invertedIndexCreator.seal();
     }
+    for (NullValueVectorCreator nullValueVectorCreator : _nullValueVectorCreatorMap.values()) {
+      nullValueVectorCreator.close();
+    }
+    for (GeoIndexCreator geoIndexCreator : _geoIndexCreatorMap.values()) {
+      geoIndexCreator.close();
+    }
     writeMetadata();
   }
 
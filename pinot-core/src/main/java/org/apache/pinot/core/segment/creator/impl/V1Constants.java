@@ -39,6 +39,10 @@ public class V1Constants {
     public static final String UNSORTED_MV_FORWARD_INDEX_FILE_EXTENSION = ".mv.fwd";
     public static final String BITMAP_INVERTED_INDEX_FILE_EXTENSION = ".bitmap.inv";
     public static final String BLOOM_FILTER_FILE_EXTENSION = ".bloom";
+    public static final String TEXT_INDEX_FILE_EXTENSION = ".text.inv";
+    public static final String JSON_INDEX_FILE_EXTENSION = ".json.inv";
+    public static final String NULLVALUE_VECTOR_FILE_EXTENSION = ".bitmap.nullvalue";
+    public static final String GEO_INDEX_FILE_EXTENSION = ".geo.inv";
   }
 
   public static class MetadataKeys {
@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import org.apache.pinot.core.bloom.BloomFilter;
+import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.bloom.BloomFilterUtil;
 import org.apache.pinot.core.bloom.SegmentBloomFilterFactory;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
@@ -32,8 +33,8 @@ import org.apache.pinot.core.segment.creator.impl.V1Constants;
  * Bloom filter creator
  *
  * Note:
- * 1. Currently, we limit the filter size to 1MB to avoid the heap overhead. We can remove it once we have the offheap
- *    implementation of the bloom filter.
+ * 1. Currently, we limit the filter size to 1MB to avoid the heap overhead. The {@link BloomFilterType#BLOCKED_OFF_HEAP}
+ *    bloom filter is read from the data buffer without heap overhead, but shares the same limit on the file size.
  * 2. When capping the bloom filter to 1MB, max false pos steeply grows from 1 million cardinality. If the column has
  *    larger than "5 million" cardinality, it is not recommended to use bloom filter since maxFalsePosProb is already
  *    0.45 when the filter size is 1MB.
@@ -46,10 +47,15 @@ public class BloomFilterCreator implements AutoCloseable {
   private File _bloomFilterFile;
 
   public BloomFilterCreator(File indexDir, String columnName, int cardinality) {
+    this(indexDir, columnName, cardinality, BloomFilterType.GUAVA_ON_HEAP);
+  }
+
+  public BloomFilterCreator(File indexDir, String columnName, int cardinality, BloomFilterType bloomFilterType) {
     _bloomFilterFile = new File(indexDir, columnName + V1Constants.Indexes.BLOOM_FILTER_FILE_EXTENSION);
     double maxFalsePosProbability = BloomFilterUtil
         .computeMaxFalsePositiveProbabilityForNumBits(cardinality, MB_IN_BITS, DEFAULT_MAX_FALSE_POS_PROBABILITY);
-    _bloomFilter = SegmentBloomFilterFactory.createSegmentBloomFilter(cardinality, maxFalsePosProbability);
+    _bloomFilter = SegmentBloomFilterFactory
+        .createSegmentBloomFilter(bloomFilterType, cardinality, maxFalsePosProbability, MB_IN_BITS);
   }
 
   @Override
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl.geo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.pinot.core.geospatial.GeoCells;
+import org.apache.pinot.core.geospatial.GeoPoint;
+import org.apache.pinot.core.segment.creator.StringIndexCreator;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Geo index creator, which maps the {@link GeoCells} at the index level to the documents with the geo points inside
+ * them. Values that are not valid geo points (see {@link GeoPoint#fromString(String)}) are not indexed.
+ * <p>Serialized format (big-endian):
+ * <ul>
+ *   <li>Version (int), index level (int) and number of cells (int)</li>
+ *   <li>Cell ids: numCells sorted longs</li>
+ *   <li>Bitmap offsets: (numCells + 1) ints, the serialized roaring bitmaps of the cells</li>
+ *   <li>Bitmaps</li>
+ * </ul>
+ * All the offsets are from the start of the index.
+ */
+public class GeoIndexCreator implements StringIndexCreator {
+  // Increment the version when the geo index format becomes backward incompatible
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+  private final File _geoIndexFile;
+  private final int _level;
+  private final Map<Long, MutableRoaringBitmap> _postingLists = new HashMap<>();
+
+  public GeoIndexCreator(File indexDir, String columnName) {
+    this(indexDir, columnName, GeoCells.DEFAULT_INDEX_LEVEL);
+  }
+
+  public GeoIndexCreator(File indexDir, String columnName, int level) {
+    _geoIndexFile = new File(indexDir, columnName + V1Constants.Indexes.GEO_INDEX_FILE_EXTENSION);
+    _level = level;
+  }
+
+  /**
+   * Adds the value of the given document. Document ids need to be added in ascending order.
+   */
+  @Override
+  public void add(int docId, String value) {
+    GeoPoint geoPoint = GeoPoint.fromString(value);
+    if (geoPoint == null) {
+      return;
+    }
+    long cellId = GeoCells.getCellId(geoPoint.getLatitude(), geoPoint.getLongitude(), _level);
+    MutableRoaringBitmap postingList = _postingLists.get(cellId);
+    if (postingList == null) {
+      postingList = new MutableRoaringBitmap();
+      _postingLists.put(cellId, postingList);
+    }
+    postingList.add(docId);
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    int numCells = _postingLists.size();
+    long[] sortedCellIds = new long[numCells];
+    int index = 0;
+    for (long cellId : _postingLists.keySet()) {
+      sortedCellIds[index++] = cellId;
+    }
+    Arrays.sort(sortedCellIds);
+
+    MutableRoaringBitmap[] postingLists = new MutableRoaringBitmap[numCells];
+    int offset = HEADER_SIZE + numCells * Long.BYTES + (numCells + 1) * Integer.BYTES;
+    int[] bitmapOffsets = new int[numCells + 1];
+    for (int i = 0; i < numCells; i++) {
+      postingLists[i] = _postingLists.get(sortedCellIds[i]);
+      postingLists[i].runOptimize();
+      bitmapOffsets[i] = offset;
+      offset += postingLists[i].serializedSizeInBytes();
+    }
+    bitmapOffsets[numCells] = offset;
+
+    try (DataOutputStream outputStream = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(_geoIndexFile)))) {
+      outputStream.writeInt(VERSION);
+      outputStream.writeInt(_level);
+      outputStream.writeInt(numCells);
+      for (long cellId : sortedCellIds) {
+        outputStream.writeLong(cellId);
+      }
+      for (int bitmapOffset : bitmapOffsets) {
+        outputStream.writeInt(bitmapOffset);
+      }
+      for (MutableRoaringBitmap postingList : postingLists) {
+        postingList.serialize(outputStream);
+      }
+    }
+    _postingLists.clear();
+  }
+}
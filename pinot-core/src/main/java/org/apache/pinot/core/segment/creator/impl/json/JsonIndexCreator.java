@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl.json;
+
+import java.io.File;
+import java.io.IOException;
+import org.apache.pinot.core.json.JsonFlattener;
+import org.apache.pinot.core.segment.creator.StringIndexCreator;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.text.TextIndexCreator;
+
+
+/**
+ * JSON index creator, which flattens the JSON documents into path-value terms with {@link JsonFlattener}.
+ * <p>The index shares the serialized format of the text index (sorted terms with their posting bitmaps), with the
+ * path-value terms instead of the text tokens.
+ */
+public class JsonIndexCreator implements StringIndexCreator {
+  private final TextIndexCreator _termIndexCreator;
+
+  public JsonIndexCreator(File indexDir, String columnName) {
+    _termIndexCreator =
+        new TextIndexCreator(new File(indexDir, columnName + V1Constants.Indexes.JSON_INDEX_FILE_EXTENSION));
+  }
+
+  /**
+   * Adds the JSON document of the given document id. Document ids need to be added in ascending order.
+   */
+  @Override
+  public void add(int docId, String json) {
+    _termIndexCreator.addTerms(docId, JsonFlattener.getTerms(json));
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    _termIndexCreator.close();
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl.nullvalue;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Null value vector creator, which records the document ids whose value was null before
+ * {@link org.apache.pinot.core.data.recordtransformer.NullValueTransformer} replaced it with the default null value.
+ * <p>The vector is serialized as a single roaring bitmap.
+ */
+public class NullValueVectorCreator implements AutoCloseable {
+  private final File _nullValueVectorFile;
+  private final MutableRoaringBitmap _nullBitmap = new MutableRoaringBitmap();
+
+  public NullValueVectorCreator(File indexDir, String columnName) {
+    _nullValueVectorFile = new File(indexDir, columnName + V1Constants.Indexes.NULLVALUE_VECTOR_FILE_EXTENSION);
+  }
+
+  /**
+   * Marks the value of the given document as null.
+   */
+  public void setNull(int docId) {
+    _nullBitmap.add(docId);
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    _nullBitmap.runOptimize();
+    try (DataOutputStream outputStream = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(_nullValueVectorFile)))) {
+      _nullBitmap.serialize(outputStream);
+    }
+  }
+}
@@ -53,6 +53,8 @@ public class SegmentPreIndexStatsCollectorImpl implements SegmentPreIndexStatsCo
       String column = spec.getName();
       switch (spec.getDataType()) {
         case BOOLEAN:
+        case JSON:
+        case GEO_POINT:
         case STRING:
           columnStatsCollectorMap
               .put(spec.getName(), new StringColumnPreIndexStatsCollector(column, _statsCollectorConfig));
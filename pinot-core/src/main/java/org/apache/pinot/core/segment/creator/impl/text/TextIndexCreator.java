@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.creator.impl.text;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.pinot.core.segment.creator.StringIndexCreator;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.text.TextTokenizer;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Text index creator, which tokenizes the values with {@link TextTokenizer} and keeps an on-heap posting list for
+ * each term before serializing the index.
+ * <p>Serialized format (big-endian):
+ * <ul>
+ *   <li>Version (int) and number of terms (int)</li>
+ *   <li>Term offsets: (numTerms + 1) ints, the UTF-8 bytes of the terms sorted in unsigned byte order</li>
+ *   <li>Bitmap offsets: (numTerms + 1) ints, the serialized roaring bitmaps of the terms</li>
+ *   <li>Term bytes</li>
+ *   <li>Bitmaps</li>
+ * </ul>
+ * All the offsets are from the start of the index.
+ */
+public class TextIndexCreator implements StringIndexCreator {
+  // Increment the version when the text index format becomes backward incompatible
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  private final File _textIndexFile;
+  private final Map<String, MutableRoaringBitmap> _postingLists = new HashMap<>();
+
+  public TextIndexCreator(File indexDir, String columnName) {
+    this(new File(indexDir, columnName + V1Constants.Indexes.TEXT_INDEX_FILE_EXTENSION));
+  }
+
+  /**
+   * Creates the index of the same format into the given file, where the terms are provided by the caller through
+   * {@link #addTerms(int, Collection)}.
+   */
+  public TextIndexCreator(File indexFile) {
+    _textIndexFile = indexFile;
+  }
+
+  /**
+   * Adds the value of the given document. Document ids need to be added in ascending order.
+   */
+  @Override
+  public void add(int docId, String value) {
+    addTerms(docId, TextTokenizer.getTerms(value));
+  }
+
+  /**
+   * Adds the distinct terms of the given document. Document ids need to be added in ascending order.
+   */
+  public void addTerms(int docId, Collection<String> terms) {
+    for (String term : terms) {
+      MutableRoaringBitmap postingList = _postingLists.get(term);
+      if (postingList == null) {
+        postingList = new MutableRoaringBitmap();
+        _postingLists.put(term, postingList);
+      }
+      postingList.add(docId);
+    }
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    int numTerms = _postingLists.size();
+    byte[][] sortedTerms = new byte[numTerms][];
+    int index = 0;
+    for (String term : _postingLists.keySet()) {
+      sortedTerms[index++] = term.getBytes(StandardCharsets.UTF_8);
+    }
+    Arrays.sort(sortedTerms, UnsignedBytes.lexicographicalComparator());
+
+    MutableRoaringBitmap[] postingLists = new MutableRoaringBitmap[numTerms];
+    int offset = HEADER_SIZE + 2 * (numTerms + 1) * Integer.BYTES;
+    int[] termOffsets = new int[numTerms + 1];
+    for (int i = 0; i < numTerms; i++) {
+      termOffsets[i] = offset;
+      offset += sortedTerms[i].length;
+      postingLists[i] = _postingLists.get(new String(sortedTerms[i], StandardCharsets.UTF_8));
+      postingLists[i].runOptimize();
+    }
+    termOffsets[numTerms] = offset;
+    int[] bitmapOffsets = new int[numTerms + 1];
+    for (int i = 0; i < numTerms; i++) {
+      bitmapOffsets[i] = offset;
+      offset += postingLists[i].serializedSizeInBytes();
+    }
+    bitmapOffsets[numTerms] = offset;
+
+    try (DataOutputStream outputStream = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(_textIndexFile)))) {
+      outputStream.writeInt(VERSION);
+      outputStream.writeInt(numTerms);
+      for (int termOffset : termOffsets) {
+        outputStream.writeInt(termOffset);
+      }
+      for (int bitmapOffset : bitmapOffsets) {
+        outputStream.writeInt(bitmapOffset);
+      }
+      for (byte[] term : sortedTerms) {
+        outputStream.write(term);
+      }
+      for (MutableRoaringBitmap postingList : postingLists) {
+        postingList.serialize(outputStream);
+      }
+    }
+    _postingLists.clear();
+  }
+}
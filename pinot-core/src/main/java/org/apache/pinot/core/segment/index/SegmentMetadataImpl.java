@@ -531,6 +531,26 @@ public class SegmentMetadataImpl implements SegmentMetadata {
     return column + V1Constants.Indexes.BLOOM_FILTER_FILE_EXTENSION;
   }
 
+  @Override
+  public String getTextIndexFileName(String column) {
+    return column + V1Constants.Indexes.TEXT_INDEX_FILE_EXTENSION;
+  }
+
+  @Override
+  public String getJsonIndexFileName(String column) {
+    return column + V1Constants.Indexes.JSON_INDEX_FILE_EXTENSION;
+  }
+
+  @Override
+  public String getNullValueVectorFileName(String column) {
+    return column + V1Constants.Indexes.NULLVALUE_VECTOR_FILE_EXTENSION;
+  }
+
+  @Override
+  public String getGeoIndexFileName(String column) {
+    return column + V1Constants.Indexes.GEO_INDEX_FILE_EXTENSION;
+  }
+
   @Nullable
   @Override
   public String getCreatorName() {
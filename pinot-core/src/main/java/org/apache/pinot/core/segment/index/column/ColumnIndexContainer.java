@@ -22,6 +22,10 @@ import org.apache.pinot.core.io.reader.DataFileReader;
 import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
 
 
 /**
@@ -45,4 +49,24 @@ public interface ColumnIndexContainer {
   Dictionary getDictionary();
 
   BloomFilterReader getBloomFilter();
+
+  /**
+   * Returns the text index for the column, or {@code null} if it does not exist.
+   */
+  TextIndexReader getTextIndex();
+
+  /**
+   * Returns the JSON index for the column, or {@code null} if it does not exist.
+   */
+  JsonIndexReader getJsonIndex();
+
+  /**
+   * Returns the geo index for the column, or {@code null} if it does not exist.
+   */
+  GeoIndexReader getGeoIndex();
+
+  /**
+   * Returns the null value vector for the column, or {@code null} if it does not exist.
+   */
+  NullValueVectorReader getNullValueVector();
 }
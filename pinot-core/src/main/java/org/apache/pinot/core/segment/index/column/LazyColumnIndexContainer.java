@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.column;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.core.io.reader.DataFileReader;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.core.segment.index.readers.BaseImmutableDictionary;
+import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
+import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
+import org.apache.pinot.core.segment.store.SegmentDirectory;
+
+
+/**
+ * Column index container that loads the indexes for the column on first access instead of at segment load time, so
+ * that the columns not queried do not cost segment load time or memory.
+ * <p>For the column with on-heap dictionary, the loaded indexes can be evicted after being idle for some time to
+ * release the heap memory held by the dictionary, and will be loaded again on the next access. The index buffers are
+ * owned by the segment directory, so evicting the indexes does not need to close them.
+ */
+@ThreadSafe
+public final class LazyColumnIndexContainer implements ColumnIndexContainer {
+  private final SegmentDirectory.Reader _segmentReader;
+  private final ColumnMetadata _metadata;
+  private final IndexLoadingConfig _indexLoadingConfig;
+  private final boolean _evictable;
+
+  private volatile PhysicalColumnIndexContainer _indexContainer;
+  private volatile long _lastAccessTimeMs;
+
+  public LazyColumnIndexContainer(SegmentDirectory.Reader segmentReader, ColumnMetadata metadata,
+      IndexLoadingConfig indexLoadingConfig) {
+    _segmentReader = segmentReader;
+    _metadata = metadata;
+    _indexLoadingConfig = indexLoadingConfig;
+    _evictable =
+        metadata.hasDictionary() && indexLoadingConfig.getOnHeapDictionaryColumns().contains(metadata.getColumnName());
+  }
+
+  @Override
+  public DataFileReader getForwardIndex() {
+    return getIndexContainer().getForwardIndex();
+  }
+
+  @Override
+  public InvertedIndexReader getInvertedIndex() {
+    return getIndexContainer().getInvertedIndex();
+  }
+
+  @Override
+  public BaseImmutableDictionary getDictionary() {
+    return getIndexContainer().getDictionary();
+  }
+
+  @Override
+  public BloomFilterReader getBloomFilter() {
+    return getIndexContainer().getBloomFilter();
+  }
+
+  @Override
+  public TextIndexReader getTextIndex() {
+    return getIndexContainer().getTextIndex();
+  }
+
+  @Override
+  public JsonIndexReader getJsonIndex() {
+    return getIndexContainer().getJsonIndex();
+  }
+
+  @Override
+  public GeoIndexReader getGeoIndex() {
+    return getIndexContainer().getGeoIndex();
+  }
+
+  @Override
+  public NullValueVectorReader getNullValueVector() {
+    return getIndexContainer().getNullValueVector();
+  }
+
+  /**
+   * Returns the loaded index container without loading it, or {@code null} if the indexes are not loaded.
+   */
+  @Nullable
+  public ColumnIndexContainer getLoadedIndexContainer() {
+    return _indexContainer;
+  }
+
+  /**
+   * Evicts the loaded indexes if the column has on-heap dictionary and has not been accessed within the given time.
+   *
+   * @param maxIdleTimeMs Max idle time in milliseconds
+   * @return Whether the indexes are evicted
+   */
+  public synchronized boolean evictIfIdle(long maxIdleTimeMs) {
+    if (_evictable && _indexContainer != null && System.currentTimeMillis() - _lastAccessTimeMs > maxIdleTimeMs) {
+      _indexContainer = null;
+      return true;
+    }
+    return false;
+  }
+
+  private PhysicalColumnIndexContainer getIndexContainer() {
+    PhysicalColumnIndexContainer indexContainer = _indexContainer;
+    if (indexContainer == null) {
+      synchronized (this) {
+        indexContainer = _indexContainer;
+        if (indexContainer == null) {
+          indexContainer = loadIndexContainer();
+          // Set the access time before publishing the indexes so that they cannot be evicted right after loading
+          _lastAccessTimeMs = System.currentTimeMillis();
+          _indexContainer = indexContainer;
+          return indexContainer;
+        }
+      }
+    }
+    if (_evictable) {
+      _lastAccessTimeMs = System.currentTimeMillis();
+    }
+    return indexContainer;
+  }
+
+  private PhysicalColumnIndexContainer loadIndexContainer() {
+    // Segment directory reader is not thread-safe for all the segment versions
+    synchronized (_segmentReader) {
+      try {
+        return new PhysicalColumnIndexContainer(_segmentReader, _metadata, _indexLoadingConfig);
+      } catch (IOException e) {
+        throw new RuntimeException("Caught exception while loading indexes for column: " + _metadata.getColumnName(),
+            e);
+      }
+    }
+  }
+}
@@ -32,19 +32,27 @@ import org.apache.pinot.core.segment.index.ColumnMetadata;
 import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
 import org.apache.pinot.core.segment.index.readers.BaseImmutableDictionary;
 import org.apache.pinot.core.segment.index.readers.BitmapInvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.BitmapGeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.BitmapJsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.BitmapTextIndexReader;
 import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.apache.pinot.core.segment.index.readers.BytesDictionary;
 import org.apache.pinot.core.segment.index.readers.DoubleDictionary;
 import org.apache.pinot.core.segment.index.readers.FloatDictionary;
 import org.apache.pinot.core.segment.index.readers.IntDictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
 import org.apache.pinot.core.segment.index.readers.LongDictionary;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReaderImpl;
 import org.apache.pinot.core.segment.index.readers.OnHeapDoubleDictionary;
 import org.apache.pinot.core.segment.index.readers.OnHeapFloatDictionary;
 import org.apache.pinot.core.segment.index.readers.OnHeapIntDictionary;
 import org.apache.pinot.core.segment.index.readers.OnHeapLongDictionary;
 import org.apache.pinot.core.segment.index.readers.OnHeapStringDictionary;
 import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.apache.pinot.core.segment.store.ColumnIndexType;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
@@ -59,6 +67,10 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
   private final InvertedIndexReader _invertedIndex;
   private final BaseImmutableDictionary _dictionary;
   private final BloomFilterReader _bloomFilterReader;
+  private final TextIndexReader _textIndex;
+  private final JsonIndexReader _jsonIndex;
+  private final GeoIndexReader _geoIndex;
+  private final NullValueVectorReader _nullValueVector;
 
   public PhysicalColumnIndexContainer(SegmentDirectory.Reader segmentReader, ColumnMetadata metadata,
       IndexLoadingConfig indexLoadingConfig)
@@ -67,13 +79,46 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
     boolean loadInvertedIndex = false;
     boolean loadOnHeapDictionary = false;
     boolean loadBloomFilter = false;
+    boolean accelerateDictionaryLookup = false;
+    boolean loadTextIndex = false;
+    boolean loadJsonIndex = false;
+    boolean loadGeoIndex = false;
     if (indexLoadingConfig != null) {
       loadInvertedIndex = indexLoadingConfig.getInvertedIndexColumns().contains(columnName);
       loadOnHeapDictionary = indexLoadingConfig.getOnHeapDictionaryColumns().contains(columnName);
       loadBloomFilter = indexLoadingConfig.getBloomFilterColumns().contains(columnName);
+      accelerateDictionaryLookup = indexLoadingConfig.getLookupAcceleratedDictionaryColumns().contains(columnName);
+      loadTextIndex = indexLoadingConfig.getTextIndexColumns().contains(columnName);
+      loadJsonIndex = indexLoadingConfig.getJsonIndexColumns().contains(columnName);
+      loadGeoIndex = indexLoadingConfig.getGeoIndexColumns().contains(columnName);
     }
     PinotDataBuffer fwdIndexBuffer = segmentReader.getIndexFor(columnName, ColumnIndexType.FORWARD_INDEX);
 
+    // Text, JSON and geo indexes are independent of the dictionary encoding
+    if (loadTextIndex && segmentReader.hasIndexFor(columnName, ColumnIndexType.TEXT_INDEX)) {
+      _textIndex = new BitmapTextIndexReader(segmentReader.getIndexFor(columnName, ColumnIndexType.TEXT_INDEX));
+    } else {
+      _textIndex = null;
+    }
+    if (loadJsonIndex && segmentReader.hasIndexFor(columnName, ColumnIndexType.JSON_INDEX)) {
+      _jsonIndex = new BitmapJsonIndexReader(segmentReader.getIndexFor(columnName, ColumnIndexType.JSON_INDEX));
+    } else {
+      _jsonIndex = null;
+    }
+    if (loadGeoIndex && segmentReader.hasIndexFor(columnName, ColumnIndexType.GEO_INDEX)) {
+      _geoIndex = new BitmapGeoIndexReader(segmentReader.getIndexFor(columnName, ColumnIndexType.GEO_INDEX));
+    } else {
+      _geoIndex = null;
+    }
+
+    // Null value vector is created during segment generation when null handling is enabled
+    if (segmentReader.hasIndexFor(columnName, ColumnIndexType.NULLVALUE_VECTOR)) {
+      _nullValueVector =
+          new NullValueVectorReaderImpl(segmentReader.getIndexFor(columnName, ColumnIndexType.NULLVALUE_VECTOR));
+    } else {
+      _nullValueVector = null;
+    }
+
     if (metadata.hasDictionary()) {
       //bloom filter
       if (loadBloomFilter) {
@@ -84,7 +129,7 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
       }
       // Dictionary-based index
       _dictionary = loadDictionary(segmentReader.getIndexFor(columnName, ColumnIndexType.DICTIONARY), metadata,
-          loadOnHeapDictionary);
+          loadOnHeapDictionary, accelerateDictionaryLookup);
       if (metadata.isSingleValue()) {
         // Single-value
         if (metadata.isSorted()) {
@@ -140,8 +185,28 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
     return _bloomFilterReader;
   }
 
+  @Override
+  public TextIndexReader getTextIndex() {
+    return _textIndex;
+  }
+
+  @Override
+  public JsonIndexReader getJsonIndex() {
+    return _jsonIndex;
+  }
+
+  @Override
+  public GeoIndexReader getGeoIndex() {
+    return _geoIndex;
+  }
+
+  @Override
+  public NullValueVectorReader getNullValueVector() {
+    return _nullValueVector;
+  }
+
   private static BaseImmutableDictionary loadDictionary(PinotDataBuffer dictionaryBuffer, ColumnMetadata metadata,
-      boolean loadOnHeap) {
+      boolean loadOnHeap, boolean accelerateLookup) {
     FieldSpec.DataType dataType = metadata.getDataType();
     if (loadOnHeap) {
       String columnName = metadata.getColumnName();
@@ -170,7 +235,7 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
         int numBytesPerValue = metadata.getColumnMaxLength();
         byte paddingByte = (byte) metadata.getPaddingCharacter();
         return loadOnHeap ? new OnHeapStringDictionary(dictionaryBuffer, length, numBytesPerValue, paddingByte)
-            : new StringDictionary(dictionaryBuffer, length, numBytesPerValue, paddingByte);
+            : new StringDictionary(dictionaryBuffer, length, numBytesPerValue, paddingByte, accelerateLookup);
 
       case BYTES:
         numBytesPerValue = metadata.getColumnMaxLength();
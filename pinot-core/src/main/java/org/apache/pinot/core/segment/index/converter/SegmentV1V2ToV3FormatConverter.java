@@ -143,6 +143,8 @@ public class SegmentV1V2ToV3FormatConverter implements SegmentFormatConverter {
             copyDictionary(v2DataReader, v3DataWriter, column);
           }
           copyForwardIndex(v2DataReader, v3DataWriter, column);
+          copyExistingNullValueVector(v2DataReader, v3DataWriter, column);
+          copyExistingGeoIndex(v2DataReader, v3DataWriter, column);
         }
 
         // inverted indexes are intentionally stored at the end of the single file
@@ -196,6 +198,21 @@ public class SegmentV1V2ToV3FormatConverter implements SegmentFormatConverter {
     }
   }
 
+  private void copyExistingNullValueVector(SegmentDirectory.Reader reader, SegmentDirectory.Writer writer,
+      String column)
+      throws IOException {
+    if (reader.hasIndexFor(column, ColumnIndexType.NULLVALUE_VECTOR)) {
+      readCopyBuffers(reader, writer, column, ColumnIndexType.NULLVALUE_VECTOR);
+    }
+  }
+
+  private void copyExistingGeoIndex(SegmentDirectory.Reader reader, SegmentDirectory.Writer writer, String column)
+      throws IOException {
+    if (reader.hasIndexFor(column, ColumnIndexType.GEO_INDEX)) {
+      readCopyBuffers(reader, writer, column, ColumnIndexType.GEO_INDEX);
+    }
+  }
+
   private void readCopyBuffers(SegmentDirectory.Reader reader, SegmentDirectory.Writer writer, String column,
       ColumnIndexType indexType)
       throws IOException {
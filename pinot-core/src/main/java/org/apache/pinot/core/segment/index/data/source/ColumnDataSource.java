@@ -19,6 +19,7 @@
 package org.apache.pinot.core.segment.index.data.source;
 
 import com.google.common.base.Preconditions;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.core.common.Block;
 import org.apache.pinot.core.common.Constants;
@@ -36,6 +37,10 @@ import org.apache.pinot.core.segment.index.column.ColumnIndexContainer;
 import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
 
 
 public final class ColumnDataSource extends DataSource {
@@ -49,6 +54,10 @@ public final class ColumnDataSource extends DataSource {
   private final InvertedIndexReader _invertedIndex;
   private final Dictionary _dictionary;
   private final BloomFilterReader _bloomFilter;
+  private final TextIndexReader _textIndex;
+  private final JsonIndexReader _jsonIndex;
+  private final GeoIndexReader _geoIndex;
+  private final NullValueVectorReader _nullValueVector;
   private final int _cardinality;
   private final DataSourceMetadata _metadata;
 
@@ -59,7 +68,9 @@ public final class ColumnDataSource extends DataSource {
     this(metadata.getColumnName(), metadata.getDataType(), metadata.isSingleValue(), metadata.isSorted(),
         metadata.getTotalDocs(), metadata.getMaxNumberOfMultiValues(), indexContainer.getForwardIndex(),
         indexContainer.getInvertedIndex(), indexContainer.getDictionary(), indexContainer.getBloomFilter(),
-        metadata.getCardinality());
+        new OptionalIndexes.Builder().setTextIndex(indexContainer.getTextIndex())
+            .setJsonIndex(indexContainer.getJsonIndex()).setGeoIndex(indexContainer.getGeoIndex())
+            .setNullValueVector(indexContainer.getNullValueVector()).build(), metadata.getCardinality());
   }
 
   /**
@@ -67,13 +78,24 @@ public final class ColumnDataSource extends DataSource {
    */
   public ColumnDataSource(FieldSpec fieldSpec, int numDocs, int maxNumMultiValues, DataFileReader forwardIndex,
       InvertedIndexReader invertedIndex, BaseMutableDictionary dictionary, BloomFilterReader bloomFilter) {
+    this(fieldSpec, numDocs, maxNumMultiValues, forwardIndex, invertedIndex, dictionary, bloomFilter,
+        OptionalIndexes.NONE);
+  }
+
+  /**
+   * For REALTIME segment with optional indexes.
+   */
+  public ColumnDataSource(FieldSpec fieldSpec, int numDocs, int maxNumMultiValues, DataFileReader forwardIndex,
+      InvertedIndexReader invertedIndex, BaseMutableDictionary dictionary, BloomFilterReader bloomFilter,
+      OptionalIndexes optionalIndexes) {
     this(fieldSpec.getName(), fieldSpec.getDataType(), fieldSpec.isSingleValueField(), false, numDocs,
-        maxNumMultiValues, forwardIndex, invertedIndex, dictionary, bloomFilter, Constants.UNKNOWN_CARDINALITY);
+        maxNumMultiValues, forwardIndex, invertedIndex, dictionary, bloomFilter, optionalIndexes,
+        Constants.UNKNOWN_CARDINALITY);
   }
 
   private ColumnDataSource(String columnName, FieldSpec.DataType dataType, boolean isSingleValue, boolean isSorted,
       int numDocs, int maxNumMultiValues, DataFileReader forwardIndex, InvertedIndexReader invertedIndex,
-      Dictionary dictionary, BloomFilterReader bloomFilterReader, int cardinality) {
+      Dictionary dictionary, BloomFilterReader bloomFilterReader, OptionalIndexes optionalIndexes, int cardinality) {
     // Sanity check
     if (isSingleValue) {
       Preconditions.checkState(forwardIndex instanceof SingleColumnSingleValueReader);
@@ -100,6 +122,10 @@ public final class ColumnDataSource extends DataSource {
     _invertedIndex = invertedIndex;
     _dictionary = dictionary;
     _bloomFilter = bloomFilterReader;
+    _textIndex = optionalIndexes._textIndex;
+    _jsonIndex = optionalIndexes._jsonIndex;
+    _geoIndex = optionalIndexes._geoIndex;
+    _nullValueVector = optionalIndexes._nullValueVector;
     _cardinality = cardinality;
 
     _metadata = new DataSourceMetadata() {
@@ -165,6 +191,26 @@ public final class ColumnDataSource extends DataSource {
     return _bloomFilter;
   }
 
+  @Override
+  public TextIndexReader getTextIndex() {
+    return _textIndex;
+  }
+
+  @Override
+  public JsonIndexReader getJsonIndex() {
+    return _jsonIndex;
+  }
+
+  @Override
+  public GeoIndexReader getGeoIndex() {
+    return _geoIndex;
+  }
+
+  @Override
+  public NullValueVectorReader getNullValueVector() {
+    return _nullValueVector;
+  }
+
   @Override
   protected Block getNextBlock() {
     if (_isSingleValue) {
@@ -179,4 +225,56 @@ public final class ColumnDataSource extends DataSource {
   public String getOperatorName() {
     return _operatorName;
   }
+
+  /**
+   * Holder of the optional indexes of the column (text index, JSON index, geo index and null value vector), where the
+   * missing ones are {@code null}, so that adding a new kind of index does not change the constructors.
+   */
+  public static final class OptionalIndexes {
+    public static final OptionalIndexes NONE = new Builder().build();
+
+    private final TextIndexReader _textIndex;
+    private final JsonIndexReader _jsonIndex;
+    private final GeoIndexReader _geoIndex;
+    private final NullValueVectorReader _nullValueVector;
+
+    private OptionalIndexes(TextIndexReader textIndex, JsonIndexReader jsonIndex, GeoIndexReader geoIndex,
+        NullValueVectorReader nullValueVector) {
+      _textIndex = textIndex;
+      _jsonIndex = jsonIndex;
+      _geoIndex = geoIndex;
+      _nullValueVector = nullValueVector;
+    }
+
+    public static class Builder {
+      private TextIndexReader _textIndex;
+      private JsonIndexReader _jsonIndex;
+      private GeoIndexReader _geoIndex;
+      private NullValueVectorReader _nullValueVector;
+
+      public Builder setTextIndex(@Nullable TextIndexReader textIndex) {
+        _textIndex = textIndex;
+        return this;
+      }
+
+      public Builder setJsonIndex(@Nullable JsonIndexReader jsonIndex) {
+        _jsonIndex = jsonIndex;
+        return this;
+      }
+
+      public Builder setGeoIndex(@Nullable GeoIndexReader geoIndex) {
+        _geoIndex = geoIndex;
+        return this;
+      }
+
+      public Builder setNullValueVector(@Nullable NullValueVectorReader nullValueVector) {
+        _nullValueVector = nullValueVector;
+        return this;
+      }
+
+      public OptionalIndexes build() {
+        return new OptionalIndexes(_textIndex, _jsonIndex, _geoIndex, _nullValueVector);
+      }
+    }
+  }
 }
@@ -30,6 +30,7 @@ import javax.annotation.Nullable;
 import org.apache.pinot.common.config.IndexingConfig;
 import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.data.manager.config.InstanceDataManagerConfig;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
 import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMaxValueGeneratorMode;
@@ -49,6 +50,11 @@ public class IndexLoadingConfig {
   private Set<String> _varLengthDictionaryColumns = new HashSet<>();
   private Set<String> _onHeapDictionaryColumns = new HashSet<>();
   private Set<String> _bloomFilterColumns = new HashSet<>();
+  private BloomFilterType _bloomFilterType = BloomFilterType.GUAVA_ON_HEAP;
+  private Set<String> _lookupAcceleratedDictionaryColumns = new HashSet<>();
+  private Set<String> _textIndexColumns = new HashSet<>();
+  private Set<String> _jsonIndexColumns = new HashSet<>();
+  private Set<String> _geoIndexColumns = new HashSet<>();
 
   private SegmentVersion _segmentVersion;
   private ColumnMinMaxValueGeneratorMode _columnMinMaxValueGeneratorMode = ColumnMinMaxValueGeneratorMode.DEFAULT_MODE;
@@ -57,6 +63,7 @@ public class IndexLoadingConfig {
   private boolean _isRealtimeOffheapAllocation;
   private boolean _isDirectRealtimeOffheapAllocation;
   private boolean _enableSplitCommitEndWithMetadata;
+  private boolean _lazyLoadColumns;
 
   public IndexLoadingConfig(@Nonnull InstanceDataManagerConfig instanceDataManagerConfig,
       @Nonnull TableConfig tableConfig) {
@@ -86,6 +93,11 @@ public class IndexLoadingConfig {
       _bloomFilterColumns.addAll(bloomFilterColumns);
     }
 
+    String bloomFilterType = indexingConfig.getBloomFilterType();
+    if (bloomFilterType != null) {
+      _bloomFilterType = BloomFilterType.valueOf(bloomFilterType.toUpperCase());
+    }
+
     List<String> noDictionaryColumns = indexingConfig.getNoDictionaryColumns();
     if (noDictionaryColumns != null) {
       _noDictionaryColumns.addAll(noDictionaryColumns);
@@ -106,6 +118,26 @@ public class IndexLoadingConfig {
       _onHeapDictionaryColumns.addAll(onHeapDictionaryColumns);
     }
 
+    List<String> lookupAcceleratedDictionaryColumns = indexingConfig.getLookupAcceleratedDictionaryColumns();
+    if (lookupAcceleratedDictionaryColumns != null) {
+      _lookupAcceleratedDictionaryColumns.addAll(lookupAcceleratedDictionaryColumns);
+    }
+
+    List<String> textIndexColumns = indexingConfig.getTextIndexColumns();
+    if (textIndexColumns != null) {
+      _textIndexColumns.addAll(textIndexColumns);
+    }
+
+    List<String> jsonIndexColumns = indexingConfig.getJsonIndexColumns();
+    if (jsonIndexColumns != null) {
+      _jsonIndexColumns.addAll(jsonIndexColumns);
+    }
+
+    List<String> geoIndexColumns = indexingConfig.getGeoIndexColumns();
+    if (geoIndexColumns != null) {
+      _geoIndexColumns.addAll(geoIndexColumns);
+    }
+
     String tableSegmentVersion = indexingConfig.getSegmentFormatVersion();
     if (tableSegmentVersion != null) {
       _segmentVersion = SegmentVersion.valueOf(tableSegmentVersion.toLowerCase());
@@ -139,6 +171,7 @@ public class IndexLoadingConfig {
       _realtimeAvgMultiValueCount = Integer.valueOf(avgMultiValueCount);
     }
     _enableSplitCommitEndWithMetadata = instanceDataManagerConfig.isEnableSplitCommitEndWithMetadata();
+    _lazyLoadColumns = instanceDataManagerConfig.isLazyLoadColumns();
   }
 
   /**
@@ -207,10 +240,60 @@ public class IndexLoadingConfig {
     return _onHeapDictionaryColumns;
   }
 
+  @VisibleForTesting
+  public void setLookupAcceleratedDictionaryColumns(@Nonnull Set<String> lookupAcceleratedDictionaryColumns) {
+    _lookupAcceleratedDictionaryColumns = lookupAcceleratedDictionaryColumns;
+  }
+
+  @Nonnull
+  public Set<String> getLookupAcceleratedDictionaryColumns() {
+    return _lookupAcceleratedDictionaryColumns;
+  }
+
+  @VisibleForTesting
+  public void setTextIndexColumns(@Nonnull Set<String> textIndexColumns) {
+    _textIndexColumns = textIndexColumns;
+  }
+
+  @Nonnull
+  public Set<String> getTextIndexColumns() {
+    return _textIndexColumns;
+  }
+
+  @VisibleForTesting
+  public void setJsonIndexColumns(@Nonnull Set<String> jsonIndexColumns) {
+    _jsonIndexColumns = jsonIndexColumns;
+  }
+
+  @Nonnull
+  public Set<String> getJsonIndexColumns() {
+    return _jsonIndexColumns;
+  }
+
+  @VisibleForTesting
+  public void setGeoIndexColumns(@Nonnull Set<String> geoIndexColumns) {
+    _geoIndexColumns = geoIndexColumns;
+  }
+
+  @Nonnull
+  public Set<String> getGeoIndexColumns() {
+    return _geoIndexColumns;
+  }
+
   public Set<String> getBloomFilterColumns() {
     return _bloomFilterColumns;
   }
 
+  @VisibleForTesting
+  public void setBloomFilterType(@Nonnull BloomFilterType bloomFilterType) {
+    _bloomFilterType = bloomFilterType;
+  }
+
+  @Nonnull
+  public BloomFilterType getBloomFilterType() {
+    return _bloomFilterType;
+  }
+
   @Nullable
   public SegmentVersion getSegmentVersion() {
     return _segmentVersion;
@@ -254,4 +337,18 @@ public class IndexLoadingConfig {
   public int getRealtimeAvgMultiValueCount() {
     return _realtimeAvgMultiValueCount;
   }
+
+  /**
+   * Returns whether to load the column indexes on first access instead of at segment load time.
+   */
+  public boolean isLazyLoadColumns() {
+    return _lazyLoadColumns;
+  }
+
+  /**
+   * For tests only.
+   */
+  public void setLazyLoadColumns(boolean lazyLoadColumns) {
+    _lazyLoadColumns = lazyLoadColumns;
+  }
 }
@@ -18,10 +18,18 @@
  */
 package org.apache.pinot.core.segment.index.loader;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.segment.ReadMode;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
@@ -31,8 +39,12 @@ import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMax
 import org.apache.pinot.core.segment.index.loader.columnminmaxvalue.ColumnMinMaxValueGeneratorMode;
 import org.apache.pinot.core.segment.index.loader.defaultcolumn.DefaultColumnHandler;
 import org.apache.pinot.core.segment.index.loader.defaultcolumn.DefaultColumnHandlerFactory;
+import org.apache.pinot.core.segment.index.loader.geoindex.GeoIndexHandler;
 import org.apache.pinot.core.segment.index.loader.invertedindex.InvertedIndexHandler;
+import org.apache.pinot.core.segment.index.loader.jsonindex.JsonIndexHandler;
+import org.apache.pinot.core.segment.index.loader.textindex.TextIndexHandler;
 import org.apache.pinot.core.segment.store.SegmentDirectory;
+import org.apache.pinot.core.segment.store.SegmentDirectoryPaths;
 
 
 /**
@@ -43,12 +55,20 @@ import org.apache.pinot.core.segment.store.SegmentDirectory;
  *   <li>Use {@link DefaultColumnHandler} to update auto-generated default columns</li>
  *   <li>Use {@link ColumnMinMaxValueGenerator} to add min/max value to column metadata</li>
  * </ul>
+ * <p>After pre-processing, a marker file with the hash of the index loading config and schema used is written into the
+ * segment directory, so that the pre-processing can be skipped when the segment is loaded again with the same config
+ * and schema (e.g. on server restart). See {@link #needPreProcess(File, IndexLoadingConfig, Schema)}.
  */
 public class SegmentPreProcessor implements AutoCloseable {
+  public static final String PRE_PROCESSED_MARKER_FILE_NAME = "preprocessed.marker";
+  // Bump this version when the pre-processing steps change, so that all the segments are pre-processed again
+  private static final int PRE_PROCESSING_VERSION = 1;
+
   private final File _indexDir;
   private final IndexLoadingConfig _indexLoadingConfig;
   private final Schema _schema;
   private final SegmentDirectory _segmentDirectory;
+  private final String _preProcessingHash;
   private SegmentMetadataImpl _segmentMetadata;
 
   public SegmentPreProcessor(@Nonnull File indexDir, @Nonnull IndexLoadingConfig indexLoadingConfig,
@@ -58,6 +78,7 @@ public class SegmentPreProcessor implements AutoCloseable {
     _indexLoadingConfig = indexLoadingConfig;
     _schema = schema;
     _segmentMetadata = new SegmentMetadataImpl(indexDir);
+    _preProcessingHash = computePreProcessingHash(_segmentMetadata, indexLoadingConfig, schema);
 
     // Always use mmap to load the segment because it is safest and performs well without impact from -Xmx params.
     // This is not the final load of the segment.
@@ -67,6 +88,7 @@ public class SegmentPreProcessor implements AutoCloseable {
   public void process()
       throws Exception {
     if (_segmentMetadata.getTotalDocs() == 0) {
+      writePreProcessedMarker();
       return;
     }
     // Remove all the existing inverted index temp files before loading segments.
@@ -101,6 +123,21 @@ public class SegmentPreProcessor implements AutoCloseable {
           new BloomFilterHandler(_indexDir, _segmentMetadata, _indexLoadingConfig, segmentWriter);
       bloomFilterHandler.createBloomFilters();
 
+      // Create text index if required
+      TextIndexHandler textIndexHandler =
+          new TextIndexHandler(_indexDir, _segmentMetadata, _indexLoadingConfig, segmentWriter);
+      textIndexHandler.createTextIndices();
+
+      // Create JSON index if required
+      JsonIndexHandler jsonIndexHandler =
+          new JsonIndexHandler(_indexDir, _segmentMetadata, _indexLoadingConfig, segmentWriter);
+      jsonIndexHandler.createJsonIndices();
+
+      // Create geo index if required
+      GeoIndexHandler geoIndexHandler =
+          new GeoIndexHandler(_indexDir, _segmentMetadata, _indexLoadingConfig, segmentWriter);
+      geoIndexHandler.createGeoIndices();
+
       // Add min/max value to column metadata according to the prune mode.
       // For star-tree index, because it can only increase the range, so min/max value can still be used in pruner.
       ColumnMinMaxValueGeneratorMode columnMinMaxValueGeneratorMode =
@@ -115,6 +152,59 @@ public class SegmentPreProcessor implements AutoCloseable {
 
       segmentWriter.save();
     }
+
+    writePreProcessedMarker();
+  }
+
+  /**
+   * Returns whether the segment needs to be pre-processed, i.e. it has not been pre-processed with the same index
+   * loading config and schema.
+   */
+  public static boolean needPreProcess(@Nonnull File indexDir, @Nonnull IndexLoadingConfig indexLoadingConfig,
+      @Nullable Schema schema)
+      throws Exception {
+    File markerFile = getPreProcessedMarkerFile(indexDir);
+    if (!markerFile.exists()) {
+      return true;
+    }
+    String preProcessingHash = computePreProcessingHash(new SegmentMetadataImpl(indexDir), indexLoadingConfig, schema);
+    return !preProcessingHash.equals(FileUtils.readFileToString(markerFile, StandardCharsets.UTF_8));
+  }
+
+  private void writePreProcessedMarker()
+      throws Exception {
+    FileUtils.writeStringToFile(getPreProcessedMarkerFile(_indexDir), _preProcessingHash, StandardCharsets.UTF_8);
+  }
+
+  private static File getPreProcessedMarkerFile(File indexDir) {
+    return new File(SegmentDirectoryPaths.findSegmentDirectory(indexDir), PRE_PROCESSED_MARKER_FILE_NAME);
+  }
+
+  /**
+   * Computes the hash of everything the pre-processing depends on: the segment CRC, the index loading config for the
+   * pre-processing steps and the physical columns in the schema (virtual columns are not pre-processed).
+   */
+  private static String computePreProcessingHash(SegmentMetadataImpl segmentMetadata,
+      IndexLoadingConfig indexLoadingConfig, @Nullable Schema schema) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    hasher.putInt(PRE_PROCESSING_VERSION);
+    hasher.putString(String.valueOf(segmentMetadata.getCrc()), StandardCharsets.UTF_8);
+    hasher.putString(new TreeSet<>(indexLoadingConfig.getInvertedIndexColumns()).toString(), StandardCharsets.UTF_8);
+    hasher.putString(new TreeSet<>(indexLoadingConfig.getBloomFilterColumns()).toString(), StandardCharsets.UTF_8);
+    hasher.putString(new TreeSet<>(indexLoadingConfig.getTextIndexColumns()).toString(), StandardCharsets.UTF_8);
+    hasher.putString(new TreeSet<>(indexLoadingConfig.getJsonIndexColumns()).toString(), StandardCharsets.UTF_8);
+    hasher.putString(new TreeSet<>(indexLoadingConfig.getGeoIndexColumns()).toString(), StandardCharsets.UTF_8);
+    hasher.putString(indexLoadingConfig.getColumnMinMaxValueGeneratorMode().name(), StandardCharsets.UTF_8);
+    if (schema != null) {
+      List<FieldSpec> fieldSpecs = new ArrayList<>(schema.getAllFieldSpecs());
+      fieldSpecs.sort(Comparator.comparing(FieldSpec::getName));
+      for (FieldSpec fieldSpec : fieldSpecs) {
+        if (!fieldSpec.isVirtualColumn()) {
+          hasher.putString(fieldSpec.toJsonObject().toString(), StandardCharsets.UTF_8);
+        }
+      }
+    }
+    return hasher.hash().toString();
   }
 
   @Override
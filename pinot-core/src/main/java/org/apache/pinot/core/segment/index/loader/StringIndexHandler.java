@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec.DataType;
+import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.io.reader.SingleColumnSingleValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.FixedBitSingleValueReader;
+import org.apache.pinot.core.io.reader.impl.v1.SortedIndexReaderImpl;
+import org.apache.pinot.core.io.reader.impl.v1.VarByteChunkSingleValueReader;
+import org.apache.pinot.core.segment.creator.StringIndexCreator;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.apache.pinot.core.segment.store.ColumnIndexType;
+import org.apache.pinot.core.segment.store.SegmentDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Creates an index built from the values of single-value string columns (e.g. text, JSON and geo index) for the given
+ * columns, for both dictionary-encoded and raw columns.
+ * <p>The values are read from the forward index (and the dictionary) and added to the {@link StringIndexCreator}
+ * created by the given factory. An in-progress marker file is kept while creating the index so that the index is
+ * re-created if the last run got interrupted.
+ */
+public class StringIndexHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(StringIndexHandler.class);
+
+  private final File _indexDir;
+  private final SegmentDirectory.Writer _segmentWriter;
+  private final String _segmentName;
+  private final SegmentVersion _segmentVersion;
+  private final ColumnIndexType _indexType;
+  private final String _indexName;
+  private final String _indexFileExtension;
+  private final BiFunction<File, String, StringIndexCreator> _indexCreatorFactory;
+  private final List<ColumnMetadata> _indexColumns = new ArrayList<>();
+
+  /**
+   * @param indexName Name of the index for the logs and the in-progress marker file (e.g. "text")
+   * @param indexFileExtension Extension of the index file created by the index creator under the index directory
+   * @param indexCreatorFactory Factory to create the index creator from the index directory and the column name
+   */
+  public StringIndexHandler(File indexDir, SegmentMetadataImpl segmentMetadata, Set<String> columns,
+      SegmentDirectory.Writer segmentWriter, ColumnIndexType indexType, String indexName, String indexFileExtension,
+      BiFunction<File, String, StringIndexCreator> indexCreatorFactory) {
+    _indexDir = indexDir;
+    _segmentWriter = segmentWriter;
+    _segmentName = segmentMetadata.getName();
+    _segmentVersion = SegmentVersion.valueOf(segmentMetadata.getVersion());
+    _indexType = indexType;
+    _indexName = indexName;
+    _indexFileExtension = indexFileExtension;
+    _indexCreatorFactory = indexCreatorFactory;
+
+    for (String column : columns) {
+      ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
+      if (columnMetadata != null) {
+        if (columnMetadata.getDataType() == DataType.STRING && columnMetadata.isSingleValue()) {
+          _indexColumns.add(columnMetadata);
+        } else {
+          LOGGER.warn("{} index is only supported for single-value string columns, skipping column: {}", indexName,
+              column);
+        }
+      }
+    }
+  }
+
+  public void createIndices()
+      throws IOException {
+    for (ColumnMetadata columnMetadata : _indexColumns) {
+      createIndexForColumn(columnMetadata);
+    }
+  }
+
+  private void createIndexForColumn(ColumnMetadata columnMetadata)
+      throws IOException {
+    String column = columnMetadata.getColumnName();
+
+    File inProgress = new File(_indexDir, column + "." + _indexName.toLowerCase() + ".inprogress");
+    File indexFile = new File(_indexDir, column + _indexFileExtension);
+
+    if (!inProgress.exists()) {
+      // Marker file does not exist, which means last run ended normally.
+      if (_segmentWriter.hasIndexFor(column, _indexType)) {
+        // Skip creating index if already exists.
+        LOGGER.info("Found {} index for segment: {}, column: {}", _indexName, _segmentName, column);
+        return;
+      }
+      // Create a marker file.
+      FileUtils.touch(inProgress);
+    } else {
+      // Marker file exists, which means last run gets interrupted.
+      // For v1 and v2, it's the actual index. For v3, it's the temporary index.
+      FileUtils.deleteQuietly(indexFile);
+    }
+
+    // Create new index for the column.
+    LOGGER.info("Creating new {} index for segment: {}, column: {}", _indexName, _segmentName, column);
+    int numDocs = columnMetadata.getTotalDocs();
+    try (StringIndexCreator creator = _indexCreatorFactory.apply(_indexDir, column)) {
+      PinotDataBuffer fwdIndexBuffer = _segmentWriter.getIndexFor(column, ColumnIndexType.FORWARD_INDEX);
+      if (columnMetadata.hasDictionary()) {
+        try (StringDictionary dictionary = new StringDictionary(
+            _segmentWriter.getIndexFor(column, ColumnIndexType.DICTIONARY), columnMetadata.getCardinality(),
+            columnMetadata.getColumnMaxLength(), (byte) columnMetadata.getPaddingCharacter());
+            SingleColumnSingleValueReader fwdIndex = columnMetadata.isSorted() ? new SortedIndexReaderImpl(
+                fwdIndexBuffer, columnMetadata.getCardinality())
+                : new FixedBitSingleValueReader(fwdIndexBuffer, numDocs, columnMetadata.getBitsPerElement())) {
+          for (int i = 0; i < numDocs; i++) {
+            creator.add(i, dictionary.get(fwdIndex.getInt(i)));
+          }
+        }
+      } else {
+        try (VarByteChunkSingleValueReader fwdIndex = new VarByteChunkSingleValueReader(fwdIndexBuffer)) {
+          for (int i = 0; i < numDocs; i++) {
+            creator.add(i, fwdIndex.getString(i));
+          }
+        }
+      }
+    }
+
+    // For v3, write the generated index file into the single file and remove it.
+    if (_segmentVersion == SegmentVersion.v3) {
+      LoaderUtils.writeIndexToV3Format(_segmentWriter, column, indexFile, _indexType);
+    }
+
+    // Delete the marker file.
+    FileUtils.deleteQuietly(inProgress);
+
+    LOGGER.info("Created {} index for segment: {}, column: {}", _indexName, _segmentName, column);
+  }
+}
@@ -25,6 +25,7 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.data.FieldSpec.DataType;
+import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.creator.impl.bloom.BloomFilterCreator;
@@ -53,6 +54,7 @@ public class BloomFilterHandler {
   private final SegmentDirectory.Writer _segmentWriter;
   private final String _segmentName;
   private final SegmentVersion _segmentVersion;
+  private final BloomFilterType _bloomFilterType;
   private final Set<ColumnMetadata> _bloomFilterColumns = new HashSet<>();
 
   public BloomFilterHandler(@Nonnull File indexDir, @Nonnull SegmentMetadataImpl segmentMetadata,
@@ -61,6 +63,7 @@ public class BloomFilterHandler {
     _segmentWriter = segmentWriter;
     _segmentName = segmentMetadata.getName();
     _segmentVersion = SegmentVersion.valueOf(segmentMetadata.getVersion());
+    _bloomFilterType = indexLoadingConfig.getBloomFilterType();
 
     for (String column : indexLoadingConfig.getBloomFilterColumns()) {
       ColumnMetadata columnMetadata = segmentMetadata.getColumnMetadataFor(column);
@@ -104,7 +107,8 @@ public class BloomFilterHandler {
 
     // Create new bloom filter for the column.
     LOGGER.info("Creating new bloom filter for segment: {}, column: {}", _segmentName, columnName);
-    try (BloomFilterCreator creator = new BloomFilterCreator(_indexDir, columnName, columnMetadata.getCardinality())) {
+    try (BloomFilterCreator creator = new BloomFilterCreator(_indexDir, columnName, columnMetadata.getCardinality(),
+        _bloomFilterType)) {
       if (columnMetadata.hasDictionary()) {
         // Read dictionary
         try (BaseImmutableDictionary dictionaryReader = getDictionaryReader(columnMetadata, _segmentWriter)) {
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.loader.jsonindex;
+
+import java.io.File;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.json.JsonIndexCreator;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.core.segment.index.loader.StringIndexHandler;
+import org.apache.pinot.core.segment.store.ColumnIndexType;
+import org.apache.pinot.core.segment.store.SegmentDirectory;
+
+
+/**
+ * Creates the JSON index for the configured single-value string (including JSON) columns, for both dictionary-encoded
+ * and raw columns.
+ */
+public class JsonIndexHandler {
+  private final StringIndexHandler _stringIndexHandler;
+
+  public JsonIndexHandler(@Nonnull File indexDir, @Nonnull SegmentMetadataImpl segmentMetadata,
+      @Nonnull IndexLoadingConfig indexLoadingConfig, @Nonnull SegmentDirectory.Writer segmentWriter) {
+    _stringIndexHandler =
+        new StringIndexHandler(indexDir, segmentMetadata, indexLoadingConfig.getJsonIndexColumns(), segmentWriter,
+            ColumnIndexType.JSON_INDEX, "JSON", V1Constants.Indexes.JSON_INDEX_FILE_EXTENSION, JsonIndexCreator::new);
+  }
+
+  public void createJsonIndices()
+      throws IOException {
+    _stringIndexHandler.createIndices();
+  }
+}
@@ -75,6 +75,14 @@ public abstract class BaseImmutableDictionary extends BaseDictionary {
     return _length;
   }
 
+  /**
+   * Returns the padding byte of the values. With non-zero padding byte, the values are sorted by the padded bytes, so
+   * the unpadded values might not be in sorted order.
+   */
+  public byte getPaddingByte() {
+    return _paddingByte;
+  }
+
   @Override
   public int indexOf(String stringValue) {
     int index = insertionIndexOf(stringValue);
@@ -253,6 +261,10 @@ public abstract class BaseImmutableDictionary extends BaseDictionary {
     return _valueReader.getUnpaddedString(dictId, _numBytesPerValue, _paddingByte, buffer);
   }
 
+  protected int getUnpaddedBytes(int dictId, byte[] buffer) {
+    return _valueReader.getUnpaddedBytes(dictId, _numBytesPerValue, _paddingByte, buffer);
+  }
+
   protected String getPaddedString(int dictId, byte[] buffer) {
     return _valueReader.getPaddedString(dictId, _numBytesPerValue, buffer);
   }
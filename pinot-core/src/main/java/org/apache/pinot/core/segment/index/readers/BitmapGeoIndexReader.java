@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pinot.core.segment.creator.impl.geo.GeoIndexCreator;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Reader for the geo index created by {@link GeoIndexCreator}.
+ * <p>Cell ranges are looked up with a binary search over the sorted cell ids directly in the data buffer, and the
+ * posting lists are mapped as {@link ImmutableRoaringBitmap} without copying.
+ */
+public class BitmapGeoIndexReader implements GeoIndexReader {
+  private final PinotDataBuffer _dataBuffer;
+  private final int _level;
+  private final int _numCells;
+  private final long _cellIdsStart;
+  private final long _bitmapOffsetsStart;
+
+  public BitmapGeoIndexReader(PinotDataBuffer dataBuffer)
+      throws IOException {
+    int version = dataBuffer.getInt(0);
+    if (version != GeoIndexCreator.VERSION) {
+      throw new IOException("Unexpected geo index version: " + version);
+    }
+    _dataBuffer = dataBuffer;
+    _level = dataBuffer.getInt(Integer.BYTES);
+    _numCells = dataBuffer.getInt(2 * Integer.BYTES);
+    _cellIdsStart = GeoIndexCreator.HEADER_SIZE;
+    _bitmapOffsetsStart = _cellIdsStart + (long) _numCells * Long.BYTES;
+  }
+
+  @Override
+  public int getLevel() {
+    return _level;
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIds(long[] cellRanges) {
+    List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+    for (int i = 0; i < cellRanges.length; i += 2) {
+      long lastCellId = cellRanges[i + 1];
+      for (int index = lowerBound(cellRanges[i]); index < _numCells && getCellId(index) <= lastCellId; index++) {
+        bitmaps.add(getBitmap(index));
+      }
+    }
+    return BufferFastAggregation.or(bitmaps.iterator());
+  }
+
+  /**
+   * Returns the index of the first cell id that is not smaller than the given cell id.
+   */
+  private int lowerBound(long cellId) {
+    int low = 0;
+    int high = _numCells;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (getCellId(mid) < cellId) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private long getCellId(int index) {
+    return _dataBuffer.getLong(_cellIdsStart + (long) index * Long.BYTES);
+  }
+
+  private ImmutableRoaringBitmap getBitmap(int index) {
+    long offsetPosition = _bitmapOffsetsStart + (long) index * Integer.BYTES;
+    int bitmapStart = _dataBuffer.getInt(offsetPosition);
+    int bitmapEnd = _dataBuffer.getInt(offsetPosition + Integer.BYTES);
+    return new ImmutableRoaringBitmap(_dataBuffer.toDirectByteBuffer(bitmapStart, bitmapEnd - bitmapStart));
+  }
+
+  @Override
+  public void close() {
+    // The data buffer is owned by the segment directory
+  }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import java.io.IOException;
+import org.apache.pinot.core.json.JsonFlattener;
+import org.apache.pinot.core.segment.creator.impl.json.JsonIndexCreator;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Reader for the JSON index created by {@link JsonIndexCreator}, which looks up the path-value terms from the same
+ * format as the text index.
+ */
+public class BitmapJsonIndexReader implements JsonIndexReader {
+  private final BitmapTextIndexReader _termIndexReader;
+
+  public BitmapJsonIndexReader(PinotDataBuffer dataBuffer)
+      throws IOException {
+    _termIndexReader = new BitmapTextIndexReader(dataBuffer);
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIds(String path, String value) {
+    return _termIndexReader.getDocIds(JsonFlattener.getTerm(path, value));
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIdsWithPath(String path) {
+    return _termIndexReader.getDocIdsForPrefix(JsonFlattener.getTermPrefix(path));
+  }
+
+  @Override
+  public void close() {
+    // The data buffer is owned by the segment directory
+  }
+}
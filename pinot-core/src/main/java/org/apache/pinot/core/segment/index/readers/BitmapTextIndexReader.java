@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pinot.core.segment.creator.impl.text.TextIndexCreator;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Reader for the text index created by {@link TextIndexCreator}.
+ * <p>Terms are looked up with a binary search over the sorted UTF-8 term bytes directly in the data buffer, and the
+ * posting lists are mapped as {@link ImmutableRoaringBitmap} without copying.
+ */
+public class BitmapTextIndexReader implements TextIndexReader {
+  private final PinotDataBuffer _dataBuffer;
+  private final int _numTerms;
+  private final long _termOffsetsStart;
+  private final long _bitmapOffsetsStart;
+
+  public BitmapTextIndexReader(PinotDataBuffer dataBuffer)
+      throws IOException {
+    int version = dataBuffer.getInt(0);
+    if (version != TextIndexCreator.VERSION) {
+      throw new IOException("Unexpected text index version: " + version);
+    }
+    _dataBuffer = dataBuffer;
+    _numTerms = dataBuffer.getInt(Integer.BYTES);
+    _termOffsetsStart = TextIndexCreator.HEADER_SIZE;
+    _bitmapOffsetsStart = _termOffsetsStart + (long) (_numTerms + 1) * Integer.BYTES;
+  }
+
+  public int getNumTerms() {
+    return _numTerms;
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIds(String term) {
+    byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+    int index = lowerBound(termBytes);
+    if (index < _numTerms && compareTerm(index, termBytes, false) == 0) {
+      return getBitmap(index);
+    }
+    return new MutableRoaringBitmap();
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIdsForPrefix(String prefix) {
+    byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+    List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>();
+    for (int index = lowerBound(prefixBytes); index < _numTerms && compareTerm(index, prefixBytes, true) == 0;
+        index++) {
+      bitmaps.add(getBitmap(index));
+    }
+    return BufferFastAggregation.or(bitmaps.iterator());
+  }
+
+  /**
+   * Returns the index of the first term that is not smaller than the given key.
+   */
+  private int lowerBound(byte[] key) {
+    int low = 0;
+    int high = _numTerms;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareTerm(mid, key, false) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Compares the term at the given index with the key in unsigned byte order. If {@code prefixOnly} is true, terms
+   * starting with the key are treated as equal to the key.
+   */
+  private int compareTerm(int index, byte[] key, boolean prefixOnly) {
+    int termStart = getTermOffset(index);
+    int termLength = getTermOffset(index + 1) - termStart;
+    int length = Math.min(termLength, key.length);
+    for (int i = 0; i < length; i++) {
+      int diff = (_dataBuffer.getByte(termStart + i) & 0xFF) - (key[i] & 0xFF);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    if (prefixOnly && termLength >= key.length) {
+      return 0;
+    }
+    return termLength - key.length;
+  }
+
+  private int getTermOffset(int index) {
+    return _dataBuffer.getInt(_termOffsetsStart + (long) index * Integer.BYTES);
+  }
+
+  private ImmutableRoaringBitmap getBitmap(int index) {
+    long offsetPosition = _bitmapOffsetsStart + (long) index * Integer.BYTES;
+    int bitmapStart = _dataBuffer.getInt(offsetPosition);
+    int bitmapEnd = _dataBuffer.getInt(offsetPosition + Integer.BYTES);
+    return new ImmutableRoaringBitmap(_dataBuffer.toDirectByteBuffer(bitmapStart, bitmapEnd - bitmapStart));
+  }
+
+  @Override
+  public void close() {
+    // The data buffer is owned by the segment directory
+  }
+}
@@ -21,8 +21,10 @@ package org.apache.pinot.core.segment.index.readers;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import org.apache.pinot.core.bloom.BloomFilter;
 import org.apache.pinot.core.bloom.BloomFilterType;
+import org.apache.pinot.core.bloom.OffHeapBlockedBloomFilter;
 import org.apache.pinot.core.bloom.SegmentBloomFilterFactory;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
@@ -31,23 +33,35 @@ import org.apache.pinot.core.segment.memory.PinotDataBuffer;
  * Bloom filter reader
  */
 public class BloomFilterReader {
+  // Bloom filter type and version
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
 
   private BloomFilter _bloomFilter;
 
   public BloomFilterReader(PinotDataBuffer bloomFilterBuffer)
       throws IOException {
-    byte[] buffer = new byte[(int) bloomFilterBuffer.size()];
-    bloomFilterBuffer.copyTo(0, buffer);
+    PinotDataBuffer headerBuffer = bloomFilterBuffer.view(0, HEADER_SIZE, ByteOrder.BIG_ENDIAN);
+    BloomFilterType bloomFilterType = BloomFilterType.valueOf(headerBuffer.getInt(0));
+    int version = headerBuffer.getInt(Integer.BYTES);
+    PinotDataBuffer dataBuffer = bloomFilterBuffer.view(HEADER_SIZE, bloomFilterBuffer.size());
 
-    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer))) {
-      BloomFilterType bloomFilterType = BloomFilterType.valueOf(in.readInt());
-      int version = in.readInt();
+    if (bloomFilterType == BloomFilterType.BLOCKED_OFF_HEAP) {
+      // Read the bloom filter directly from the data buffer
+      _bloomFilter = new OffHeapBlockedBloomFilter(dataBuffer);
+    } else {
       _bloomFilter = SegmentBloomFilterFactory.createSegmentBloomFilter(bloomFilterType);
-      if (version != _bloomFilter.getVersion()) {
-        throw new IOException(
-            "Unexpected bloom filter version (type: " + bloomFilterType.toString() + ", version: " + version);
+    }
+    if (version != _bloomFilter.getVersion()) {
+      throw new IOException(
+          "Unexpected bloom filter version (type: " + bloomFilterType.toString() + ", version: " + version);
+    }
+
+    if (bloomFilterType != BloomFilterType.BLOCKED_OFF_HEAP) {
+      byte[] buffer = new byte[(int) dataBuffer.size()];
+      dataBuffer.copyTo(0, buffer);
+      try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer))) {
+        _bloomFilter.readFrom(in);
       }
-      _bloomFilter.readFrom(in);
     }
   }
 
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import java.io.Closeable;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Reader for the geo index, which maps the {@link org.apache.pinot.core.geospatial.GeoCells} at the index level to
+ * the documents with the geo points inside them.
+ */
+public interface GeoIndexReader extends Closeable {
+
+  /**
+   * Get the level of the indexed cells.
+   */
+  int getLevel();
+
+  /**
+   * Get the document ids inside the given ranges of cell ids at the index level, stored as consecutive [first, last]
+   * pairs (see {@link org.apache.pinot.core.geospatial.GeoCellCovering}).
+   */
+  ImmutableRoaringBitmap getDocIds(long[] cellRanges);
+}
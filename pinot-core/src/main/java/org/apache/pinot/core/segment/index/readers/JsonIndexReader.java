@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import java.io.Closeable;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Reader for the JSON index, which maps the path-value terms of the JSON documents (see
+ * {@link org.apache.pinot.core.json.JsonFlattener}) to the documents containing them.
+ */
+public interface JsonIndexReader extends Closeable {
+
+  /**
+   * Get the document ids with the given scalar value at the given path, or an empty bitmap if there is no such
+   * document.
+   */
+  ImmutableRoaringBitmap getDocIds(String path, String value);
+
+  /**
+   * Get the document ids with any non-null scalar value at the given path.
+   */
+  ImmutableRoaringBitmap getDocIdsWithPath(String path);
+}
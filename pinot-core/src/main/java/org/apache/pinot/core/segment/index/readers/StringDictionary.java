@@ -18,21 +18,62 @@
  */
 package org.apache.pinot.core.segment.index.readers;
 
+import java.io.IOException;
 import org.apache.pinot.common.utils.BytesUtils;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
 public class StringDictionary extends BaseImmutableDictionary {
+  // Lookup accelerator is only supported for dictionaries with zero padding byte
+  private final boolean _enableLookupAccelerator;
+
+  // Lazily built on the first lookup
+  private volatile boolean _lookupAcceleratorBuilt;
+  private volatile StringDictionaryLookupAccelerator _lookupAccelerator;
 
   public StringDictionary(PinotDataBuffer dataBuffer, int length, int numBytesPerValue, byte paddingByte) {
+    this(dataBuffer, length, numBytesPerValue, paddingByte, false);
+  }
+
+  /**
+   * Constructor for the class.
+   *
+   * @param dataBuffer Dictionary data buffer
+   * @param length Number of values in the dictionary
+   * @param numBytesPerValue Number of bytes per value
+   * @param paddingByte Padding byte
+   * @param enableLookupAccelerator Whether to accelerate the value lookup with a {@link
+   *                                StringDictionaryLookupAccelerator} (only applies to zero padding byte)
+   */
+  public StringDictionary(PinotDataBuffer dataBuffer, int length, int numBytesPerValue, byte paddingByte,
+      boolean enableLookupAccelerator) {
     super(dataBuffer, length, numBytesPerValue, paddingByte);
+    _enableLookupAccelerator = enableLookupAccelerator && paddingByte == 0 && length > 0;
   }
 
   @Override
   public int insertionIndexOf(String stringValue) {
+    if (_enableLookupAccelerator && StringDictionaryLookupAccelerator.isSupported(stringValue)) {
+      StringDictionaryLookupAccelerator lookupAccelerator = getLookupAccelerator();
+      if (lookupAccelerator != null) {
+        return lookupAccelerator.insertionIndexOf(this, stringValue);
+      }
+    }
     return binarySearch(stringValue);
   }
 
+  private StringDictionaryLookupAccelerator getLookupAccelerator() {
+    if (!_lookupAcceleratorBuilt) {
+      synchronized (this) {
+        if (!_lookupAcceleratorBuilt) {
+          _lookupAccelerator = StringDictionaryLookupAccelerator.build(this, "StringDictionaryLookupAccelerator");
+          _lookupAcceleratorBuilt = true;
+        }
+      }
+    }
+    return _lookupAccelerator;
+  }
+
   @Override
   public String get(int dictId) {
     return getUnpaddedString(dictId, getBuffer());
@@ -63,6 +104,21 @@ public class StringDictionary extends BaseImmutableDictionary {
     return getUnpaddedString(dictId, getBuffer());
   }
 
+  /**
+   * Reads the UTF-8 bytes of the value into the passed in reusable buffer (from {@link #getValueBuffer()}) without
+   * decoding the string, and returns the number of bytes read.
+   */
+  public int getUtf8Bytes(int dictId, byte[] buffer) {
+    return getUnpaddedBytes(dictId, buffer);
+  }
+
+  /**
+   * Returns a new buffer that can hold the UTF-8 bytes of any value in the dictionary.
+   */
+  public byte[] getValueBuffer() {
+    return getBuffer();
+  }
+
   @Override
   public byte[] getBytesValue(int dictId) {
     return BytesUtils.toBytes(getUnpaddedString(dictId, getBuffer()));
@@ -115,4 +171,16 @@ public class StringDictionary extends BaseImmutableDictionary {
       outValues[i] = BytesUtils.toBytes(getUnpaddedString(dictIds[i], buffer));
     }
   }
+
+  @Override
+  public void close()
+      throws IOException {
+    synchronized (this) {
+      if (_lookupAccelerator != null) {
+        _lookupAccelerator.close();
+        _lookupAccelerator = null;
+      }
+    }
+    super.close();
+  }
 }
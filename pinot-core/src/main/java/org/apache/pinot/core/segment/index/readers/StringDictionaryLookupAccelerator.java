@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.readers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.utils.StringUtil;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+
+
+/**
+ * The {@code StringDictionaryLookupAccelerator} class accelerates the value lookup in a {@link StringDictionary} with a
+ * sorted off-heap array of fixed-width keys, where each key is the first 8 UTF-8 bytes of a dictionary value packed
+ * into a long (zero padded).
+ * <p>The lookup first narrows the range of dictionary ids with the same key by binary searching on the keys (compared
+ * as unsigned longs without decoding any value), then binary searches the values within the range, which normally
+ * contains only one or a few values.
+ * <p>The keys are in the same order as the dictionary values only if the values are ordered by their UTF-8 bytes,
+ * which holds for all values without supplementary characters or characters in range [U+E000, U+FFFF]. The
+ * accelerator is not built if the keys are out of order, and lookup values with any character no less than U+D800
+ * should not go through the accelerator.
+ */
+public class StringDictionaryLookupAccelerator implements Closeable {
+  private static final int NUM_KEY_BYTES = Long.BYTES;
+  private static final char MIN_UNSUPPORTED_CHAR = '\uD800';
+
+  private final PinotDataBuffer _keyBuffer;
+  private final int _length;
+
+  private StringDictionaryLookupAccelerator(PinotDataBuffer keyBuffer, int length) {
+    _keyBuffer = keyBuffer;
+    _length = length;
+  }
+
+  /**
+   * Builds the lookup accelerator for the given dictionary, or returns {@code null} if the dictionary values are not
+   * ordered by their keys.
+   */
+  @Nullable
+  static StringDictionaryLookupAccelerator build(StringDictionary dictionary, String description) {
+    int length = dictionary.length();
+    PinotDataBuffer keyBuffer =
+        PinotDataBuffer.allocateDirect((long) length * NUM_KEY_BYTES, PinotDataBuffer.NATIVE_ORDER, description);
+    long previousKey = 0;
+    for (int dictId = 0; dictId < length; dictId++) {
+      long key = getKey(dictionary.getBytes(dictId));
+      if (dictId > 0 && Long.compareUnsigned(previousKey, key) > 0) {
+        try {
+          keyBuffer.close();
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        return null;
+      }
+      keyBuffer.putLong((long) dictId * NUM_KEY_BYTES, key);
+      previousKey = key;
+    }
+    return new StringDictionaryLookupAccelerator(keyBuffer, length);
+  }
+
+  /**
+   * Returns whether the given value can be looked up with the accelerator.
+   */
+  static boolean isSupported(String value) {
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) >= MIN_UNSUPPORTED_CHAR) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Packs the first 8 bytes of the given (UTF-8 encoded) value into a long in big-endian order, so that the unsigned
+   * long order is the same as the byte order.
+   */
+  private static long getKey(byte[] bytes) {
+    long key = 0;
+    int numBytes = Math.min(bytes.length, NUM_KEY_BYTES);
+    for (int i = 0; i < numBytes; i++) {
+      key |= (bytes[i] & 0xFFL) << ((NUM_KEY_BYTES - 1 - i) << 3);
+    }
+    return key;
+  }
+
+  /**
+   * Returns the insertion index of the given value in the dictionary. Follows the same behavior as in
+   * {@link java.util.Arrays#binarySearch(Object[], Object)}.
+   */
+  int insertionIndexOf(StringDictionary dictionary, String value) {
+    long key = getKey(StringUtil.encodeUtf8(value));
+
+    // Find the range [low, high) of the dictionary ids with the same key
+    int low = 0;
+    int high = _length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Long.compareUnsigned(getKey(mid), key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int start = low;
+    high = _length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Long.compareUnsigned(getKey(mid), key) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int end = low;
+
+    // Binary search the values within the range
+    low = start;
+    high = end - 1;
+    byte[] buffer = dictionary.getBuffer();
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int compareResult = dictionary.getUnpaddedString(mid, buffer).compareTo(value);
+      if (compareResult < 0) {
+        low = mid + 1;
+      } else if (compareResult > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  private long getKey(int dictId) {
+    return _keyBuffer.getLong((long) dictId * NUM_KEY_BYTES);
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    _keyBuffer.close();
+  }
+}
@@ -107,6 +107,42 @@ abstract class ColumnIndexDirectory implements Closeable {
   public abstract PinotDataBuffer getBloomFilterBufferFor(String column)
       throws IOException;
 
+  /**
+   * Get text index buffer for a column
+   * @param column column name
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer getTextIndexBufferFor(String column)
+      throws IOException;
+
+  /**
+   * Get JSON index buffer for a column
+   * @param column column name
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer getJsonIndexBufferFor(String column)
+      throws IOException;
+
+  /**
+   * Get null value vector buffer for a column
+   * @param column column name
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer getNullValueVectorBufferFor(String column)
+      throws IOException;
+
+  /**
+   * Get geo index data buffer for a column
+   * @param column column name
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer getGeoIndexBufferFor(String column)
+      throws IOException;
+
   /**
    * Allocate a new data buffer of specified sizeBytes in the columnar index directory
    * @param column column name
@@ -147,6 +183,46 @@ abstract class ColumnIndexDirectory implements Closeable {
   public abstract PinotDataBuffer newBloomFilterBuffer(String column, long sizeBytes)
       throws IOException;
 
+  /**
+   * Allocate a new data buffer of specified sizeBytes in the columnar index directory
+   * @param column column name
+   * @param sizeBytes sizeBytes for the buffer allocation
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer newTextIndexBuffer(String column, long sizeBytes)
+      throws IOException;
+
+  /**
+   * Allocate a new data buffer of specified sizeBytes in the columnar index directory
+   * @param column column name
+   * @param sizeBytes sizeBytes for the buffer allocation
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer newJsonIndexBuffer(String column, long sizeBytes)
+      throws IOException;
+
+  /**
+   * Allocate a new data buffer of specified sizeBytes in the columnar index directory
+   * @param column column name
+   * @param sizeBytes sizeBytes for the buffer allocation
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer newNullValueVectorBuffer(String column, long sizeBytes)
+      throws IOException;
+
+  /**
+   * Allocate a new data buffer of specified sizeBytes in the columnar index directory
+   * @param column column name
+   * @param sizeBytes sizeBytes for the buffer allocation
+   * @return in-memory ByteBuffer like buffer for data
+   * @throws IOException
+   */
+  public abstract PinotDataBuffer newGeoIndexBuffer(String column, long sizeBytes)
+      throws IOException;
+
   /**
    * Check if an index exists for a column
    * @param column column name
@@ -22,7 +22,11 @@ public enum ColumnIndexType {
   DICTIONARY("dictionary"),
   FORWARD_INDEX("forward_index"),
   INVERTED_INDEX("inverted_index"),
-  BLOOM_FILTER("bloom_filter");
+  BLOOM_FILTER("bloom_filter"),
+  TEXT_INDEX("text_index"),
+  JSON_INDEX("json_index"),
+  NULLVALUE_VECTOR("nullvalue_vector"),
+  GEO_INDEX("geo_index");
 
   private final String indexName;
 
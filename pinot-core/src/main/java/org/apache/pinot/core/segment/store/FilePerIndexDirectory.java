@@ -97,6 +97,62 @@ class FilePerIndexDirectory extends ColumnIndexDirectory {
     return getWriteBufferFor(key, sizeBytes);
   }
 
+  @Override
+  public PinotDataBuffer getTextIndexBufferFor(String column)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.TEXT_INDEX);
+    return getReadBufferFor(key);
+  }
+
+  @Override
+  public PinotDataBuffer newTextIndexBuffer(String column, long sizeBytes)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.TEXT_INDEX);
+    return getWriteBufferFor(key, sizeBytes);
+  }
+
+  @Override
+  public PinotDataBuffer getJsonIndexBufferFor(String column)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.JSON_INDEX);
+    return getReadBufferFor(key);
+  }
+
+  @Override
+  public PinotDataBuffer newJsonIndexBuffer(String column, long sizeBytes)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.JSON_INDEX);
+    return getWriteBufferFor(key, sizeBytes);
+  }
+
+  @Override
+  public PinotDataBuffer getNullValueVectorBufferFor(String column)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.NULLVALUE_VECTOR);
+    return getReadBufferFor(key);
+  }
+
+  @Override
+  public PinotDataBuffer newNullValueVectorBuffer(String column, long sizeBytes)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.NULLVALUE_VECTOR);
+    return getWriteBufferFor(key, sizeBytes);
+  }
+
+  @Override
+  public PinotDataBuffer getGeoIndexBufferFor(String column)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.GEO_INDEX);
+    return getReadBufferFor(key);
+  }
+
+  @Override
+  public PinotDataBuffer newGeoIndexBuffer(String column, long sizeBytes)
+      throws IOException {
+    IndexKey key = new IndexKey(column, ColumnIndexType.GEO_INDEX);
+    return getWriteBufferFor(key, sizeBytes);
+  }
+
   @Override
   public boolean hasIndexFor(String column, ColumnIndexType type) {
     File indexFile = getFileFor(column, type);
@@ -162,6 +218,18 @@ class FilePerIndexDirectory extends ColumnIndexDirectory {
       case BLOOM_FILTER:
         filename = metadata.getBloomFilterFileName(column);
         break;
+      case TEXT_INDEX:
+        filename = metadata.getTextIndexFileName(column);
+        break;
+      case JSON_INDEX:
+        filename = metadata.getJsonIndexFileName(column);
+        break;
+      case NULLVALUE_VECTOR:
+        filename = metadata.getNullValueVectorFileName(column);
+        break;
+      case GEO_INDEX:
+        filename = metadata.getGeoIndexFileName(column);
+        break;
       default:
         throw new UnsupportedOperationException("Unknown index type: " + indexType.toString());
     }
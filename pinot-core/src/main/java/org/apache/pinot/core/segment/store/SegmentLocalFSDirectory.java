@@ -242,6 +242,18 @@ class SegmentLocalFSDirectory extends SegmentDirectory {
       case BLOOM_FILTER:
         buffer = columnIndexDirectory.getBloomFilterBufferFor(column);
         break;
+      case TEXT_INDEX:
+        buffer = columnIndexDirectory.getTextIndexBufferFor(column);
+        break;
+      case JSON_INDEX:
+        buffer = columnIndexDirectory.getJsonIndexBufferFor(column);
+        break;
+      case NULLVALUE_VECTOR:
+        buffer = columnIndexDirectory.getNullValueVectorBufferFor(column);
+        break;
+      case GEO_INDEX:
+        buffer = columnIndexDirectory.getGeoIndexBufferFor(column);
+        break;
       default:
         throw new RuntimeException("Unknown index type: " + type.name());
     }
@@ -423,6 +435,14 @@ class SegmentLocalFSDirectory extends SegmentDirectory {
           return columnIndexDirectory.newInvertedIndexBuffer(key.name, sizeBytes);
         case BLOOM_FILTER:
           return columnIndexDirectory.newBloomFilterBuffer(key.name, sizeBytes);
+        case TEXT_INDEX:
+          return columnIndexDirectory.newTextIndexBuffer(key.name, sizeBytes);
+        case JSON_INDEX:
+          return columnIndexDirectory.newJsonIndexBuffer(key.name, sizeBytes);
+        case NULLVALUE_VECTOR:
+          return columnIndexDirectory.newNullValueVectorBuffer(key.name, sizeBytes);
+        case GEO_INDEX:
+          return columnIndexDirectory.newGeoIndexBuffer(key.name, sizeBytes);
         default:
           throw new RuntimeException("Unknown index type: " + indexType.name() + " for directory: " + segmentDirectory);
       }
@@ -113,6 +113,30 @@ class SingleFileIndexDirectory extends ColumnIndexDirectory {
     return checkAndGetIndexBuffer(column, ColumnIndexType.BLOOM_FILTER);
   }
 
+  @Override
+  public PinotDataBuffer getTextIndexBufferFor(String column)
+      throws IOException {
+    return checkAndGetIndexBuffer(column, ColumnIndexType.TEXT_INDEX);
+  }
+
+  @Override
+  public PinotDataBuffer getJsonIndexBufferFor(String column)
+      throws IOException {
+    return checkAndGetIndexBuffer(column, ColumnIndexType.JSON_INDEX);
+  }
+
+  @Override
+  public PinotDataBuffer getNullValueVectorBufferFor(String column)
+      throws IOException {
+    return checkAndGetIndexBuffer(column, ColumnIndexType.NULLVALUE_VECTOR);
+  }
+
+  @Override
+  public PinotDataBuffer getGeoIndexBufferFor(String column)
+      throws IOException {
+    return checkAndGetIndexBuffer(column, ColumnIndexType.GEO_INDEX);
+  }
+
   @Override
   public boolean hasIndexFor(String column, ColumnIndexType type) {
     IndexKey key = new IndexKey(column, type);
@@ -143,6 +167,30 @@ class SingleFileIndexDirectory extends ColumnIndexDirectory {
     return allocNewBufferInternal(column, ColumnIndexType.BLOOM_FILTER, sizeBytes, "bloom_filter.create");
   }
 
+  @Override
+  public PinotDataBuffer newTextIndexBuffer(String column, long sizeBytes)
+      throws IOException {
+    return allocNewBufferInternal(column, ColumnIndexType.TEXT_INDEX, sizeBytes, "text_index.create");
+  }
+
+  @Override
+  public PinotDataBuffer newJsonIndexBuffer(String column, long sizeBytes)
+      throws IOException {
+    return allocNewBufferInternal(column, ColumnIndexType.JSON_INDEX, sizeBytes, "json_index.create");
+  }
+
+  @Override
+  public PinotDataBuffer newNullValueVectorBuffer(String column, long sizeBytes)
+      throws IOException {
+    return allocNewBufferInternal(column, ColumnIndexType.NULLVALUE_VECTOR, sizeBytes, "nullvalue_vector.create");
+  }
+
+  @Override
+  public PinotDataBuffer newGeoIndexBuffer(String column, long sizeBytes)
+      throws IOException {
+    return allocNewBufferInternal(column, ColumnIndexType.GEO_INDEX, sizeBytes, "geo_index.create");
+  }
+
   private PinotDataBuffer checkAndGetIndexBuffer(String column, ColumnIndexType type) {
     IndexKey key = new IndexKey(column, type);
     IndexEntry entry = columnEntries.get(key);
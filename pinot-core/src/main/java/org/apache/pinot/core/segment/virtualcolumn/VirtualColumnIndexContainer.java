@@ -23,6 +23,10 @@ import org.apache.pinot.core.segment.index.column.ColumnIndexContainer;
 import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
 
 
 /**
@@ -59,4 +63,24 @@ public class VirtualColumnIndexContainer implements ColumnIndexContainer {
   public BloomFilterReader getBloomFilter() {
     return null;
   }
+
+  @Override
+  public TextIndexReader getTextIndex() {
+    return null;
+  }
+
+  @Override
+  public JsonIndexReader getJsonIndex() {
+    return null;
+  }
+
+  @Override
+  public GeoIndexReader getGeoIndex() {
+    return null;
+  }
+
+  @Override
+  public NullValueVectorReader getNullValueVector() {
+    return null;
+  }
 }
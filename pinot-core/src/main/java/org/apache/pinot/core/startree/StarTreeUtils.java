@@ -84,7 +84,8 @@ public class StarTreeUtils {
 
   /**
    * Helper method to check whether all columns in predicates are star-tree dimensions, and all predicates are
-   * conjoined by AND.
+   * conjoined by AND. IS NULL and IS NOT NULL predicates cannot be solved with star-tree because the null values are
+   * not tracked in the star-tree records.
    */
   private static boolean checkFilters(@Nonnull FilterQueryTree filterNode, @Nonnull Set<String> starTreeDimensions) {
     FilterOperator operator = filterNode.getOperator();
@@ -99,6 +100,10 @@ public class StarTreeUtils {
       }
       return true;
     }
+    if (operator == FilterOperator.IS_NULL || operator == FilterOperator.IS_NOT_NULL
+        || operator == FilterOperator.ST_WITHIN || operator == FilterOperator.ST_DISTANCE) {
+      return false;
+    }
     String column = filterNode.getColumn();
     return starTreeDimensions.contains(column);
   }
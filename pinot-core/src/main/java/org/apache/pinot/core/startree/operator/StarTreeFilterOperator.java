@@ -375,8 +375,8 @@ public class StarTreeFilterOperator extends BaseFilterOperator {
    * Helper method to get a set of matching dictionary ids from a list of predicate evaluators conjoined with AND.
    * <ul>
    *   <li>
-   *     We sort all predicate evaluators with priority: EQ > IN > RANGE > NOT_IN/NEQ > REGEXP_LIKE so that we process
-   *     less dictionary ids.
+   *     We sort all predicate evaluators with priority: EQ > IN > RANGE > NOT_IN/NEQ >
+   *     REGEXP_LIKE/TEXT_MATCH/JSON_MATCH so that we process less dictionary ids.
    *   </li>
    *   <li>
    *     For the first predicate evaluator, we get all the matching dictionary ids, then apply them to other predicate
@@ -404,6 +404,8 @@ public class StarTreeFilterOperator extends BaseFilterOperator {
           case NEQ:
             return 4;
           case REGEXP_LIKE:
+          case TEXT_MATCH:
+          case JSON_MATCH:
             return 5;
           default:
             throw new UnsupportedOperationException();
@@ -27,6 +27,10 @@ import org.apache.pinot.core.operator.blocks.SingleValueBlock;
 import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
 import org.apache.pinot.core.segment.index.readers.Dictionary;
 import org.apache.pinot.core.segment.index.readers.InvertedIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
 import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 
 
@@ -108,6 +112,26 @@ public class StarTreeDimensionDataSource extends DataSource {
     return null;
   }
 
+  @Override
+  public TextIndexReader getTextIndex() {
+    return null;
+  }
+
+  @Override
+  public JsonIndexReader getJsonIndex() {
+    return null;
+  }
+
+  @Override
+  public GeoIndexReader getGeoIndex() {
+    return null;
+  }
+
+  @Override
+  public NullValueVectorReader getNullValueVector() {
+    return null;
+  }
+
   @Override
   public Dictionary getDictionary() {
     return _dictionary;
@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.text;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Parsed query of the TEXT_MATCH predicate, which matches the documents satisfying all of its clauses:
+ * <ul>
+ *   <li>Term (e.g. <code>error</code>): the text contains the token</li>
+ *   <li>Prefix (e.g. <code>time*</code>): the text contains a token starting with the prefix</li>
+ *   <li>Phrase (e.g. <code>"connection reset by peer"</code>): the text contains the tokens next to each other</li>
+ * </ul>
+ * Clauses are separated by white spaces. A term that is split into multiple tokens by the {@link TextTokenizer} (e.g.
+ * <code>foo-bar</code>) is treated as a phrase.
+ * <p>With the text index, terms and prefixes are looked up directly, and phrases are looked up as the intersection of
+ * the bigrams of adjacent tokens. The bigram lookup is exact for phrases of up to 2 tokens, longer phrases need the
+ * candidate documents to be verified against the values with {@link #matches(String)}.
+ */
+public class TextMatchQuery {
+  public enum ClauseType {
+    TERM, PREFIX, PHRASE
+  }
+
+  private static final char PHRASE_QUOTE = '"';
+  private static final char PREFIX_WILDCARD = '*';
+
+  private final List<ClauseType> _clauseTypes = new ArrayList<>();
+  private final List<List<String>> _clauseTokens = new ArrayList<>();
+
+  private TextMatchQuery() {
+  }
+
+  public static TextMatchQuery parse(String query) {
+    TextMatchQuery textMatchQuery = new TextMatchQuery();
+    int length = query.length();
+    int index = 0;
+    while (index < length) {
+      char c = query.charAt(index);
+      if (Character.isWhitespace(c)) {
+        index++;
+      } else if (c == PHRASE_QUOTE) {
+        int end = query.indexOf(PHRASE_QUOTE, index + 1);
+        Preconditions.checkArgument(end > 0, "Unterminated phrase in text match query: %s", query);
+        textMatchQuery.addClause(ClauseType.PHRASE, TextTokenizer.tokenize(query.substring(index + 1, end)));
+        index = end + 1;
+      } else {
+        int end = index + 1;
+        while (end < length && !Character.isWhitespace(query.charAt(end))) {
+          end++;
+        }
+        String word = query.substring(index, end);
+        if (word.charAt(word.length() - 1) == PREFIX_WILDCARD) {
+          List<String> tokens = TextTokenizer.tokenize(word.substring(0, word.length() - 1));
+          Preconditions
+              .checkArgument(tokens.size() == 1, "Prefix must contain exactly one token in text match query: %s", query);
+          textMatchQuery.addClause(ClauseType.PREFIX, tokens);
+        } else {
+          textMatchQuery.addClause(ClauseType.PHRASE, TextTokenizer.tokenize(word));
+        }
+        index = end;
+      }
+    }
+    Preconditions.checkArgument(!textMatchQuery._clauseTypes.isEmpty(), "No token in text match query: %s", query);
+    return textMatchQuery;
+  }
+
+  private void addClause(ClauseType clauseType, List<String> tokens) {
+    if (tokens.isEmpty()) {
+      return;
+    }
+    if (clauseType == ClauseType.PHRASE && tokens.size() == 1) {
+      clauseType = ClauseType.TERM;
+    }
+    _clauseTypes.add(clauseType);
+    _clauseTokens.add(tokens);
+  }
+
+  public List<ClauseType> getClauseTypes() {
+    return Collections.unmodifiableList(_clauseTypes);
+  }
+
+  public List<List<String>> getClauseTokens() {
+    return Collections.unmodifiableList(_clauseTokens);
+  }
+
+  /**
+   * Returns whether the documents from {@link #getDocIds(TextIndexReader)} need to be verified against the values, i.e.
+   * whether the query contains a phrase of more than 2 tokens.
+   */
+  public boolean needsVerification() {
+    for (List<String> tokens : _clauseTokens) {
+      if (tokens.size() > 2) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the documents matching the query from the text index. If {@link #needsVerification()} is true, the result
+   * is a superset of the matching documents.
+   */
+  public ImmutableRoaringBitmap getDocIds(TextIndexReader textIndexReader) {
+    MutableRoaringBitmap result = null;
+    int numClauses = _clauseTypes.size();
+    for (int i = 0; i < numClauses; i++) {
+      List<String> tokens = _clauseTokens.get(i);
+      switch (_clauseTypes.get(i)) {
+        case TERM:
+          result = and(result, textIndexReader.getDocIds(tokens.get(0)));
+          break;
+        case PREFIX:
+          result = and(result, textIndexReader.getDocIdsForPrefix(tokens.get(0)));
+          break;
+        case PHRASE:
+          int numTokens = tokens.size();
+          for (int j = 1; j < numTokens && (result == null || !result.isEmpty()); j++) {
+            result = and(result, textIndexReader.getDocIds(TextTokenizer.getBigram(tokens.get(j - 1), tokens.get(j))));
+          }
+          break;
+        default:
+          throw new IllegalStateException();
+      }
+      if (result.isEmpty()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private static MutableRoaringBitmap and(MutableRoaringBitmap result, ImmutableRoaringBitmap docIds) {
+    if (result == null) {
+      return docIds.toMutableRoaringBitmap();
+    }
+    result.and(docIds);
+    return result;
+  }
+
+  /**
+   * Returns whether the value matches the query.
+   */
+  public boolean matches(String value) {
+    List<String> valueTokens = TextTokenizer.tokenize(value);
+    int numClauses = _clauseTypes.size();
+    for (int i = 0; i < numClauses; i++) {
+      List<String> tokens = _clauseTokens.get(i);
+      boolean clauseMatches;
+      switch (_clauseTypes.get(i)) {
+        case TERM:
+          clauseMatches = valueTokens.contains(tokens.get(0));
+          break;
+        case PREFIX:
+          clauseMatches = false;
+          for (String valueToken : valueTokens) {
+            if (valueToken.startsWith(tokens.get(0))) {
+              clauseMatches = true;
+              break;
+            }
+          }
+          break;
+        case PHRASE:
+          clauseMatches = Collections.indexOfSubList(valueTokens, tokens) >= 0;
+          break;
+        default:
+          throw new IllegalStateException();
+      }
+      if (!clauseMatches) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
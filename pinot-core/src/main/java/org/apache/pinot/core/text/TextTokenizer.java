@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.text;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Tokenizer for the text index and the TEXT_MATCH predicate.
+ * <p>A token is a maximal run of letters and digits, converted to lower case. All the other characters are separators.
+ * <p>Besides the tokens, the text index also indexes the bigrams of adjacent tokens so that phrases can be looked up
+ * without storing token positions. Tokens never contain spaces, so the bigram of two tokens (joined with a space)
+ * cannot collide with a token.
+ */
+public class TextTokenizer {
+  private TextTokenizer() {
+  }
+
+  private static final char BIGRAM_SEPARATOR = ' ';
+
+  /**
+   * Splits the text into lower case tokens.
+   */
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    StringBuilder tokenBuilder = new StringBuilder();
+    int length = text.length();
+    int index = 0;
+    while (index < length) {
+      int codePoint = text.codePointAt(index);
+      if (Character.isLetterOrDigit(codePoint)) {
+        tokenBuilder.appendCodePoint(Character.toLowerCase(codePoint));
+      } else if (tokenBuilder.length() > 0) {
+        tokens.add(tokenBuilder.toString());
+        tokenBuilder.setLength(0);
+      }
+      index += Character.charCount(codePoint);
+    }
+    if (tokenBuilder.length() > 0) {
+      tokens.add(tokenBuilder.toString());
+    }
+    return tokens;
+  }
+
+  /**
+   * Returns the term for the bigram of two adjacent tokens.
+   */
+  public static String getBigram(String firstToken, String secondToken) {
+    return firstToken + BIGRAM_SEPARATOR + secondToken;
+  }
+
+  /**
+   * Returns the distinct terms (tokens and bigrams of adjacent tokens) to be indexed for the text.
+   */
+  public static Set<String> getTerms(String text) {
+    List<String> tokens = tokenize(text);
+    int numTokens = tokens.size();
+    Set<String> terms = new HashSet<>(2 * numTokens);
+    for (int i = 0; i < numTokens; i++) {
+      terms.add(tokens.get(i));
+      if (i > 0) {
+        terms.add(getBigram(tokens.get(i - 1), tokens.get(i)));
+      }
+    }
+    return terms;
+  }
+}
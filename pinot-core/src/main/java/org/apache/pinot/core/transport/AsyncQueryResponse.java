@@ -18,29 +18,43 @@
  */
 package org.apache.pinot.core.transport;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.apache.pinot.common.utils.DataTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
  * The {@code AsyncQueryResponse} class represents an asynchronous query response.
  * <p>Call {@link #getResponse()} to get the query response asynchronously.
+ * <p>An optional {@link DataTableListener} can be attached to process each data table as soon as it is received.
  */
 @ThreadSafe
 public class AsyncQueryResponse {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncQueryResponse.class);
+
   private final QueryRouter _queryRouter;
   private final long _requestId;
   private final ConcurrentHashMap<Server, ServerResponse> _responseMap;
   private final CountDownLatch _countDownLatch;
   private final long _maxEndTimeMs;
+  private final DataTableListener _dataTableListener;
 
   public AsyncQueryResponse(QueryRouter queryRouter, long requestId, Set<Server> serversQueried, long startTimeMs,
       long timeoutMs) {
+    this(queryRouter, requestId, serversQueried, startTimeMs, timeoutMs, null);
+  }
+
+  public AsyncQueryResponse(QueryRouter queryRouter, long requestId, Set<Server> serversQueried, long startTimeMs,
+      long timeoutMs, @Nullable DataTableListener dataTableListener) {
     _queryRouter = queryRouter;
     _requestId = requestId;
     int numServersQueried = serversQueried.size();
@@ -50,6 +64,7 @@ public class AsyncQueryResponse {
     }
     _countDownLatch = new CountDownLatch(numServersQueried);
     _maxEndTimeMs = startTimeMs + timeoutMs;
+    _dataTableListener = dataTableListener;
   }
 
   /**
@@ -61,7 +76,13 @@ public class AsyncQueryResponse {
       _countDownLatch.await(_maxEndTimeMs - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
       return _responseMap;
     } finally {
-      _queryRouter.markQueryDone(_requestId);
+      List<Server> serversWithoutResponse = new ArrayList<>();
+      for (Map.Entry<Server, ServerResponse> entry : _responseMap.entrySet()) {
+        if (entry.getValue().getDataTable() == null) {
+          serversWithoutResponse.add(entry.getKey());
+        }
+      }
+      _queryRouter.markQueryDone(_requestId, serversWithoutResponse);
     }
   }
 
@@ -84,6 +105,14 @@ public class AsyncQueryResponse {
 
   void receiveDataTable(Server server, DataTable dataTable, long responseSize, long deserializationTimeMs) {
     _responseMap.get(server).receiveDataTable(dataTable, responseSize, deserializationTimeMs);
+    if (_dataTableListener != null) {
+      try {
+        _dataTableListener.onDataTableReceived(server, dataTable);
+      } catch (Exception e) {
+        LOGGER.error("Caught exception while notifying data table listener for request {} from server: {}", _requestId,
+            server, e);
+      }
+    }
     _countDownLatch.countDown();
   }
 
@@ -21,6 +21,9 @@ package org.apache.pinot.core.transport;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.pinot.common.metrics.BrokerMeter;
 import org.apache.pinot.common.metrics.BrokerMetrics;
 import org.apache.pinot.common.utils.DataTable;
@@ -35,6 +38,8 @@ public class DataTableHandler extends SimpleChannelInboundHandler<ByteBuf> {
   private final QueryRouter _queryRouter;
   private final Server _server;
   private final BrokerMetrics _brokerMetrics;
+  // Ids of the requests sent through the channel without response received
+  private final Set<Long> _outstandingRequestIds = ConcurrentHashMap.newKeySet();
 
   public DataTableHandler(QueryRouter queryRouter, Server server, BrokerMetrics brokerMetrics) {
     _queryRouter = queryRouter;
@@ -42,6 +47,25 @@ public class DataTableHandler extends SimpleChannelInboundHandler<ByteBuf> {
     _brokerMetrics = brokerMetrics;
   }
 
+  /**
+   * Marks the request as sent through the channel, so that it can be failed if the channel becomes inactive before the
+   * response is received.
+   */
+  void markRequestSent(long requestId) {
+    _outstandingRequestIds.add(requestId);
+  }
+
+  /**
+   * Marks the request as done (e.g. timed out) without response received through the channel.
+   */
+  void markRequestDone(long requestId) {
+    _outstandingRequestIds.remove(requestId);
+  }
+
+  int getNumOutstandingRequests() {
+    return _outstandingRequestIds.size();
+  }
+
   @Override
   public void channelActive(ChannelHandlerContext ctx) {
     LOGGER.info("Channel for server: {} is now active", _server);
@@ -49,8 +73,16 @@ public class DataTableHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
   @Override
   public void channelInactive(ChannelHandlerContext ctx) {
-    LOGGER.error("Channel for server: {} is now inactive, marking server down", _server);
-    _queryRouter.markServerDown(_server);
+    // Outstanding requests on this channel will never get response, fail them regardless of the other channels to the
+    // server
+    LOGGER.error("Channel for server: {} is now inactive, marking {} outstanding requests failed", _server,
+        _outstandingRequestIds.size());
+    Iterator<Long> iterator = _outstandingRequestIds.iterator();
+    while (iterator.hasNext()) {
+      long requestId = iterator.next();
+      iterator.remove();
+      _queryRouter.markServerDown(_server, requestId);
+    }
   }
 
   @Override
@@ -60,6 +92,7 @@ public class DataTableHandler extends SimpleChannelInboundHandler<ByteBuf> {
     try {
       long deserializationStartTimeMs = System.currentTimeMillis();
       DataTable dataTable = DataTableFactory.getDataTable(msg.nioBuffer());
+      _outstandingRequestIds.remove(Long.parseLong(dataTable.getMetadata().get(DataTable.REQUEST_ID_METADATA_KEY)));
       _queryRouter
           .receiveDataTable(_server, dataTable, responseSize, System.currentTimeMillis() - deserializationStartTimeMs);
     } catch (Exception e) {
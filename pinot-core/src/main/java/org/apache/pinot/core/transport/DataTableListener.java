@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import org.apache.pinot.common.utils.DataTable;
+
+
+/**
+ * The {@code DataTableListener} interface is notified each time a {@link DataTable} for a query is received from a
+ * {@link Server}, before the {@link AsyncQueryResponse} counts the server as responded.
+ * <p>NOTE: the listener is invoked on the Netty event loop thread, so it should not block or run expensive work such as
+ * merging the data table inline. Hand the work off to another executor instead.
+ */
+public interface DataTableListener {
+
+  /**
+   * Handles the data table received from the given server.
+   */
+  void onDataTableReceived(Server server, DataTable dataTable);
+}
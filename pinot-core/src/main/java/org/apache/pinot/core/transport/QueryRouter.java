@@ -37,7 +37,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@code QueryRouter} class provides methods to route the query based on the routing table, and returns a
  * {@link AsyncQueryResponse} so that caller can handle the query response asynchronously.
- * <p>It works on {@link ServerChannels} which maintains only a single connection between the broker and each server.
+ * <p>It works on {@link ServerChannels} which maintains a configurable number of connections (1 by default) between the
+ * broker and each server.
  */
 @ThreadSafe
 public class QueryRouter {
@@ -49,15 +50,31 @@ public class QueryRouter {
   private final ConcurrentHashMap<Long, AsyncQueryResponse> _asyncQueryResponseMap = new ConcurrentHashMap<>();
 
   public QueryRouter(String brokerId, BrokerMetrics brokerMetrics) {
+    this(brokerId, brokerMetrics, ServerChannels.DEFAULT_NUM_CHANNELS_PER_SERVER);
+  }
+
+  public QueryRouter(String brokerId, BrokerMetrics brokerMetrics, int numChannelsPerServer) {
     _brokerId = brokerId;
     _brokerMetrics = brokerMetrics;
-    _serverChannels = new ServerChannels(this, brokerMetrics);
+    _serverChannels = new ServerChannels(this, brokerMetrics, numChannelsPerServer);
   }
 
   public AsyncQueryResponse submitQuery(long requestId, String rawTableName,
       @Nullable BrokerRequest offlineBrokerRequest, @Nullable Map<String, List<String>> offlineRoutingTable,
       @Nullable BrokerRequest realtimeBrokerRequest, @Nullable Map<String, List<String>> realtimeRoutingTable,
       long timeoutMs) {
+    return submitQuery(requestId, rawTableName, offlineBrokerRequest, offlineRoutingTable, realtimeBrokerRequest,
+        realtimeRoutingTable, timeoutMs, null);
+  }
+
+  /**
+   * Same as {@link #submitQuery(long, String, BrokerRequest, Map, BrokerRequest, Map, long)}, but notifies the given
+   * {@link DataTableListener} (if not {@code null}) as soon as each data table is received.
+   */
+  public AsyncQueryResponse submitQuery(long requestId, String rawTableName,
+      @Nullable BrokerRequest offlineBrokerRequest, @Nullable Map<String, List<String>> offlineRoutingTable,
+      @Nullable BrokerRequest realtimeBrokerRequest, @Nullable Map<String, List<String>> realtimeRoutingTable,
+      long timeoutMs, @Nullable DataTableListener dataTableListener) {
     assert offlineBrokerRequest != null || realtimeBrokerRequest != null;
 
     // Build map from server to request based on the routing table
@@ -81,7 +98,8 @@ public class QueryRouter {
 
     // Create the asynchronous query response with the request map
     AsyncQueryResponse asyncQueryResponse =
-        new AsyncQueryResponse(this, requestId, requestMap.keySet(), System.currentTimeMillis(), timeoutMs);
+        new AsyncQueryResponse(this, requestId, requestMap.keySet(), System.currentTimeMillis(), timeoutMs,
+            dataTableListener);
     _asyncQueryResponseMap.put(requestId, asyncQueryResponse);
     for (Map.Entry<Server, InstanceRequest> entry : requestMap.entrySet()) {
       Server server = entry.getKey();
@@ -114,14 +132,24 @@ public class QueryRouter {
     }
   }
 
-  void markServerDown(Server server) {
-    for (AsyncQueryResponse asyncQueryResponse : _asyncQueryResponseMap.values()) {
+  void markServerDown(Server server, long requestId) {
+    AsyncQueryResponse asyncQueryResponse = _asyncQueryResponseMap.get(requestId);
+
+    // Query future might be null if the query is already done
+    if (asyncQueryResponse != null) {
       asyncQueryResponse.markServerDown(server);
     }
   }
 
-  void markQueryDone(long requestId) {
+  /**
+   * Marks the query done, where the requests to the servers without response received (e.g. timed out or failed) are
+   * no longer outstanding on the server channels.
+   */
+  void markQueryDone(long requestId, List<Server> serversWithoutResponse) {
     _asyncQueryResponseMap.remove(requestId);
+    for (Server server : serversWithoutResponse) {
+      _serverChannels.markRequestDone(server, requestId);
+    }
   }
 
   private InstanceRequest getInstanceRequest(long requestId, BrokerRequest brokerRequest, List<String> segments) {
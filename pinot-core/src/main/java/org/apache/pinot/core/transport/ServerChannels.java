@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.transport;
 
+import com.google.common.base.Preconditions;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
@@ -41,24 +42,79 @@ import org.apache.thrift.protocol.TCompactProtocol;
 
 /**
  * The {@code ServerChannels} class manages the channels between broker to all the connected servers.
- * <p>There is only one channel between the broker and each connected server (we count OFFLINE and REALTIME as different
- * servers)
+ * <p>There is a configurable number of channels between the broker and each connected server (we count OFFLINE and
+ * REALTIME as different servers). Each request is sent through the least loaded channel (the one with the fewest
+ * outstanding requests, preferring the writable ones), so that a large response only blocks the responses queued
+ * behind it on the same channel. The channels are lazily connected when they are picked.
  */
 @ThreadSafe
 public class ServerChannels {
+  public static final int DEFAULT_NUM_CHANNELS_PER_SERVER = 1;
+
   private final QueryRouter _queryRouter;
   private final BrokerMetrics _brokerMetrics;
-  private final ConcurrentHashMap<Server, ServerChannel> _serverToChannelMap = new ConcurrentHashMap<>();
+  private final int _numChannelsPerServer;
+  private final ConcurrentHashMap<Server, ServerChannel[]> _serverToChannelsMap = new ConcurrentHashMap<>();
   private final EventLoopGroup _eventLoopGroup = new NioEventLoopGroup();
 
   public ServerChannels(QueryRouter queryRouter, BrokerMetrics brokerMetrics) {
+    this(queryRouter, brokerMetrics, DEFAULT_NUM_CHANNELS_PER_SERVER);
+  }
+
+  public ServerChannels(QueryRouter queryRouter, BrokerMetrics brokerMetrics, int numChannelsPerServer) {
+    Preconditions.checkArgument(numChannelsPerServer > 0, "Number of channels per server must be positive");
     _queryRouter = queryRouter;
     _brokerMetrics = brokerMetrics;
+    _numChannelsPerServer = numChannelsPerServer;
   }
 
   public void sendRequest(Server server, InstanceRequest instanceRequest)
       throws Exception {
-    _serverToChannelMap.computeIfAbsent(server, ServerChannel::new).sendRequest(instanceRequest);
+    getLeastLoadedChannel(_serverToChannelsMap.computeIfAbsent(server, this::createServerChannels))
+        .sendRequest(instanceRequest);
+  }
+
+  /**
+   * Marks the request to the server as done (e.g. timed out) without response received, so that it is no longer
+   * counted as outstanding for the channel load.
+   */
+  public void markRequestDone(Server server, long requestId) {
+    ServerChannel[] serverChannels = _serverToChannelsMap.get(server);
+    if (serverChannels != null) {
+      for (ServerChannel serverChannel : serverChannels) {
+        serverChannel.markRequestDone(requestId);
+      }
+    }
+  }
+
+  private ServerChannel[] createServerChannels(Server server) {
+    ServerChannel[] serverChannels = new ServerChannel[_numChannelsPerServer];
+    for (int i = 0; i < _numChannelsPerServer; i++) {
+      serverChannels[i] = new ServerChannel(server);
+    }
+    return serverChannels;
+  }
+
+  private static ServerChannel getLeastLoadedChannel(ServerChannel[] serverChannels) {
+    ServerChannel leastLoadedChannel = serverChannels[0];
+    int numChannels = serverChannels.length;
+    if (numChannels == 1) {
+      return leastLoadedChannel;
+    }
+    boolean leastLoadedChannelWritable = leastLoadedChannel.isWritable();
+    int leastNumOutstandingRequests = leastLoadedChannel.getNumOutstandingRequests();
+    for (int i = 1; i < numChannels; i++) {
+      ServerChannel serverChannel = serverChannels[i];
+      boolean writable = serverChannel.isWritable();
+      int numOutstandingRequests = serverChannel.getNumOutstandingRequests();
+      if ((writable && !leastLoadedChannelWritable) || (writable == leastLoadedChannelWritable
+          && numOutstandingRequests < leastNumOutstandingRequests)) {
+        leastLoadedChannel = serverChannel;
+        leastLoadedChannelWritable = writable;
+        leastNumOutstandingRequests = numOutstandingRequests;
+      }
+    }
+    return leastLoadedChannel;
   }
 
   public void shutDown() {
@@ -71,7 +127,9 @@ public class ServerChannels {
     final TSerializer _serializer = new TSerializer(new TCompactProtocol.Factory());
     final Server _server;
     final Bootstrap _bootstrap;
-    Channel _channel;
+    volatile Channel _channel;
+    // Handler of the current channel, which tracks the requests sent through the channel without response received
+    volatile DataTableHandler _dataTableHandler;
 
     ServerChannel(Server server) {
       _server = server;
@@ -80,16 +138,39 @@ public class ServerChannels {
           .handler(new ChannelInitializer<SocketChannel>() {
             @Override
             protected void initChannel(SocketChannel ch) {
+              DataTableHandler dataTableHandler = new DataTableHandler(_queryRouter, _server, _brokerMetrics);
+              _dataTableHandler = dataTableHandler;
               ch.pipeline()
                   .addLast(new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, Integer.BYTES, 0, Integer.BYTES),
                       new LengthFieldPrepender(Integer.BYTES),
                       // NOTE: data table de-serialization happens inside this handler
                       // Revisit if this becomes a bottleneck
-                      new DataTableHandler(_queryRouter, _server, _brokerMetrics));
+                      dataTableHandler);
             }
           });
     }
 
+    /**
+     * Returns whether the channel can take more requests without buffering them (not connected channel is treated as
+     * writable).
+     */
+    boolean isWritable() {
+      Channel channel = _channel;
+      return channel == null || channel.isWritable();
+    }
+
+    int getNumOutstandingRequests() {
+      DataTableHandler dataTableHandler = _dataTableHandler;
+      return dataTableHandler != null ? dataTableHandler.getNumOutstandingRequests() : 0;
+    }
+
+    void markRequestDone(long requestId) {
+      DataTableHandler dataTableHandler = _dataTableHandler;
+      if (dataTableHandler != null) {
+        dataTableHandler.markRequestDone(requestId);
+      }
+    }
+
     synchronized void sendRequest(InstanceRequest instanceRequest)
         throws Exception {
       if (_channel == null || !_channel.isActive()) {
@@ -99,6 +180,7 @@ public class ServerChannels {
             System.currentTimeMillis() - startTime);
       }
       byte[] requestBytes = _serializer.serialize(instanceRequest);
+      _dataTableHandler.markRequestSent(instanceRequest.getRequestId());
       _channel
           .writeAndFlush(_channel.alloc().buffer(requestBytes.length).writeBytes(requestBytes), _channel.voidPromise());
       _brokerMetrics.addMeteredGlobalValue(BrokerMeter.NETTY_CONNECTION_REQUESTS_SENT, 1L);
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.util.regex;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Alphabet of the characters for the regular expression automatons:
+ * <ul>
+ *   <li>Each ASCII character is its own symbol</li>
+ *   <li>Each non-ASCII character that can match an ASCII character case-insensitively (e.g. KELVIN SIGN for 'k') or
+ *   that terminates a line is its own special symbol</li>
+ *   <li>All the other characters share one generic symbol, because none of the supported single character atoms (ASCII
+ *   literals, '.', ASCII character classes and their negations) can tell them apart</li>
+ * </ul>
+ * The symbols matched by an atom are evaluated with {@link Pattern} on a representative character of each symbol, so
+ * that the case-insensitive semantics are identical to the regular expression engine.
+ */
+final class RegexpAlphabet {
+  private RegexpAlphabet() {
+  }
+
+  // Non-ASCII line terminators ('\n' and '\r' are ASCII)
+  private static final int[] LINE_TERMINATORS = {0x85, 0x2028, 0x2029};
+  // CJK character without case or line terminator semantics
+  private static final int GENERIC_CODE_POINT = 0x4E00;
+
+  static final int NUM_ASCII_SYMBOLS = 128;
+  static final int[] SPECIAL_CODE_POINTS = computeSpecialCodePoints();
+  static final int GENERIC_SYMBOL = NUM_ASCII_SYMBOLS + SPECIAL_CODE_POINTS.length;
+  static final int NUM_SYMBOLS = GENERIC_SYMBOL + 1;
+
+  private static int[] computeSpecialCodePoints() {
+    IntArrayList specialCodePoints = new IntArrayList();
+    for (int codePoint = NUM_ASCII_SYMBOLS; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+      int upperCase = Character.toUpperCase(codePoint);
+      int lowerCase = Character.toLowerCase(codePoint);
+      if (upperCase < NUM_ASCII_SYMBOLS || lowerCase < NUM_ASCII_SYMBOLS
+          || Character.toLowerCase(upperCase) < NUM_ASCII_SYMBOLS
+          || Character.toUpperCase(lowerCase) < NUM_ASCII_SYMBOLS) {
+        specialCodePoints.add(codePoint);
+      }
+    }
+    for (int lineTerminator : LINE_TERMINATORS) {
+      if (!specialCodePoints.contains(lineTerminator)) {
+        specialCodePoints.add(lineTerminator);
+      }
+    }
+    int[] result = specialCodePoints.toIntArray();
+    Arrays.sort(result);
+    return result;
+  }
+
+  static int getSymbol(int codePoint) {
+    if (codePoint < NUM_ASCII_SYMBOLS) {
+      return codePoint;
+    }
+    int index = Arrays.binarySearch(SPECIAL_CODE_POINTS, codePoint);
+    return index >= 0 ? NUM_ASCII_SYMBOLS + index : GENERIC_SYMBOL;
+  }
+
+  static int getCodePoint(int symbol) {
+    if (symbol < NUM_ASCII_SYMBOLS) {
+      return symbol;
+    }
+    if (symbol < GENERIC_SYMBOL) {
+      return SPECIAL_CODE_POINTS[symbol - NUM_ASCII_SYMBOLS];
+    }
+    return GENERIC_CODE_POINT;
+  }
+
+  /**
+   * Returns for each symbol whether it is matched by the given single character atom (e.g. {@code a}, {@code \.},
+   * {@code .}, {@code \d}, {@code [^a-z]}) compiled with the given pattern flags.
+   */
+  static boolean[] getMatchingSymbols(String atom, int flags) {
+    Matcher matcher = Pattern.compile(atom, flags).matcher("");
+    boolean[] matchingSymbols = new boolean[NUM_SYMBOLS];
+    for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+      matchingSymbols[symbol] = matcher.reset(new String(Character.toChars(getCodePoint(symbol)))).matches();
+    }
+    return matchingSymbols;
+  }
+}
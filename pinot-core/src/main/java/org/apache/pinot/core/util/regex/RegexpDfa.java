@@ -0,0 +1,695 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.util.regex;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+
+/**
+ * Deterministic finite automaton with the same semantics as {@link java.util.regex.Matcher#find()} for a subset of the
+ * regular expressions, which can be evaluated directly on the UTF-8 bytes of the values without decoding them into
+ * strings, and without backtracking.
+ * <p>Supported syntax:
+ * <ul>
+ *   <li>ASCII literals, escaped ASCII punctuations, {@code \t \n \r \f \a \e}, {@code \xhh} and {@code \\uhhhh} for
+ *   ASCII characters</li>
+ *   <li>{@code .}, {@code \d \D \s \S \w \W}, and character classes of the above without nested classes or
+ *   intersections</li>
+ *   <li>Concatenation, alternation, capturing and non-capturing ({@code (?:...)}) groups</li>
+ *   <li>Greedy and reluctant quantifiers {@code * + ? {n} {n,} {n,m}}</li>
+ *   <li>{@code ^}, and {@code $} at the end of a top level alternative</li>
+ * </ul>
+ * Supported pattern flags are {@link Pattern#CASE_INSENSITIVE} and {@link Pattern#UNICODE_CASE}. For the other
+ * patterns, {@link #compile(String, int)} returns {@code null} and the caller should fall back to {@link Pattern}.
+ */
+public final class RegexpDfa {
+  private static final int SUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+  private static final int MAX_NUM_REPETITIONS = 64;
+  private static final int MAX_NUM_NFA_STATES = 4096;
+  private static final int MAX_NUM_DFA_STATES = 512;
+
+  private static final int NUM_SYMBOLS = RegexpAlphabet.NUM_SYMBOLS;
+
+  // Transition table indexed by (state * NUM_SYMBOLS + symbol), the initial state is 0
+  private final int[] _transitions;
+  private final boolean[] _accepting;
+  // States accepting only at the end of the input or before the line terminator at the end of the input ('$')
+  private final boolean[] _acceptingAtEnd;
+  // State that can never accept, or -1 if there is no such state
+  private final int _deadState;
+
+  private RegexpDfa(int[] transitions, boolean[] accepting, boolean[] acceptingAtEnd, int deadState) {
+    _transitions = transitions;
+    _accepting = accepting;
+    _acceptingAtEnd = acceptingAtEnd;
+    _deadState = deadState;
+  }
+
+  /**
+   * Compiles the regular expression into a DFA, or returns {@code null} if the regular expression or the flags are not
+   * supported, or the DFA is too large. The regular expression should already be validated by {@link Pattern}.
+   */
+  @Nullable
+  public static RegexpDfa compile(String regex, int flags) {
+    if ((flags & ~SUPPORTED_FLAGS) != 0) {
+      return null;
+    }
+    try {
+      Parser parser = new Parser(regex, flags);
+      Node root = parser.parse();
+      Nfa nfa = new Nfa(parser._atoms);
+      int acceptState = nfa.addState(Nfa.ACCEPT, -1, -1, -1);
+      nfa._startState = nfa.build(root, acceptState);
+      return determinize(nfa);
+    } catch (UnsupportedRegexpException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns whether the UTF-8 encoded value contains a match of the regular expression.
+   */
+  public boolean find(byte[] utf8Bytes, int length) {
+    int state = 0;
+    int index = 0;
+    while (true) {
+      if (_accepting[state] || (_acceptingAtEnd[state] && isAtEnd(utf8Bytes, index, length))) {
+        return true;
+      }
+      if (index == length || state == _deadState) {
+        return false;
+      }
+      int firstByte = utf8Bytes[index];
+      int codePoint;
+      if (firstByte >= 0) {
+        codePoint = firstByte;
+        index++;
+      } else if ((firstByte & 0xE0) == 0xC0 && index + 1 < length) {
+        codePoint = ((firstByte & 0x1F) << 6) | (utf8Bytes[index + 1] & 0x3F);
+        index += 2;
+      } else if ((firstByte & 0xF0) == 0xE0 && index + 2 < length) {
+        codePoint = ((firstByte & 0x0F) << 12) | ((utf8Bytes[index + 1] & 0x3F) << 6) | (utf8Bytes[index + 2] & 0x3F);
+        index += 3;
+      } else if ((firstByte & 0xF8) == 0xF0 && index + 3 < length) {
+        codePoint = ((firstByte & 0x07) << 18) | ((utf8Bytes[index + 1] & 0x3F) << 12) | (
+            (utf8Bytes[index + 2] & 0x3F) << 6) | (utf8Bytes[index + 3] & 0x3F);
+        index += 4;
+      } else {
+        // Malformed input, decoded as the replacement character
+        codePoint = 0xFFFD;
+        index++;
+      }
+      state = _transitions[state * NUM_SYMBOLS + RegexpAlphabet.getSymbol(codePoint)];
+    }
+  }
+
+  /**
+   * Returns whether the value contains a match of the regular expression.
+   */
+  public boolean find(String value) {
+    int length = value.length();
+    int state = 0;
+    int index = 0;
+    while (true) {
+      if (_accepting[state] || (_acceptingAtEnd[state] && isAtEnd(value, index, length))) {
+        return true;
+      }
+      if (index == length || state == _deadState) {
+        return false;
+      }
+      int codePoint = value.codePointAt(index);
+      index += Character.charCount(codePoint);
+      state = _transitions[state * NUM_SYMBOLS + RegexpAlphabet.getSymbol(codePoint)];
+    }
+  }
+
+  /**
+   * Returns whether '$' matches at the index, i.e. the index is at the end of the input, or the rest of the input is a
+   * single line terminator ("\r\n" counts as one, but not the '\n' within it).
+   */
+  private static boolean isAtEnd(byte[] utf8Bytes, int index, int length) {
+    switch (length - index) {
+      case 0:
+        return true;
+      case 1:
+        byte value = utf8Bytes[index];
+        return value == '\r' || (value == '\n' && (index == 0 || utf8Bytes[index - 1] != '\r'));
+      case 2:
+        // "\r\n" or U+0085
+        return (utf8Bytes[index] == '\r' && utf8Bytes[index + 1] == '\n') || (utf8Bytes[index] == (byte) 0xC2
+            && utf8Bytes[index + 1] == (byte) 0x85);
+      case 3:
+        // U+2028 or U+2029
+        return utf8Bytes[index] == (byte) 0xE2 && utf8Bytes[index + 1] == (byte) 0x80 && (
+            utf8Bytes[index + 2] == (byte) 0xA8 || utf8Bytes[index + 2] == (byte) 0xA9);
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isAtEnd(String value, int index, int length) {
+    switch (length - index) {
+      case 0:
+        return true;
+      case 1:
+        char c = value.charAt(index);
+        return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029' || (c == '\n' && (index == 0
+            || value.charAt(index - 1) != '\r'));
+      case 2:
+        return value.charAt(index) == '\r' && value.charAt(index + 1) == '\n';
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Subset construction. A new match attempt starts at every position (find semantics), so the closure of the start
+   * state (without passing '^') is added to every state after the initial one.
+   */
+  private static RegexpDfa determinize(Nfa nfa)
+      throws UnsupportedRegexpException {
+    BitSet restartStates = nfa.closure(singleton(nfa._startState), false);
+    List<BitSet> dfaStates = new ArrayList<>();
+    Map<BitSet, Integer> dfaStateIds = new HashMap<>();
+    BitSet initialState = nfa.closure(singleton(nfa._startState), true);
+    dfaStates.add(initialState);
+    dfaStateIds.put(initialState, 0);
+
+    IntArrayList transitions = new IntArrayList();
+    for (int dfaState = 0; dfaState < dfaStates.size(); dfaState++) {
+      BitSet nfaStates = dfaStates.get(dfaState);
+      if (nfa.isAccepting(nfaStates)) {
+        // Accepting states are final
+        for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+          transitions.add(dfaState);
+        }
+        continue;
+      }
+      for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+        BitSet nextStates = new BitSet();
+        for (int nfaState = nfaStates.nextSetBit(0); nfaState >= 0; nfaState = nfaStates.nextSetBit(nfaState + 1)) {
+          if (nfa._types.getInt(nfaState) == Nfa.ATOM && nfa._atoms.get(nfa._atomIds.getInt(nfaState))[symbol]) {
+            nextStates.set(nfa._nextStates.getInt(nfaState));
+          }
+        }
+        BitSet nextDfaState = nfa.closure(nextStates, false);
+        nextDfaState.or(restartStates);
+        Integer nextDfaStateId = dfaStateIds.get(nextDfaState);
+        if (nextDfaStateId == null) {
+          if (dfaStates.size() == MAX_NUM_DFA_STATES) {
+            throw new UnsupportedRegexpException();
+          }
+          nextDfaStateId = dfaStates.size();
+          dfaStates.add(nextDfaState);
+          dfaStateIds.put(nextDfaState, nextDfaStateId);
+        }
+        transitions.add(nextDfaStateId.intValue());
+      }
+    }
+
+    int numDfaStates = dfaStates.size();
+    boolean[] accepting = new boolean[numDfaStates];
+    boolean[] acceptingAtEnd = new boolean[numDfaStates];
+    int deadState = -1;
+    for (int dfaState = 0; dfaState < numDfaStates; dfaState++) {
+      BitSet nfaStates = dfaStates.get(dfaState);
+      accepting[dfaState] = nfa.isAccepting(nfaStates);
+      acceptingAtEnd[dfaState] = nfa.isAcceptingAtEnd(nfaStates);
+      if (nfaStates.isEmpty()) {
+        deadState = dfaState;
+      }
+    }
+    return new RegexpDfa(transitions.toIntArray(), accepting, acceptingAtEnd, deadState);
+  }
+
+  private static BitSet singleton(int value) {
+    BitSet bitSet = new BitSet();
+    bitSet.set(value);
+    return bitSet;
+  }
+
+  private static class UnsupportedRegexpException extends Exception {
+  }
+
+  /**
+   * Nodes of the parsed regular expression.
+   */
+  private static abstract class Node {
+  }
+
+  private static final class AtomNode extends Node {
+    final int _atomId;
+
+    AtomNode(int atomId) {
+      _atomId = atomId;
+    }
+  }
+
+  private static final class ConcatNode extends Node {
+    final List<Node> _children;
+
+    ConcatNode(List<Node> children) {
+      _children = children;
+    }
+  }
+
+  private static final class AlternationNode extends Node {
+    final List<Node> _children;
+
+    AlternationNode(List<Node> children) {
+      _children = children;
+    }
+  }
+
+  private static final class RepeatNode extends Node {
+    final Node _child;
+    final int _min;
+    // -1 for unbounded
+    final int _max;
+
+    RepeatNode(Node child, int min, int max) {
+      _child = child;
+      _min = min;
+      _max = max;
+    }
+  }
+
+  private static final class BeginNode extends Node {
+  }
+
+  private static final class EndNode extends Node {
+  }
+
+  /**
+   * Recursive descent parser for the supported syntax, which throws {@link UnsupportedRegexpException} on any other
+   * construct.
+   */
+  private static final class Parser {
+    // Escaped letters that are single character atoms within ASCII
+    private static final String SUPPORTED_ESCAPED_LETTERS = "dDsSwWtnrfae";
+
+    final String _regex;
+    final int _flags;
+    final int _length;
+    final List<boolean[]> _atoms = new ArrayList<>();
+    final Map<String, Integer> _atomIds = new HashMap<>();
+    int _position;
+
+    Parser(String regex, int flags) {
+      _regex = regex;
+      _flags = flags;
+      _length = regex.length();
+    }
+
+    Node parse()
+        throws UnsupportedRegexpException {
+      Node root = parseAlternation(0);
+      if (_position != _length) {
+        throw new UnsupportedRegexpException();
+      }
+      return root;
+    }
+
+    Node parseAlternation(int depth)
+        throws UnsupportedRegexpException {
+      List<Node> children = new ArrayList<>();
+      children.add(parseConcat(depth));
+      while (_position < _length && _regex.charAt(_position) == '|') {
+        _position++;
+        children.add(parseConcat(depth));
+      }
+      return children.size() == 1 ? children.get(0) : new AlternationNode(children);
+    }
+
+    Node parseConcat(int depth)
+        throws UnsupportedRegexpException {
+      List<Node> children = new ArrayList<>();
+      while (_position < _length) {
+        char c = _regex.charAt(_position);
+        if (c == '|' || c == ')') {
+          break;
+        }
+        if (c == '^') {
+          _position++;
+          if (isQuantifier()) {
+            throw new UnsupportedRegexpException();
+          }
+          children.add(new BeginNode());
+        } else if (c == '$') {
+          // Only supported at the end of a top level alternative
+          _position++;
+          if (depth != 0 || (_position < _length && _regex.charAt(_position) != '|')) {
+            throw new UnsupportedRegexpException();
+          }
+          children.add(new EndNode());
+        } else {
+          children.add(parseQuantifier(parseAtom(depth)));
+        }
+      }
+      return children.size() == 1 ? children.get(0) : new ConcatNode(children);
+    }
+
+    boolean isQuantifier() {
+      if (_position == _length) {
+        return false;
+      }
+      char c = _regex.charAt(_position);
+      return c == '*' || c == '+' || c == '?' || c == '{';
+    }
+
+    Node parseAtom(int depth)
+        throws UnsupportedRegexpException {
+      char c = _regex.charAt(_position);
+      switch (c) {
+        case '(':
+          _position++;
+          if (_regex.startsWith("?", _position)) {
+            if (!_regex.startsWith("?:", _position)) {
+              // Look-around, named group, inline flags etc.
+              throw new UnsupportedRegexpException();
+            }
+            _position += 2;
+          }
+          Node group = parseAlternation(depth + 1);
+          if (_position == _length || _regex.charAt(_position) != ')') {
+            throw new UnsupportedRegexpException();
+          }
+          _position++;
+          return group;
+        case '.':
+          _position++;
+          return getAtomNode(".");
+        case '[':
+          int classStart = _position;
+          _position = getClassEnd();
+          return getAtomNode(_regex.substring(classStart, _position));
+        case '\\':
+          int escapeStart = _position;
+          _position = getEscapeEnd(false);
+          return getAtomNode(_regex.substring(escapeStart, _position));
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+          throw new UnsupportedRegexpException();
+        default:
+          if (c >= RegexpAlphabet.NUM_ASCII_SYMBOLS) {
+            throw new UnsupportedRegexpException();
+          }
+          _position++;
+          return getAtomNode(String.valueOf(c));
+      }
+    }
+
+    /**
+     * Returns the end (exclusive) of the escape sequence starting at the current position.
+     */
+    int getEscapeEnd(boolean inClass)
+        throws UnsupportedRegexpException {
+      if (_position + 1 >= _length) {
+        throw new UnsupportedRegexpException();
+      }
+      char c = _regex.charAt(_position + 1);
+      if (c >= RegexpAlphabet.NUM_ASCII_SYMBOLS) {
+        throw new UnsupportedRegexpException();
+      }
+      if (!Character.isLetterOrDigit(c) || SUPPORTED_ESCAPED_LETTERS.indexOf(c) >= 0) {
+        return _position + 2;
+      }
+      if (!inClass && (c == 'x' || c == 'u')) {
+        int numHexDigits = c == 'x' ? 2 : 4;
+        int end = _position + 2 + numHexDigits;
+        if (end <= _length) {
+          try {
+            if (Integer.parseInt(_regex.substring(_position + 2, end), 16) < RegexpAlphabet.NUM_ASCII_SYMBOLS) {
+              return end;
+            }
+          } catch (NumberFormatException e) {
+            // Fall through
+          }
+        }
+      }
+      // Back references, boundaries, quotations, Unicode properties etc.
+      throw new UnsupportedRegexpException();
+    }
+
+    /**
+     * Returns the end (exclusive) of the character class starting at the current position.
+     */
+    int getClassEnd()
+        throws UnsupportedRegexpException {
+      int savedPosition = _position;
+      _position++;
+      if (_position < _length && _regex.charAt(_position) == '^') {
+        _position++;
+      }
+      if (_position < _length && _regex.charAt(_position) == ']') {
+        throw new UnsupportedRegexpException();
+      }
+      while (_position < _length) {
+        char c = _regex.charAt(_position);
+        if (c == ']') {
+          int end = _position + 1;
+          _position = savedPosition;
+          return end;
+        }
+        if (c == '\\') {
+          _position = getEscapeEnd(true);
+        } else if (c == '[' || (c == '&' && _regex.startsWith("&&", _position))
+            || c >= RegexpAlphabet.NUM_ASCII_SYMBOLS) {
+          // Nested class, intersection or non-ASCII character
+          throw new UnsupportedRegexpException();
+        } else {
+          _position++;
+        }
+      }
+      throw new UnsupportedRegexpException();
+    }
+
+    Node parseQuantifier(Node atom)
+        throws UnsupportedRegexpException {
+      if (!isQuantifier()) {
+        return atom;
+      }
+      char c = _regex.charAt(_position++);
+      int min;
+      int max;
+      switch (c) {
+        case '*':
+          min = 0;
+          max = -1;
+          break;
+        case '+':
+          min = 1;
+          max = -1;
+          break;
+        case '?':
+          min = 0;
+          max = 1;
+          break;
+        default:
+          int end = _regex.indexOf('}', _position);
+          if (end < 0) {
+            throw new UnsupportedRegexpException();
+          }
+          String bounds = _regex.substring(_position, end);
+          _position = end + 1;
+          int commaIndex = bounds.indexOf(',');
+          try {
+            if (commaIndex < 0) {
+              min = Integer.parseInt(bounds);
+              max = min;
+            } else {
+              min = Integer.parseInt(bounds.substring(0, commaIndex));
+              max = commaIndex == bounds.length() - 1 ? -1 : Integer.parseInt(bounds.substring(commaIndex + 1));
+            }
+          } catch (NumberFormatException e) {
+            throw new UnsupportedRegexpException();
+          }
+          if (min > MAX_NUM_REPETITIONS || max > MAX_NUM_REPETITIONS || (max >= 0 && max < min)) {
+            throw new UnsupportedRegexpException();
+          }
+          break;
+      }
+      if (_position < _length) {
+        char modifier = _regex.charAt(_position);
+        if (modifier == '?') {
+          // Reluctant quantifier does not change whether there is a match
+          _position++;
+        } else if (modifier == '+') {
+          // Possessive quantifier can prevent a match
+          throw new UnsupportedRegexpException();
+        }
+      }
+      return new RepeatNode(atom, min, max);
+    }
+
+    AtomNode getAtomNode(String atom) {
+      Integer atomId = _atomIds.get(atom);
+      if (atomId == null) {
+        atomId = _atoms.size();
+        _atoms.add(RegexpAlphabet.getMatchingSymbols(atom, _flags));
+        _atomIds.put(atom, atomId);
+      }
+      return new AtomNode(atomId);
+    }
+  }
+
+  /**
+   * Thompson NFA, built backwards from the accept state.
+   */
+  private static final class Nfa {
+    static final int ATOM = 0;
+    static final int SPLIT = 1;
+    static final int BEGIN = 2;
+    static final int ACCEPT = 3;
+    static final int ACCEPT_AT_END = 4;
+
+    final IntArrayList _types = new IntArrayList();
+    final IntArrayList _nextStates = new IntArrayList();
+    final IntArrayList _alternativeNextStates = new IntArrayList();
+    final IntArrayList _atomIds = new IntArrayList();
+    final List<boolean[]> _atoms;
+    int _startState;
+
+    Nfa(List<boolean[]> atoms) {
+      _atoms = atoms;
+    }
+
+    int addState(int type, int nextState, int alternativeNextState, int atomId)
+        throws UnsupportedRegexpException {
+      if (_types.size() == MAX_NUM_NFA_STATES) {
+        throw new UnsupportedRegexpException();
+      }
+      _types.add(type);
+      _nextStates.add(nextState);
+      _alternativeNextStates.add(alternativeNextState);
+      _atomIds.add(atomId);
+      return _types.size() - 1;
+    }
+
+    /**
+     * Builds the states for the node followed by the given next state, and returns the entry state.
+     */
+    int build(Node node, int nextState)
+        throws UnsupportedRegexpException {
+      if (node instanceof AtomNode) {
+        return addState(ATOM, nextState, -1, ((AtomNode) node)._atomId);
+      }
+      if (node instanceof ConcatNode) {
+        List<Node> children = ((ConcatNode) node)._children;
+        for (int i = children.size() - 1; i >= 0; i--) {
+          nextState = build(children.get(i), nextState);
+        }
+        return nextState;
+      }
+      if (node instanceof AlternationNode) {
+        List<Node> children = ((AlternationNode) node)._children;
+        int numChildren = children.size();
+        int entryState = build(children.get(numChildren - 1), nextState);
+        for (int i = numChildren - 2; i >= 0; i--) {
+          entryState = addState(SPLIT, build(children.get(i), nextState), entryState, -1);
+        }
+        return entryState;
+      }
+      if (node instanceof RepeatNode) {
+        RepeatNode repeatNode = (RepeatNode) node;
+        int entryState;
+        if (repeatNode._max < 0) {
+          int loopState = addState(SPLIT, -1, nextState, -1);
+          _nextStates.set(loopState, build(repeatNode._child, loopState));
+          entryState = loopState;
+        } else {
+          entryState = nextState;
+          for (int i = repeatNode._min; i < repeatNode._max; i++) {
+            entryState = addState(SPLIT, build(repeatNode._child, entryState), nextState, -1);
+          }
+        }
+        for (int i = 0; i < repeatNode._min; i++) {
+          entryState = build(repeatNode._child, entryState);
+        }
+        return entryState;
+      }
+      if (node instanceof BeginNode) {
+        return addState(BEGIN, nextState, -1, -1);
+      }
+      // End node, only at the end of a top level alternative
+      return addState(ACCEPT_AT_END, -1, -1, -1);
+    }
+
+    /**
+     * Returns the ATOM, ACCEPT and ACCEPT_AT_END states reachable from the given states without consuming a character.
+     */
+    BitSet closure(BitSet states, boolean atBeginning) {
+      BitSet visited = new BitSet();
+      BitSet result = new BitSet();
+      IntArrayList stack = new IntArrayList();
+      for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+        stack.add(state);
+      }
+      while (!stack.isEmpty()) {
+        int state = stack.popInt();
+        if (visited.get(state)) {
+          continue;
+        }
+        visited.set(state);
+        switch (_types.getInt(state)) {
+          case SPLIT:
+            stack.add(_nextStates.getInt(state));
+            stack.add(_alternativeNextStates.getInt(state));
+            break;
+          case BEGIN:
+            if (atBeginning) {
+              stack.add(_nextStates.getInt(state));
+            }
+            break;
+          default:
+            result.set(state);
+            break;
+        }
+      }
+      return result;
+    }
+
+    boolean isAccepting(BitSet states) {
+      for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+        if (_types.getInt(state) == ACCEPT) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    boolean isAcceptingAtEnd(BitSet states) {
+      for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+        if (_types.getInt(state) == ACCEPT_AT_END) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
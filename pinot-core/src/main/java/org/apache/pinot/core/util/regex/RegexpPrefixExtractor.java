@@ -0,0 +1,293 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.util.regex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+
+/**
+ * Extracts the literal prefixes required by an anchored regular expression, so that the values matching the regular
+ * expression can be restricted to the ranges of a sorted dictionary starting with one of the prefixes.
+ * <p>E.g. {@code ^abc.*} requires prefix {@code abc}, {@code ^a(b|c)d+} requires prefix {@code abd} or {@code acd},
+ * {@code ^ab|^cd} requires prefix {@code ab} or {@code cd}.
+ * <p>With {@link Pattern#CASE_INSENSITIVE}, each prefix is expanded into all the case variants of its characters. The
+ * number of prefixes is bounded by truncating the prefixes, which only loosens the restriction.
+ */
+public final class RegexpPrefixExtractor {
+  private RegexpPrefixExtractor() {
+  }
+
+  private static final int SUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+  private static final int MAX_NUM_PREFIXES = 64;
+  private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+  /**
+   * Returns the sorted prefixes one of which is required by every match of the regular expression, or {@code null} if
+   * the matches cannot be restricted (e.g. the regular expression is not anchored at the beginning). The regular
+   * expression should already be validated by {@link Pattern}.
+   */
+  @Nullable
+  public static List<String> getPrefixes(String regex, int flags) {
+    if ((flags & ~SUPPORTED_FLAGS) != 0) {
+      return null;
+    }
+    List<String> alternatives = splitAlternatives(regex);
+    if (alternatives == null) {
+      return null;
+    }
+    List<String> prefixes = new ArrayList<>();
+    for (String alternative : alternatives) {
+      if (!alternative.startsWith("^")) {
+        return null;
+      }
+      List<String> alternativePrefixes = getAnchoredPrefixes(alternative);
+      if (alternativePrefixes.contains("")) {
+        return null;
+      }
+      prefixes.addAll(alternativePrefixes);
+    }
+    if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+      prefixes = expandCaseVariants(prefixes, flags);
+    }
+    return new ArrayList<>(new TreeSet<>(prefixes));
+  }
+
+  /**
+   * Splits the regular expression into the top level alternatives, or returns {@code null} if it contains quotations,
+   * nested character classes or unbalanced parentheses which are not worth tracking.
+   */
+  @Nullable
+  private static List<String> splitAlternatives(String regex) {
+    List<String> alternatives = new ArrayList<>();
+    int length = regex.length();
+    int depth = 0;
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = regex.charAt(i);
+      switch (c) {
+        case '\\':
+          if (++i < length && regex.charAt(i) == 'Q') {
+            return null;
+          }
+          break;
+        case '[':
+          i = getClassEnd(regex, i);
+          if (i < 0) {
+            return null;
+          }
+          break;
+        case '(':
+          depth++;
+          break;
+        case ')':
+          if (--depth < 0) {
+            return null;
+          }
+          break;
+        case '|':
+          if (depth == 0) {
+            alternatives.add(regex.substring(start, i));
+            start = i + 1;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    if (depth != 0) {
+      return null;
+    }
+    alternatives.add(regex.substring(start));
+    return alternatives;
+  }
+
+  /**
+   * Returns the index of the ']' closing the character class starting at the given index, or -1 if the character class
+   * is nested or not closed.
+   */
+  private static int getClassEnd(String regex, int start) {
+    int length = regex.length();
+    int i = start + 1;
+    if (i < length && regex.charAt(i) == '^') {
+      i++;
+    }
+    if (i < length && regex.charAt(i) == ']') {
+      i++;
+    }
+    for (; i < length; i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        if (++i < length && regex.charAt(i) == 'Q') {
+          return -1;
+        }
+      } else if (c == '[') {
+        return -1;
+      } else if (c == ']') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the prefixes required by the alternative starting with '^'.
+   */
+  private static List<String> getAnchoredPrefixes(String alternative) {
+    List<String> prefixes = Collections.singletonList("");
+    int length = alternative.length();
+    int position = 1;
+    while (position < length) {
+      List<String> literals;
+      int end;
+      char c = alternative.charAt(position);
+      if (c == '(') {
+        int groupStart = alternative.startsWith("(?:", position) ? position + 3 : position + 1;
+        end = alternative.indexOf(')', groupStart);
+        if (end < 0) {
+          break;
+        }
+        literals = getLiteralAlternatives(alternative.substring(groupStart, end));
+        if (literals == null) {
+          break;
+        }
+        end++;
+      } else {
+        end = getLiteralEnd(alternative, position);
+        if (end < 0) {
+          break;
+        }
+        literals = Collections.singletonList(getLiteral(alternative, end));
+      }
+      // Quantified atom can be repeated zero times ('?', '*', '{0,}'), or more than once ('+', '{1,}')
+      boolean stop = false;
+      if (end < length) {
+        char quantifier = alternative.charAt(end);
+        if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+          break;
+        }
+        stop = quantifier == '+';
+      }
+      List<String> newPrefixes = new ArrayList<>(prefixes.size() * literals.size());
+      for (String prefix : prefixes) {
+        for (String literal : literals) {
+          newPrefixes.add(prefix + literal);
+        }
+      }
+      prefixes = newPrefixes;
+      if (stop || prefixes.size() > MAX_NUM_PREFIXES) {
+        break;
+      }
+      position = end;
+    }
+    return prefixes;
+  }
+
+  /**
+   * Returns the alternatives of a group consisting of only literals, or {@code null} if the group contains any other
+   * construct.
+   */
+  @Nullable
+  private static List<String> getLiteralAlternatives(String group) {
+    List<String> literals = new ArrayList<>();
+    int length = group.length();
+    StringBuilder stringBuilder = new StringBuilder();
+    int position = 0;
+    while (position <= length) {
+      if (position == length || group.charAt(position) == '|') {
+        literals.add(stringBuilder.toString());
+        stringBuilder.setLength(0);
+        position++;
+        continue;
+      }
+      int end = getLiteralEnd(group, position);
+      if (end < 0 || (end < length && "?*+{".indexOf(group.charAt(end)) >= 0)) {
+        return null;
+      }
+      stringBuilder.append(getLiteral(group, end));
+      position = end;
+    }
+    return literals;
+  }
+
+  /**
+   * Returns the end (exclusive) of the ASCII literal character or escaped punctuation at the position, or -1 if there
+   * is no literal at the position.
+   */
+  private static int getLiteralEnd(String regex, int position) {
+    char c = regex.charAt(position);
+    if (c >= 0x80) {
+      return -1;
+    }
+    if (c == '\\') {
+      if (position + 1 < regex.length()) {
+        char escaped = regex.charAt(position + 1);
+        if (escaped < 0x80 && !Character.isLetterOrDigit(escaped)) {
+          return position + 2;
+        }
+      }
+      return -1;
+    }
+    return META_CHARACTERS.indexOf(c) < 0 ? position + 1 : -1;
+  }
+
+  private static String getLiteral(String regex, int end) {
+    return String.valueOf(regex.charAt(end - 1));
+  }
+
+  /**
+   * Expands each prefix into all its case variants, truncating the prefixes when there are too many variants.
+   */
+  private static List<String> expandCaseVariants(List<String> prefixes, int flags) {
+    List<String> expandedPrefixes = new ArrayList<>();
+    for (String prefix : prefixes) {
+      List<String> variants = Collections.singletonList("");
+      for (int i = 0; i < prefix.length(); i++) {
+        List<String> charVariants = getCaseVariants(prefix.charAt(i), flags);
+        if (variants.size() * charVariants.size() > MAX_NUM_PREFIXES) {
+          break;
+        }
+        List<String> newVariants = new ArrayList<>(variants.size() * charVariants.size());
+        for (String variant : variants) {
+          for (String charVariant : charVariants) {
+            newVariants.add(variant + charVariant);
+          }
+        }
+        variants = newVariants;
+      }
+      expandedPrefixes.addAll(variants);
+    }
+    return expandedPrefixes;
+  }
+
+  private static List<String> getCaseVariants(char c, int flags) {
+    boolean[] matchingSymbols = RegexpAlphabet.getMatchingSymbols(Pattern.quote(String.valueOf(c)), flags);
+    List<String> caseVariants = new ArrayList<>();
+    for (int symbol = 0; symbol < RegexpAlphabet.NUM_SYMBOLS; symbol++) {
+      if (matchingSymbols[symbol]) {
+        caseVariants.add(new String(Character.toChars(RegexpAlphabet.getCodePoint(symbol))));
+      }
+    }
+    return caseVariants;
+  }
+}
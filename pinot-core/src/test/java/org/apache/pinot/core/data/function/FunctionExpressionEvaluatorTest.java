@@ -79,11 +79,54 @@ public class FunctionExpressionEvaluatorTest {
     Assert.assertEquals(result, MyFunc.daysSinceEpoch(input, format));
   }
 
+  @Test
+  public void testPrimitiveFunctionExpression()
+      throws Exception {
+    FunctionRegistry.registerStaticFunction(MyFunc.class.getDeclaredMethod("plusOne", long.class));
+    FunctionRegistry.registerStaticFunction(MyFunc.class.getDeclaredMethod("half", long.class));
+    String expression = "half(plusOne(testColumn))";
+    FunctionExpressionEvaluator evaluator = new FunctionExpressionEvaluator(expression);
+    GenericRow row = new GenericRow();
+    for (int i = 0; i < 5; i++) {
+      // Integer value should be widened to long, same as reflection
+      row.putField("testColumn", i);
+      Assert.assertEquals(evaluator.evaluate(row), (i + 1) / 2.0);
+      row.putField("testColumn", (long) i);
+      Assert.assertEquals(evaluator.evaluate(row), (i + 1) / 2.0);
+    }
+
+    // Invalid argument should result in null
+    row.putField("testColumn", "invalid");
+    Assert.assertNull(evaluator.evaluate(row));
+    row.putField("testColumn", null);
+    Assert.assertNull(evaluator.evaluate(row));
+  }
+
+  @Test
+  public void testFunctionInvoker()
+      throws Exception {
+    FunctionInvoker functionInvoker =
+        new FunctionInvoker(new FunctionInfo(MyFunc.class.getDeclaredMethod("plusOne", long.class), MyFunc.class));
+    Assert.assertEquals(functionInvoker.getReturnType(), long.class);
+    Assert.assertEquals(functionInvoker.process(new Object[]{1}), 2L);
+    Assert.assertEquals(functionInvoker.process(new Object[]{1L}), 2L);
+    Assert.assertNull(functionInvoker.process(new Object[]{1.0}));
+    Assert.assertNull(functionInvoker.process(new Object[]{null}));
+  }
+
   private static class MyFunc {
     static String reverseString(String input) {
       return new StringBuilder(input).reverse().toString();
     }
 
+    static long plusOne(long input) {
+      return input + 1;
+    }
+
+    static double half(long input) {
+      return input / 2.0;
+    }
+
     static MutableDateTime EPOCH_START = new MutableDateTime();
 
     static {
@@ -63,6 +63,22 @@ public class RecordReaderUtilsTest {
     assertEquals(fieldSpecs.get(1), new TimeFieldSpec(timeGranularitySpec3));
   }
 
+  @Test
+  public void testConvertNestedSingleValue() {
+    Object mapValue = Collections.singletonMap("key", 123);
+    Object listValue = Arrays.asList(1, 2);
+
+    // Nested values for JSON columns are serialized into JSON strings
+    FieldSpec jsonFieldSpec = new DimensionFieldSpec("json", DataType.JSON, true);
+    assertEquals(RecordReaderUtils.convertSingleValue(jsonFieldSpec, mapValue), "{\"key\":123}");
+    assertEquals(RecordReaderUtils.convertSingleValue(jsonFieldSpec, listValue), "[1,2]");
+
+    // Nested values for STRING columns keep the toString() value
+    FieldSpec stringFieldSpec = new DimensionFieldSpec("string", DataType.STRING, true);
+    assertEquals(RecordReaderUtils.convertSingleValue(stringFieldSpec, mapValue), mapValue.toString());
+    assertEquals(RecordReaderUtils.convertSingleValue(stringFieldSpec, listValue), listValue.toString());
+  }
+
   @Test
   public void testConvertMultiValue() {
     FieldSpec fieldSpec = new DimensionFieldSpec("intMV", DataType.INT, false);
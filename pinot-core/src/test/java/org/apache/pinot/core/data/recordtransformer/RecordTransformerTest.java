@@ -26,7 +26,9 @@ import org.apache.pinot.core.data.GenericRow;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 
 public class RecordTransformerTest {
@@ -108,6 +110,30 @@ public class RecordTransformerTest {
     }
   }
 
+  @Test
+  public void testNullValueTransformer() {
+    RecordTransformer transformer = new NullValueTransformer(SCHEMA);
+    GenericRow record = getRecord();
+    record.putField("svInt", null);
+    record.putField("mvDouble", null);
+    for (int i = 0; i < NUM_ROUNDS; i++) {
+      record = transformer.transform(record);
+      assertNotNull(record);
+      assertEquals(record.getValue("svInt"), FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_INT);
+      assertEquals(record.getValue("mvDouble"), new Object[]{FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_DOUBLE});
+      assertTrue(record.isNullValue("svInt"));
+      assertTrue(record.isNullValue("mvDouble"));
+      assertFalse(record.isNullValue("svLong"));
+      assertEquals(record.getNullValueFields().size(), 2);
+    }
+
+    // Re-initializing the record should clear the null value fields
+    record.init(new HashMap<>());
+    assertTrue(record.getNullValueFields().isEmpty());
+    record = transformer.transform(record);
+    assertEquals(record.getNullValueFields(), SCHEMA.getColumnNames());
+  }
+
   @Test
   public void testSanitationTransformer() {
     RecordTransformer transformer = new SanitizationTransformer(SCHEMA);
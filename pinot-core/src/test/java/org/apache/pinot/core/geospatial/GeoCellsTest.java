@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class GeoCellsTest {
+  private static final int NUM_POINTS = 10000;
+  private static final double DELTA = 1e-9;
+  private static final Random RANDOM = new Random();
+
+  @Test
+  public void testCellId() {
+    for (int i = 0; i < NUM_POINTS; i++) {
+      double latitude = RANDOM.nextDouble() * 180 - 90;
+      double longitude = RANDOM.nextDouble() * 360 - 180;
+      long parentCellId = 0;
+      for (int level = 0; level <= GeoCells.MAX_LEVEL; level++) {
+        long cellId = GeoCells.getCellId(latitude, longitude, level);
+        int latitudeIndex = GeoCells.getLatitudeIndex(cellId);
+        int longitudeIndex = GeoCells.getLongitudeIndex(cellId);
+        assertEquals(GeoCells.getCellId(latitudeIndex, longitudeIndex), cellId);
+
+        // The cell should contain the point
+        double latitudeSpan = 180.0 / (1 << level);
+        double longitudeSpan = 360.0 / (1 << level);
+        double minLatitude = -90 + latitudeIndex * latitudeSpan;
+        double minLongitude = -180 + longitudeIndex * longitudeSpan;
+        assertTrue(latitude >= minLatitude - DELTA && latitude <= minLatitude + latitudeSpan + DELTA);
+        assertTrue(longitude >= minLongitude - DELTA && longitude <= minLongitude + longitudeSpan + DELTA);
+
+        // The cell should be one of the 4 children of the cell at the previous level, and within the descendant range
+        // of the cells at all the coarser levels
+        if (level > 0) {
+          assertEquals(cellId >>> 2, parentCellId);
+          assertTrue(cellId >= GeoCells.getFirstDescendant(parentCellId, level - 1, level));
+          assertTrue(cellId <= GeoCells.getLastDescendant(parentCellId, level - 1, level));
+        }
+        assertTrue(cellId >= GeoCells.getFirstDescendant(0L, 0, level));
+        assertTrue(cellId <= GeoCells.getLastDescendant(0L, 0, level));
+        parentCellId = cellId;
+      }
+    }
+  }
+
+  @Test
+  public void testBoundaries() {
+    for (int level = 0; level <= GeoCells.MAX_LEVEL; level++) {
+      int maxIndex = (1 << level) - 1;
+      long cellId = GeoCells.getCellId(-90, -180, level);
+      assertEquals(cellId, 0L);
+      // Latitude 90 and longitude 180 belong to the last interval
+      cellId = GeoCells.getCellId(90, 180, level);
+      assertEquals(GeoCells.getLatitudeIndex(cellId), maxIndex);
+      assertEquals(GeoCells.getLongitudeIndex(cellId), maxIndex);
+      assertEquals(cellId, GeoCells.getLastDescendant(0L, 0, level));
+      // Anti-meridian on both sides
+      assertEquals(GeoCells.getLongitudeIndex(GeoCells.getCellId(0, -180, level)), 0);
+      assertEquals(GeoCells.getLongitudeIndex(GeoCells.getCellId(0, 180, level)), maxIndex);
+    }
+
+    try {
+      GeoCells.getCellId(0, 0, GeoCells.MAX_LEVEL + 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testCellCovering() {
+    // Polygons
+    testCellCovering(GeoPolygon.fromString("0,0;0,10;10,10;10,0"), -5, -5, 15, 15);
+    testCellCovering(GeoPolygon.fromString("0,0;0,10;10,10;2,5;10,0"), -5, -5, 15, 15);
+    testCellCovering(GeoPolygon.fromString("37.7,-122.5;37.85,-122.5;37.85,-122.35;37.7,-122.35"), 37.6, -122.6, 37.9,
+        -122.3);
+    // Polygon covering the north pole
+    testCellCovering(GeoPolygon.fromString("80,-180;90,-180;90,180;80,180"), 75, -180, 90, 180);
+    // Polygons on both sides of the anti-meridian
+    testCellCovering(GeoPolygon.fromString("-10,170;10,170;10,180;-10,180"), -15, 160, 15, 180);
+    testCellCovering(GeoPolygon.fromString("-10,-180;10,-180;10,-170;-10,-170"), -15, -180, 15, -160);
+
+    // Circles
+    testCellCovering(new GeoCircle(37.7749, -122.4194, 5_000, true), 37.6, -122.6, 37.9, -122.2);
+    testCellCovering(new GeoCircle(0, 0, 1_000_000, false), -15, -15, 15, 15);
+    // Circles covering the poles
+    testCellCovering(new GeoCircle(90, 0, 100_000, true), 88, -180, 90, 180);
+    testCellCovering(new GeoCircle(-89.9, 45, 50_000, true), -90, -180, -88, 180);
+    // Circles across the anti-meridian
+    testCellCovering(new GeoCircle(0, 179.99, 10_000, true), -1, 179, 1, 180);
+    testCellCovering(new GeoCircle(0, 179.99, 10_000, true), -1, -180, 1, -179);
+    // Circle covering most of the world
+    testCellCovering(new GeoCircle(0, 0, 15_000_000, true), -90, -180, 90, 180);
+  }
+
+  /**
+   * Tests the covering of the shape at the default index level with random points inside the given rectangle, where
+   * the points in the interior cells should be contained by the shape, and the points contained by the shape should be
+   * in either the interior cells or the boundary cells.
+   */
+  private static void testCellCovering(GeoShape shape, double minLatitude, double minLongitude, double maxLatitude,
+      double maxLongitude) {
+    int indexLevel = GeoCells.DEFAULT_INDEX_LEVEL;
+    GeoCellCovering geoCellCovering = GeoCellCovering.cover(shape, indexLevel);
+    long[] interiorCellRanges = geoCellCovering.getInteriorCellRanges();
+    long[] boundaryCellRanges = geoCellCovering.getBoundaryCellRanges();
+    assertTrue(interiorCellRanges.length + boundaryCellRanges.length > 0);
+    assertTrue(boundaryCellRanges.length <= 2 * GeoCellCovering.MAX_NUM_CELLS);
+    boolean hasContainedPoint = false;
+    for (int i = 0; i < NUM_POINTS; i++) {
+      double latitude = minLatitude + RANDOM.nextDouble() * (maxLatitude - minLatitude);
+      double longitude = minLongitude + RANDOM.nextDouble() * (maxLongitude - minLongitude);
+      long cellId = GeoCells.getCellId(latitude, longitude, indexLevel);
+      boolean contained = shape.contains(latitude, longitude);
+      if (inCellRanges(cellId, interiorCellRanges)) {
+        assertTrue(contained);
+        assertFalse(inCellRanges(cellId, boundaryCellRanges));
+      } else if (contained) {
+        assertTrue(inCellRanges(cellId, boundaryCellRanges));
+      }
+      hasContainedPoint |= contained;
+    }
+    assertTrue(hasContainedPoint);
+  }
+
+  private static boolean inCellRanges(long cellId, long[] cellRanges) {
+    for (int i = 0; i < cellRanges.length; i += 2) {
+      assertTrue(cellRanges[i] <= cellRanges[i + 1]);
+      if (cellId >= cellRanges[i] && cellId <= cellRanges[i + 1]) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.geospatial;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class GeoShapeTest {
+
+  @Test
+  public void testPolygon() {
+    // Closing vertex is optional
+    for (String value : new String[]{"0,0;0,10;10,10;10,0", "0,0; 0,10; 10,10; 10,0; 0,0"}) {
+      GeoPolygon polygon = GeoPolygon.fromString(value);
+      assertTrue(polygon.contains(5, 5));
+      assertTrue(polygon.contains(0.001, 9.999));
+      assertFalse(polygon.contains(-0.001, 5));
+      assertFalse(polygon.contains(5, 10.001));
+      assertFalse(polygon.contains(50, 50));
+
+      assertEquals(polygon.relate(2, 2, 3, 3), GeoShape.Relation.CONTAINS);
+      assertEquals(polygon.relate(-1, -1, 1, 1), GeoShape.Relation.INTERSECTS);
+      assertEquals(polygon.relate(5, 9, 6, 11), GeoShape.Relation.INTERSECTS);
+      // Rectangle containing the whole polygon
+      assertEquals(polygon.relate(-20, -20, 20, 20), GeoShape.Relation.INTERSECTS);
+      assertEquals(polygon.relate(20, 20, 30, 30), GeoShape.Relation.DISJOINT);
+      assertEquals(polygon.relate(-10, 2, -5, 3), GeoShape.Relation.DISJOINT);
+    }
+
+    // Concave polygon with a notch from the top edge down to latitude 2
+    GeoPolygon polygon = GeoPolygon.fromString("0,0;0,10;10,10;2,5;10,0");
+    assertTrue(polygon.contains(1, 5));
+    assertFalse(polygon.contains(7, 5));
+    assertTrue(polygon.contains(7, 1));
+    assertTrue(polygon.contains(7, 9));
+    // Inside the bounding box but within the notch
+    assertEquals(polygon.relate(6, 4, 8, 6), GeoShape.Relation.DISJOINT);
+    assertEquals(polygon.relate(0.5, 4, 1.5, 6), GeoShape.Relation.CONTAINS);
+    assertEquals(polygon.relate(1, 4, 3, 6), GeoShape.Relation.INTERSECTS);
+  }
+
+  @Test
+  public void testPolygonAtPolesAndAntiMeridian() {
+    // Polygon covering the north pole
+    GeoPolygon polygon = GeoPolygon.fromString("80,-180;90,-180;90,180;80,180");
+    assertTrue(polygon.contains(85, 0));
+    assertTrue(polygon.contains(85, 179.9));
+    assertTrue(polygon.contains(85, -179.9));
+    assertFalse(polygon.contains(79.9, 0));
+    assertEquals(polygon.relate(85, -10, 86, 10), GeoShape.Relation.CONTAINS);
+    assertEquals(polygon.relate(79, -10, 81, 10), GeoShape.Relation.INTERSECTS);
+    assertEquals(polygon.relate(70, -10, 75, 10), GeoShape.Relation.DISJOINT);
+
+    // Polygons on both sides of the anti-meridian
+    GeoPolygon westPolygon = GeoPolygon.fromString("-10,170;10,170;10,180;-10,180");
+    GeoPolygon eastPolygon = GeoPolygon.fromString("-10,-180;10,-180;10,-170;-10,-170");
+    assertTrue(westPolygon.contains(0, 179.9));
+    assertFalse(westPolygon.contains(0, -179.9));
+    assertTrue(eastPolygon.contains(0, -179.9));
+    assertFalse(eastPolygon.contains(0, 179.9));
+    assertFalse(westPolygon.contains(0, 0));
+    assertFalse(eastPolygon.contains(0, 0));
+
+    // Polygons crossing the anti-meridian are rejected
+    assertInvalidPolygon("-10,170;10,170;10,-170;-10,-170");
+    assertInvalidPolygon("0,179;10,-179;10,0");
+  }
+
+  @Test
+  public void testInvalidPolygon() {
+    assertInvalidPolygon("0,0;10,10");
+    assertInvalidPolygon("0,0;10,10;0,0");
+    assertInvalidPolygon("0,0;10,10;abc");
+    assertInvalidPolygon("0,0;10,10;91,0");
+    assertInvalidPolygon("0,0;10,10;0,181");
+    try {
+      new GeoPolygon(new double[]{0, 10, 10}, new double[]{0, 10});
+      fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  private static void assertInvalidPolygon(String value) {
+    try {
+      GeoPolygon.fromString(value);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testCircle() {
+    double distance = GeoPoint.distance(0, 0, 0, 1);
+    assertTrue(new GeoCircle(0, 0, distance, true).contains(0, 1));
+    assertFalse(new GeoCircle(0, 0, distance, false).contains(0, 1));
+
+    // 100km is about 0.9 degree at the equator
+    GeoCircle circle = new GeoCircle(0, 0, 100_000, true);
+    assertTrue(circle.contains(0.5, 0.5));
+    assertFalse(circle.contains(1, 1));
+    assertEquals(circle.relate(-0.1, -0.1, 0.1, 0.1), GeoShape.Relation.CONTAINS);
+    assertEquals(circle.relate(0.5, 0.5, 1.5, 1.5), GeoShape.Relation.INTERSECTS);
+    // Rectangle containing the whole circle
+    assertEquals(circle.relate(-10, -10, 10, 10), GeoShape.Relation.INTERSECTS);
+    assertEquals(circle.relate(5, 5, 6, 6), GeoShape.Relation.DISJOINT);
+
+    try {
+      new GeoCircle(91, 0, 100, true);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      new GeoCircle(0, 0, -1, true);
+      fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testCircleAtPolesAndAntiMeridian() {
+    // Circle around the north pole, where 100km is about 0.9 degree of latitude
+    GeoCircle circle = new GeoCircle(90, 0, 100_000, true);
+    assertTrue(circle.contains(89.5, 123));
+    assertTrue(circle.contains(89.5, -180));
+    assertFalse(circle.contains(89, 0));
+    assertEquals(circle.relate(89.5, 100, 89.6, 110), GeoShape.Relation.CONTAINS);
+    assertEquals(circle.relate(88.5, -180, 89.5, 180), GeoShape.Relation.INTERSECTS);
+    assertEquals(circle.relate(85, -10, 88, 10), GeoShape.Relation.DISJOINT);
+
+    // Circle across the anti-meridian, where 10km is about 0.09 degree at the equator
+    circle = new GeoCircle(0, 179.99, 10_000, true);
+    assertTrue(circle.contains(0, 179.95));
+    assertTrue(circle.contains(0, -179.99));
+    assertFalse(circle.contains(0, -179.9));
+    assertEquals(circle.relate(-0.01, -180, 0.01, -179.99), GeoShape.Relation.CONTAINS);
+    assertEquals(circle.relate(-1, -180, 1, -179), GeoShape.Relation.INTERSECTS);
+    assertEquals(circle.relate(-1, -175, 1, -174), GeoShape.Relation.DISJOINT);
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.json;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class JsonMatchQueryTest {
+  private static final String JSON =
+      "{\"name\":{\"first\":\"John\",\"last\":\"O'Brien\"},\"age\":42,\"active\":true,\"tags\":[\"a\",\"b\"],"
+          + "\"addresses\":[{\"city\":\"SF\"},{\"city\":\"NYC\",\"zip\":null}],\"empty\":{}}";
+
+  @Test
+  public void testGetTerms() {
+    Assert.assertEquals(JsonFlattener.getTerms(JSON), new HashSet<>(Arrays
+        .asList(JsonFlattener.getTerm("$.name.first", "John"), JsonFlattener.getTerm("$.name.last", "O'Brien"),
+            JsonFlattener.getTerm("$.age", "42"), JsonFlattener.getTerm("$.active", "true"),
+            JsonFlattener.getTerm("$.tags[*]", "a"), JsonFlattener.getTerm("$.tags[*]", "b"),
+            JsonFlattener.getTerm("$.addresses[*].city", "SF"), JsonFlattener.getTerm("$.addresses[*].city", "NYC"))));
+    Assert.assertEquals(JsonFlattener.getTerms("\"foo\""), Collections.singleton(JsonFlattener.getTerm("$", "foo")));
+    Assert.assertEquals(JsonFlattener.getTerms("{invalid"), Collections.emptySet());
+    Assert.assertEquals(JsonFlattener.getTerms("null"), Collections.emptySet());
+  }
+
+  @Test
+  public void testMatches() {
+    Assert.assertTrue(JsonMatchQuery.parse("$.name.first = 'John'").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.name.last='O''Brien'").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.name.first = \"John\"").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.age = 42").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.active = true").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.name.first = John").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("($.tags[*] = b)").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.tags[*] = 'b'").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.addresses[*].city IS NOT NULL").matches(JSON));
+    Assert.assertTrue(JsonMatchQuery.parse("$.age = 42 and ($.tags[*] = 'c' OR $.name.first = 'John')").matches(JSON));
+    Assert.assertFalse(JsonMatchQuery.parse("$.name.first = 'john'").matches(JSON));
+    Assert.assertFalse(JsonMatchQuery.parse("$.name IS NOT NULL AND $.age = 41").matches(JSON));
+    Assert.assertFalse(JsonMatchQuery.parse("$.addresses[*].zip IS NOT NULL").matches(JSON));
+    Assert.assertFalse(JsonMatchQuery.parse("$.empty IS NOT NULL").matches(JSON));
+    Assert.assertFalse(JsonMatchQuery.parse("$.age = 42").matches("{invalid"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseMissingRoot() {
+    JsonMatchQuery.parse("name.first = 'John'");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseArrayIndex() {
+    JsonMatchQuery.parse("$.tags[0] = 'a'");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseUnterminatedString() {
+    JsonMatchQuery.parse("$.name.first = 'John");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseInvalidLiteral() {
+    JsonMatchQuery.parse("$.name.first = John's");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseNullLiteral() {
+    JsonMatchQuery.parse("$.name.first = null");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseMissingParenthesis() {
+    JsonMatchQuery.parse("($.age = 42 OR $.active = true");
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.docvalsets;
+
+import java.util.Arrays;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.BaseBlockValSet;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class NullValueSkippingBlockValSetTest {
+
+  @Test
+  public void testGetNonNullPositions() {
+    int[] docIds = new int[]{1, 2, 3, 5, 8, 13};
+    int numDocs = docIds.length;
+    int[] positions = new int[numDocs];
+
+    // Null values within the block
+    MutableRoaringBitmap nullBitmap = MutableRoaringBitmap.bitmapOf(0, 3, 4, 8, 21);
+    int numPositions = NullValueSkippingBlockValSet.getNonNullPositions(docIds, numDocs, nullBitmap, positions);
+    Assert.assertEquals(Arrays.copyOf(positions, numPositions), new int[]{0, 1, 3, 5});
+
+    // All documents with null value
+    nullBitmap = MutableRoaringBitmap.bitmapOf(1, 2, 3, 5, 8, 13);
+    Assert.assertEquals(NullValueSkippingBlockValSet.getNonNullPositions(docIds, numDocs, nullBitmap, positions), 0);
+
+    // No null value within the document id range of the block
+    nullBitmap = MutableRoaringBitmap.bitmapOf(0, 14, 100);
+    Assert.assertEquals(NullValueSkippingBlockValSet.getNonNullPositions(docIds, numDocs, nullBitmap, positions),
+        numDocs);
+
+    // Null values within the document id range but not on the documents of the block
+    nullBitmap = MutableRoaringBitmap.bitmapOf(4, 6, 7);
+    Assert.assertEquals(NullValueSkippingBlockValSet.getNonNullPositions(docIds, numDocs, nullBitmap, positions),
+        numDocs);
+    Assert.assertEquals(positions, new int[]{0, 1, 2, 3, 4, 5});
+
+    Assert.assertEquals(NullValueSkippingBlockValSet.getNonNullPositions(docIds, 0, nullBitmap, positions), 0);
+  }
+
+  @Test
+  public void testReuseValues() {
+    double[] values = new double[]{1.0, 2.0, 3.0, 4.0};
+    BaseBlockValSet blockValSet = new BaseBlockValSet() {
+      @Override
+      public FieldSpec.DataType getValueType() {
+        return FieldSpec.DataType.DOUBLE;
+      }
+
+      @Override
+      public double[] getDoubleValuesSV() {
+        return values;
+      }
+    };
+
+    NullValueSkippingBlockValSet nullValueSkippingBlockValSet = new NullValueSkippingBlockValSet();
+    double[] compactedValues =
+        nullValueSkippingBlockValSet.wrap(blockValSet, new int[]{1, 3}, 2).getDoubleValuesSV();
+    Assert.assertEquals(compactedValues[0], 2.0);
+    Assert.assertEquals(compactedValues[1], 4.0);
+
+    // The array should be reused for the next block value set
+    Assert.assertSame(nullValueSkippingBlockValSet.wrap(blockValSet, new int[]{0, 2}, 2).getDoubleValuesSV(),
+        compactedValues);
+    Assert.assertEquals(compactedValues[0], 1.0);
+    Assert.assertEquals(compactedValues[1], 3.0);
+  }
+}
@@ -18,10 +18,25 @@
  */
 package org.apache.pinot.core.operator.filter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.core.common.Constants;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.common.DataSourceMetadata;
+import org.apache.pinot.core.common.predicate.StWithinPredicate;
+import org.apache.pinot.core.operator.filter.predicate.GeoPredicateEvaluatorFactory;
+import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeGeoIndexReader;
+import org.apache.pinot.core.realtime.impl.nullvalue.RealtimeNullValueVectorReaderWriter;
 import org.testng.annotations.Test;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 
@@ -92,4 +107,85 @@ public class FilterOperatorUtilsTest {
         .getOrFilterOperator(Arrays.asList(MATCH_ALL_FILTER_OPERATOR, REGULAR_FILTER_OPERATOR), NUM_DOCS, null);
     assertTrue(filterOperator instanceof MatchAllFilterOperator);
   }
+
+  @Test
+  public void testGetNullValueFilterOperator() {
+    // Missing column or no null value vector
+    assertTrue(FilterOperatorUtils.getNullValueFilterOperator(null, true, NUM_DOCS) instanceof EmptyFilterOperator);
+    assertTrue(
+        FilterOperatorUtils.getNullValueFilterOperator(null, false, NUM_DOCS) instanceof MatchAllFilterOperator);
+    DataSource dataSource = mock(DataSource.class);
+    assertTrue(
+        FilterOperatorUtils.getNullValueFilterOperator(dataSource, true, NUM_DOCS) instanceof EmptyFilterOperator);
+    assertTrue(FilterOperatorUtils
+        .getNullValueFilterOperator(dataSource, false, NUM_DOCS) instanceof MatchAllFilterOperator);
+
+    // Null value vector without null value
+    RealtimeNullValueVectorReaderWriter nullValueVector = new RealtimeNullValueVectorReaderWriter();
+    when(dataSource.getNullValueVector()).thenReturn(nullValueVector);
+    assertTrue(
+        FilterOperatorUtils.getNullValueFilterOperator(dataSource, true, NUM_DOCS) instanceof EmptyFilterOperator);
+    assertTrue(FilterOperatorUtils
+        .getNullValueFilterOperator(dataSource, false, NUM_DOCS) instanceof MatchAllFilterOperator);
+
+    // Null value vector with null values
+    nullValueVector.setNull(2);
+    nullValueVector.setNull(5);
+    BaseFilterOperator filterOperator = FilterOperatorUtils.getNullValueFilterOperator(dataSource, true, NUM_DOCS);
+    assertTrue(filterOperator instanceof BitmapBasedFilterOperator);
+    assertEquals(getDocIds(filterOperator), Arrays.asList(2, 5));
+    filterOperator = FilterOperatorUtils.getNullValueFilterOperator(dataSource, false, NUM_DOCS);
+    assertTrue(filterOperator instanceof BitmapBasedFilterOperator);
+    assertEquals(getDocIds(filterOperator), Arrays.asList(0, 1, 3, 4, 6, 7, 8, 9));
+  }
+
+  @Test
+  public void testGetGeoFilterOperator() {
+    StWithinPredicate predicate = new StWithinPredicate("location", Collections.singletonList("0,0;0,10;10,10;10,0"));
+    PredicateEvaluator predicateEvaluator =
+        GeoPredicateEvaluatorFactory.newRawValueBasedEvaluator(predicate, FieldSpec.DataType.STRING);
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getDataSourceMetadata()).thenReturn(mock(DataSourceMetadata.class));
+
+    // Without geo index, all the values are scanned
+    assertTrue(FilterOperatorUtils
+        .getLeafFilterOperator(predicateEvaluator, dataSource, NUM_DOCS) instanceof ScanBasedFilterOperator);
+
+    // No document in the interior or boundary cells
+    RealtimeGeoIndexReader geoIndex = new RealtimeGeoIndexReader();
+    when(dataSource.getGeoIndex()).thenReturn(geoIndex);
+    geoIndex.add(0, "50,50");
+    assertTrue(FilterOperatorUtils
+        .getLeafFilterOperator(predicateEvaluator, dataSource, NUM_DOCS) instanceof EmptyFilterOperator);
+
+    // Documents in the interior cells match without verification
+    geoIndex.add(1, "5,5");
+    BaseFilterOperator filterOperator =
+        FilterOperatorUtils.getLeafFilterOperator(predicateEvaluator, dataSource, NUM_DOCS);
+    assertTrue(filterOperator instanceof BitmapBasedFilterOperator);
+    assertEquals(getDocIds(filterOperator), Collections.singletonList(1));
+
+    // Documents in the boundary cells are verified by scanning the values: interior OR (boundary AND scan)
+    geoIndex.add(2, "0.00001,5");
+    geoIndex.add(3, "-0.00001,5");
+    filterOperator = FilterOperatorUtils.getLeafFilterOperator(predicateEvaluator, dataSource, NUM_DOCS);
+    assertTrue(filterOperator instanceof OrFilterOperator);
+
+    geoIndex = new RealtimeGeoIndexReader();
+    when(dataSource.getGeoIndex()).thenReturn(geoIndex);
+    geoIndex.add(0, "50,50");
+    geoIndex.add(3, "-0.00001,5");
+    filterOperator = FilterOperatorUtils.getLeafFilterOperator(predicateEvaluator, dataSource, NUM_DOCS);
+    assertTrue(filterOperator instanceof AndFilterOperator);
+  }
+
+  private static List<Integer> getDocIds(BaseFilterOperator filterOperator) {
+    List<Integer> docIds = new ArrayList<>();
+    BlockDocIdIterator docIdIterator = filterOperator.nextBlock().getBlockDocIdSet().iterator();
+    int docId;
+    while ((docId = docIdIterator.next()) != Constants.EOF) {
+      docIds.add(docId);
+    }
+    return docIds;
+  }
 }
@@ -20,6 +20,7 @@ package org.apache.pinot.core.operator.transform.function;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +65,7 @@ public abstract class BaseTransformFunctionTest {
   protected static final String DOUBLE_SV_COLUMN = "doubleSV";
   protected static final String STRING_SV_COLUMN = "stringSV";
   protected static final String INT_MV_COLUMN = "intMV";
+  protected static final String JSON_SV_COLUMN = "jsonSV";
   protected static final String TIME_COLUMN = "time";
 
   protected final int[] _intSVValues = new int[NUM_ROWS];
@@ -72,6 +74,7 @@ public abstract class BaseTransformFunctionTest {
   protected final double[] _doubleSVValues = new double[NUM_ROWS];
   protected final String[] _stringSVValues = new String[NUM_ROWS];
   protected final int[][] _intMVValues = new int[NUM_ROWS][];
+  protected final String[] _jsonSVValues = new String[NUM_ROWS];
   protected final long[] _timeValues = new long[NUM_ROWS];
 
   protected Map<String, DataSource> _dataSourceMap;
@@ -95,6 +98,8 @@ public abstract class BaseTransformFunctionTest {
       for (int j = 0; j < numValues; j++) {
         _intMVValues[i][j] = 1 + RANDOM.nextInt(MAX_MULTI_VALUE);
       }
+      _jsonSVValues[i] = String.format("{\"intSV\":%d,\"nested\":{\"stringSV\":\"%s\"},\"intMV\":%s}", _intSVValues[i],
+          _stringSVValues[i], Arrays.toString(_intMVValues[i]));
 
       // Time in the past year
       _timeValues[i] = currentTimeMs - RANDOM.nextInt(365 * 24 * 3600) * 1000L;
@@ -109,6 +114,7 @@ public abstract class BaseTransformFunctionTest {
       map.put(DOUBLE_SV_COLUMN, _doubleSVValues[i]);
       map.put(STRING_SV_COLUMN, _stringSVValues[i]);
       map.put(INT_MV_COLUMN, ArrayUtils.toObject(_intMVValues[i]));
+      map.put(JSON_SV_COLUMN, _jsonSVValues[i]);
       map.put(TIME_COLUMN, _timeValues[i]);
       GenericRow row = new GenericRow();
       row.init(map);
@@ -122,6 +128,7 @@ public abstract class BaseTransformFunctionTest {
     schema.addField(new DimensionFieldSpec(DOUBLE_SV_COLUMN, FieldSpec.DataType.DOUBLE, true));
     schema.addField(new DimensionFieldSpec(STRING_SV_COLUMN, FieldSpec.DataType.STRING, true));
     schema.addField(new DimensionFieldSpec(INT_MV_COLUMN, FieldSpec.DataType.INT, false));
+    schema.addField(new DimensionFieldSpec(JSON_SV_COLUMN, FieldSpec.DataType.JSON, true));
     schema.addField(new TimeFieldSpec(TIME_COLUMN, FieldSpec.DataType.LONG, TimeUnit.MILLISECONDS));
 
     SegmentGeneratorConfig config = new SegmentGeneratorConfig(schema);
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.operator.transform.TransformResultMetadata;
+import org.apache.pinot.core.segment.index.readers.Dictionary;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+public class DictionaryBasedTransformFunctionTest extends BaseTransformFunctionTest {
+
+  @Test(dataProvider = "testDictionaryBasedTransformFunction")
+  public void testDictionaryBasedTransformFunction(String expressionStr) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionStr);
+    TransformFunction transformFunction = DictionaryBasedTransformFunction
+        .create(expression, TransformFunctionFactory.get(expression, _dataSourceMap), _dataSourceMap);
+    Assert.assertNotNull(transformFunction);
+    Assert.assertEquals(transformFunction.getName(), DictionaryBasedTransformFunction.FUNCTION_NAME);
+    TransformFunction expectedTransformFunction = TransformFunctionFactory.get(expression, _dataSourceMap);
+    TransformResultMetadata resultMetadata = transformFunction.getResultMetadata();
+    Assert.assertEquals(resultMetadata.getDataType(), expectedTransformFunction.getResultMetadata().getDataType());
+    Assert.assertTrue(resultMetadata.isSingleValue());
+    Assert.assertTrue(resultMetadata.hasDictionary());
+
+    int[] intValues = transformFunction.transformToIntValuesSV(_projectionBlock);
+    int[] expectedIntValues = expectedTransformFunction.transformToIntValuesSV(_projectionBlock);
+    long[] longValues = transformFunction.transformToLongValuesSV(_projectionBlock);
+    long[] expectedLongValues = expectedTransformFunction.transformToLongValuesSV(_projectionBlock);
+    float[] floatValues = transformFunction.transformToFloatValuesSV(_projectionBlock);
+    float[] expectedFloatValues = expectedTransformFunction.transformToFloatValuesSV(_projectionBlock);
+    double[] doubleValues = transformFunction.transformToDoubleValuesSV(_projectionBlock);
+    double[] expectedDoubleValues = expectedTransformFunction.transformToDoubleValuesSV(_projectionBlock);
+    String[] stringValues = transformFunction.transformToStringValuesSV(_projectionBlock);
+    String[] expectedStringValues = expectedTransformFunction.transformToStringValuesSV(_projectionBlock);
+    int[] dictIds = transformFunction.transformToDictIdsSV(_projectionBlock);
+    Dictionary dictionary = transformFunction.getDictionary();
+    Assert.assertTrue(dictionary.isSorted());
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(intValues[i], expectedIntValues[i]);
+      Assert.assertEquals(longValues[i], expectedLongValues[i]);
+      Assert.assertEquals(floatValues[i], expectedFloatValues[i]);
+      Assert.assertEquals(doubleValues[i], expectedDoubleValues[i]);
+      Assert.assertEquals(stringValues[i], expectedStringValues[i]);
+      Assert.assertEquals(dictionary.getStringValue(dictIds[i]), expectedStringValues[i]);
+      Assert.assertEquals(dictionary.indexOf(expectedStringValues[i]), dictIds[i]);
+    }
+    for (int dictId = 1; dictId < dictionary.length(); dictId++) {
+      Assert.assertTrue(((Comparable) dictionary.get(dictId - 1)).compareTo(dictionary.get(dictId)) < 0);
+    }
+  }
+
+  @DataProvider(name = "testDictionaryBasedTransformFunction")
+  public Object[][] testDictionaryBasedTransformFunction() {
+    return new Object[][]{new Object[]{String.format("timeConvert(%s,'MILLISECONDS','DAYS')", TIME_COLUMN)},
+        new Object[]{String.format(
+            "dateTimeConvert(%s,'1:MILLISECONDS:EPOCH','1:HOURS:EPOCH','1:HOURS')", TIME_COLUMN)},
+        new Object[]{String.format("add(%s,10)", INT_SV_COLUMN)},
+        new Object[]{String.format("sub(100,%s)", LONG_SV_COLUMN)},
+        new Object[]{String.format("div(mult(%s,2),3)", FLOAT_SV_COLUMN)},
+        new Object[]{String.format("floor(sqrt(abs(%s)))", DOUBLE_SV_COLUMN)},
+        new Object[]{String.format("add(%s,%s)", STRING_SV_COLUMN, STRING_SV_COLUMN)}};
+  }
+
+  @Test(dataProvider = "testNotApplicable")
+  public void testNotApplicable(String expressionStr) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionStr);
+    TransformFunction transformFunction = TransformFunctionFactory.get(expression, _dataSourceMap);
+    Assert.assertNull(DictionaryBasedTransformFunction.create(expression, transformFunction, _dataSourceMap));
+  }
+
+  @DataProvider(name = "testNotApplicable")
+  public Object[][] testNotApplicable() {
+    return new Object[][]{new Object[]{INT_SV_COLUMN}, new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN,
+        LONG_SV_COLUMN)}, new Object[]{String.format("add(%s,1)", INT_MV_COLUMN)}, new Object[]{String.format(
+        "valueIn(%s,1,2)", INT_MV_COLUMN)}};
+  }
+
+  @Test
+  public void testTimeColumnGroupsOnFewerValues() {
+    TransformExpressionTree expression =
+        TransformExpressionTree.compileToExpressionTree(String.format("timeConvert(%s,'MILLISECONDS','DAYS')",
+            TIME_COLUMN));
+    TransformFunction transformFunction = DictionaryBasedTransformFunction
+        .create(expression, TransformFunctionFactory.get(expression, _dataSourceMap), _dataSourceMap);
+    Assert.assertNotNull(transformFunction);
+    Assert.assertEquals(transformFunction.getResultMetadata().getDataType(), FieldSpec.DataType.LONG);
+    // All the time values are within the past year, so there are at most 366 distinct days
+    Assert.assertTrue(transformFunction.getDictionary().length() <= 366);
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import java.util.Arrays;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.apache.pinot.core.query.exception.BadQueryRequestException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+public class JsonExtractTransformFunctionTest extends BaseTransformFunctionTest {
+
+  @Test
+  public void testRawJsonColumn() {
+    // Single-value JSON columns are stored in the raw forward index by default
+    Assert.assertFalse(_dataSourceMap.get(JSON_SV_COLUMN).getDataSourceMetadata().hasDictionary());
+  }
+
+  @Test
+  public void testExtractInt() {
+    TransformFunction transformFunction = getTransformFunction(
+        String.format("json_extract(%s,'$.intSV','INT')", JSON_SV_COLUMN));
+    Assert.assertTrue(transformFunction instanceof JsonExtractTransformFunction);
+    Assert.assertEquals(transformFunction.getName(), JsonExtractTransformFunction.FUNCTION_NAME);
+    Assert.assertEquals(transformFunction.getResultMetadata().getDataType(), FieldSpec.DataType.INT);
+    Assert.assertFalse(transformFunction.getResultMetadata().hasDictionary());
+    int[] intValues = transformFunction.transformToIntValuesSV(_projectionBlock);
+    long[] longValues = transformFunction.transformToLongValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(intValues[i], _intSVValues[i]);
+      Assert.assertEquals(longValues[i], _intSVValues[i]);
+    }
+  }
+
+  @Test
+  public void testExtractNestedValues() {
+    TransformFunction stringFunction = getTransformFunction(
+        String.format("json_extract(%s,'nested.stringSV','STRING')", JSON_SV_COLUMN));
+    String[] stringValues = stringFunction.transformToStringValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(stringValues[i], _stringSVValues[i]);
+    }
+
+    TransformFunction arrayElementFunction = getTransformFunction(
+        String.format("json_extract(%s,'$.intMV[0]','LONG')", JSON_SV_COLUMN));
+    long[] longValues = arrayElementFunction.transformToLongValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(longValues[i], _intMVValues[i][0]);
+    }
+
+    TransformFunction arrayFunction = getTransformFunction(
+        String.format("json_extract(%s,'$.intMV','STRING')", JSON_SV_COLUMN));
+    stringValues = arrayFunction.transformToStringValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(stringValues[i], Arrays.toString(_intMVValues[i]).replace(" ", ""));
+    }
+  }
+
+  @Test
+  public void testExtractMissingValues() {
+    TransformFunction transformFunction = getTransformFunction(
+        String.format("json_extract(%s,'$.missing','DOUBLE')", JSON_SV_COLUMN));
+    double[] doubleValues = transformFunction.transformToDoubleValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(doubleValues[i], FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_DOUBLE);
+    }
+
+    transformFunction = getTransformFunction(
+        String.format("json_extract(%s,'$.intMV[100]','DOUBLE','1.5')", JSON_SV_COLUMN));
+    doubleValues = transformFunction.transformToDoubleValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(doubleValues[i], 1.5);
+    }
+
+    // Not convertible to INT
+    transformFunction = getTransformFunction(
+        String.format("json_extract(%s,'$.nested','INT','-1')", JSON_SV_COLUMN));
+    int[] intValues = transformFunction.transformToIntValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(intValues[i], -1);
+    }
+  }
+
+  @Test(dataProvider = "testIllegalArguments", expectedExceptions = {BadQueryRequestException.class})
+  public void testIllegalArguments(String expressionStr) {
+    getTransformFunction(expressionStr);
+  }
+
+  @DataProvider(name = "testIllegalArguments")
+  public Object[][] testIllegalArguments() {
+    return new Object[][]{new Object[]{String.format("json_extract(%s,'$.intSV')", JSON_SV_COLUMN)}, new Object[]{
+        String.format("json_extract(%s,'$.intSV','BYTES')", JSON_SV_COLUMN)}, new Object[]{
+        String.format("json_extract(%s,'$.intMV[x]','INT')", JSON_SV_COLUMN)}, new Object[]{
+        String.format("json_extract(%s,'$..intSV','INT')", JSON_SV_COLUMN)}, new Object[]{
+        String.format("json_extract(%s,'$.intSV','INT')", INT_MV_COLUMN)}};
+  }
+
+  private TransformFunction getTransformFunction(String expressionStr) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionStr);
+    return TransformFunctionFactory.get(expression, _dataSourceMap);
+  }
+}
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.transform.function;
+
+import org.apache.pinot.common.request.transform.TransformExpressionTree;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+
+public class TransformExpressionCompilerTest extends BaseTransformFunctionTest {
+
+  @Test(dataProvider = "testSupportedExpressions")
+  public void testSupportedExpressions(String expressionString) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionString);
+    TransformFunction fusedTransformFunction = TransformExpressionCompiler.compile(expression, _dataSourceMap);
+    Assert.assertTrue(fusedTransformFunction instanceof FusedTransformFunction);
+    Assert.assertEquals(fusedTransformFunction.getName(), FusedTransformFunction.FUNCTION_NAME);
+    Assert.assertTrue(fusedTransformFunction.getResultMetadata().isSingleValue());
+
+    // Results should be identical to the transform functions
+    double[] expectedValues =
+        TransformFunctionFactory.get(expression, _dataSourceMap).transformToDoubleValuesSV(_projectionBlock).clone();
+    double[] actualValues = fusedTransformFunction.transformToDoubleValuesSV(_projectionBlock);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Assert.assertEquals(Double.doubleToLongBits(actualValues[i]), Double.doubleToLongBits(expectedValues[i]));
+    }
+    testTransformFunction(fusedTransformFunction, expectedValues);
+  }
+
+  @DataProvider(name = "testSupportedExpressions")
+  public Object[][] testSupportedExpressions() {
+    return new Object[][]{
+        new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN, LONG_SV_COLUMN)},
+        new Object[]{String.format("add(mult(%s,%s),div(%s,%s))", INT_SV_COLUMN, FLOAT_SV_COLUMN, DOUBLE_SV_COLUMN,
+            LONG_SV_COLUMN)},
+        new Object[]{String.format("sub(mult(%s,2,%s,0.5),add(1,%s,3))", INT_SV_COLUMN, INT_SV_COLUMN,
+            DOUBLE_SV_COLUMN)},
+        new Object[]{String.format("div(100,sub(%s,%s))", LONG_SV_COLUMN, FLOAT_SV_COLUMN)},
+        new Object[]{String.format("sqrt(abs(add(%s,exp(div(%s,1000000000)))))", FLOAT_SV_COLUMN, INT_SV_COLUMN)},
+        new Object[]{String.format("floor(ln(add(abs(ceil(%s)),1)))", DOUBLE_SV_COLUMN)}
+    };
+  }
+
+  @Test(dataProvider = "testUnsupportedExpressions")
+  public void testUnsupportedExpressions(String expressionString) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionString);
+    Assert.assertNull(TransformExpressionCompiler.compile(expression, _dataSourceMap));
+  }
+
+  @DataProvider(name = "testUnsupportedExpressions")
+  public Object[][] testUnsupportedExpressions() {
+    return new Object[][]{
+        // Not a function
+        new Object[]{INT_SV_COLUMN},
+        // Non-numeric column
+        new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN, STRING_SV_COLUMN)},
+        // Multi-valued column
+        new Object[]{String.format("add(%s,%s)", INT_SV_COLUMN, INT_MV_COLUMN)},
+        // Unsupported function
+        new Object[]{String.format("add(%s,timeConvert(%s,'MILLISECONDS','SECONDS'))", INT_SV_COLUMN, TIME_COLUMN)},
+        // Invalid arguments
+        new Object[]{String.format("sub(%s,%s,%s)", INT_SV_COLUMN, LONG_SV_COLUMN, FLOAT_SV_COLUMN)},
+        new Object[]{"abs(5)"}
+    };
+  }
+
+  @Test
+  public void testExpressionCache() {
+    // Expressions with the same shape and column data types share the generated class
+    FusedExpression fusedExpression1 = getFusedExpression(String.format("add(%s,1)", INT_SV_COLUMN));
+    FusedExpression fusedExpression2 = getFusedExpression(String.format("add(%s,2)", INT_SV_COLUMN));
+    FusedExpression fusedExpression3 = getFusedExpression(String.format("add(%s,1)", LONG_SV_COLUMN));
+    Assert.assertSame(fusedExpression1, fusedExpression2);
+    Assert.assertNotSame(fusedExpression1, fusedExpression3);
+  }
+
+  private FusedExpression getFusedExpression(String expressionString) {
+    TransformExpressionTree expression = TransformExpressionTree.compileToExpressionTree(expressionString);
+    TransformFunction transformFunction = TransformExpressionCompiler.compile(expression, _dataSourceMap);
+    Assert.assertNotNull(transformFunction);
+    return ((FusedTransformFunction) transformFunction).getFusedExpression();
+  }
+}
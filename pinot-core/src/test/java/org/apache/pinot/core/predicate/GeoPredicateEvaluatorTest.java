@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.predicate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.common.Predicate;
+import org.apache.pinot.core.common.predicate.BaseGeoPredicate;
+import org.apache.pinot.core.common.predicate.StDistancePredicate;
+import org.apache.pinot.core.common.predicate.StWithinPredicate;
+import org.apache.pinot.core.geospatial.GeoCells;
+import org.apache.pinot.core.geospatial.GeoCircle;
+import org.apache.pinot.core.geospatial.GeoPolygon;
+import org.apache.pinot.core.operator.filter.predicate.GeoPredicateEvaluatorFactory;
+import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.core.segment.index.readers.Dictionary;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class GeoPredicateEvaluatorTest {
+  private static final String COLUMN_NAME = "location";
+  private static final String POLYGON = "37.7,-122.5;37.85,-122.5;37.85,-122.35;37.7,-122.35";
+  // Sorted values, where only "37.7749,-122.4194" is within 5km of the center and inside the polygon
+  private static final String[] VALUES = {"0,0", "37.7749,-122.4194", "37.8,-122.6", "91,0", "abc"};
+
+  @Test
+  public void testStWithinPredicate() {
+    StWithinPredicate predicate = new StWithinPredicate(COLUMN_NAME, Collections.singletonList(POLYGON));
+    Assert.assertEquals(predicate.getType(), Predicate.Type.ST_WITHIN);
+    Assert.assertTrue(predicate.getGeoShape() instanceof GeoPolygon);
+    testEvaluators(predicate);
+
+    try {
+      new StWithinPredicate(COLUMN_NAME, Arrays.asList(POLYGON, POLYGON));
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      new StWithinPredicate(COLUMN_NAME, Collections.singletonList("37.7,-122.5;37.85,-122.5"));
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testStDistancePredicate() {
+    StDistancePredicate predicate =
+        new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", "<=", "5000"));
+    Assert.assertEquals(predicate.getType(), Predicate.Type.ST_DISTANCE);
+    Assert.assertTrue(predicate.getGeoShape() instanceof GeoCircle);
+    testEvaluators(predicate);
+
+    // Points exactly at the distance only match with the inclusive operator
+    Assert.assertTrue(new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", "<=", "0"))
+        .getGeoShape().contains(37.7749, -122.4194));
+    Assert.assertFalse(new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", "<", "0"))
+        .getGeoShape().contains(37.7749, -122.4194));
+
+    try {
+      new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", ">", "5000"));
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+    try {
+      new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", "5000"));
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testSharedGeoShape() {
+    // The shape and its cell coverings are shared by the predicates with the same values (i.e. the segments of the
+    // same query)
+    StWithinPredicate predicate1 = new StWithinPredicate(COLUMN_NAME, Collections.singletonList(POLYGON));
+    StWithinPredicate predicate2 = new StWithinPredicate("otherColumn", Collections.singletonList(POLYGON));
+    Assert.assertSame(predicate1.getGeoShape(), predicate2.getGeoShape());
+    Assert.assertSame(predicate1.getGeoCellCovering(GeoCells.DEFAULT_INDEX_LEVEL),
+        predicate2.getGeoCellCovering(GeoCells.DEFAULT_INDEX_LEVEL));
+    Assert.assertNotSame(predicate1.getGeoCellCovering(GeoCells.DEFAULT_INDEX_LEVEL),
+        predicate1.getGeoCellCovering(GeoCells.DEFAULT_INDEX_LEVEL - 1));
+
+    StDistancePredicate predicate3 =
+        new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", "<=", "5000"));
+    StDistancePredicate predicate4 =
+        new StDistancePredicate(COLUMN_NAME, Arrays.asList("37.7749", "-122.4194", "<", "5000"));
+    Assert.assertNotSame(predicate3.getGeoShape(), predicate4.getGeoShape());
+
+    // The evaluators expose the shared cell covering for the geo index
+    GeoPredicateEvaluatorFactory.GeoPredicateEvaluator evaluator =
+        (GeoPredicateEvaluatorFactory.GeoPredicateEvaluator) GeoPredicateEvaluatorFactory
+            .newRawValueBasedEvaluator(predicate2, FieldSpec.DataType.STRING);
+    Assert.assertSame(evaluator.getGeoShape(), predicate1.getGeoShape());
+    Assert.assertSame(evaluator.getGeoCellCovering(GeoCells.DEFAULT_INDEX_LEVEL),
+        predicate1.getGeoCellCovering(GeoCells.DEFAULT_INDEX_LEVEL));
+  }
+
+  private static void testEvaluators(BaseGeoPredicate predicate) {
+    Dictionary dictionary = mock(Dictionary.class);
+    when(dictionary.length()).thenReturn(VALUES.length);
+    for (int i = 0; i < VALUES.length; i++) {
+      when(dictionary.getStringValue(i)).thenReturn(VALUES[i]);
+    }
+    PredicateEvaluator dictionaryBasedEvaluator =
+        GeoPredicateEvaluatorFactory.newDictionaryBasedEvaluator(predicate, dictionary);
+    Assert.assertEquals(dictionaryBasedEvaluator.getPredicateType(), predicate.getType());
+    Assert.assertSame(((GeoPredicateEvaluatorFactory.GeoPredicateEvaluator) dictionaryBasedEvaluator).getGeoShape(),
+        predicate.getGeoShape());
+    Assert.assertEquals(dictionaryBasedEvaluator.getMatchingDictIds(), new int[]{1});
+    Assert.assertTrue(dictionaryBasedEvaluator.applySV(1));
+    for (int dictId : new int[]{0, 2, 3, 4}) {
+      Assert.assertFalse(dictionaryBasedEvaluator.applySV(dictId));
+    }
+
+    PredicateEvaluator rawValueBasedEvaluator =
+        GeoPredicateEvaluatorFactory.newRawValueBasedEvaluator(predicate, FieldSpec.DataType.STRING);
+    Assert.assertEquals(rawValueBasedEvaluator.getPredicateType(), predicate.getType());
+    Assert.assertSame(((GeoPredicateEvaluatorFactory.GeoPredicateEvaluator) rawValueBasedEvaluator).getGeoShape(),
+        predicate.getGeoShape());
+    Assert.assertTrue(rawValueBasedEvaluator.applySV(VALUES[1]));
+    for (int i : new int[]{0, 2, 3, 4}) {
+      Assert.assertFalse(rawValueBasedEvaluator.applySV(VALUES[i]));
+    }
+
+    try {
+      GeoPredicateEvaluatorFactory.newRawValueBasedEvaluator(predicate, FieldSpec.DataType.INT);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.predicate;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.pinot.core.common.predicate.RegexpLikePredicate;
+import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.core.operator.filter.predicate.RegexpLikePredicateEvaluatorFactory;
+import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class RegexpLikePredicateEvaluatorTest {
+  private static final int NUM_BYTES_PER_VALUE = 8;
+
+  @Test
+  public void testZeroPaddingByte()
+      throws Exception {
+    // Sorted by the unpadded values
+    String[] values = new String[]{"abc", "abc def", "abcx", "abd", "xyz"};
+    try (StringDictionary dictionary = createDictionary(values, (byte) 0)) {
+      PredicateEvaluator evaluator = createEvaluator("^abc", dictionary);
+      Assert.assertFalse(evaluator.isAlwaysFalse());
+      Assert.assertEquals(evaluator.getMatchingDictIds(), new int[]{0, 1, 2});
+      Assert.assertTrue(evaluator.applySV(1));
+      Assert.assertFalse(evaluator.applySV(3));
+
+      evaluator = createEvaluator("^abc d", dictionary);
+      Assert.assertEquals(evaluator.getMatchingDictIds(), new int[]{1});
+
+      evaluator = createEvaluator("^b", dictionary);
+      Assert.assertTrue(evaluator.isAlwaysFalse());
+    }
+  }
+
+  @Test
+  public void testNonZeroPaddingByte()
+      throws Exception {
+    // Sorted by the padded values, where "abc def" is sorted before "abc" because ' ' is smaller than '%'
+    String[] values = new String[]{"abc def", "abc", "abcx", "abd", "xyz"};
+    try (StringDictionary dictionary = createDictionary(values, (byte) '%')) {
+      PredicateEvaluator evaluator = createEvaluator("^abc", dictionary);
+      Assert.assertFalse(evaluator.isAlwaysFalse());
+      Assert.assertEquals(evaluator.getMatchingDictIds(), new int[]{0, 1, 2});
+      Assert.assertTrue(evaluator.applySV(0));
+      Assert.assertFalse(evaluator.applySV(3));
+
+      evaluator = createEvaluator("^abc d", dictionary);
+      Assert.assertFalse(evaluator.isAlwaysFalse());
+      Assert.assertEquals(evaluator.getMatchingDictIds(), new int[]{0});
+      Assert.assertTrue(evaluator.applySV(0));
+
+      evaluator = createEvaluator("^b", dictionary);
+      Assert.assertEquals(evaluator.getMatchingDictIds(), new int[0]);
+    }
+  }
+
+  private static PredicateEvaluator createEvaluator(String regex, StringDictionary dictionary) {
+    RegexpLikePredicate predicate = new RegexpLikePredicate("column", Collections.singletonList(regex));
+    return RegexpLikePredicateEvaluatorFactory.newDictionaryBasedEvaluator(predicate, dictionary);
+  }
+
+  private static StringDictionary createDictionary(String[] values, byte paddingByte) {
+    int numValues = values.length;
+    PinotDataBuffer dataBuffer =
+        PinotDataBuffer.allocateDirect(numValues * NUM_BYTES_PER_VALUE, ByteOrder.BIG_ENDIAN, null);
+    for (int i = 0; i < numValues; i++) {
+      byte[] paddedValue = new byte[NUM_BYTES_PER_VALUE];
+      Arrays.fill(paddedValue, paddingByte);
+      byte[] value = values[i].getBytes(StandardCharsets.UTF_8);
+      System.arraycopy(value, 0, paddedValue, 0, value.length);
+      for (int j = 0; j < NUM_BYTES_PER_VALUE; j++) {
+        dataBuffer.putByte(i * NUM_BYTES_PER_VALUE + j, paddedValue[j]);
+      }
+    }
+    return new StringDictionary(dataBuffer, numValues, NUM_BYTES_PER_VALUE, paddingByte);
+  }
+}
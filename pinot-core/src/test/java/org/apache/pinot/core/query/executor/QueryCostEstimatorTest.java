@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.executor;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.request.InstanceRequest;
+import org.apache.pinot.common.segment.SegmentMetadata;
+import org.apache.pinot.core.common.DataSource;
+import org.apache.pinot.core.common.DataSourceMetadata;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.query.request.ServerQueryRequest;
+import org.apache.pinot.pql.parsers.Pql2Compiler;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class QueryCostEstimatorTest {
+  private static final Pql2Compiler COMPILER = new Pql2Compiler();
+  private static final int NUM_DOCS = 1000;
+
+  private IndexSegment _indexSegment;
+
+  @BeforeClass
+  public void setUp() {
+    _indexSegment = mock(IndexSegment.class);
+    SegmentMetadata segmentMetadata = mock(SegmentMetadata.class);
+    when(segmentMetadata.getTotalRawDocs()).thenReturn(NUM_DOCS);
+    when(_indexSegment.getSegmentMetadata()).thenReturn(segmentMetadata);
+    when(_indexSegment.getColumnNames()).thenReturn(new HashSet<>(Arrays.asList("sorted", "inverted", "scan")));
+    mockDataSource("sorted", 100, true, false);
+    mockDataSource("inverted", 10, false, true);
+    mockDataSource("scan", 4, false, false);
+  }
+
+  private void mockDataSource(String column, int cardinality, boolean sorted, boolean hasInvertedIndex) {
+    DataSourceMetadata dataSourceMetadata = mock(DataSourceMetadata.class);
+    when(dataSourceMetadata.getCardinality()).thenReturn(cardinality);
+    when(dataSourceMetadata.hasDictionary()).thenReturn(true);
+    when(dataSourceMetadata.isSorted()).thenReturn(sorted);
+    when(dataSourceMetadata.hasInvertedIndex()).thenReturn(hasInvertedIndex);
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getDataSourceMetadata()).thenReturn(dataSourceMetadata);
+    when(_indexSegment.getDataSource(column)).thenReturn(dataSource);
+  }
+
+  private long estimateCost(String query) {
+    InstanceRequest instanceRequest = new InstanceRequest(0L, COMPILER.compileToBrokerRequest(query));
+    instanceRequest.setSearchSegments(Arrays.asList("testSegment"));
+    ServerQueryRequest queryRequest =
+        new ServerQueryRequest(instanceRequest, mock(ServerMetrics.class), System.currentTimeMillis());
+    return QueryCostEstimator.estimateCost(queryRequest, _indexSegment);
+  }
+
+  @Test
+  public void testEstimateCost() {
+    // No filter: scan all docs for the aggregation column
+    assertEquals(estimateCost("SELECT SUM(scan) FROM testTable"), NUM_DOCS);
+
+    // Index based filters do not scan entries in filter
+    assertEquals(estimateCost("SELECT SUM(scan) FROM testTable WHERE sorted = 'a'"), NUM_DOCS / 100);
+    assertEquals(estimateCost("SELECT SUM(scan) FROM testTable WHERE inverted IN ('a', 'b')"), 2 * NUM_DOCS / 10);
+
+    // Scan based filter scans all docs in filter
+    assertEquals(estimateCost("SELECT SUM(scan) FROM testTable WHERE scan = 'a'"), NUM_DOCS + NUM_DOCS / 4);
+
+    // AND only scans the docs matching the index based filter
+    assertEquals(estimateCost("SELECT COUNT(*) FROM testTable WHERE inverted = 'a' AND scan = 'b'"),
+        NUM_DOCS / 10 + NUM_DOCS / 40);
+
+    // OR scans all docs for the scan based filter
+    assertEquals(estimateCost("SELECT COUNT(*) FROM testTable WHERE inverted = 'a' OR scan = 'b'"),
+        NUM_DOCS + NUM_DOCS / 10 + NUM_DOCS / 4);
+
+    // Filter on non-existing column matches nothing
+    assertEquals(estimateCost("SELECT SUM(scan) FROM testTable WHERE unknown = 'a'"), 0);
+
+    // Group-by costs more than aggregation
+    assertTrue(estimateCost("SELECT SUM(scan) FROM testTable GROUP BY inverted") > estimateCost(
+        "SELECT SUM(scan), MAX(inverted) FROM testTable"));
+
+    // Selection without ordering stops after the limit
+    assertEquals(estimateCost("SELECT scan FROM testTable LIMIT 10"), 10);
+    assertEquals(estimateCost("SELECT scan FROM testTable ORDER BY scan LIMIT 10"), NUM_DOCS);
+  }
+}
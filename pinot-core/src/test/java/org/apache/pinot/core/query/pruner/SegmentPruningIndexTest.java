@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.pruner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.utils.request.FilterQueryTree;
+import org.apache.pinot.common.utils.request.RequestUtils;
+import org.apache.pinot.core.data.partition.PartitionFunctionFactory;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.apache.pinot.pql.parsers.Pql2Compiler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+/**
+ * Unit tests for {@link SegmentPruningIndex} class.
+ */
+public class SegmentPruningIndexTest {
+  private static final Pql2Compiler COMPILER = new Pql2Compiler();
+  private static final int NUM_PARTITIONS = 4;
+
+  @Test
+  public void testMinMax() {
+    SegmentPruningIndex segmentPruningIndex = new SegmentPruningIndex();
+    // Segment i has time range [10 * i, 10 * i + 10]
+    List<String> segmentNames = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      String segmentName = "segment_" + i;
+      segmentNames.add(segmentName);
+      segmentPruningIndex.addSegment(mockSegment(segmentName, 10 * i, 10 * i + 10, null));
+    }
+
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 15"), Collections.singletonList("segment_1"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 20"), Arrays.asList("segment_1", "segment_2"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 100"), Collections.emptyList());
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time > 30"), Arrays.asList("segment_3", "segment_4"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time >= 30"),
+        Arrays.asList("segment_2", "segment_3", "segment_4"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time < 10"), Collections.singletonList("segment_0"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time BETWEEN 25 AND 35"),
+        Arrays.asList("segment_2", "segment_3"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time BETWEEN 35 AND 25"), Collections.emptyList());
+
+    // AND and OR operators
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time > 20 AND time < 30"),
+        Collections.singletonList("segment_2"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 5 OR time = 45"),
+        Arrays.asList("segment_0", "segment_4"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 5 OR foo = 'bar'"), segmentNames);
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 5 AND foo = 'bar'"),
+        Collections.singletonList("segment_0"));
+
+    // Column without min/max value cannot prune, column not in the segments prunes all
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "foo = 'bar'"), segmentNames);
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "unknown = 'bar'"), Collections.emptyList());
+
+    // Segments not in the index are not pruned
+    List<String> segmentNamesWithUnknown = new ArrayList<>(segmentNames);
+    segmentNamesWithUnknown.add("consuming");
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNamesWithUnknown, "time = 15"),
+        Arrays.asList("segment_1", "consuming"));
+
+    // Removed segment should not be indexed
+    segmentPruningIndex.removeSegment("segment_1");
+    Assert.assertEquals(segmentPruningIndex.getNumSegments(), 4);
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 15"), Collections.singletonList("segment_1"));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 5"), Arrays.asList("segment_0", "segment_1"));
+
+    // Replaced segment should be re-indexed
+    segmentPruningIndex.addSegment(mockSegment("segment_0", 100, 200, null));
+    Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time = 5"), Collections.singletonList("segment_1"));
+  }
+
+  @Test
+  public void testPartitions() {
+    SegmentPruningIndex segmentPruningIndex = new SegmentPruningIndex();
+    // Segment i has partition i, all segments have the same time range
+    List<String> segmentNames = new ArrayList<>();
+    for (int i = 0; i < NUM_PARTITIONS; i++) {
+      String segmentName = "segment_" + i;
+      segmentNames.add(segmentName);
+      segmentPruningIndex.addSegment(mockSegment(segmentName, 0, 100, i));
+    }
+
+    SegmentPruningIndex.Result result =
+        segmentPruningIndex.prune(segmentNames, getFilterQueryTree("memberId = 6"), false, true);
+    Assert.assertEquals(result.getSegmentsToQuery(), Collections.singletonList("segment_2"));
+    Assert.assertEquals(result.getNumSegmentsPruned(), 3);
+    Assert.assertEquals(result.getNumTotalRawDocsPruned(), 300);
+
+    // Partitions are only applied to the equality predicate
+    Assert.assertEquals(
+        segmentPruningIndex.prune(segmentNames, getFilterQueryTree("memberId > 6"), false, true).getSegmentsToQuery(),
+        segmentNames);
+
+    // Min/max values and partitions combined
+    Assert.assertEquals(segmentPruningIndex
+            .prune(segmentNames, getFilterQueryTree("memberId = 5 OR time = 200"), true, true).getSegmentsToQuery(),
+        Collections.singletonList("segment_1"));
+    Assert.assertEquals(segmentPruningIndex
+            .prune(segmentNames, getFilterQueryTree("memberId = 5 AND time = 200"), true, true).getSegmentsToQuery(),
+        Collections.emptyList());
+  }
+
+  @Test
+  public void testRandomIntervals() {
+    Random random = new Random();
+    SegmentPruningIndex segmentPruningIndex = new SegmentPruningIndex();
+    List<String> segmentNames = new ArrayList<>();
+    int[] minValues = new int[100];
+    int[] maxValues = new int[100];
+    for (int i = 0; i < 100; i++) {
+      String segmentName = "segment_" + i;
+      segmentNames.add(segmentName);
+      minValues[i] = random.nextInt(1000);
+      maxValues[i] = minValues[i] + random.nextInt(100);
+      segmentPruningIndex.addSegment(mockSegment(segmentName, minValues[i], maxValues[i], null));
+    }
+
+    for (int i = 0; i < 100; i++) {
+      int lower = random.nextInt(1100);
+      int upper = lower + random.nextInt(100);
+      List<String> expected = new ArrayList<>();
+      for (int j = 0; j < 100; j++) {
+        if (maxValues[j] >= lower && minValues[j] <= upper) {
+          expected.add(segmentNames.get(j));
+        }
+      }
+      Assert.assertEquals(prune(segmentPruningIndex, segmentNames, "time BETWEEN " + lower + " AND " + upper),
+          expected);
+    }
+  }
+
+  private static List<String> prune(SegmentPruningIndex segmentPruningIndex, List<String> segmentNames,
+      String predicate) {
+    return segmentPruningIndex.prune(segmentNames, getFilterQueryTree(predicate), true, false).getSegmentsToQuery();
+  }
+
+  private static FilterQueryTree getFilterQueryTree(String predicate) {
+    return RequestUtils
+        .generateFilterQueryTree(COMPILER.compileToBrokerRequest("SELECT COUNT(*) FROM table WHERE " + predicate));
+  }
+
+  private static IndexSegment mockSegment(String segmentName, int minTime, int maxTime, Integer partition) {
+    Map<String, ColumnMetadata> columnMetadataMap = new HashMap<>();
+    columnMetadataMap.put("time",
+        new ColumnMetadata.Builder().setColumnName("time").setFieldType(FieldSpec.FieldType.TIME)
+            .setDataType(FieldSpec.DataType.INT).setTimeUnit(TimeUnit.DAYS).setMinValue(minTime).setMaxValue(maxTime)
+            .build());
+    columnMetadataMap.put("foo",
+        new ColumnMetadata.Builder().setColumnName("foo").setFieldType(FieldSpec.FieldType.DIMENSION)
+            .setDataType(FieldSpec.DataType.STRING).build());
+    ColumnMetadata.Builder memberIdBuilder =
+        new ColumnMetadata.Builder().setColumnName("memberId").setFieldType(FieldSpec.FieldType.DIMENSION)
+            .setDataType(FieldSpec.DataType.INT);
+    if (partition != null) {
+      memberIdBuilder.setPartitionFunction(PartitionFunctionFactory.getPartitionFunction("Modulo", NUM_PARTITIONS))
+          .setPartitions(Collections.singleton(partition));
+    }
+    columnMetadataMap.put("memberId", memberIdBuilder.build());
+
+    SegmentMetadataImpl segmentMetadata = mock(SegmentMetadataImpl.class);
+    when(segmentMetadata.getColumnMetadataMap()).thenReturn(columnMetadataMap);
+    when(segmentMetadata.getTotalRawDocs()).thenReturn(100);
+    IndexSegment indexSegment = mock(IndexSegment.class);
+    when(indexSegment.getSegmentName()).thenReturn(segmentName);
+    when(indexSegment.getSegmentMetadata()).thenReturn(segmentMetadata);
+    return indexSegment;
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.reduce;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.response.ServerInstance;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.common.utils.DataTable;
+import org.apache.pinot.core.common.datatable.DataTableBuilder;
+import org.apache.pinot.pql.parsers.Pql2Compiler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link IncrementalAggregationReducer}.
+ */
+public class IncrementalAggregationReducerTest {
+  private static final Pql2Compiler COMPILER = new Pql2Compiler();
+  private static final DataSchema DATA_SCHEMA = new DataSchema(new String[]{"count_star", "max_column"},
+      new DataSchema.ColumnDataType[]{DataSchema.ColumnDataType.LONG, DataSchema.ColumnDataType.DOUBLE});
+  private static final int NUM_SERVERS = 5;
+
+  @Test
+  public void testIsSupported() {
+    Assert.assertTrue(IncrementalAggregationReducer
+        .isSupported(COMPILER.compileToBrokerRequest("SELECT COUNT(*), MAX(column) FROM testTable")));
+    Assert.assertFalse(IncrementalAggregationReducer
+        .isSupported(COMPILER.compileToBrokerRequest("SELECT COUNT(*) FROM testTable GROUP BY column")));
+    Assert.assertFalse(
+        IncrementalAggregationReducer.isSupported(COMPILER.compileToBrokerRequest("SELECT * FROM testTable")));
+  }
+
+  @Test
+  public void testReduce()
+      throws Exception {
+    BrokerRequest brokerRequest = COMPILER.compileToBrokerRequest("SELECT COUNT(*), MAX(column) FROM testTable");
+    BrokerReduceService brokerReduceService = new BrokerReduceService();
+    IncrementalAggregationReducer reducer = new IncrementalAggregationReducer(brokerRequest, brokerReduceService);
+
+    Map<ServerInstance, DataTable> dataTableMap = new HashMap<>();
+    for (int i = 0; i < NUM_SERVERS; i++) {
+      ServerInstance serverInstance = new ServerInstance("server" + i, 8000);
+      DataTable dataTable = getDataTable(i);
+      dataTableMap.put(serverInstance, dataTable);
+      reducer.reduce(serverInstance, dataTable);
+    }
+    BrokerResponseNative expected = brokerReduceService.reduceOnDataTable(brokerRequest, dataTableMap, null);
+    BrokerResponseNative actual = reducer.getBrokerResponse(null);
+    Assert.assertNotNull(actual);
+    Assert.assertEquals(reducer.getNumServersResponded(), NUM_SERVERS);
+    Assert.assertEquals(actual.toJsonString(), expected.toJsonString());
+    Assert.assertEquals(actual.getNumDocsScanned(), 10L * NUM_SERVERS);
+
+    // Data tables received after the broker response is extracted should be ignored
+    reducer.reduce(new ServerInstance("lateServer", 8000), getDataTable(NUM_SERVERS));
+    Assert.assertEquals(reducer.getNumServersResponded(), NUM_SERVERS);
+  }
+
+  @Test
+  public void testReduceWithPendingMerges()
+      throws Exception {
+    BrokerRequest brokerRequest = COMPILER.compileToBrokerRequest("SELECT COUNT(*), MAX(column) FROM testTable");
+    BrokerReduceService brokerReduceService = new BrokerReduceService();
+    // Hold the merge tasks without running them
+    List<Runnable> mergeTasks = new ArrayList<>();
+    IncrementalAggregationReducer reducer =
+        new IncrementalAggregationReducer(brokerRequest, brokerReduceService, mergeTasks::add);
+
+    Map<ServerInstance, DataTable> dataTableMap = new HashMap<>();
+    for (int i = 0; i < NUM_SERVERS; i++) {
+      ServerInstance serverInstance = new ServerInstance("server" + i, 8000);
+      DataTable dataTable = getDataTable(i);
+      dataTableMap.put(serverInstance, dataTable);
+      reducer.reduce(serverInstance, dataTable);
+    }
+    // Only one merge task should be scheduled for the query
+    Assert.assertEquals(mergeTasks.size(), 1);
+
+    // Data tables not yet merged should be merged when extracting the broker response
+    BrokerResponseNative expected = brokerReduceService.reduceOnDataTable(brokerRequest, dataTableMap, null);
+    BrokerResponseNative actual = reducer.getBrokerResponse(null);
+    Assert.assertNotNull(actual);
+    Assert.assertEquals(reducer.getNumServersResponded(), NUM_SERVERS);
+    Assert.assertEquals(actual.toJsonString(), expected.toJsonString());
+
+    // The merge task should not merge the data tables again
+    mergeTasks.get(0).run();
+    Assert.assertEquals(reducer.getNumServersResponded(), NUM_SERVERS);
+  }
+
+  @Test
+  public void testNoResponse() {
+    BrokerRequest brokerRequest = COMPILER.compileToBrokerRequest("SELECT COUNT(*) FROM testTable");
+    IncrementalAggregationReducer reducer = new IncrementalAggregationReducer(brokerRequest, new BrokerReduceService());
+    BrokerResponseNative brokerResponse = reducer.getBrokerResponse(null);
+    Assert.assertNotNull(brokerResponse);
+    Assert.assertEquals(reducer.getNumServersResponded(), 0);
+    Assert.assertNull(brokerResponse.getAggregationResults());
+  }
+
+  private static DataTable getDataTable(int serverId)
+      throws Exception {
+    DataTableBuilder dataTableBuilder = new DataTableBuilder(DATA_SCHEMA);
+    dataTableBuilder.startRow();
+    dataTableBuilder.setColumn(0, 10L);
+    dataTableBuilder.setColumn(1, (double) serverId);
+    dataTableBuilder.finishRow();
+    DataTable dataTable = dataTableBuilder.build();
+    dataTable.getMetadata().put(DataTable.NUM_DOCS_SCANNED_METADATA_KEY, "10");
+    return dataTable;
+  }
+}
@@ -23,6 +23,7 @@ import com.google.common.util.concurrent.Uninterruptibles;
 import com.yammer.metrics.core.MetricsRegistry;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.BrokenBarrierException;
@@ -64,10 +65,16 @@ public class PrioritySchedulerTest {
   private static CyclicBarrier startupBarrier;
   private static CyclicBarrier validationBarrier;
   private static CountDownLatch numQueries = new CountDownLatch(1);
+  private static long estimatedCost = 0;
+  private static volatile Thread estimationThread;
+  private static volatile CountDownLatch estimationLatch;
 
   @AfterMethod
   public void afterMethod() {
     useBarrier = false;
+    estimatedCost = 0;
+    estimationThread = null;
+    estimationLatch = null;
     startupBarrier = null;
     validationBarrier = null;
     numQueries = new CountDownLatch(1);
@@ -227,6 +234,56 @@ public class PrioritySchedulerTest {
     scheduler.stop();
   }
 
+  @Test
+  public void testQueryCostEstimation()
+      throws ExecutionException, InterruptedException, IOException {
+    PropertiesConfiguration conf = new PropertiesConfiguration();
+    conf.setProperty(PriorityScheduler.QUERY_COST_ESTIMATION_KEY, true);
+    conf.setProperty(PriorityScheduler.MAX_QUERY_COST_KEY, 100);
+    TestPriorityScheduler scheduler = TestPriorityScheduler.create(conf);
+    scheduler.start();
+
+    // Query within the max query cost gets executed
+    estimatedCost = 10;
+    DataTable response = DataTableFactory.getDataTable(scheduler.submit(createServerQueryRequest("1", metrics)).get());
+    assertEquals(response.getMetadata().get("table"), "1");
+    // The estimation should not run on the thread submitting the query
+    assertTrue(estimationThread != null && estimationThread != Thread.currentThread());
+
+    // Query exceeding the max query cost gets rejected
+    estimatedCost = 1000;
+    response = DataTableFactory.getDataTable(scheduler.submit(createServerQueryRequest("1", metrics)).get());
+    assertTrue(response.getMetadata()
+        .containsKey(DataTable.EXCEPTION_METADATA_KEY + QueryException.SERVER_QUERY_COST_EXCEEDED_ERROR.getErrorCode()));
+    assertFalse(response.getMetadata().containsKey("table"));
+    scheduler.stop();
+  }
+
+  @Test
+  public void testStopWithQueriesUnderCostEstimation()
+      throws ExecutionException, InterruptedException, IOException {
+    PropertiesConfiguration conf = new PropertiesConfiguration();
+    conf.setProperty(PriorityScheduler.QUERY_COST_ESTIMATION_KEY, true);
+    conf.setProperty(PriorityScheduler.QUERY_COST_ESTIMATOR_THREADS_KEY, 1);
+    TestPriorityScheduler scheduler = TestPriorityScheduler.create(conf);
+    scheduler.start();
+
+    // The first query blocks the estimator thread, and the second query waits for the estimator thread
+    estimationLatch = new CountDownLatch(1);
+    ListenableFuture<byte[]> result1 = scheduler.submit(createServerQueryRequest("1", metrics));
+    ListenableFuture<byte[]> result2 = scheduler.submit(createServerQueryRequest("2", metrics));
+    scheduler.stop();
+    estimationLatch.countDown();
+
+    // Both queries should be failed instead of being dropped
+    for (ListenableFuture<byte[]> result : Arrays.asList(result1, result2)) {
+      DataTable response = DataTableFactory.getDataTable(result.get());
+      assertTrue(response.getMetadata()
+          .containsKey(DataTable.EXCEPTION_METADATA_KEY + QueryException.SERVER_SCHEDULER_DOWN_ERROR.getErrorCode()));
+      assertFalse(response.getMetadata().containsKey("table"));
+    }
+  }
+
   static class TestPriorityScheduler extends PriorityScheduler {
     static TestSchedulerGroupFactory groupFactory;
     static LongAccumulator latestQueryTime;
@@ -316,6 +373,15 @@ public class PrioritySchedulerTest {
       return result;
     }
 
+    @Override
+    public long estimateQueryCost(@Nonnull ServerQueryRequest queryRequest) {
+      estimationThread = Thread.currentThread();
+      if (estimationLatch != null) {
+        Uninterruptibles.awaitUninterruptibly(estimationLatch);
+      }
+      return estimatedCost;
+    }
+
     @Override
     public void setTableTimeoutMs(@Nonnull String tableNameWithType, long timeOutMs) {
     }
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class QueryTimeSlicerTest {
+
+  @Test
+  public void testNoYieldWithoutWaiters()
+      throws Exception {
+    QueryTimeSlicer timeSlicer = new QueryTimeSlicer(1, 1);
+    SchedulerGroupAccountant accountant = mock(SchedulerGroupAccountant.class);
+
+    // No-op outside of a time sliced task
+    QueryTimeSlicer.yieldIfSliceExpired();
+
+    timeSlicer.startTask(accountant);
+    try {
+      Thread.sleep(10);
+      QueryTimeSlicer.yieldIfSliceExpired();
+    } finally {
+      timeSlicer.endTask();
+    }
+    assertEquals(timeSlicer.getNumYields(), 0);
+    verify(accountant, never()).decrementThreads();
+  }
+
+  @Test
+  public void testYieldToWaitingTask()
+      throws Exception {
+    QueryTimeSlicer timeSlicer = new QueryTimeSlicer(1, 1);
+    SchedulerGroupAccountant longQueryAccountant = mock(SchedulerGroupAccountant.class);
+    SchedulerGroupAccountant shortQueryAccountant = mock(SchedulerGroupAccountant.class);
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    CountDownLatch longQueryStarted = new CountDownLatch(1);
+    CountDownLatch shortQueryFinished = new CountDownLatch(1);
+    try {
+      // Long query keeps processing blocks until the short query finishes
+      Future<?> longQuery = executorService.submit(() -> {
+        timeSlicer.startTask(longQueryAccountant);
+        try {
+          longQueryStarted.countDown();
+          while (shortQueryFinished.getCount() > 0) {
+            QueryTimeSlicer.yieldIfSliceExpired();
+          }
+        } finally {
+          timeSlicer.endTask();
+        }
+      });
+      assertTrue(longQueryStarted.await(10, TimeUnit.SECONDS));
+
+      // Short query can only get the slot after the long query yields
+      Future<?> shortQuery = executorService.submit(() -> {
+        timeSlicer.startTask(shortQueryAccountant);
+        try {
+          shortQueryFinished.countDown();
+        } finally {
+          timeSlicer.endTask();
+        }
+      });
+      shortQuery.get(10, TimeUnit.SECONDS);
+      longQuery.get(10, TimeUnit.SECONDS);
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    assertTrue(timeSlicer.getNumYields() > 0);
+    // Tokens are charged to the scheduler group before pausing and accounting resumes afterwards
+    verify(longQueryAccountant, atLeastOnce()).decrementThreads();
+    verify(longQueryAccountant, atLeastOnce()).incrementThreads();
+    verify(shortQueryAccountant, never()).decrementThreads();
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.selection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.segment.index.ColumnMetadata;
+import org.apache.pinot.core.segment.index.SegmentMetadataImpl;
+import org.apache.pinot.pql.parsers.Pql2Compiler;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class SelectionEarlyTerminationContextTest {
+  private static final Pql2Compiler COMPILER = new Pql2Compiler();
+
+  @Test
+  public void testCreate() {
+    assertNull(SelectionEarlyTerminationContext.create(COMPILER.compileToBrokerRequest("SELECT COUNT(*) FROM table")));
+    assertNull(
+        SelectionEarlyTerminationContext.create(COMPILER.compileToBrokerRequest("SELECT * FROM table LIMIT 0")));
+    assertNotNull(SelectionEarlyTerminationContext.create(COMPILER.compileToBrokerRequest("SELECT * FROM table")));
+  }
+
+  @Test
+  public void testSelectionOnly() {
+    SelectionEarlyTerminationContext context =
+        SelectionEarlyTerminationContext.create(COMPILER.compileToBrokerRequest("SELECT * FROM table LIMIT 10"));
+    assertFalse(context.hasEnoughRows());
+    context.addRowsCollected(6);
+    assertFalse(context.hasEnoughRows());
+    context.addRowsCollected(4);
+    assertTrue(context.hasEnoughRows());
+
+    // Order-by values are not tracked for selection only queries
+    IndexSegment indexSegment = mockIndexSegment("column", 0, 100);
+    assertNull(context.getBestOrderByValue(indexSegment));
+    assertFalse(context.canPrune(0));
+  }
+
+  @Test
+  public void testSelectionOrderByAscending() {
+    SelectionEarlyTerminationContext context = SelectionEarlyTerminationContext
+        .create(COMPILER.compileToBrokerRequest("SELECT * FROM table ORDER BY column LIMIT 10"));
+    IndexSegment segment1 = mockIndexSegment("column", 0, 100);
+    IndexSegment segment2 = mockIndexSegment("column", 50, 150);
+    IndexSegment segment3 = mockIndexSegment("column", 100, 200);
+    assertEquals(context.getBestOrderByValue(segment1), 0);
+    assertEquals(context.getBestOrderByValue(segment2), 50);
+    assertEquals(context.getBestOrderByValue(segment3), 100);
+
+    // No threshold yet
+    assertFalse(context.canPrune(100));
+
+    context.updateOrderByThreshold(120);
+    assertFalse(context.canPrune(100));
+    assertTrue(context.canPrune(121));
+
+    // Threshold can only be tightened
+    context.updateOrderByThreshold(150);
+    assertTrue(context.canPrune(121));
+    context.updateOrderByThreshold(100);
+    assertFalse(context.canPrune(100));
+    assertTrue(context.canPrune(101));
+
+    // Segments without the value cannot be pruned
+    assertFalse(context.canPrune(null));
+    assertNull(context.getBestOrderByValue(mockIndexSegment("otherColumn", 0, 100)));
+
+    List<IndexSegment> indexSegments = new ArrayList<>(Arrays.asList(segment3, segment1, segment2));
+    context.sortSegments(indexSegments);
+    assertEquals(indexSegments, Arrays.asList(segment1, segment2, segment3));
+  }
+
+  @Test
+  public void testSelectionOrderByDescending() {
+    SelectionEarlyTerminationContext context = SelectionEarlyTerminationContext
+        .create(COMPILER.compileToBrokerRequest("SELECT * FROM table ORDER BY column DESC LIMIT 10"));
+    IndexSegment segment1 = mockIndexSegment("column", 0, 100);
+    IndexSegment segment2 = mockIndexSegment("column", 50, 150);
+    IndexSegment segment3 = mockIndexSegment("otherColumn", 100, 200);
+    assertEquals(context.getBestOrderByValue(segment1), 100);
+    assertEquals(context.getBestOrderByValue(segment2), 150);
+
+    context.updateOrderByThreshold(120);
+    assertTrue(context.canPrune(100));
+    assertFalse(context.canPrune(120));
+    assertFalse(context.canPrune(150));
+
+    List<IndexSegment> indexSegments = new ArrayList<>(Arrays.asList(segment3, segment1, segment2));
+    context.sortSegments(indexSegments);
+    assertEquals(indexSegments, Arrays.asList(segment2, segment1, segment3));
+  }
+
+  @Test
+  public void testOrderByExpression() {
+    SelectionEarlyTerminationContext context = SelectionEarlyTerminationContext
+        .create(COMPILER.compileToBrokerRequest("SELECT * FROM table ORDER BY add(column, 1) LIMIT 10"));
+    assertNull(context.getBestOrderByValue(mockIndexSegment("column", 0, 100)));
+    context.updateOrderByThreshold(120);
+    assertFalse(context.canPrune(121));
+  }
+
+  private static IndexSegment mockIndexSegment(String column, int minValue, int maxValue) {
+    ColumnMetadata columnMetadata = mock(ColumnMetadata.class);
+    when(columnMetadata.isSingleValue()).thenReturn(true);
+    when(columnMetadata.getDataType()).thenReturn(FieldSpec.DataType.INT);
+    when(columnMetadata.getMinValue()).thenReturn(minValue);
+    when(columnMetadata.getMaxValue()).thenReturn(maxValue);
+    SegmentMetadataImpl segmentMetadata = mock(SegmentMetadataImpl.class);
+    when(segmentMetadata.getColumnMetadataFor(column)).thenReturn(columnMetadata);
+    IndexSegment indexSegment = mock(IndexSegment.class);
+    when(indexSegment.getSegmentMetadata()).thenReturn(segmentMetadata);
+    return indexSegment;
+  }
+}
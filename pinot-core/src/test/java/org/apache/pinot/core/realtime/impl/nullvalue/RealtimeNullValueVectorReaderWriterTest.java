@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.realtime.impl.nullvalue;
+
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+public class RealtimeNullValueVectorReaderWriterTest {
+
+  @Test
+  public void testRealtimeNullValueVectorReaderWriter() {
+    RealtimeNullValueVectorReaderWriter nullValueVector = new RealtimeNullValueVectorReaderWriter();
+
+    // No null value
+    ImmutableRoaringBitmap nullBitmap = nullValueVector.getNullBitmap();
+    assertTrue(nullBitmap.isEmpty());
+    assertFalse(nullValueVector.isNull(0));
+
+    // Snapshot is shared until the next null value is added
+    nullValueVector.setNull(1);
+    nullValueVector.setNull(3);
+    ImmutableRoaringBitmap snapshot = nullValueVector.getNullBitmap();
+    assertNotSame(snapshot, nullBitmap);
+    assertTrue(nullBitmap.isEmpty());
+    assertEquals(snapshot.toArray(), new int[]{1, 3});
+    assertSame(nullValueVector.getNullBitmap(), snapshot);
+    assertTrue(nullValueVector.isNull(1));
+    assertFalse(nullValueVector.isNull(2));
+    assertTrue(nullValueVector.isNull(3));
+
+    // Previous snapshot is not affected by the null values added afterwards
+    nullValueVector.setNull(5);
+    ImmutableRoaringBitmap newSnapshot = nullValueVector.getNullBitmap();
+    assertNotSame(newSnapshot, snapshot);
+    assertEquals(snapshot.toArray(), new int[]{1, 3});
+    assertEquals(newSnapshot.toArray(), new int[]{1, 3, 5});
+    assertTrue(nullValueVector.isNull(5));
+  }
+}
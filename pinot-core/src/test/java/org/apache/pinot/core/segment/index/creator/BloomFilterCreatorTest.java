@@ -25,11 +25,14 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.pinot.core.bloom.BlockedBloomFilter;
 import org.apache.pinot.core.bloom.BloomFilterType;
 import org.apache.pinot.core.bloom.BloomFilterUtil;
 import org.apache.pinot.core.bloom.GuavaOnHeapBloomFilter;
 import org.apache.pinot.core.segment.creator.impl.V1Constants;
 import org.apache.pinot.core.segment.creator.impl.bloom.BloomFilterCreator;
+import org.apache.pinot.core.segment.index.readers.BloomFilterReader;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
@@ -111,6 +114,51 @@ public class BloomFilterCreatorTest {
     }
   }
 
+  @Test
+  public void testBlockedBloomFilter()
+      throws Exception {
+    File bloomFilterDir = new File(TEMP_DIR, "blockedBloomFilterDir");
+    bloomFilterDir.mkdirs();
+
+    // Create a blocked bloom filter and serialize it to a file
+    int cardinality = 10000;
+    String columnName = "testColumn";
+    try (BloomFilterCreator bloomFilterCreator = new BloomFilterCreator(bloomFilterDir, columnName, cardinality,
+        BloomFilterType.BLOCKED_OFF_HEAP)) {
+      for (int i = 0; i < cardinality; i++) {
+        bloomFilterCreator.add(Integer.toString(i));
+      }
+    }
+
+    // Read the bloom filter from the data buffer and validate
+    File bloomFilterFile = new File(bloomFilterDir, columnName + V1Constants.Indexes.BLOOM_FILTER_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(bloomFilterFile)) {
+      BloomFilterReader bloomFilterReader = new BloomFilterReader(dataBuffer);
+      for (int i = 0; i < cardinality; i++) {
+        Assert.assertTrue(bloomFilterReader.mightContain(Integer.toString(i)));
+      }
+      int numFalsePositives = 0;
+      for (int i = cardinality; i < 2 * cardinality; i++) {
+        if (bloomFilterReader.mightContain(Integer.toString(i))) {
+          numFalsePositives++;
+        }
+      }
+      // Default max false positive probability is 0.05
+      Assert.assertTrue(numFalsePositives < 0.1 * cardinality);
+    }
+
+    // Deserialize the bloom filter onto the heap and validate
+    try (DataInputStream in = new DataInputStream(new FileInputStream(bloomFilterFile))) {
+      Assert.assertEquals(BloomFilterType.valueOf(in.readInt()), BloomFilterType.BLOCKED_OFF_HEAP);
+      BlockedBloomFilter bloomFilter = new BlockedBloomFilter();
+      Assert.assertEquals(in.readInt(), bloomFilter.getVersion());
+      bloomFilter.readFrom(in);
+      for (int i = 0; i < cardinality; i++) {
+        Assert.assertTrue(bloomFilter.mightContain(Integer.toString(i)));
+      }
+    }
+  }
+
   @Test
   public void testBloomFilterSize()
       throws Exception {
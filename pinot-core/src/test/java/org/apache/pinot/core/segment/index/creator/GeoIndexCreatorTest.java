@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.creator;
+
+import java.io.File;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.geospatial.GeoCellCovering;
+import org.apache.pinot.core.geospatial.GeoCircle;
+import org.apache.pinot.core.geospatial.GeoPoint;
+import org.apache.pinot.core.geospatial.GeoPolygon;
+import org.apache.pinot.core.geospatial.GeoShape;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeGeoIndexReader;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.geo.GeoIndexCreator;
+import org.apache.pinot.core.segment.index.readers.BitmapGeoIndexReader;
+import org.apache.pinot.core.segment.index.readers.GeoIndexReader;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class GeoIndexCreatorTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "GeoIndexCreatorTest");
+  private static final String COLUMN_NAME = "testColumn";
+  private static final double CENTER_LATITUDE = 37.7749;
+  private static final double CENTER_LONGITUDE = -122.4194;
+  private static final int NUM_DOCS = 10000;
+  private static final GeoShape[] SHAPES = {
+      new GeoCircle(CENTER_LATITUDE, CENTER_LONGITUDE, 100, true),
+      new GeoCircle(CENTER_LATITUDE, CENTER_LONGITUDE, 5_000, false),
+      new GeoCircle(37.8, -122.3, 30_000, true),
+      new GeoCircle(0, 0, 1_000, true),
+      new GeoCircle(CENTER_LATITUDE, CENTER_LONGITUDE, 20_000_000, true),
+      GeoPolygon.fromString("37.7,-122.5;37.85,-122.5;37.85,-122.35;37.7,-122.35"),
+      GeoPolygon.fromString("37.6,-122.6;38.0,-122.4;37.6,-122.2;37.6,-122.6"),
+      GeoPolygon.fromString("37.5,-122.7;38.1,-122.7;37.8,-122.4;38.1,-122.1;37.5,-122.1"),
+      GeoPolygon.fromString("-10,-10;-10,10;10,10;10,-10")
+  };
+
+  private final String[] _values = new String[NUM_DOCS];
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+    FileUtils.forceMkdir(TEMP_DIR);
+    Random random = new Random();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      if (random.nextInt(100) == 0) {
+        // Invalid geo points
+        _values[i] = random.nextBoolean() ? "abc" : "91,0";
+      } else {
+        _values[i] = (CENTER_LATITUDE + (random.nextDouble() - 0.5)) + "," + (CENTER_LONGITUDE + (random.nextDouble()
+            - 0.5));
+      }
+    }
+  }
+
+  @Test
+  public void testGeoPoint() {
+    GeoPoint geoPoint = GeoPoint.fromString("37.7749,-122.4194");
+    Assert.assertNotNull(geoPoint);
+    Assert.assertEquals(geoPoint.getLatitude(), 37.7749);
+    Assert.assertEquals(geoPoint.getLongitude(), -122.4194);
+    Assert.assertNull(GeoPoint.fromString("37.7749"));
+    Assert.assertNull(GeoPoint.fromString("abc,def"));
+    Assert.assertNull(GeoPoint.fromString("-90.5,0"));
+    Assert.assertNull(GeoPoint.fromString("0,180.5"));
+
+    // San Francisco to Los Angeles is about 559km
+    Assert.assertEquals(GeoPoint.distance(37.7749, -122.4194, 34.0522, -118.2437), 559_000, 1_000);
+    Assert.assertEquals(GeoPoint.distance(0, 0, 0, 180), Math.PI * GeoPoint.EARTH_RADIUS_METERS, 1e-6);
+  }
+
+  @Test
+  public void testGeoIndex()
+      throws Exception {
+    try (GeoIndexCreator creator = new GeoIndexCreator(TEMP_DIR, COLUMN_NAME)) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        creator.add(i, _values[i]);
+      }
+    }
+
+    File geoIndexFile = new File(TEMP_DIR, COLUMN_NAME + V1Constants.Indexes.GEO_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(geoIndexFile);
+        BitmapGeoIndexReader geoIndexReader = new BitmapGeoIndexReader(dataBuffer);
+        RealtimeGeoIndexReader realtimeGeoIndexReader = new RealtimeGeoIndexReader()) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        realtimeGeoIndexReader.add(i, _values[i]);
+      }
+      for (GeoShape shape : SHAPES) {
+        testShape(shape, geoIndexReader);
+        testShape(shape, realtimeGeoIndexReader);
+      }
+    }
+  }
+
+  private void testShape(GeoShape shape, GeoIndexReader geoIndexReader) {
+    GeoCellCovering geoCellCovering = GeoCellCovering.cover(shape, geoIndexReader.getLevel());
+    ImmutableRoaringBitmap interiorDocIds = geoIndexReader.getDocIds(geoCellCovering.getInteriorCellRanges());
+    ImmutableRoaringBitmap boundaryDocIds = geoIndexReader.getDocIds(geoCellCovering.getBoundaryCellRanges());
+
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    // Documents in the interior cells should match without verification
+    IntIterator iterator = interiorDocIds.getIntIterator();
+    while (iterator.hasNext()) {
+      int docId = iterator.next();
+      Assert.assertTrue(matches(shape, _values[docId]));
+      docIds.add(docId);
+    }
+    iterator = boundaryDocIds.getIntIterator();
+    while (iterator.hasNext()) {
+      int docId = iterator.next();
+      if (matches(shape, _values[docId])) {
+        docIds.add(docId);
+      }
+    }
+
+    MutableRoaringBitmap expected = new MutableRoaringBitmap();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      if (matches(shape, _values[i])) {
+        expected.add(i);
+      }
+    }
+    Assert.assertEquals(docIds, expected);
+  }
+
+  private static boolean matches(GeoShape shape, String value) {
+    GeoPoint geoPoint = GeoPoint.fromString(value);
+    return geoPoint != null && shape.contains(geoPoint.getLatitude(), geoPoint.getLongitude());
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
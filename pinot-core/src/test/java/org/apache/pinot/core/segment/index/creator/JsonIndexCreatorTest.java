@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.creator;
+
+import java.io.File;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.json.JsonMatchQuery;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeJsonIndexReader;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.json.JsonIndexCreator;
+import org.apache.pinot.core.segment.index.readers.BitmapJsonIndexReader;
+import org.apache.pinot.core.segment.index.readers.JsonIndexReader;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class JsonIndexCreatorTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "JsonIndexCreatorTest");
+  private static final String COLUMN_NAME = "testColumn";
+  private static final String[] NAMES = {"alice", "bob", "carol", "o'neil"};
+  private static final String[] CITIES = {"SF", "NYC", "LA"};
+  private static final int NUM_DOCS = 1000;
+  private static final String[] QUERIES =
+      {"$.name = 'bob'", "$.name = 'o''neil'", "$.age = 7", "$.active = true", "$.address.city = 'SF'",
+          "$.tags[*] = 3", "$.address.zip IS NOT NULL", "$.tags[*] IS NOT NULL",
+          "$.name = 'alice' AND $.address.city = 'LA'", "$.age = 3 OR $.tags[*] = 1",
+          "($.name = 'carol' OR $.name = 'bob') AND ($.active = false OR $.tags[*] = 0)", "$.unknown IS NOT NULL",
+          "$.name = 'dave'"};
+
+  private final String[] _values = new String[NUM_DOCS];
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+    FileUtils.forceMkdir(TEMP_DIR);
+    Random random = new Random();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      if (random.nextInt(20) == 0) {
+        // Invalid JSON document
+        _values[i] = "{\"name\":";
+        continue;
+      }
+      StringBuilder stringBuilder = new StringBuilder("{");
+      stringBuilder.append("\"name\":\"").append(NAMES[random.nextInt(NAMES.length)]).append('"');
+      stringBuilder.append(",\"age\":").append(random.nextInt(10));
+      stringBuilder.append(",\"active\":").append(random.nextBoolean());
+      stringBuilder.append(",\"address\":{\"city\":\"").append(CITIES[random.nextInt(CITIES.length)]).append('"');
+      if (random.nextBoolean()) {
+        stringBuilder.append(",\"zip\":").append(random.nextBoolean() ? "null" : Integer.toString(random.nextInt()));
+      }
+      stringBuilder.append("},\"tags\":[");
+      int numTags = random.nextInt(4);
+      for (int j = 0; j < numTags; j++) {
+        if (j > 0) {
+          stringBuilder.append(',');
+        }
+        stringBuilder.append(random.nextInt(5));
+      }
+      _values[i] = stringBuilder.append("]}").toString();
+    }
+  }
+
+  @Test
+  public void testJsonIndex()
+      throws Exception {
+    try (JsonIndexCreator creator = new JsonIndexCreator(TEMP_DIR, COLUMN_NAME)) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        creator.add(i, _values[i]);
+      }
+    }
+
+    File jsonIndexFile = new File(TEMP_DIR, COLUMN_NAME + V1Constants.Indexes.JSON_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(jsonIndexFile);
+        BitmapJsonIndexReader jsonIndexReader = new BitmapJsonIndexReader(dataBuffer);
+        RealtimeJsonIndexReader realtimeJsonIndexReader = new RealtimeJsonIndexReader()) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        realtimeJsonIndexReader.add(i, _values[i]);
+      }
+      for (String query : QUERIES) {
+        JsonMatchQuery jsonMatchQuery = JsonMatchQuery.parse(query);
+        testQuery(jsonMatchQuery, jsonIndexReader);
+        testQuery(jsonMatchQuery, realtimeJsonIndexReader);
+      }
+    }
+  }
+
+  private void testQuery(JsonMatchQuery jsonMatchQuery, JsonIndexReader jsonIndexReader) {
+    ImmutableRoaringBitmap docIds = jsonMatchQuery.getDocIds(jsonIndexReader);
+    MutableRoaringBitmap expected = new MutableRoaringBitmap();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      if (jsonMatchQuery.matches(_values[i])) {
+        expected.add(i);
+      }
+    }
+    Assert.assertEquals(docIds, expected);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
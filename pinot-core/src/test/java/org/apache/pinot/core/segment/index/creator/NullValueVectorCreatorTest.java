@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.creator;
+
+import java.io.File;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.realtime.impl.nullvalue.RealtimeNullValueVectorReaderWriter;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.nullvalue.NullValueVectorCreator;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReaderImpl;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class NullValueVectorCreatorTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "NullValueVectorCreatorTest");
+  private static final String COLUMN_NAME = "testColumn";
+  private static final int NUM_DOCS = 1000;
+
+  private final boolean[] _nullValues = new boolean[NUM_DOCS];
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+    FileUtils.forceMkdir(TEMP_DIR);
+    Random random = new Random();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      _nullValues[i] = random.nextInt(10) == 0;
+    }
+  }
+
+  @Test
+  public void testNullValueVector()
+      throws Exception {
+    RealtimeNullValueVectorReaderWriter realtimeNullValueVector = new RealtimeNullValueVectorReaderWriter();
+    try (NullValueVectorCreator creator = new NullValueVectorCreator(TEMP_DIR, COLUMN_NAME)) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        if (_nullValues[i]) {
+          creator.setNull(i);
+          realtimeNullValueVector.setNull(i);
+        }
+      }
+    }
+
+    File nullValueVectorFile =
+        new File(TEMP_DIR, COLUMN_NAME + V1Constants.Indexes.NULLVALUE_VECTOR_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(nullValueVectorFile)) {
+      testNullValueVector(new NullValueVectorReaderImpl(dataBuffer));
+      testNullValueVector(realtimeNullValueVector);
+    }
+  }
+
+  private void testNullValueVector(NullValueVectorReader nullValueVector) {
+    MutableRoaringBitmap expected = new MutableRoaringBitmap();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      Assert.assertEquals(nullValueVector.isNull(i), _nullValues[i]);
+      if (_nullValues[i]) {
+        expected.add(i);
+      }
+    }
+    Assert.assertEquals(nullValueVector.getNullBitmap(), expected);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
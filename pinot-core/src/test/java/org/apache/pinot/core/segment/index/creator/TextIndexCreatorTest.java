@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.segment.index.creator;
+
+import java.io.File;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.realtime.impl.invertedindex.RealtimeTextIndexReader;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.creator.impl.text.TextIndexCreator;
+import org.apache.pinot.core.segment.index.readers.BitmapTextIndexReader;
+import org.apache.pinot.core.segment.index.readers.TextIndexReader;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
+import org.apache.pinot.core.text.TextMatchQuery;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class TextIndexCreatorTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "TextIndexCreatorTest");
+  private static final String COLUMN_NAME = "testColumn";
+  private static final String[] WORDS =
+      {"connection", "reset", "by", "peer", "timeout", "error", "warn", "retry", "tim", "über", "42"};
+  private static final int NUM_DOCS = 1000;
+  private static final int MAX_NUM_WORDS = 8;
+  private static final String[] QUERIES =
+      {"peer", "PEER error", "tim", "tim*", "ti*", "über", "\"reset by\"", "\"reset by peer\"", "reset* \"by peer\"",
+          "42 conn*", "\"error warn retry timeout\"", "unknown", "unk*", "\"peer reset\""};
+
+  private final String[] _values = new String[NUM_DOCS];
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+    FileUtils.forceMkdir(TEMP_DIR);
+    Random random = new Random();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      int numWords = random.nextInt(MAX_NUM_WORDS + 1);
+      StringBuilder stringBuilder = new StringBuilder();
+      for (int j = 0; j < numWords; j++) {
+        stringBuilder.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextBoolean() ? ' ' : ',');
+      }
+      _values[i] = stringBuilder.toString();
+    }
+  }
+
+  @Test
+  public void testTextIndex()
+      throws Exception {
+    try (TextIndexCreator creator = new TextIndexCreator(TEMP_DIR, COLUMN_NAME)) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        creator.add(i, _values[i]);
+      }
+    }
+
+    File textIndexFile = new File(TEMP_DIR, COLUMN_NAME + V1Constants.Indexes.TEXT_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(textIndexFile);
+        BitmapTextIndexReader textIndexReader = new BitmapTextIndexReader(dataBuffer);
+        RealtimeTextIndexReader realtimeTextIndexReader = new RealtimeTextIndexReader()) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        realtimeTextIndexReader.add(i, _values[i]);
+      }
+      for (String query : QUERIES) {
+        TextMatchQuery textMatchQuery = TextMatchQuery.parse(query);
+        testQuery(textMatchQuery, textIndexReader);
+        testQuery(textMatchQuery, realtimeTextIndexReader);
+      }
+    }
+  }
+
+  private void testQuery(TextMatchQuery textMatchQuery, TextIndexReader textIndexReader) {
+    ImmutableRoaringBitmap docIds = textMatchQuery.getDocIds(textIndexReader);
+    MutableRoaringBitmap expected = new MutableRoaringBitmap();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      if (textMatchQuery.matches(_values[i])) {
+        expected.add(i);
+      }
+    }
+    if (textMatchQuery.needsVerification()) {
+      // Index lookup returns a superset of the matching documents
+      Assert.assertTrue(ImmutableRoaringBitmap.andNot(expected, docIds).isEmpty());
+    } else {
+      Assert.assertEquals(docIds, expected);
+    }
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
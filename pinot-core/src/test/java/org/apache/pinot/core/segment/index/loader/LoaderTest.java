@@ -20,6 +20,8 @@ package org.apache.pinot.core.segment.index.loader;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.common.data.DimensionFieldSpec;
 import org.apache.pinot.common.data.FieldSpec;
@@ -29,6 +31,7 @@ import org.apache.pinot.common.utils.TarGzCompressionUtils;
 import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
 import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
 import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
 import org.apache.pinot.core.segment.creator.SegmentIndexCreationDriver;
 import org.apache.pinot.core.segment.creator.impl.SegmentCreationDriverFactory;
@@ -226,6 +229,36 @@ public class LoaderTest {
     indexSegment.destroy();
   }
 
+  @Test
+  public void testLazyLoadColumns()
+      throws Exception {
+    Schema schema = constructV1Segment();
+    String column = schema.getDimensionNames().get(0);
+
+    IndexSegment eagerSegment = ImmutableSegmentLoader.load(_indexDir, _v3IndexLoadingConfig);
+    Object expectedValue = eagerSegment.getDataSource(column).getDictionary().get(0);
+    eagerSegment.destroy();
+
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig();
+    indexLoadingConfig.setReadMode(ReadMode.mmap);
+    indexLoadingConfig.setSegmentVersion(SegmentVersion.v3);
+    indexLoadingConfig.setLazyLoadColumns(true);
+    indexLoadingConfig.setOnHeapDictionaryColumns(Collections.singleton(column));
+    ImmutableSegment lazySegment = ImmutableSegmentLoader.load(_indexDir, indexLoadingConfig);
+
+    // Columns not accessed should not be evicted
+    Assert.assertEquals(lazySegment.evictIdleColumns(0L), 0);
+    Assert.assertEquals(lazySegment.getDataSource(column).getDictionary().get(0), expectedValue);
+
+    // Column with on-heap dictionary should be evicted after being idle, and loaded again on the next access
+    Thread.sleep(10L);
+    Assert.assertEquals(lazySegment.evictIdleColumns(1L), 1);
+    Assert.assertEquals(lazySegment.evictIdleColumns(1L), 0);
+    Assert.assertEquals(lazySegment.getDataSource(column).getDictionary().get(0), expectedValue);
+    Assert.assertEquals(lazySegment.evictIdleColumns(TimeUnit.HOURS.toMillis(1L)), 0);
+    lazySegment.destroy();
+  }
+
   @AfterClass
   public void tearDown() {
     FileUtils.deleteQuietly(INDEX_DIR);
@@ -450,6 +450,32 @@ public class SegmentPreProcessorTest {
     Assert.assertEquals(metricColumnMetadata.getMaxValue(), 890662862);
   }
 
+  @Test
+  public void testNeedPreProcess()
+      throws Exception {
+    constructV3Segment();
+
+    // Segment not pre-processed yet
+    Assert.assertTrue(SegmentPreProcessor.needPreProcess(_indexDir, _indexLoadingConfig, _newColumnsSchema1));
+    try (SegmentPreProcessor processor = new SegmentPreProcessor(_indexDir, _indexLoadingConfig, _newColumnsSchema1)) {
+      processor.process();
+    }
+    Assert.assertFalse(SegmentPreProcessor.needPreProcess(_indexDir, _indexLoadingConfig, _newColumnsSchema1));
+
+    // Schema changed
+    Assert.assertTrue(SegmentPreProcessor.needPreProcess(_indexDir, _indexLoadingConfig, _newColumnsSchema2));
+    Assert.assertTrue(SegmentPreProcessor.needPreProcess(_indexDir, _indexLoadingConfig, null));
+
+    // Index loading config changed
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig();
+    indexLoadingConfig.setInvertedIndexColumns(new HashSet<>(Collections.singletonList(COLUMN1_NAME)));
+    Assert.assertTrue(SegmentPreProcessor.needPreProcess(_indexDir, indexLoadingConfig, _newColumnsSchema1));
+    indexLoadingConfig = new IndexLoadingConfig();
+    indexLoadingConfig.setInvertedIndexColumns(_indexLoadingConfig.getInvertedIndexColumns());
+    indexLoadingConfig.setColumnMinMaxValueGeneratorMode(ColumnMinMaxValueGeneratorMode.NONE);
+    Assert.assertTrue(SegmentPreProcessor.needPreProcess(_indexDir, indexLoadingConfig, _newColumnsSchema1));
+  }
+
   @AfterClass
   public void tearDown()
       throws Exception {
@@ -51,6 +51,7 @@ public class ImmutableDictionaryTest {
   private static final String FLOAT_COLUMN_NAME = "floatColumn";
   private static final String DOUBLE_COLUMN_NAME = "doubleColumn";
   private static final String STRING_COLUMN_NAME = "stringColumn";
+  private static final String ASCII_STRING_COLUMN_NAME = "asciiStringColumn";
   private static final String BYTES_COLUMN_NAME = "bytesColumn";
   private static final int NUM_VALUES = 1000;
   private static final int MAX_STRING_LENGTH = 100;
@@ -61,9 +62,11 @@ public class ImmutableDictionaryTest {
   private float[] _floatValues;
   private double[] _doubleValues;
   private String[] _stringValues;
+  private String[] _asciiStringValues;
   private ByteArray[] _bytesValues;
 
   private int _numBytesPerStringValue;
+  private int _numBytesPerAsciiStringValue;
 
   @BeforeClass
   public void setUp()
@@ -105,6 +108,15 @@ public class ImmutableDictionaryTest {
     _stringValues = stringSet.toArray(new String[NUM_VALUES]);
     Arrays.sort(_stringValues);
 
+    // Half of the ASCII strings share a common prefix longer than the lookup accelerator key
+    Set<String> asciiStringSet = new HashSet<>();
+    while (asciiStringSet.size() < NUM_VALUES) {
+      String asciiString = RandomStringUtils.randomAscii(RANDOM.nextInt(MAX_STRING_LENGTH));
+      asciiStringSet.add(RANDOM.nextBoolean() ? "commonPrefix" + asciiString : asciiString);
+    }
+    _asciiStringValues = asciiStringSet.toArray(new String[NUM_VALUES]);
+    Arrays.sort(_asciiStringValues);
+
     Set<ByteArray> bytesSet = new HashSet<>();
     while (bytesSet.size() < NUM_VALUES) {
       byte[] bytes = new byte[BYTES_LENGTH];
@@ -140,6 +152,12 @@ public class ImmutableDictionaryTest {
       _numBytesPerStringValue = dictionaryCreator.getNumBytesPerEntry();
     }
 
+    try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(_asciiStringValues,
+        new DimensionFieldSpec(ASCII_STRING_COLUMN_NAME, FieldSpec.DataType.STRING, true), TEMP_DIR)) {
+      dictionaryCreator.build();
+      _numBytesPerAsciiStringValue = dictionaryCreator.getNumBytesPerEntry();
+    }
+
     try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(_bytesValues,
         new DimensionFieldSpec(BYTES_COLUMN_NAME, FieldSpec.DataType.BYTES, true), TEMP_DIR)) {
       dictionaryCreator.build();
@@ -305,6 +323,32 @@ public class ImmutableDictionaryTest {
     }
   }
 
+  @Test
+  public void testStringDictionaryWithLookupAccelerator()
+      throws Exception {
+    try (StringDictionary stringDictionary = new StringDictionary(PinotDataBuffer
+        .mapReadOnlyBigEndianFile(new File(TEMP_DIR, STRING_COLUMN_NAME + V1Constants.Dict.FILE_EXTENSION)), NUM_VALUES,
+        _numBytesPerStringValue, (byte) 0, true)) {
+      testStringDictionary(stringDictionary);
+    }
+
+    try (StringDictionary stringDictionary = new StringDictionary(PinotDataBuffer.mapReadOnlyBigEndianFile(
+        new File(TEMP_DIR, ASCII_STRING_COLUMN_NAME + V1Constants.Dict.FILE_EXTENSION)), NUM_VALUES,
+        _numBytesPerAsciiStringValue, (byte) 0, true)) {
+      for (int i = 0; i < NUM_VALUES; i++) {
+        assertEquals(stringDictionary.get(i), _asciiStringValues[i]);
+        assertEquals(stringDictionary.indexOf(_asciiStringValues[i]), i);
+
+        String randomString = RandomStringUtils.randomAscii(RANDOM.nextInt(2 * MAX_STRING_LENGTH));
+        assertEquals(stringDictionary.insertionIndexOf(randomString),
+            Arrays.binarySearch(_asciiStringValues, randomString));
+        randomString = "commonPrefix" + randomString;
+        assertEquals(stringDictionary.insertionIndexOf(randomString),
+            Arrays.binarySearch(_asciiStringValues, randomString));
+      }
+    }
+  }
+
   @Test
   public void testOnHeapStringDictionary()
       throws Exception {
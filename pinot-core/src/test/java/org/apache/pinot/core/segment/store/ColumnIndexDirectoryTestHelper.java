@@ -143,6 +143,34 @@ public class ColumnIndexDirectoryTestHelper {
         return invocationOnMock.getArguments()[0] + ".bloom";
       }
     });
+    when(meta.getTextIndexFileName(anyString())).thenAnswer(new Answer<String>() {
+      @Override
+      public String answer(InvocationOnMock invocationOnMock)
+          throws Throwable {
+        return invocationOnMock.getArguments()[0] + ".text.inv";
+      }
+    });
+    when(meta.getJsonIndexFileName(anyString())).thenAnswer(new Answer<String>() {
+      @Override
+      public String answer(InvocationOnMock invocationOnMock)
+          throws Throwable {
+        return invocationOnMock.getArguments()[0] + ".json.inv";
+      }
+    });
+    when(meta.getNullValueVectorFileName(anyString())).thenAnswer(new Answer<String>() {
+      @Override
+      public String answer(InvocationOnMock invocationOnMock)
+          throws Throwable {
+        return invocationOnMock.getArguments()[0] + ".bitmap.nullvalue";
+      }
+    });
+    when(meta.getGeoIndexFileName(anyString())).thenAnswer(new Answer<String>() {
+      @Override
+      public String answer(InvocationOnMock invocationOnMock)
+          throws Throwable {
+        return invocationOnMock.getArguments()[0] + ".geo.inv";
+      }
+    });
     return meta;
   }
 }
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.text;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TextMatchQueryTest {
+
+  @Test
+  public void testTokenize() {
+    Assert.assertEquals(TextTokenizer.tokenize("Connection reset by PEER, retry #3"),
+        Arrays.asList("connection", "reset", "by", "peer", "retry", "3"));
+    Assert.assertEquals(TextTokenizer.tokenize("foo-bar_baz"), Arrays.asList("foo", "bar", "baz"));
+    Assert.assertEquals(TextTokenizer.tokenize(" ,.; "), Collections.emptyList());
+    Assert.assertEquals(TextTokenizer.getTerms("a b a"),
+        new HashSet<>(Arrays.asList("a", "b", TextTokenizer.getBigram("a", "b"),
+            TextTokenizer.getBigram("b", "a"))));
+  }
+
+  @Test
+  public void testParse() {
+    TextMatchQuery query = TextMatchQuery.parse("Error time* \"reset by peer\" foo-bar");
+    Assert.assertEquals(query.getClauseTypes(),
+        Arrays.asList(TextMatchQuery.ClauseType.TERM, TextMatchQuery.ClauseType.PREFIX,
+            TextMatchQuery.ClauseType.PHRASE, TextMatchQuery.ClauseType.PHRASE));
+    Assert.assertEquals(query.getClauseTokens(),
+        Arrays.asList(Collections.singletonList("error"), Collections.singletonList("time"),
+            Arrays.asList("reset", "by", "peer"), Arrays.asList("foo", "bar")));
+    Assert.assertTrue(query.needsVerification());
+    Assert.assertFalse(TextMatchQuery.parse("\"reset by\" error").needsVerification());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseUnterminatedPhrase() {
+    TextMatchQuery.parse("\"reset by");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testParseEmptyQuery() {
+    TextMatchQuery.parse(" ,; ");
+  }
+
+  @Test
+  public void testMatches() {
+    String value = "Connection reset by peer after timeout";
+    Assert.assertTrue(TextMatchQuery.parse("peer").matches(value));
+    Assert.assertTrue(TextMatchQuery.parse("PEER time*").matches(value));
+    Assert.assertTrue(TextMatchQuery.parse("\"reset by peer\"").matches(value));
+    Assert.assertFalse(TextMatchQuery.parse("\"peer by reset\"").matches(value));
+    Assert.assertFalse(TextMatchQuery.parse("peer error").matches(value));
+    Assert.assertFalse(TextMatchQuery.parse("timer*").matches(value));
+  }
+}
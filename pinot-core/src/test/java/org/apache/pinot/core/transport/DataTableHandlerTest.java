@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.utils.CommonConstants.Helix.TableType;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class DataTableHandlerTest {
+
+  @Test
+  public void testFailOutstandingRequestsWhenChannelInactive() {
+    QueryRouter queryRouter = Mockito.mock(QueryRouter.class);
+    BrokerMetrics brokerMetrics = Mockito.mock(BrokerMetrics.class);
+    ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
+    Server server = new Server("Server_localhost_12345", TableType.OFFLINE);
+
+    DataTableHandler handler1 = new DataTableHandler(queryRouter, server, brokerMetrics);
+    DataTableHandler handler2 = new DataTableHandler(queryRouter, server, brokerMetrics);
+    handler1.markRequestSent(1L);
+    handler1.markRequestSent(2L);
+    handler1.markRequestSent(3L);
+    handler2.markRequestSent(4L);
+    handler2.markRequestSent(5L);
+    Assert.assertEquals(handler1.getNumOutstandingRequests(), 3);
+    Assert.assertEquals(handler2.getNumOutstandingRequests(), 2);
+
+    // Timed out request should no longer be outstanding
+    handler1.markRequestDone(3L);
+    Assert.assertEquals(handler1.getNumOutstandingRequests(), 2);
+
+    // Only the outstanding requests on the inactive channel should be failed, even if another channel is still active
+    handler1.channelInactive(ctx);
+    Mockito.verify(queryRouter).markServerDown(server, 1L);
+    Mockito.verify(queryRouter).markServerDown(server, 2L);
+    Mockito.verify(queryRouter, Mockito.never()).markServerDown(server, 3L);
+    Mockito.verify(queryRouter, Mockito.never()).markServerDown(server, 4L);
+    Mockito.verify(queryRouter, Mockito.never()).markServerDown(server, 5L);
+    Assert.assertEquals(handler1.getNumOutstandingRequests(), 0);
+    Assert.assertEquals(handler2.getNumOutstandingRequests(), 2);
+
+    handler2.channelInactive(ctx);
+    Mockito.verify(queryRouter).markServerDown(server, 4L);
+    Mockito.verify(queryRouter).markServerDown(server, 5L);
+    Assert.assertEquals(handler2.getNumOutstandingRequests(), 0);
+  }
+}
@@ -223,6 +223,44 @@ public class QueryRouterTest {
     Assert.assertTrue(System.currentTimeMillis() - startTimeMs < 1000);
   }
 
+  @Test
+  public void testMultipleChannelsPerServer()
+      throws Exception {
+    long requestId = 123;
+    DataTable dataTable = new DataTableImplV2();
+    dataTable.getMetadata().put(DataTable.REQUEST_ID_METADATA_KEY, Long.toString(requestId));
+    byte[] responseBytes = dataTable.toBytes();
+
+    // Start the server
+    DummyServer dummyServer = new DummyServer(TEST_PORT, 0L, responseBytes);
+    Thread thread = new Thread(dummyServer);
+    thread.start();
+    while (!dummyServer.isReady()) {
+      Thread.sleep(100L);
+    }
+
+    QueryRouter queryRouter = new QueryRouter("testBroker", Mockito.mock(BrokerMetrics.class), 2);
+    try {
+      // Queries should be spread over the pooled channels and all get responses
+      for (int i = 0; i < 4; i++) {
+        AsyncQueryResponse asyncQueryResponse = queryRouter
+            .submitQuery(requestId, "testTable", BROKER_REQUEST, ROUTING_TABLE, BROKER_REQUEST, ROUTING_TABLE, 1_000L);
+        Map<Server, ServerResponse> response = asyncQueryResponse.getResponse();
+        Assert.assertEquals(response.size(), 2);
+        for (ServerResponse serverResponse : response.values()) {
+          Assert.assertNotNull(serverResponse.getDataTable());
+          Assert.assertEquals(serverResponse.getResponseSize(), responseBytes.length);
+        }
+      }
+    } finally {
+      queryRouter.shutDown();
+    }
+
+    // Shut down the server
+    dummyServer.shutDown();
+    thread.join();
+  }
+
   @AfterClass
   public void tearDown() {
     _queryRouter.shutDown();
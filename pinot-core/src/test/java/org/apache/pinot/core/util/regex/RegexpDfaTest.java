@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.util.regex;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class RegexpDfaTest {
+  private static final int FLAGS = Pattern.UNICODE_CASE | Pattern.CASE_INSENSITIVE;
+
+  private static final String[] SUPPORTED_REGEXES =
+      {"", "abc", "^abc", "abc$", "^abc$", "a.c", "^a.*c$", "a+b", "ab*c", "ab?c", "a{2}", "^a{2,}$", "^a{1,3}b$",
+          "a|b", "^a|b$", "(ab)+c", "(?:ab|cd)*e", "[a-c]x", "[^a-c]", "\\d+", "^\\D", "\\s", "\\S$", "\\w\\W", "\\.",
+          "a\\|b", "\\x41", "\\u0061", "^k", "K$", "[k-l]", "^\\w+$", "^.$", "\\n$", "a*?b", "^(a|ab)(c|bcd)$", "^$",
+          "()", "x|", "^(^a)", "[\\d_]", "[.]", "\\t", "[^\\s]+$"};
+
+  private static final String[] UNSUPPORTED_REGEXES =
+      {"(?i)a", "a(?=b)", "(a)\\1", "\\bab", "a*+", "a++", "\\Qa\\E", "\\p{L}", "[a[b]]", "[a&&b]", "\u00e9", "a$b",
+          "(a$)", "^*", "a{200}", "\\u00e9", "(?<name>a)", "[\u00e9]"};
+
+  private static final String[] VALUES =
+      {"", "a", "A", "abc", "ABC", "xabcx", "aabcc", "ac", "abbbc", "aa", "aaa", "ab", "b", "cd", "ababc", "cdabe", "e",
+          "x", "1", "123", " ", "\t", "a_", "a.b", "a|b", "k", "K", "\u212a", "\u212ax", "\n", "a\n", "a\r\n", "a\r",
+          "a\n\n", "\u00e9", "\u4e2d\u6587", "abc\u0085", "abc\u2028", "abcd", "acbcd", "a\ud83d\ude00", "\ud83d\ude00",
+          "\u017f", "S\u017f"};
+
+  @Test
+  public void testSupportedRegexes() {
+    for (String regex : SUPPORTED_REGEXES) {
+      RegexpDfa dfa = RegexpDfa.compile(regex, FLAGS);
+      Assert.assertNotNull(dfa, regex);
+      Pattern pattern = Pattern.compile(regex, FLAGS);
+      for (String value : VALUES) {
+        boolean expected = pattern.matcher(value).find();
+        Assert.assertEquals(dfa.find(value), expected, regex + " on " + value);
+        byte[] utf8Bytes = value.getBytes(StandardCharsets.UTF_8);
+        byte[] paddedBytes = new byte[utf8Bytes.length + 10];
+        System.arraycopy(utf8Bytes, 0, paddedBytes, 0, utf8Bytes.length);
+        Assert.assertEquals(dfa.find(paddedBytes, utf8Bytes.length), expected, regex + " on " + value);
+      }
+    }
+  }
+
+  @Test
+  public void testUnsupportedRegexes() {
+    for (String regex : UNSUPPORTED_REGEXES) {
+      Assert.assertNull(RegexpDfa.compile(regex, FLAGS), regex);
+    }
+    Assert.assertNull(RegexpDfa.compile("abc", Pattern.MULTILINE));
+  }
+
+  @Test
+  public void testCaseSensitive() {
+    RegexpDfa dfa = RegexpDfa.compile("^ab", 0);
+    Assert.assertNotNull(dfa);
+    Assert.assertTrue(dfa.find("abc"));
+    Assert.assertFalse(dfa.find("Abc"));
+  }
+}
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.util.regex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class RegexpPrefixExtractorTest {
+
+  @Test
+  public void testCaseSensitive() {
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^abc", 0), Collections.singletonList("abc"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^abc.*d$", 0), Collections.singletonList("abc"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^ab?c", 0), Collections.singletonList("a"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^ab*c", 0), Collections.singletonList("a"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^ab{2}c", 0), Collections.singletonList("a"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^ab+c", 0), Collections.singletonList("ab"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^a\\.b[0-9]", 0), Collections.singletonList("a.b"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^a(b|c)d", 0), Arrays.asList("abd", "acd"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^a(?:b|)d", 0), Arrays.asList("abd", "ad"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^cd|^ab", 0), Arrays.asList("ab", "cd"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^a[|(]|^b", 0), Arrays.asList("a", "b"));
+
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("abc", 0));
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("^abc|d", 0));
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("^.abc", 0));
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("^a?bc", 0));
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("^(a|b.)c", 0));
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("^\\Qa|\\E", 0));
+    Assert.assertNull(RegexpPrefixExtractor.getPrefixes("^abc", Pattern.MULTILINE));
+  }
+
+  @Test
+  public void testCaseInsensitive() {
+    int flags = Pattern.UNICODE_CASE | Pattern.CASE_INSENSITIVE;
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^a1", flags), Arrays.asList("A1", "a1"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^k", flags), Arrays.asList("K", "k", "\u212a"));
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^a", Pattern.CASE_INSENSITIVE), Arrays.asList("A", "a"));
+    // 2^10 case variants are truncated to 2^6
+    Assert.assertEquals(RegexpPrefixExtractor.getPrefixes("^abcdefghij", flags).size(), 64);
+    for (String prefix : RegexpPrefixExtractor.getPrefixes("^abcdefghij", flags)) {
+      Assert.assertTrue(prefix.equalsIgnoreCase("abcdef"), prefix);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.queries;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.manager.SegmentDataManager;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.geospatial.GeoCircle;
+import org.apache.pinot.core.geospatial.GeoPoint;
+import org.apache.pinot.core.geospatial.GeoPolygon;
+import org.apache.pinot.core.geospatial.GeoShape;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.core.operator.ExecutionStatistics;
+import org.apache.pinot.core.operator.query.AggregationOperator;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.core.segment.store.SegmentDirectoryPaths;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Queries test for the ST_WITHIN and ST_DISTANCE predicates, where the results from the segments with geo index should
+ * be the same as from the segment without geo index. The geo index is either created with the segment (by
+ * SegmentColumnarIndexCreator), or added when loading the segment (by GeoIndexHandler), on both the dictionary-encoded
+ * column and the raw column.
+ */
+public class GeoQueriesTest extends BaseQueriesTest {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "GeoQueriesTest");
+  private static final String TABLE_NAME = "testTable";
+  private static final String NO_INDEX_SEGMENT_NAME = "testSegmentNoIndex";
+  private static final String CREATED_INDEX_SEGMENT_NAME = "testSegmentCreatedIndex";
+  private static final String V1_LOADED_INDEX_SEGMENT_NAME = "testSegmentLoadedIndexV1";
+  private static final String V3_LOADED_INDEX_SEGMENT_NAME = "testSegmentLoadedIndexV3";
+  private static final int NUM_RECORDS = 1000;
+  // Grid of 25 x 40 points around San Francisco, with one invalid geo point every 97 records
+  private static final int NUM_COLUMNS_IN_GRID = 40;
+  private static final double GRID_SPACING = 0.01;
+  private static final double MIN_LATITUDE = 37.6;
+  private static final double MIN_LONGITUDE = -122.6;
+
+  private static final String INT_COLUMN = "intColumn";
+  private static final String LOCATION_COLUMN = "location";
+  private static final String RAW_LOCATION_COLUMN = "rawLocation";
+  private static final List<String> GEO_INDEX_COLUMNS = Arrays.asList(LOCATION_COLUMN, RAW_LOCATION_COLUMN);
+  private static final Schema SCHEMA = new Schema.SchemaBuilder().setSchemaName(TABLE_NAME)
+      .addSingleValueDimension(LOCATION_COLUMN, FieldSpec.DataType.GEO_POINT)
+      .addSingleValueDimension(RAW_LOCATION_COLUMN, FieldSpec.DataType.GEO_POINT)
+      .addMetric(INT_COLUMN, FieldSpec.DataType.INT).build();
+
+  private static final String POLYGON = "37.7,-122.5;37.85,-122.5;37.85,-122.35;37.7,-122.35";
+  private static final String CONCAVE_POLYGON = "37.6,-122.6;37.6,-122.3;37.8,-122.3;37.65,-122.45;37.8,-122.6";
+  private static final double CENTER_LATITUDE = 37.7749;
+  private static final double CENTER_LONGITUDE = -122.4194;
+  private static final double DISTANCE = 5000;
+
+  private IndexSegment _noIndexSegment;
+  private List<IndexSegment> _geoIndexSegments;
+  private IndexSegment _indexSegment;
+
+  @Override
+  protected String getFilter() {
+    return "";
+  }
+
+  @Override
+  protected IndexSegment getIndexSegment() {
+    return _indexSegment;
+  }
+
+  @Override
+  protected List<SegmentDataManager> getSegmentDataManagers() {
+    throw new UnsupportedOperationException();
+  }
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+
+    _noIndexSegment = createSegment(NO_INDEX_SEGMENT_NAME, false, false, SegmentVersion.v3);
+    _geoIndexSegments = new ArrayList<>();
+    _geoIndexSegments.add(createSegment(CREATED_INDEX_SEGMENT_NAME, true, true, SegmentVersion.v3));
+    _geoIndexSegments.add(createSegment(V1_LOADED_INDEX_SEGMENT_NAME, false, true, SegmentVersion.v1));
+    _geoIndexSegments.add(createSegment(V3_LOADED_INDEX_SEGMENT_NAME, false, true, SegmentVersion.v3));
+  }
+
+  private static String getLocation(int i) {
+    if (i % 97 == 0) {
+      return "abc";
+    }
+    double latitude = MIN_LATITUDE + (i / NUM_COLUMNS_IN_GRID) * GRID_SPACING;
+    double longitude = MIN_LONGITUDE + (i % NUM_COLUMNS_IN_GRID) * GRID_SPACING;
+    return latitude + "," + longitude;
+  }
+
+  private static List<GenericRow> createRecords() {
+    List<GenericRow> records = new ArrayList<>(NUM_RECORDS);
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      GenericRow record = new GenericRow();
+      String location = getLocation(i);
+      record.putField(LOCATION_COLUMN, location);
+      record.putField(RAW_LOCATION_COLUMN, location);
+      record.putField(INT_COLUMN, i);
+      records.add(record);
+    }
+    return records;
+  }
+
+  /**
+   * Creates the segment in v1 format, where the geo index is created with the segment if {@code createGeoIndex} is
+   * set, and loads the segment with the given version, where the geo index is added if missing and
+   * {@code loadGeoIndex} is set.
+   */
+  private static IndexSegment createSegment(String segmentName, boolean createGeoIndex, boolean loadGeoIndex,
+      SegmentVersion segmentVersion)
+      throws Exception {
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(SCHEMA);
+    segmentGeneratorConfig.setTableName(TABLE_NAME);
+    segmentGeneratorConfig.setSegmentName(segmentName);
+    segmentGeneratorConfig.setOutDir(INDEX_DIR.getAbsolutePath());
+    segmentGeneratorConfig.setSegmentVersion(SegmentVersion.v1);
+    segmentGeneratorConfig.setRawIndexCreationColumns(Collections.singletonList(RAW_LOCATION_COLUMN));
+    if (createGeoIndex) {
+      segmentGeneratorConfig.setGeoIndexCreationColumns(GEO_INDEX_COLUMNS);
+    }
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(segmentGeneratorConfig, new GenericRowRecordReader(createRecords(), SCHEMA));
+    driver.build();
+
+    File indexDir = new File(INDEX_DIR, segmentName);
+    for (String column : GEO_INDEX_COLUMNS) {
+      assertEquals(new File(indexDir, column + V1Constants.Indexes.GEO_INDEX_FILE_EXTENSION).exists(),
+          createGeoIndex);
+    }
+
+    IndexLoadingConfig indexLoadingConfig = new IndexLoadingConfig();
+    indexLoadingConfig.setReadMode(ReadMode.mmap);
+    indexLoadingConfig.setSegmentVersion(segmentVersion);
+    if (loadGeoIndex) {
+      indexLoadingConfig.setGeoIndexColumns(new HashSet<>(GEO_INDEX_COLUMNS));
+    }
+    return ImmutableSegmentLoader.load(indexDir, indexLoadingConfig);
+  }
+
+  @Test
+  public void testGeoIndex() {
+    for (String column : GEO_INDEX_COLUMNS) {
+      assertNull(_noIndexSegment.getDataSource(column).getGeoIndex());
+      for (IndexSegment indexSegment : _geoIndexSegments) {
+        assertNotNull(indexSegment.getDataSource(column).getGeoIndex());
+      }
+    }
+    assertNotNull(_noIndexSegment.getDataSource(LOCATION_COLUMN).getDictionary());
+    assertNull(_noIndexSegment.getDataSource(RAW_LOCATION_COLUMN).getDictionary());
+
+    // GeoIndexHandler writes the geo index into the v1 segment directory, or into the single index file for v3
+    File v1IndexDir = new File(INDEX_DIR, V1_LOADED_INDEX_SEGMENT_NAME);
+    File v3IndexDir =
+        SegmentDirectoryPaths.segmentDirectoryFor(new File(INDEX_DIR, V3_LOADED_INDEX_SEGMENT_NAME), SegmentVersion.v3);
+    assertTrue(v3IndexDir.isDirectory());
+    for (String column : GEO_INDEX_COLUMNS) {
+      assertTrue(new File(v1IndexDir, column + V1Constants.Indexes.GEO_INDEX_FILE_EXTENSION).exists());
+      assertFalse(new File(v1IndexDir, column + ".geo.inprogress").exists());
+      assertFalse(new File(v3IndexDir, column + V1Constants.Indexes.GEO_INDEX_FILE_EXTENSION).exists());
+    }
+  }
+
+  @Test
+  public void testStWithin() {
+    for (String polygon : new String[]{POLYGON, CONCAVE_POLYGON}) {
+      GeoShape shape = GeoPolygon.fromString(polygon);
+      for (String column : GEO_INDEX_COLUMNS) {
+        testQuery(String.format("SELECT COUNT(*), SUM(intColumn) FROM testTable WHERE ST_WITHIN(%s, '%s')", column,
+            polygon), shape);
+      }
+    }
+  }
+
+  @Test
+  public void testStDistance() {
+    for (String column : GEO_INDEX_COLUMNS) {
+      testQuery(String
+          .format("SELECT COUNT(*), SUM(intColumn) FROM testTable WHERE ST_DISTANCE(%s, %s, %s) <= %s", column,
+              CENTER_LATITUDE, CENTER_LONGITUDE, DISTANCE),
+          new GeoCircle(CENTER_LATITUDE, CENTER_LONGITUDE, DISTANCE, true));
+      testQuery(String
+          .format("SELECT COUNT(*), SUM(intColumn) FROM testTable WHERE ST_DISTANCE(%s, %s, %s) < %s", column,
+              CENTER_LATITUDE, CENTER_LONGITUDE, DISTANCE),
+          new GeoCircle(CENTER_LATITUDE, CENTER_LONGITUDE, DISTANCE, false));
+    }
+
+    // Geo predicate combined with other predicate
+    String query = String.format(
+        "SELECT COUNT(*), SUM(intColumn) FROM testTable WHERE ST_DISTANCE(location, %s, %s) <= %s AND intColumn < 500",
+        CENTER_LATITUDE, CENTER_LONGITUDE, DISTANCE);
+    long expectedCount = 0;
+    double expectedSum = 0;
+    GeoShape shape = new GeoCircle(CENTER_LATITUDE, CENTER_LONGITUDE, DISTANCE, true);
+    for (int i = 0; i < NUM_RECORDS / 2; i++) {
+      if (matches(shape, getLocation(i))) {
+        expectedCount++;
+        expectedSum += i;
+      }
+    }
+    _indexSegment = _noIndexSegment;
+    assertAggregationResult(getOperatorForQuery(query), expectedCount, expectedSum);
+    for (IndexSegment indexSegment : _geoIndexSegments) {
+      _indexSegment = indexSegment;
+      assertAggregationResult(getOperatorForQuery(query), expectedCount, expectedSum);
+    }
+  }
+
+  /**
+   * Tests the query on all the segments, where the segment without geo index scans all the values in the filter, and
+   * the segments with geo index only scan the values in the boundary cells.
+   */
+  private void testQuery(String query, GeoShape shape) {
+    long expectedCount = 0;
+    double expectedSum = 0;
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      if (matches(shape, getLocation(i))) {
+        expectedCount++;
+        expectedSum += i;
+      }
+    }
+    assertTrue(expectedCount > 0);
+
+    _indexSegment = _noIndexSegment;
+    AggregationOperator aggregationOperator = getOperatorForQuery(query);
+    assertAggregationResult(aggregationOperator, expectedCount, expectedSum);
+    assertEquals(aggregationOperator.getExecutionStatistics().getNumEntriesScannedInFilter(), NUM_RECORDS);
+
+    for (IndexSegment indexSegment : _geoIndexSegments) {
+      _indexSegment = indexSegment;
+      aggregationOperator = getOperatorForQuery(query);
+      assertAggregationResult(aggregationOperator, expectedCount, expectedSum);
+      assertTrue(aggregationOperator.getExecutionStatistics().getNumEntriesScannedInFilter() < NUM_RECORDS);
+    }
+  }
+
+  private static boolean matches(GeoShape shape, String value) {
+    GeoPoint geoPoint = GeoPoint.fromString(value);
+    return geoPoint != null && shape.contains(geoPoint.getLatitude(), geoPoint.getLongitude());
+  }
+
+  private static void assertAggregationResult(AggregationOperator aggregationOperator, long expectedCount,
+      double expectedSum) {
+    List<Object> aggregationResult = aggregationOperator.nextBlock().getAggregationResult();
+    ExecutionStatistics executionStatistics = aggregationOperator.getExecutionStatistics();
+    assertEquals(executionStatistics.getNumDocsScanned(), expectedCount);
+    assertEquals(aggregationResult.get(0), expectedCount);
+    assertEquals(aggregationResult.get(1), expectedSum);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _noIndexSegment.destroy();
+    for (IndexSegment indexSegment : _geoIndexSegments) {
+      indexSegment.destroy();
+    }
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
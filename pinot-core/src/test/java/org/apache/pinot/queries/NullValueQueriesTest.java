@@ -0,0 +1,370 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.queries;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.FieldSpec;
+import org.apache.pinot.common.data.Schema;
+import org.apache.pinot.common.segment.ReadMode;
+import org.apache.pinot.core.common.Operator;
+import org.apache.pinot.core.data.GenericRow;
+import org.apache.pinot.core.data.manager.SegmentDataManager;
+import org.apache.pinot.core.data.readers.GenericRowRecordReader;
+import org.apache.pinot.core.data.recordtransformer.CompositeTransformer;
+import org.apache.pinot.core.data.recordtransformer.RecordTransformer;
+import org.apache.pinot.core.indexsegment.IndexSegment;
+import org.apache.pinot.core.indexsegment.generator.SegmentGeneratorConfig;
+import org.apache.pinot.core.indexsegment.generator.SegmentVersion;
+import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.core.indexsegment.mutable.MutableSegmentImpl;
+import org.apache.pinot.core.indexsegment.mutable.MutableSegmentImplTestUtils;
+import org.apache.pinot.core.operator.blocks.IntermediateResultsBlock;
+import org.apache.pinot.core.operator.query.AggregationGroupByOperator;
+import org.apache.pinot.core.query.aggregation.function.customobject.AvgPair;
+import org.apache.pinot.core.query.aggregation.groupby.AggregationGroupByResult;
+import org.apache.pinot.core.query.aggregation.groupby.GroupKeyGenerator;
+import org.apache.pinot.core.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.index.readers.NullValueVectorReader;
+import org.apache.pinot.core.segment.store.SegmentDirectoryPaths;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Queries test for the null value vectors, which answer IS NULL / IS NOT NULL filters and make the aggregation
+ * functions skip the null values of their own column. The same records are queried from an offline segment (v1 and
+ * v3), a consuming segment and an offline segment without null handling (default null value semantics).
+ */
+public class NullValueQueriesTest extends BaseQueriesTest {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "NullValueQueriesTest");
+  private static final String TABLE_NAME = "testTable";
+  private static final String V1_SEGMENT_NAME = "testSegmentV1";
+  private static final String V3_SEGMENT_NAME = "testSegmentV3";
+  private static final String DEFAULT_VALUE_SEGMENT_NAME = "testSegmentDefaultValue";
+  private static final int NUM_RECORDS = 1000;
+  private static final int NUM_GROUPS = 4;
+
+  private static final String STRING_COLUMN = "stringColumn";
+  private static final String INT_COLUMN = "intColumn";
+  private static final String LONG_COLUMN = "longColumn";
+  private static final Schema SCHEMA = new Schema.SchemaBuilder().setSchemaName(TABLE_NAME)
+      .addSingleValueDimension(STRING_COLUMN, FieldSpec.DataType.STRING)
+      .addSingleValueDimension(INT_COLUMN, FieldSpec.DataType.INT).addMetric(LONG_COLUMN, FieldSpec.DataType.LONG)
+      .build();
+
+  private IndexSegment _v1Segment;
+  private IndexSegment _v3Segment;
+  private MutableSegmentImpl _mutableSegment;
+  private IndexSegment _defaultValueSegment;
+  private List<IndexSegment> _nullValueSegments;
+  private IndexSegment _indexSegment;
+
+  @Override
+  protected String getFilter() {
+    return "";
+  }
+
+  @Override
+  protected IndexSegment getIndexSegment() {
+    return _indexSegment;
+  }
+
+  @Override
+  protected List<SegmentDataManager> getSegmentDataManagers() {
+    throw new UnsupportedOperationException();
+  }
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+
+    _v1Segment = createSegment(V1_SEGMENT_NAME, SegmentVersion.v1, true);
+    _v3Segment = createSegment(V3_SEGMENT_NAME, SegmentVersion.v3, true);
+    _defaultValueSegment = createSegment(DEFAULT_VALUE_SEGMENT_NAME, SegmentVersion.v3, false);
+
+    _mutableSegment = MutableSegmentImplTestUtils
+        .createMutableSegmentImpl(SCHEMA, Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+            false, true);
+    RecordTransformer recordTransformer = CompositeTransformer.getDefaultTransformer(SCHEMA);
+    for (GenericRow record : createRecords()) {
+      _mutableSegment.index(recordTransformer.transform(record), null);
+    }
+
+    _nullValueSegments = new ArrayList<>();
+    _nullValueSegments.add(_v1Segment);
+    _nullValueSegments.add(_v3Segment);
+    _nullValueSegments.add(_mutableSegment);
+  }
+
+  private static boolean isIntNull(int i) {
+    return i % 3 == 0;
+  }
+
+  private static boolean isLongNull(int i) {
+    return i % 5 == 0;
+  }
+
+  private static List<GenericRow> createRecords() {
+    List<GenericRow> records = new ArrayList<>(NUM_RECORDS);
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      GenericRow record = new GenericRow();
+      record.putField(STRING_COLUMN, "s" + i % NUM_GROUPS);
+      record.putField(INT_COLUMN, isIntNull(i) ? null : i);
+      record.putField(LONG_COLUMN, isLongNull(i) ? null : (long) i);
+      records.add(record);
+    }
+    return records;
+  }
+
+  private static IndexSegment createSegment(String segmentName, SegmentVersion segmentVersion,
+      boolean nullHandlingEnabled)
+      throws Exception {
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(SCHEMA);
+    segmentGeneratorConfig.setTableName(TABLE_NAME);
+    segmentGeneratorConfig.setSegmentName(segmentName);
+    segmentGeneratorConfig.setOutDir(INDEX_DIR.getAbsolutePath());
+    segmentGeneratorConfig.setSegmentVersion(segmentVersion);
+    segmentGeneratorConfig.setNullHandlingEnabled(nullHandlingEnabled);
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(segmentGeneratorConfig, new GenericRowRecordReader(createRecords(), SCHEMA));
+    driver.build();
+
+    return ImmutableSegmentLoader.load(new File(INDEX_DIR, segmentName), ReadMode.mmap);
+  }
+
+  @Test
+  public void testNullValueVector() {
+    MutableRoaringBitmap expectedIntNullBitmap = new MutableRoaringBitmap();
+    MutableRoaringBitmap expectedLongNullBitmap = new MutableRoaringBitmap();
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      if (isIntNull(i)) {
+        expectedIntNullBitmap.add(i);
+      }
+      if (isLongNull(i)) {
+        expectedLongNullBitmap.add(i);
+      }
+    }
+
+    // SegmentColumnarIndexCreator writes the null value vector of every column into the v1 segment directory
+    File v1SegmentDir = new File(INDEX_DIR, V1_SEGMENT_NAME);
+    for (String column : SCHEMA.getColumnNames()) {
+      assertTrue(new File(v1SegmentDir, column + V1Constants.Indexes.NULLVALUE_VECTOR_FILE_EXTENSION).exists());
+    }
+
+    // The v3 conversion moves the null value vectors into the single index file
+    File v3SegmentDir =
+        SegmentDirectoryPaths.segmentDirectoryFor(new File(INDEX_DIR, V3_SEGMENT_NAME), SegmentVersion.v3);
+    assertTrue(v3SegmentDir.isDirectory());
+    for (String column : SCHEMA.getColumnNames()) {
+      assertFalse(new File(v3SegmentDir, column + V1Constants.Indexes.NULLVALUE_VECTOR_FILE_EXTENSION).exists());
+    }
+
+    for (IndexSegment indexSegment : _nullValueSegments) {
+      NullValueVectorReader nullValueVector = indexSegment.getDataSource(INT_COLUMN).getNullValueVector();
+      assertNotNull(nullValueVector);
+      assertEquals(nullValueVector.getNullBitmap(), expectedIntNullBitmap);
+      assertTrue(nullValueVector.isNull(0));
+      assertFalse(nullValueVector.isNull(1));
+      nullValueVector = indexSegment.getDataSource(LONG_COLUMN).getNullValueVector();
+      assertNotNull(nullValueVector);
+      assertEquals(nullValueVector.getNullBitmap(), expectedLongNullBitmap);
+      nullValueVector = indexSegment.getDataSource(STRING_COLUMN).getNullValueVector();
+      assertNotNull(nullValueVector);
+      assertTrue(nullValueVector.getNullBitmap().isEmpty());
+    }
+
+    for (String column : SCHEMA.getColumnNames()) {
+      assertNull(_defaultValueSegment.getDataSource(column).getNullValueVector());
+    }
+  }
+
+  @Test
+  public void testIsNullFilter() {
+    int numIntNulls = 0;
+    int numBothNulls = 0;
+    int numIntNotNullsInGroup = 0;
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      if (isIntNull(i)) {
+        numIntNulls++;
+        if (isLongNull(i)) {
+          numBothNulls++;
+        }
+      } else if (i % NUM_GROUPS == 1) {
+        numIntNotNullsInGroup++;
+      }
+    }
+
+    for (IndexSegment indexSegment : _nullValueSegments) {
+      _indexSegment = indexSegment;
+      assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE intColumn IS NULL"), numIntNulls);
+      assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE intColumn IS NOT NULL"), NUM_RECORDS - numIntNulls);
+      assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE intColumn IS NULL AND longColumn IS NULL"),
+          numBothNulls);
+      assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE intColumn IS NOT NULL AND stringColumn = 's1'"),
+          numIntNotNullsInGroup);
+      assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE stringColumn IS NULL"), 0);
+      assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE stringColumn IS NOT NULL"), NUM_RECORDS);
+    }
+
+    // Without null value vector, no value is null
+    _indexSegment = _defaultValueSegment;
+    assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE intColumn IS NULL"), 0);
+    assertEquals(getCount("SELECT COUNT(*) FROM testTable WHERE intColumn IS NOT NULL"), NUM_RECORDS);
+  }
+
+  @Test
+  public void testAggregationOnly() {
+    double intSum = 0;
+    long intCount = 0;
+    double longSum = 0;
+    long longCount = 0;
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      if (!isIntNull(i)) {
+        intSum += i;
+        intCount++;
+      }
+      if (!isLongNull(i)) {
+        longSum += i;
+        longCount++;
+      }
+    }
+    // Smallest and largest non-null values
+    double intMin = 1;
+    double intMax = NUM_RECORDS - 2;
+    double longMin = 1;
+    double longMax = NUM_RECORDS - 1;
+
+    for (IndexSegment indexSegment : _nullValueSegments) {
+      _indexSegment = indexSegment;
+      List<Object> aggregationResult = getAggregationResult(
+          "SELECT SUM(intColumn), MIN(intColumn), MAX(intColumn), AVG(intColumn) FROM testTable");
+      assertEquals(aggregationResult.get(0), intSum);
+      assertEquals(aggregationResult.get(1), intMin);
+      assertEquals(aggregationResult.get(2), intMax);
+      assertAvgPair(aggregationResult.get(3), intSum, intCount);
+
+      // The null values of each column are skipped regardless of the other aggregations
+      aggregationResult = getAggregationResult(
+          "SELECT COUNT(*), AVG(intColumn), SUM(longColumn), MIN(longColumn), MAX(longColumn) FROM testTable");
+      assertEquals(aggregationResult.get(0), (long) NUM_RECORDS);
+      assertAvgPair(aggregationResult.get(1), intSum, intCount);
+      assertEquals(aggregationResult.get(2), longSum);
+      assertEquals(aggregationResult.get(3), longMin);
+      assertEquals(aggregationResult.get(4), longMax);
+
+      // Explicit IS NOT NULL filter gives the same result
+      aggregationResult =
+          getAggregationResult("SELECT COUNT(*), AVG(intColumn) FROM testTable WHERE intColumn IS NOT NULL");
+      assertEquals(aggregationResult.get(0), intCount);
+      assertAvgPair(aggregationResult.get(1), intSum, intCount);
+    }
+
+    // Without null value vector, the default null values are aggregated
+    _indexSegment = _defaultValueSegment;
+    long numIntNulls = NUM_RECORDS - intCount;
+    List<Object> aggregationResult = getAggregationResult(
+        "SELECT SUM(intColumn), MIN(intColumn), MAX(intColumn), AVG(intColumn) FROM testTable");
+    double defaultIntSum = intSum + numIntNulls * FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_INT;
+    assertEquals(aggregationResult.get(0), defaultIntSum);
+    assertEquals(aggregationResult.get(1), (double) FieldSpec.DEFAULT_DIMENSION_NULL_VALUE_OF_INT);
+    assertEquals(aggregationResult.get(2), intMax);
+    assertAvgPair(aggregationResult.get(3), defaultIntSum, NUM_RECORDS);
+    aggregationResult = getAggregationResult("SELECT SUM(longColumn), MIN(longColumn) FROM testTable");
+    assertEquals(aggregationResult.get(0), longSum);
+    assertEquals(aggregationResult.get(1), (double) FieldSpec.DEFAULT_METRIC_NULL_VALUE_OF_LONG);
+  }
+
+  @Test
+  public void testAggregationGroupBy() {
+    double[] intSums = new double[NUM_GROUPS];
+    long[] longCounts = new long[NUM_GROUPS];
+    double[] longSums = new double[NUM_GROUPS];
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      int group = i % NUM_GROUPS;
+      if (!isIntNull(i)) {
+        intSums[group] += i;
+      }
+      if (!isLongNull(i)) {
+        longSums[group] += i;
+        longCounts[group]++;
+      }
+    }
+
+    String query = "SELECT COUNT(*), SUM(intColumn), AVG(longColumn) FROM testTable GROUP BY stringColumn";
+    for (IndexSegment indexSegment : _nullValueSegments) {
+      _indexSegment = indexSegment;
+      AggregationGroupByOperator aggregationGroupByOperator = getOperatorForQuery(query);
+      AggregationGroupByResult aggregationGroupByResult =
+          aggregationGroupByOperator.nextBlock().getAggregationGroupByResult();
+      int numGroups = 0;
+      Iterator<GroupKeyGenerator.GroupKey> groupKeyIterator = aggregationGroupByResult.getGroupKeyIterator();
+      while (groupKeyIterator.hasNext()) {
+        GroupKeyGenerator.GroupKey groupKey = groupKeyIterator.next();
+        int group = Integer.parseInt(groupKey._stringKey.substring(1));
+        assertEquals(aggregationGroupByResult.getResultForKey(groupKey, 0), (long) (NUM_RECORDS / NUM_GROUPS));
+        assertEquals(aggregationGroupByResult.getResultForKey(groupKey, 1), intSums[group]);
+        assertAvgPair(aggregationGroupByResult.getResultForKey(groupKey, 2), longSums[group], longCounts[group]);
+        numGroups++;
+      }
+      assertEquals(numGroups, NUM_GROUPS);
+      // All the documents are scanned because the null values are skipped by the aggregation functions
+      assertEquals(aggregationGroupByOperator.getExecutionStatistics().getNumDocsScanned(), NUM_RECORDS);
+    }
+  }
+
+  private long getCount(String query) {
+    return (long) getAggregationResult(query).get(0);
+  }
+
+  private List<Object> getAggregationResult(String query) {
+    Operator<IntermediateResultsBlock> operator = getOperatorForQuery(query);
+    return operator.nextBlock().getAggregationResult();
+  }
+
+  private static void assertAvgPair(Object result, double expectedSum, long expectedCount) {
+    AvgPair avgPair = (AvgPair) result;
+    assertEquals(avgPair.getSum(), expectedSum);
+    assertEquals(avgPair.getCount(), expectedCount);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _v1Segment.destroy();
+    _v3Segment.destroy();
+    _mutableSegment.destroy();
+    _defaultValueSegment.destroy();
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
@@ -100,8 +100,13 @@ public class DefaultControllerRestApi implements ControllerRestApi {
     LOGGER.info("Start pushing segments: {} to locations: {}", tarFilePaths, _pushLocations);
     for (Path tarFilePath : tarFilePaths) {
       String fileName = tarFilePath.getName();
-      Preconditions.checkArgument(fileName.endsWith(JobConfigConstants.TAR_GZ_FILE_EXT));
-      String segmentName = fileName.substring(0, fileName.length() - JobConfigConstants.TAR_GZ_FILE_EXT.length());
+      String segmentName;
+      if (fileName.endsWith(JobConfigConstants.TAR_GZ_FILE_EXT)) {
+        segmentName = fileName.substring(0, fileName.length() - JobConfigConstants.TAR_GZ_FILE_EXT.length());
+      } else {
+        Preconditions.checkArgument(fileName.endsWith(JobConfigConstants.TAR_FILE_EXT));
+        segmentName = fileName.substring(0, fileName.length() - JobConfigConstants.TAR_FILE_EXT.length());
+      }
       for (PushLocation pushLocation : _pushLocations) {
         LOGGER.info("Pushing segment: {} to location: {}", segmentName, pushLocation);
         try (InputStream inputStream = fileSystem.open(tarFilePath)) {
@@ -29,6 +29,15 @@ public class JobConfigConstants {
 
   public static final String SEGMENT_TAR_DIR = "segmentTar";
   public static final String TAR_GZ_FILE_EXT = ".tar.gz";
+  public static final String TAR_FILE_EXT = ".tar";
+
+  // Compression of the segment tar file, one of "gzip" (default) or "none"
+  // Segment index files are already compressed or bit-packed, so an uncompressed tar file is usually slightly larger
+  // but much faster to push and to load on servers
+  public static final String SEGMENT_TAR_COMPRESSION = "segment.tar.compression";
+  public static final String SEGMENT_TAR_COMPRESSION_GZIP = "gzip";
+  public static final String SEGMENT_TAR_COMPRESSION_NONE = "none";
+  public static final String DEFAULT_SEGMENT_TAR_COMPRESSION = SEGMENT_TAR_COMPRESSION_GZIP;
 
   public static final String SEGMENT_TABLE_NAME = "segment.table.name";
   public static final String TABLE_CONFIG = "table.config";
@@ -50,7 +50,7 @@ public class SegmentTarPushJob extends BaseSegmentJob {
 
   @Override
   protected boolean isDataFile(String fileName) {
-    return fileName.endsWith(JobConfigConstants.TAR_GZ_FILE_EXT);
+    return fileName.endsWith(JobConfigConstants.TAR_GZ_FILE_EXT) || fileName.endsWith(JobConfigConstants.TAR_FILE_EXT);
   }
 
   public void run()
@@ -47,7 +47,7 @@ public class SegmentUriPushJob extends BaseSegmentJob {
 
   @Override
   protected boolean isDataFile(String fileName) {
-    return fileName.endsWith(JobConfigConstants.TAR_GZ_FILE_EXT);
+    return fileName.endsWith(JobConfigConstants.TAR_GZ_FILE_EXT) || fileName.endsWith(JobConfigConstants.TAR_FILE_EXT);
   }
 
   public void run()
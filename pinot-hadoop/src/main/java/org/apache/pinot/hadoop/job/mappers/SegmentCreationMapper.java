@@ -66,6 +66,7 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
   protected String _rawTableName;
   protected Schema _schema;
   protected SegmentNameGenerator _segmentNameGenerator;
+  protected boolean _gzipSegmentTar;
 
   // Optional
   protected TableConfig _tableConfig;
@@ -103,6 +104,14 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
     }
     _recordReaderPath = _jobConf.get(JobConfigConstants.RECORD_READER_PATH);
 
+    String segmentTarCompression =
+        _jobConf.get(JobConfigConstants.SEGMENT_TAR_COMPRESSION, JobConfigConstants.DEFAULT_SEGMENT_TAR_COMPRESSION);
+    _gzipSegmentTar = segmentTarCompression.equals(JobConfigConstants.SEGMENT_TAR_COMPRESSION_GZIP);
+    Preconditions.checkArgument(
+        _gzipSegmentTar || segmentTarCompression.equals(JobConfigConstants.SEGMENT_TAR_COMPRESSION_NONE),
+        "Unsupported segment tar compression: %s, supported values: [%s, %s]", segmentTarCompression,
+        JobConfigConstants.SEGMENT_TAR_COMPRESSION_GZIP, JobConfigConstants.SEGMENT_TAR_COMPRESSION_NONE);
+
     // Set up segment name generator
     String segmentNameGeneratorType =
         _jobConf.get(JobConfigConstants.SEGMENT_NAME_GENERATOR_TYPE, JobConfigConstants.DEFAULT_SEGMENT_NAME_GENERATOR);
@@ -244,10 +253,15 @@ public class SegmentCreationMapper extends Mapper<LongWritable, Text, LongWritab
     _logger.info("Finish creating segment: {} with sequence id: {}", segmentName, sequenceId);
 
     File localSegmentDir = new File(_localSegmentDir, segmentName);
-    String segmentTarFileName = segmentName + JobConfigConstants.TAR_GZ_FILE_EXT;
+    String segmentTarFileName =
+        segmentName + (_gzipSegmentTar ? JobConfigConstants.TAR_GZ_FILE_EXT : JobConfigConstants.TAR_FILE_EXT);
     File localSegmentTarFile = new File(_localSegmentTarDir, segmentTarFileName);
     _logger.info("Tarring segment from: {} to: {}", localSegmentDir, localSegmentTarFile);
-    TarGzCompressionUtils.createTarGzOfDirectory(localSegmentDir.getPath(), localSegmentTarFile.getPath());
+    if (_gzipSegmentTar) {
+      TarGzCompressionUtils.createTarGzOfDirectory(localSegmentDir.getPath(), localSegmentTarFile.getPath());
+    } else {
+      TarGzCompressionUtils.createTarOfDirectory(localSegmentDir.getPath(), localSegmentTarFile.getPath());
+    }
 
     long uncompressedSegmentSize = FileUtils.sizeOf(localSegmentDir);
     long compressedSegmentSize = FileUtils.sizeOf(localSegmentTarFile);
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.broker.queryquota.HitCounter;
+import org.apache.pinot.broker.queryquota.QueryRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark for the per-query cost of the broker query quota check (hit counter plus rate limiter) under 64 concurrent
+ * threads, comparing the Guava rate limiter with the lock-free {@link QueryRateLimiter}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkQueryQuota {
+  private static final int TIME_RANGE_IN_SECOND = 1;
+
+  @Param({"1000", "100000", "10000000"})
+  private double _permitsPerSecond;
+
+  private HitCounter _hitCounter;
+  private RateLimiter _guavaRateLimiter;
+  private QueryRateLimiter _queryRateLimiter;
+
+  @Setup
+  public void setUp() {
+    _hitCounter = new HitCounter(TIME_RANGE_IN_SECOND);
+    _guavaRateLimiter = RateLimiter.create(_permitsPerSecond);
+    _queryRateLimiter = QueryRateLimiter.create(_permitsPerSecond);
+  }
+
+  @Benchmark
+  public boolean guavaRateLimiter() {
+    _hitCounter.hit();
+    return _guavaRateLimiter.tryAcquire();
+  }
+
+  @Benchmark
+  public boolean queryRateLimiter() {
+    _hitCounter.hit();
+    return _queryRateLimiter.tryAcquire();
+  }
+
+  @Benchmark
+  public int hitCounter() {
+    _hitCounter.hit();
+    return _hitCounter.getHitCount();
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt = new OptionsBuilder().include(BenchmarkQueryQuota.class.getSimpleName());
+    new Runner(opt.build()).run();
+  }
+}
@@ -18,14 +18,24 @@
  */
 package org.apache.pinot.perf;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.data.DimensionFieldSpec;
+import org.apache.pinot.common.data.FieldSpec;
 import org.apache.pinot.common.utils.StringUtil;
 import org.apache.pinot.core.io.readerwriter.PinotDataBufferMemoryManager;
 import org.apache.pinot.core.io.writer.impl.DirectMemoryManager;
 import org.apache.pinot.core.realtime.impl.dictionary.StringOffHeapMutableDictionary;
 import org.apache.pinot.core.realtime.impl.dictionary.StringOnHeapMutableDictionary;
+import org.apache.pinot.core.segment.creator.impl.SegmentDictionaryCreator;
+import org.apache.pinot.core.segment.creator.impl.V1Constants;
+import org.apache.pinot.core.segment.index.readers.StringDictionary;
+import org.apache.pinot.core.segment.memory.PinotDataBuffer;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -53,6 +63,8 @@ public class BenchmarkStringDictionary {
   private static final int NUM_RECORDS = 1_000_000;
   private static final int CARDINALITY = 200_000;
   private static final Random RANDOM = new Random();
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkStringDictionary");
+  private static final String COLUMN_NAME = "stringColumn";
 
   @Param({"8", "16", "32", "64", "128", "256", "512", "1024"})
   private int _maxValueLength;
@@ -61,9 +73,12 @@ public class BenchmarkStringDictionary {
   private String[] _values;
   private StringOffHeapMutableDictionary _offHeapDictionary;
   private StringOnHeapMutableDictionary _onHeapDictionary;
+  private StringDictionary _immutableDictionary;
+  private StringDictionary _acceleratedImmutableDictionary;
 
   @Setup
-  public void setUp() {
+  public void setUp()
+      throws Exception {
     _memoryManager = new DirectMemoryManager("");
     _offHeapDictionary =
         new StringOffHeapMutableDictionary(CARDINALITY, CARDINALITY / 10, _memoryManager, null, _maxValueLength / 2);
@@ -79,6 +94,21 @@ public class BenchmarkStringDictionary {
     for (int i = 0; i < NUM_RECORDS; i++) {
       _values[i] = uniqueValues[RANDOM.nextInt(CARDINALITY)];
     }
+
+    // Immutable dictionaries with and without the lookup accelerator
+    FileUtils.deleteQuietly(TEMP_DIR);
+    String[] sortedValues = new TreeSet<>(Arrays.asList(uniqueValues)).toArray(new String[0]);
+    int numBytesPerValue;
+    try (SegmentDictionaryCreator dictionaryCreator = new SegmentDictionaryCreator(sortedValues,
+        new DimensionFieldSpec(COLUMN_NAME, FieldSpec.DataType.STRING, true), TEMP_DIR)) {
+      dictionaryCreator.build();
+      numBytesPerValue = dictionaryCreator.getNumBytesPerEntry();
+    }
+    File dictionaryFile = new File(TEMP_DIR, COLUMN_NAME + V1Constants.Dict.FILE_EXTENSION);
+    _immutableDictionary = new StringDictionary(PinotDataBuffer.mapReadOnlyBigEndianFile(dictionaryFile),
+        sortedValues.length, numBytesPerValue, (byte) 0);
+    _acceleratedImmutableDictionary = new StringDictionary(PinotDataBuffer.mapReadOnlyBigEndianFile(dictionaryFile),
+        sortedValues.length, numBytesPerValue, (byte) 0, true);
   }
 
   @TearDown
@@ -87,6 +117,9 @@ public class BenchmarkStringDictionary {
     _onHeapDictionary.close();
     _offHeapDictionary.close();
     _memoryManager.close();
+    _immutableDictionary.close();
+    _acceleratedImmutableDictionary.close();
+    FileUtils.deleteQuietly(TEMP_DIR);
   }
 
   // Generates a ascii displayable string of the given length
@@ -116,6 +149,24 @@ public class BenchmarkStringDictionary {
     return sum;
   }
 
+  @Benchmark
+  public int immutableStringDictionaryRead() {
+    int sum = 0;
+    for (String stringValue : _values) {
+      sum += _immutableDictionary.indexOf(stringValue);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int acceleratedImmutableStringDictionaryRead() {
+    int sum = 0;
+    for (String stringValue : _values) {
+      sum += _acceleratedImmutableDictionary.indexOf(stringValue);
+    }
+    return sum;
+  }
+
   @Benchmark
   public int offHeapStringDictionaryWrite()
       throws IOException {
@@ -19,12 +19,16 @@
 package org.apache.pinot.server.starter.helix;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -38,6 +42,7 @@ import org.apache.pinot.common.config.TableConfig;
 import org.apache.pinot.common.config.TableNameBuilder;
 import org.apache.pinot.common.data.Schema;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
+import org.apache.pinot.common.metrics.ServerMeter;
 import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.common.segment.SegmentMetadata;
 import org.apache.pinot.common.utils.CommonConstants;
@@ -46,6 +51,7 @@ import org.apache.pinot.core.data.manager.SegmentDataManager;
 import org.apache.pinot.core.data.manager.TableDataManager;
 import org.apache.pinot.core.data.manager.config.TableDataManagerConfig;
 import org.apache.pinot.core.data.manager.offline.TableDataManagerProvider;
+import org.apache.pinot.core.indexsegment.IndexSegment;
 import org.apache.pinot.core.indexsegment.immutable.ImmutableSegment;
 import org.apache.pinot.core.indexsegment.immutable.ImmutableSegmentLoader;
 import org.apache.pinot.core.segment.index.loader.IndexLoadingConfig;
@@ -69,6 +75,7 @@ public class HelixInstanceDataManager implements InstanceDataManager {
   private String _instanceId;
   private ZkHelixPropertyStore<ZNRecord> _propertyStore;
   private ServerMetrics _serverMetrics;
+  private ScheduledExecutorService _idleColumnEvictionExecutor;
 
   @Override
   public synchronized void init(@Nonnull Configuration config, @Nonnull ZkHelixPropertyStore<ZNRecord> propertyStore,
@@ -99,14 +106,91 @@ public class HelixInstanceDataManager implements InstanceDataManager {
 
   @Override
   public synchronized void start() {
+    long heapDictionaryMaxIdleTimeMs = _instanceDataManagerConfig.getHeapDictionaryMaxIdleTimeMs();
+    if (_instanceDataManagerConfig.isLazyLoadColumns() && heapDictionaryMaxIdleTimeMs > 0) {
+      LOGGER.info("Starting idle column eviction with max idle time: {}ms", heapDictionaryMaxIdleTimeMs);
+      _idleColumnEvictionExecutor = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("idle-column-eviction").setDaemon(true).build());
+      _idleColumnEvictionExecutor
+          .scheduleWithFixedDelay(() -> evictIdleColumns(heapDictionaryMaxIdleTimeMs), heapDictionaryMaxIdleTimeMs,
+              heapDictionaryMaxIdleTimeMs, TimeUnit.MILLISECONDS);
+    }
     LOGGER.info("Helix instance data manager started");
   }
 
   @Override
   public synchronized void shutDown() {
+    if (_idleColumnEvictionExecutor != null) {
+      _idleColumnEvictionExecutor.shutdownNow();
+    }
+    persistSegmentCatalog();
     LOGGER.info("Helix instance data manager shut down");
   }
 
+  /**
+   * Persists the OFFLINE segments served by this instance with their query heat into the segment catalog, which is used
+   * to preload the segments on the next startup.
+   */
+  private void persistSegmentCatalog() {
+    List<SegmentCatalog.Entry> entries = new ArrayList<>();
+    for (TableDataManager tableDataManager : _tableDataManagerMap.values()) {
+      String tableNameWithType = tableDataManager.getTableName();
+      if (!TableNameBuilder.OFFLINE.tableHasTypeSuffix(tableNameWithType)) {
+        continue;
+      }
+      List<SegmentDataManager> segmentDataManagers = tableDataManager.acquireAllSegments();
+      try {
+        for (SegmentDataManager segmentDataManager : segmentDataManagers) {
+          entries.add(new SegmentCatalog.Entry(tableNameWithType, segmentDataManager.getSegmentName(),
+              segmentDataManager.getNumQueries()));
+        }
+      } finally {
+        for (SegmentDataManager segmentDataManager : segmentDataManagers) {
+          tableDataManager.releaseSegment(segmentDataManager);
+        }
+      }
+    }
+    File catalogFile =
+        new File(_instanceDataManagerConfig.getInstanceDataDir(), SegmentCatalog.SEGMENT_CATALOG_FILE_NAME);
+    try {
+      SegmentCatalog.write(catalogFile, entries);
+      LOGGER.info("Persisted {} segments into segment catalog: {}", entries.size(), catalogFile);
+    } catch (Exception e) {
+      LOGGER.error("Caught exception while persisting segment catalog: {}", catalogFile, e);
+    }
+  }
+
+  /**
+   * Evicts the idle columns with on-heap dictionary for all the immutable segments.
+   */
+  private void evictIdleColumns(long maxIdleTimeMs) {
+    try {
+      for (TableDataManager tableDataManager : _tableDataManagerMap.values()) {
+        String tableNameWithType = tableDataManager.getTableName();
+        int numColumnsEvicted = 0;
+        List<SegmentDataManager> segmentDataManagers = tableDataManager.acquireAllSegments();
+        try {
+          for (SegmentDataManager segmentDataManager : segmentDataManagers) {
+            IndexSegment segment = segmentDataManager.getSegment();
+            if (segment instanceof ImmutableSegment) {
+              numColumnsEvicted += ((ImmutableSegment) segment).evictIdleColumns(maxIdleTimeMs);
+            }
+          }
+        } finally {
+          for (SegmentDataManager segmentDataManager : segmentDataManagers) {
+            tableDataManager.releaseSegment(segmentDataManager);
+          }
+        }
+        if (numColumnsEvicted > 0) {
+          LOGGER.info("Evicted {} idle columns for table: {}", numColumnsEvicted, tableNameWithType);
+          _serverMetrics.addMeteredTableValue(tableNameWithType, ServerMeter.IDLE_COLUMNS_EVICTED, numColumnsEvicted);
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.error("Caught exception while evicting idle columns", e);
+    }
+  }
+
   @Override
   public void addOfflineSegment(@Nonnull String offlineTableName, @Nonnull String segmentName, @Nonnull File indexDir)
       throws Exception {
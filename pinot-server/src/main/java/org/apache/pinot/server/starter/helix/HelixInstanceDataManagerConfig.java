@@ -89,6 +89,16 @@ public class HelixInstanceDataManagerConfig implements InstanceDataManagerConfig
   //
   private static final String MAX_PARALLEL_REFRESH_THREADS = "max.parallel.refresh.threads";
 
+  // Whether to load the column indexes of the immutable segments on first access instead of at segment load time.
+  // Lazy loading reduces the server start time and the memory used by the columns never queried, but the first query
+  // on a column pays the index load time.
+  private static final String LAZY_LOAD_COLUMNS = "lazy.load.columns";
+
+  // Max idle time for the lazy loaded columns with on-heap dictionary. The indexes for these columns are evicted after
+  // being idle for this time to release the heap memory, and are loaded again on the next access.
+  // A value of <= 0 indicates never evicting the idle columns.
+  private static final String HEAP_DICTIONARY_MAX_IDLE_TIME_MS = "heap.dictionary.max.idle.time.ms";
+
   private final static String[] REQUIRED_KEYS = {INSTANCE_ID, INSTANCE_DATA_DIR, READ_MODE};
   private Configuration _instanceDataManagerConfiguration = null;
 
@@ -185,6 +195,16 @@ public class HelixInstanceDataManagerConfig implements InstanceDataManagerConfig
     return _instanceDataManagerConfiguration.getInt(MAX_PARALLEL_SEGMENT_BUILDS, 0);
   }
 
+  @Override
+  public boolean isLazyLoadColumns() {
+    return _instanceDataManagerConfiguration.getBoolean(LAZY_LOAD_COLUMNS, false);
+  }
+
+  @Override
+  public long getHeapDictionaryMaxIdleTimeMs() {
+    return _instanceDataManagerConfiguration.getLong(HEAP_DICTIONARY_MAX_IDLE_TIME_MS, 0L);
+  }
+
   @Override
   public String toString() {
     String configString = "";
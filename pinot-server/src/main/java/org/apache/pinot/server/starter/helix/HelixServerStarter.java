@@ -19,6 +19,7 @@
 package org.apache.pinot.server.starter.helix;
 
 import com.google.common.collect.ImmutableList;
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -172,9 +173,17 @@ public class HelixServerStarter {
     _serverInstance.init(serverInstanceConfig, propertyStore);
     _serverInstance.start();
 
+    ServerMetrics serverMetrics = _serverInstance.getServerMetrics();
+
     // Register state model factory
     SegmentFetcherAndLoader fetcherAndLoader =
-        new SegmentFetcherAndLoader(_serverConf, _serverInstance.getInstanceDataManager(), propertyStore);
+        new SegmentFetcherAndLoader(_serverConf, _serverInstance.getInstanceDataManager(), propertyStore,
+            serverMetrics);
+    int segmentPreloadParallelism =
+        _serverConf.getInt(CONFIG_OF_SEGMENT_PRELOAD_PARALLELISM, DEFAULT_SEGMENT_PRELOAD_PARALLELISM);
+    if (segmentPreloadParallelism > 0) {
+      preloadSegments(fetcherAndLoader, segmentPreloadParallelism);
+    }
     StateModelFactory<?> stateModelFactory =
         new SegmentOnlineOfflineStateModelFactory(_instanceId, _serverInstance.getInstanceDataManager(),
             fetcherAndLoader, propertyStore);
@@ -187,7 +196,6 @@ public class HelixServerStarter {
     _adminApiApplication.start(adminApiPort);
     setAdminApiPort(adminApiPort);
 
-    ServerMetrics serverMetrics = _serverInstance.getServerMetrics();
     // Register message handler factory
     SegmentMessageHandlerFactory messageHandlerFactory =
         new SegmentMessageHandlerFactory(fetcherAndLoader, _serverInstance.getInstanceDataManager(), serverMetrics);
@@ -219,6 +227,31 @@ public class HelixServerStarter {
     serverMetrics.addCallbackGauge("memory.allocationFailureCount", PinotDataBuffer::getAllocationFailureCount);
   }
 
+  /**
+   * Preloads the OFFLINE segments recorded in the segment catalog that are still assigned to this instance, hottest
+   * segments first.
+   */
+  private void preloadSegments(SegmentFetcherAndLoader fetcherAndLoader, int parallelism)
+      throws InterruptedException {
+    File catalogFile = new File(_serverInstance.getInstanceDataManager().getSegmentDataDirectory(),
+        SegmentCatalog.SEGMENT_CATALOG_FILE_NAME);
+    Map<String, IdealState> idealStateMap = new HashMap<>();
+    List<SegmentCatalog.Entry> segmentsToPreload = new ArrayList<>();
+    for (SegmentCatalog.Entry entry : SegmentCatalog.read(catalogFile)) {
+      IdealState idealState = idealStateMap.computeIfAbsent(entry.getTableNameWithType(),
+          k -> _helixAdmin.getResourceIdealState(_helixClusterName, k));
+      if (idealState == null || !idealState.isEnabled()) {
+        continue;
+      }
+      Map<String, String> instanceStateMap = idealState.getInstanceStateMap(entry.getSegmentName());
+      if (instanceStateMap != null && StateModel.SegmentOnlineOfflineStateModel.ONLINE
+          .equals(instanceStateMap.get(_instanceId))) {
+        segmentsToPreload.add(entry);
+      }
+    }
+    fetcherAndLoader.preloadOfflineSegments(segmentsToPreload, parallelism);
+  }
+
   /**
    * Fetches the resources to monitor and registers the {@link org.apache.pinot.common.utils.ServiceStatus.ServiceStatusCallback}s
    */
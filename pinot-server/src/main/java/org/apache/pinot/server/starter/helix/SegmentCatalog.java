@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.server.starter.helix;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code SegmentCatalog} class persists the OFFLINE segments served by the server together with their query heat
+ * (number of queries since loaded), so that on restart the server can load the segments already on local disk before
+ * receiving the state transitions, with the hottest segments first.
+ */
+public class SegmentCatalog {
+  private SegmentCatalog() {
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentCatalog.class);
+
+  public static final String SEGMENT_CATALOG_FILE_NAME = "segmentCatalog.json";
+
+  private static final String SEGMENTS_KEY = "segments";
+  private static final String TABLE_NAME_KEY = "tableName";
+  private static final String SEGMENT_NAME_KEY = "segmentName";
+  private static final String NUM_QUERIES_KEY = "numQueries";
+
+  public static class Entry {
+    private final String _tableNameWithType;
+    private final String _segmentName;
+    private final long _numQueries;
+
+    public Entry(String tableNameWithType, String segmentName, long numQueries) {
+      _tableNameWithType = tableNameWithType;
+      _segmentName = segmentName;
+      _numQueries = numQueries;
+    }
+
+    public String getTableNameWithType() {
+      return _tableNameWithType;
+    }
+
+    public String getSegmentName() {
+      return _segmentName;
+    }
+
+    public long getNumQueries() {
+      return _numQueries;
+    }
+  }
+
+  /**
+   * Writes the entries into the catalog file, ordered by the query heat.
+   * <p>The file is written into a temporary file first then renamed, so that a crash during writing will not leave a
+   * partial catalog file.
+   */
+  public static void write(File catalogFile, List<Entry> entries)
+      throws IOException {
+    List<Entry> sortedEntries = new ArrayList<>(entries);
+    sortedEntries.sort(Comparator.comparingLong(Entry::getNumQueries).reversed());
+    ArrayNode segments = JsonUtils.newArrayNode();
+    for (Entry entry : sortedEntries) {
+      ObjectNode segment = JsonUtils.newObjectNode();
+      segment.put(TABLE_NAME_KEY, entry._tableNameWithType);
+      segment.put(SEGMENT_NAME_KEY, entry._segmentName);
+      segment.put(NUM_QUERIES_KEY, entry._numQueries);
+      segments.add(segment);
+    }
+    ObjectNode catalog = JsonUtils.newObjectNode();
+    catalog.set(SEGMENTS_KEY, segments);
+
+    File tempFile = new File(catalogFile.getParentFile(), catalogFile.getName() + ".tmp");
+    FileUtils.writeStringToFile(tempFile, JsonUtils.objectToString(catalog), StandardCharsets.UTF_8);
+    if (!tempFile.renameTo(catalogFile)) {
+      FileUtils.deleteQuietly(tempFile);
+      throw new IOException("Failed to rename " + tempFile + " to " + catalogFile);
+    }
+  }
+
+  /**
+   * Reads the entries from the catalog file, ordered by the query heat. Returns an empty list if the catalog file does
+   * not exist or cannot be read.
+   */
+  public static List<Entry> read(File catalogFile) {
+    if (!catalogFile.exists()) {
+      return Collections.emptyList();
+    }
+    try {
+      List<Entry> entries = new ArrayList<>();
+      for (JsonNode segment : JsonUtils.fileToJsonNode(catalogFile).get(SEGMENTS_KEY)) {
+        entries.add(new Entry(segment.get(TABLE_NAME_KEY).asText(), segment.get(SEGMENT_NAME_KEY).asText(),
+            segment.get(NUM_QUERIES_KEY).asLong()));
+      }
+      return entries;
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while reading segment catalog: {}, ignoring it", catalogFile, e);
+      return Collections.emptyList();
+    }
+  }
+}
@@ -19,7 +19,14 @@
 package org.apache.pinot.server.starter.helix;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,7 +38,10 @@ import org.apache.pinot.common.Utils;
 import org.apache.pinot.common.config.TableNameBuilder;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
 import org.apache.pinot.common.metadata.segment.OfflineSegmentZKMetadata;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.metrics.ServerTimer;
 import org.apache.pinot.common.segment.SegmentMetadata;
+import org.apache.pinot.common.segment.fetcher.SegmentFetcher;
 import org.apache.pinot.common.segment.fetcher.SegmentFetcherFactory;
 import org.apache.pinot.common.utils.CommonConstants;
 import org.apache.pinot.common.utils.TarGzCompressionUtils;
@@ -55,12 +65,22 @@ public class SegmentFetcherAndLoader {
   private final InstanceDataManager _instanceDataManager;
   private final ZkHelixPropertyStore<ZNRecord> _propertyStore;
   private final Configuration _crypterConfig;
+  private final ServerMetrics _serverMetrics;
+  private final boolean _enableStreamingUntar;
+  // Bounds the number of segments downloaded in parallel, null if unbounded
+  private final Semaphore _segmentDownloadSemaphore;
 
   public SegmentFetcherAndLoader(@Nonnull Configuration config, @Nonnull InstanceDataManager instanceDataManager,
-      @Nonnull ZkHelixPropertyStore<ZNRecord> propertyStore)
+      @Nonnull ZkHelixPropertyStore<ZNRecord> propertyStore, @Nonnull ServerMetrics serverMetrics)
       throws Exception {
     _instanceDataManager = instanceDataManager;
     _propertyStore = propertyStore;
+    _serverMetrics = serverMetrics;
+    _enableStreamingUntar = config.getBoolean(CommonConstants.Server.CONFIG_OF_ENABLE_STREAMING_SEGMENT_UNTAR,
+        CommonConstants.Server.DEFAULT_ENABLE_STREAMING_SEGMENT_UNTAR);
+    int maxParallelSegmentDownloads = config.getInt(CommonConstants.Server.CONFIG_OF_MAX_PARALLEL_SEGMENT_DOWNLOADS,
+        CommonConstants.Server.DEFAULT_MAX_PARALLEL_SEGMENT_DOWNLOADS);
+    _segmentDownloadSemaphore = maxParallelSegmentDownloads > 0 ? new Semaphore(maxParallelSegmentDownloads) : null;
 
     Configuration pinotFSConfig = config.subset(CommonConstants.Server.PREFIX_OF_CONFIG_OF_PINOT_FS_FACTORY);
     Configuration segmentFetcherFactoryConfig =
@@ -156,7 +176,9 @@ public class SegmentFetcherAndLoader {
         // Retry will be done here.
         String localSegmentDir = downloadSegmentToLocal(uri, crypter, tableNameWithType, segmentName);
         SegmentMetadata segmentMetadata = new SegmentMetadataImpl(new File(localSegmentDir));
+        long loadStartTimeMs = System.currentTimeMillis();
         _instanceDataManager.addOfflineSegment(tableNameWithType, segmentName, new File(localSegmentDir));
+        addPhaseTiming(tableNameWithType, ServerTimer.SEGMENT_LOAD_TIME_MS, loadStartTimeMs);
         LOGGER.info("Downloaded segment {} of table {} crc {} from controller", segmentName, tableNameWithType,
             segmentMetadata.getCrc());
       } else {
@@ -192,6 +214,23 @@ public class SegmentFetcherAndLoader {
   private String downloadSegmentToLocal(@Nonnull String uri, PinotCrypter crypter, @Nonnull String tableName,
       @Nonnull String segmentName)
       throws Exception {
+    if (_segmentDownloadSemaphore == null) {
+      return downloadAndUntarSegment(uri, crypter, tableName, segmentName);
+    }
+    long waitStartTimeMs = System.currentTimeMillis();
+    _segmentDownloadSemaphore.acquire();
+    try {
+      addPhaseTiming(tableName, ServerTimer.SEGMENT_DOWNLOAD_WAIT_TIME_MS, waitStartTimeMs);
+      return downloadAndUntarSegment(uri, crypter, tableName, segmentName);
+    } finally {
+      _segmentDownloadSemaphore.release();
+    }
+  }
+
+  @Nonnull
+  private String downloadAndUntarSegment(@Nonnull String uri, PinotCrypter crypter, @Nonnull String tableName,
+      @Nonnull String segmentName)
+      throws Exception {
     File tempDir = new File(new File(_instanceDataManager.getSegmentFileDirectory(), tableName),
         "tmp_" + segmentName + "_" + System.nanoTime());
     FileUtils.forceMkdir(tempDir);
@@ -199,20 +238,36 @@ public class SegmentFetcherAndLoader {
     File tempTarFile = new File(tempDir, segmentName + TAR_GZ_SUFFIX);
     File tempSegmentDir = new File(tempDir, segmentName);
     try {
-      SegmentFetcherFactory.getInstance().getSegmentFetcherBasedOnURI(uri).fetchSegmentToLocal(uri, tempDownloadFile);
-      if (crypter != null) {
-        crypter.decrypt(tempDownloadFile, tempTarFile);
+      SegmentFetcher segmentFetcher = SegmentFetcherFactory.getInstance().getSegmentFetcherBasedOnURI(uri);
+      if (crypter == null && _enableStreamingUntar && segmentFetcher.supportsStreamingUntar()) {
+        // Untar while downloading without storing the tarred segment on disk
+        long startTimeMs = System.currentTimeMillis();
+        segmentFetcher.fetchAndUntarSegmentToLocal(uri, tempSegmentDir);
+        addPhaseTiming(tableName, ServerTimer.SEGMENT_DOWNLOAD_AND_UNTAR_TIME_MS, startTimeMs);
+        LOGGER.info("Downloaded and untarred segment: {} for table: {} from: {} to: {}", segmentName, tableName, uri,
+            tempSegmentDir);
       } else {
-        tempTarFile = tempDownloadFile;
-      }
+        long downloadStartTimeMs = System.currentTimeMillis();
+        segmentFetcher.fetchSegmentToLocal(uri, tempDownloadFile);
+        addPhaseTiming(tableName, ServerTimer.SEGMENT_DOWNLOAD_TIME_MS, downloadStartTimeMs);
+        if (crypter != null) {
+          long decryptStartTimeMs = System.currentTimeMillis();
+          crypter.decrypt(tempDownloadFile, tempTarFile);
+          addPhaseTiming(tableName, ServerTimer.SEGMENT_DECRYPT_TIME_MS, decryptStartTimeMs);
+        } else {
+          tempTarFile = tempDownloadFile;
+        }
 
-      LOGGER
-          .info("Downloaded tarred segment: {} for table: {} from: {} to: {}, file length: {}", segmentName, tableName,
-              uri, tempTarFile, tempTarFile.length());
+        LOGGER
+            .info("Downloaded tarred segment: {} for table: {} from: {} to: {}, file length: {}", segmentName,
+                tableName, uri, tempTarFile, tempTarFile.length());
 
-      // If an exception is thrown when untarring, it means the tar file is broken OR not found after the retry.
-      // Thus, there's no need to retry again.
-      TarGzCompressionUtils.unTar(tempTarFile, tempSegmentDir);
+        // If an exception is thrown when untarring, it means the tar file is broken OR not found after the retry.
+        // Thus, there's no need to retry again.
+        long untarStartTimeMs = System.currentTimeMillis();
+        TarGzCompressionUtils.unTar(tempTarFile, tempSegmentDir);
+        addPhaseTiming(tableName, ServerTimer.SEGMENT_UNTAR_TIME_MS, untarStartTimeMs);
+      }
 
       File[] files = tempSegmentDir.listFiles();
       Preconditions.checkState(files != null && files.length == 1);
@@ -231,6 +286,70 @@ public class SegmentFetcherAndLoader {
     }
   }
 
+  private void addPhaseTiming(String tableNameWithType, ServerTimer serverTimer, long startTimeMs) {
+    _serverMetrics.addTimedTableValue(tableNameWithType, serverTimer, System.currentTimeMillis() - startTimeMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Loads the OFFLINE segments already on local disk in parallel, in the given order, before receiving the state
+   * transitions for them. The state transitions for the preloaded segments only need to verify the segment CRC against
+   * the ZK metadata, and re-download the segments if they have changed.
+   * <p>Failing to preload a segment is not fatal because the segment will be loaded again on the state transition.
+   *
+   * @param segments Segments to preload, ordered by query heat
+   * @param parallelism Number of threads to load the segments
+   */
+  public void preloadOfflineSegments(@Nonnull List<SegmentCatalog.Entry> segments, int parallelism)
+      throws InterruptedException {
+    LOGGER.info("Preloading {} segments with parallelism: {}", segments.size(), parallelism);
+    long startTimeMs = System.currentTimeMillis();
+    AtomicInteger numSegmentsPreloaded = new AtomicInteger();
+    ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+        new ThreadFactoryBuilder().setNameFormat("segment-preload-%d").setDaemon(true).build());
+    try {
+      // Tasks are executed in submission order, so hotter segments are loaded first
+      for (SegmentCatalog.Entry segment : segments) {
+        executorService.submit(() -> {
+          if (preloadOfflineSegment(segment.getTableNameWithType(), segment.getSegmentName())) {
+            numSegmentsPreloaded.getAndIncrement();
+          }
+        });
+      }
+      executorService.shutdown();
+      executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } finally {
+      executorService.shutdownNow();
+    }
+    LOGGER.info("Preloaded {}/{} segments in {}ms", numSegmentsPreloaded.get(), segments.size(),
+        System.currentTimeMillis() - startTimeMs);
+  }
+
+  private boolean preloadOfflineSegment(String tableNameWithType, String segmentName) {
+    Lock segmentLock = SegmentLocks.getSegmentLock(tableNameWithType, segmentName);
+    try {
+      segmentLock.lock();
+      if (_instanceDataManager.getSegmentMetadata(tableNameWithType, segmentName) != null) {
+        return false;
+      }
+      File indexDir = new File(getSegmentLocalDirectory(tableNameWithType, segmentName));
+      LoaderUtils.reloadFailureRecovery(indexDir);
+      if (!indexDir.isDirectory()) {
+        return false;
+      }
+      long loadStartTimeMs = System.currentTimeMillis();
+      _instanceDataManager.addOfflineSegment(tableNameWithType, segmentName, indexDir);
+      addPhaseTiming(tableNameWithType, ServerTimer.SEGMENT_LOAD_TIME_MS, loadStartTimeMs);
+      return true;
+    } catch (Exception e) {
+      LOGGER.warn("Failed to preload segment: {} of table: {}, will load it on state transition", segmentName,
+          tableNameWithType, e);
+      return false;
+    } finally {
+      segmentLock.unlock();
+    }
+  }
+
   public String getSegmentLocalDirectory(String tableName, String segmentId) {
     return _instanceDataManager.getSegmentDataDirectory() + "/" + tableName + "/" + segmentId;
   }
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.server.starter.helix;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class SegmentCatalogTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "SegmentCatalogTest");
+  private static final File CATALOG_FILE = new File(TEMP_DIR, SegmentCatalog.SEGMENT_CATALOG_FILE_NAME);
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+    FileUtils.forceMkdir(TEMP_DIR);
+  }
+
+  @Test
+  public void testWriteAndRead()
+      throws Exception {
+    // Missing catalog file
+    Assert.assertTrue(SegmentCatalog.read(CATALOG_FILE).isEmpty());
+
+    SegmentCatalog.write(CATALOG_FILE,
+        Arrays.asList(new SegmentCatalog.Entry("table_OFFLINE", "segment0", 1L),
+            new SegmentCatalog.Entry("table_OFFLINE", "segment1", 10L),
+            new SegmentCatalog.Entry("otherTable_OFFLINE", "segment0", 5L)));
+
+    // Entries should be ordered by number of queries
+    List<SegmentCatalog.Entry> entries = SegmentCatalog.read(CATALOG_FILE);
+    Assert.assertEquals(entries.size(), 3);
+    Assert.assertEquals(entries.get(0).getTableNameWithType(), "table_OFFLINE");
+    Assert.assertEquals(entries.get(0).getSegmentName(), "segment1");
+    Assert.assertEquals(entries.get(0).getNumQueries(), 10L);
+    Assert.assertEquals(entries.get(1).getTableNameWithType(), "otherTable_OFFLINE");
+    Assert.assertEquals(entries.get(1).getSegmentName(), "segment0");
+    Assert.assertEquals(entries.get(1).getNumQueries(), 5L);
+    Assert.assertEquals(entries.get(2).getTableNameWithType(), "table_OFFLINE");
+    Assert.assertEquals(entries.get(2).getSegmentName(), "segment0");
+    Assert.assertEquals(entries.get(2).getNumQueries(), 1L);
+
+    // Corrupted catalog file
+    FileUtils.writeStringToFile(CATALOG_FILE, "{\"segments\":[", StandardCharsets.UTF_8);
+    Assert.assertTrue(SegmentCatalog.read(CATALOG_FILE).isEmpty());
+  }
+
+  @AfterClass
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+}
@@ -294,6 +294,18 @@ public abstract class NettyServer implements Runnable {
       }, MoreExecutors.directExecutor());
     }
 
+    /**
+     * Stops reading new requests from the channel when the responses cannot be flushed as fast as they are produced
+     * (e.g. the client is slow to read them), so that the outbound buffer does not grow without limit. Reading resumes
+     * once the outbound buffer drains below the low water mark.
+     */
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+      Channel channel = ctx.channel();
+      channel.config().setAutoRead(channel.isWritable());
+      ctx.fireChannelWritabilityChanged();
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
       LOGGER.error("Got exception in the channel handler", cause);